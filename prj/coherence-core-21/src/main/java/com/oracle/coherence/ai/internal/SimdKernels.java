@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Distance kernels for {@code float} and {@code byte} (Int8) vectors
+ * implemented using the Vector API.
+ * <p>
+ * This class must only be loaded if the {@code jdk.incubator.vector} module
+ * is present, which is checked by {@link VectorKernels}.
+ *
+ * @since 25.09
+ */
+public class SimdKernels
+    {
+    /**
+     * Return {@code true} if the preferred species of the current platform
+     * has more than a single lane.
+     *
+     * @return {@code true} if the SIMD kernels should be used
+     */
+    public static boolean isSupported()
+        {
+        return FLOAT_SPECIES.length() > 1;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return dotProduct(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the dot product of two float vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        int         cBound = FLOAT_SPECIES.loopBound(cLen);
+        FloatVector vAcc   = FloatVector.zero(FLOAT_SPECIES);
+        int         i      = 0;
+
+        for (; i < cBound; i += FLOAT_SPECIES.length())
+            {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, v1, of1 + i);
+            FloatVector vb = FloatVector.fromArray(FLOAT_SPECIES, v2, of2 + i);
+            vAcc = va.fma(vb, vAcc);
+            }
+
+        double dotProduct = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            dotProduct += v1[of1 + i] * v2[of2 + i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, byte[] v2)
+        {
+        return dotProduct(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first Int8 vector
+     * @param of1   the offset of the first Int8 vector
+     * @param v2    the array containing the second Int8 vector
+     * @param of2   the offset of the second Int8 vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, int of1, byte[] v2, int of2, int cLen)
+        {
+        int       cBound = BYTE_SPECIES.loopBound(cLen);
+        IntVector vAcc   = IntVector.zero(INT_SPECIES);
+        int       i      = 0;
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector va = toInt(ByteVector.fromArray(BYTE_SPECIES, v1, of1 + i));
+            IntVector vb = toInt(ByteVector.fromArray(BYTE_SPECIES, v2, of2 + i));
+            vAcc = vAcc.add(va.mul(vb));
+            }
+
+        long dotProduct = vAcc.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            dotProduct += v1[of1 + i] * v2[of2 + i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return l2squared(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors stored at
+     * the specified offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        int         cBound = FLOAT_SPECIES.loopBound(cLen);
+        FloatVector vAcc   = FloatVector.zero(FLOAT_SPECIES);
+        int         i      = 0;
+
+        for (; i < cBound; i += FLOAT_SPECIES.length())
+            {
+            FloatVector vDiff = FloatVector.fromArray(FLOAT_SPECIES, v1, of1 + i)
+                                           .sub(FloatVector.fromArray(FLOAT_SPECIES, v2, of2 + i));
+            vAcc = vDiff.fma(vDiff, vAcc);
+            }
+
+        double l2squared = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            float f = v1[of1 + i] - v2[of2 + i];
+            l2squared += (f * f);
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the squared L2 distance between two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the squared L2 distance between the Int8 vectors
+     */
+    public static double l2squared(byte[] v1, byte[] v2)
+        {
+        int       cLen   = v1.length;
+        int       cBound = BYTE_SPECIES.loopBound(cLen);
+        IntVector vAcc   = IntVector.zero(INT_SPECIES);
+        int       i      = 0;
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector vDiff = toInt(ByteVector.fromArray(BYTE_SPECIES, v1, i))
+                                .sub(toInt(ByteVector.fromArray(BYTE_SPECIES, v2, i)));
+            vAcc = vAcc.add(vDiff.mul(vDiff));
+            }
+
+        long l2squared = vAcc.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            int n = v1[i] - v2[i];
+            l2squared += n * n;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of a float vector.
+     *
+     * @param v  the float vector
+     *
+     * @return the sum of the squares of the elements of the float vector
+     */
+    public static double sumOfSquares(float[] v)
+        {
+        int         cLen   = v.length;
+        int         cBound = FLOAT_SPECIES.loopBound(cLen);
+        FloatVector vAcc   = FloatVector.zero(FLOAT_SPECIES);
+        int         i      = 0;
+
+        for (; i < cBound; i += FLOAT_SPECIES.length())
+            {
+            FloatVector va = FloatVector.fromArray(FLOAT_SPECIES, v, i);
+            vAcc = va.fma(va, vAcc);
+            }
+
+        double sum = vAcc.reduceLanes(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            sum += v[i] * v[i];
+            }
+        return sum;
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of an Int8 vector.
+     *
+     * @param v  the Int8 vector
+     *
+     * @return the sum of the squares of the elements of the Int8 vector
+     */
+    public static double sumOfSquares(byte[] v)
+        {
+        int       cLen   = v.length;
+        int       cBound = BYTE_SPECIES.loopBound(cLen);
+        IntVector vAcc   = IntVector.zero(INT_SPECIES);
+        int       i      = 0;
+
+        for (; i < cBound; i += BYTE_SPECIES.length())
+            {
+            IntVector va = toInt(ByteVector.fromArray(BYTE_SPECIES, v, i));
+            vAcc = vAcc.add(va.mul(va));
+            }
+
+        long sum = vAcc.reduceLanesToLong(VectorOperators.ADD);
+        for (; i < cLen; i++)
+            {
+            sum += v[i] * v[i];
+            }
+        return sum;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Widen a {@link ByteVector} to an {@link IntVector} with the same
+     * number of lanes.
+     *
+     * @param v  the byte vector
+     *
+     * @return the int vector
+     */
+    private static IntVector toInt(ByteVector v)
+        {
+        return (IntVector) v.convertShape(VectorOperators.B2I, INT_SPECIES, 0);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The preferred species for {@code float} vectors.
+     */
+    private static final VectorSpecies<Float> FLOAT_SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    /**
+     * The species used to load {@code byte} vectors, eight lanes at a time.
+     */
+    private static final VectorSpecies<Byte> BYTE_SPECIES = ByteVector.SPECIES_64;
+
+    /**
+     * The species {@code byte} vectors are widened to, with the same number
+     * of lanes as {@link #BYTE_SPECIES}.
+     */
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_256;
+    }
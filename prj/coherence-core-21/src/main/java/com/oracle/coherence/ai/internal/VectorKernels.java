@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import com.tangosol.coherence.config.Config;
+
+import java.util.Optional;
+
+/**
+ * Distance kernels for {@code float} and {@code byte} (Int8) vectors.
+ * <p>
+ * This is the Java 21+ implementation, which uses the Vector API
+ * ({@code jdk.incubator.vector}) via {@link SimdKernels} if the module has
+ * been added to the boot layer (for example, using
+ * {@code --add-modules jdk.incubator.vector}), and falls back to the scalar
+ * {@link ScalarKernels} otherwise. The SIMD kernels can be disabled by
+ * setting the {@code coherence.ai.simd} system property to {@code false}.
+ *
+ * @since 25.09
+ */
+public class VectorKernels
+    {
+    /**
+     * Return {@code true} if the kernels are vectorized using SIMD instructions.
+     *
+     * @return {@code true} if the kernels are vectorized
+     */
+    public static boolean isVectorized()
+        {
+        return VECTORIZED;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return VECTORIZED
+               ? SimdKernels.dotProduct(v1, v2)
+               : ScalarKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two float vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return VECTORIZED
+               ? SimdKernels.dotProduct(v1, of1, v2, of2, cLen)
+               : ScalarKernels.dotProduct(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, byte[] v2)
+        {
+        return VECTORIZED
+               ? SimdKernels.dotProduct(v1, v2)
+               : ScalarKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first Int8 vector
+     * @param of1   the offset of the first Int8 vector
+     * @param v2    the array containing the second Int8 vector
+     * @param of2   the offset of the second Int8 vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, int of1, byte[] v2, int of2, int cLen)
+        {
+        return VECTORIZED
+               ? SimdKernels.dotProduct(v1, of1, v2, of2, cLen)
+               : ScalarKernels.dotProduct(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return VECTORIZED
+               ? SimdKernels.l2squared(v1, v2)
+               : ScalarKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors stored at
+     * the specified offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return VECTORIZED
+               ? SimdKernels.l2squared(v1, of1, v2, of2, cLen)
+               : ScalarKernels.l2squared(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the squared L2 distance between the Int8 vectors
+     */
+    public static double l2squared(byte[] v1, byte[] v2)
+        {
+        return VECTORIZED
+               ? SimdKernels.l2squared(v1, v2)
+               : ScalarKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of a float vector.
+     *
+     * @param v  the float vector
+     *
+     * @return the sum of the squares of the elements of the float vector
+     */
+    public static double sumOfSquares(float[] v)
+        {
+        return VECTORIZED
+               ? SimdKernels.sumOfSquares(v)
+               : ScalarKernels.sumOfSquares(v);
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of an Int8 vector.
+     *
+     * @param v  the Int8 vector
+     *
+     * @return the sum of the squares of the elements of the Int8 vector
+     */
+    public static double sumOfSquares(byte[] v)
+        {
+        return VECTORIZED
+               ? SimdKernels.sumOfSquares(v)
+               : ScalarKernels.sumOfSquares(v);
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Determine whether the SIMD kernels can be used.
+     *
+     * @return {@code true} if the SIMD kernels can be used
+     */
+    private static boolean initialize()
+        {
+        if (!Config.getBoolean("coherence.ai.simd", true))
+            {
+            return false;
+            }
+
+        Optional<Module> optVector = ModuleLayer.boot().findModule(VECTOR_MODULE);
+        if (optVector.isEmpty())
+            {
+            return false;
+            }
+
+        try
+            {
+            // when running on the module path, this module does not
+            // statically read the incubator module, so add the edge
+            Module module = VectorKernels.class.getModule();
+            if (module.isNamed())
+                {
+                module.addReads(optVector.get());
+                }
+            return SimdKernels.isSupported();
+            }
+        catch (Throwable t)
+            {
+            return false;
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The name of the module containing the Vector API.
+     */
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * A flag indicating whether the SIMD kernels are used.
+     */
+    private static final boolean VECTORIZED = initialize();
+    }
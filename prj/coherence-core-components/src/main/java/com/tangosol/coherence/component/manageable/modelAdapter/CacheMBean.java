@@ -454,6 +454,102 @@ public class CacheMBean
                 });
             }
         
+        // property PreloadDurationMillis
+            {
+            mapInfo.put("PreloadDurationMillis", new Object[]
+                {
+                "The duration (in millis) of the preload of the owned partitions from the CacheStore, or the time elapsed since it started if it is still in progress; -1 if preload is not enabled.",
+                "getPreloadDurationMillis",
+                null,
+                "J",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property PreloadEntries
+            {
+            mapInfo.put("PreloadEntries", new Object[]
+                {
+                "The number of entries preloaded from the CacheStore by this member; -1 if preload is not enabled.",
+                "getPreloadEntries",
+                null,
+                "J",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property PreloadPartitions
+            {
+            mapInfo.put("PreloadPartitions", new Object[]
+                {
+                "The number of partitions preloaded from the CacheStore by this member; -1 if preload is not enabled. Partitions are only counted if the CacheStore implements PartitionAwareLoader.",
+                "getPreloadPartitions",
+                null,
+                "I",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property QueueAge95thPercentileMillis
+            {
+            mapInfo.put("QueueAge95thPercentileMillis", new Object[]
+                {
+                "The 95th percentile of the time (in millis) the recently written entries spent in the write-behind queue; -1 if the persistence type is not WRITE-BEHIND.",
+                "getQueueAge95thPercentileMillis",
+                null,
+                "J",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property QueueAge99thPercentileMillis
+            {
+            mapInfo.put("QueueAge99thPercentileMillis", new Object[]
+                {
+                "The 99th percentile of the time (in millis) the recently written entries spent in the write-behind queue; -1 if the persistence type is not WRITE-BEHIND.",
+                "getQueueAge99thPercentileMillis",
+                null,
+                "J",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property QueueAgeMedianMillis
+            {
+            mapInfo.put("QueueAgeMedianMillis", new Object[]
+                {
+                "The median time (in millis) the recently written entries spent in the write-behind queue; -1 if the persistence type is not WRITE-BEHIND.",
+                "getQueueAgeMedianMillis",
+                null,
+                "J",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property QueueBatchFactor
+            {
+            mapInfo.put("QueueBatchFactor", new Object[]
+                {
+                "The write-batch factor currently used to calculate the `soft-ripe` time for write-behind queue entries. It equals the BatchFactor unless the write-behind batches are adaptive, in which case it is adapted to the latency and throughput of the CacheStore within the interval [0.0, BatchFactor]. Applicable only for WRITE-BEHIND persistence type.",
+                "getQueueBatchFactor",
+                null,
+                "D",
+                "metrics.value=_default",
+                });
+            }
+        
+        // property QueueBatchSize
+            {
+            mapInfo.put("QueueBatchSize", new Object[]
+                {
+                "The maximum number of entries currently written in a single CacheStore storeAll() operation by the write-behind thread. It equals the configured write-max-batch-size unless the write-behind batches are adaptive, in which case it is adapted to the latency and throughput of the CacheStore. The value of this attribute is -1 if the persistence type is not WRITE-BEHIND.",
+                "getQueueBatchSize",
+                null,
+                "I",
+                "metrics.value=_default",
+                });
+            }
+        
         // property QueueDelay
             {
             mapInfo.put("QueueDelay", new Object[]
@@ -967,6 +1063,121 @@ public class CacheMBean
         return null;
         }
     
+    // Accessor for the property "PreloadDurationMillis"
+    /**
+     * Getter for property PreloadDurationMillis.<p>
+    * The duration (in millis) of the preload of the owned partitions from the
+    * CacheStore, or the time elapsed since it started if it is still in
+    * progress; -1 if preload is not enabled.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public long getPreloadDurationMillis()
+        {
+        return 0L;
+        }
+    
+    // Accessor for the property "PreloadEntries"
+    /**
+     * Getter for property PreloadEntries.<p>
+    * The number of entries preloaded from the CacheStore by this member; -1
+    * if preload is not enabled.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public long getPreloadEntries()
+        {
+        return 0L;
+        }
+    
+    // Accessor for the property "PreloadPartitions"
+    /**
+     * Getter for property PreloadPartitions.<p>
+    * The number of partitions preloaded from the CacheStore by this member;
+    * -1 if preload is not enabled. Partitions are only counted if the
+    * CacheStore implements PartitionAwareLoader.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public int getPreloadPartitions()
+        {
+        return 0;
+        }
+    
+    // Accessor for the property "QueueAge95thPercentileMillis"
+    /**
+     * Getter for property QueueAge95thPercentileMillis.<p>
+    * The 95th percentile of the time (in millis) the recently written entries
+    * spent in the write-behind queue; -1 if the persistence type is not
+    * WRITE-BEHIND.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public long getQueueAge95thPercentileMillis()
+        {
+        return 0L;
+        }
+    
+    // Accessor for the property "QueueAge99thPercentileMillis"
+    /**
+     * Getter for property QueueAge99thPercentileMillis.<p>
+    * The 99th percentile of the time (in millis) the recently written entries
+    * spent in the write-behind queue; -1 if the persistence type is not
+    * WRITE-BEHIND.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public long getQueueAge99thPercentileMillis()
+        {
+        return 0L;
+        }
+    
+    // Accessor for the property "QueueAgeMedianMillis"
+    /**
+     * Getter for property QueueAgeMedianMillis.<p>
+    * The median time (in millis) the recently written entries spent in the
+    * write-behind queue; -1 if the persistence type is not WRITE-BEHIND.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public long getQueueAgeMedianMillis()
+        {
+        return 0L;
+        }
+    
+    // Accessor for the property "QueueBatchFactor"
+    /**
+     * Getter for property QueueBatchFactor.<p>
+    * The write-batch factor currently used to calculate the `soft-ripe` time
+    * for write-behind queue entries. It equals the BatchFactor unless the
+    * write-behind batches are adaptive, in which case it is adapted to the
+    * latency and throughput of the CacheStore within the interval [0.0,
+    * BatchFactor]. Applicable only for WRITE-BEHIND persistence type.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public double getQueueBatchFactor()
+        {
+        return 0.0;
+        }
+    
+    // Accessor for the property "QueueBatchSize"
+    /**
+     * Getter for property QueueBatchSize.<p>
+    * The maximum number of entries currently written in a single CacheStore
+    * storeAll() operation by the write-behind thread. It equals the
+    * configured write-max-batch-size unless the write-behind batches are
+    * adaptive, in which case it is adapted to the latency and throughput of
+    * the CacheStore. The value of this attribute is -1 if the persistence
+    * type is not WRITE-BEHIND.
+    * 
+    * @descriptor metrics.value=_default
+     */
+    public int getQueueBatchSize()
+        {
+        return 0;
+        }
+    
     // Accessor for the property "QueueDelay"
     /**
      * Getter for property QueueDelay.<p>
@@ -193,6 +193,18 @@ public class StorageManagerMBean
                 });
             }
         
+        // property IndexTotalOffHeapUnits
+            {
+            mapInfo.put("IndexTotalOffHeapUnits", new Object[]
+                {
+                "The total units (bytes) of off-heap memory used by all indices on the associated cache.",
+                "getIndexTotalOffHeapUnits",
+                null,
+                "J",
+                "rest.collector=sum,metrics.value=_default",
+                });
+            }
+        
         // property IndexTotalUnits
             {
             mapInfo.put("IndexTotalUnits", new Object[]
@@ -590,6 +602,19 @@ public class StorageManagerMBean
         return 0L;
         }
     
+    // Accessor for the property "IndexTotalOffHeapUnits"
+    /**
+     * Getter for property IndexTotalOffHeapUnits.<p>
+    * The total units (bytes) of off-heap memory used by all indices on the
+    * associated cache.
+    * 
+    * @descriptor rest.collector=sum,metrics.value=_default
+     */
+    public long getIndexTotalOffHeapUnits()
+        {
+        return 0L;
+        }
+    
     // Accessor for the property "IndexTotalUnits"
     /**
      * Getter for property IndexTotalUnits.<p>
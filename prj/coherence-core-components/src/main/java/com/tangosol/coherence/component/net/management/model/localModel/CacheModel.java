@@ -20,6 +20,7 @@ import com.tangosol.net.cache.ReadWriteBackingMap;
 import com.tangosol.net.cache.SimpleCacheStatistics;
 import com.tangosol.net.cache.SimpleMemoryCalculator;
 import com.tangosol.net.cache.SimpleOverflowMap;
+import com.tangosol.net.metrics.Snapshot;
 import com.tangosol.util.Base;
 import com.tangosol.util.ClassHelper;
 import com.tangosol.util.ExternalizableHelper;
@@ -575,6 +576,113 @@ public class CacheModel
         return getCacheStoreType();
         }
     
+    // Accessor for the property "PreloadDurationMillis"
+    /**
+     * Getter for property PreloadDurationMillis.<p>
+     */
+    public long getPreloadDurationMillis()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap           map       = get_BackingMap();
+        ReadWriteBackingMap.Preloader preloader = map == null ? null : map.getPreloader();
+        
+        return preloader == null ? -1L : preloader.getDurationMillis();
+        }
+    
+    // Accessor for the property "PreloadEntries"
+    /**
+     * Getter for property PreloadEntries.<p>
+     */
+    public long getPreloadEntries()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap           map       = get_BackingMap();
+        ReadWriteBackingMap.Preloader preloader = map == null ? null : map.getPreloader();
+        
+        return preloader == null ? -1L : preloader.getEntryCount();
+        }
+    
+    // Accessor for the property "PreloadPartitions"
+    /**
+     * Getter for property PreloadPartitions.<p>
+     */
+    public int getPreloadPartitions()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap           map       = get_BackingMap();
+        ReadWriteBackingMap.Preloader preloader = map == null ? null : map.getPreloader();
+        
+        return preloader == null ? -1 : preloader.getPartitionCount();
+        }
+    
+    // Accessor for the property "QueueAge95thPercentileMillis"
+    /**
+     * Getter for property QueueAge95thPercentileMillis.<p>
+     */
+    public long getQueueAge95thPercentileMillis()
+        {
+        return getQueueAgeMillis(0.95);
+        }
+    
+    // Accessor for the property "QueueAge99thPercentileMillis"
+    /**
+     * Getter for property QueueAge99thPercentileMillis.<p>
+     */
+    public long getQueueAge99thPercentileMillis()
+        {
+        return getQueueAgeMillis(0.99);
+        }
+    
+    // Accessor for the property "QueueAgeMedianMillis"
+    /**
+     * Getter for property QueueAgeMedianMillis.<p>
+     */
+    public long getQueueAgeMedianMillis()
+        {
+        return getQueueAgeMillis(0.5);
+        }
+    
+    // Accessor for the property "QueueBatchFactor"
+    /**
+     * Getter for property QueueBatchFactor.<p>
+     */
+    public double getQueueBatchFactor()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap map = get_BackingMap();
+        if (map != null && map.isWriteBehind())
+            {
+            return map.getEffectiveWriteBatchFactor();
+            }
+        else
+            {
+            return 0.0;
+            }
+        }
+    
+    // Accessor for the property "QueueBatchSize"
+    /**
+     * Getter for property QueueBatchSize.<p>
+     */
+    public int getQueueBatchSize()
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        
+        ReadWriteBackingMap map = get_BackingMap();
+        if (map != null && map.isWriteBehind())
+            {
+            return map.getEffectiveWriteBatchSize();
+            }
+        else
+            {
+            return -1;
+            }
+        }
+    
     // Accessor for the property "QueueDelay"
     /**
      * Getter for property QueueDelay.<p>
@@ -888,6 +996,27 @@ public class CacheModel
         return calc instanceof SimpleMemoryCalculator;
         }
     
+    /**
+     * Return the specified quantile of the time (in millis) the recently
+     * written entries spent in the write-behind queue.
+     *
+     * @param dflQuantile  the quantile, in the interval [0.0, 1.0]
+     *
+     * @return the quantile of the write-behind queue age, or -1 if the
+     *         persistence type is not WRITE-BEHIND
+     */
+    protected long getQueueAgeMillis(double dflQuantile)
+        {
+        // import com.tangosol.net.cache.ReadWriteBackingMap;
+        // import com.tangosol.net.metrics.Snapshot;
+        
+        ReadWriteBackingMap map      = get_BackingMap();
+        Snapshot            snapshot = map == null || !map.isWriteBehind()
+                                       ? null : map.getWriteQueueAgeSnapshot();
+        
+        return snapshot == null ? -1L : (long) snapshot.getValue(dflQuantile);
+        }
+    
     // Declared at the super level
     /**
      * Must be supplemented at each specific Model implementation.
@@ -945,6 +1074,18 @@ public class CacheModel
         mapSnapshot.put("UnitFactor", Base.makeInteger(nUnitFactor));
         mapSnapshot.put("Units", Base.makeInteger(cUnits));
         mapSnapshot.put("UnitsBytes", Base.makeLong((long) cUnits * nUnitFactor));
+        
+        if (ExternalizableHelper.isVersionCompatible(in, 25, 9, 0))
+            {
+            mapSnapshot.put("PreloadDurationMillis", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("PreloadEntries", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("PreloadPartitions", Base.makeInteger(ExternalizableHelper.readInt(in)));
+            mapSnapshot.put("QueueAge95thPercentileMillis", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("QueueAge99thPercentileMillis", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("QueueAgeMedianMillis", Base.makeLong(ExternalizableHelper.readLong(in)));
+            mapSnapshot.put("QueueBatchFactor", Double.valueOf(in.readDouble()));
+            mapSnapshot.put("QueueBatchSize", Base.makeInteger(ExternalizableHelper.readInt(in)));
+            }
         }
     
     // Accessor for the property "_BackingMapRef"
@@ -1227,5 +1368,17 @@ public class CacheModel
         ExternalizableHelper.writeLong(out, getTotalPutsMillis());
         ExternalizableHelper.writeInt(out, getUnitFactor());
         ExternalizableHelper.writeInt(out, getUnits());
+        
+        if (ExternalizableHelper.isVersionCompatible(out, 25, 9, 0))
+            {
+            ExternalizableHelper.writeLong(out, getPreloadDurationMillis());
+            ExternalizableHelper.writeLong(out, getPreloadEntries());
+            ExternalizableHelper.writeInt(out, getPreloadPartitions());
+            ExternalizableHelper.writeLong(out, getQueueAge95thPercentileMillis());
+            ExternalizableHelper.writeLong(out, getQueueAge99thPercentileMillis());
+            ExternalizableHelper.writeLong(out, getQueueAgeMedianMillis());
+            out.writeDouble(getQueueBatchFactor());
+            ExternalizableHelper.writeInt(out, getQueueBatchSize());
+            }
         }
     }
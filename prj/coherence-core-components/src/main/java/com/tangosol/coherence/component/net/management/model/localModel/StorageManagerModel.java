@@ -347,6 +347,51 @@ public class StorageManagerModel
         return cUnits;
         }
     
+    // Accessor for the property "IndexTotalOffHeapUnits"
+    /**
+     * Getter for property IndexTotalOffHeapUnits.<p>
+    * The total units (bytes) of off-heap memory used by all indices on the
+    * associated cache.
+     */
+    public long getIndexTotalOffHeapUnits()
+        {
+        // import Component.Util.Daemon.QueueProcessor.Service.Grid.PartitionedService.PartitionedCache$Storage as Storage;
+        // import com.tangosol.util.MapIndex;
+        // import java.util.ConcurrentModificationException;
+        // import java.util.Iterator;
+        // import java.util.Map;
+        
+        long     cUnits   = 0L;
+        Storage  storage  = get_Storage();
+        Map      mapIndex = storage == null ? null : storage.getIndexMap();
+
+        if (mapIndex != null && !mapIndex.isEmpty())
+            {  
+            for (int cAttempts = 4; cAttempts > 0; --cAttempts)
+                {
+                try
+                    {
+                    for (Iterator iter = mapIndex.values().iterator(); iter.hasNext();)
+                        {
+                        MapIndex index = (MapIndex) iter.next();
+
+                        if (index != null)
+                            {
+                            cUnits += index.getOffHeapUnits();
+                            }
+                        }
+                    break;
+                    }
+                catch (ConcurrentModificationException e)
+                    {
+                    cUnits = 0;
+                    }
+                }
+            }
+        
+        return cUnits;
+        }
+    
     // Accessor for the property "InsertCount"
     /**
      * Getter for property InsertCount.<p>
@@ -742,6 +787,12 @@ public class StorageManagerModel
             {
             mapSnapshot.put("ClearCount", ExternalizableHelper.readLong(in));
             }
+
+        // added in 25.09
+        if (ExternalizableHelper.isVersionCompatible(in, VersionHelper.VERSION_25_09))
+            {
+            mapSnapshot.put("IndexTotalOffHeapUnits", ExternalizableHelper.readLong(in));
+            }
         }
     
     public void resetStatistics()
@@ -956,5 +1007,11 @@ public class StorageManagerModel
             {
             ExternalizableHelper.writeLong(out, getClearCount());
             }
+
+        // added in 25.09
+        if (ExternalizableHelper.isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            ExternalizableHelper.writeLong(out, getIndexTotalOffHeapUnits());
+            }
         }
     }
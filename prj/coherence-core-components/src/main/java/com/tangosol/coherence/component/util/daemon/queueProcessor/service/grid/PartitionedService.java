@@ -27944,6 +27944,16 @@ public abstract class PartitionedService
             public void removeTransientCaches(com.oracle.coherence.persistence.PersistentStore store)
                 {
                 }
+
+            /**
+             * Write the snapshots of the restorable indexes of the specified
+            * partition to the copied store.
+            *
+            * @since 25.09
+             */
+            public void snapshotIndexes(int iPart, com.oracle.coherence.persistence.PersistentStore store)
+                {
+                }
             
             // From interface: java.lang.Runnable
             public void run()
@@ -28121,6 +28131,7 @@ public abstract class PartitionedService
                         store = mgrSnapshot.open(sGUID = storeFrom.getId(), storeFrom);
                 
                         removeTransientCaches(store);
+                        snapshotIndexes(iPart, store);
                         }
                 
                     _trace("Created snapshot of partition " + iPart, 3);
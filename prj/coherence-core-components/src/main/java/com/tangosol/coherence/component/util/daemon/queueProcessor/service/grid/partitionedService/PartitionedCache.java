@@ -6864,7 +6864,7 @@ public class PartitionedCache
                                 ValueExtractor      extractor  = (ValueExtractor) index.getKey();
                                 Comparator          comparator = (Comparator) index.getValue();
         
-                                storage.createMapIndex(storage.getPartitionIndexMap(iPart), extractor, comparator);
+                                storage.createMapIndex(storage.getPartitionIndexMap(iPart), extractor, comparator, iPart);
                                 }
                                 if (!service.getDaemonPool().isStarted())
                                     {
@@ -10108,6 +10108,7 @@ public class PartitionedCache
                         storage.insertPrimaryTransfer        (iPartition, msgTransfer.getResource());
                         storage.insertPrimaryLeaseTransfer   (iPartition, msgTransfer.getLease());
                         storage.insertPrimaryListenerTransfer(iPartition, msgTransfer.getListener());
+                        storage.insertIndexSnapshotTransfer  (iPartition, msgTransfer.getIndexSnapshot());
         
                         // ensure that any "global" meta-data are properly persisted
                         if (storage.isPersistent())
@@ -11792,7 +11793,19 @@ public class PartitionedCache
                 //       to send the store's data to the new owner in a PersistentStore
                 //       agnostic way
         
-                int     cbTransfer  = cbResource + cbLease + cbListen;
+                // index snapshots, so that the new primary owner doesn't have
+                // to rebuild the restorable indexes (see Storage#createPartitionIndex)
+                java.util.Map.Entry[] aIndexSnap  = fPrimary
+                        ? storage.collectIndexSnapshots(iPartition)
+                        : new java.util.Map.Entry[0];
+                int                   cbIndexSnap = 0;
+                for (int i = 0; i < aIndexSnap.length; i++)
+                    {
+                    cbIndexSnap += ((Binary) aIndexSnap[i].getKey()).length()
+                                 + ((Binary) aIndexSnap[i].getValue()).length();
+                    }
+        
+                int     cbTransfer  = cbResource + cbLease + cbListen + cbIndexSnap;
                 boolean fLastInPart = !iterStore.hasNext();
         
                 PartitionedCache.TransferRequest msgTransfer = (PartitionedCache.TransferRequest) instantiateMessage("TransferRequest");
@@ -11806,6 +11819,7 @@ public class PartitionedCache
                 msgTransfer.setLease((Lease[]) listLease.toArray(new Lease[listLease.size()]));
                 msgTransfer.setListener((java.util.Map.Entry[]) listListen.toArray(new java.util.Map.Entry[listListen.size()]));
                 msgTransfer.setMapEventVersion(storage.getVersion().getSubmittedVersion(iPartition));
+                msgTransfer.setIndexSnapshot(aIndexSnap);
         
                 fLastInTransfer |= control.recordTransfer(msgTransfer, cbTransfer);
         
@@ -33023,6 +33037,27 @@ public class PartitionedCache
                 return true;
                 }
             
+            // From interface: com.tangosol.persistence.CachePersistenceHelper$Visitor
+            public boolean visitIndexSnapshot(long lOldCacheId, com.tangosol.util.Binary binExtractor, com.tangosol.util.Binary binSnapshot)
+                {
+                // import com.tangosol.util.ExternalizableHelper as com.tangosol.util.ExternalizableHelper;
+                // import com.tangosol.util.ValueExtractor as com.tangosol.util.ValueExtractor;
+                
+                Storage storage = getStorage(lOldCacheId);
+                if (storage != null)
+                    {
+                    // the snapshot is restored once the index is (re)created for
+                    // the partition; see Storage#createPartitionIndex
+                    PartitionedCache                 service   = (PartitionedCache) get_Module();
+                    com.tangosol.util.ValueExtractor extractor = (com.tangosol.util.ValueExtractor)
+                            com.tangosol.util.ExternalizableHelper.fromBinary(binExtractor, service.getSerializer());
+                
+                    storage.addIndexSnapshot(getPartition(), extractor, binSnapshot);
+                    }
+                
+                return true;
+                }
+            
             // From interface: com.tangosol.persistence.CachePersistenceHelper$Visitor
             public boolean visitListener(long lOldCacheId, com.tangosol.util.Binary binKey, long lMemberId, boolean fLite)
                 {
@@ -33263,6 +33298,30 @@ public class PartitionedCache
                     com.tangosol.persistence.CachePersistenceHelper.storeCacheNames(store, laCaches);
                     }
                 }
+
+            // Declared at the super level
+            /**
+             * Write the snapshots of the restorable indexes of the specified
+            * partition to the copied store.
+             */
+            public void snapshotIndexes(int iPart, com.oracle.coherence.persistence.PersistentStore store)
+                {
+                // import com.tangosol.net.BackingMapManager;
+                // import java.util.Iterator;
+
+                PartitionedCache  service = (PartitionedCache) getService();
+                BackingMapManager manager = service.getBackingMapManager();
+
+                for (Iterator iter = service.getStorageArray().iterator(); iter.hasNext(); )
+                    {
+                    Storage storage = (Storage) iter.next();
+                    if (storage.isValid() && storage.isIndexed()
+                            && manager.isBackingMapPersistent(storage.getCacheName(), true))
+                        {
+                        storage.snapshotPartitionIndex(iPart, store, /*oToken*/ null);
+                        }
+                    }
+                }
             }
         }
 
@@ -41964,7 +42023,7 @@ public class PartitionedCache
                             ValueExtractor      extractor  = (ValueExtractor) index.getKey();
                             Comparator          comparator = (Comparator) index.getValue();
 
-                            storage.createMapIndex(storage.getPartitionIndexMap(iPartition), extractor, comparator);
+                            storage.createMapIndex(storage.getPartitionIndexMap(iPartition), extractor, comparator, iPartition);
                             }
                         if (!service.getDaemonPool().isStarted())
                             {
@@ -42123,14 +42182,15 @@ public class PartitionedCache
             
                 PartitionedCache service = (PartitionedCache) get_Module();
             
-                // drop indices for this partition
+                // drop indices and cached query results for this partition
                 for (Iterator it = service.getStorageArray().iterator(); it.hasNext(); )
                     {
                     Storage storage = (Storage) it.next();
                     if (storage.isIndexed())
                         {
-                        storage.getPartitionedIndexMap().remove(iPartition);
+                        storage.removePartitionIndex(iPartition);
                         }
+                    storage.removePartitionQueryResults(iPartition);
                     }
             
                 // drop the pending index rebuild for this partition
@@ -42244,6 +42304,16 @@ public class PartitionedCache
          */
         private com.tangosol.io.ReadBuffer __m_EventsStoreBinary;
         
+        /**
+         * Property IndexSnapshot
+         *
+         * An array of entries of the serialized extractor and the snapshot
+         * of each restorable index of the partition to transfer.
+         *
+         * @since 25.09
+         */
+        private java.util.Map.Entry[] __m_IndexSnapshot;
+        
         /**
          * Property LastCache
          *
@@ -42450,6 +42520,17 @@ public class PartitionedCache
             return __m_EventsStoreBinary;
             }
         
+        // Accessor for the property "IndexSnapshot"
+        /**
+         * Getter for property IndexSnapshot.<p>
+        * An array of entries of the serialized extractor and the snapshot of
+        * each restorable index of the partition to transfer.
+         */
+        public java.util.Map.Entry[] getIndexSnapshot()
+            {
+            return __m_IndexSnapshot;
+            }
+        
         // Accessor for the property "Lease"
         /**
          * Getter for property Lease.<p>
@@ -42655,6 +42736,21 @@ public class PartitionedCache
                 {
                 setMapEventVersion(com.tangosol.util.ExternalizableHelper.readLong(input));
                 }
+            
+            // index snapshots
+            if (service.isVersionCompatible(getFromMember(), 25, 9, 0))
+                {
+                int                   cSnaps = com.tangosol.util.ExternalizableHelper.readInt(input);
+                java.util.Map.Entry[] aSnap  = new java.util.Map.Entry[cSnaps];
+                for (int i = 0; i < cSnaps; i++)
+                    {
+                    Object binExtractor = com.tangosol.util.ExternalizableHelper.readObject(input);
+                    Object binSnapshot  = com.tangosol.util.ExternalizableHelper.readObject(input);
+            
+                    aSnap[i] = new SimpleMapEntry(binExtractor, binSnapshot);
+                    }
+                setIndexSnapshot(aSnap);
+                }
             }
         
         // Accessor for the property "Addendums"
@@ -42710,6 +42806,17 @@ public class PartitionedCache
             __m_EventsStoreBinary = bufBinary;
             }
         
+        // Accessor for the property "IndexSnapshot"
+        /**
+         * Setter for property IndexSnapshot.<p>
+        * An array of entries of the serialized extractor and the snapshot of
+        * each restorable index of the partition to transfer.
+         */
+        public void setIndexSnapshot(java.util.Map.Entry[] aEntry)
+            {
+            __m_IndexSnapshot = aEntry;
+            }
+        
         // Accessor for the property "LastCache"
         /**
          * Setter for property LastCache.<p>
@@ -42937,6 +43044,20 @@ public class PartitionedCache
             
             // latest event version @since 21.06
             com.tangosol.util.ExternalizableHelper.writeLong(output, getMapEventVersion());
+            
+            // index snapshots @since 25.09
+            java.util.Map.Entry[] aSnap  = getIndexSnapshot();
+            int                   cSnaps = aSnap == null ? 0 : aSnap.length;
+            
+            com.tangosol.util.ExternalizableHelper.writeInt(output, cSnaps);
+            for (int i = 0; i < cSnaps; i++)
+                {
+                java.util.Map.Entry entry = aSnap[i];
+            
+                com.tangosol.util.ExternalizableHelper.writeObject(output, entry.getKey());
+                com.tangosol.util.ExternalizableHelper.writeObject(output, entry.getValue());
+                }
+            setIndexSnapshot(null); // cleanup
             }
         }
 
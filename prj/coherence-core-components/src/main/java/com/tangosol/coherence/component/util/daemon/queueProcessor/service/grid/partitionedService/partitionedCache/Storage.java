@@ -22,9 +22,12 @@ import com.tangosol.internal.util.BMEventFabric;
 import com.tangosol.internal.util.Daemons;
 import com.tangosol.internal.util.HeuristicCommitException;
 import com.tangosol.internal.util.KeyIndexManager;
+import com.tangosol.internal.util.KeysetComparator;
 import com.tangosol.internal.util.LockContentionException;
+import com.tangosol.internal.util.PartialSort;
 import com.tangosol.internal.util.PartitionedIndexMap;
 import com.tangosol.internal.util.QueryResult;
+import com.tangosol.internal.util.QueryResultCache;
 import com.tangosol.internal.util.SimpleBinaryEntry;
 import com.tangosol.internal.util.UnsafeSubSet;
 import com.tangosol.io.ReadBuffer;
@@ -58,6 +61,7 @@ import com.tangosol.run.xml.SimpleElement;
 import com.tangosol.run.xml.XmlElement;
 import com.tangosol.util.Base;
 import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
 import com.tangosol.util.ClassHelper;
 import com.tangosol.util.ConcurrentMap;
 import com.tangosol.util.Converter;
@@ -78,10 +82,12 @@ import com.tangosol.util.MapListener;
 import com.tangosol.util.MapTrigger;
 import com.tangosol.util.NullImplementation;
 import com.tangosol.util.ObservableMap;
+import com.tangosol.util.RestorableMapIndex;
 import com.tangosol.util.SafeHashMap;
 import com.tangosol.util.SafeHashSet;
 import com.tangosol.util.SegmentedHashMap;
 import com.tangosol.util.SimpleEnumerator;
+import com.tangosol.util.SimpleMapEntry;
 import com.tangosol.util.SimpleMapIndex;
 import com.tangosol.util.Streamer;
 import com.tangosol.util.SubSet;
@@ -91,6 +97,7 @@ import com.tangosol.util.comparator.EntryComparator;
 import com.tangosol.util.comparator.SafeComparator;
 import com.tangosol.util.extractor.IdentityExtractor;
 import com.tangosol.util.extractor.IndexAwareExtractor;
+import com.tangosol.util.extractor.PofExtractor;
 import com.tangosol.util.filter.AlwaysFilter;
 import com.tangosol.util.filter.FilterTrigger;
 import com.tangosol.util.filter.IndexAwareFilter;
@@ -116,6 +123,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.RecursiveTask;
@@ -346,6 +354,30 @@ public class Storage
      */
     private java.util.Map __m_IndexExtractorMap;
 
+    /**
+     * Property IndexExtractorBatch
+     *
+     * The PofExtractor.Batch for the most recently updated set of index
+     * extractors, used to extract the values of all indexed PofExtractors
+     * in a single pass over each entry.
+     *
+     * @see #ensureIndexExtractorBatch
+     */
+    private com.tangosol.util.extractor.PofExtractor.Batch __m_IndexExtractorBatch;
+
+    /**
+     * Property IndexSnapshotMap
+     *
+     * The Map<Integer, Map<ValueExtractor, Binary>> containing the index
+     * snapshots received with transferred partitions, or read while
+     * recovering partitions, that are waiting to be restored by
+     * createPartitionIndex().
+     *
+     * @see RestorableMapIndex
+     * @since 25.09
+     */
+    private java.util.Map __m_IndexSnapshotMap;
+
     /**
      * Property InternBackupKeys
      *
@@ -422,6 +454,21 @@ public class Storage
      */
     private volatile transient boolean __m_OldValueRequired;
 
+    /**
+     * Property ParallelAggregateThreshold
+     *
+     * The minimum number of entries in the partitions targeted by a
+     * PARALLEL StreamingAggregator that is not BY_PARTITION for the
+     * aggregation to be split across the partitions and executed using the
+     * ForkJoinPool; a negative value disables the parallel execution of such
+     * aggregators. Aggregators that are both PARALLEL and BY_PARTITION are
+     * always split.
+     *
+     * The system property used to set this value is
+     * 'coherence.distributed.aggregate.parallel.threshold', defaults to 1000.
+     */
+    private int __m_ParallelAggregateThreshold;
+
     /**
      * Property PartitionAwareBackingMap
      *
@@ -547,6 +594,18 @@ public class Storage
      */
     private int __m_QueryRetries;
 
+    /**
+     * Property QueryResultCache
+     *
+     * The cache of the keys matching the recently used filters within each
+     * partition, or null if query results should not be cached.
+     *
+     * The system property used to enable the cache is
+     * 'coherence.distributed.query.cache.size', which specifies the maximum
+     * total number of keys cached for this storage; defaults to 0 (disabled).
+     */
+    private com.tangosol.internal.util.QueryResultCache __m_QueryResultCache;
+
     /**
      * Property QuerySizeCache
      *
@@ -793,6 +852,7 @@ public class Storage
             setEntryStatusMap(new java.util.concurrent.ConcurrentHashMap());
             setFilterIdMap(new com.tangosol.util.SafeHashMap());
             setIndexExtractorMap(new com.tangosol.util.SafeHashMap());
+            setIndexSnapshotMap(new java.util.concurrent.ConcurrentHashMap());
             setInternBackupKeys(false);
             setInternPrimaryKeys(false);
             setLeaseMap(new com.tangosol.util.SegmentedHashMap());
@@ -999,7 +1059,7 @@ public class Storage
             MapIndex index = null;
             for (int iPart = partsMask.next(0); iPart >= 0; iPart = partsMask.next(iPart + 1))
                 {
-                createMapIndex(getPartitionIndexMap(iPart), extractor, comparator);
+                createMapIndex(getPartitionIndexMap(iPart), extractor, comparator, iPart);
                 }
 
             getIndexExtractorMap().put(extractor, comparator);
@@ -1008,7 +1068,12 @@ public class Storage
 
             if (extractor instanceof IndexAwareExtractor)
                 {
-                ValueExtractor extractorReal = createMapIndex(new HashMap(), extractor, comparator).getValueExtractor();
+                Map            mapTemp       = new HashMap();
+                ValueExtractor extractorReal = createMapIndex(mapTemp, extractor, comparator).getValueExtractor();
+
+                // the temporary index was only needed to obtain the real
+                // extractor; release any resources it may hold
+                ((IndexAwareExtractor) extractor).destroyIndex(mapTemp);
 
                 if (extractorReal == null)
                     {
@@ -1351,9 +1416,10 @@ public class Storage
             }
 
         Object result = null;
-        if (agent.isByPartition() && agent.isParallel() && Daemons.isForkJoinPoolEnabled())
+        if (isParallelAggregation(filter, agent, partMask))
             {
-            // let's run aggregator in parallel across individual partitions using ForkJoinPool
+            // let's run aggregator in parallel across individual partitions using ForkJoinPool;
+            // the partial results are combined locally before the result is returned
 
             Future<Object> future = Daemons.forkJoinPool().submit(new PartitionedAggregateTask<Object>(this, filter, agent, partMask));
             try
@@ -1390,6 +1456,54 @@ public class Storage
         return result;
         }
 
+    /**
+     * Determine whether the specified StreamingAggregator should be executed
+     * in parallel across the individual partitions using the ForkJoinPool.
+     *
+     * @param filter    the filter to evaluate
+     * @param agent     the aggregator
+     * @param partMask  the partitions to aggregate
+     *
+     * @return true if the aggregation should be split across the partitions
+     */
+    protected boolean isParallelAggregation(com.tangosol.util.Filter filter, InvocableMap.StreamingAggregator agent, com.tangosol.net.partition.PartitionSet partMask)
+        {
+        // GraalVM doesn't support access to script context from multiple threads,
+        // so ScriptFilter based aggregations run on the current thread (see query)
+        if (!agent.isParallel() || !Daemons.isForkJoinPoolEnabled()
+                || partMask.cardinality() < 2 || filter instanceof ScriptFilter)
+            {
+            return false;
+            }
+
+        if (agent.isByPartition())
+            {
+            return true;
+            }
+
+        // in the absence of the BY_PARTITION hint we are free to decide; only
+        // split the aggregation if there is enough work to offset the overhead
+        int cThreshold = getParallelAggregateThreshold();
+        return cThreshold >= 0 && calculateSize(partMask, false) >= cThreshold;
+        }
+
+    /**
+     * Return the parallel aggregation threshold configured by the
+     * 'coherence.distributed.aggregate.parallel.threshold' system property.
+     *
+     * @return the configured threshold, or 1000 if it is not set
+     *
+     * @see #getParallelAggregateThreshold()
+     *
+     * @since 25.09
+     */
+    public static int getConfiguredParallelAggregateThreshold()
+        {
+        // import com.tangosol.coherence.config.Config;
+
+        return Config.getInteger("coherence.distributed.aggregate.parallel.threshold", 1000).intValue();
+        }
+
     public Object aggregateByStreaming(java.util.Set setKeys, com.tangosol.util.InvocableMap.StreamingAggregator agent)
         {
         // import com.tangosol.internal.tracing.TracingHelper;
@@ -2128,6 +2242,18 @@ public class Storage
      * Create MapIndex for the specified ValueExtractor and add to IndexMap.
      */
     public com.tangosol.util.MapIndex createMapIndex(java.util.Map mapIndex, com.tangosol.util.ValueExtractor extractor, java.util.Comparator comparator)
+        {
+        return createMapIndex(mapIndex, extractor, comparator, -1);
+        }
+
+    /**
+     * Create MapIndex for the specified ValueExtractor and partition and add
+     * to IndexMap.
+     *
+     * @param nPartition  the partition the index is created for, or -1 if
+     *                    the index is not associated with a single partition
+     */
+    public com.tangosol.util.MapIndex createMapIndex(java.util.Map mapIndex, com.tangosol.util.ValueExtractor extractor, java.util.Comparator comparator, int nPartition)
         {
         // import com.tangosol.util.ForwardOnlyMapIndex;
         // import com.tangosol.util.MapIndex;
@@ -2141,7 +2267,7 @@ public class Storage
         if (extractor instanceof IndexAwareExtractor)
             {
             index = ((IndexAwareExtractor) extractor).
-                    createIndex(fOrdered, comparator, mapIndex, this);
+                    createIndex(fOrdered, comparator, mapIndex, this, nPartition);
 
             if (index == null)
                 {
@@ -2164,6 +2290,171 @@ public class Storage
         return index;
         }
 
+    /**
+     * Register the specified index snapshot to be restored by
+     * createPartitionIndex() for the specified partition.
+     *
+     * @param nPartition   the partition the snapshot was taken for
+     * @param extractor    the extractor of the index
+     * @param binSnapshot  the snapshot written by the index
+     *
+     * @see RestorableMapIndex
+     */
+    public void addIndexSnapshot(int nPartition, com.tangosol.util.ValueExtractor extractor, com.tangosol.util.Binary binSnapshot)
+        {
+        // import java.util.Map;
+        // import java.util.concurrent.ConcurrentHashMap;
+
+        Map mapSnapshots = (Map) getIndexSnapshotMap().computeIfAbsent(Integer.valueOf(nPartition), n -> new ConcurrentHashMap());
+        mapSnapshots.put(extractor, binSnapshot);
+        }
+
+    /**
+     * Collect the snapshots of the restorable indexes of the specified
+     * partition. Called on the service thread only, while the partition is
+     * not being modified.
+     *
+     * @param nPartition  the partition to snapshot the indexes for
+     *
+     * @return an array of entries of the extractor, serialized using the
+     *         service serializer, and the index snapshot; an empty array if
+     *         there are no restorable indexes
+     *
+     * @see RestorableMapIndex
+     */
+    public java.util.Map.Entry[] collectIndexSnapshots(int nPartition)
+        {
+        // import com.tangosol.io.Serializer;
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.BinaryWriteBuffer;
+        // import com.tangosol.util.ExternalizableHelper;
+        // import com.tangosol.util.RestorableMapIndex;
+        // import com.tangosol.util.SimpleMapEntry;
+        // import java.util.ArrayList;
+        // import java.util.Iterator;
+        // import java.util.List;
+        // import java.util.Map;
+
+        Map mapPartIndex = isIndexed()
+                ? (Map) getPartitionedIndexMap().get(Integer.valueOf(nPartition))
+                : null;
+
+        if (mapPartIndex == null || mapPartIndex.isEmpty()
+                || getService().getIndexPendingPartitions().containsKey(Integer.valueOf(nPartition)))
+            {
+            // there is nothing to snapshot, or the indexes are still being built
+            return new java.util.Map.Entry[0];
+            }
+
+        Serializer serializer = getService().getSerializer();
+        List       listSnap   = new ArrayList();
+        for (Iterator iter = mapPartIndex.entrySet().iterator(); iter.hasNext(); )
+            {
+            java.util.Map.Entry entry = (java.util.Map.Entry) iter.next();
+            Object              index = entry.getValue();
+            if (index instanceof RestorableMapIndex)
+                {
+                try
+                    {
+                    BinaryWriteBuffer buf = new BinaryWriteBuffer(1024);
+                    ((RestorableMapIndex) index).writeSnapshot(buf.getBufferOutput());
+
+                    listSnap.add(new SimpleMapEntry(
+                            ExternalizableHelper.toBinary(entry.getKey(), serializer), buf.toBinary()));
+                    }
+                catch (Exception e)
+                    {
+                    // the receiver will rebuild the index from the entries
+                    _trace("Failed to snapshot the index " + entry.getKey() + " for partition "
+                         + nPartition + " of cache \"" + getCacheName() + "\": " + e, 2);
+                    }
+                }
+            }
+
+        return (java.util.Map.Entry[]) listSnap.toArray(new java.util.Map.Entry[listSnap.size()]);
+        }
+
+    /**
+     * Restore the restorable indexes of the specified partition from any
+     * pending snapshots in the IndexSnapshotMap.
+     *
+     * @param nPartition  the partition to restore the indexes for
+     * @param mapIndex    the index map that contains a subset of extractors
+     *                    to be processed; if null, all extractors for this
+     *                    Storage are to be processed
+     * @param setKeys     the keys of the partition
+     */
+    protected void restorePartitionIndex(int nPartition, java.util.Map mapIndex, java.util.Set setKeys)
+        {
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.RestorableMapIndex;
+        // import java.util.Iterator;
+        // import java.util.Map;
+
+        Map mapSnapshots = (Map) getIndexSnapshotMap().get(Integer.valueOf(nPartition));
+        if (mapSnapshots == null)
+            {
+            return;
+            }
+
+        Map mapPartIndex = getPartitionIndexMap(nPartition);
+        for (Iterator iter = mapSnapshots.entrySet().iterator(); iter.hasNext(); )
+            {
+            java.util.Map.Entry entry     = (java.util.Map.Entry) iter.next();
+            Object              extractor = entry.getKey();
+            Object              index     = mapPartIndex.get(extractor);
+
+            if (index instanceof RestorableMapIndex && (mapIndex == null || mapIndex.containsKey(extractor)))
+                {
+                iter.remove();
+
+                long ldtStart = Base.getSafeTimeMillis();
+                try
+                    {
+                    if (((RestorableMapIndex) index).readSnapshot(((Binary) entry.getValue()).getBufferInput(), setKeys))
+                        {
+                        _trace("Restored the index " + extractor + " for partition " + nPartition + " of cache \""
+                             + getCacheName() + "\" in " + (Base.getSafeTimeMillis() - ldtStart) + "ms", 6);
+                        }
+                    }
+                catch (Exception e)
+                    {
+                    // the index will be rebuilt from the entries
+                    _trace("Failed to restore the index " + extractor + " for partition "
+                         + nPartition + " of cache \"" + getCacheName() + "\": " + e, 2);
+                    }
+                }
+            }
+
+        if (mapSnapshots.isEmpty())
+            {
+            getIndexSnapshotMap().remove(Integer.valueOf(nPartition), mapSnapshots);
+            }
+        }
+
+    /**
+     * Write the snapshots of the restorable indexes of the specified
+     * partition to the specified persistent store.
+     *
+     * @param nPartition  the partition to snapshot the indexes for
+     * @param store       the persistent store to write the snapshots to
+     * @param oToken      the optional batch token
+     *
+     * @see #collectIndexSnapshots
+     */
+    public void snapshotPartitionIndex(int nPartition, com.oracle.coherence.persistence.PersistentStore store, Object oToken)
+        {
+        // import com.tangosol.persistence.CachePersistenceHelper as com.tangosol.persistence.CachePersistenceHelper;
+        // import com.tangosol.util.Binary;
+
+        java.util.Map.Entry[] aEntry = collectIndexSnapshots(nPartition);
+        for (int i = 0, c = aEntry.length; i < c; i++)
+            {
+            com.tangosol.persistence.CachePersistenceHelper.storeIndexSnapshot(store, getCacheId(),
+                    (Binary) aEntry[i].getKey(), (Binary) aEntry[i].getValue(), oToken);
+            }
+        }
+
     /**
      * Create the index for the specified partition. Used during index
      * rebuild/recovery or index creation (see onUpdateIndexRequest).
@@ -2201,6 +2492,10 @@ public class Storage
             // since updates are not allowed yet (see ensureIndexReady)
             }
 
+        // restore the indexes that came with the partition, so that only
+        // the entries changed after the snapshot need to be indexed below
+        restorePartitionIndex(nPartition, mapIndex, setKeys);
+
         int cBatchMax = Math.min(setKeys.size(), 16);
         if (cBatchMax == 0)
             {
@@ -2267,6 +2562,74 @@ public class Storage
         return null;
         }
 
+    /**
+     * Calculate the maximum number of results a member needs to return for a
+     * page of the specified LimitFilter that is paged in the natural order of
+     * the keys, which includes the results skipped by the previous pages.
+     *
+     * @see BinaryMap#limitQuerySequential
+     * @see LimitFilter#extractPage(Object[])
+     */
+    protected int calculateLimit(com.tangosol.util.filter.LimitFilter filterLimit)
+        {
+        Object oAnchorTop = filterLimit.getTopAnchor();
+        int    cPageSize  = filterLimit.getPageSize();
+        long   cSkip      = oAnchorTop instanceof Integer
+                            ? ((Integer) oAnchorTop).intValue()
+                            : (long) filterLimit.getPage() * cPageSize;
+
+        return (int) Math.min(Integer.MAX_VALUE, cSkip + cPageSize);
+        }
+
+    /**
+     * Retrieve query results from the keys cached for the specified filter.
+     *
+     * When calling this method aoResult contains the binary keys that matched
+     * the filter when the partition had its current version. When returning,
+     * it contains the instantiated binary entries for QUERY_ENTRIES; the
+     * entries are not re-evaluated, unless the partition has been modified
+     * since the query started.
+     *
+     * @param filter the filter the keys were cached for
+     * @param aoResult passed in binary keys; upon return may contain
+     * $BinaryEntry objects
+     * @param nQueryType one of the QUERY_* values, except QUERY_INVOKE
+     * @param partMask partitionSet that keys belong to
+     * @param lIdxVersion the version of the index as it was before the query
+     * started; -1 means that the query was QUERY_KEYS type
+     *
+     * @return the number of "real" results in the aoResult array
+     *
+     * @see QueryResultCache
+     */
+    protected int createCachedQueryResult(com.tangosol.util.Filter filter, Object[] aoResult, int nQueryType, com.tangosol.net.partition.PartitionSet partMask, long lIdxVersion)
+        {
+        // import com.tangosol.util.Binary;
+        // import java.util.Map;
+
+        if (nQueryType == QUERY_KEYS || nQueryType == QUERY_AGGREGATE)
+            {
+            return aoResult.length;
+            }
+
+        Map mapPrime = getBackingInternalCache();
+        int cResults = 0;
+
+        for (int i = 0, c = aoResult.length; i < c; i++)
+            {
+            Binary binKey   = (Binary) aoResult[i];
+            Binary binValue = (Binary) mapPrime.get(binKey);
+
+            if (binValue != null) // must've expired; we can simply skip it
+                {
+                aoResult[cResults++] = instantiateBinaryEntry(binKey, binValue, true);
+                }
+            }
+
+        // the partition could have been modified after its version was checked
+        return checkIndexConsistency(filter, aoResult, cResults, nQueryType, partMask, lIdxVersion);
+        }
+
     /**
      * Retrieve query results.
      *
@@ -2303,37 +2666,50 @@ public class Storage
 
         PartitionedCache.InvocationContext ctxInvoke = fInvoke ? getService().getInvocationContext() : null;
 
-        // replace all valid keys with corresponding entries or statuses
-        // Note: for QUERY_INVOKE the keys are sorted to avoid a deadldock
-        for (int i = 0, c = aoResult.length; i < c; i++)
+        // extract the values of all PofExtractors used by the filter in a
+        // single pass over each entry
+        PofExtractor.Batch.Scope scope = PofExtractor.batch(filterOrig).enter();
+        try
             {
-            Binary binKey   = (Binary) aoResult[i];
-            Binary binValue = (Binary) mapPrime.get(binKey);
-
-            if (binValue != null) // must've expired if it's null
+            // replace all valid keys with corresponding entries or statuses
+            // Note: for QUERY_INVOKE the keys are sorted to avoid a deadldock
+            for (int i = 0, c = aoResult.length; i < c; i++)
                 {
-                EntryStatus status = fInvoke
-                                     ? ctxInvoke.lockEntry(this, binKey, false)
-                                     : null;
+                Binary binKey   = (Binary) aoResult[i];
+                Binary binValue = (Binary) mapPrime.get(binKey);
+
+                if (binValue != null) // must've expired if it's null
+                    {
+                    EntryStatus status = fInvoke
+                                         ? ctxInvoke.lockEntry(this, binKey, false)
+                                         : null;
 
-                BinaryEntry entry  = fInvoke
-                                     ? status.getBinaryEntry().setBinaryValue(binValue)
-                                     : instantiateBinaryEntry(binKey, binValue, true);
+                    BinaryEntry entry  = fInvoke
+                                         ? status.getBinaryEntry().setBinaryValue(binValue)
+                                         : instantiateBinaryEntry(binKey, binValue, true);
 
-                // Check (after locking the key or creating a read-only copy) that the
-                // BinaryEntry still matches the filter.
-                //
-                // The value might have changed after the initial filtering, so we need to
-                // re-read and re-evaluate after we have locked it or copied it (COH-1209, COH-3647)
-                if (filterOrig == null || InvocableMapHelper.evaluateEntry(filterOrig, entry))
+                    // Check (after locking the key or creating a read-only copy) that the
+                    // BinaryEntry still matches the filter.
+                    //
+                    // The value might have changed after the initial filtering, so we need to
+                    // re-read and re-evaluate after we have locked it or copied it (COH-1209, COH-3647)
+                    if (filterOrig == null || InvocableMapHelper.evaluateEntry(filterOrig, entry))
+                        {
+                        aoResult[cResults++] = fInvoke ? status : entry;
+                        }
+                    }
+
+                if ((i & 0x3FF) == 0x3FF)
                     {
-                    aoResult[cResults++] = fInvoke ? status : entry;
+                    getService().checkInterrupt();
                     }
                 }
-
-            if ((i & 0x3FF) == 0x3FF)
+            }
+        finally
+            {
+            if (scope != null)
                 {
-                getService().checkInterrupt();
+                scope.close();
                 }
             }
         return checkIndexConsistency(filterOrig, aoResult, cResults, nQueryType, partMask, lIdxVersion);
@@ -2382,13 +2758,7 @@ public class Storage
             LimitFilter filterLimit = (LimitFilter) filterOrig;
             if (nQueryType == QUERY_KEYS || filterLimit.getComparator() == null)
                 {
-                // see $BinaryMap#querySequential and LimitFilter#extractPage
-                Object oAnchorTop = filterLimit.getTopAnchor();
-                int    cPageSize  = filterLimit.getPageSize();
-
-                cLimit = cPageSize + (oAnchorTop instanceof Integer
-                                      ? ((Integer) oAnchorTop).intValue()
-                                      :  filterLimit.getPage() * cPageSize);
+                cLimit = calculateLimit(filterLimit);
                 }
 
             filterOrig = filterLimit.getFilter();
@@ -2398,65 +2768,78 @@ public class Storage
         BinaryEntry tmpEntry = instantiateBinaryEntry(null, null, true);
         int         cResults = 0;
 
-        // Note: for QUERY_INVOKE the keys are sorted to avoid a deadlock
-        for (int i = 0, c = aoResult.length; i < c && cResults < cLimit; i++)
+        // both filters are evaluated against the same binary value; extract
+        // the values of all PofExtractors they use in a single pass
+        PofExtractor.Batch.Scope scope = PofExtractor.batch(filterOrig).enter();
+        try
             {
-            Binary binKey   = (Binary) aoResult[i];
-            Binary binValue = (Binary) mapPrime.get(binKey);
-
-            if (binValue != null) // must've expired; we can simply skip it
+            // Note: for QUERY_INVOKE the keys are sorted to avoid a deadlock
+            for (int i = 0, c = aoResult.length; i < c && cResults < cLimit; i++)
                 {
-                // we should only lock and re-evaluate entry if it matches the remaining filter,
-                // in order to prevent contention caused by locking all entries outside of index before filter
-                // evaluation, as described in COH-5727 (and verified by ContentionTests.testContention)
-                if (InvocableMapHelper.evaluateEntry(filter, tmpEntry.reset(binKey, binValue)))
+                Binary binKey   = (Binary) aoResult[i];
+                Binary binValue = (Binary) mapPrime.get(binKey);
+
+                if (binValue != null) // must've expired; we can simply skip it
                     {
-                    if (fKeys)
+                    // we should only lock and re-evaluate entry if it matches the remaining filter,
+                    // in order to prevent contention caused by locking all entries outside of index before filter
+                    // evaluation, as described in COH-5727 (and verified by ContentionTests.testContention)
+                    if (InvocableMapHelper.evaluateEntry(filter, tmpEntry.reset(binKey, binValue)))
                         {
-                        // If we are only querying for keys, index consistency isn't an issue, so we are all set
-                        aoResult[cResults++] = binKey;
-                        }
-                    else
-                        {
-                        // Otherwise, we need to lock the entry for invoke, or create a shallow copy in other cases
-                        EntryStatus status = fInvoke
-                                             ? ctxInvoke.lockEntry(this, binKey, false)
-                                             : null;
-
-                        BinaryEntry entry = fInvoke
-                                            ? status.getBinaryEntry().setBinaryValue(binValue)
-                                            : instantiateBinaryEntry(binKey, binValue, true);
-
-                        // Note that because we already evaluated tmpEntry, we likely have, and can reuse,
-                        // deserialized key and value, in order to avoid double deserialization
-                        if (tmpEntry.isKeyConverted())
+                        if (fKeys)
                             {
-                            entry.setConvertedKey(tmpEntry.getConvertedKey())
-                                    .setState(entry.getState() | BinaryEntry.KEY_CONVERTED);
+                            // If we are only querying for keys, index consistency isn't an issue, so we are all set
+                            aoResult[cResults++] = binKey;
                             }
-                        if (tmpEntry.isValueConverted())
+                        else
                             {
-                            entry.setConvertedValue(tmpEntry.getConvertedValue())
-                                    .setState(entry.getState() | BinaryEntry.VALUE_CONVERTED);
-                            }
+                            // Otherwise, we need to lock the entry for invoke, or create a shallow copy in other cases
+                            EntryStatus status = fInvoke
+                                                 ? ctxInvoke.lockEntry(this, binKey, false)
+                                                 : null;
+
+                            BinaryEntry entry = fInvoke
+                                                ? status.getBinaryEntry().setBinaryValue(binValue)
+                                                : instantiateBinaryEntry(binKey, binValue, true);
+
+                            // Note that because we already evaluated tmpEntry, we likely have, and can reuse,
+                            // deserialized key and value, in order to avoid double deserialization
+                            if (tmpEntry.isKeyConverted())
+                                {
+                                entry.setConvertedKey(tmpEntry.getConvertedKey())
+                                        .setState(entry.getState() | BinaryEntry.KEY_CONVERTED);
+                                }
+                            if (tmpEntry.isValueConverted())
+                                {
+                                entry.setConvertedValue(tmpEntry.getConvertedValue())
+                                        .setState(entry.getState() | BinaryEntry.VALUE_CONVERTED);
+                                }
 
-                        // The value might have changed after the partial index was applied, so we need to
-                        // re-evaluate the entry after we have locked it or copied it to make sure
-                        // that it still matches the full, original filter (COH-1209, COH-3647).
-                        //
-                        // However, if the remaining and the original filter are the same, that means that
-                        // no indexes were applied, so we don't have to re-evaluate.
-                        if (fSame || InvocableMapHelper.evaluateEntry(filterOrig, entry))
-                            {
-                            aoResult[cResults++] = fInvoke ? status : entry;
+                            // The value might have changed after the partial index was applied, so we need to
+                            // re-evaluate the entry after we have locked it or copied it to make sure
+                            // that it still matches the full, original filter (COH-1209, COH-3647).
+                            //
+                            // However, if the remaining and the original filter are the same, that means that
+                            // no indexes were applied, so we don't have to re-evaluate.
+                            if (fSame || InvocableMapHelper.evaluateEntry(filterOrig, entry))
+                                {
+                                aoResult[cResults++] = fInvoke ? status : entry;
+                                }
                             }
                         }
                     }
-                }
 
-            if ((i & 0x3FF) == 0x3FF)
+                if ((i & 0x3FF) == 0x3FF)
+                    {
+                    getService().checkInterrupt();
+                    }
+                }
+            }
+        finally
+            {
+            if (scope != null)
                 {
-                getService().checkInterrupt();
+                scope.close();
                 }
             }
 
@@ -2767,6 +3150,26 @@ public class Storage
         return map;
         }
 
+    /**
+     * Return the PofExtractor.Batch for the specified index extractors,
+     * creating a new batch if the set of index extractors has changed.
+     *
+     * @param colExtractor  the index extractors
+     *
+     * @return the PofExtractor.Batch for the index extractors
+     */
+    protected com.tangosol.util.extractor.PofExtractor.Batch ensureIndexExtractorBatch(java.util.Collection colExtractor)
+        {
+        // import com.tangosol.util.extractor.PofExtractor;
+
+        PofExtractor.Batch batch = getIndexExtractorBatch();
+        if (batch == null || !batch.isBatchOf(colExtractor))
+            {
+            setIndexExtractorBatch(batch = PofExtractor.batch(colExtractor));
+            }
+        return batch;
+        }
+
     /**
      * Called on the Service thread only.
      */
@@ -2939,30 +3342,30 @@ public class Storage
         }
 
     /**
-     * Sort and extract a subset of entries according to the LimitFilter
+     * Select and sort a subset of entries according to the LimitFilter
      * attributes.
      *
      * @param aEntry an array of $BinaryEntry objects
      */
     protected Object[] extractBinaryEntries(Object[] aEntry, com.tangosol.util.filter.LimitFilter filterLimit)
         {
+        // import com.tangosol.internal.util.KeysetComparator;
         // import com.tangosol.util.comparator.EntryComparator;
         // import com.tangosol.util.filter.LimitFilter;
-        // import java.util.Arrays;
         // import java.util.Comparator;
 
-        Comparator comparator =
-                new EntryComparator(filterLimit.getComparator(), EntryComparator.CMP_ENTRY);
-
-        Arrays.sort(aEntry, comparator);
+        // the ties are broken by the binary keys, so the anchors (including
+        // the anchor keys) identify the page regardless of duplicate values
+        Comparator comparator = new KeysetComparator(
+                new EntryComparator(filterLimit.getComparator(), EntryComparator.CMP_ENTRY));
 
         // don't modify the passed in filter!!!
         // (client thread might be using it)
         filterLimit = (LimitFilter) filterLimit.clone();
         filterLimit.setComparator(comparator);
-        aEntry = filterLimit.extractPage(aEntry);
 
-        return aEntry;
+        // select the page without sorting all the entries
+        return filterLimit.selectPage(aEntry);
         }
 
     /**
@@ -3063,6 +3466,30 @@ public class Storage
             }
         }
 
+    /**
+     * Return the binary keys of the specified query results.
+     *
+     * @param aoResult an array of binary keys or $BinaryEntry objects
+     * @param cResults the number of "real" results in the aoResult array
+     *
+     * @return the passed in array if it contains the keys; otherwise a new
+     * array of the binary keys of the entries
+     */
+    protected static Object[] extractResultKeys(Object[] aoResult, int cResults)
+        {
+        if (cResults == 0 || !(aoResult[0] instanceof BinaryEntry))
+            {
+            return aoResult;
+            }
+
+        Object[] aoKey = new Object[cResults];
+        for (int i = 0; i < cResults; i++)
+            {
+            aoKey[i] = ((BinaryEntry) aoResult[i]).getBinaryKey();
+            }
+        return aoKey;
+        }
+
     /**
      * Fire all pending locks for the specified partition. This method is
      * called when a partition ownership changes, which means that
@@ -3749,6 +4176,20 @@ public class Storage
         return (Binary) getBackupMap().get(binKey);
         }
 
+    // Accessor for the property "IndexExtractorBatch"
+    /**
+     * Getter for property IndexExtractorBatch.<p>
+     * The PofExtractor.Batch for the most recently updated set of index
+     * extractors, used to extract the values of all indexed PofExtractors
+     * in a single pass over each entry.
+     *
+     * @see #ensureIndexExtractorBatch
+     */
+    public com.tangosol.util.extractor.PofExtractor.Batch getIndexExtractorBatch()
+        {
+        return __m_IndexExtractorBatch;
+        }
+
     // Accessor for the property "IndexExtractorMap"
     /**
      * Getter for property IndexExtractorMap.<p>
@@ -3765,6 +4206,21 @@ public class Storage
         return __m_IndexExtractorMap;
         }
 
+    // Accessor for the property "IndexSnapshotMap"
+    /**
+     * Getter for property IndexSnapshotMap.<p>
+     * The Map<Integer, Map<ValueExtractor, Binary>> containing the index
+     * snapshots received with transferred partitions, or read while
+     * recovering partitions, that are waiting to be restored by
+     * createPartitionIndex().
+     *
+     * @see RestorableMapIndex
+     */
+    public java.util.Map getIndexSnapshotMap()
+        {
+        return __m_IndexSnapshotMap;
+        }
+
     // From interface: com.tangosol.net.BackingMapContext
     public java.util.Map getIndexMap()
         {
@@ -3885,6 +4341,24 @@ public class Storage
         return getService().getBackingMapContext();
         }
 
+    // Accessor for the property "ParallelAggregateThreshold"
+    /**
+     * Getter for property ParallelAggregateThreshold.<p>
+     * The minimum number of entries in the partitions targeted by a
+     * PARALLEL StreamingAggregator that is not BY_PARTITION for the
+     * aggregation to be split across the partitions and executed using the
+     * ForkJoinPool; a negative value disables the parallel execution of such
+     * aggregators. Aggregators that are both PARALLEL and BY_PARTITION are
+     * always split.
+     *
+     * The system property used to set this value is
+     * 'coherence.distributed.aggregate.parallel.threshold', defaults to 1000.
+     */
+    public int getParallelAggregateThreshold()
+        {
+        return __m_ParallelAggregateThreshold;
+        }
+
     // Accessor for the property "PartitionAwareBackingMap"
     /**
      * Getter for property PartitionAwareBackingMap.<p>
@@ -4261,6 +4735,21 @@ public class Storage
         return __m_QueryRetries;
         }
 
+    // Accessor for the property "QueryResultCache"
+    /**
+     * Getter for property QueryResultCache.<p>
+     * The cache of the keys matching the recently used filters within each
+     * partition, or null if query results should not be cached.
+     *
+     * The system property used to enable the cache is
+     * 'coherence.distributed.query.cache.size', which specifies the maximum
+     * total number of keys cached for this storage; defaults to 0 (disabled).
+     */
+    public com.tangosol.internal.util.QueryResultCache getQueryResultCache()
+        {
+        return __m_QueryResultCache;
+        }
+
     // Accessor for the property "QuerySizeCache"
     /**
      * Getter for property QuerySizeCache.<p>
@@ -5141,6 +5630,45 @@ public class Storage
             }
         }
 
+    /**
+     * Insert the index snapshots from the specified array of entries into
+     * the IndexSnapshotMap. Called on the service thread only.
+     *
+     * @param aEntry  the entries of serialized extractor and index snapshot
+     *
+     * @see #collectIndexSnapshots
+     */
+    public void insertIndexSnapshotTransfer(int iPartition, java.util.Map.Entry[] aEntry)
+        {
+        // import com.tangosol.io.Serializer;
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.ExternalizableHelper;
+        // import com.tangosol.util.ValueExtractor;
+
+        if (aEntry == null || aEntry.length == 0)
+            {
+            return;
+            }
+
+        Serializer serializer = getService().getSerializer();
+        for (int i = 0, c = aEntry.length; i < c; i++)
+            {
+            java.util.Map.Entry entry = aEntry[i];
+            try
+                {
+                ValueExtractor extractor = (ValueExtractor) ExternalizableHelper.fromBinary((Binary) entry.getKey(), serializer);
+
+                addIndexSnapshot(iPartition, extractor, (Binary) entry.getValue());
+                }
+            catch (RuntimeException e)
+                {
+                // the index will be rebuilt from the entries
+                _trace("Failed to deserialize an index snapshot for partition " + iPartition
+                     + " of cache \"" + getCacheName() + "\": " + e, 2);
+                }
+            }
+        }
+
     /**
      * Insert the data from the specified array of leases into the primary
      * storage. Called on the service thread only.
@@ -6632,6 +7160,7 @@ public class Storage
     public void onInit()
         {
         // import com.tangosol.coherence.config.Config;
+        // import com.tangosol.internal.util.QueryResultCache;
         // import com.tangosol.net.cache.LocalCache;
         // import com.tangosol.net.internal.StorageVersion;
         // import com.tangosol.util.SafeHashMap;
@@ -6662,9 +7191,18 @@ public class Storage
         // COH-6601: default to a max of 10 index reevaluations per query
         setQueryRetries(Config.getInteger("coherence.query.retry", 10).intValue());
 
+        setParallelAggregateThreshold(getConfiguredParallelAggregateThreshold());
+
         // Keep 1000 filters for at most 10 minutes
         setQuerySizeCache(new LocalCache(1000, 10 * 60 * 1000));
 
+        // the query result cache is disabled by default
+        long cMaxKeys = Config.getLong("coherence.distributed.query.cache.size", 0L).longValue();
+        if (cMaxKeys > 0L)
+            {
+            setQueryResultCache(new QueryResultCache(cMaxKeys));
+            }
+
         // create an interceptor to observe the addition/removal of interceptors
         setEventDispatcherInterceptor((DispatcherInterceptor) _findChild("DispatcherInterceptor"));
 
@@ -7992,7 +8530,13 @@ public class Storage
 
     /**
      * ForkJoinTask that splits the aggregate request targeting multiple partitions into
-     * multiple tasks (one per partition) that can be executed in parallel.
+     * multiple tasks that can be executed in parallel.
+     * <p>
+     * The partitions are split in half repeatedly: one half is forked, so it can be
+     * stolen by an idle worker, while the current thread keeps splitting the other one
+     * until a single partition is left, which it aggregates using its own aggregator.
+     * The partial results of the forked tasks are then combined into that aggregator,
+     * so only a single partial result per member is returned.
      */
     public static class PartitionedAggregateTask<P>
             extends RecursiveTask<P>
@@ -8007,43 +8551,80 @@ public class Storage
          */
         public PartitionedAggregateTask(Storage storage, Filter filter, InvocableMap.StreamingAggregator<?, ?, P, ?> agent, PartitionSet parts)
             {
-            f_storage = storage;
-            f_filter  = filter;
-            f_agent   = agent;
-            f_parts   = parts;
+            this(storage, filter, agent, parts, null);
+            }
+
+        /**
+         * Construct {@link PartitionedAggregateTask}.
+         *
+         * @param storage      the Storage instance to query
+         * @param filter       the Filter to evaluate
+         * @param agent        the agent to use for aggregation
+         * @param parts        the set of partitions to query
+         * @param taskRoot     the task submitted for the aggregate request, or null
+         *                     if this is that task
+         */
+        protected PartitionedAggregateTask(Storage storage, Filter filter, InvocableMap.StreamingAggregator<?, ?, P, ?> agent,
+                                           PartitionSet parts, PartitionedAggregateTask<P> taskRoot)
+            {
+            f_storage  = storage;
+            f_filter   = filter;
+            f_agent    = agent;
+            f_parts    = parts;
+            f_taskRoot = taskRoot == null ? this : taskRoot;
             }
 
         @Override
         protected P compute()
             {
-            if (f_parts.cardinality() == 1)
-                {
-                f_agent.accumulate(f_storage.createStreamer(f_filter, f_agent, f_parts));
-                return f_agent.getPartialResult();
-                }
-            else
+            InvocableMap.StreamingAggregator<?, ?, P, ?> agent = f_agent;
+
+            PartitionSet parts  = f_parts;
+            int          cParts = parts.cardinality();
+
+            List<PartitionedAggregateTask<P>> listForked = null;
+            if (cParts > 1)
                 {
-                PartitionSet partMask = f_parts;
+                parts      = new PartitionSet(parts);
+                listForked = new ArrayList<>();
 
-                PartitionedAggregateTask<P>[] aTasks = new PartitionedAggregateTask[partMask.cardinality()];
-                int nPos = 0;
-                for (int nPart : partMask)
+                while (cParts > 1)
                     {
-                    PartitionSet part = new PartitionSet(partMask.getPartitionCount(), nPart);
+                    int          cFork     = cParts / 2;
+                    PartitionSet partsFork = new PartitionSet(parts.getPartitionCount());
+                    for (int nPart = parts.next(0), c = 0; c < cFork; nPart = parts.next(nPart + 1), c++)
+                        {
+                        partsFork.add(nPart);
+                        }
+                    parts.remove(partsFork);
+                    cParts -= cFork;
 
-                    // create PartitionedAggregateTask for each partition
-                    aTasks[nPos++] = new PartitionedAggregateTask(f_storage, f_filter, f_agent.supply(), part);
+                    PartitionedAggregateTask<P> task = new PartitionedAggregateTask<>(
+                            f_storage, f_filter, agent.supply(), partsFork, f_taskRoot);
+                    task.fork();
+                    listForked.add(task);
                     }
+                }
 
-                invokeAll(aTasks);
+            if (f_taskRoot.isCancelled())
+                {
+                // the request has timed out or has been interrupted
+                throw new CancellationException();
+                }
 
-                for (int i = 0; i < aTasks.length; i++)
+            agent.accumulate(f_storage.createStreamer(f_filter, agent, parts));
+
+            if (listForked != null)
+                {
+                // join in the reverse order, so that the most recently forked (smallest)
+                // tasks that were not stolen are popped from the local queue
+                for (int i = listForked.size() - 1; i >= 0; i--)
                     {
-                    f_agent.combine(aTasks[i].join());
+                    agent.combine(listForked.get(i).join());
                     }
-
-                return f_agent.getPartialResult();
                 }
+
+            return agent.getPartialResult();
             }
 
         // ---- data members ------------------------------------------------
@@ -8052,6 +8633,7 @@ public class Storage
         private final Filter f_filter;
         private final InvocableMap.StreamingAggregator<?, ?, P, ?> f_agent;
         private final PartitionSet f_parts;
+        private final PartitionedAggregateTask<P> f_taskRoot;
         }
 
     /**
@@ -8224,14 +8806,24 @@ public class Storage
             LimitFilter filterLimit = (LimitFilter) filter;
             Object[]    aoResult    = result.getResults();
 
-            // LimitFilter: sort always to prevent discrepancies on partitioned index
-            Arrays.sort(aoResult, SafeComparator.INSTANCE);
+            // LimitFilter: the page is always selected from the (partially) sorted
+            // results to prevent discrepancies on partitioned index
+            if (nQueryType == QUERY_KEYS || filterLimit.getComparator() == null)
+                {
+                filterLimit.setCookie(result.getCount());
 
-            filterLimit.setCookie(result.getCount());
+                aoResult = filterLimit.selectPage(aoResult);
+                }
+            else
+                {
+                aoResult = extractBinaryEntries(aoResult, filterLimit);
 
-            aoResult = nQueryType == QUERY_KEYS || filterLimit.getComparator() == null
-                       ? filterLimit.extractPage(aoResult)
-                       : extractBinaryEntries(aoResult, filterLimit);
+                // the entries beyond the anchors are not available for the page,
+                // so a partial page means that there are no more entries
+                // (see $BinaryMap#limitQueryDistributed)
+                filterLimit.setCookie(aoResult.length < filterLimit.getPageSize()
+                                      ? aoResult.length : result.getCount());
+                }
 
             result.setResults(aoResult);
             }
@@ -8244,7 +8836,9 @@ public class Storage
 
     protected com.tangosol.internal.util.QueryResult queryInternal(com.tangosol.util.Filter filter, int nQueryType, com.tangosol.net.partition.PartitionSet partMask, long lIdxVersion)
         {
+        // import com.tangosol.internal.util.PartialSort;
         // import com.tangosol.internal.util.QueryResult;
+        // import com.tangosol.internal.util.QueryResultCache;
         // import com.tangosol.internal.tracing.Span;
         // import com.tangosol.internal.tracing.TracingHelper;
         // import com.tangosol.util.Base;
@@ -8255,6 +8849,20 @@ public class Storage
 
         Filter filterOrig = filter;
 
+        QueryResultCache cacheResult  = getQueryResultCache();
+        long             lPartVersion = getQueryResultVersion(filter, partMask);
+        int              nPart        = lPartVersion < 0L ? -1 : partMask.first();
+
+        if (lPartVersion >= 0L)
+            {
+            Object[] aoKey = cacheResult.get(filter, nPart, lPartVersion);
+            if (aoKey != null)
+                {
+                int cResults = createCachedQueryResult(filter, aoKey, nQueryType, partMask, lIdxVersion);
+                return new QueryResult(partMask, aoKey, cResults);
+                }
+            }
+
         QueryResult result = applyIndex(filter, partMask);
 
         Object[] aoResult = result.getResults(); // starts as keys; could be reused for entries/statuses
@@ -8269,8 +8877,25 @@ public class Storage
 
         if (filterOrig instanceof LimitFilter)
             {
-            // LimitFilter: sort always to prevent discrepancies on partitioned index
-            Arrays.sort(aoResult, SafeComparator.INSTANCE);
+            LimitFilter filterLimit = (LimitFilter) filterOrig;
+            if (nQueryType == QUERY_KEYS || filterLimit.getComparator() == null)
+                {
+                // LimitFilter: the keys are paged in their natural order, so sort
+                // always to prevent discrepancies on partitioned index; if the
+                // index has fully resolved the query, only the keys up to the
+                // end of the page need to be sorted
+                if (filter == null && nQueryType == QUERY_KEYS)
+                    {
+                    aoResult = PartialSort.selectSmallest(aoResult, aoResult.length,
+                            calculateLimit(filterLimit), SafeComparator.INSTANCE);
+                    result.setResults(aoResult);
+                    }
+                else
+                    {
+                    Arrays.sort(aoResult, SafeComparator.INSTANCE);
+                    }
+                }
+            // otherwise, the page is selected by the entry order; see #extractBinaryEntries
             }
 
         int cResults = filter == null
@@ -8292,6 +8917,13 @@ public class Storage
         else
             {
             result.setResults(aoResult, cResults);
+
+            // cache the result only if the partition has not been modified
+            // while the query was running
+            if (lPartVersion >= 0L && getVersion().getStableVersion(nPart) == lPartVersion)
+                {
+                cacheResult.put(filterOrig, nPart, lPartVersion, extractResultKeys(aoResult, cResults), cResults);
+                }
             }
 
         return result;
@@ -8539,14 +9171,25 @@ public class Storage
             {
             // not all filters could be applied against indexes; each entry needs
             // to be verified against the remaining filter(s)
-            for (Iterator iter = mapEval.values().iterator(); iter.hasNext(); )
+            PofExtractor.Batch.Scope scope = PofExtractor.batch(filter).enter();
+            try
                 {
-                BinaryEntry entry = fInvoke
-                                                             ? ((EntryStatus) iter.next()).getBinaryEntry()
-                                                             : (BinaryEntry)  iter.next();
-                if (!InvocableMapHelper.evaluateEntry(filter, entry))
+                for (Iterator iter = mapEval.values().iterator(); iter.hasNext(); )
                     {
-                    iter.remove();
+                    BinaryEntry entry = fInvoke
+                                                                 ? ((EntryStatus) iter.next()).getBinaryEntry()
+                                                                 : (BinaryEntry)  iter.next();
+                    if (!InvocableMapHelper.evaluateEntry(filter, entry))
+                        {
+                        iter.remove();
+                        }
+                    }
+                }
+            finally
+                {
+                if (scope != null)
+                    {
+                    scope.close();
                     }
                 }
             }
@@ -8689,6 +9332,9 @@ public class Storage
         // import java.util.Map;
         // import java.util.Set;
 
+        // drop any index snapshots that have not been restored
+        getIndexSnapshotMap().remove(Integer.valueOf(iPartition));
+
         int  cRemoves;
         Map  mapPrime  = getBackingMapInternal();
         com.tangosol.net.partition.PartitionAwareBackingMap pabmPrime = getPartitionAwareBackingMap();
@@ -8831,6 +9477,82 @@ public class Storage
             }
         }
 
+    /**
+     * Return the version of the partition the results of the specified query
+     * would be cached for, or -1 if the results cannot be cached.
+     *
+     * The results can only be cached if the query result cache is enabled,
+     * the query targets a single partition, and the partition is not in the
+     * process of being modified. The results of a LimitFilter are truncated
+     * to the page, so they cannot be reused by other queries.
+     *
+     * @param filter the query filter
+     * @param partMask partitionSet targeted by the query
+     *
+     * @return the stable version of the partition, or -1
+     */
+    public long getQueryResultVersion(com.tangosol.util.Filter filter, com.tangosol.net.partition.PartitionSet partMask)
+        {
+        // import com.tangosol.util.filter.LimitFilter;
+
+        return getQueryResultCache() == null || filter == null || filter instanceof LimitFilter
+               || partMask.cardinality() != 1
+               ? -1L : getVersion().getStableVersion(partMask.first());
+        }
+
+    /**
+     * Drop the query results cached for the specified partition.
+     *
+     * Called on the service thread only.
+     */
+    public void removePartitionQueryResults(int nPartition)
+        {
+        // import com.tangosol.internal.util.QueryResultCache;
+
+        QueryResultCache cacheResult = getQueryResultCache();
+        if (cacheResult != null)
+            {
+            cacheResult.invalidate(nPartition);
+            }
+        }
+
+    /**
+     * Drop all indexes of the specified partition, destroying the indexes
+     * created by an IndexAwareExtractor so that any resources they hold
+     * (e.g. files or off-heap memory) are released.
+     *
+     * Called on the service thread only.
+     */
+    public void removePartitionIndex(int nPartition)
+        {
+        // import com.tangosol.util.extractor.IndexAwareExtractor;
+        // import java.util.Iterator;
+        // import java.util.Map;
+
+        Map mapIndex = (Map) getPartitionedIndexMap().remove(Integer.valueOf(nPartition));
+        if (mapIndex == null || mapIndex.isEmpty())
+            {
+            return;
+            }
+
+        for (Iterator iter = getIndexExtractorMap().keySet().iterator(); iter.hasNext(); )
+            {
+            Object extractor = iter.next();
+            if (extractor instanceof IndexAwareExtractor)
+                {
+                try
+                    {
+                    ((IndexAwareExtractor) extractor).destroyIndex(mapIndex);
+                    }
+                catch (Throwable e)
+                    {
+                    _trace("Exception occurred while destroying the index for partition "
+                           + nPartition + ": " + getStackTrace(e), 2);
+                    }
+                }
+            }
+        }
+
     /**
      * Called on the service or a daemon pool thread after acquiring the key
      * lock.
@@ -9423,6 +10145,20 @@ public class Storage
         __m_FilterIdMap = map;
         }
 
+    // Accessor for the property "IndexExtractorBatch"
+    /**
+     * Setter for property IndexExtractorBatch.<p>
+     * The PofExtractor.Batch for the most recently updated set of index
+     * extractors, used to extract the values of all indexed PofExtractors
+     * in a single pass over each entry.
+     *
+     * @see #ensureIndexExtractorBatch
+     */
+    protected void setIndexExtractorBatch(com.tangosol.util.extractor.PofExtractor.Batch batch)
+        {
+        __m_IndexExtractorBatch = batch;
+        }
+
     // Accessor for the property "IndexExtractorMap"
     /**
      * Setter for property IndexExtractorMap.<p>
@@ -9439,6 +10175,21 @@ public class Storage
         __m_IndexExtractorMap = map;
         }
 
+    // Accessor for the property "IndexSnapshotMap"
+    /**
+     * Setter for property IndexSnapshotMap.<p>
+     * The Map<Integer, Map<ValueExtractor, Binary>> containing the index
+     * snapshots received with transferred partitions, or read while
+     * recovering partitions, that are waiting to be restored by
+     * createPartitionIndex().
+     *
+     * @see RestorableMapIndex
+     */
+    protected void setIndexSnapshotMap(java.util.Map map)
+        {
+        __m_IndexSnapshotMap = map;
+        }
+
     // Accessor for the property "InternBackupKeys"
     /**
      * Setter for property InternBackupKeys.<p>
@@ -9542,6 +10293,24 @@ public class Storage
         __m_OldValueRequired = fRequired;
         }
 
+    // Accessor for the property "ParallelAggregateThreshold"
+    /**
+     * Setter for property ParallelAggregateThreshold.<p>
+     * The minimum number of entries in the partitions targeted by a
+     * PARALLEL StreamingAggregator that is not BY_PARTITION for the
+     * aggregation to be split across the partitions and executed using the
+     * ForkJoinPool; a negative value disables the parallel execution of such
+     * aggregators. Aggregators that are both PARALLEL and BY_PARTITION are
+     * always split.
+     *
+     * The system property used to set this value is
+     * 'coherence.distributed.aggregate.parallel.threshold', defaults to 1000.
+     */
+    public void setParallelAggregateThreshold(int cEntries)
+        {
+        __m_ParallelAggregateThreshold = cEntries;
+        }
+
     // Accessor for the property "PartitionAwareBackingMap"
     /**
      * Setter for property PartitionAwareBackingMap.<p>
@@ -9670,6 +10439,21 @@ public class Storage
         __m_QueryRetries = nRetries;
         }
 
+    // Accessor for the property "QueryResultCache"
+    /**
+     * Setter for property QueryResultCache.<p>
+     * The cache of the keys matching the recently used filters within each
+     * partition, or null if query results should not be cached.
+     *
+     * The system property used to enable the cache is
+     * 'coherence.distributed.query.cache.size', which specifies the maximum
+     * total number of keys cached for this storage; defaults to 0 (disabled).
+     */
+    protected void setQueryResultCache(com.tangosol.internal.util.QueryResultCache cache)
+        {
+        __m_QueryResultCache = cache;
+        }
+
     // Accessor for the property "QuerySizeCache"
     /**
      * Setter for property QuerySizeCache.<p>
@@ -10053,6 +10837,9 @@ public class Storage
                 }
             }
 
+        // index snapshots
+        snapshotPartitionIndex(iPartition, store, oToken);
+
         // listeners, triggers, indexes, etc.
         persistGlobalMetadata(iPartition, store, oToken);
         }
@@ -10211,7 +10998,7 @@ public class Storage
             for (Iterator it = getPartitionedIndexMap().keySet().iterator(); it.hasNext(); )
                 {
                 Integer nPart = (Integer) it.next();
-                storageNew.createMapIndex(storageNew.getPartitionIndexMap(nPart.intValue()), extractor, comparator);
+                storageNew.createMapIndex(storageNew.getPartitionIndexMap(nPart.intValue()), extractor, comparator, nPart.intValue());
                 }
             }
 
@@ -10394,39 +11181,51 @@ public class Storage
 
         if (!mapIndex.isEmpty())
             {
-            for (Iterator iter = Base.randomize(mapIndex.keySet()).iterator(); iter.hasNext();)
+            // extract the values of all indexed PofExtractors in a single pass
+            PofExtractor.Batch.Scope scope = ensureIndexExtractorBatch(mapIndex.keySet()).enter();
+            try
                 {
-                ValueExtractor extractor = (ValueExtractor) iter.next();
-                MapIndex       index     = (MapIndex) getPartitionIndexMap(nPart).get(extractor);
-
-                binEntry.setForceExtract(true);
-                try
+                for (Iterator iter = Base.randomize(mapIndex.keySet()).iterator(); iter.hasNext();)
                     {
-                    // update partitioned index
-                    if (index != null)
+                    ValueExtractor extractor = (ValueExtractor) iter.next();
+                    MapIndex       index     = (MapIndex) getPartitionIndexMap(nPart).get(extractor);
+
+                    binEntry.setForceExtract(true);
+                    try
                         {
-                        switch (nEventId)
+                        // update partitioned index
+                        if (index != null)
                             {
-                            case com.tangosol.util.MapEvent.ENTRY_INSERTED:
-                                index.insert(binEntry);
-                                break;
+                            switch (nEventId)
+                                {
+                                case com.tangosol.util.MapEvent.ENTRY_INSERTED:
+                                    index.insert(binEntry);
+                                    break;
 
-                            case com.tangosol.util.MapEvent.ENTRY_UPDATED:
-                                index.update(binEntry);
-                                break;
+                                case com.tangosol.util.MapEvent.ENTRY_UPDATED:
+                                    index.update(binEntry);
+                                    break;
 
-                            case com.tangosol.util.MapEvent.ENTRY_DELETED:
-                                index.delete(binEntry);
-                                break;
+                                case com.tangosol.util.MapEvent.ENTRY_DELETED:
+                                    index.delete(binEntry);
+                                    break;
+                                }
                             }
                         }
+                    catch (RuntimeException e)
+                        {
+                        listFailed = processIndexFailure(e,
+                                                         extractor, binEntry, listFailed);
+                        }
+                    binEntry.setForceExtract(false);
                     }
-                catch (RuntimeException e)
+                }
+            finally
+                {
+                if (scope != null)
                     {
-                    listFailed = processIndexFailure(e,
-                                                     extractor, binEntry, listFailed);
+                    scope.close();
                     }
-                binEntry.setForceExtract(false);
                 }
             }
 
@@ -16175,7 +16974,7 @@ public class Storage
     @SuppressWarnings({"deprecation", "rawtypes", "unused", "unchecked", "ConstantConditions", "DuplicatedCode", "ForLoopReplaceableByForEach", "IfCanBeSwitch", "RedundantArrayCreation", "RedundantSuppression", "SameParameterValue", "TryFinallyCanBeTryWithResources", "TryWithIdenticalCatches", "UnnecessaryBoxing", "UnnecessaryUnboxing", "UnusedAssignment"})
     public static class Scanner
             extends    com.tangosol.coherence.component.util.collections.AdvancingIterator
-            implements com.tangosol.util.Streamer
+            implements com.tangosol.internal.util.PartitionedStreamer
         {
         // ---- Fields declarations ----
 
@@ -16423,6 +17222,12 @@ public class Storage
             return getFilter() == null ? (Streamer.SIZED | Streamer.ALL_INCLUSIVE) : 0;
             }
 
+        // From interface: com.tangosol.internal.util.PartitionedStreamer
+        public com.tangosol.net.BackingMapContext getBackingMapContext()
+            {
+            return getStorage();
+            }
+
         // Accessor for the property "Count"
         /**
          * Getter for property Count.<p>
@@ -16490,7 +17295,8 @@ public class Storage
          * PartitionSet for all partitions to be scanned that require
          * evaluation.
          */
-        protected com.tangosol.net.partition.PartitionSet getPartitions()
+        // From interface: com.tangosol.internal.util.PartitionedStreamer
+        public com.tangosol.net.partition.PartitionSet getPartitions()
             {
             return __m_Partitions;
             }
@@ -10,6 +10,8 @@ package com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid
 import com.tangosol.application.ContainerHelper;
 import com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService.PartitionedCache;
 import com.tangosol.internal.net.NamedCacheDeactivationListener;
+import com.tangosol.internal.util.KeysetComparator;
+import com.tangosol.internal.util.PartialSort;
 import com.tangosol.license.LicenseException;
 import com.tangosol.net.Member;
 import com.tangosol.net.NamedCache;
@@ -33,6 +35,7 @@ import com.tangosol.util.Listeners;
 import com.tangosol.util.MapTrigger;
 import com.tangosol.util.MapTriggerListener;
 import com.tangosol.util.NullImplementation;
+import com.tangosol.util.SimpleMapEntry;
 import com.tangosol.util.aggregator.AbstractAsynchronousAggregator;
 import com.tangosol.util.comparator.EntryComparator;
 import com.tangosol.util.comparator.SafeComparator;
@@ -43,6 +46,7 @@ import com.tangosol.util.filter.PartitionedFilter;
 import com.tangosol.util.processor.AbstractAsynchronousProcessor;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -933,6 +937,8 @@ public class ViewMap
         // import com.tangosol.util.ConverterCollections;
         // import com.tangosol.util.Filter;
         // import com.tangosol.util.ImmutableArrayList;
+        // import com.tangosol.internal.util.KeysetComparator;
+        // import com.tangosol.internal.util.PartialSort;
         // import com.tangosol.util.comparator.EntryComparator;
         // import com.tangosol.util.comparator.SafeComparator;
         // import com.tangosol.util.filter.KeyAssociatedFilter;
@@ -1007,10 +1013,12 @@ public class ViewMap
 
         prepareParallelQuery(filter);
 
-        Object[]        aEntryCur       = null;
-        Object[]        aEntry          = null;
-        int             cPageTotal      = cSkip + cPageSize;
-        EntryComparator comparatorEntry = new EntryComparator(comparator);
+        Object[]   aEntryCur       = null;
+        Object[]   aEntry          = null;
+        int        cPageTotal      = cSkip + cPageSize;
+        Comparator comparatorEntry = filterLimitOrig == null
+                                     ? new EntryComparator(comparator)
+                                     : new KeysetComparator(new EntryComparator(comparator), this::getBinaryKey);
         if (filter instanceof LimitFilter)
             {
             if (isPassThrough())
@@ -1067,20 +1075,22 @@ public class ViewMap
                         }
 
                     // must be limitFilter
-                    Arrays.sort(aEntry, comparatorEntry);
-
-                    aEntry    = filterLimitOrig.extractPage(aEntry);
+                    aEntry    = filterLimitOrig.selectPage(aEntry);
                     aEntryCur = aEntry;
 
                     if (cEntries >= cPageTotal && aEntry.length >= cPageTotal)
                         {
                         if (oAnchorTop != null)
                             {
-                            ((LimitFilter) filter).setBottomAnchor(((java.util.Map.Entry) aEntry[aEntry.length -1]).getValue());
+                            java.util.Map.Entry entry = (java.util.Map.Entry) aEntry[aEntry.length -1];
+                            ((LimitFilter) filter).setBottomAnchor(entry.getValue());
+                            ((LimitFilter) filter).setBottomAnchorKey(getBinaryKey(entry));
                             }
                         else if (oAnchorBottom != null)
                             {
-                            ((LimitFilter) filter).setTopAnchor(((java.util.Map.Entry) aEntry[0]).getValue());
+                            java.util.Map.Entry entry = (java.util.Map.Entry) aEntry[0];
+                            ((LimitFilter) filter).setTopAnchor(entry.getValue());
+                            ((LimitFilter) filter).setTopAnchorKey(getBinaryKey(entry));
                             }
                         }
                     }
@@ -1101,17 +1111,20 @@ public class ViewMap
 
         if (!isPassThrough()) // COH-2717
             {
-            Arrays.sort(aEntry, comparatorEntry);
-
-            // process the final query result for limitFilter
-            if (filterLimitOrig != null)
+            if (filterLimitOrig == null)
+                {
+                Arrays.sort(aEntry, comparatorEntry);
+                }
+            else
                 {
+                // process the final query result for limitFilter
                 filterLimitOrig.setPageSize(cPageSize);
                 int cEntries;
                 if (cSkip > 0)
                     {
-                    // there were no anchors and the result is already sorted;
-                    // just truncate the extras
+                    // there were no anchors; sort the entries up to the end of
+                    // the page and just truncate the extras
+                    aEntry   = PartialSort.selectSmallest(aEntry, aEntry.length, cPageTotal, comparatorEntry);
                     cEntries = Math.min(Math.max(0, aEntry.length - cSkip), cPageSize);
                     if (cEntries > 0)
                         {
@@ -1126,20 +1139,29 @@ public class ViewMap
                     }
                 else
                     {
-                    aEntry   = filterLimitOrig.extractPage(aEntry);
+                    aEntry   = filterLimitOrig.selectPage(aEntry);
                     cEntries = aEntry.length;
                     }
 
-                if (cEntries > 0)
-                    {
-                    filterLimitOrig.setTopAnchor(((java.util.Map.Entry) aEntry[0]).getValue());
-                    filterLimitOrig.setBottomAnchor(((java.util.Map.Entry) aEntry[cEntries-1]).getValue());
-                    }
-
                 // reset to original
                 filterLimitOrig.setPage(nPage);
                 filterLimitOrig.setPageSize(cPageSize);
                 filterLimitOrig.setComparator(comparator);
+
+                // the anchors must be set after the page is restored, so that
+                // the next or previous page can be queried using the first and
+                // the last entry of this page (a keyset cursor) rather than by
+                // skipping all the preceding entries
+                if (cEntries > 0)
+                    {
+                    java.util.Map.Entry entryFirst = (java.util.Map.Entry) aEntry[0];
+                    java.util.Map.Entry entryLast  = (java.util.Map.Entry) aEntry[cEntries-1];
+
+                    filterLimitOrig.setTopAnchor      (entryFirst.getValue());
+                    filterLimitOrig.setTopAnchorKey   (getBinaryKey(entryFirst));
+                    filterLimitOrig.setBottomAnchor   (entryLast.getValue());
+                    filterLimitOrig.setBottomAnchorKey(getBinaryKey(entryLast));
+                    }
                 }
             }
 
@@ -1167,6 +1189,24 @@ public class ViewMap
             }
         }
 
+    /**
+     * Return the serialized key of the specified query result entry, or of a
+     * page anchor entry created by a LimitFilter (whose key is already
+     * serialized).
+     *
+     * @see LimitFilter#getTopAnchorKey
+     */
+    protected com.tangosol.util.Binary getBinaryKey(java.util.Map.Entry entry)
+        {
+        // import com.tangosol.util.Binary;
+        // import com.tangosol.util.SimpleMapEntry;
+
+        Object oKey = entry.getKey();
+        return entry instanceof SimpleMapEntry
+               ? (Binary) oKey
+               : (Binary) getKeyToBinaryConverter().convert(oKey);
+        }
+
     // Accessor for the property "BinaryMap"
     /**
      * Getter for property BinaryMap.<p>
@@ -10,9 +10,15 @@ package com.oracle.coherence.ai.index;
 import com.oracle.coherence.ai.Vector;
 import com.oracle.coherence.ai.VectorIndex;
 import com.oracle.coherence.ai.VectorIndexExtractor;
+import com.oracle.coherence.ai.internal.OffHeapMemory;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.util.TopKHeap;
 import com.oracle.coherence.ai.util.Vectors;
 
+import com.tangosol.coherence.config.Config;
+
+import com.tangosol.internal.util.VersionHelper;
+
 import com.tangosol.io.AbstractEvolvable;
 import com.tangosol.io.ExternalizableLite;
 import com.tangosol.io.pof.EvolvablePortableObject;
@@ -31,38 +37,42 @@ import com.tangosol.util.MapIndex;
 import com.tangosol.util.NullImplementation;
 import com.tangosol.util.ValueExtractor;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectSortedMap;
-import it.unimi.dsi.fastutil.ints.IntIterator;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 
 import jakarta.json.bind.annotation.JsonbProperty;
 
+import java.io.Closeable;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 
+import java.nio.LongBuffer;
+
 import java.util.Arrays;
 import java.util.BitSet;
 import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
 
-import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_BASIC_OBJECT;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
 import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
 import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
-import static com.tangosol.net.cache.SimpleMemoryCalculator.padMemorySize;
 
 /**
  * An {@link VectorIndexExtractor} to create a {@link VectorIndex} using binary quantization of vectors.
  * <p/>
  * Binary quantization converts any vector of floating point numbers into a vector of bit values.
+ * <p/>
+ * The quantized vectors can optionally be {@link #offHeap(boolean) stored off-heap},
+ * which keeps large indexes out of the garbage collected heap. The default is
+ * determined by the {@code coherence.ai.index.offheap} system property.
  *
  * @param <K>  the type of the cache key
  * @param <V>  the type of the cache value
@@ -107,6 +117,29 @@ public class BinaryQuantIndex<K, V, T>
         return this;
         }
 
+    /**
+     * Set whether the quantized vectors are stored off-heap.
+     *
+     * @param fOffHeap  {@code true} to store the quantized vectors off-heap
+     *
+     * @return this {@link BinaryQuantIndex} for fluent API calls
+     */
+    public BinaryQuantIndex<K, V, T> offHeap(boolean fOffHeap)
+        {
+        m_fOffHeap = fOffHeap;
+        return this;
+        }
+
+    /**
+     * Return {@code true} if the quantized vectors are stored off-heap.
+     *
+     * @return {@code true} if the quantized vectors are stored off-heap
+     */
+    public boolean isOffHeap()
+        {
+        return m_fOffHeap;
+        }
+
     @Override
     public Vector<T> extract(V v)
         {
@@ -126,7 +159,12 @@ public class BinaryQuantIndex<K, V, T>
     @Override
     public MapIndex<K, V, Vector<T>> destroyIndex(Map<ValueExtractor<V, Vector<T>>, MapIndex> map)
         {
-        return map.remove(f_extractor);
+        MapIndex index = map.remove(f_extractor);
+        if (index instanceof BinaryQuantIndex.BinaryQuantMapIndex)
+            {
+            ((BinaryQuantMapIndex) index).close();
+            }
+        return index;
         }
 
     @Override
@@ -155,6 +193,7 @@ public class BinaryQuantIndex<K, V, T>
         {
         return "BinaryQuantIndex{" +
                "extractor=" + f_extractor +
+               ", offHeap=" + m_fOffHeap +
                '}';
         }
 
@@ -169,6 +208,7 @@ public class BinaryQuantIndex<K, V, T>
         {
         f_extractor           = in.readObject(0);
         m_nOversamplingFactor = in.readInt(1);
+        m_fOffHeap            = in.readBoolean(2);
         }
 
     @Override
@@ -176,6 +216,7 @@ public class BinaryQuantIndex<K, V, T>
         {
         out.writeObject(0, f_extractor);
         out.writeInt(1, m_nOversamplingFactor);
+        out.writeBoolean(2, m_fOffHeap);
         }
 
     @Override
@@ -183,6 +224,9 @@ public class BinaryQuantIndex<K, V, T>
         {
         f_extractor           = ExternalizableHelper.readObject(in);
         m_nOversamplingFactor = in.readInt();
+
+        // added in 25.09
+        m_fOffHeap = ExternalizableHelper.isVersionCompatible(in, VersionHelper.VERSION_25_09) && in.readBoolean();
         }
 
     @Override
@@ -190,16 +234,33 @@ public class BinaryQuantIndex<K, V, T>
         {
         ExternalizableHelper.writeObject(out, f_extractor);
         out.writeInt(m_nOversamplingFactor);
+
+        // added in 25.09
+        if (ExternalizableHelper.isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            out.writeBoolean(m_fOffHeap);
+            }
         }
 
     // ----- inner class: BinaryQuantMapIndex -------------------------------
 
     /**
      * A Binary Quantization {@link VectorIndex}.
+     * <p/>
+     * The quantized vectors are packed into fixed size {@code long[]} slabs,
+     * with each vector occupying a contiguous run of words at an offset
+     * determined by its slot. A query is a linear scan over the slabs using
+     * {@link Long#bitCount(long)} based Hamming distance, with the nearest
+     * candidates retained in a fixed size {@link TopKHeap}, so a query does
+     * not allocate per indexed entry.
+     * <p/>
+     * When the index is stored off-heap, the slabs are allocated from an
+     * {@link OffHeapMemory} owned by this index, which is released when the
+     * index is closed.
      */
     @SuppressWarnings("unchecked")
     public class BinaryQuantMapIndex
-            implements VectorIndex<K, V, Vector<T>>
+            implements VectorIndex<K, V, Vector<T>>, Closeable
         {
         /**
          * Create a {@link BinaryQuantMapIndex}.
@@ -209,6 +270,8 @@ public class BinaryQuantIndex<K, V, T>
         private BinaryQuantMapIndex(BackingMapContext ctx)
             {
             f_backingMapContext = ctx;
+            f_memory            = m_fOffHeap ? new OffHeapMemory() : null;
+            f_mapSlots.defaultReturnValue(-1);
             }
 
         @Override
@@ -238,7 +301,29 @@ public class BinaryQuantIndex<K, V, T>
         @Override
         public Object get(K k)
             {
-            return f_mapIndex.get(k);
+            f_lock.readLock().lock();
+            try
+                {
+                int nSlot = f_mapSlots.getInt(k);
+                if (nSlot < 0)
+                    {
+                    return null;
+                    }
+                long[] al = new long[m_cWords];
+                if (f_memory == null)
+                    {
+                    System.arraycopy(slab(nSlot), offset(nSlot), al, 0, m_cWords);
+                    }
+                else
+                    {
+                    m_abufSlabs[nSlot >>> SLAB_SHIFT].get(offset(nSlot), al);
+                    }
+                return BitSet.valueOf(al);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
             }
 
         @Override
@@ -253,6 +338,12 @@ public class BinaryQuantIndex<K, V, T>
             return m_cUnits.get();
             }
 
+        @Override
+        public long getOffHeapUnits()
+            {
+            return f_memory == null ? 0L : f_memory.getAllocatedBytes();
+            }
+
         @Override
         public void insert(Map.Entry<? extends K, ? extends V> entry)
             {
@@ -262,11 +353,7 @@ public class BinaryQuantIndex<K, V, T>
                 Object oKey = entry instanceof BinaryEntry
                               ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
                               : entry.getKey();
-                BitSet value = v.binaryQuant().get();
-                f_mapIndex.put((K) oKey, value);
-
-                long cUnits = ENTRY_OVERHEAD + CALC.sizeOf(oKey) + CALC.sizeOf(value);
-                m_cUnits.addAndGet(cUnits);
+                put((K) oKey, v);
                 }
             }
 
@@ -279,9 +366,7 @@ public class BinaryQuantIndex<K, V, T>
                 Object oKey = entry instanceof BinaryEntry
                               ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
                               : entry.getKey();
-                f_mapIndex.put((K) oKey, v.binaryQuant().get());
-                // no need to update units, as key is the same, and values are
-                // guaranteed to have the same size
+                put((K) oKey, v);
                 }
             else
                 {
@@ -295,57 +380,360 @@ public class BinaryQuantIndex<K, V, T>
             Object oKey = entry instanceof BinaryEntry
                           ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
                           : entry.getKey();
-            Object oldValue = f_mapIndex.remove((K) oKey);
 
-            long cUnits = ENTRY_OVERHEAD + CALC.sizeOf(oKey) + CALC.sizeOf(oldValue);
-            m_cUnits.addAndGet(-cUnits);
+            f_lock.writeLock().lock();
+            try
+                {
+                int nSlot = f_mapSlots.removeInt(oKey);
+                if (nSlot >= 0)
+                    {
+                    m_aoKeys[nSlot] = null;
+                    f_listFreeSlots.add(nSlot);
+                    m_cUnits.addAndGet(-entryUnits(oKey));
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
             }
 
         @Override
         public BinaryQueryResult[] query(Vector<T> vector, int k, Filter<?> filter)
             {
-            BitSet                            bitSet       = Objects.requireNonNull(vector).binaryQuant().get();
-            Int2ObjectSortedMap<List<Binary>> mapDistances = new Int2ObjectAVLTreeMap<>();
+            BitSet bitSet = Objects.requireNonNull(vector).binaryQuant().get();
+
+            // snapshot the slab storage and scan the snapshot without holding
+            // the lock, so that a long-running scan does not block updates to
+            // the index; the slot arrays are only ever replaced by larger
+            // copies, and the slabs are never released while the index is
+            // open, so the snapshot remains readable for the whole scan
+            int          cWords;
+            int          cResults;
+            long[][]     aalSlabs;
+            LongBuffer[] abufSlabs;
+            Object[]     aoKeys;
+            int          cSlots;
+
+            f_lock.readLock().lock();
+            try
+                {
+                cWords    = m_cWords;
+                cResults  = Math.min(k * m_nOversamplingFactor, f_mapSlots.size());
+                aalSlabs  = m_aalSlabs;
+                abufSlabs = m_abufSlabs;
+                aoKeys    = m_aoKeys;
+                cSlots    = m_cSlots;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            if (cResults <= 0)
+                {
+                return EMPTY_RESULTS;
+                }
+
+            long[]   alQuery = Arrays.copyOf(bitSet.toLongArray(), cWords);
+            TopKHeap heap    = new TopKHeap(cResults);
+
+            try
+                {
+                for (int nSlot = 0; nSlot < cSlots; nSlot++)
+                    {
+                    Object oKey = aoKeys[nSlot];
+                    if (oKey == null)
+                        {
+                        continue; // free slot
+                        }
 
-            for (Map.Entry<K, BitSet> entry : f_mapIndex.entrySet())
+                    int of = (nSlot & SLAB_MASK) * cWords;
+                    int d  = abufSlabs == null
+                             ? Vectors.hammingDistance(alQuery, 0, aalSlabs[nSlot >>> SLAB_SHIFT], of, cWords)
+                             : Vectors.hammingDistance(alQuery, 0, abufSlabs[nSlot >>> SLAB_SHIFT], of, cWords);
+
+                    // only evaluate the filter for candidates that would make the cut
+                    if (heap.accepts(d) && (filter == null || InvocableMapHelper.evaluateEntry(filter,
+                            f_backingMapContext.getReadOnlyEntry(oKey))))
+                        {
+                        heap.offer(nSlot, d);
+                        }
+                    }
+                }
+            catch (IllegalStateException e)
                 {
-                int d = Vectors.hammingDistance(bitSet, entry.getValue());
-                List<Binary> lstKeys = mapDistances.get(d);
-                if (lstKeys == null)
+                if (f_memory != null && f_memory.isClosed())
                     {
-                    lstKeys = new LinkedList<>();
-                    mapDistances.put(d, lstKeys);
+                    // the off-heap slabs were released by a concurrent close
+                    return EMPTY_RESULTS;
                     }
-                lstKeys.add((Binary) entry.getKey());
+                throw e;
                 }
 
-            int                 cAdded   = 0;
-            int                 cResults = Math.min(k * m_nOversamplingFactor, f_mapIndex.size());
-            BinaryQueryResult[] aResults = new BinaryQueryResult[cResults];
+            return collectResults(alQuery, heap.drainSorted(null), filter);
+            }
 
-            for (IntIterator it = mapDistances.keySet().intIterator(); it.hasNext() && cAdded < cResults; )
+        /**
+         * Re-check the candidate slots selected by a scan of a snapshot of the
+         * slab storage against the current contents of the index, and create
+         * the results for the candidates that are still indexed.
+         * <p/>
+         * A slot may have been updated, or freed and re-used for another key,
+         * while the snapshot was scanned, so the key and the distance of each
+         * candidate are re-read while holding the read lock, and the filter is
+         * then re-evaluated for the current keys without holding it.
+         *
+         * @param alQuery  the binary quantized query vector
+         * @param anSlots  the candidate slots
+         * @param filter   the optional filter the results must match
+         *
+         * @return the results, ordered by distance
+         */
+        private BinaryQueryResult[] collectResults(long[] alQuery, int[] anSlots, Filter<?> filter)
+            {
+            int      cCandidates = anSlots.length;
+            Object[] aoCandidate = new Object[cCandidates];
+            TopKHeap heap        = new TopKHeap(Math.max(1, cCandidates));
+
+            f_lock.readLock().lock();
+            try
                 {
-                int          d       = it.nextInt();
-                List<Binary> lstKeys = mapDistances.get(d);
+                Object[] aoKeys = m_aoKeys;
+                if (aoKeys == null)
+                    {
+                    return EMPTY_RESULTS; // closed
+                    }
 
-                for (Binary binKey : lstKeys)
+                int cWords = m_cWords;
+                for (int i = 0; i < cCandidates; i++)
                     {
-                    BinaryEntry<K, V> entry = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry();
-                    if (filter == null || InvocableMapHelper.evaluateEntry(filter, entry))
+                    int    nSlot = anSlots[i];
+                    Object oKey  = aoKeys[nSlot];
+                    if (oKey != null)
                         {
-                        Binary binValue = entry.getBinaryValue();
-                        aResults[cAdded++] = new BinaryQueryResult(d, binKey, binValue);
-                        if (cAdded == cResults)
-                            {
-                            break;
-                            }
+                        int of = offset(nSlot);
+                        int d  = f_memory == null
+                                 ? Vectors.hammingDistance(alQuery, 0, slab(nSlot), of, cWords)
+                                 : Vectors.hammingDistance(alQuery, 0, m_abufSlabs[nSlot >>> SLAB_SHIFT], of, cWords);
+
+                        aoCandidate[i] = oKey;
+                        heap.offer(i, d);
                         }
                     }
                 }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            float[]             aflDistance = new float[heap.size()];
+            int[]               anIndex     = heap.drainSorted(aflDistance);
+            BinaryQueryResult[] aResults    = new BinaryQueryResult[anIndex.length];
+            int                 cResults    = 0;
+
+            for (int i = 0; i < anIndex.length; i++)
+                {
+                Binary            binKey = (Binary) aoCandidate[anIndex[i]];
+                BinaryEntry<K, V> entry  = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry();
+                if (entry.isPresent() && (filter == null || InvocableMapHelper.evaluateEntry(filter, entry)))
+                    {
+                    aResults[cResults++] = new BinaryQueryResult(aflDistance[i], binKey, entry.getBinaryValue());
+                    }
+                }
 
-            return cAdded == cResults
-                   ? aResults
-                   : Arrays.copyOfRange(aResults, 0, cAdded);
+            return cResults == aResults.length ? aResults : Arrays.copyOf(aResults, cResults);
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+         * Store the binary quantized value of the specified vector for the key,
+         * replacing any existing value in place.
+         *
+         * @param oKey    the key
+         * @param vector  the vector to quantize and store
+         */
+        private void put(K oKey, Vector<?> vector)
+            {
+            long[] alBits = vector.binaryQuant().get().toLongArray();
+
+            f_lock.writeLock().lock();
+            try
+                {
+                if (m_cWords == 0)
+                    {
+                    // the first vector determines the number of words per vector
+                    m_cWords = Math.max(1, (vector.dimensions() + 63) >>> 6);
+                    m_aoKeys = new Object[SLAB_SIZE];
+                    if (f_memory == null)
+                        {
+                        m_aalSlabs = new long[1][];
+                        }
+                    else
+                        {
+                        m_abufSlabs = new LongBuffer[1];
+                        }
+                    }
+
+                int cWords = m_cWords;
+                if (alBits.length > cWords)
+                    {
+                    throw new IllegalArgumentException(String.format(
+                            "Vector has %d dimensions, but the index only supports %d",
+                            vector.dimensions(), cWords << 6));
+                    }
+
+                int nSlot = f_mapSlots.getInt(oKey);
+                if (nSlot < 0)
+                    {
+                    nSlot = allocateSlot();
+                    f_mapSlots.put(oKey, nSlot);
+                    m_aoKeys[nSlot] = oKey;
+                    m_cUnits.addAndGet(entryUnits(oKey));
+                    }
+                // else: the key is the same, and values are guaranteed
+                //       to have the same size, so no need to update units
+
+                int of = offset(nSlot);
+                if (f_memory == null)
+                    {
+                    long[] alSlab = slab(nSlot);
+                    System.arraycopy(alBits, 0, alSlab, of, alBits.length);
+                    Arrays.fill(alSlab, of + alBits.length, of + cWords, 0L);
+                    }
+                else
+                    {
+                    LongBuffer bufSlab = m_abufSlabs[nSlot >>> SLAB_SHIFT];
+                    bufSlab.put(of, alBits);
+                    for (int i = alBits.length; i < cWords; i++)
+                        {
+                        bufSlab.put(of + i, 0L);
+                        }
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Allocate a slot for a new vector, re-using a previously freed slot
+         * if one is available, and growing the slab storage if necessary.
+         * <p/>
+         * Must be called while holding the write lock.
+         *
+         * @return the allocated slot
+         */
+        private int allocateSlot()
+            {
+            IntArrayList listFree = f_listFreeSlots;
+            if (!listFree.isEmpty())
+                {
+                return listFree.removeInt(listFree.size() - 1);
+                }
+
+            int nSlot = m_cSlots++;
+            int nSlab = nSlot >>> SLAB_SHIFT;
+            if (f_memory == null)
+                {
+                if (nSlab == m_aalSlabs.length)
+                    {
+                    m_aalSlabs = Arrays.copyOf(m_aalSlabs, nSlab << 1);
+                    m_cUnits.addAndGet((long) nSlab * SIZE_OBJECT_REF);
+                    }
+                if (m_aalSlabs[nSlab] == null)
+                    {
+                    m_aalSlabs[nSlab] = new long[SLAB_SIZE * m_cWords];
+                    }
+                }
+            else
+                {
+                if (nSlab == m_abufSlabs.length)
+                    {
+                    m_abufSlabs = Arrays.copyOf(m_abufSlabs, nSlab << 1);
+                    m_cUnits.addAndGet((long) nSlab * SIZE_OBJECT_REF);
+                    }
+                if (m_abufSlabs[nSlab] == null)
+                    {
+                    m_abufSlabs[nSlab] = f_memory.allocate(SLAB_SIZE * m_cWords * Long.BYTES).asLongBuffer();
+                    m_cUnits.addAndGet(SIZE_BUFFER);
+                    }
+                }
+            if (nSlot == m_aoKeys.length)
+                {
+                m_aoKeys = Arrays.copyOf(m_aoKeys, nSlot << 1);
+                m_cUnits.addAndGet((long) nSlot * SIZE_OBJECT_REF);
+                }
+            return nSlot;
+            }
+
+        /**
+         * Return the slab containing the vector stored in the specified slot.
+         *
+         * @param nSlot  the slot
+         *
+         * @return the slab containing the vector
+         */
+        private long[] slab(int nSlot)
+            {
+            return m_aalSlabs[nSlot >>> SLAB_SHIFT];
+            }
+
+        /**
+         * Return the offset of the vector stored in the specified slot within
+         * its slab.
+         *
+         * @param nSlot  the slot
+         *
+         * @return the offset of the vector within its slab
+         */
+        private int offset(int nSlot)
+            {
+            return (nSlot & SLAB_MASK) * m_cWords;
+            }
+
+        /**
+         * Return the number of heap units (bytes) used by the entry with the
+         * specified key.
+         *
+         * @param oKey  the key
+         *
+         * @return the number of heap units used by the entry
+         */
+        private long entryUnits(Object oKey)
+            {
+            long cUnits = ENTRY_OVERHEAD + CALC.sizeOf(oKey);
+            return f_memory == null ? cUnits + ((long) m_cWords << 3) : cUnits;
+            }
+
+        // ----- Closeable interface ----------------------------------------
+
+        /**
+         * Release the off-heap memory held by this index, if any.
+         */
+        @Override
+        public void close()
+            {
+            if (f_memory != null)
+                {
+                f_lock.writeLock().lock();
+                try
+                    {
+                    f_memory.close();
+                    f_mapSlots.clear();
+                    f_listFreeSlots.clear();
+                    m_abufSlabs = null;
+                    m_aoKeys    = null;
+                    m_cSlots    = 0;
+                    m_cWords    = 0;
+                    }
+                finally
+                    {
+                    f_lock.writeLock().unlock();
+                    }
+                }
             }
 
         // ----- constants --------------------------------------------------
@@ -356,14 +744,30 @@ public class BinaryQuantIndex<K, V, T>
         protected SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
 
         /**
-        * The memory cost of a ConcurrentHashMap used as the index.
+        * The memory cost of an Object2IntOpenHashMap entry (key reference
+        * and int value), plus the reference to the key in the slot array.
         */
-        protected static final int MAP_OVERHEAD = calculateShallowSize(ConcurrentHashMap.class);
+        protected static final int ENTRY_OVERHEAD = 2 * SIZE_OBJECT_REF + 4;
 
         /**
-        * The memory cost of creating ConcurrentHashMap.Node.
-        */
-        protected static final int ENTRY_OVERHEAD = padMemorySize(SIZE_BASIC_OBJECT + 3 * SIZE_OBJECT_REF + 4);
+         * The approximate heap cost of the buffer views of an off-heap slab.
+         */
+        protected static final int SIZE_BUFFER = 2 * 64;
+
+        /**
+         * The base 2 logarithm of the number of vectors stored in each slab.
+         */
+        protected static final int SLAB_SHIFT = 10;
+
+        /**
+         * The number of vectors stored in each slab.
+         */
+        protected static final int SLAB_SIZE = 1 << SLAB_SHIFT;
+
+        /**
+         * The mask used to calculate the index of a slot within a slab.
+         */
+        protected static final int SLAB_MASK = SLAB_SIZE - 1;
 
         // ----- data members -----------------------------------------------
 
@@ -373,16 +777,66 @@ public class BinaryQuantIndex<K, V, T>
         private final BackingMapContext f_backingMapContext;
 
         /**
-         * The index of cache keys to bit vectors.
+         * The map of cache keys to the slots the quantized vectors are stored in.
+         */
+        private final Object2IntOpenHashMap<K> f_mapSlots = new Object2IntOpenHashMap<>();
+
+        /**
+         * The slots that have been freed and can be re-used.
          */
-        private final ConcurrentMap<K, BitSet> f_mapIndex = new ConcurrentHashMap<>();
+        private final IntArrayList f_listFreeSlots = new IntArrayList();
+
+        /**
+         * The lock guarding the slab storage.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The number of {@code long} words used to store each quantized vector,
+         * or zero if no vectors have been added yet.
+         */
+        private int m_cWords;
+
+        /**
+         * The number of slots that have ever been allocated.
+         */
+        private int m_cSlots;
+
+        /**
+         * The off-heap memory the slabs are allocated from, or {@code null}
+         * if the slabs are stored on heap.
+         */
+        private final OffHeapMemory f_memory;
+
+        /**
+         * The slabs containing the packed quantized vectors, if stored on heap.
+         */
+        private long[][] m_aalSlabs;
+
+        /**
+         * The slabs containing the packed quantized vectors, if stored off-heap.
+         */
+        private LongBuffer[] m_abufSlabs;
+
+        /**
+         * The key stored in each slot, or {@code null} if the slot is free.
+         */
+        private Object[] m_aoKeys;
 
         /**
          * The number of units (bytes) used by this index,
          */
-        private AtomicLong m_cUnits = new AtomicLong(calculateShallowSize(BinaryQuantMapIndex.class) + MAP_OVERHEAD);
+        private final AtomicLong m_cUnits = new AtomicLong(calculateShallowSize(BinaryQuantMapIndex.class)
+                                                           + calculateShallowSize(Object2IntOpenHashMap.class));
         }
 
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULTS = new BinaryQueryResult[0];
+
     // ----- data members ---------------------------------------------------
 
     /**
@@ -401,4 +855,10 @@ public class BinaryQuantIndex<K, V, T>
      */
     @JsonbProperty("oversamplingFactor")
     private int m_nOversamplingFactor = 3;
+
+    /**
+     * {@code true} if the quantized vectors are stored off-heap.
+     */
+    @JsonbProperty("offHeap")
+    private boolean m_fOffHeap = Config.getBoolean("coherence.ai.index.offheap", false);
     }
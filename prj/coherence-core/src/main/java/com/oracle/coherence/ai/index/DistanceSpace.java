@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.util.Vectors;
+
+/**
+ * The distance spaces supported by the Java vector indexes, which determine
+ * the distance function used to compare vectors.
+ *
+ * @since 25.09
+ */
+public enum DistanceSpace
+    {
+    /**
+     * Cosine distance, calculated as {@code 1 - dot product}, which
+     * requires vectors to be normalized.
+     */
+    COSINE,
+
+    /**
+     * Inner product distance, calculated as {@code 1 - dot product}.
+     */
+    IP,
+
+    /**
+     * Squared Euclidean distance.
+     */
+    L2;
+
+    /**
+     * Return the {@link DistanceSpace} with the specified name, ignoring case.
+     *
+     * @param sName  the name of the space
+     *
+     * @return the {@link DistanceSpace} with the specified name
+     *
+     * @throws IllegalArgumentException if there is no space with the specified name
+     */
+    public static DistanceSpace fromName(String sName)
+        {
+        return valueOf(sName.toUpperCase());
+        }
+
+    /**
+     * Return {@code true} if vectors must be normalized before they are
+     * compared in this space.
+     *
+     * @return {@code true} if vectors must be normalized
+     */
+    public boolean isNormalized()
+        {
+        return this == COSINE;
+        }
+
+    /**
+     * Calculate the distance between two vectors in this space.
+     * <p/>
+     * The vectors must already be normalized if this space
+     * {@link #isNormalized() requires it}.
+     *
+     * @param v1  the first vector
+     * @param v2  the second vector
+     *
+     * @return the distance between the vectors
+     */
+    public float distance(float[] v1, float[] v2)
+        {
+        return this == L2
+               ? (float) Vectors.l2squared(v1, v2)
+               : 1.0f - (float) Vectors.dotProduct(v1, v2);
+        }
+    }
@@ -0,0 +1,1394 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.util.TopKHeap;
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.function.IntPredicate;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_BASIC_OBJECT;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * A pure Java implementation of a Hierarchical Navigable Small World (HNSW)
+ * graph over {@code float} vectors.
+ * <p/>
+ * Each node is identified by an {@code int} id allocated sequentially as
+ * vectors are added, and carries an opaque label (typically a cache key).
+ * All per-node state is stored in fixed size slabs of primitive arrays:
+ * vectors are packed into {@code float[]} slabs, layer zero neighbor lists
+ * into {@code int[]} slabs, and the (rare) upper layer neighbor lists into a
+ * single {@code int[]} per node. Growing the graph only ever appends slabs,
+ * so node data never moves once written.
+ * <p/>
+ * Vectors can be added concurrently. Neighbor lists are guarded by a fixed
+ * set of striped monitors, which are only held while a single list is read
+ * or modified, while the entry point and the top layer are published using
+ * a single volatile field, so searches never block each other.
+ * <p/>
+ * Nodes are removed by clearing their label, which excludes them from the
+ * search results while leaving them in the graph for navigation. Callers
+ * are expected to rebuild the graph once a significant portion of the nodes
+ * has been removed (see {@link #getDeletedCount()}).
+ *
+ * @since 25.09
+ */
+public class HnswGraph
+    {
+    /**
+     * Create a {@link HnswGraph}.
+     *
+     * @param nDimension       the number of dimensions in the vectors
+     * @param space            the {@link DistanceSpace} that determines the distance function
+     * @param nM               the number of bidirectional links created for every new node
+     * @param nEfConstruction  the size of the dynamic candidate list used while adding nodes
+     * @param lSeed            the seed used to generate random node levels
+     */
+    public HnswGraph(int nDimension, DistanceSpace space, int nM, int nEfConstruction, long lSeed)
+        {
+        if (nDimension <= 0)
+            {
+            throw new IllegalArgumentException("The number of dimensions must be positive: " + nDimension);
+            }
+        if (nM < 2)
+            {
+            throw new IllegalArgumentException("M must be at least 2: " + nM);
+            }
+
+        f_nDimension      = nDimension;
+        f_space           = space == null ? DistanceSpace.COSINE : space;
+        f_nM              = nM;
+        f_nM0             = nM << 1;
+        f_nEfConstruction = Math.max(nEfConstruction, nM);
+        f_dLevelMult      = 1.0 / Math.log(nM);
+        f_random          = new Random(lSeed);
+        f_cbSlab          = SLAB_SIZE * (4L * nDimension + 4L * (f_nM0 + 1) + 1 + 2L * SIZE_OBJECT_REF)
+                            + 5L * SIZE_BASIC_OBJECT;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of dimensions in the vectors.
+     *
+     * @return the number of dimensions in the vectors
+     */
+    public int getDimension()
+        {
+        return f_nDimension;
+        }
+
+    /**
+     * Return the {@link DistanceSpace} that determines the distance function.
+     *
+     * @return the {@link DistanceSpace} that determines the distance function
+     */
+    public DistanceSpace getSpace()
+        {
+        return f_space;
+        }
+
+    /**
+     * Return the maximum number of neighbors of a node in the upper layers.
+     *
+     * @return the maximum number of neighbors of a node in the upper layers
+     */
+    public int getM()
+        {
+        return f_nM;
+        }
+
+    /**
+     * Return the number of nodes that have not been removed.
+     *
+     * @return the number of nodes that have not been removed
+     */
+    public int size()
+        {
+        return f_cLive.get();
+        }
+
+    /**
+     * Return the number of nodes that have been removed, but are still
+     * present in the graph.
+     *
+     * @return the number of removed nodes
+     */
+    public int getDeletedCount()
+        {
+        return f_cDeleted.get();
+        }
+
+    /**
+     * Return the number of node ids that have been allocated, which is also
+     * the exclusive upper bound of all node ids.
+     *
+     * @return the number of node ids that have been allocated
+     */
+    public int getNodeCount()
+        {
+        return f_cNodes.get();
+        }
+
+    /**
+     * Return the label of the specified node.
+     *
+     * @param nNode  the node id
+     *
+     * @return the label of the node, or {@code null} if the node was removed
+     */
+    public Object getLabel(int nNode)
+        {
+        return m_aaoLabels[nNode >>> SLAB_SHIFT][nNode & SLAB_MASK];
+        }
+
+    /**
+     * Return a copy of the vector of the specified node.
+     *
+     * @param nNode  the node id
+     *
+     * @return a copy of the vector of the node
+     */
+    public float[] getVector(int nNode)
+        {
+        int cDim = f_nDimension;
+        return Arrays.copyOfRange(m_aaflVectors[nNode >>> SLAB_SHIFT],
+                (nNode & SLAB_MASK) * cDim, (nNode & SLAB_MASK) * cDim + cDim);
+        }
+
+    /**
+     * Return the estimated number of bytes used by this graph.
+     *
+     * @return the estimated number of bytes used by this graph
+     */
+    public long getUnits()
+        {
+        return SHALLOW_SIZE + m_cSlabs * f_cbSlab + f_cbUpper.get();
+        }
+
+    // ----- graph operations -----------------------------------------------
+
+    /**
+     * Add a vector to this graph.
+     * <p/>
+     * The vector must already be normalized if the {@link DistanceSpace#COSINE}
+     * space is used. The contents of the array are copied, so the array
+     * can be reused by the caller.
+     *
+     * @param aflVector  the vector to add
+     * @param oLabel     the label of the new node; must not be {@code null}
+     *
+     * @return the id of the new node
+     */
+    public int add(float[] aflVector, Object oLabel)
+        {
+        checkDimension(aflVector);
+
+        int nNode  = f_cNodes.getAndIncrement();
+        int nLevel = randomLevel();
+        int nSlab  = nNode >>> SLAB_SHIFT;
+        int i      = nNode & SLAB_MASK;
+
+        ensureSlab(nSlab);
+
+        System.arraycopy(aflVector, 0, m_aaflVectors[nSlab], i * f_nDimension, f_nDimension);
+        m_aabLevels[nSlab][i] = (byte) nLevel;
+        if (nLevel > 0)
+            {
+            m_aaanUpper[nSlab][i] = new int[nLevel * (f_nM + 1)];
+            f_cbUpper.addAndGet(SIZE_BASIC_OBJECT + 4L * nLevel * (f_nM + 1));
+            }
+        m_aaoLabels[nSlab][i] = oLabel;
+        f_cLive.incrementAndGet();
+
+        long lEntry = m_lEntry;
+        if (lEntry == NO_ENTRY)
+            {
+            synchronized (f_oEntry)
+                {
+                lEntry = m_lEntry;
+                if (lEntry == NO_ENTRY)
+                    {
+                    m_lEntry = entry(nNode, nLevel);
+                    return nNode;
+                    }
+                }
+            }
+
+        Scratch scratch   = Scratch.get(f_nM0);
+        int     nMaxLevel = entryLevel(lEntry);
+        int     nEntry    = entryNode(lEntry);
+
+        for (int nLayer = nMaxLevel; nLayer > nLevel; nLayer--)
+            {
+            nEntry = searchGreedy(scratch, aflVector, nEntry, nLayer);
+            }
+
+        for (int nLayer = Math.min(nLevel, nMaxLevel); nLayer >= 0; nLayer--)
+            {
+            TopKHeap heap        = searchLayer(scratch, aflVector, nEntry, f_nEfConstruction, nLayer, null);
+            float[]  aflDistance = new float[heap.size()];
+            int[]    anFound     = heap.drainSorted(aflDistance);
+            int      cFound      = removeNode(anFound, aflDistance, nNode);
+
+            if (cFound == 0)
+                {
+                continue;
+                }
+
+            nEntry = anFound[0];
+
+            int cSelected = selectNeighbors(anFound, aflDistance, cFound, f_nM);
+            for (int j = 0; j < cSelected; j++)
+                {
+                connect(nNode, anFound[j], nLayer);
+                connect(anFound[j], nNode, nLayer);
+                }
+            }
+
+        if (nLevel > nMaxLevel)
+            {
+            synchronized (f_oEntry)
+                {
+                if (nLevel > entryLevel(m_lEntry))
+                    {
+                    m_lEntry = entry(nNode, nLevel);
+                    }
+                }
+            }
+
+        return nNode;
+        }
+
+    /**
+     * Remove the specified node from this graph.
+     * <p/>
+     * The node is excluded from all subsequent search results, but remains
+     * in the graph so the nodes it links to stay reachable.
+     *
+     * @param nNode  the node id
+     *
+     * @return {@code true} if the node was removed, or {@code false} if it
+     *         had already been removed
+     */
+    public boolean remove(int nNode)
+        {
+        Object[] aoLabels = m_aaoLabels[nNode >>> SLAB_SHIFT];
+        int      i        = nNode & SLAB_MASK;
+
+        synchronized (stripe(nNode))
+            {
+            if (aoLabels[i] == null)
+                {
+                return false;
+                }
+            aoLabels[i] = null;
+            }
+        f_cLive.decrementAndGet();
+        f_cDeleted.incrementAndGet();
+        return true;
+        }
+
+    /**
+     * Return the ids of the nodes nearest to the specified vector.
+     * <p/>
+     * The vector must already be normalized if the {@link DistanceSpace#COSINE}
+     * space is used.
+     *
+     * @param aflQuery     the vector to search for
+     * @param k            the maximum number of nodes to return
+     * @param nEf          the size of the dynamic candidate list, which
+     *                     determines the trade-off between speed and recall
+     * @param filter       an optional predicate that the returned nodes must
+     *                     satisfy, or {@code null} to return any node
+     * @param aflDistance  an array of at least {@code k} elements to receive
+     *                     the distances of the returned nodes
+     *
+     * @return the ids of the nearest nodes, ordered by ascending distance
+     */
+    public int[] search(float[] aflQuery, int k, int nEf, IntPredicate filter, float[] aflDistance)
+        {
+        checkDimension(aflQuery);
+
+        long lEntry = m_lEntry;
+        if (lEntry == NO_ENTRY || k <= 0)
+            {
+            return EMPTY;
+            }
+
+        Scratch scratch = Scratch.get(f_nM0);
+        int     nEntry  = entryNode(lEntry);
+
+        for (int nLayer = entryLevel(lEntry); nLayer > 0; nLayer--)
+            {
+            nEntry = searchGreedy(scratch, aflQuery, nEntry, nLayer);
+            }
+
+        IntPredicate accept = filter == null
+                              ? n -> getLabel(n) != null
+                              : n -> getLabel(n) != null && filter.test(n);
+
+        TopKHeap heap    = searchLayer(scratch, aflQuery, nEntry, Math.max(nEf, k), 0, accept);
+        float[]  aflAll  = new float[heap.size()];
+        int[]    anAll   = heap.drainSorted(aflAll);
+        int      cResult = Math.min(k, anAll.length);
+
+        System.arraycopy(aflAll, 0, aflDistance, 0, cResult);
+        return cResult == anAll.length ? anAll : Arrays.copyOf(anAll, cResult);
+        }
+
+    /**
+     * Return {@code true} if the vector of the specified node is equal to
+     * the specified vector.
+     *
+     * @param nNode      the node id
+     * @param aflVector  the vector to compare with
+     *
+     * @return {@code true} if the node has the specified vector
+     */
+    public boolean isVector(int nNode, float[] aflVector)
+        {
+        int cDim = f_nDimension;
+        int of   = (nNode & SLAB_MASK) * cDim;
+        return aflVector.length == cDim
+               && Arrays.equals(m_aaflVectors[nNode >>> SLAB_SHIFT], of, of + cDim, aflVector, 0, cDim);
+        }
+
+    // ----- serialization --------------------------------------------------
+
+    /**
+     * Write this graph, including the removed nodes, to the specified output.
+     * <p/>
+     * The graph must not be modified while it is being written. The node
+     * labels are written using {@link ExternalizableHelper#writeObject}.
+     *
+     * @param out  the output to write the graph to
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public void writeTo(DataOutput out)
+            throws IOException
+        {
+        int  cDim   = f_nDimension;
+        int  cNodes = f_cNodes.get();
+        long lEntry = m_lEntry;
+
+        ExternalizableHelper.writeInt(out, cDim);
+        ExternalizableHelper.writeUTF(out, f_space.name());
+        ExternalizableHelper.writeInt(out, f_nM);
+        ExternalizableHelper.writeInt(out, f_nEfConstruction);
+        ExternalizableHelper.writeInt(out, cNodes);
+        ExternalizableHelper.writeInt(out, entryNode(lEntry));
+        ExternalizableHelper.writeInt(out, entryLevel(lEntry));
+
+        for (int nNode = 0; nNode < cNodes; nNode++)
+            {
+            int     nSlab   = nNode >>> SLAB_SHIFT;
+            int     i       = nNode & SLAB_MASK;
+            float[] aflSlab = m_aaflVectors[nSlab];
+            int     nLevel  = m_aabLevels[nSlab][i];
+
+            for (int of = i * cDim, ofEnd = of + cDim; of < ofEnd; of++)
+                {
+                out.writeFloat(aflSlab[of]);
+                }
+
+            out.writeByte(nLevel);
+            writeLinkList(out, m_aanLinks0[nSlab], i * (f_nM0 + 1));
+            for (int nLayer = 1; nLayer <= nLevel; nLayer++)
+                {
+                writeLinkList(out, m_aaanUpper[nSlab][i], (nLayer - 1) * (f_nM + 1));
+                }
+
+            ExternalizableHelper.writeObject(out, m_aaoLabels[nSlab][i]);
+            }
+        }
+
+    /**
+     * Read a graph written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in     the input to read the graph from
+     * @param lSeed  the seed used to generate random levels for the nodes
+     *               added to the graph after it has been read
+     *
+     * @return the graph
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    public static HnswGraph readFrom(DataInput in, long lSeed)
+            throws IOException
+        {
+        int           cDim    = ExternalizableHelper.readInt(in);
+        DistanceSpace space   = DistanceSpace.valueOf(ExternalizableHelper.readSafeUTF(in));
+        int           nM      = ExternalizableHelper.readInt(in);
+        int           nEf     = ExternalizableHelper.readInt(in);
+        int           cNodes  = ExternalizableHelper.readInt(in);
+        int           nEntry  = ExternalizableHelper.readInt(in);
+        int           nLevel0 = ExternalizableHelper.readInt(in);
+        HnswGraph     graph   = new HnswGraph(cDim, space, nM, nEf, lSeed);
+
+        if (cNodes > 0)
+            {
+            graph.ensureSlab((cNodes - 1) >>> SLAB_SHIFT);
+            }
+
+        int cLive = 0;
+        for (int nNode = 0; nNode < cNodes; nNode++)
+            {
+            int     nSlab   = nNode >>> SLAB_SHIFT;
+            int     i       = nNode & SLAB_MASK;
+            float[] aflSlab = graph.m_aaflVectors[nSlab];
+
+            for (int of = i * cDim, ofEnd = of + cDim; of < ofEnd; of++)
+                {
+                aflSlab[of] = in.readFloat();
+                }
+
+            int nLevel = in.readByte();
+            graph.m_aabLevels[nSlab][i] = (byte) nLevel;
+            readLinkList(in, graph.m_aanLinks0[nSlab], i * (graph.f_nM0 + 1), graph.f_nM0);
+            if (nLevel > 0)
+                {
+                int[] anUpper = new int[nLevel * (nM + 1)];
+                for (int nLayer = 1; nLayer <= nLevel; nLayer++)
+                    {
+                    readLinkList(in, anUpper, (nLayer - 1) * (nM + 1), nM);
+                    }
+                graph.m_aaanUpper[nSlab][i] = anUpper;
+                graph.f_cbUpper.addAndGet(SIZE_BASIC_OBJECT + 4L * anUpper.length);
+                }
+
+            Object oLabel = ExternalizableHelper.readObject(in);
+            graph.m_aaoLabels[nSlab][i] = oLabel;
+            if (oLabel != null)
+                {
+                cLive++;
+                }
+            }
+
+        graph.f_cNodes.set(cNodes);
+        graph.f_cLive.set(cLive);
+        graph.f_cDeleted.set(cNodes - cLive);
+        graph.m_lEntry = cNodes == 0 ? NO_ENTRY : entry(nEntry, nLevel0);
+
+        return graph;
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "HnswGraph{" +
+               "dimension=" + f_nDimension +
+               ", space=" + f_space +
+               ", M=" + f_nM +
+               ", efConstruction=" + f_nEfConstruction +
+               ", size=" + size() +
+               ", deleted=" + getDeletedCount() +
+               ", maxLevel=" + entryLevel(m_lEntry) +
+               '}';
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Greedily walk the specified layer from the entry node towards the
+     * query vector, returning the closest node found.
+     *
+     * @param scratch   the scratch space of the calling thread
+     * @param aflQuery  the query vector
+     * @param nEntry    the entry node
+     * @param nLayer    the layer to search
+     *
+     * @return the closest node found
+     */
+    private int searchGreedy(Scratch scratch, float[] aflQuery, int nEntry, int nLayer)
+        {
+        int[]   anLinks  = scratch.m_anLinks;
+        float   flBest   = distance(aflQuery, nEntry);
+        boolean fChanged = true;
+
+        while (fChanged)
+            {
+            fChanged = false;
+
+            int cLinks = readLinks(nEntry, nLayer, anLinks);
+            for (int j = 0; j < cLinks; j++)
+                {
+                int   n  = anLinks[j];
+                float fl = distance(aflQuery, n);
+                if (fl < flBest)
+                    {
+                    flBest   = fl;
+                    nEntry   = n;
+                    fChanged = true;
+                    }
+                }
+            }
+        return nEntry;
+        }
+
+    /**
+     * Perform a best-first search of the specified layer.
+     *
+     * @param scratch   the scratch space of the calling thread
+     * @param aflQuery  the query vector
+     * @param nEntry    the entry node
+     * @param nEf       the maximum number of results to retain
+     * @param nLayer    the layer to search
+     * @param accept    an optional predicate the retained nodes must satisfy;
+     *                  nodes that do not satisfy it are still traversed
+     *
+     * @return the heap containing the closest nodes found
+     */
+    private TopKHeap searchLayer(Scratch scratch, float[] aflQuery, int nEntry, int nEf, int nLayer, IntPredicate accept)
+        {
+        TopKHeap       results    = new TopKHeap(nEf);
+        CandidateQueue candidates = scratch.m_candidates;
+        int[]          anLinks    = scratch.m_anLinks;
+        int[]          anVisited  = scratch.startVisit(f_cNodes.get());
+        int            nVisit     = scratch.m_nVisit;
+
+        candidates.clear();
+
+        float flEntry = distance(aflQuery, nEntry);
+        anVisited[nEntry] = nVisit;
+        candidates.push(nEntry, flEntry);
+        if (accept == null || accept.test(nEntry))
+            {
+            results.offer(nEntry, flEntry);
+            }
+
+        while (!candidates.isEmpty())
+            {
+            if (candidates.peekDistance() > results.threshold())
+                {
+                break;
+                }
+
+            int nCandidate = candidates.pop();
+            int cLinks     = readLinks(nCandidate, nLayer, anLinks);
+            for (int j = 0; j < cLinks; j++)
+                {
+                int n = anLinks[j];
+                if (n >= anVisited.length)
+                    {
+                    // the node was added after the search started
+                    anVisited = scratch.growVisited(n + 1);
+                    }
+                if (anVisited[n] == nVisit)
+                    {
+                    continue;
+                    }
+                anVisited[n] = nVisit;
+
+                float fl = distance(aflQuery, n);
+                if (results.accepts(fl))
+                    {
+                    candidates.push(n, fl);
+                    if (accept == null || accept.test(n))
+                        {
+                        results.offer(n, fl);
+                        }
+                    }
+                }
+            }
+
+        return results;
+        }
+
+    /**
+     * Select up to {@code cMax} neighbors from the candidates sorted by
+     * ascending distance, using the heuristic that prefers candidates that
+     * are closer to the base node than to any neighbor selected already.
+     * <p/>
+     * The selected neighbors are moved to the beginning of the arrays.
+     *
+     * @param anCandidates   the candidate ids
+     * @param aflDistance    the candidate distances from the base node
+     * @param cCandidates    the number of candidates
+     * @param cMax           the maximum number of neighbors to select
+     *
+     * @return the number of selected neighbors
+     */
+    private int selectNeighbors(int[] anCandidates, float[] aflDistance, int cCandidates, int cMax)
+        {
+        if (cCandidates <= cMax)
+            {
+            return cCandidates;
+            }
+
+        int cSelected = 0;
+        for (int i = 0; i < cCandidates && cSelected < cMax; i++)
+            {
+            int     n     = anCandidates[i];
+            float   fl    = aflDistance[i];
+            boolean fGood = true;
+
+            for (int j = 0; j < cSelected; j++)
+                {
+                if (distance(n, anCandidates[j]) < fl)
+                    {
+                    fGood = false;
+                    break;
+                    }
+                }
+
+            if (fGood)
+                {
+                anCandidates[cSelected] = n;
+                aflDistance[cSelected]  = fl;
+                cSelected++;
+                }
+            }
+        return cSelected;
+        }
+
+    /**
+     * Add a directed link between two nodes on the specified layer, pruning
+     * the neighbor list of the source node if it is full.
+     *
+     * @param nFrom   the source node
+     * @param nTo     the target node
+     * @param nLayer  the layer
+     */
+    private void connect(int nFrom, int nTo, int nLayer)
+        {
+        synchronized (stripe(nFrom))
+            {
+            int[] an;
+            int   of;
+            int   cMax;
+            if (nLayer == 0)
+                {
+                an   = m_aanLinks0[nFrom >>> SLAB_SHIFT];
+                of   = (nFrom & SLAB_MASK) * (f_nM0 + 1);
+                cMax = f_nM0;
+                }
+            else
+                {
+                an   = m_aaanUpper[nFrom >>> SLAB_SHIFT][nFrom & SLAB_MASK];
+                of   = (nLayer - 1) * (f_nM + 1);
+                cMax = f_nM;
+                }
+
+            int cLinks = an[of];
+            for (int j = 1; j <= cLinks; j++)
+                {
+                if (an[of + j] == nTo)
+                    {
+                    return;
+                    }
+                }
+
+            if (cLinks < cMax)
+                {
+                an[of + cLinks + 1] = nTo;
+                an[of] = cLinks + 1;
+                return;
+                }
+
+            // the list is full; re-select the neighbors from the existing
+            // links and the new one, ordered by distance from the source
+            int     cCandidates  = cLinks + 1;
+            int[]   anCandidates = new int[cCandidates];
+            float[] aflDistance  = new float[cCandidates];
+            for (int j = 0; j < cCandidates; j++)
+                {
+                int   n  = j < cLinks ? an[of + j + 1] : nTo;
+                float fl = distance(nFrom, n);
+                int   k  = j;
+                for (; k > 0 && aflDistance[k - 1] > fl; k--)
+                    {
+                    anCandidates[k] = anCandidates[k - 1];
+                    aflDistance[k]  = aflDistance[k - 1];
+                    }
+                anCandidates[k] = n;
+                aflDistance[k]  = fl;
+                }
+
+            int cSelected = selectNeighbors(anCandidates, aflDistance, cCandidates, cMax);
+            System.arraycopy(anCandidates, 0, an, of + 1, cSelected);
+            an[of] = cSelected;
+            }
+        }
+
+    /**
+     * Copy the neighbors of the specified node on the specified layer into
+     * the buffer.
+     *
+     * @param nNode    the node
+     * @param nLayer   the layer
+     * @param anLinks  the buffer to copy the neighbors into
+     *
+     * @return the number of neighbors
+     */
+    private int readLinks(int nNode, int nLayer, int[] anLinks)
+        {
+        synchronized (stripe(nNode))
+            {
+            int[] an;
+            int   of;
+            if (nLayer == 0)
+                {
+                an = m_aanLinks0[nNode >>> SLAB_SHIFT];
+                of = (nNode & SLAB_MASK) * (f_nM0 + 1);
+                }
+            else
+                {
+                an = m_aaanUpper[nNode >>> SLAB_SHIFT][nNode & SLAB_MASK];
+                of = (nLayer - 1) * (f_nM + 1);
+                }
+
+            int cLinks = an[of];
+            System.arraycopy(an, of + 1, anLinks, 0, cLinks);
+            return cLinks;
+            }
+        }
+
+    /**
+     * Write a neighbor list to the specified output.
+     *
+     * @param out  the output
+     * @param an   the array holding the neighbor list
+     * @param of   the offset of the neighbor count in the array
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void writeLinkList(DataOutput out, int[] an, int of)
+            throws IOException
+        {
+        int cLinks = an[of];
+        ExternalizableHelper.writeInt(out, cLinks);
+        for (int j = 1; j <= cLinks; j++)
+            {
+            ExternalizableHelper.writeInt(out, an[of + j]);
+            }
+        }
+
+    /**
+     * Read a neighbor list written by {@link #writeLinkList} into the specified
+     * array.
+     *
+     * @param in    the input
+     * @param an    the array to hold the neighbor list
+     * @param of    the offset of the neighbor count in the array
+     * @param cMax  the maximum number of neighbors
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private static void readLinkList(DataInput in, int[] an, int of, int cMax)
+            throws IOException
+        {
+        int cLinks = ExternalizableHelper.readInt(in);
+        if (cLinks < 0 || cLinks > cMax)
+            {
+            throw new IOException("Invalid neighbor count: " + cLinks);
+            }
+
+        an[of] = cLinks;
+        for (int j = 1; j <= cLinks; j++)
+            {
+            an[of + j] = ExternalizableHelper.readInt(in);
+            }
+        }
+
+    /**
+     * Remove the specified node from the sorted search results, which can
+     * happen if a concurrent insert has already linked to it.
+     *
+     * @param anNodes      the node ids
+     * @param aflDistance  the node distances
+     * @param nNode        the node to remove
+     *
+     * @return the number of remaining nodes
+     */
+    private static int removeNode(int[] anNodes, float[] aflDistance, int nNode)
+        {
+        int c = anNodes.length;
+        for (int i = 0; i < c; i++)
+            {
+            if (anNodes[i] == nNode)
+                {
+                System.arraycopy(anNodes, i + 1, anNodes, i, c - i - 1);
+                System.arraycopy(aflDistance, i + 1, aflDistance, i, c - i - 1);
+                return c - 1;
+                }
+            }
+        return c;
+        }
+
+    /**
+     * Calculate the distance between a vector and a node.
+     *
+     * @param aflVector  the vector
+     * @param nNode      the node
+     *
+     * @return the distance between the vector and the node
+     */
+    private float distance(float[] aflVector, int nNode)
+        {
+        int     cDim    = f_nDimension;
+        float[] aflSlab = m_aaflVectors[nNode >>> SLAB_SHIFT];
+        int     of      = (nNode & SLAB_MASK) * cDim;
+
+        return f_space == DistanceSpace.L2
+               ? (float) Vectors.l2squared(aflVector, 0, aflSlab, of, cDim)
+               : 1.0f - (float) Vectors.dotProduct(aflVector, 0, aflSlab, of, cDim);
+        }
+
+    /**
+     * Calculate the distance between two nodes.
+     *
+     * @param nNode1  the first node
+     * @param nNode2  the second node
+     *
+     * @return the distance between the nodes
+     */
+    private float distance(int nNode1, int nNode2)
+        {
+        int       cDim          = f_nDimension;
+        float[][] aaflVectors   = m_aaflVectors;
+        float[]   aflSlab1      = aaflVectors[nNode1 >>> SLAB_SHIFT];
+        float[]   aflSlab2      = aaflVectors[nNode2 >>> SLAB_SHIFT];
+        int       of1           = (nNode1 & SLAB_MASK) * cDim;
+        int       of2           = (nNode2 & SLAB_MASK) * cDim;
+
+        return f_space == DistanceSpace.L2
+               ? (float) Vectors.l2squared(aflSlab1, of1, aflSlab2, of2, cDim)
+               : 1.0f - (float) Vectors.dotProduct(aflSlab1, of1, aflSlab2, of2, cDim);
+        }
+
+    /**
+     * Ensure that the slab with the specified index, and all the slabs
+     * preceding it, have been allocated.
+     *
+     * @param nSlab  the slab index
+     */
+    private void ensureSlab(int nSlab)
+        {
+        if (nSlab < m_cSlabs)
+            {
+            return;
+            }
+
+        synchronized (f_oGrow)
+            {
+            while (m_cSlabs <= nSlab)
+                {
+                int cSlabs = m_cSlabs;
+
+                float[][] aaflVectors = m_aaflVectors;
+                int[][]   aanLinks0   = m_aanLinks0;
+                int[][][] aaanUpper   = m_aaanUpper;
+                byte[][]  aabLevels   = m_aabLevels;
+                Object[][] aaoLabels  = m_aaoLabels;
+
+                if (cSlabs == aaflVectors.length)
+                    {
+                    int cNew = Math.max(4, cSlabs << 1);
+                    aaflVectors = Arrays.copyOf(aaflVectors, cNew);
+                    aanLinks0   = Arrays.copyOf(aanLinks0, cNew);
+                    aaanUpper   = Arrays.copyOf(aaanUpper, cNew);
+                    aabLevels   = Arrays.copyOf(aabLevels, cNew);
+                    aaoLabels   = Arrays.copyOf(aaoLabels, cNew);
+                    }
+
+                aaflVectors[cSlabs] = new float[SLAB_SIZE * f_nDimension];
+                aanLinks0[cSlabs]   = new int[SLAB_SIZE * (f_nM0 + 1)];
+                aaanUpper[cSlabs]   = new int[SLAB_SIZE][];
+                aabLevels[cSlabs]   = new byte[SLAB_SIZE];
+                aaoLabels[cSlabs]   = new Object[SLAB_SIZE];
+
+                m_aaflVectors = aaflVectors;
+                m_aanLinks0   = aanLinks0;
+                m_aaanUpper   = aaanUpper;
+                m_aabLevels   = aabLevels;
+                m_aaoLabels   = aaoLabels;
+                m_cSlabs      = cSlabs + 1;
+                }
+            }
+        }
+
+    /**
+     * Return a random level for a new node, using an exponentially
+     * decaying probability distribution.
+     *
+     * @return a random level for a new node
+     */
+    private int randomLevel()
+        {
+        double dLevel = -Math.log(1.0 - f_random.nextDouble()) * f_dLevelMult;
+        return (int) Math.min(dLevel, MAX_LEVEL);
+        }
+
+    /**
+     * Return the monitor guarding the neighbor lists of the specified node.
+     *
+     * @param nNode  the node
+     *
+     * @return the monitor guarding the neighbor lists of the node
+     */
+    private Object stripe(int nNode)
+        {
+        return f_aoStripes[nNode & (STRIPES - 1)];
+        }
+
+    /**
+     * Validate the number of dimensions of the specified vector.
+     *
+     * @param aflVector  the vector to validate
+     *
+     * @throws IllegalArgumentException if the vector has the wrong number of dimensions
+     */
+    private void checkDimension(float[] aflVector)
+        {
+        if (aflVector.length != f_nDimension)
+            {
+            throw new IllegalArgumentException(String.format(
+                    "Vector has %d dimensions, but the index only supports %d",
+                    aflVector.length, f_nDimension));
+            }
+        }
+
+    /**
+     * Encode the entry point and the top layer of the graph.
+     *
+     * @param nNode   the entry node
+     * @param nLevel  the top layer
+     *
+     * @return the encoded entry point
+     */
+    private static long entry(int nNode, int nLevel)
+        {
+        return ((long) nLevel << 32) | (nNode & 0xFFFFFFFFL);
+        }
+
+    /**
+     * Decode the entry node from the encoded entry point.
+     *
+     * @param lEntry  the encoded entry point
+     *
+     * @return the entry node
+     */
+    private static int entryNode(long lEntry)
+        {
+        return (int) lEntry;
+        }
+
+    /**
+     * Decode the top layer from the encoded entry point.
+     *
+     * @param lEntry  the encoded entry point
+     *
+     * @return the top layer
+     */
+    private static int entryLevel(long lEntry)
+        {
+        return (int) (lEntry >> 32);
+        }
+
+    // ----- inner class: CandidateQueue ------------------------------------
+
+    /**
+     * A growable binary min-heap of candidate nodes ordered by distance.
+     */
+    private static class CandidateQueue
+        {
+        /**
+         * Return {@code true} if the queue is empty.
+         *
+         * @return {@code true} if the queue is empty
+         */
+        boolean isEmpty()
+            {
+            return m_cSize == 0;
+            }
+
+        /**
+         * Remove all candidates from the queue.
+         */
+        void clear()
+            {
+            m_cSize = 0;
+            }
+
+        /**
+         * Return the distance of the closest candidate.
+         *
+         * @return the distance of the closest candidate
+         */
+        float peekDistance()
+            {
+            return m_aflDistance[0];
+            }
+
+        /**
+         * Add a candidate to the queue.
+         *
+         * @param nNode       the candidate node
+         * @param flDistance  the distance of the candidate
+         */
+        void push(int nNode, float flDistance)
+            {
+            int i = m_cSize++;
+            if (i == m_anNode.length)
+                {
+                m_anNode      = Arrays.copyOf(m_anNode, i << 1);
+                m_aflDistance = Arrays.copyOf(m_aflDistance, i << 1);
+                }
+
+            int[]   anNode      = m_anNode;
+            float[] aflDistance = m_aflDistance;
+            while (i > 0)
+                {
+                int iParent = (i - 1) >>> 1;
+                if (aflDistance[iParent] <= flDistance)
+                    {
+                    break;
+                    }
+                anNode[i]      = anNode[iParent];
+                aflDistance[i] = aflDistance[iParent];
+                i = iParent;
+                }
+            anNode[i]      = nNode;
+            aflDistance[i] = flDistance;
+            }
+
+        /**
+         * Remove the closest candidate from the queue.
+         *
+         * @return the closest candidate node
+         */
+        int pop()
+            {
+            int[]   anNode      = m_anNode;
+            float[] aflDistance = m_aflDistance;
+            int     nResult     = anNode[0];
+            int     cSize       = --m_cSize;
+            int     nLast       = anNode[cSize];
+            float   flLast      = aflDistance[cSize];
+            int     i           = 0;
+            int     iHalf       = cSize >>> 1;
+
+            while (i < iHalf)
+                {
+                int iChild = (i << 1) + 1;
+                int iRight = iChild + 1;
+                if (iRight < cSize && aflDistance[iRight] < aflDistance[iChild])
+                    {
+                    iChild = iRight;
+                    }
+                if (flLast <= aflDistance[iChild])
+                    {
+                    break;
+                    }
+                anNode[i]      = anNode[iChild];
+                aflDistance[i] = aflDistance[iChild];
+                i = iChild;
+                }
+            anNode[i]      = nLast;
+            aflDistance[i] = flLast;
+
+            return nResult;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The candidate nodes, in heap order.
+         */
+        private int[] m_anNode = new int[64];
+
+        /**
+         * The candidate distances, in heap order.
+         */
+        private float[] m_aflDistance = new float[64];
+
+        /**
+         * The number of candidates in the queue.
+         */
+        private int m_cSize;
+        }
+
+    // ----- inner class: Scratch -------------------------------------------
+
+    /**
+     * The per-thread scratch space used by graph searches, which allows
+     * searches to avoid allocating per visited node.
+     */
+    private static class Scratch
+        {
+        /**
+         * Return the scratch space of the calling thread.
+         *
+         * @param cMaxLinks  the maximum number of neighbors of a node
+         *
+         * @return the scratch space of the calling thread
+         */
+        static Scratch get(int cMaxLinks)
+            {
+            Scratch scratch = THREAD_SCRATCH.get();
+            if (scratch.m_anLinks.length < cMaxLinks)
+                {
+                scratch.m_anLinks = new int[cMaxLinks];
+                }
+            return scratch;
+            }
+
+        /**
+         * Start a new traversal, which invalidates all the visit marks
+         * of the previous traversals.
+         *
+         * @param cNodes  the number of nodes that may be visited
+         *
+         * @return the visit marks array
+         */
+        int[] startVisit(int cNodes)
+            {
+            if (++m_nVisit == 0)
+                {
+                // the visit counter wrapped around
+                Arrays.fill(m_anVisited, 0);
+                m_nVisit = 1;
+                }
+            return cNodes > m_anVisited.length ? growVisited(cNodes) : m_anVisited;
+            }
+
+        /**
+         * Grow the visit marks array to accommodate the specified number of nodes.
+         *
+         * @param cNodes  the number of nodes that may be visited
+         *
+         * @return the visit marks array
+         */
+        int[] growVisited(int cNodes)
+            {
+            return m_anVisited = Arrays.copyOf(m_anVisited, Math.max(cNodes, m_anVisited.length + (m_anVisited.length >> 1)));
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The visit mark of each node; a node has been visited by the current
+         * traversal if its mark is equal to {@link #m_nVisit}.
+         */
+        private int[] m_anVisited = new int[SLAB_SIZE];
+
+        /**
+         * The mark of the current traversal.
+         */
+        private int m_nVisit;
+
+        /**
+         * The buffer the neighbor lists are copied into.
+         */
+        private int[] m_anLinks = new int[0];
+
+        /**
+         * The queue of candidates to visit.
+         */
+        private final CandidateQueue m_candidates = new CandidateQueue();
+
+        /**
+         * The scratch space of each thread.
+         */
+        private static final ThreadLocal<Scratch> THREAD_SCRATCH = ThreadLocal.withInitial(Scratch::new);
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The base 2 logarithm of the number of nodes stored in each slab.
+     */
+    protected static final int SLAB_SHIFT = 10;
+
+    /**
+     * The number of nodes stored in each slab.
+     */
+    protected static final int SLAB_SIZE = 1 << SLAB_SHIFT;
+
+    /**
+     * The mask used to calculate the index of a node within a slab.
+     */
+    protected static final int SLAB_MASK = SLAB_SIZE - 1;
+
+    /**
+     * The number of monitors guarding the neighbor lists; must be a power of two.
+     */
+    protected static final int STRIPES = 256;
+
+    /**
+     * The maximum level of a node.
+     */
+    protected static final int MAX_LEVEL = 31;
+
+    /**
+     * The encoded entry point of an empty graph.
+     */
+    private static final long NO_ENTRY = entry(-1, -1);
+
+    /**
+     * An empty result.
+     */
+    private static final int[] EMPTY = new int[0];
+
+    /**
+     * The estimated size of the graph itself, excluding the slabs.
+     */
+    private static final long SHALLOW_SIZE = calculateShallowSize(HnswGraph.class)
+                                             + (long) STRIPES * (SIZE_OBJECT_REF + SIZE_BASIC_OBJECT);
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The number of dimensions in the vectors.
+     */
+    private final int f_nDimension;
+
+    /**
+     * The space that determines the distance function.
+     */
+    private final DistanceSpace f_space;
+
+    /**
+     * The number of neighbors per node on the upper layers.
+     */
+    private final int f_nM;
+
+    /**
+     * The number of neighbors per node on layer zero.
+     */
+    private final int f_nM0;
+
+    /**
+     * The size of the dynamic candidate list used while adding nodes.
+     */
+    private final int f_nEfConstruction;
+
+    /**
+     * The level generation multiplier.
+     */
+    private final double f_dLevelMult;
+
+    /**
+     * The random number generator used to generate node levels.
+     */
+    private final Random f_random;
+
+    /**
+     * The estimated number of bytes in a set of slabs.
+     */
+    private final long f_cbSlab;
+
+    /**
+     * The number of allocated node ids.
+     */
+    private final AtomicInteger f_cNodes = new AtomicInteger();
+
+    /**
+     * The number of nodes that have not been removed.
+     */
+    private final AtomicInteger f_cLive = new AtomicInteger();
+
+    /**
+     * The number of nodes that have been removed.
+     */
+    private final AtomicInteger f_cDeleted = new AtomicInteger();
+
+    /**
+     * The estimated number of bytes used by the upper layer neighbor lists.
+     */
+    private final AtomicLong f_cbUpper = new AtomicLong();
+
+    /**
+     * The monitors guarding the neighbor lists.
+     */
+    private final Object[] f_aoStripes = createStripes();
+
+    /**
+     * The monitor guarding changes to the entry point.
+     */
+    private final Object f_oEntry = new Object();
+
+    /**
+     * The monitor guarding slab allocation.
+     */
+    private final Object f_oGrow = new Object();
+
+    /**
+     * The entry point node and the top layer, encoded as a single value
+     * so that both can be read atomically.
+     */
+    private volatile long m_lEntry = NO_ENTRY;
+
+    /**
+     * The number of allocated slabs.
+     */
+    private volatile int m_cSlabs;
+
+    /**
+     * The vector slabs.
+     */
+    private volatile float[][] m_aaflVectors = new float[0][];
+
+    /**
+     * The layer zero neighbor list slabs; each node has a count followed
+     * by up to {@code 2 * M} neighbor ids.
+     */
+    private volatile int[][] m_aanLinks0 = new int[0][];
+
+    /**
+     * The upper layer neighbor list slabs; each node above layer zero has
+     * an array containing a count followed by up to {@code M} neighbor ids
+     * for each layer.
+     */
+    private volatile int[][][] m_aaanUpper = new int[0][][];
+
+    /**
+     * The node level slabs.
+     */
+    private volatile byte[][] m_aabLevels = new byte[0][];
+
+    /**
+     * The node label slabs; a {@code null} label indicates a removed node.
+     */
+    private volatile Object[][] m_aaoLabels = new Object[0][];
+
+    // ----- helpers for field initialization -------------------------------
+
+    /**
+     * Create the monitors guarding the neighbor lists.
+     *
+     * @return the monitors guarding the neighbor lists
+     */
+    private static Object[] createStripes()
+        {
+        Object[] ao = new Object[STRIPES];
+        for (int i = 0; i < ao.length; i++)
+            {
+            ao[i] = new Object();
+            }
+        return ao;
+        }
+    }
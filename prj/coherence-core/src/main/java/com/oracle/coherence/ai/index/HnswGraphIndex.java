@@ -0,0 +1,912 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.VectorIndexExtractor;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.io.AbstractEvolvable;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.NullImplementation;
+import com.tangosol.util.RestorableMapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.filter.AlwaysFilter;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import java.util.function.IntPredicate;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_ENTRY;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_INTEGER;
+
+/**
+ * A pure Java HNSW index implementation.
+ * <p/>
+ * This index provides the same functionality as the native {@code HnswIndex}
+ * in the {@code coherence-hnsw} module, but uses the {@link HnswGraph} Java
+ * implementation of the algorithm, so it does not require a native library.
+ * <p/>
+ * It supports indexing of any {@code Vector<float[]>} property, and uses
+ * cosine distance for similarity searches by default. Unlike the native index,
+ * the vectors are normalized by the index when using cosine distance, so
+ * neither the indexed nor the search vectors need to be normalized ahead of
+ * time.
+ * <p/>
+ * Index updates are performed concurrently: the graph neighbor lists are
+ * guarded by striped locks, rather than a single lock for the whole index.
+ * Removed and updated entries are marked as deleted in the graph, and the
+ * graph is rebuilt once the deleted nodes outnumber the live ones.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new HnswGraphIndex&lt;&gt;(ValueWithVector::getVector, DIMENSIONS)
+ *                  .setSpaceName("L2")
+ *                  .setEfConstruction(100)
+ *                  .setM(30);
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of entry keys
+ * @param <V>  the type of entry values
+ *
+ * @since 25.09
+ */
+public class HnswGraphIndex<K, V>
+        extends AbstractEvolvable
+        implements VectorIndexExtractor<V, float[]>, ExternalizableLite, EvolvablePortableObject
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Default constructor for serialization.
+     */
+    public HnswGraphIndex()
+        {
+        }
+
+    /**
+     * Create a {@link HnswGraphIndex} using the {@link #DEFAULT_SPACE_NAME default space name}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public HnswGraphIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        m_extractor  = ValueExtractor.of(Objects.requireNonNull(extractor));
+        m_nDimension = nDimension;
+        }
+
+    /**
+     * Create a {@link HnswGraphIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param sSpaceName  the index space name to use
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public HnswGraphIndex(ValueExtractor<V, Vector<float[]>> extractor, String sSpaceName, int nDimension)
+        {
+        this(extractor, nDimension);
+
+        m_sSpaceName = sSpaceName == null || sSpaceName.isBlank() ? DEFAULT_SPACE_NAME : sSpaceName;
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Return the index space name.
+     *
+     * @return the index space name
+     */
+    public String getSpaceName()
+        {
+        return m_sSpaceName;
+        }
+
+    /**
+     * Set the index space name, which must be one of {@code COSINE},
+     * {@code IP} or {@code L2}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link HnswGraphIndex} to allow fluent API calls
+     */
+    public HnswGraphIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        DistanceSpace.fromName(sSpaceName);
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Return the {@link ValueExtractor} to use to extract the float
+     * array {@link Vector} from the cache entry.
+     *
+     * @return the {@link ValueExtractor} to use to extract the float
+     *         array {@link Vector} from the cache entry.
+     */
+    public ValueExtractor<V, Vector<float[]>> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+     * Return the number of dimensions in the vectors the index contains.
+     *
+     * @return the number of dimensions in the vectors the index contains
+     */
+    public int getDimension()
+        {
+        return m_nDimension;
+        }
+
+    /**
+     * Return the number of bidirectional links created for every new element during construction.
+     *
+     * @return the number of bidirectional links created for every new element during construction
+     */
+    public int getM()
+        {
+        return m_nM;
+        }
+
+    /**
+     * Set the number of bidirectional links created for every new element during construction.
+     *
+     * @param nM  the number of bidirectional links created for every new element during construction
+     *
+     * @return this {@link HnswGraphIndex} to allow fluent API calls
+     */
+    public HnswGraphIndex<K, V> setM(int nM)
+        {
+        m_nM = nM;
+        return this;
+        }
+
+    /**
+     * Return the ef construction value.
+     * This is the parameter has the same meaning as ef, but controls the index_time/index_accuracy.
+     *
+     * @return the ef construction value
+     */
+    public int getEfConstr()
+        {
+        return m_nEfConstr;
+        }
+
+    /**
+     * Set the ef construction value.
+     * This is the parameter has the same meaning as ef, but controls the index_time/index_accuracy.
+     *
+     * @param nEfConstr  the ef construction value
+     *
+     * @return this {@link HnswGraphIndex} to allow fluent API calls
+     */
+    public HnswGraphIndex<K, V> setEfConstruction(int nEfConstr)
+        {
+        m_nEfConstr = nEfConstr;
+        return this;
+        }
+
+    /**
+     * Return the ef search value.
+     * This is the parameter controlling query time/accuracy trade-off.
+     *
+     * @return the ef search value
+     */
+    public int getEfSearch()
+        {
+        return m_nEfSearch;
+        }
+
+    /**
+     * Set the ef search value.
+     * This is the parameter controlling query time/accuracy trade-off.
+     *
+     * @param nEfSearch  the ef search value
+     *
+     * @return this {@link HnswGraphIndex} to allow fluent API calls
+     */
+    public HnswGraphIndex<K, V> setEfSearch(int nEfSearch)
+        {
+        m_nEfSearch = nEfSearch;
+        return this;
+        }
+
+    /**
+     * Return the random seed used by the index.
+     *
+     * @return the random seed used by the index
+     */
+    public int getRandomSeed()
+        {
+        return m_nRandomSeed;
+        }
+
+    /**
+     * Set the random seed the index should use.
+     *
+     * @param nRandomSeed  the random seed the index should use
+     *
+     * @return this {@link HnswGraphIndex} to allow fluent API calls
+     */
+    public HnswGraphIndex<K, V> setRandomSeed(int nRandomSeed)
+        {
+        m_nRandomSeed = nRandomSeed;
+        return this;
+        }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    @Override
+    public MapIndex<K, V, Vector<float[]>> createIndex(boolean fSorted, Comparator comparator, Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map, BackingMapContext backingMapContext)
+        {
+        HnswGraphMapIndex mapIndex = new HnswGraphMapIndex(backingMapContext);
+        map.put(m_extractor, mapIndex);
+        return mapIndex;
+        }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapIndex<K, V, Vector<float[]>> destroyIndex(Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map)
+        {
+        return map.remove(m_extractor);
+        }
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    @Override
+    public Vector<float[]> extract(V v)
+        {
+        return m_extractor.extract(v);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (o == null || getClass() != o.getClass())
+            {
+            return false;
+            }
+        HnswGraphIndex<?, ?> that = (HnswGraphIndex<?, ?>) o;
+        return Objects.equals(m_extractor, that.m_extractor);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(m_extractor);
+        }
+
+    @Override
+    public String toString()
+        {
+        return "HnswGraphIndex{" +
+               "extractor=" + m_extractor +
+               ", dimension=" + m_nDimension +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", M=" + m_nM +
+               ", efConstr=" + m_nEfConstr +
+               ", efSearch=" + m_nEfSearch +
+               ", randomSeed=" + m_nRandomSeed +
+               '}';
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return IMPL_VERSION;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_extractor   = in.readObject(0);
+        m_nDimension  = in.readInt(1);
+        m_sSpaceName  = in.readString(2);
+        m_nM          = in.readInt(3);
+        m_nEfConstr   = in.readInt(4);
+        m_nEfSearch   = in.readInt(5);
+        m_nRandomSeed = in.readInt(6);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeInt(1, m_nDimension);
+        out.writeString(2, m_sSpaceName);
+        out.writeInt(3, m_nM);
+        out.writeInt(4, m_nEfConstr);
+        out.writeInt(5, m_nEfSearch);
+        out.writeInt(6, m_nRandomSeed);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        m_extractor   = ExternalizableHelper.readObject(in);
+        m_nDimension  = ExternalizableHelper.readInt(in);
+        m_sSpaceName  = ExternalizableHelper.readSafeUTF(in);
+        m_nM          = ExternalizableHelper.readInt(in);
+        m_nEfConstr   = ExternalizableHelper.readInt(in);
+        m_nEfSearch   = ExternalizableHelper.readInt(in);
+        m_nRandomSeed = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        ExternalizableHelper.writeObject(out, m_extractor);
+        ExternalizableHelper.writeInt(out, m_nDimension);
+        ExternalizableHelper.writeUTF(out, m_sSpaceName);
+        ExternalizableHelper.writeInt(out, m_nM);
+        ExternalizableHelper.writeInt(out, m_nEfConstr);
+        ExternalizableHelper.writeInt(out, m_nEfSearch);
+        ExternalizableHelper.writeInt(out, m_nRandomSeed);
+        }
+
+    // ----- inner class: HnswGraphMapIndex ---------------------------------
+
+    /**
+     * The pure Java HNSW {@link MapIndex} and {@link VectorIndex} implementation.
+     * <p/>
+     * Inserts, updates, deletes and queries all share the read side of a
+     * {@link ReadWriteLock}, and only exclude each other at the level of the
+     * individual graph neighbor lists; the write side is only used to rebuild
+     * the graph once too many of its nodes have been deleted, or to replace
+     * it with a graph {@link RestorableMapIndex restored} from a snapshot.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public class HnswGraphMapIndex
+            implements VectorIndex<K, V, Vector<float[]>>, RestorableMapIndex<K, V, Vector<float[]>>
+        {
+        // ----- constructor ------------------------------------------------
+
+        /**
+         * Construct {@code HnswGraphMapIndex} instance.
+         *
+         * @param backingMapContext  the backing map context to use
+         */
+        public HnswGraphMapIndex(BackingMapContext backingMapContext)
+            {
+            f_backingMapContext = backingMapContext;
+            f_space             = DistanceSpace.fromName(m_sSpaceName);
+            m_graph             = createGraph();
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return the number of dimensions in the vectors.
+         *
+         * @return the number of dimensions in the vectors
+         */
+        public int getDimensions()
+            {
+            return m_nDimension;
+            }
+
+        /**
+         * Return the underlying {@link HnswGraph}.
+         *
+         * @return the underlying {@link HnswGraph}
+         */
+        public HnswGraph getGraph()
+            {
+            return m_graph;
+            }
+
+        // ----- MapIndex interface -----------------------------------------
+
+        @Override
+        public ValueExtractor<V, Vector<float[]>> getValueExtractor()
+            {
+            return m_extractor;
+            }
+
+        @Override
+        public boolean isOrdered()
+            {
+            return false;
+            }
+
+        @Override
+        public boolean isPartial()
+            {
+            return false;
+            }
+
+        @Override
+        public Map<Vector<float[]>, Set<K>> getIndexContents()
+            {
+            return NullImplementation.getMap();
+            }
+
+        @Override
+        public Object get(K k)
+            {
+            Integer nNode = f_mapNodes.get(k);
+            return nNode == null ? null : m_graph.getVector(nNode);
+            }
+
+        @Override
+        public Comparator<Vector<float[]>> getComparator()
+            {
+            return null;
+            }
+
+        @Override
+        public long getUnits()
+            {
+            return m_graph.getUnits() + f_cKeyUnits.get();
+            }
+
+        @Override
+        public void insert(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                }
+            }
+
+        @Override
+        public void update(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                compactIfNecessary();
+                }
+            else
+                {
+                delete(entry);
+                }
+            }
+
+        @Override
+        public void delete(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Object oKey = keyOf(entry);
+
+            f_lock.readLock().lock();
+            try
+                {
+                Integer nNode = f_mapNodes.remove(oKey);
+                if (nNode != null)
+                    {
+                    m_graph.remove(nNode);
+                    f_cKeyUnits.addAndGet(-(ENTRY_OVERHEAD + CALC.sizeOf(oKey)));
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+
+            compactIfNecessary();
+            }
+
+        // ----- VectorIndex interface --------------------------------------
+
+        @Override
+        public BinaryQueryResult[] query(Vector<float[]> vector, int k, Filter<?> filter)
+            {
+            float[] aflQuery = prepare(Objects.requireNonNull(vector).get());
+
+            f_lock.readLock().lock();
+            try
+                {
+                HnswGraph    graph       = m_graph;
+                float[]      aflDistance = new float[Math.max(k, 0)];
+                IntPredicate predicate   = null;
+
+                if (filter != null && !(filter instanceof AlwaysFilter<?>))
+                    {
+                    predicate = n ->
+                        {
+                        Object             oKey  = graph.getLabel(n);
+                        InvocableMap.Entry entry = oKey == null ? null : f_backingMapContext.getReadOnlyEntry(oKey);
+                        return entry != null && InvocableMapHelper.evaluateEntry(filter, entry);
+                        };
+                    }
+
+                int[] anNodes = graph.search(aflQuery, k, m_nEfSearch, predicate, aflDistance);
+                if (anNodes.length == 0)
+                    {
+                    return EMPTY_RESULT;
+                    }
+
+                BinaryQueryResult[] aResults = new BinaryQueryResult[anNodes.length];
+                int                 cResults = 0;
+                for (int i = 0; i < anNodes.length; i++)
+                    {
+                    Binary binKey = (Binary) graph.getLabel(anNodes[i]);
+                    if (binKey != null)
+                        {
+                        Binary binValue = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry().getBinaryValue();
+                        aResults[cResults++] = new BinaryQueryResult(aflDistance[i], binKey, binValue);
+                        }
+                    }
+
+                return cResults == aResults.length ? aResults : Arrays.copyOf(aResults, cResults);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        // ----- RestorableMapIndex interface -------------------------------
+
+        @Override
+        public void writeSnapshot(WriteBuffer.BufferOutput out) throws IOException
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                m_graph.writeTo(out);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public boolean readSnapshot(ReadBuffer.BufferInput in, Set<? extends K> setKeys) throws IOException
+            {
+            HnswGraph graph = HnswGraph.readFrom(in, m_nRandomSeed);
+            if (graph.getDimension() != m_nDimension || graph.getSpace() != f_space || graph.getM() != m_nM)
+                {
+                return false;
+                }
+
+            Map<Object, Integer> mapNodes = new HashMap<>();
+            long                 cbKeys   = 0L;
+            for (int nNode = 0, cNodes = graph.getNodeCount(); nNode < cNodes; nNode++)
+                {
+                Object oKey = graph.getLabel(nNode);
+                if (oKey != null)
+                    {
+                    if (setKeys.contains(oKey) && mapNodes.putIfAbsent(oKey, nNode) == null)
+                        {
+                        cbKeys += ENTRY_OVERHEAD + CALC.sizeOf(oKey);
+                        }
+                    else
+                        {
+                        graph.remove(nNode);
+                        }
+                    }
+                }
+
+            f_lock.writeLock().lock();
+            try
+                {
+                f_mapNodes.clear();
+                f_mapNodes.putAll(mapNodes);
+                f_cKeyUnits.set(cbKeys);
+                m_graph = graph;
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+
+            compactIfNecessary();
+            return true;
+            }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+         * Add the vector for the specified key to the graph, replacing the
+         * existing vector for the key, if any.
+         *
+         * @param oKey    the key
+         * @param vector  the vector
+         */
+        private void put(Object oKey, Vector<float[]> vector)
+            {
+            float[] aflVector = prepare(vector.get());
+
+            f_lock.readLock().lock();
+            try
+                {
+                HnswGraph graph    = m_graph;
+                Integer   nCurrent = f_mapNodes.get(oKey);
+                if (nCurrent != null && graph.isVector(nCurrent, aflVector))
+                    {
+                    // the vector has not changed, which is always the case
+                    // for the entries of a restored graph
+                    return;
+                    }
+
+                int       nNode    = graph.add(aflVector, oKey);
+                Integer   nOldNode = f_mapNodes.put(oKey, nNode);
+                if (nOldNode == null)
+                    {
+                    f_cKeyUnits.addAndGet(ENTRY_OVERHEAD + CALC.sizeOf(oKey));
+                    }
+                else
+                    {
+                    graph.remove(nOldNode);
+                    }
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        /**
+         * Rebuild the graph if the deleted nodes outnumber the live ones.
+         */
+        private void compactIfNecessary()
+            {
+            if (!isCompactionRequired(m_graph))
+                {
+                return;
+                }
+
+            f_lock.writeLock().lock();
+            try
+                {
+                HnswGraph graphOld = m_graph;
+                if (isCompactionRequired(graphOld))
+                    {
+                    HnswGraph graphNew = createGraph();
+                    for (int nNode = 0, cNodes = graphOld.getNodeCount(); nNode < cNodes; nNode++)
+                        {
+                        Object oKey = graphOld.getLabel(nNode);
+                        if (oKey != null)
+                            {
+                            f_mapNodes.put(oKey, graphNew.add(graphOld.getVector(nNode), oKey));
+                            }
+                        }
+                    m_graph = graphNew;
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Return {@code true} if the specified graph should be rebuilt.
+         *
+         * @param graph  the graph
+         *
+         * @return {@code true} if the graph should be rebuilt
+         */
+        private boolean isCompactionRequired(HnswGraph graph)
+            {
+            int cDeleted = graph.getDeletedCount();
+            return cDeleted >= COMPACTION_THRESHOLD && cDeleted > graph.size();
+            }
+
+        /**
+         * Create an empty graph using the index configuration.
+         *
+         * @return an empty graph
+         */
+        private HnswGraph createGraph()
+            {
+            return new HnswGraph(m_nDimension, f_space, m_nM, m_nEfConstr, m_nRandomSeed);
+            }
+
+        /**
+         * Return a copy of the specified vector, normalized if the index uses
+         * cosine distance.
+         *
+         * @param aflVector  the vector
+         *
+         * @return the vector to add to or search the graph with
+         */
+        private float[] prepare(float[] aflVector)
+            {
+            return f_space.isNormalized()
+                   ? Vectors.normalize(aflVector.clone())
+                   : aflVector;
+            }
+
+        /**
+         * Return the key of the specified entry.
+         *
+         * @param entry  the entry
+         *
+         * @return the binary key of the entry if it is a {@link BinaryEntry},
+         *         or the key otherwise
+         */
+        private Object keyOf(Map.Entry<? extends K, ? extends V> entry)
+            {
+            return entry instanceof BinaryEntry
+                   ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
+                   : entry.getKey();
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * UnitCalculator used to estimate the cost of a key.
+         */
+        protected final SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
+
+        /**
+         * The memory cost of a key to node map entry.
+         */
+        protected static final int ENTRY_OVERHEAD = SIZE_ENTRY + SIZE_INTEGER;
+
+        /**
+         * The minimum number of deleted nodes before the graph is rebuilt.
+         */
+        protected static final int COMPACTION_THRESHOLD = 1024;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The cache {@link BackingMapContext}.
+         */
+        private final BackingMapContext f_backingMapContext;
+
+        /**
+         * The space that determines the distance function.
+         */
+        private final DistanceSpace f_space;
+
+        /**
+         * The map of cache keys to graph nodes.
+         */
+        private final Map<Object, Integer> f_mapNodes = new ConcurrentHashMap<>();
+
+        /**
+         * The estimated number of bytes used by the key to node map.
+         */
+        private final AtomicLong f_cKeyUnits = new AtomicLong();
+
+        /**
+         * The lock that prevents graph mutations and queries while the graph
+         * is being rebuilt.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The graph.
+         */
+        private volatile HnswGraph m_graph;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int IMPL_VERSION = 0;
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULT = new BinaryQueryResult[0];
+
+    /**
+     * The default space name.
+     */
+    public static final String DEFAULT_SPACE_NAME = "COSINE";
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link ValueExtractor} to use to extract the vector from the cache entry.
+     */
+    @JsonbProperty("extractor")
+    private ValueExtractor<V, Vector<float[]>> m_extractor;
+
+    /**
+     * The number of dimensions in the vector.
+     */
+    @JsonbProperty("dimension")
+    private int m_nDimension;
+
+    /**
+     * The index space name.
+     */
+    @JsonbProperty("spaceName")
+    private String m_sSpaceName = DEFAULT_SPACE_NAME;
+
+    /**
+     * The number of bidirectional links created for every new element during
+     * construction. Elements have up to twice as many links on the bottom layer.
+     * <p/>
+     * The default value is 16.
+     */
+    @JsonbProperty("m")
+    private int m_nM = 16;
+
+    /**
+     * The size of the dynamic candidate list used while adding elements, which
+     * controls the trade-off between index construction time and accuracy.
+     * <p/>
+     * The default value is 200.
+     */
+    @JsonbProperty("efConstruction")
+    private int m_nEfConstr = 200;
+
+    /**
+     * The size of the dynamic candidate list used while searching, which
+     * controls the trade-off between query time and accuracy.
+     * <p/>
+     * The default value is 50.
+     */
+    @JsonbProperty("efSearch")
+    private int m_nEfSearch = 50;
+
+    /**
+     * The random seed used to generate element levels.
+     * <p/>
+     * The default value is 100.
+     */
+    @JsonbProperty("randomSeed")
+    private int m_nRandomSeed = 100;
+    }
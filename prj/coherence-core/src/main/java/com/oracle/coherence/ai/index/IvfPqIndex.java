@@ -0,0 +1,1307 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.VectorIndexExtractor;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.util.KMeans;
+import com.oracle.coherence.ai.util.TopKHeap;
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.io.AbstractEvolvable;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.NullImplementation;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.filter.AlwaysFilter;
+
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_BASIC_OBJECT;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * An {@link VectorIndexExtractor} to create a {@link VectorIndex} using an
+ * inverted file with product quantization (IVF-PQ).
+ * <p/>
+ * The vectors in each partition are clustered around a number of coarse
+ * centroids (the inverted lists), and the difference between each vector and
+ * its centroid is encoded using product quantization: the vector is split into
+ * a number of sub-spaces, and each sub-space is replaced by the one byte index
+ * of the nearest of 256 codewords trained for that sub-space. The index
+ * therefore stores a single byte per sub-space, rather than four bytes per
+ * dimension, which reduces the memory used by the index by an order of
+ * magnitude or more compared to storing the vectors themselves.
+ * <p/>
+ * A query only scans the inverted lists whose centroids are nearest to the
+ * query vector, using precomputed lookup tables to calculate approximate
+ * distances, and then rescores the best candidates using the original vectors
+ * stored in the cache entries, so the returned distances are exact.
+ * <p/>
+ * The centroids and codebooks are trained independently for each partition,
+ * once the partition contains {@link #setTrainingSize(int) enough} vectors.
+ * Until then, the vectors are kept as they are and searched exhaustively.
+ * The trained centroids and codebooks are not updated when the data changes
+ * afterwards, so the index works best when the vectors added after training
+ * have a similar distribution to the training vectors.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new IvfPqIndex&lt;&gt;(ValueWithVector::getVector, DIMENSIONS)
+ *                  .setLists(128)
+ *                  .setProbes(16);
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of the cache key
+ * @param <V>  the type of the cache value
+ *
+ * @since 25.09
+ */
+public class IvfPqIndex<K, V>
+        extends AbstractEvolvable
+        implements VectorIndexExtractor<V, float[]>, ExternalizableLite, EvolvablePortableObject
+    {
+    /**
+     * Default constructor for serialization.
+     */
+    public IvfPqIndex()
+        {
+        }
+
+    /**
+     * Create an {@link IvfPqIndex}.
+     *
+     * @param extractor   the {@link ValueExtractor} to use to extract the float
+     *                    array {@link Vector} from the cache entry
+     * @param nDimension  the number of dimensions in the vector
+     */
+    public IvfPqIndex(ValueExtractor<V, Vector<float[]>> extractor, int nDimension)
+        {
+        m_extractor  = ValueExtractor.of(Objects.requireNonNull(extractor));
+        m_nDimension = nDimension;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the {@link ValueExtractor} to use to extract the float
+     * array {@link Vector} from the cache entry.
+     *
+     * @return the {@link ValueExtractor} to use to extract the vector
+     */
+    public ValueExtractor<V, Vector<float[]>> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+     * Return the number of dimensions in the vectors the index contains.
+     *
+     * @return the number of dimensions in the vectors the index contains
+     */
+    public int getDimension()
+        {
+        return m_nDimension;
+        }
+
+    /**
+     * Return the index space name.
+     *
+     * @return the index space name
+     */
+    public String getSpaceName()
+        {
+        return m_sSpaceName;
+        }
+
+    /**
+     * Set the index space name, which must be one of {@code COSINE},
+     * {@code IP} or {@code L2}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        DistanceSpace.fromName(sSpaceName);
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Return the number of inverted lists (coarse centroids) in each partition.
+     *
+     * @return the number of inverted lists in each partition
+     */
+    public int getLists()
+        {
+        return m_cLists;
+        }
+
+    /**
+     * Set the number of inverted lists (coarse centroids) in each partition.
+     *
+     * @param cLists  the number of inverted lists in each partition
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setLists(int cLists)
+        {
+        m_cLists = cLists;
+        return this;
+        }
+
+    /**
+     * Return the number of product quantization sub-spaces, which is also the
+     * number of bytes used to encode each vector, or zero to use one sub-space
+     * for every eight dimensions.
+     *
+     * @return the number of product quantization sub-spaces
+     */
+    public int getSubspaces()
+        {
+        return m_cSubspaces;
+        }
+
+    /**
+     * Set the number of product quantization sub-spaces, which is also the
+     * number of bytes used to encode each vector.
+     *
+     * @param cSubspaces  the number of product quantization sub-spaces, or
+     *                    zero to use one sub-space for every eight dimensions
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setSubspaces(int cSubspaces)
+        {
+        m_cSubspaces = cSubspaces;
+        return this;
+        }
+
+    /**
+     * Return the number of inverted lists scanned by each query.
+     *
+     * @return the number of inverted lists scanned by each query
+     */
+    public int getProbes()
+        {
+        return m_cProbes;
+        }
+
+    /**
+     * Set the number of inverted lists scanned by each query, which controls
+     * the trade-off between query time and accuracy.
+     *
+     * @param cProbes  the number of inverted lists scanned by each query
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setProbes(int cProbes)
+        {
+        m_cProbes = cProbes;
+        return this;
+        }
+
+    /**
+     * Return the oversampling factor, which determines how many candidates
+     * per requested result are rescored using the original vectors.
+     *
+     * @return the oversampling factor
+     */
+    public int getOversamplingFactor()
+        {
+        return m_nOversamplingFactor;
+        }
+
+    /**
+     * Set the oversampling factor, which determines how many candidates
+     * per requested result are rescored using the original vectors.
+     *
+     * @param nOversamplingFactor  the oversampling factor
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setOversamplingFactor(int nOversamplingFactor)
+        {
+        m_nOversamplingFactor = nOversamplingFactor;
+        return this;
+        }
+
+    /**
+     * Return the number of vectors a partition must contain before the
+     * centroids and codebooks are trained.
+     *
+     * @return the number of vectors required for training
+     */
+    public int getTrainingSize()
+        {
+        return m_cTrainingSize;
+        }
+
+    /**
+     * Set the number of vectors a partition must contain before the
+     * centroids and codebooks are trained.
+     *
+     * @param cTrainingSize  the number of vectors required for training
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setTrainingSize(int cTrainingSize)
+        {
+        m_cTrainingSize = cTrainingSize;
+        return this;
+        }
+
+    /**
+     * Return the random seed used for training.
+     *
+     * @return the random seed used for training
+     */
+    public int getRandomSeed()
+        {
+        return m_nRandomSeed;
+        }
+
+    /**
+     * Set the random seed used for training.
+     *
+     * @param nRandomSeed  the random seed used for training
+     *
+     * @return this {@link IvfPqIndex} to allow fluent API calls
+     */
+    public IvfPqIndex<K, V> setRandomSeed(int nRandomSeed)
+        {
+        m_nRandomSeed = nRandomSeed;
+        return this;
+        }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    @Override
+    public MapIndex<K, V, Vector<float[]>> createIndex(boolean fSorted, Comparator comparator, Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map, BackingMapContext backingMapContext)
+        {
+        IvfPqMapIndex mapIndex = new IvfPqMapIndex(backingMapContext);
+        map.put(m_extractor, mapIndex);
+        return mapIndex;
+        }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapIndex<K, V, Vector<float[]>> destroyIndex(Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map)
+        {
+        return map.remove(m_extractor);
+        }
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    @Override
+    public Vector<float[]> extract(V v)
+        {
+        return m_extractor.extract(v);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (o == null || getClass() != o.getClass())
+            {
+            return false;
+            }
+        IvfPqIndex<?, ?> that = (IvfPqIndex<?, ?>) o;
+        return Objects.equals(m_extractor, that.m_extractor);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(m_extractor);
+        }
+
+    @Override
+    public String toString()
+        {
+        return "IvfPqIndex{" +
+               "extractor=" + m_extractor +
+               ", dimension=" + m_nDimension +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", lists=" + m_cLists +
+               ", subspaces=" + m_cSubspaces +
+               ", probes=" + m_cProbes +
+               ", oversamplingFactor=" + m_nOversamplingFactor +
+               ", trainingSize=" + m_cTrainingSize +
+               ", randomSeed=" + m_nRandomSeed +
+               '}';
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return POF_IMPL_VERSION;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_extractor           = in.readObject(0);
+        m_nDimension          = in.readInt(1);
+        m_sSpaceName          = in.readString(2);
+        m_cLists              = in.readInt(3);
+        m_cSubspaces          = in.readInt(4);
+        m_cProbes             = in.readInt(5);
+        m_nOversamplingFactor = in.readInt(6);
+        m_cTrainingSize       = in.readInt(7);
+        m_nRandomSeed         = in.readInt(8);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeInt(1, m_nDimension);
+        out.writeString(2, m_sSpaceName);
+        out.writeInt(3, m_cLists);
+        out.writeInt(4, m_cSubspaces);
+        out.writeInt(5, m_cProbes);
+        out.writeInt(6, m_nOversamplingFactor);
+        out.writeInt(7, m_cTrainingSize);
+        out.writeInt(8, m_nRandomSeed);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        m_extractor           = ExternalizableHelper.readObject(in);
+        m_nDimension          = ExternalizableHelper.readInt(in);
+        m_sSpaceName          = ExternalizableHelper.readSafeUTF(in);
+        m_cLists              = ExternalizableHelper.readInt(in);
+        m_cSubspaces          = ExternalizableHelper.readInt(in);
+        m_cProbes             = ExternalizableHelper.readInt(in);
+        m_nOversamplingFactor = ExternalizableHelper.readInt(in);
+        m_cTrainingSize       = ExternalizableHelper.readInt(in);
+        m_nRandomSeed         = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        ExternalizableHelper.writeObject(out, m_extractor);
+        ExternalizableHelper.writeInt(out, m_nDimension);
+        ExternalizableHelper.writeUTF(out, m_sSpaceName);
+        ExternalizableHelper.writeInt(out, m_cLists);
+        ExternalizableHelper.writeInt(out, m_cSubspaces);
+        ExternalizableHelper.writeInt(out, m_cProbes);
+        ExternalizableHelper.writeInt(out, m_nOversamplingFactor);
+        ExternalizableHelper.writeInt(out, m_cTrainingSize);
+        ExternalizableHelper.writeInt(out, m_nRandomSeed);
+        }
+
+    // ----- inner class: IvfPqMapIndex -------------------------------------
+
+    /**
+     * An IVF-PQ {@link VectorIndex}.
+     * <p/>
+     * Each inverted list stores the product quantization codes of its vectors
+     * packed into a single {@code byte[]}, together with a parallel array of
+     * keys. Removing a vector moves the last vector of the list into its
+     * place, so the lists never contain gaps.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public class IvfPqMapIndex
+            implements VectorIndex<K, V, Vector<float[]>>
+        {
+        /**
+         * Create an {@link IvfPqMapIndex}.
+         *
+         * @param ctx  the cache {@link BackingMapContext}
+         */
+        private IvfPqMapIndex(BackingMapContext ctx)
+            {
+            int cDim       = m_nDimension;
+            int cSubspaces = m_cSubspaces > 0 ? m_cSubspaces : Math.max(1, cDim >> 3);
+
+            if (cDim <= 0)
+                {
+                throw new IllegalArgumentException("The number of dimensions must be positive: " + cDim);
+                }
+
+            f_backingMapContext = ctx;
+            f_space             = DistanceSpace.fromName(m_sSpaceName);
+            f_cSubspaces        = Math.min(cSubspaces, cDim);
+            f_anSubspaceOffset  = new int[f_cSubspaces + 1];
+            for (int s = 0; s <= f_cSubspaces; s++)
+                {
+                f_anSubspaceOffset[s] = s * cDim / f_cSubspaces;
+                }
+            f_mapLocations.defaultReturnValue(-1L);
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return {@code true} if the centroids and codebooks have been trained.
+         *
+         * @return {@code true} if the centroids and codebooks have been trained
+         */
+        public boolean isTrained()
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                return m_mapPending == null;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        // ----- MapIndex interface -----------------------------------------
+
+        @Override
+        public ValueExtractor<V, Vector<float[]>> getValueExtractor()
+            {
+            return m_extractor;
+            }
+
+        @Override
+        public boolean isOrdered()
+            {
+            return false;
+            }
+
+        @Override
+        public boolean isPartial()
+            {
+            return false;
+            }
+
+        @Override
+        public Map<Vector<float[]>, Set<K>> getIndexContents()
+            {
+            return NullImplementation.getMap();
+            }
+
+        @Override
+        public Object get(K k)
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                if (m_mapPending != null)
+                    {
+                    return m_mapPending.get(k);
+                    }
+                long lLocation = f_mapLocations.getLong(k);
+                if (lLocation < 0)
+                    {
+                    return null;
+                    }
+                int cSubspaces = f_cSubspaces;
+                int of         = position(lLocation) * cSubspaces;
+                return Arrays.copyOfRange(m_aabCodes[list(lLocation)], of, of + cSubspaces);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public Comparator<Vector<float[]>> getComparator()
+            {
+            return null;
+            }
+
+        @Override
+        public long getUnits()
+            {
+            return m_cUnits.get();
+            }
+
+        @Override
+        public void insert(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                }
+            }
+
+        @Override
+        public void update(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                }
+            else
+                {
+                delete(entry);
+                }
+            }
+
+        @Override
+        public void delete(Map.Entry<? extends K, ? extends V> entry)
+            {
+            f_lock.writeLock().lock();
+            try
+                {
+                remove(keyOf(entry));
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- VectorIndex interface --------------------------------------
+
+        @Override
+        public BinaryQueryResult[] query(Vector<float[]> vector, int k, Filter<?> filter)
+            {
+            float[] aflQuery = prepare(Objects.requireNonNull(vector).get());
+            if (filter instanceof AlwaysFilter<?>)
+                {
+                filter = null;
+                }
+
+            f_lock.readLock().lock();
+            try
+                {
+                if (k <= 0 || (m_mapPending == null ? f_mapLocations.isEmpty() : m_mapPending.isEmpty()))
+                    {
+                    return EMPTY_RESULTS;
+                    }
+
+                return m_mapPending == null
+                       ? queryLists(aflQuery, k, filter)
+                       : queryPending(aflQuery, k, filter);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+         * Perform an exhaustive search of the vectors added before training.
+         * <p/>
+         * Must be called while holding the read lock.
+         *
+         * @param aflQuery  the prepared query vector
+         * @param k         the maximum number of results
+         * @param filter    the optional filter
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] queryPending(float[] aflQuery, int k, Filter<?> filter)
+            {
+            Map<Object, float[]> mapPending = m_mapPending;
+            Object[]             aoKeys     = new Object[mapPending.size()];
+            TopKHeap             heap       = new TopKHeap(Math.min(k, aoKeys.length));
+            int                  i          = 0;
+
+            for (Map.Entry<Object, float[]> entry : mapPending.entrySet())
+                {
+                Object oKey = aoKeys[i] = entry.getKey();
+                float  fl   = f_space.distance(aflQuery, entry.getValue());
+                if (heap.accepts(fl) && accept(filter, oKey))
+                    {
+                    heap.offer(i, fl);
+                    }
+                i++;
+                }
+
+            float[] aflDistance = new float[heap.size()];
+            int[]   an          = heap.drainSorted(aflDistance);
+            Object[] aoResult   = new Object[an.length];
+            for (int j = 0; j < an.length; j++)
+                {
+                aoResult[j] = aoKeys[an[j]];
+                }
+            return toResults(aoResult, aflDistance, aoResult.length);
+            }
+
+        /**
+         * Search the inverted lists nearest to the query vector using the
+         * product quantization codes, and rescore the best candidates using
+         * the vectors stored in the cache.
+         * <p/>
+         * Must be called while holding the read lock.
+         *
+         * @param aflQuery  the prepared query vector
+         * @param k         the maximum number of results
+         * @param filter    the optional filter
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] queryLists(float[] aflQuery, int k, Filter<?> filter)
+            {
+            int     cDim       = m_nDimension;
+            int     cLists     = m_aflCoarse.length / cDim;
+            int     cSubspaces = f_cSubspaces;
+            boolean fIP        = f_space == DistanceSpace.IP;
+
+            // find the nearest inverted lists
+            TopKHeap heapLists = new TopKHeap(Math.min(Math.max(m_cProbes, 1), cLists));
+            for (int nList = 0; nList < cLists; nList++)
+                {
+                heapLists.offer(nList, fIP
+                        ? -(float) Vectors.dotProduct(aflQuery, 0, m_aflCoarse, nList * cDim, cDim)
+                        : (float) Vectors.l2squared(aflQuery, 0, m_aflCoarse, nList * cDim, cDim));
+                }
+            int[] anProbes = heapLists.drainSorted(null);
+
+            // scan the lists using the precomputed distance tables
+            float[]  aflTable     = new float[cSubspaces * CODEWORDS];
+            float[]  aflResidual  = new float[cDim];
+            int[]    anListBase   = new int[anProbes.length + 1];
+            TopKHeap heap         = new TopKHeap(Math.min(k * Math.max(m_nOversamplingFactor, 1), f_mapLocations.size()));
+
+            if (fIP)
+                {
+                computeTable(aflQuery, aflTable);
+                }
+
+            for (int p = 0; p < anProbes.length; p++)
+                {
+                int      nList  = anProbes[p];
+                int      cSize  = m_acListSize[nList];
+                byte[]   abCode = m_aabCodes[nList];
+                Object[] aoKeys = m_aaoKeys[nList];
+                float    flBase = 0.0f;
+
+                if (fIP)
+                    {
+                    flBase = 1.0f - (float) Vectors.dotProduct(aflQuery, 0, m_aflCoarse, nList * cDim, cDim);
+                    }
+                else
+                    {
+                    for (int d = 0, of = nList * cDim; d < cDim; d++)
+                        {
+                        aflResidual[d] = aflQuery[d] - m_aflCoarse[of + d];
+                        }
+                    computeTable(aflResidual, aflTable);
+                    }
+
+                int nBase = anListBase[p];
+                for (int i = 0, of = 0; i < cSize; i++, of += cSubspaces)
+                    {
+                    float fl = flBase;
+                    for (int s = 0, ofTable = 0; s < cSubspaces; s++, ofTable += CODEWORDS)
+                        {
+                        // for the inner product the table contains negated partial dot products
+                        fl += aflTable[ofTable + (abCode[of + s] & 0xFF)];
+                        }
+
+                    if (heap.accepts(fl) && accept(filter, aoKeys[i]))
+                        {
+                        heap.offer(nBase + i, fl);
+                        }
+                    }
+                anListBase[p + 1] = nBase + cSize;
+                }
+
+            // rescore the candidates using the original vectors
+            int[]    anCandidates = heap.drainSorted(null);
+            Object[] aoCandidates = new Object[anCandidates.length];
+            TopKHeap heapExact    = new TopKHeap(Math.min(k, anCandidates.length));
+
+            for (int i = 0; i < anCandidates.length; i++)
+                {
+                int nCandidate = anCandidates[i];
+                int p          = 0;
+                while (nCandidate >= anListBase[p + 1])
+                    {
+                    p++;
+                    }
+
+                Object             oKey   = m_aaoKeys[anProbes[p]][nCandidate - anListBase[p]];
+                InvocableMap.Entry entry  = f_backingMapContext.getReadOnlyEntry(oKey);
+                Vector<float[]>    vector = entry == null ? null : InvocableMapHelper.extractFromEntry(m_extractor, entry);
+                if (vector != null)
+                    {
+                    aoCandidates[i] = oKey;
+                    heapExact.offer(i, f_space.distance(aflQuery, prepare(vector.get())));
+                    }
+                }
+
+            float[]  aflDistance = new float[heapExact.size()];
+            int[]    an          = heapExact.drainSorted(aflDistance);
+            Object[] aoResult    = new Object[an.length];
+            for (int j = 0; j < an.length; j++)
+                {
+                aoResult[j] = aoCandidates[an[j]];
+                }
+            return toResults(aoResult, aflDistance, aoResult.length);
+            }
+
+        /**
+         * Compute the table of partial distances between the sub-vectors of
+         * the specified vector and all the codewords of each sub-space.
+         * <p/>
+         * For the inner product space the table contains negated partial dot
+         * products, so that smaller values are always better.
+         *
+         * @param aflVector  the vector (or the residual of the query vector)
+         * @param aflTable   the table to populate
+         */
+        private void computeTable(float[] aflVector, float[] aflTable)
+            {
+            int     cSubspaces = f_cSubspaces;
+            int     cCodewords = m_cCodewords;
+            boolean fIP        = f_space == DistanceSpace.IP;
+
+            Arrays.fill(aflTable, Float.MAX_VALUE);
+            for (int s = 0; s < cSubspaces; s++)
+                {
+                int     of       = f_anSubspaceOffset[s];
+                int     cSubDim  = f_anSubspaceOffset[s + 1] - of;
+                float[] aflCodes = m_aaflCodebooks[s];
+                int     ofTable  = s * CODEWORDS;
+
+                for (int j = 0; j < cCodewords; j++)
+                    {
+                    aflTable[ofTable + j] = fIP
+                            ? -(float) Vectors.dotProduct(aflVector, of, aflCodes, j * cSubDim, cSubDim)
+                            : (float) Vectors.l2squared(aflVector, of, aflCodes, j * cSubDim, cSubDim);
+                    }
+                }
+            }
+
+        /**
+         * Store the vector for the specified key, replacing any existing one.
+         *
+         * @param oKey    the key
+         * @param vector  the vector
+         */
+        private void put(Object oKey, Vector<float[]> vector)
+            {
+            float[] aflVector = prepare(vector.get());
+
+            f_lock.writeLock().lock();
+            try
+                {
+                remove(oKey);
+
+                if (m_mapPending == null)
+                    {
+                    add(oKey, aflVector);
+                    }
+                else
+                    {
+                    m_mapPending.put(oKey, aflVector);
+                    m_cUnits.addAndGet(pendingUnits(oKey));
+                    if (m_mapPending.size() >= Math.max(m_cTrainingSize, 1))
+                        {
+                        train();
+                        }
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Remove the vector for the specified key, if present.
+         * <p/>
+         * Must be called while holding the write lock.
+         *
+         * @param oKey  the key
+         */
+        private void remove(Object oKey)
+            {
+            if (m_mapPending != null)
+                {
+                if (m_mapPending.remove(oKey) != null)
+                    {
+                    m_cUnits.addAndGet(-pendingUnits(oKey));
+                    }
+                return;
+                }
+
+            long lLocation = f_mapLocations.removeLong(oKey);
+            if (lLocation >= 0)
+                {
+                int      nList      = list(lLocation);
+                int      nPos       = position(lLocation);
+                int      nLast      = --m_acListSize[nList];
+                int      cSubspaces = f_cSubspaces;
+                Object[] aoKeys     = m_aaoKeys[nList];
+
+                if (nPos != nLast)
+                    {
+                    // move the last entry of the list into the vacated position
+                    System.arraycopy(m_aabCodes[nList], nLast * cSubspaces, m_aabCodes[nList], nPos * cSubspaces, cSubspaces);
+                    aoKeys[nPos] = aoKeys[nLast];
+                    f_mapLocations.put(aoKeys[nPos], location(nList, nPos));
+                    }
+                aoKeys[nLast] = null;
+                m_cUnits.addAndGet(-encodedUnits(oKey));
+                }
+            }
+
+        /**
+         * Encode the vector and add it to the nearest inverted list.
+         * <p/>
+         * Must be called while holding the write lock, after training.
+         *
+         * @param oKey       the key
+         * @param aflVector  the prepared vector
+         */
+        private void add(Object oKey, float[] aflVector)
+            {
+            int     cDim       = m_nDimension;
+            int     cSubspaces = f_cSubspaces;
+            int     nList      = KMeans.nearest(aflVector, 0, m_aflCoarse, m_aflCoarse.length / cDim, cDim);
+            float[] aflResidual = new float[cDim];
+            for (int d = 0, of = nList * cDim; d < cDim; d++)
+                {
+                aflResidual[d] = aflVector[d] - m_aflCoarse[of + d];
+                }
+
+            int nPos = m_acListSize[nList]++;
+            if (nPos == m_aaoKeys[nList].length)
+                {
+                int cNew = Math.max(16, nPos + (nPos >> 1));
+                m_aaoKeys[nList]  = Arrays.copyOf(m_aaoKeys[nList], cNew);
+                m_aabCodes[nList] = Arrays.copyOf(m_aabCodes[nList], cNew * cSubspaces);
+                }
+
+            byte[] abCode = m_aabCodes[nList];
+            for (int s = 0, of = nPos * cSubspaces; s < cSubspaces; s++)
+                {
+                int ofSub   = f_anSubspaceOffset[s];
+                int cSubDim = f_anSubspaceOffset[s + 1] - ofSub;
+                abCode[of + s] = (byte) KMeans.nearest(aflResidual, ofSub, m_aaflCodebooks[s], m_cCodewords, cSubDim);
+                }
+
+            m_aaoKeys[nList][nPos] = oKey;
+            f_mapLocations.put(oKey, location(nList, nPos));
+            m_cUnits.addAndGet(encodedUnits(oKey));
+            }
+
+        /**
+         * Train the coarse centroids and the product quantization codebooks
+         * using the vectors added so far, and encode them.
+         * <p/>
+         * Must be called while holding the write lock.
+         */
+        private void train()
+            {
+            Map<Object, float[]> mapPending = m_mapPending;
+            float[][]            aVectors   = mapPending.values().toArray(new float[0][]);
+            int                  cVectors   = aVectors.length;
+            int                  cDim       = m_nDimension;
+            int                  cSubspaces = f_cSubspaces;
+            Random               random     = new Random(m_nRandomSeed);
+
+            float[] aflCoarse = KMeans.train(aVectors, 0, cDim, Math.max(m_cLists, 1), TRAINING_ITERATIONS, random);
+            int     cLists    = aflCoarse.length / cDim;
+
+            // the codebooks are trained on the residuals from the coarse centroids
+            float[][] aResiduals = new float[cVectors][cDim];
+            for (int i = 0; i < cVectors; i++)
+                {
+                float[] afl   = aVectors[i];
+                int     nList = KMeans.nearest(afl, 0, aflCoarse, cLists, cDim);
+                for (int d = 0, of = nList * cDim; d < cDim; d++)
+                    {
+                    aResiduals[i][d] = afl[d] - aflCoarse[of + d];
+                    }
+                }
+
+            float[][] aaflCodebooks = new float[cSubspaces][];
+            for (int s = 0; s < cSubspaces; s++)
+                {
+                int of = f_anSubspaceOffset[s];
+                aaflCodebooks[s] = KMeans.train(aResiduals, of, f_anSubspaceOffset[s + 1] - of,
+                                                CODEWORDS, TRAINING_ITERATIONS, random);
+                }
+
+            m_aflCoarse     = aflCoarse;
+            m_aaflCodebooks = aaflCodebooks;
+            m_cCodewords    = Math.min(CODEWORDS, cVectors);
+            m_acListSize    = new int[cLists];
+            m_aaoKeys       = new Object[cLists][0];
+            m_aabCodes      = new byte[cLists][0];
+            m_mapPending    = null;
+
+            m_cUnits.set(calculateShallowSize(IvfPqMapIndex.class)
+                         + calculateShallowSize(Object2LongOpenHashMap.class)
+                         + 4L * cDim * (cLists + CODEWORDS)
+                         + (long) cLists * 2 * (SIZE_BASIC_OBJECT + SIZE_OBJECT_REF));
+
+            for (Map.Entry<Object, float[]> entry : mapPending.entrySet())
+                {
+                add(entry.getKey(), entry.getValue());
+                }
+            }
+
+        /**
+         * Return {@code true} if the entry with the specified key satisfies
+         * the filter.
+         *
+         * @param filter  the optional filter
+         * @param oKey    the key
+         *
+         * @return {@code true} if the filter is {@code null} or it is satisfied
+         */
+        private boolean accept(Filter<?> filter, Object oKey)
+            {
+            return filter == null
+                   || InvocableMapHelper.evaluateEntry(filter, f_backingMapContext.getReadOnlyEntry(oKey));
+            }
+
+        /**
+         * Create the query results for the specified keys and distances.
+         *
+         * @param aoKeys       the binary keys
+         * @param aflDistance  the distances
+         * @param cResults     the number of results
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] toResults(Object[] aoKeys, float[] aflDistance, int cResults)
+            {
+            BinaryQueryResult[] aResults = new BinaryQueryResult[cResults];
+            for (int i = 0; i < cResults; i++)
+                {
+                Binary            binKey = (Binary) aoKeys[i];
+                BinaryEntry<K, V> entry  = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry();
+                aResults[i] = new BinaryQueryResult(aflDistance[i], binKey, entry.getBinaryValue());
+                }
+            return aResults;
+            }
+
+        /**
+         * Return a copy of the specified vector, normalized if required by
+         * the distance space.
+         *
+         * @param aflVector  the vector
+         *
+         * @return the vector to add to or search the index with
+         */
+        private float[] prepare(float[] aflVector)
+            {
+            if (aflVector.length != m_nDimension)
+                {
+                throw new IllegalArgumentException(String.format(
+                        "Vector has %d dimensions, but the index only supports %d",
+                        aflVector.length, m_nDimension));
+                }
+            return f_space.isNormalized()
+                   ? Vectors.normalize(aflVector.clone())
+                   : aflVector.clone();
+            }
+
+        /**
+         * Return the key of the specified entry.
+         *
+         * @param entry  the entry
+         *
+         * @return the binary key of the entry if it is a {@link BinaryEntry},
+         *         or the key otherwise
+         */
+        private Object keyOf(Map.Entry<? extends K, ? extends V> entry)
+            {
+            return entry instanceof BinaryEntry
+                   ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
+                   : entry.getKey();
+            }
+
+        /**
+         * Return the estimated number of bytes used by a vector that has not
+         * been encoded yet.
+         *
+         * @param oKey  the key
+         *
+         * @return the estimated number of bytes used by the vector
+         */
+        private long pendingUnits(Object oKey)
+            {
+            return SimpleMemoryCalculator.SIZE_ENTRY + CALC.sizeOf(oKey) + SIZE_BASIC_OBJECT + 4L * m_nDimension;
+            }
+
+        /**
+         * Return the estimated number of bytes used by an encoded vector.
+         *
+         * @param oKey  the key
+         *
+         * @return the estimated number of bytes used by the encoded vector
+         */
+        private long encodedUnits(Object oKey)
+            {
+            return ENTRY_OVERHEAD + CALC.sizeOf(oKey) + f_cSubspaces;
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * UnitCalculator used to estimate the cost of a key.
+         */
+        protected final SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
+
+        /**
+         * The memory cost of an Object2LongOpenHashMap entry (key reference
+         * and long value), plus the reference to the key in the list.
+         */
+        protected static final int ENTRY_OVERHEAD = 2 * SIZE_OBJECT_REF + 8;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The cache {@link BackingMapContext}.
+         */
+        private final BackingMapContext f_backingMapContext;
+
+        /**
+         * The distance space.
+         */
+        private final DistanceSpace f_space;
+
+        /**
+         * The number of product quantization sub-spaces.
+         */
+        private final int f_cSubspaces;
+
+        /**
+         * The offset of the first dimension of each sub-space, followed by
+         * the number of dimensions.
+         */
+        private final int[] f_anSubspaceOffset;
+
+        /**
+         * The map of cache keys to encoded locations (inverted list and
+         * position within the list) of the encoded vectors.
+         */
+        private final Object2LongOpenHashMap<Object> f_mapLocations = new Object2LongOpenHashMap<>();
+
+        /**
+         * The lock guarding the index.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The vectors added before training, or {@code null} once trained.
+         */
+        private Map<Object, float[]> m_mapPending = new LinkedHashMap<>();
+
+        /**
+         * The flattened coarse centroids.
+         */
+        private float[] m_aflCoarse;
+
+        /**
+         * The flattened codebook for each sub-space.
+         */
+        private float[][] m_aaflCodebooks;
+
+        /**
+         * The number of codewords in each codebook.
+         */
+        private int m_cCodewords;
+
+        /**
+         * The number of vectors in each inverted list.
+         */
+        private int[] m_acListSize;
+
+        /**
+         * The keys of the vectors in each inverted list.
+         */
+        private Object[][] m_aaoKeys;
+
+        /**
+         * The packed product quantization codes of the vectors in each inverted list.
+         */
+        private byte[][] m_aabCodes;
+
+        /**
+         * The number of units (bytes) used by this index,
+         */
+        private final AtomicLong m_cUnits = new AtomicLong(calculateShallowSize(IvfPqMapIndex.class));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Encode the location of a vector.
+     *
+     * @param nList  the inverted list
+     * @param nPos   the position within the list
+     *
+     * @return the encoded location
+     */
+    private static long location(int nList, int nPos)
+        {
+        return ((long) nList << 32) | nPos;
+        }
+
+    /**
+     * Decode the inverted list from an encoded location.
+     *
+     * @param lLocation  the encoded location
+     *
+     * @return the inverted list
+     */
+    private static int list(long lLocation)
+        {
+        return (int) (lLocation >>> 32);
+        }
+
+    /**
+     * Decode the position within the inverted list from an encoded location.
+     *
+     * @param lLocation  the encoded location
+     *
+     * @return the position within the inverted list
+     */
+    private static int position(long lLocation)
+        {
+        return (int) lLocation;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int POF_IMPL_VERSION = 0;
+
+    /**
+     * The maximum number of codewords per sub-space, which allows each
+     * code to be stored in a single byte.
+     */
+    protected static final int CODEWORDS = 256;
+
+    /**
+     * The number of k-means iterations used for training.
+     */
+    protected static final int TRAINING_ITERATIONS = 10;
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULTS = new BinaryQueryResult[0];
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link ValueExtractor} to use to extract the vector from the cache entry.
+     */
+    @JsonbProperty("extractor")
+    private ValueExtractor<V, Vector<float[]>> m_extractor;
+
+    /**
+     * The number of dimensions in the vector.
+     */
+    @JsonbProperty("dimension")
+    private int m_nDimension;
+
+    /**
+     * The index space name.
+     */
+    @JsonbProperty("spaceName")
+    private String m_sSpaceName = DistanceSpace.COSINE.name();
+
+    /**
+     * The number of inverted lists in each partition.
+     */
+    @JsonbProperty("lists")
+    private int m_cLists = 64;
+
+    /**
+     * The number of product quantization sub-spaces, or zero to use one
+     * sub-space for every eight dimensions.
+     */
+    @JsonbProperty("subspaces")
+    private int m_cSubspaces;
+
+    /**
+     * The number of inverted lists scanned by each query.
+     */
+    @JsonbProperty("probes")
+    private int m_cProbes = 8;
+
+    /**
+     * The oversampling factor to use.
+     */
+    @JsonbProperty("oversamplingFactor")
+    private int m_nOversamplingFactor = 4;
+
+    /**
+     * The number of vectors a partition must contain before training.
+     */
+    @JsonbProperty("trainingSize")
+    private int m_cTrainingSize = 4096;
+
+    /**
+     * The random seed used for training.
+     */
+    @JsonbProperty("randomSeed")
+    private int m_nRandomSeed = 100;
+    }
@@ -0,0 +1,1092 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.index;
+
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
+import com.oracle.coherence.ai.VectorIndexExtractor;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.util.TopKHeap;
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.io.AbstractEvolvable;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.pof.EvolvablePortableObject;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.cache.SimpleMemoryCalculator;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.InvocableMapHelper;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.NullImplementation;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.filter.AlwaysFilter;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_BASIC_OBJECT;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+import static com.tangosol.net.cache.SimpleMemoryCalculator.calculateShallowSize;
+
+/**
+ * An {@link VectorIndexExtractor} to create a {@link VectorIndex} using scalar
+ * (Int8) quantization of float vectors.
+ * <p/>
+ * Each dimension of a vector is quantized to a single signed byte, using a
+ * per-dimension range calibrated from the first {@link #setCalibrationSize(int)
+ * vectors} added to each partition, so the quantized vectors use a quarter of
+ * the memory of the original vectors. A query scans the quantized vectors
+ * using Int8 dot products, and then rescores the best candidates using the
+ * original vectors stored in the cache entries, so the returned distances
+ * are exact.
+ * <p/>
+ * Until a partition contains enough vectors for calibration, its vectors are
+ * kept as they are and searched exhaustively. Values added after calibration
+ * that fall outside the calibrated range are clamped, which only affects the
+ * accuracy of the first pass, not the rescored distances.
+ * <p/>
+ * For example:
+ * <pre>
+ * var idx = new ScalarQuantIndex&lt;&gt;(ValueWithVector::getVector)
+ *                  .setSpaceName("L2");
+ *
+ * NamedMap&lt;Integer, ValueWithVector&gt; vectors = session.getMap("vectors");
+ * vectors.addIndex(idx);
+ * </pre>
+ *
+ * @param <K>  the type of the cache key
+ * @param <V>  the type of the cache value
+ *
+ * @since 25.09
+ */
+public class ScalarQuantIndex<K, V>
+        extends AbstractEvolvable
+        implements VectorIndexExtractor<V, float[]>, ExternalizableLite, EvolvablePortableObject
+    {
+    /**
+     * Default constructor for serialization.
+     */
+    public ScalarQuantIndex()
+        {
+        }
+
+    /**
+     * Create a {@link ScalarQuantIndex}.
+     *
+     * @param extractor  the {@link ValueExtractor} to use to extract the float
+     *                   array {@link Vector} from the cache entry
+     */
+    public ScalarQuantIndex(ValueExtractor<V, Vector<float[]>> extractor)
+        {
+        m_extractor = ValueExtractor.of(Objects.requireNonNull(extractor));
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the {@link ValueExtractor} to use to extract the float
+     * array {@link Vector} from the cache entry.
+     *
+     * @return the {@link ValueExtractor} to use to extract the vector
+     */
+    public ValueExtractor<V, Vector<float[]>> getExtractor()
+        {
+        return m_extractor;
+        }
+
+    /**
+     * Return the index space name.
+     *
+     * @return the index space name
+     */
+    public String getSpaceName()
+        {
+        return m_sSpaceName;
+        }
+
+    /**
+     * Set the index space name, which must be one of {@code COSINE},
+     * {@code IP} or {@code L2}.
+     *
+     * @param sSpaceName  the index space name
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setSpaceName(String sSpaceName)
+        {
+        DistanceSpace.fromName(sSpaceName);
+        m_sSpaceName = sSpaceName;
+        return this;
+        }
+
+    /**
+     * Return the oversampling factor, which determines how many candidates
+     * per requested result are rescored using the original vectors.
+     *
+     * @return the oversampling factor
+     */
+    public int getOversamplingFactor()
+        {
+        return m_nOversamplingFactor;
+        }
+
+    /**
+     * Set the oversampling factor, which determines how many candidates
+     * per requested result are rescored using the original vectors.
+     *
+     * @param nOversamplingFactor  the oversampling factor
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setOversamplingFactor(int nOversamplingFactor)
+        {
+        m_nOversamplingFactor = nOversamplingFactor;
+        return this;
+        }
+
+    /**
+     * Return the number of vectors a partition must contain before the
+     * quantization range of each dimension is calibrated.
+     *
+     * @return the number of vectors required for calibration
+     */
+    public int getCalibrationSize()
+        {
+        return m_cCalibrationSize;
+        }
+
+    /**
+     * Set the number of vectors a partition must contain before the
+     * quantization range of each dimension is calibrated.
+     *
+     * @param cCalibrationSize  the number of vectors required for calibration
+     *
+     * @return this {@link ScalarQuantIndex} to allow fluent API calls
+     */
+    public ScalarQuantIndex<K, V> setCalibrationSize(int cCalibrationSize)
+        {
+        m_cCalibrationSize = cCalibrationSize;
+        return this;
+        }
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    @Override
+    public MapIndex<K, V, Vector<float[]>> createIndex(boolean fSorted, Comparator comparator, Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map, BackingMapContext backingMapContext)
+        {
+        ScalarQuantMapIndex mapIndex = new ScalarQuantMapIndex(backingMapContext);
+        map.put(m_extractor, mapIndex);
+        return mapIndex;
+        }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public MapIndex<K, V, Vector<float[]>> destroyIndex(Map<ValueExtractor<V, Vector<float[]>>, MapIndex> map)
+        {
+        return map.remove(m_extractor);
+        }
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    @Override
+    public Vector<float[]> extract(V v)
+        {
+        return m_extractor.extract(v);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (o == null || getClass() != o.getClass())
+            {
+            return false;
+            }
+        ScalarQuantIndex<?, ?> that = (ScalarQuantIndex<?, ?>) o;
+        return Objects.equals(m_extractor, that.m_extractor);
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Objects.hash(m_extractor);
+        }
+
+    @Override
+    public String toString()
+        {
+        return "ScalarQuantIndex{" +
+               "extractor=" + m_extractor +
+               ", spaceName='" + m_sSpaceName + '\'' +
+               ", oversamplingFactor=" + m_nOversamplingFactor +
+               ", calibrationSize=" + m_cCalibrationSize +
+               '}';
+        }
+
+    // ----- Evolvable interface --------------------------------------------
+
+    @Override
+    public int getImplVersion()
+        {
+        return POF_IMPL_VERSION;
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_extractor           = in.readObject(0);
+        m_sSpaceName          = in.readString(1);
+        m_nOversamplingFactor = in.readInt(2);
+        m_cCalibrationSize    = in.readInt(3);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        out.writeString(1, m_sSpaceName);
+        out.writeInt(2, m_nOversamplingFactor);
+        out.writeInt(3, m_cCalibrationSize);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        m_extractor           = ExternalizableHelper.readObject(in);
+        m_sSpaceName          = ExternalizableHelper.readSafeUTF(in);
+        m_nOversamplingFactor = ExternalizableHelper.readInt(in);
+        m_cCalibrationSize    = ExternalizableHelper.readInt(in);
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        ExternalizableHelper.writeObject(out, m_extractor);
+        ExternalizableHelper.writeUTF(out, m_sSpaceName);
+        ExternalizableHelper.writeInt(out, m_nOversamplingFactor);
+        ExternalizableHelper.writeInt(out, m_cCalibrationSize);
+        }
+
+    // ----- inner class: ScalarQuantMapIndex -------------------------------
+
+    /**
+     * A scalar quantization {@link VectorIndex}.
+     * <p/>
+     * The quantized vectors are packed into fixed size {@code byte[]} slabs,
+     * with each vector occupying a contiguous run of bytes at an offset
+     * determined by its slot.
+     * <p/>
+     * Dimension {@code d} of a vector is encoded as the byte {@code c[d]},
+     * and decoded as {@code off[d] + scale[d] * c[d]}. The query vector is
+     * weighted by the per-dimension scales and quantized to Int8 as well, so
+     * the dot product of the query and a decoded vector can be approximated
+     * by a constant plus a scaled Int8 dot product. For the L2 space the
+     * squared norm of each original vector is kept alongside the codes.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public class ScalarQuantMapIndex
+            implements VectorIndex<K, V, Vector<float[]>>
+        {
+        /**
+         * Create a {@link ScalarQuantMapIndex}.
+         *
+         * @param ctx  the cache {@link BackingMapContext}
+         */
+        private ScalarQuantMapIndex(BackingMapContext ctx)
+            {
+            f_backingMapContext = ctx;
+            f_space             = DistanceSpace.fromName(m_sSpaceName);
+            f_mapSlots.defaultReturnValue(-1);
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+         * Return {@code true} if the quantization ranges have been calibrated.
+         *
+         * @return {@code true} if the quantization ranges have been calibrated
+         */
+        public boolean isCalibrated()
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                return m_mapPending == null;
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        // ----- MapIndex interface -----------------------------------------
+
+        @Override
+        public ValueExtractor<V, Vector<float[]>> getValueExtractor()
+            {
+            return m_extractor;
+            }
+
+        @Override
+        public boolean isOrdered()
+            {
+            return false;
+            }
+
+        @Override
+        public boolean isPartial()
+            {
+            return false;
+            }
+
+        @Override
+        public Map<Vector<float[]>, Set<K>> getIndexContents()
+            {
+            return NullImplementation.getMap();
+            }
+
+        @Override
+        public Object get(K k)
+            {
+            f_lock.readLock().lock();
+            try
+                {
+                if (m_mapPending != null)
+                    {
+                    return m_mapPending.get(k);
+                    }
+                int nSlot = f_mapSlots.getInt(k);
+                if (nSlot < 0)
+                    {
+                    return null;
+                    }
+                int of = offset(nSlot);
+                return Arrays.copyOfRange(slab(nSlot), of, of + m_cDim);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        @Override
+        public Comparator<Vector<float[]>> getComparator()
+            {
+            return null;
+            }
+
+        @Override
+        public long getUnits()
+            {
+            return m_cUnits.get();
+            }
+
+        @Override
+        public void insert(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                }
+            }
+
+        @Override
+        public void update(Map.Entry<? extends K, ? extends V> entry)
+            {
+            Vector<float[]> v = InvocableMapHelper.extractFromEntry(m_extractor, entry);
+            if (v != null)
+                {
+                put(keyOf(entry), v);
+                }
+            else
+                {
+                delete(entry);
+                }
+            }
+
+        @Override
+        public void delete(Map.Entry<? extends K, ? extends V> entry)
+            {
+            f_lock.writeLock().lock();
+            try
+                {
+                remove(keyOf(entry));
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        // ----- VectorIndex interface --------------------------------------
+
+        @Override
+        public BinaryQueryResult[] query(Vector<float[]> vector, int k, Filter<?> filter)
+            {
+            float[] aflQuery = Objects.requireNonNull(vector).get();
+            if (filter instanceof AlwaysFilter<?>)
+                {
+                filter = null;
+                }
+
+            f_lock.readLock().lock();
+            try
+                {
+                if (k <= 0 || m_cDim == 0)
+                    {
+                    return EMPTY_RESULTS;
+                    }
+
+                aflQuery = prepare(aflQuery);
+                return m_mapPending == null
+                       ? querySlabs(aflQuery, k, filter)
+                       : queryPending(aflQuery, k, filter);
+                }
+            finally
+                {
+                f_lock.readLock().unlock();
+                }
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+         * Perform an exhaustive search of the vectors added before calibration.
+         * <p/>
+         * Must be called while holding the read lock.
+         *
+         * @param aflQuery  the prepared query vector
+         * @param k         the maximum number of results
+         * @param filter    the optional filter
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] queryPending(float[] aflQuery, int k, Filter<?> filter)
+            {
+            Map<Object, float[]> mapPending = m_mapPending;
+            Object[]             aoKeys     = new Object[mapPending.size()];
+            TopKHeap             heap       = new TopKHeap(Math.min(k, aoKeys.length));
+            int                  i          = 0;
+
+            for (Map.Entry<Object, float[]> entry : mapPending.entrySet())
+                {
+                Object oKey = aoKeys[i] = entry.getKey();
+                float  fl   = f_space.distance(aflQuery, entry.getValue());
+                if (heap.accepts(fl) && accept(filter, oKey))
+                    {
+                    heap.offer(i, fl);
+                    }
+                i++;
+                }
+
+            float[]  aflDistance = new float[heap.size()];
+            int[]    an          = heap.drainSorted(aflDistance);
+            Object[] aoResult    = new Object[an.length];
+            for (int j = 0; j < an.length; j++)
+                {
+                aoResult[j] = aoKeys[an[j]];
+                }
+            return toResults(aoResult, aflDistance);
+            }
+
+        /**
+         * Scan the quantized vectors using Int8 dot products, and rescore the
+         * best candidates using the vectors stored in the cache.
+         * <p/>
+         * Must be called while holding the read lock.
+         *
+         * @param aflQuery  the prepared query vector
+         * @param k         the maximum number of results
+         * @param filter    the optional filter
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] querySlabs(float[] aflQuery, int k, Filter<?> filter)
+            {
+            int cCandidates = Math.min(k * Math.max(m_nOversamplingFactor, 1), f_mapSlots.size());
+            if (cCandidates <= 0)
+                {
+                return EMPTY_RESULTS;
+                }
+
+            // quantize the query, weighted by the per-dimension scales
+            int     cDim       = m_cDim;
+            float[] aflScale   = m_aflScale;
+            float[] aflOffset  = m_aflOffset;
+            float[] aflWeight  = new float[cDim];
+            byte[]  abQuery    = new byte[cDim];
+            double  dConstant  = 0.0;
+            float   flMax      = 0.0f;
+
+            for (int d = 0; d < cDim; d++)
+                {
+                aflWeight[d] = aflQuery[d] * aflScale[d];
+                flMax        = Math.max(flMax, Math.abs(aflWeight[d]));
+                dConstant   += aflQuery[d] * aflOffset[d];
+                }
+
+            float flQueryScale = flMax == 0.0f ? 1.0f : flMax / 127.0f;
+            for (int d = 0; d < cDim; d++)
+                {
+                abQuery[d] = (byte) Math.round(aflWeight[d] / flQueryScale);
+                }
+
+            boolean  fL2      = f_space == DistanceSpace.L2;
+            double   dNorm    = fL2 ? Vectors.dotProduct(aflQuery, aflQuery) : 0.0;
+            byte[][] aabSlabs = m_aabSlabs;
+            Object[] aoKeys   = m_aoKeys;
+            int      cSlots   = m_cSlots;
+            TopKHeap heap     = new TopKHeap(cCandidates);
+
+            for (int nSlot = 0; nSlot < cSlots; nSlot++)
+                {
+                Object oKey = aoKeys[nSlot];
+                if (oKey == null)
+                    {
+                    continue; // free slot
+                    }
+
+                int    nSlab = nSlot >>> SLAB_SHIFT;
+                int    nPos  = nSlot & SLAB_MASK;
+                double dDot  = dConstant + flQueryScale
+                               * Vectors.dotProduct(abQuery, 0, aabSlabs[nSlab], nPos * cDim, cDim);
+                float  fl    = fL2
+                               ? (float) (dNorm + m_aaflNorms[nSlab][nPos] - 2.0 * dDot)
+                               : (float) (1.0 - dDot);
+
+                // only evaluate the filter for candidates that would make the cut
+                if (heap.accepts(fl) && accept(filter, oKey))
+                    {
+                    heap.offer(nSlot, fl);
+                    }
+                }
+
+            // rescore the candidates using the original vectors
+            int[]    anSlots   = heap.drainSorted(null);
+            TopKHeap heapExact = new TopKHeap(Math.min(k, anSlots.length));
+
+            for (int i = 0; i < anSlots.length; i++)
+                {
+                InvocableMap.Entry entry  = f_backingMapContext.getReadOnlyEntry(aoKeys[anSlots[i]]);
+                Vector<float[]>    vector = entry == null ? null : InvocableMapHelper.extractFromEntry(m_extractor, entry);
+                if (vector != null)
+                    {
+                    heapExact.offer(anSlots[i], f_space.distance(aflQuery, prepare(vector.get())));
+                    }
+                }
+
+            float[]  aflDistance = new float[heapExact.size()];
+            int[]    an          = heapExact.drainSorted(aflDistance);
+            Object[] aoResult    = new Object[an.length];
+            for (int j = 0; j < an.length; j++)
+                {
+                aoResult[j] = aoKeys[an[j]];
+                }
+            return toResults(aoResult, aflDistance);
+            }
+
+        /**
+         * Store the vector for the specified key, replacing any existing one.
+         *
+         * @param oKey    the key
+         * @param vector  the vector
+         */
+        private void put(Object oKey, Vector<float[]> vector)
+            {
+            float[] aflVector = vector.get();
+
+            f_lock.writeLock().lock();
+            try
+                {
+                if (m_cDim == 0)
+                    {
+                    // the first vector determines the number of dimensions
+                    m_cDim = aflVector.length;
+                    }
+                aflVector = prepare(aflVector);
+
+                if (m_mapPending == null)
+                    {
+                    int nSlot = f_mapSlots.getInt(oKey);
+                    if (nSlot < 0)
+                        {
+                        nSlot = allocateSlot();
+                        f_mapSlots.put(oKey, nSlot);
+                        m_aoKeys[nSlot] = oKey;
+                        m_cUnits.addAndGet(encodedUnits(oKey));
+                        }
+                    encode(nSlot, aflVector);
+                    }
+                else
+                    {
+                    if (m_mapPending.put(oKey, aflVector) == null)
+                        {
+                        m_cUnits.addAndGet(pendingUnits(oKey));
+                        }
+                    if (m_mapPending.size() >= Math.max(m_cCalibrationSize, 1))
+                        {
+                        calibrate();
+                        }
+                    }
+                }
+            finally
+                {
+                f_lock.writeLock().unlock();
+                }
+            }
+
+        /**
+         * Remove the vector for the specified key, if present.
+         * <p/>
+         * Must be called while holding the write lock.
+         *
+         * @param oKey  the key
+         */
+        private void remove(Object oKey)
+            {
+            if (m_mapPending != null)
+                {
+                if (m_mapPending.remove(oKey) != null)
+                    {
+                    m_cUnits.addAndGet(-pendingUnits(oKey));
+                    }
+                return;
+                }
+
+            int nSlot = f_mapSlots.removeInt(oKey);
+            if (nSlot >= 0)
+                {
+                m_aoKeys[nSlot] = null;
+                f_listFreeSlots.add(nSlot);
+                m_cUnits.addAndGet(-encodedUnits(oKey));
+                }
+            }
+
+        /**
+         * Calibrate the quantization range of each dimension using the vectors
+         * added so far, and encode them.
+         * <p/>
+         * Must be called while holding the write lock.
+         */
+        private void calibrate()
+            {
+            int     cDim   = m_cDim;
+            float[] aflMin = new float[cDim];
+            float[] aflMax = new float[cDim];
+
+            Arrays.fill(aflMin, Float.MAX_VALUE);
+            Arrays.fill(aflMax, -Float.MAX_VALUE);
+            for (float[] afl : m_mapPending.values())
+                {
+                for (int d = 0; d < cDim; d++)
+                    {
+                    aflMin[d] = Math.min(aflMin[d], afl[d]);
+                    aflMax[d] = Math.max(aflMax[d], afl[d]);
+                    }
+                }
+
+            // decode(c) = off + scale * c, where c is in the range [-128, 127]
+            float[] aflScale  = new float[cDim];
+            float[] aflOffset = new float[cDim];
+            for (int d = 0; d < cDim; d++)
+                {
+                float flRange = aflMax[d] - aflMin[d];
+                aflScale[d]  = flRange > 0.0f ? flRange / 255.0f : 1.0f;
+                aflOffset[d] = aflMin[d] + 128.0f * aflScale[d];
+                }
+
+            Map<Object, float[]> mapPending = m_mapPending;
+
+            m_aflScale   = aflScale;
+            m_aflOffset  = aflOffset;
+            m_aabSlabs   = new byte[1][];
+            m_aaflNorms  = new float[1][];
+            m_aoKeys     = new Object[SLAB_SIZE];
+            m_mapPending = null;
+
+            m_cUnits.set(calculateShallowSize(ScalarQuantMapIndex.class)
+                         + calculateShallowSize(Object2IntOpenHashMap.class)
+                         + 8L * cDim);
+
+            for (Map.Entry<Object, float[]> entry : mapPending.entrySet())
+                {
+                Object oKey  = entry.getKey();
+                int    nSlot = allocateSlot();
+                f_mapSlots.put(oKey, nSlot);
+                m_aoKeys[nSlot] = oKey;
+                m_cUnits.addAndGet(encodedUnits(oKey));
+                encode(nSlot, entry.getValue());
+                }
+            }
+
+        /**
+         * Quantize the vector into the specified slot.
+         * <p/>
+         * Must be called while holding the write lock, after calibration.
+         *
+         * @param nSlot      the slot
+         * @param aflVector  the prepared vector
+         */
+        private void encode(int nSlot, float[] aflVector)
+            {
+            int     cDim      = m_cDim;
+            float[] aflScale  = m_aflScale;
+            float[] aflOffset = m_aflOffset;
+            byte[]  abSlab    = slab(nSlot);
+            int     of        = offset(nSlot);
+
+            for (int d = 0; d < cDim; d++)
+                {
+                int n = Math.round((aflVector[d] - aflOffset[d]) / aflScale[d]);
+                abSlab[of + d] = (byte) Math.max(-128, Math.min(127, n));
+                }
+
+            if (f_space == DistanceSpace.L2)
+                {
+                m_aaflNorms[nSlot >>> SLAB_SHIFT][nSlot & SLAB_MASK] = (float) Vectors.dotProduct(aflVector, aflVector);
+                }
+            }
+
+        /**
+         * Allocate a slot for a new vector, re-using a previously freed slot
+         * if one is available, and growing the slab storage if necessary.
+         * <p/>
+         * Must be called while holding the write lock.
+         *
+         * @return the allocated slot
+         */
+        private int allocateSlot()
+            {
+            IntArrayList listFree = f_listFreeSlots;
+            if (!listFree.isEmpty())
+                {
+                return listFree.removeInt(listFree.size() - 1);
+                }
+
+            int nSlot = m_cSlots++;
+            int nSlab = nSlot >>> SLAB_SHIFT;
+            if (nSlab == m_aabSlabs.length)
+                {
+                m_aabSlabs  = Arrays.copyOf(m_aabSlabs, nSlab << 1);
+                m_aaflNorms = Arrays.copyOf(m_aaflNorms, nSlab << 1);
+                m_cUnits.addAndGet(2L * nSlab * SIZE_OBJECT_REF);
+                }
+            if (m_aabSlabs[nSlab] == null)
+                {
+                m_aabSlabs[nSlab] = new byte[SLAB_SIZE * m_cDim];
+                if (f_space == DistanceSpace.L2)
+                    {
+                    m_aaflNorms[nSlab] = new float[SLAB_SIZE];
+                    }
+                }
+            if (nSlot == m_aoKeys.length)
+                {
+                m_aoKeys = Arrays.copyOf(m_aoKeys, nSlot << 1);
+                m_cUnits.addAndGet((long) nSlot * SIZE_OBJECT_REF);
+                }
+            return nSlot;
+            }
+
+        /**
+         * Return the slab containing the vector stored in the specified slot.
+         *
+         * @param nSlot  the slot
+         *
+         * @return the slab containing the vector
+         */
+        private byte[] slab(int nSlot)
+            {
+            return m_aabSlabs[nSlot >>> SLAB_SHIFT];
+            }
+
+        /**
+         * Return the offset of the vector stored in the specified slot within
+         * its slab.
+         *
+         * @param nSlot  the slot
+         *
+         * @return the offset of the vector within its slab
+         */
+        private int offset(int nSlot)
+            {
+            return (nSlot & SLAB_MASK) * m_cDim;
+            }
+
+        /**
+         * Return {@code true} if the entry with the specified key satisfies
+         * the filter.
+         *
+         * @param filter  the optional filter
+         * @param oKey    the key
+         *
+         * @return {@code true} if the filter is {@code null} or it is satisfied
+         */
+        private boolean accept(Filter<?> filter, Object oKey)
+            {
+            return filter == null
+                   || InvocableMapHelper.evaluateEntry(filter, f_backingMapContext.getReadOnlyEntry(oKey));
+            }
+
+        /**
+         * Create the query results for the specified keys and distances.
+         *
+         * @param aoKeys       the binary keys
+         * @param aflDistance  the distances
+         *
+         * @return the query results
+         */
+        private BinaryQueryResult[] toResults(Object[] aoKeys, float[] aflDistance)
+            {
+            BinaryQueryResult[] aResults = new BinaryQueryResult[aoKeys.length];
+            for (int i = 0; i < aoKeys.length; i++)
+                {
+                Binary            binKey = (Binary) aoKeys[i];
+                BinaryEntry<K, V> entry  = f_backingMapContext.getReadOnlyEntry(binKey).asBinaryEntry();
+                aResults[i] = new BinaryQueryResult(aflDistance[i], binKey, entry.getBinaryValue());
+                }
+            return aResults;
+            }
+
+        /**
+         * Return a copy of the specified vector, normalized if required by
+         * the distance space.
+         *
+         * @param aflVector  the vector
+         *
+         * @return the vector to add to or search the index with
+         */
+        private float[] prepare(float[] aflVector)
+            {
+            if (aflVector.length != m_cDim)
+                {
+                throw new IllegalArgumentException(String.format(
+                        "Vector has %d dimensions, but the index only supports %d",
+                        aflVector.length, m_cDim));
+                }
+            return f_space.isNormalized()
+                   ? Vectors.normalize(aflVector.clone())
+                   : aflVector.clone();
+            }
+
+        /**
+         * Return the key of the specified entry.
+         *
+         * @param entry  the entry
+         *
+         * @return the binary key of the entry if it is a {@link BinaryEntry},
+         *         or the key otherwise
+         */
+        private Object keyOf(Map.Entry<? extends K, ? extends V> entry)
+            {
+            return entry instanceof BinaryEntry
+                   ? ((BinaryEntry<?, ?>) entry).getBinaryKey()
+                   : entry.getKey();
+            }
+
+        /**
+         * Return the estimated number of bytes used by a vector that has not
+         * been quantized yet.
+         *
+         * @param oKey  the key
+         *
+         * @return the estimated number of bytes used by the vector
+         */
+        private long pendingUnits(Object oKey)
+            {
+            return SimpleMemoryCalculator.SIZE_ENTRY + CALC.sizeOf(oKey) + SIZE_BASIC_OBJECT + 4L * m_cDim;
+            }
+
+        /**
+         * Return the estimated number of bytes used by a quantized vector.
+         *
+         * @param oKey  the key
+         *
+         * @return the estimated number of bytes used by the quantized vector
+         */
+        private long encodedUnits(Object oKey)
+            {
+            return ENTRY_OVERHEAD + CALC.sizeOf(oKey) + m_cDim + (f_space == DistanceSpace.L2 ? 4 : 0);
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+         * UnitCalculator used to estimate the cost of a key.
+         */
+        protected final SimpleMemoryCalculator CALC = new SimpleMemoryCalculator();
+
+        /**
+         * The memory cost of an Object2IntOpenHashMap entry (key reference
+         * and int value), plus the reference to the key in the slot array.
+         */
+        protected static final int ENTRY_OVERHEAD = 2 * SIZE_OBJECT_REF + 4;
+
+        /**
+         * The base 2 logarithm of the number of vectors stored in each slab.
+         */
+        protected static final int SLAB_SHIFT = 10;
+
+        /**
+         * The number of vectors stored in each slab.
+         */
+        protected static final int SLAB_SIZE = 1 << SLAB_SHIFT;
+
+        /**
+         * The mask used to calculate the index of a slot within a slab.
+         */
+        protected static final int SLAB_MASK = SLAB_SIZE - 1;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+         * The cache {@link BackingMapContext}.
+         */
+        private final BackingMapContext f_backingMapContext;
+
+        /**
+         * The distance space.
+         */
+        private final DistanceSpace f_space;
+
+        /**
+         * The map of cache keys to the slots the quantized vectors are stored in.
+         */
+        private final Object2IntOpenHashMap<Object> f_mapSlots = new Object2IntOpenHashMap<>();
+
+        /**
+         * The slots that have been freed and can be re-used.
+         */
+        private final IntArrayList f_listFreeSlots = new IntArrayList();
+
+        /**
+         * The lock guarding the index.
+         */
+        private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * The vectors added before calibration, or {@code null} once calibrated.
+         */
+        private Map<Object, float[]> m_mapPending = new LinkedHashMap<>();
+
+        /**
+         * The number of dimensions, or zero if no vectors have been added yet.
+         */
+        private int m_cDim;
+
+        /**
+         * The quantization scale of each dimension.
+         */
+        private float[] m_aflScale;
+
+        /**
+         * The value a zero code decodes to for each dimension.
+         */
+        private float[] m_aflOffset;
+
+        /**
+         * The number of slots that have ever been allocated.
+         */
+        private int m_cSlots;
+
+        /**
+         * The slabs containing the packed quantized vectors.
+         */
+        private byte[][] m_aabSlabs;
+
+        /**
+         * The squared norms of the original vectors, used by the L2 space.
+         */
+        private float[][] m_aaflNorms;
+
+        /**
+         * The key stored in each slot, or {@code null} if the slot is free.
+         */
+        private Object[] m_aoKeys;
+
+        /**
+         * The number of units (bytes) used by this index,
+         */
+        private final AtomicLong m_cUnits = new AtomicLong(calculateShallowSize(ScalarQuantMapIndex.class));
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The POF implementation version.
+     */
+    public static final int POF_IMPL_VERSION = 0;
+
+    /**
+     * An empty query result array.
+     */
+    private static final BinaryQueryResult[] EMPTY_RESULTS = new BinaryQueryResult[0];
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@link ValueExtractor} to use to extract the vector from the cache entry.
+     */
+    @JsonbProperty("extractor")
+    private ValueExtractor<V, Vector<float[]>> m_extractor;
+
+    /**
+     * The index space name.
+     */
+    @JsonbProperty("spaceName")
+    private String m_sSpaceName = DistanceSpace.COSINE.name();
+
+    /**
+     * The oversampling factor to use.
+     */
+    @JsonbProperty("oversamplingFactor")
+    private int m_nOversamplingFactor = 4;
+
+    /**
+     * The number of vectors a partition must contain before calibration.
+     */
+    @JsonbProperty("calibrationSize")
+    private int m_cCalibrationSize = 1024;
+    }
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+import com.oracle.coherence.common.base.Logger;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap memory owned by a single vector index, with an explicit lifetime.
+ * <p>
+ * On Java 22 and above the memory is allocated as {@code MemorySegment}s from
+ * a shared {@code Arena} using the Foreign Function and Memory API, and is
+ * released as soon as this {@link OffHeapMemory} is {@link #close() closed}.
+ * Any attempt to access the memory after that fails, rather than reading
+ * freed memory. On older Java versions direct {@link ByteBuffer}s are used
+ * instead, which are released by the garbage collector once they are no
+ * longer referenced.
+ * <p>
+ * The FFM API is bound using method handles, so that this class can be
+ * compiled for, and loaded on, Java 17. Only allocation and release go through
+ * the method handles; the memory is accessed using {@link ByteBuffer} views.
+ * <p>
+ * The caller is responsible for making sure that the memory is not accessed
+ * concurrently with, or after, a call to {@link #close()}.
+ *
+ * @since 25.09
+ */
+public class OffHeapMemory
+        implements AutoCloseable
+    {
+    /**
+     * Create an {@link OffHeapMemory}.
+     */
+    public OffHeapMemory()
+        {
+        Object oArena = null;
+        if (MH_OF_SHARED != null)
+            {
+            try
+                {
+                oArena = MH_OF_SHARED.invoke();
+                }
+            catch (Throwable e)
+                {
+                throw new IllegalStateException("Failed to create an off-heap memory arena", e);
+                }
+            }
+        f_oArena = oArena;
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return {@code true} if the memory is allocated using the FFM API, and
+     * is released when this {@link OffHeapMemory} is closed.
+     *
+     * @return {@code true} if the memory is allocated using the FFM API
+     */
+    public static boolean isMemorySegmentSupported()
+        {
+        return MH_OF_SHARED != null;
+        }
+
+    /**
+     * Return the number of bytes currently allocated.
+     *
+     * @return the number of bytes currently allocated
+     */
+    public long getAllocatedBytes()
+        {
+        return f_cbAllocated.get();
+        }
+
+    /**
+     * Return {@code true} if this {@link OffHeapMemory} has been closed.
+     *
+     * @return {@code true} if this {@link OffHeapMemory} has been closed
+     */
+    public boolean isClosed()
+        {
+        return m_fClosed;
+        }
+
+    // ----- OffHeapMemory methods ------------------------------------------
+
+    /**
+     * Allocate a zeroed block of off-heap memory, aligned to eight bytes.
+     *
+     * @param cb  the number of bytes to allocate
+     *
+     * @return a native byte order {@link ByteBuffer} view of the memory
+     *
+     * @throws IllegalStateException if this {@link OffHeapMemory} is closed
+     */
+    public synchronized ByteBuffer allocate(int cb)
+        {
+        if (m_fClosed)
+            {
+            throw new IllegalStateException("The off-heap memory has been closed");
+            }
+
+        ByteBuffer buf;
+        if (f_oArena == null)
+            {
+            buf = ByteBuffer.allocateDirect(cb);
+            }
+        else
+            {
+            try
+                {
+                buf = (ByteBuffer) MH_AS_BYTE_BUFFER.invoke(MH_ALLOCATE.invoke(f_oArena, (long) cb, 8L));
+                }
+            catch (Throwable e)
+                {
+                throw new IllegalStateException("Failed to allocate " + cb + " bytes of off-heap memory", e);
+                }
+            }
+
+        f_cbAllocated.addAndGet(cb);
+        return buf.order(ByteOrder.nativeOrder());
+        }
+
+    // ----- AutoCloseable interface ----------------------------------------
+
+    /**
+     * Release all the memory allocated by this {@link OffHeapMemory}.
+     */
+    @Override
+    public synchronized void close()
+        {
+        if (!m_fClosed)
+            {
+            m_fClosed = true;
+            f_cbAllocated.set(0L);
+            if (f_oArena != null)
+                {
+                try
+                    {
+                    MH_CLOSE.invoke(f_oArena);
+                    }
+                catch (Throwable e)
+                    {
+                    Logger.err("Failed to release off-heap memory", e);
+                    }
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The handle for {@code Arena.ofShared()}, or {@code null} if the FFM API
+     * is not available.
+     */
+    private static final MethodHandle MH_OF_SHARED;
+
+    /**
+     * The handle for {@code Arena.allocate(long, long)}.
+     */
+    private static final MethodHandle MH_ALLOCATE;
+
+    /**
+     * The handle for {@code MemorySegment.asByteBuffer()}.
+     */
+    private static final MethodHandle MH_AS_BYTE_BUFFER;
+
+    /**
+     * The handle for {@code Arena.close()}.
+     */
+    private static final MethodHandle MH_CLOSE;
+
+    static
+        {
+        MethodHandle mhOfShared     = null;
+        MethodHandle mhAllocate     = null;
+        MethodHandle mhAsByteBuffer = null;
+        MethodHandle mhClose        = null;
+
+        // the FFM API is final (not a preview API) from Java 22
+        if (Runtime.version().feature() >= 22)
+            {
+            try
+                {
+                MethodHandles.Lookup lookup     = MethodHandles.publicLookup();
+                Class<?>             clzArena   = Class.forName("java.lang.foreign.Arena");
+                Class<?>             clzSegment = Class.forName("java.lang.foreign.MemorySegment");
+
+                mhOfShared     = lookup.findStatic(clzArena, "ofShared", MethodType.methodType(clzArena));
+                mhAllocate     = lookup.findVirtual(clzArena, "allocate", MethodType.methodType(clzSegment, long.class, long.class));
+                mhAsByteBuffer = lookup.findVirtual(clzSegment, "asByteBuffer", MethodType.methodType(ByteBuffer.class));
+                mhClose        = lookup.findVirtual(clzArena, "close", MethodType.methodType(void.class));
+                }
+            catch (Throwable e)
+                {
+                Logger.fine("The FFM API is not available, off-heap vector index memory will use direct buffers: " + e);
+                mhOfShared = null;
+                }
+            }
+
+        MH_OF_SHARED      = mhOfShared;
+        MH_ALLOCATE       = mhAllocate;
+        MH_AS_BYTE_BUFFER = mhAsByteBuffer;
+        MH_CLOSE          = mhClose;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The {@code Arena} used to allocate memory, or {@code null} if direct
+     * buffers are used.
+     */
+    private final Object f_oArena;
+
+    /**
+     * The number of bytes currently allocated.
+     */
+    private final AtomicLong f_cbAllocated = new AtomicLong();
+
+    /**
+     * {@code true} once this {@link OffHeapMemory} has been closed.
+     */
+    private volatile boolean m_fClosed;
+    }
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+/**
+ * Scalar (non-vectorized) distance kernels for {@code float} and
+ * {@code byte} (Int8) vectors.
+ * <p>
+ * These are used by {@link VectorKernels} whenever the SIMD implementation
+ * is not available, and serve as the baseline the SIMD implementation is
+ * compared against.
+ *
+ * @since 25.09
+ */
+public class ScalarKernels
+    {
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return dotProduct(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the dot product of two float vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        double dotProduct = 0.0;
+
+        for (int i = 0; i < cLen; i++)
+            {
+            dotProduct += v1[of1 + i] * v2[of2 + i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, byte[] v2)
+        {
+        return dotProduct(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first Int8 vector
+     * @param of1   the offset of the first Int8 vector
+     * @param v2    the array containing the second Int8 vector
+     * @param of2   the offset of the second Int8 vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, int of1, byte[] v2, int of2, int cLen)
+        {
+        long dotProduct = 0L;
+
+        for (int i = 0; i < cLen; i++)
+            {
+            dotProduct += v1[of1 + i] * v2[of2 + i];
+            }
+        return dotProduct;
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return l2squared(v1, 0, v2, 0, v1.length);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors stored at
+     * the specified offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        double l2squared = 0.0;
+
+        for (int i = 0; i < cLen; i++)
+            {
+            float f = v1[of1 + i] - v2[of2 + i];
+            l2squared += (f * f);
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the squared L2 distance between two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the squared L2 distance between the Int8 vectors
+     */
+    public static double l2squared(byte[] v1, byte[] v2)
+        {
+        long l2squared = 0L;
+
+        for (int i = 0; i < v1.length; i++)
+            {
+            int n = v1[i] - v2[i];
+            l2squared += n * n;
+            }
+        return l2squared;
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of a float vector.
+     *
+     * @param v  the float vector
+     *
+     * @return the sum of the squares of the elements of the float vector
+     */
+    public static double sumOfSquares(float[] v)
+        {
+        double sum = 0.0;
+        for (float f : v)
+            {
+            sum += f * f;
+            }
+        return sum;
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of an Int8 vector.
+     *
+     * @param v  the Int8 vector
+     *
+     * @return the sum of the squares of the elements of the Int8 vector
+     */
+    public static double sumOfSquares(byte[] v)
+        {
+        long sum = 0L;
+        for (byte b : v)
+            {
+            sum += b * b;
+            }
+        return sum;
+        }
+    }
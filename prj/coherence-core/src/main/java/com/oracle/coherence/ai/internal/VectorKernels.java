@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.internal;
+
+/**
+ * Distance kernels for {@code float} and {@code byte} (Int8) vectors.
+ * <p>
+ * This is the scalar implementation used on Java 17. The main purpose of this
+ * class is to isolate the distance calculations, so that Java-version-specific
+ * implementations (for example, the one using the Vector API on Java 21+) can
+ * replace it in the multi-release JAR.
+ *
+ * @since 25.09
+ */
+public class VectorKernels
+    {
+    /**
+     * Return {@code true} if the kernels are vectorized using SIMD instructions.
+     *
+     * @return {@code true} if the kernels are vectorized
+     */
+    public static boolean isVectorized()
+        {
+        return false;
+        }
+
+    /**
+     * Calculate the dot product of two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, float[] v2)
+        {
+        return ScalarKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two float vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return ScalarKernels.dotProduct(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, byte[] v2)
+        {
+        return ScalarKernels.dotProduct(v1, v2);
+        }
+
+    /**
+     * Calculate the dot product of two Int8 vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first Int8 vector
+     * @param of1   the offset of the first Int8 vector
+     * @param v2    the array containing the second Int8 vector
+     * @param of2   the offset of the second Int8 vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, int of1, byte[] v2, int of2, int cLen)
+        {
+        return ScalarKernels.dotProduct(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors.
+     *
+     * @param v1  the first float vector
+     * @param v2  the second float vector
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, float[] v2)
+        {
+        return ScalarKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two float vectors stored at
+     * the specified offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the squared L2 distance between the float vectors
+     */
+    public static double l2squared(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return ScalarKernels.l2squared(v1, of1, v2, of2, cLen);
+        }
+
+    /**
+     * Calculate the squared L2 distance between two Int8 vectors.
+     *
+     * @param v1  the first Int8 vector
+     * @param v2  the second Int8 vector
+     *
+     * @return the squared L2 distance between the Int8 vectors
+     */
+    public static double l2squared(byte[] v1, byte[] v2)
+        {
+        return ScalarKernels.l2squared(v1, v2);
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of a float vector.
+     *
+     * @param v  the float vector
+     *
+     * @return the sum of the squares of the elements of the float vector
+     */
+    public static double sumOfSquares(float[] v)
+        {
+        return ScalarKernels.sumOfSquares(v);
+        }
+
+    /**
+     * Calculate the sum of the squares of the elements of an Int8 vector.
+     *
+     * @param v  the Int8 vector
+     *
+     * @return the sum of the squares of the elements of the Int8 vector
+     */
+    public static double sumOfSquares(byte[] v)
+        {
+        return ScalarKernels.sumOfSquares(v);
+        }
+    }
@@ -0,0 +1,11 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+/**
+ * Contains internal classes supporting the Coherence AI vector database,
+ * not intended for use by applications.
+ */
+package com.oracle.coherence.ai.internal;
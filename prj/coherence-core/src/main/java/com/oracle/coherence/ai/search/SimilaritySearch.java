@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -15,13 +15,23 @@ import com.oracle.coherence.ai.VectorIndex;
 import com.oracle.coherence.ai.distance.CosineDistance;
 import com.oracle.coherence.ai.index.BinaryQuantIndex;
 
+import com.tangosol.internal.util.PartitionedStreamer;
+import com.tangosol.internal.util.VersionHelper;
+
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
 
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
 import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.PartitionedService;
+
+import com.tangosol.net.partition.PartitionSet;
+
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.Converter;
@@ -35,6 +45,9 @@ import com.tangosol.util.SortedBag;
 import com.tangosol.util.Streamer;
 import com.tangosol.util.ValueExtractor;
 
+import com.tangosol.util.filter.AlwaysFilter;
+import com.tangosol.util.filter.PartitionedFilter;
+
 import jakarta.json.bind.annotation.JsonbProperty;
 import jakarta.json.bind.annotation.JsonbTransient;
 
@@ -44,11 +57,15 @@ import java.io.IOException;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+
+import java.util.concurrent.atomic.AtomicLong;
+
 import java.util.stream.Collectors;
 
 /**
@@ -98,14 +115,17 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = maxResults;
         }
 
-    private SimilaritySearch(ValueExtractor<? super V, ? extends Vector<T>> extractor, Vector<T> vector, DistanceAlgorithm<T> algorithm, int nMaxResults, Filter<?> filter, boolean fBruteForce)
+    private SimilaritySearch(ValueExtractor<? super V, ? extends Vector<T>> extractor, Vector<T> vector, DistanceAlgorithm<T> algorithm,
+            int nMaxResults, Filter<?> filter, boolean fBruteForce, double dMaxDistance, AtomicLong atomicBound)
         {
-        m_extractor   = extractor;
-        m_vector      = vector;
-        m_algorithm   = algorithm;
-        m_nMaxResults = nMaxResults;
-        m_filter      = filter;
-        m_fBruteForce = fBruteForce;
+        m_extractor    = extractor;
+        m_vector       = vector;
+        m_algorithm    = algorithm;
+        m_nMaxResults  = nMaxResults;
+        m_filter       = filter;
+        m_fBruteForce  = fBruteForce;
+        m_dMaxDistance = dMaxDistance;
+        m_atomicBound  = atomicBound;
         }
 
     /**
@@ -145,6 +165,27 @@ public class SimilaritySearch<K, V, T>
         return this;
         }
 
+    /**
+     * Set the maximum distance of the results to return.
+     * <p/>
+     * Results that are further than the specified distance from the search
+     * vector are discarded by the storage members, rather than returned to
+     * the caller, so a reasonable limit reduces the amount of data that has
+     * to be sent over the network, and the number of entries whose distance
+     * has to be compared with the results collected so far.
+     *
+     * @param dMaxDistance  the maximum distance of the results to return
+     *
+     * @return this instance
+     *
+     * @since 25.09
+     */
+    public SimilaritySearch<K, V, T> maxDistance(double dMaxDistance)
+        {
+        m_dMaxDistance = dMaxDistance;
+        return this;
+        }
+
     public ValueExtractor<? super V, ? extends Vector<T>> getExtractor()
         {
         return m_extractor;
@@ -175,6 +216,85 @@ public class SimilaritySearch<K, V, T>
         return m_filter;
         }
 
+    /**
+     * Return the maximum distance of the results to return.
+     *
+     * @return the maximum distance of the results to return
+     *
+     * @since 25.09
+     */
+    public double getMaxDistance()
+        {
+        return m_dMaxDistance;
+        }
+
+    /**
+     * Execute this search against the specified map, processing its
+     * partitions in the specified number of waves.
+     * <p/>
+     * Each wave searches an equal share of the partitions, spread across all
+     * the storage members. Once a wave has found {@code maxResults} results,
+     * the distance of the furthest of them is sent to the storage members
+     * with the following waves as the {@link #maxDistance(double) maximum
+     * distance}, so that they only return results that could improve on the
+     * results found so far. This is most effective for searches with a large
+     * number of results, over a large number of members, where executing the
+     * search against all the partitions at once would return mostly results
+     * that are discarded by the caller.
+     * <p/>
+     * If the map is not a partitioned cache, or if a single wave is requested,
+     * the search is executed against all the partitions at once.
+     *
+     * @param map     the map to search
+     * @param cWaves  the number of waves to process the partitions in
+     *
+     * @return the search results
+     *
+     * @since 25.09
+     */
+    public List<QueryResult<K, V>> aggregateInWaves(NamedMap<K, V> map, int cWaves)
+        {
+        if (cWaves <= 1 || !(map.getService() instanceof PartitionedService))
+            {
+            return map.aggregate(this);
+            }
+
+        int                     cParts       = ((PartitionedService) map.getService()).getPartitionCount();
+        int                     nMaxResults  = m_nMaxResults;
+        double                  dMaxDistance = m_dMaxDistance;
+        List<QueryResult<K, V>> listResults  = new ArrayList<>();
+
+        cWaves = Math.min(cWaves, cParts);
+        for (int iWave = 0; iWave < cWaves; iWave++)
+            {
+            // interleave the partitions, so that each wave is spread across all
+            // the storage members
+            PartitionSet parts = new PartitionSet(cParts);
+            for (int nPart = iWave; nPart < cParts; nPart += cWaves)
+                {
+                parts.add(nPart);
+                }
+
+            SimilaritySearch<K, V, T> search = new SimilaritySearch<>(m_extractor, m_vector, m_algorithm,
+                    nMaxResults, m_filter, m_fBruteForce, dMaxDistance, new AtomicLong(BOUND_NONE));
+
+            listResults.addAll(map.aggregate(new PartitionedFilter<>(AlwaysFilter.INSTANCE(), parts), search));
+            listResults.sort(Comparator.comparingDouble(QueryResult::getDistance));
+
+            int cResults = listResults.size();
+            if (cResults >= nMaxResults)
+                {
+                listResults.subList(nMaxResults, cResults).clear();
+                if (nMaxResults > 0)
+                    {
+                    dMaxDistance = Math.min(dMaxDistance, listResults.get(nMaxResults - 1).getDistance());
+                    }
+                }
+            }
+
+        return listResults;
+        }
+
     @Override
     public int characteristics()
         {
@@ -184,7 +304,11 @@ public class SimilaritySearch<K, V, T>
     @Override
     public StreamingAggregator<K, V, List<BinaryQueryResult>, List<QueryResult<K, V>>> supply()
         {
-        return new SimilaritySearch<>(m_extractor, m_vector, m_algorithm, m_nMaxResults, m_filter, m_fBruteForce);
+        // the aggregators supplied for each partition share the same bound, so
+        // that the results of the partitions searched first are used to prune
+        // the results of the partitions searched later
+        return new SimilaritySearch<>(m_extractor, m_vector, m_algorithm, m_nMaxResults, m_filter, m_fBruteForce,
+                                      m_dMaxDistance, m_atomicBound);
         }
 
     @Override
@@ -196,16 +320,60 @@ public class SimilaritySearch<K, V, T>
             return bruteForce(streamer, null);
             }
 
-        // As we have BY_PARTITION characteristics, the streamer should contain entries from a single partition.
-        // This allows us to just look at a single entry to get the partition and then execute the query on
-        // the index for just that partition.
+        // A partitioned streamer over all entries of its partitions allows us to
+        // execute the query on the index of each streamed partition directly,
+        // without walking any of the entries
+        if (streamer instanceof PartitionedStreamer && streamer.isAllInclusive())
+            {
+            PartitionedStreamer<?> streamerPart = (PartitionedStreamer<?>) streamer;
+            BackingMapContext      ctx          = streamerPart.getBackingMapContext();
+            PartitionSet           parts        = streamerPart.getPartitions();
+
+            for (int iPart = parts.next(0); iPart >= 0; iPart = parts.next(iPart + 1))
+                {
+                if (!(ctx.getIndexMap(iPart).get(m_extractor) instanceof VectorIndex))
+                    {
+                    return bruteForce(streamer, null);
+                    }
+                }
+
+            for (int iPart = parts.next(0); iPart >= 0; iPart = parts.next(iPart + 1))
+                {
+                searchPartition(ctx, ctx.getIndexMap(iPart), m_vector);
+                }
+            return false;
+            }
+
+        // Otherwise, as we have BY_PARTITION characteristics, the streamer will usually contain entries from a
+        // single partition, which allows us to look at a single entry to get the partition and then execute the
+        // query on the index for just that partition. However, if the aggregation is not executed in parallel (for
+        // example, when the fork-join pool is disabled) the streamer will contain entries from all partitions,
+        // so we need to execute the query on the index of each partition we encounter exactly once.
         if (streamer.hasNext())
             {
-            InvocableMap.Entry<? extends K, ? extends V> entry = streamer.next();
-            if (!searchPartition(entry.asBinaryEntry(), m_vector))
+            InvocableMap.Entry<? extends K, ? extends V> entry       = streamer.next();
+            BinaryEntry<? extends K, ? extends V>        binaryEntry = entry.asBinaryEntry();
+            if (!searchPartition(binaryEntry, m_vector))
                 {
                 return bruteForce(streamer, entry);
                 }
+
+            int    nPartLast  = binaryEntry.getKeyPartition();
+            BitSet bsSearched = new BitSet();
+            bsSearched.set(nPartLast);
+
+            while (streamer.hasNext())
+                {
+                binaryEntry = streamer.next().asBinaryEntry();
+
+                int nPart = binaryEntry.getKeyPartition();
+                if (nPart != nPartLast && !bsSearched.get(nPart))
+                    {
+                    bsSearched.set(nPart);
+                    searchPartition(binaryEntry, m_vector);
+                    }
+                nPartLast = nPart;
+                }
             }
         return false; // we return false because we have done everything, we do not need to iterate over entries
         }
@@ -229,6 +397,11 @@ public class SimilaritySearch<K, V, T>
                 }
 
             double distance = m_algorithm.distance(m_vector, vector);
+            if (distance > getBound())
+                {
+                return true;
+                }
+
             BinaryQueryResult result = new BinaryQueryResult(distance, binaryKey, binaryEntry.getBinaryValue());
 
             m_results.add(result);
@@ -236,6 +409,10 @@ public class SimilaritySearch<K, V, T>
                 {
                 m_results.removeLast();
                 }
+            if (m_results.size() == m_nMaxResults)
+                {
+                updateBound(m_results.last().getDistance());
+                }
             }
 
         return true;
@@ -258,6 +435,11 @@ public class SimilaritySearch<K, V, T>
             m_results.add(it.next());
             m_results.removeLast();
             }
+
+        if (size > 0 && size == m_nMaxResults)
+            {
+            updateBound(m_results.last().getDistance());
+            }
         return true;
         }
 
@@ -291,6 +473,11 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = in.readInt(3);
         m_filter      = in.readObject(4);
         m_fBruteForce = in.readBoolean(5);
+
+        // added in 25.09; a zero distance is not written to the stream, so
+        // the presence flag distinguishes it from the absent property of an
+        // older member or client
+        m_dMaxDistance = in.readBoolean(6) ? in.readDouble(7) : Double.MAX_VALUE;
         }
 
     @Override
@@ -302,6 +489,10 @@ public class SimilaritySearch<K, V, T>
         out.writeInt(3, m_nMaxResults);
         out.writeObject(4, m_filter);
         out.writeBoolean(5, m_fBruteForce);
+
+        // added in 25.09
+        out.writeBoolean(6, true);
+        out.writeDouble(7, m_dMaxDistance);
         }
 
     @Override
@@ -313,6 +504,12 @@ public class SimilaritySearch<K, V, T>
         m_nMaxResults = in.readInt();
         m_filter      = ExternalizableHelper.readObject(in);
         m_fBruteForce = in.readBoolean();
+
+        // added in 25.09
+        m_dMaxDistance = in instanceof WrapperBufferInput.VersionAwareBufferInput &&
+                         ExternalizableHelper.isVersionCompatible(in, VersionHelper.VERSION_25_09)
+                         ? in.readDouble()
+                         : Double.MAX_VALUE;
         }
 
     @Override
@@ -324,6 +521,13 @@ public class SimilaritySearch<K, V, T>
         out.writeInt(m_nMaxResults);
         ExternalizableHelper.writeObject(out, m_filter);
         out.writeBoolean(m_fBruteForce);
+
+        // added in 25.09
+        if (out instanceof WrapperBufferOutput.VersionAwareBufferOutput &&
+            ExternalizableHelper.isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            out.writeDouble(m_dMaxDistance);
+            }
         }
 
     // ----- helper methods -------------------------------------------------
@@ -356,28 +560,45 @@ public class SimilaritySearch<K, V, T>
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected boolean searchPartition(BinaryEntry binaryEntry, Vector<T> vector)
         {
-        Map<ValueExtractor, MapIndex> mapIndex = binaryEntry.getIndexMap();
-        MapIndex                      index    = mapIndex.get(m_extractor);
+        return searchPartition(binaryEntry.getBackingMapContext(), binaryEntry.getIndexMap(), vector);
+        }
+
+    /**
+     * If a {@link VectorIndex} exists in the specified partition indexes, then use
+     * it to perform the KNN search.
+     *
+     * @param ctx       the {@link BackingMapContext} of the cache being searched
+     * @param mapIndex  the indexes of the partition to search
+     * @param vector    the target vector to find the nearest neighbours to
+     *
+     * @return  {@code true} if a {@link VectorIndex} was present and used for the search
+     *
+     * @since 25.09
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected boolean searchPartition(BackingMapContext ctx, Map<ValueExtractor, MapIndex> mapIndex, Vector<T> vector)
+        {
+        MapIndex index = mapIndex.get(m_extractor);
 
         if (index instanceof VectorIndex)
             {
             BinaryQueryResult[] results = ((VectorIndex) index).query(vector, m_nMaxResults, m_filter);
-            boolean             fRemove = false;
-            double              nBottom = m_results.isEmpty() ? Float.MAX_VALUE : m_results.last().getDistance();
+            boolean             fRemove = m_results.size() >= m_nMaxResults;
+            double              nBottom = fRemove ? m_results.last().getDistance() : Float.MAX_VALUE;
+            double              dBound  = getBound();
 
             for (BinaryQueryResult result : results)
                 {
                 if (index instanceof BinaryQuantIndex.BinaryQuantMapIndex)
                     {
                     // we need to replace Hamming distances with the actual distance before processing results
-                    BackingMapContext ctx   = binaryEntry.getBackingMapContext();
-                    Map.Entry         entry = ctx.getReadOnlyEntry(result.getKey());
+                    Map.Entry entry = ctx.getReadOnlyEntry(result.getKey());
 
                     result.setDistance(m_algorithm.distance(m_vector, InvocableMapHelper.extractFromEntry(m_extractor, entry)));
                     }
 
                 double nScore = result.getDistance();
-                if (nScore < nBottom)
+                if (nScore < nBottom && nScore <= dBound)
                     {
                     m_results.add(result);
                     if (fRemove || m_results.size() > m_nMaxResults)
@@ -388,12 +609,54 @@ public class SimilaritySearch<K, V, T>
                         }
                     }
                 }
+
+            if (fRemove || m_results.size() == m_nMaxResults)
+                {
+                updateBound(m_results.last().getDistance());
+                }
             return true;
             }
 
         return false;
         }
 
+    /**
+     * Return the distance beyond which results are discarded, which is the
+     * lower of the {@link #maxDistance(double) maximum distance} and the
+     * distance of the furthest result, among those collected by any of the
+     * aggregators sharing the bound, that already has {@code maxResults}
+     * closer results.
+     *
+     * @return the distance beyond which results are discarded
+     */
+    protected double getBound()
+        {
+        long lBound = m_atomicBound.get();
+        return lBound == BOUND_NONE
+               ? m_dMaxDistance
+               : Math.min(m_dMaxDistance, Double.longBitsToDouble(lBound));
+        }
+
+    /**
+     * Lower the shared bound to the specified distance, if it is closer than
+     * the current bound.
+     *
+     * @param dDistance  the distance of the furthest of {@code maxResults} results
+     */
+    protected void updateBound(double dDistance)
+        {
+        long lBound = m_atomicBound.get();
+        while (lBound == BOUND_NONE || dDistance < Double.longBitsToDouble(lBound))
+            {
+            long lWitness = m_atomicBound.compareAndExchange(lBound, Double.doubleToLongBits(dDistance));
+            if (lWitness == lBound)
+                {
+                break;
+                }
+            lBound = lWitness;
+            }
+        }
+
     public static class ResultConverter<K, V>
             implements Converter<BinaryQueryResult, QueryResult<K, V>>, Serializable
         {
@@ -411,6 +674,14 @@ public class SimilaritySearch<K, V, T>
         private final Converter<Binary, ?> f_converterBin;
         }
 
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The value of the shared bound before any aggregator has collected
+     * {@code maxResults} results.
+     */
+    protected static final long BOUND_NONE = Double.doubleToRawLongBits(Double.NaN);
+
     // ----- data members ---------------------------------------------------
 
     /**
@@ -450,6 +721,21 @@ public class SimilaritySearch<K, V, T>
     @JsonbProperty("filter")
     protected Filter<?> m_filter;
 
+    /**
+     * The maximum distance of the results to return.
+     */
+    @JsonbProperty("maxDistance")
+    protected double m_dMaxDistance = Double.MAX_VALUE;
+
+    /**
+     * The distance of the furthest result, among those collected by this
+     * aggregator and the aggregators {@link #supply() supplied} by the same
+     * parent, that already has {@code maxResults} closer results, as raw
+     * {@code double} bits, or {@link #BOUND_NONE} if there is no such result.
+     */
+    @JsonbTransient
+    protected transient AtomicLong m_atomicBound = new AtomicLong(BOUND_NONE);
+
     /**
      * The interim results for the aggregator.
      */
@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.util;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A simple implementation of Lloyd's k-means clustering algorithm for
+ * {@code float} vectors, using squared L2 distance.
+ * <p/>
+ * The clustering can be performed either on whole vectors, or on a contiguous
+ * range of dimensions within each vector (a sub-space), which allows the same
+ * implementation to be used to train both the coarse quantizers and the
+ * product quantization codebooks of a vector index.
+ * <p/>
+ * Centroids are returned as a single flattened {@code float[]} array, with
+ * centroid {@code i} stored at offset {@code i * cDim}.
+ *
+ * @since 25.09
+ */
+public class KMeans
+    {
+    /**
+     * Cluster the specified range of dimensions of the training vectors.
+     * <p/>
+     * If there are fewer training vectors than requested clusters, the
+     * number of centroids returned is equal to the number of vectors.
+     *
+     * @param aVectors     the training vectors
+     * @param of           the offset of the first dimension to cluster on
+     * @param cDim         the number of dimensions to cluster on
+     * @param cClusters    the requested number of clusters
+     * @param cIterations  the maximum number of iterations
+     * @param random       the random number generator used to choose the
+     *                     initial centroids
+     *
+     * @return the flattened centroids
+     */
+    public static float[] train(float[][] aVectors, int of, int cDim, int cClusters, int cIterations, Random random)
+        {
+        int cVectors = aVectors.length;
+        int k        = Math.min(cClusters, cVectors);
+        if (k == 0)
+            {
+            return new float[0];
+            }
+
+        // initialize the centroids using distinct randomly chosen vectors
+        float[] aflCentroids = new float[k * cDim];
+        int[]   anOrder      = new int[cVectors];
+        for (int i = 0; i < cVectors; i++)
+            {
+            anOrder[i] = i;
+            }
+        for (int i = 0; i < k; i++)
+            {
+            int j = i + random.nextInt(cVectors - i);
+            int n = anOrder[j];
+            anOrder[j] = anOrder[i];
+            anOrder[i] = n;
+            System.arraycopy(aVectors[n], of, aflCentroids, i * cDim, cDim);
+            }
+
+        int[]    anAssignment = new int[cVectors];
+        double[] adSum        = new double[k * cDim];
+        int[]    acCount      = new int[k];
+
+        for (int nIter = 0; nIter < cIterations; nIter++)
+            {
+            boolean fChanged = false;
+            for (int i = 0; i < cVectors; i++)
+                {
+                int n = nearest(aVectors[i], of, aflCentroids, k, cDim);
+                if (nIter == 0 || n != anAssignment[i])
+                    {
+                    anAssignment[i] = n;
+                    fChanged        = true;
+                    }
+                }
+            if (!fChanged)
+                {
+                break;
+                }
+
+            Arrays.fill(adSum, 0.0);
+            Arrays.fill(acCount, 0);
+            for (int i = 0; i < cVectors; i++)
+                {
+                float[] afl   = aVectors[i];
+                int     ofSum = anAssignment[i] * cDim;
+                for (int d = 0; d < cDim; d++)
+                    {
+                    adSum[ofSum + d] += afl[of + d];
+                    }
+                acCount[anAssignment[i]]++;
+                }
+
+            for (int c = 0; c < k; c++)
+                {
+                int ofCentroid = c * cDim;
+                if (acCount[c] == 0)
+                    {
+                    // re-seed an empty cluster using a random vector
+                    System.arraycopy(aVectors[random.nextInt(cVectors)], of, aflCentroids, ofCentroid, cDim);
+                    }
+                else
+                    {
+                    for (int d = 0; d < cDim; d++)
+                        {
+                        aflCentroids[ofCentroid + d] = (float) (adSum[ofCentroid + d] / acCount[c]);
+                        }
+                    }
+                }
+            }
+
+        return aflCentroids;
+        }
+
+    /**
+     * Return the index of the centroid nearest to the specified range of
+     * dimensions of a vector.
+     *
+     * @param aflVector     the vector
+     * @param of            the offset of the first dimension
+     * @param aflCentroids  the flattened centroids
+     * @param cCentroids    the number of centroids
+     * @param cDim          the number of dimensions
+     *
+     * @return the index of the nearest centroid
+     */
+    public static int nearest(float[] aflVector, int of, float[] aflCentroids, int cCentroids, int cDim)
+        {
+        int    nBest = 0;
+        double dBest = Double.MAX_VALUE;
+        for (int c = 0; c < cCentroids; c++)
+            {
+            double d = Vectors.l2squared(aflVector, of, aflCentroids, c * cDim, cDim);
+            if (d < dBest)
+                {
+                dBest = d;
+                nBest = c;
+                }
+            }
+        return nBest;
+        }
+    }
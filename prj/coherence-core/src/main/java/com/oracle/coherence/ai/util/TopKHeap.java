@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.ai.util;
+
+import java.util.Arrays;
+
+/**
+ * A fixed capacity heap that retains the {@code k} entries with the smallest
+ * distances offered to it.
+ * <p/>
+ * Entries are represented by an {@code int} identifier and a {@code float}
+ * distance stored in parallel primitive arrays, so once the heap has been
+ * created no further allocation happens while candidates are being offered.
+ * Internally this is a max-heap on distance, which allows a candidate to be
+ * rejected with a single comparison against the current worst retained
+ * distance (see {@link #threshold()}).
+ * <p/>
+ * This class is not thread safe.
+ *
+ * @since 25.09
+ */
+public class TopKHeap
+    {
+    /**
+     * Create a {@link TopKHeap}.
+     *
+     * @param k  the maximum number of entries to retain
+     */
+    public TopKHeap(int k)
+        {
+        if (k < 0)
+            {
+            throw new IllegalArgumentException("k must not be negative: " + k);
+            }
+        f_anId        = new int[k];
+        f_aflDistance = new float[k];
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the maximum number of entries this heap can retain.
+     *
+     * @return the maximum number of entries this heap can retain
+     */
+    public int capacity()
+        {
+        return f_anId.length;
+        }
+
+    /**
+     * Return the number of entries currently retained.
+     *
+     * @return the number of entries currently retained
+     */
+    public int size()
+        {
+        return m_cSize;
+        }
+
+    /**
+     * Return {@code true} if this heap does not contain any entries.
+     *
+     * @return {@code true} if this heap does not contain any entries
+     */
+    public boolean isEmpty()
+        {
+        return m_cSize == 0;
+        }
+
+    /**
+     * Return {@code true} if this heap has reached its capacity.
+     *
+     * @return {@code true} if this heap has reached its capacity
+     */
+    public boolean isFull()
+        {
+        return m_cSize == f_anId.length;
+        }
+
+    /**
+     * Return the distance a candidate must be strictly less than in order
+     * to be retained by this heap.
+     * <p/>
+     * Until the heap is full this is {@link Float#POSITIVE_INFINITY}, after
+     * that it is the largest retained distance.
+     *
+     * @return the distance a candidate must be less than to be retained
+     */
+    public float threshold()
+        {
+        return isFull()
+               ? (m_cSize == 0 ? Float.NEGATIVE_INFINITY : f_aflDistance[0])
+               : Float.POSITIVE_INFINITY;
+        }
+
+    // ----- heap operations ------------------------------------------------
+
+    /**
+     * Return {@code true} if a candidate with the specified distance would be
+     * retained if it was {@link #offer(int, float) offered} to this heap.
+     *
+     * @param flDistance  the distance of the candidate
+     *
+     * @return {@code true} if a candidate with the specified distance
+     *         would be retained
+     */
+    public boolean accepts(float flDistance)
+        {
+        return flDistance < threshold();
+        }
+
+    /**
+     * Offer a candidate to this heap.
+     *
+     * @param nId         the identifier of the candidate
+     * @param flDistance  the distance of the candidate
+     *
+     * @return {@code true} if the candidate was retained
+     */
+    public boolean offer(int nId, float flDistance)
+        {
+        int[]   anId        = f_anId;
+        float[] aflDistance = f_aflDistance;
+        int     cSize       = m_cSize;
+
+        if (cSize < anId.length)
+            {
+            // sift up
+            int i = cSize;
+            while (i > 0)
+                {
+                int iParent = (i - 1) >>> 1;
+                if (aflDistance[iParent] >= flDistance)
+                    {
+                    break;
+                    }
+                anId[i]        = anId[iParent];
+                aflDistance[i] = aflDistance[iParent];
+                i = iParent;
+                }
+            anId[i]        = nId;
+            aflDistance[i] = flDistance;
+            m_cSize        = cSize + 1;
+            return true;
+            }
+
+        if (cSize == 0 || flDistance >= aflDistance[0])
+            {
+            return false;
+            }
+
+        siftDown(nId, flDistance, cSize);
+        return true;
+        }
+
+    /**
+     * Remove all entries from this heap, allowing it to be reused.
+     */
+    public void clear()
+        {
+        m_cSize = 0;
+        }
+
+    /**
+     * Return the identifiers of the retained entries, ordered from the
+     * smallest to the largest distance.
+     * <p/>
+     * The corresponding distances are written to {@code aflDistance},
+     * if it is not {@code null}.
+     * <p/>
+     * This method empties the heap.
+     *
+     * @param aflDistance  an optional array of at least {@link #size()}
+     *                     elements to receive the sorted distances
+     *
+     * @return the identifiers of the retained entries, ordered by distance
+     */
+    public int[] drainSorted(float[] aflDistance)
+        {
+        int[]   anId     = f_anId;
+        float[] aflHeap  = f_aflDistance;
+        int     cSize    = m_cSize;
+        int[]   anResult = new int[cSize];
+
+        // repeatedly move the current maximum to the end of the result
+        for (int i = cSize - 1; i >= 0; i--)
+            {
+            anResult[i] = anId[0];
+            if (aflDistance != null)
+                {
+                aflDistance[i] = aflHeap[0];
+                }
+
+            int   nLastId = anId[i];
+            float flLast  = aflHeap[i];
+            m_cSize = i;
+            if (i > 0)
+                {
+                siftDown(nLastId, flLast, i);
+                }
+            }
+
+        return anResult;
+        }
+
+    @Override
+    public String toString()
+        {
+        return "TopKHeap{" +
+               "capacity=" + f_anId.length +
+               ", size=" + m_cSize +
+               ", ids=" + Arrays.toString(Arrays.copyOf(f_anId, m_cSize)) +
+               '}';
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Replace the root of the heap with the specified entry and restore the
+     * heap property.
+     *
+     * @param nId         the identifier of the entry
+     * @param flDistance  the distance of the entry
+     * @param cSize       the number of entries in the heap
+     */
+    private void siftDown(int nId, float flDistance, int cSize)
+        {
+        int[]   anId        = f_anId;
+        float[] aflDistance = f_aflDistance;
+        int     i           = 0;
+        int     iHalf       = cSize >>> 1;
+
+        while (i < iHalf)
+            {
+            int iChild = (i << 1) + 1;
+            int iRight = iChild + 1;
+            if (iRight < cSize && aflDistance[iRight] > aflDistance[iChild])
+                {
+                iChild = iRight;
+                }
+            if (flDistance >= aflDistance[iChild])
+                {
+                break;
+                }
+            anId[i]        = anId[iChild];
+            aflDistance[i] = aflDistance[iChild];
+            i = iChild;
+            }
+
+        anId[i]        = nId;
+        aflDistance[i] = flDistance;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The identifiers of the retained entries, in heap order.
+     */
+    private final int[] f_anId;
+
+    /**
+     * The distances of the retained entries, in heap order.
+     */
+    private final float[] f_aflDistance;
+
+    /**
+     * The number of retained entries.
+     */
+    private int m_cSize;
+    }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -10,10 +10,19 @@ package com.oracle.coherence.ai.util;
 import com.oracle.coherence.ai.BitVector;
 import com.oracle.coherence.ai.Vector;
 
+import com.oracle.coherence.ai.internal.VectorKernels;
+
+import java.nio.LongBuffer;
+
 import java.util.BitSet;
 
 /**
  * Utility methods for supporting vectors.
+ * <p/>
+ * The {@code float} and Int8 distance calculations are delegated to
+ * kernels that use the Vector API (SIMD) when running on Java 21 or later
+ * with the {@code jdk.incubator.vector} module available, and fall back to
+ * scalar loops otherwise.
  */
 @SuppressWarnings("DuplicatedCode")
 public class Vectors
@@ -39,12 +48,7 @@ public class Vectors
      */
     public static double magnitude(byte[] v)
         {
-        double magnitude = 0;
-        for (byte b : v)
-            {
-            magnitude += b * b;
-            }
-        return Math.sqrt(magnitude);
+        return Math.sqrt(VectorKernels.sumOfSquares(v));
         }
 
     /**
@@ -56,12 +60,7 @@ public class Vectors
      */
     public static double magnitude(float[] v)
         {
-        double magnitude = 0;
-        for (float f : v)
-            {
-            magnitude += f * f;
-            }
-        return Math.sqrt(magnitude);
+        return Math.sqrt(VectorKernels.sumOfSquares(v));
         }
 
     /**
@@ -89,13 +88,24 @@ public class Vectors
      */
     public static double dotProduct(byte[] v1, byte[] v2)
         {
-        double dotProduct = 0.0;
+        return VectorKernels.dotProduct(v1, v2);
+        }
 
-        for (int i = 0; i < v1.length; i++)
-            {
-            dotProduct += v1[i] * v2[i];
-            }
-        return dotProduct;
+    /**
+     * Calculate the dot product of two Int8 vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first Int8 vector
+     * @param of1   the offset of the first Int8 vector
+     * @param v2    the array containing the second Int8 vector
+     * @param of2   the offset of the second Int8 vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the Int8 vectors
+     */
+    public static double dotProduct(byte[] v1, int of1, byte[] v2, int of2, int cLen)
+        {
+        return VectorKernels.dotProduct(v1, of1, v2, of2, cLen);
         }
 
     /**
@@ -108,13 +118,24 @@ public class Vectors
      */
     public static double dotProduct(float[] v1, float[] v2)
         {
-        double dotProduct = 0.0;
+        return VectorKernels.dotProduct(v1, v2);
+        }
 
-        for (int i = 0; i < v1.length; i++)
-            {
-            dotProduct += v1[i] * v2[i];
-            }
-        return dotProduct;
+    /**
+     * Calculate the dot product of two float vectors stored at the specified
+     * offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the dot product of the float vectors
+     */
+    public static double dotProduct(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return VectorKernels.dotProduct(v1, of1, v2, of2, cLen);
         }
 
     /**
@@ -142,14 +163,7 @@ public class Vectors
      */
     public static double l2squared(byte[] v1, byte[] v2)
         {
-        double l2squared = 0.0;
-
-        for (int i = 0; i < v1.length; i++)
-            {
-            int n = v1[i] - v2[i];
-            l2squared += n ^ 2;
-            }
-        return l2squared;
+        return VectorKernels.l2squared(v1, v2);
         }
 
     /**
@@ -162,14 +176,24 @@ public class Vectors
      */
     public static double l2squared(float[] v1, float[] v2)
         {
-        double l2squared = 0.0;
+        return VectorKernels.l2squared(v1, v2);
+        }
 
-        for (int i = 0; i < v1.length; i++)
-            {
-            float f = v1[i] - v2[i];
-            l2squared += (f * f);
-            }
-        return l2squared;
+    /**
+     * Calculate the L2 Squared value for two float vectors stored at the
+     * specified offsets within larger arrays.
+     *
+     * @param v1    the array containing the first float vector
+     * @param of1   the offset of the first float vector
+     * @param v2    the array containing the second float vector
+     * @param of2   the offset of the second float vector
+     * @param cLen  the number of dimensions
+     *
+     * @return the L2 Squared value for the two float vectors
+     */
+    public static double l2squared(float[] v1, int of1, float[] v2, int of2, int cLen)
+        {
+        return VectorKernels.l2squared(v1, of1, v2, of2, cLen);
         }
 
     /**
@@ -306,27 +330,69 @@ public class Vectors
         long[] ax = x.toLongArray();
         long[] ay = y.toLongArray();
 
-        int dist = 0;
-        for (int i = 0; i < ax.length; i++)
+        // toLongArray() trims trailing zero words, so the arrays
+        // may have different lengths even if the sizes match
+        int cMin = Math.min(ax.length, ay.length);
+        int dist = hammingDistance(ax, 0, ay, 0, cMin);
+
+        for (int i = cMin; i < ax.length; i++)
             {
-            dist += d(ax[i], ay[i]);
+            dist += Long.bitCount(ax[i]);
+            }
+        for (int i = cMin; i < ay.length; i++)
+            {
+            dist += Long.bitCount(ay[i]);
             }
 
         return dist;
         }
 
-    private static int d(long x, long y)
+    /**
+     * Calculate the hamming distance between two bit vectors packed into
+     * {@code long} arrays.
+     * <p/>
+     * This method allows the vectors to be stored at arbitrary offsets within
+     * larger arrays (slabs), so that many vectors can be packed contiguously
+     * and compared without allocation.
+     *
+     * @param ax      the array containing the first bit vector
+     * @param ofX     the offset of the first bit vector within {@code ax}
+     * @param ay      the array containing the second bit vector
+     * @param ofY     the offset of the second bit vector within {@code ay}
+     * @param cWords  the number of {@code long} words in each bit vector
+     *
+     * @return  the hamming distance between the two vectors
+     */
+    public static int hammingDistance(long[] ax, int ofX, long[] ay, int ofY, int cWords)
         {
         int dist = 0;
-        long val = x ^ y;
-
-        // Count the number of set bits (Knuth's algorithm)
-        while (val != 0)
+        for (int i = 0; i < cWords; i++)
             {
-            ++dist;
-            val &= val - 1;
+            dist += Long.bitCount(ax[ofX + i] ^ ay[ofY + i]);
             }
+        return dist;
+        }
 
+    /**
+     * Calculate the hamming distance between a bit vector packed into a
+     * {@code long} array and one packed into a {@link LongBuffer}, such as
+     * an off-heap slab.
+     *
+     * @param ax      the array containing the first bit vector
+     * @param ofX     the offset of the first bit vector within the array
+     * @param bufY    the buffer containing the second bit vector
+     * @param ofY     the index of the second bit vector within the buffer
+     * @param cWords  the number of {@code long} words in each bit vector
+     *
+     * @return  the hamming distance between the two vectors
+     */
+    public static int hammingDistance(long[] ax, int ofX, LongBuffer bufY, int ofY, int cWords)
+        {
+        int dist = 0;
+        for (int i = 0; i < cWords; i++)
+            {
+            dist += Long.bitCount(ax[ofX + i] ^ bufY.get(ofY + i));
+            }
         return dist;
         }
 
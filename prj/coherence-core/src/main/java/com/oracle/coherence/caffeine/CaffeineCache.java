@@ -43,6 +43,8 @@ import java.util.Spliterator;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -57,11 +59,15 @@ import static java.util.Objects.requireNonNull;
  * <p>
  * This implementation does not support providing an {@link EvictionPolicy} or
  * {@link EvictionApprover}, and always uses the TinyLFU policy. The maximum
- * size is set by {@link #setHighUnits(int)} and the low watermark, {@link
- * #setLowUnits(int)}, has no effect. Cache entries do not support {@code
- * touch()}, {@code getTouchCount()}, {@code getLastTouchMillis()}, or {@code
- * setUnits(c)}. By default, the cache is unbounded and will not be limited by
- * size or expiration until set.
+ * size is set by {@link #setHighUnits(int)}. If the low watermark, {@link
+ * #setLowUnits(int)}, is set below the maximum size, then once the cache has
+ * evicted entries to stay within the maximum size, it is pruned down to the
+ * low watermark by evicting the entries the TinyLFU policy is least likely to
+ * retain, like a {@link LocalCache} would. Cache entries do not support {@code
+ * getTouchCount()}, {@code getLastTouchMillis()}, or {@code setUnits(c)}, and
+ * {@code touch()} only records an access of the entry with the eviction
+ * policy. By default, the cache is unbounded and will not be limited by size
+ * or expiration until set.
  * <p>
  * Like {@code ConcurrentHashMap} but unlike {@code HashMap} and {@code
  * LocalCache}, this cache does not support {@code null} keys or values.
@@ -86,7 +92,7 @@ public class CaffeineCache
         {
         f_cache = Caffeine.newBuilder()
                 .ticker(() -> TimeUnit.MILLISECONDS.toNanos(getCurrentTimeMillis()))
-                .evictionListener(this::notifyEvicted)
+                .evictionListener(this::onEvicted)
                 .expireAfter(new ExpireAfterWrite())
                 .maximumWeight(Long.MAX_VALUE)
                 .executor(Runnable::run)
@@ -189,6 +195,7 @@ public class CaffeineCache
         }, duration);
 
         f_stats.registerPut(0L);
+        prune();
         return aoPrevious[0];
         }
 
@@ -211,18 +218,22 @@ public class CaffeineCache
     public synchronized void setHighUnits(int units)
         {
         f_eviction.setMaximum(toInternalUnits(units, getUnitFactor()));
+        prune();
         }
 
     @Override
     public int getLowUnits()
         {
-        return getHighUnits();
+        int cHighUnits = getHighUnits();
+        int cLowUnits  = m_cLowUnits;
+
+        return cLowUnits <= 0 || cLowUnits >= cHighUnits ? cHighUnits : cLowUnits;
         }
 
     @Override
     public void setLowUnits(int units)
         {
-        // no-op; not needed or supported by Caffeine
+        m_cLowUnits = Math.max(units, 0);
         }
 
     @Override
@@ -316,9 +327,12 @@ public class CaffeineCache
     @Override
     public void evict(Object oKey)
         {
+        // an expired entry is not visible to computeIfPresent and is removed
+        // by the cache itself, which notifies the listeners that it expired;
+        // like LocalCache, flag the event as expired only in that case
         f_cache.asMap().computeIfPresent(oKey, (k, oldValue) ->
             {
-            notifyEvicted(k, oldValue, RemovalCause.EXPIRED);
+            notifyEvicted(k, oldValue, RemovalCause.EXPLICIT);
             return null;
             });
         }
@@ -333,6 +347,7 @@ public class CaffeineCache
     public void evict()
         {
         f_cache.cleanUp();
+        prune();
         }
 
     @Override
@@ -515,7 +530,13 @@ public class CaffeineCache
             afAdded[0] = true;
             return oValue;
             });
-        return afAdded[0] ? null : oResult;
+
+        if (afAdded[0])
+            {
+            prune();
+            return null;
+            }
+        return oResult;
         }
 
     @Override
@@ -616,6 +637,7 @@ public class CaffeineCache
         if (afComputed[0])
             {
             f_stats.registerMiss();
+            prune();
             }
         else
             {
@@ -647,7 +669,7 @@ public class CaffeineCache
         {
         requireNonNull(remappingFunction);
 
-        return f_cache.asMap().compute(oKey, (k, oValueOld) ->
+        Object oResult = f_cache.asMap().compute(oKey, (k, oValueOld) ->
             {
             Object oValueNew = remappingFunction.apply(oKey, oValueOld);
             if (oValueOld == null)
@@ -668,6 +690,9 @@ public class CaffeineCache
             notifyUpdate(oKey, oValueOld, oValueNew);
             return oValueNew;
             });
+
+        prune();
+        return oResult;
         }
 
     @Override
@@ -676,7 +701,7 @@ public class CaffeineCache
         requireNonNull(oValue);
         requireNonNull(remappingFunction);
 
-        return f_cache.asMap().compute(oKey, (k, oValueOld) ->
+        Object oResult = f_cache.asMap().compute(oKey, (k, oValueOld) ->
             {
             if (oValueOld == null)
                 {
@@ -694,6 +719,9 @@ public class CaffeineCache
             notifyUpdate(oKey, oValueOld, oValueNew);
             return oValueNew;
             });
+
+        prune();
+        return oResult;
         }
 
     @Override
@@ -759,6 +787,75 @@ public class CaffeineCache
         return m_unitCalculator.calculateUnits(oKey, oValue);
         }
 
+    /**
+     * Evict the entries the TinyLFU policy is least likely to retain until the
+     * size of the cache drops to the {@link #getLowUnits() low watermark}, if
+     * the cache has evicted entries to stay within the high watermark since
+     * it was last pruned.
+     * <p>
+     * Only one thread prunes the cache at a time; the other threads do not
+     * wait for it.
+     *
+     * @since 25.09
+     */
+    private void prune()
+        {
+        if (m_fPrune && f_fPruning.compareAndSet(false, true))
+            {
+            try
+                {
+                m_fPrune = false;
+
+                long cExcess = f_eviction.weightedSize().getAsLong()
+                               - toInternalUnits(getLowUnits(), getUnitFactor());
+                if (cExcess > 0L)
+                    {
+                    long          ldtStart = getCurrentTimeMillis();
+                    ConcurrentMap mapCache = f_cache.asMap();
+
+                    for (Map.Entry entry : f_eviction.coldestWeighted(cExcess).entrySet())
+                        {
+                        Object oValue = entry.getValue();
+
+                        mapCache.computeIfPresent(entry.getKey(), (k, oValueCurrent) ->
+                            {
+                            if (oValueCurrent == oValue)
+                                {
+                                notifyEvicted(k, oValueCurrent, RemovalCause.SIZE);
+                                return null;
+                                }
+                            return oValueCurrent;
+                            });
+                        }
+
+                    f_stats.registerCachePrune(ldtStart);
+                    }
+                }
+            finally
+                {
+                f_fPruning.set(false);
+                }
+            }
+        }
+
+    /**
+     * Called by the cache when an entry is automatically removed.
+     *
+     * @param oKey         the key
+     * @param oValueOld    the old value
+     * @param removalCause the eviction type (size, expired)
+     *
+     * @since 25.09
+     */
+    private void onEvicted(Object oKey, Object oValueOld, RemovalCause removalCause)
+        {
+        if (removalCause == RemovalCause.SIZE && m_cLowUnits > 0)
+            {
+            m_fPrune = true;
+            }
+        notifyEvicted(oKey, oValueOld, removalCause);
+        }
+
     /**
      * Fires a cache event to notify listeners that the entry was inserted.
      *
@@ -1262,6 +1359,8 @@ public class CaffeineCache
         @Override
         public void touch()
             {
+            // record the access with the eviction policy
+            f_cache.getIfPresent(getKey());
             }
 
         @Override
@@ -1369,6 +1468,28 @@ public class CaffeineCache
      */
     private volatile int m_nUnitFactor;
 
+    /**
+     * The low watermark, in external units; zero if not set.
+     *
+     * @since 25.09
+     */
+    private volatile int m_cLowUnits;
+
+    /**
+     * Flag that indicates whether the cache has evicted entries to stay
+     * within the high watermark since it was last pruned.
+     *
+     * @since 25.09
+     */
+    private volatile boolean m_fPrune;
+
+    /**
+     * Flag that indicates whether a thread is pruning the cache.
+     *
+     * @since 25.09
+     */
+    private final AtomicBoolean f_fPruning = new AtomicBoolean();
+
     /**
      * The {@link Map#values()} view.
      */
@@ -266,6 +266,23 @@ public class ClassFileSchemaSource
         return this;
         }
 
+    /**
+     * Set the class loader that should be used to load class files and JAR
+     * files that do not exist on the file system.
+     *
+     * @param loader  the class loader to load the resources with; if
+     *                {@code null}, the context class loader is used
+     *
+     * @return this {@code ClassFileSchemaSource}
+     *
+     * @since 25.09
+     */
+    public ClassFileSchemaSource withClassLoader(ClassLoader loader)
+        {
+        m_loader = loader;
+        return this;
+        }
+
     // ---- SchemaSource implementation -------------------------------------
 
     @Override
@@ -376,7 +393,7 @@ public class ClassFileSchemaSource
                 sJarFileName = sJarFileName.replace('\\', '/');
                 }
 
-            jarIn = Classes.getContextClassLoader(this).getResourceAsStream(sJarFileName);
+            jarIn = getClassLoader().getResourceAsStream(sJarFileName);
             }
 
         if (jarIn != null)
@@ -432,7 +449,7 @@ public class ClassFileSchemaSource
                 sFilename = sFilename.replace('\\', '/');
                 }
 
-            try (InputStream in = Classes.getContextClassLoader(this).getResourceAsStream(sFilename))
+            try (InputStream in = getClassLoader().getResourceAsStream(sFilename))
                 {
                 if (in != null)
                     {
@@ -498,6 +515,17 @@ public class ClassFileSchemaSource
             }
         }
 
+    /**
+     * Return the class loader to load resources with.
+     *
+     * @return the class loader to load resources with
+     */
+    protected ClassLoader getClassLoader()
+        {
+        ClassLoader loader = m_loader;
+        return loader == null ? Classes.getContextClassLoader(this) : loader;
+        }
+
     /**
      * Return {@code true} if the current pass number is equal to the specified
      * expected pass number.
@@ -697,6 +725,7 @@ public class ClassFileSchemaSource
     private Predicate<ClassNode> m_typeFilter            = t -> true;
     private Predicate<FieldNode> m_propertyFilter        = t -> (t.access & EXCLUDED_FIELDS) == 0;
     private boolean              m_fMissingPropsAsObject = false;
+    private ClassLoader          m_loader;
 
     // name transformers
     private NameTransformer m_namespaceTransformer =
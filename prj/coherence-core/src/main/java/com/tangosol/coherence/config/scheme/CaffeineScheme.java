@@ -71,6 +71,7 @@ public class CaffeineScheme
 
         Units highUnits          = getHighUnits(resolver);
         long  cHighUnits         = highUnits.getUnitCount();
+        long  cLowUnits          = getLowUnits(resolver).getUnitCount();
         int   nUnitFactor        = getUnitFactor(resolver);
         int   cExpiryDelayMillis = (int) getExpiryDelay(resolver).as(Magnitude.MILLI);
 
@@ -78,6 +79,7 @@ public class CaffeineScheme
         while (cHighUnits >= Integer.MAX_VALUE)
             {
             cHighUnits  /= 1024;
+            cLowUnits   /= 1024;
             nUnitFactor *= 1024;
             }
 
@@ -133,6 +135,7 @@ public class CaffeineScheme
                                            ? LocalCache.INSTANCE_BINARY : null;
         UnitCalculatorBuilder bldrUnitCalculator = getUnitCalculatorBuilder();
 
+        cache.setLowUnits((int) cLowUnits);
         cache.setUnitFactor(nUnitFactor);
         cache.setUnitCalculator(bldrUnitCalculator == null
                                 ? defaultCalculator : bldrUnitCalculator.realize(resolver, loader, null));
@@ -197,6 +200,38 @@ public class CaffeineScheme
         m_exprHighUnits = expr;
         }
 
+    /**
+     * Return the lowest number of units that a cache is pruned down to once
+     * it has evicted entries to stay within the high units. When pruning
+     * occurs, the entries the TinyLFU policy is least likely to retain are
+     * evicted until this size. Legal values are positive integers or zero.
+     * Zero implies the default, which is the high-units setting, so that the
+     * cache only evicts entries to stay within the high units.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the low units
+     *
+     * @since 25.09
+     */
+    public Units getLowUnits(ParameterResolver resolver)
+        {
+        return m_exprLowUnits.evaluate(resolver);
+        }
+
+    /**
+     * Set the low units.
+     *
+     * @param expr  the low units expression
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setLowUnits(Expression<Units> expr)
+        {
+        m_exprLowUnits = expr;
+        }
+
     /**
      * Return the UnitCalculatorBuilder used to build a UnitCalculator.
      *
@@ -279,6 +314,13 @@ public class CaffeineScheme
      */
     private Expression<Units> m_exprHighUnits = new LiteralExpression<Units>(new Units(0));
 
+    /**
+     * The low units.
+     *
+     * @since 25.09
+     */
+    private Expression<Units> m_exprLowUnits = new LiteralExpression<Units>(new Units(0));
+
     /**
      * The unit factor.
      */
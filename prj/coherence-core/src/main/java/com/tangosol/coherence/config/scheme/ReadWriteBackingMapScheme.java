@@ -183,12 +183,18 @@ public class ReadWriteBackingMapScheme
             rwbm = bldrCustom.realize(resolver, loader, listArgs);
             }
 
+        rwbm.setWriteBehindThreadCount(getWriteBehindThreadCount(resolver));
+        rwbm.setPreloadThreadCount(getPreloadThreadCount(resolver));
+
         // Read/Write Threads will have the cache name appended to the thread name
         rwbm.setCacheName(dependencies.getCacheName());
         rwbm.setRethrowExceptions(isRollbackCacheStoreFailures(resolver));
         rwbm.setWriteBatchFactor(getWriteBatchFactor(resolver));
         rwbm.setWriteRequeueThreshold(getWriteRequeueThreshold(resolver));
         rwbm.setWriteMaxBatchSize(getWriteMaxBatchSize(resolver));
+        rwbm.setWriteBatchAdaptive(isWriteBatchAdaptive(resolver));
+        rwbm.setReadMaxBatchSize(getReadMaxBatchSize(resolver));
+        rwbm.setReadMaxPendingBatches(getReadMaxPendingBatches(resolver));
 
         if (cWriteBehindMillis != 1000L * cWriteBehindSec)
             {
@@ -402,6 +408,68 @@ public class ReadWriteBackingMapScheme
         m_exprRefreshAheadFactor = expr;
         }
 
+    /**
+     * Return the maximum number of keys the refresh-ahead thread loads from
+     * the CacheStore in a single loadAll operation. If greater than one,
+     * concurrent read-through misses are also coalesced into loadAll
+     * operations of up to the same size, unless "load" operation bundling is
+     * configured explicitly. The default value is 1, which loads the keys one
+     * at a time.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the read maximum batch size
+     *
+     * @since 25.09
+     */
+    public int getReadMaxBatchSize(ParameterResolver resolver)
+        {
+        return m_exprReadMaxBatchSize.evaluate(resolver);
+        }
+
+    /**
+     * Set the read max batch size.
+     *
+     * @param expr  the read max batch size
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setReadMaxBatchSize(Expression<Integer> expr)
+        {
+        m_exprReadMaxBatchSize = expr;
+        }
+
+    /**
+     * Return the maximum number of asynchronous refresh-ahead loadAll
+     * operations that may be pending against a NonBlockingEntryStore at the
+     * same time. The default value is 4. This value has no effect unless the
+     * read-max-batch-size is greater than one.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the maximum number of pending refresh-ahead batches
+     *
+     * @since 25.09
+     */
+    public int getReadMaxPendingBatches(ParameterResolver resolver)
+        {
+        return m_exprReadMaxPendingBatches.evaluate(resolver);
+        }
+
+    /**
+     * Set the maximum number of pending refresh-ahead batches.
+     *
+     * @param expr  the maximum number of pending refresh-ahead batches
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setReadMaxPendingBatches(Expression<Integer> expr)
+        {
+        m_exprReadMaxPendingBatches = expr;
+        }
+
     /**
      * Return true if exceptions caught during synchronous cachestore operations
      * are rethrown to the calling thread (possibly over the network to a remote
@@ -536,6 +604,36 @@ public class ReadWriteBackingMapScheme
         m_exprWriteMaxBatchSize = expr;
         }
 
+    /**
+     * Returns true if the size of the write-behind batches and the write-batch
+     * factor adapt to the latency and throughput of the CacheStore, within the
+     * bounds of the write-max-batch-size and the write-batch-factor.
+     * This value has no effect if write behind is disabled.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return true if the write-behind batches are adaptive
+     *
+     * @since 25.09
+     */
+    public boolean isWriteBatchAdaptive(ParameterResolver resolver)
+        {
+        return m_exprWriteBatchAdaptive.evaluate(resolver);
+        }
+
+    /**
+     * Set the write-batch-adaptive flag.
+     *
+     * @param expr  true if the write-behind batches are adaptive
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setWriteBatchAdaptive(Expression<Boolean> expr)
+        {
+        m_exprWriteBatchAdaptive = expr;
+        }
+
     /**
      * Return the size of the write-behind queue at which additional actions
      * could be taken.  If zero, write-behind re-queuing is disabled. Otherwise,
@@ -592,6 +690,64 @@ public class ReadWriteBackingMapScheme
         m_exprWriteBehindRemove = expr;
         }
 
+    /**
+     * Return the number of threads that write the entries of the write-behind
+     * queue to the CacheStore, each of them handling a subset of the partitions.
+     * The default value is 1. This value has no effect if write behind is disabled.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the number of write-behind threads
+     *
+     * @since 25.09
+     */
+    public int getWriteBehindThreadCount(ParameterResolver resolver)
+        {
+        return m_exprWriteBehindThreadCount.evaluate(resolver);
+        }
+
+    /**
+     * Set the number of write-behind threads.
+     *
+     * @param expr  the number of write-behind threads
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setWriteBehindThreadCount(Expression<Integer> expr)
+        {
+        m_exprWriteBehindThreadCount = expr;
+        }
+
+    /**
+     * Return the number of threads each storage member uses to preload the
+     * entries of the partitions it owns from the CacheStore when the cache is
+     * created. The default value is 0, which disables preload.
+     *
+     * @param resolver  the ParameterResolver
+     *
+     * @return the number of preload threads
+     *
+     * @since 25.09
+     */
+    public int getPreloadThreadCount(ParameterResolver resolver)
+        {
+        return m_exprPreloadThreadCount.evaluate(resolver);
+        }
+
+    /**
+     * Set the number of preload threads.
+     *
+     * @param expr  the number of preload threads
+     *
+     * @since 25.09
+     */
+    @Injectable
+    public void setPreloadThreadCount(Expression<Integer> expr)
+        {
+        m_exprPreloadThreadCount = expr;
+        }
+
     // ----- internal -------------------------------------------------------
 
     /**
@@ -907,6 +1063,20 @@ public class ReadWriteBackingMapScheme
      */
     private Expression<Double> m_exprRefreshAheadFactor = new LiteralExpression<Double>(0.0);
 
+    /**
+     * The read maximum batch size.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprReadMaxBatchSize = new LiteralExpression<>(1);
+
+    /**
+     * The maximum number of pending refresh-ahead batches.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprReadMaxPendingBatches = new LiteralExpression<>(4);
+
     /**
      * The rollback CacheStore failures flag.
      */
@@ -932,6 +1102,13 @@ public class ReadWriteBackingMapScheme
      */
     private Expression<Integer> m_exprWriteMaxBatchSize = new LiteralExpression<Integer>(Integer.valueOf(128));
 
+    /**
+     * The flag that specifies if the write-behind batches are adaptive.
+     *
+     * @since 25.09
+     */
+    private Expression<Boolean> m_exprWriteBatchAdaptive = new LiteralExpression<>(Boolean.FALSE);
+
     /**
      * The write re-queue threshold.
      */
@@ -944,6 +1121,20 @@ public class ReadWriteBackingMapScheme
      */
     private Expression<Boolean> m_exprWriteBehindRemove = new LiteralExpression<>(RWBM_WB_REMOVE_DEFAULT);
 
+    /**
+     * The number of write-behind threads.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprWriteBehindThreadCount = new LiteralExpression<>(1);
+
+    /**
+     * The number of preload threads.
+     *
+     * @since 25.09
+     */
+    private Expression<Integer> m_exprPreloadThreadCount = new LiteralExpression<>(0);
+
     /**
      * The internal map.
      */
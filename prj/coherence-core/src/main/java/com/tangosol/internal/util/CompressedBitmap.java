@@ -0,0 +1,990 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A compressed bitmap of non-negative {@code int} values.
+ * <p>
+ * Values are grouped into containers by their high 16 bits, and the
+ * containers are kept in a sorted array keyed by those bits. A container
+ * holding at most {@link #ARRAY_MAX} values stores the low 16 bits of each
+ * value in a sorted array, while a denser container stores them in a fixed
+ * 2<sup>16</sup> bit bitmap. This keeps sparse bitmaps small, and allows the
+ * intersection, union and difference of dense bitmaps to be performed one
+ * 64-bit word at a time.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @since 25.09
+ */
+public class CompressedBitmap
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct an empty CompressedBitmap.
+     */
+    public CompressedBitmap()
+        {
+        this(4);
+        }
+
+    /**
+     * Construct an empty CompressedBitmap with the specified initial capacity.
+     *
+     * @param cContainers  the initial number of containers
+     */
+    protected CompressedBitmap(int cContainers)
+        {
+        m_achKey     = new char[Math.max(cContainers, 1)];
+        m_aContainer = new Container[Math.max(cContainers, 1)];
+        }
+
+    // ----- CompressedBitmap methods ---------------------------------------
+
+    /**
+     * Add the specified value to this bitmap.
+     *
+     * @param n  the value to add; must not be negative
+     *
+     * @return true if the bitmap did not already contain the value
+     */
+    public boolean add(int n)
+        {
+        if (n < 0)
+            {
+            throw new IllegalArgumentException("negative value: " + n);
+            }
+
+        char chKey = (char) (n >>> 16);
+        int  i     = indexOf(chKey);
+        if (i < 0)
+            {
+            i = -i - 1;
+            insertContainer(i, chKey, new ArrayContainer(4));
+            }
+
+        Container container = m_aContainer[i];
+        int       cBefore   = container.cardinality();
+
+        container = m_aContainer[i] = container.add((char) n);
+
+        if (container.cardinality() == cBefore)
+            {
+            return false;
+            }
+        m_cValues++;
+        return true;
+        }
+
+    /**
+     * Remove the specified value from this bitmap.
+     *
+     * @param n  the value to remove
+     *
+     * @return true if the bitmap contained the value
+     */
+    public boolean remove(int n)
+        {
+        if (n < 0)
+            {
+            return false;
+            }
+
+        int i = indexOf((char) (n >>> 16));
+        if (i < 0)
+            {
+            return false;
+            }
+
+        Container container = m_aContainer[i];
+        int       cBefore   = container.cardinality();
+
+        container = m_aContainer[i] = container.remove((char) n);
+
+        int cAfter = container.cardinality();
+        if (cAfter == cBefore)
+            {
+            return false;
+            }
+        if (cAfter == 0)
+            {
+            removeContainer(i);
+            }
+        m_cValues--;
+        return true;
+        }
+
+    /**
+     * Determine whether this bitmap contains the specified value.
+     *
+     * @param n  the value
+     *
+     * @return true if this bitmap contains the value
+     */
+    public boolean contains(int n)
+        {
+        if (n < 0)
+            {
+            return false;
+            }
+        int i = indexOf((char) (n >>> 16));
+        return i >= 0 && m_aContainer[i].contains((char) n);
+        }
+
+    /**
+     * Return the number of values in this bitmap.
+     *
+     * @return the number of values in this bitmap
+     */
+    public int cardinality()
+        {
+        return m_cValues;
+        }
+
+    /**
+     * Determine whether this bitmap is empty.
+     *
+     * @return true if this bitmap contains no values
+     */
+    public boolean isEmpty()
+        {
+        return m_cValues == 0;
+        }
+
+    /**
+     * Return a new bitmap that contains the values present in both this and
+     * the specified bitmap.
+     *
+     * @param that  the other bitmap
+     *
+     * @return the intersection of the two bitmaps
+     */
+    public CompressedBitmap and(CompressedBitmap that)
+        {
+        CompressedBitmap result = new CompressedBitmap(Math.min(this.m_cContainers, that.m_cContainers));
+
+        for (int i = 0, j = 0; i < this.m_cContainers && j < that.m_cContainers; )
+            {
+            char chThis = this.m_achKey[i];
+            char chThat = that.m_achKey[j];
+            if (chThis < chThat)
+                {
+                i++;
+                }
+            else if (chThis > chThat)
+                {
+                j++;
+                }
+            else
+                {
+                result.appendContainer(chThis, and(this.m_aContainer[i++], that.m_aContainer[j++]));
+                }
+            }
+        return result;
+        }
+
+    /**
+     * Return a new bitmap that contains the values present in either this or
+     * the specified bitmap.
+     *
+     * @param that  the other bitmap
+     *
+     * @return the union of the two bitmaps
+     */
+    public CompressedBitmap or(CompressedBitmap that)
+        {
+        CompressedBitmap result = new CompressedBitmap(this.m_cContainers + that.m_cContainers);
+
+        int i = 0;
+        int j = 0;
+        while (i < this.m_cContainers && j < that.m_cContainers)
+            {
+            char chThis = this.m_achKey[i];
+            char chThat = that.m_achKey[j];
+            if (chThis < chThat)
+                {
+                result.appendContainer(chThis, this.m_aContainer[i++].copy());
+                }
+            else if (chThis > chThat)
+                {
+                result.appendContainer(chThat, that.m_aContainer[j++].copy());
+                }
+            else
+                {
+                result.appendContainer(chThis, or(this.m_aContainer[i++], that.m_aContainer[j++]));
+                }
+            }
+        for (; i < this.m_cContainers; i++)
+            {
+            result.appendContainer(this.m_achKey[i], this.m_aContainer[i].copy());
+            }
+        for (; j < that.m_cContainers; j++)
+            {
+            result.appendContainer(that.m_achKey[j], that.m_aContainer[j].copy());
+            }
+        return result;
+        }
+
+    /**
+     * Return a new bitmap that contains the values present in this bitmap,
+     * but not in the specified bitmap.
+     *
+     * @param that  the other bitmap
+     *
+     * @return the difference of the two bitmaps
+     */
+    public CompressedBitmap andNot(CompressedBitmap that)
+        {
+        CompressedBitmap result = new CompressedBitmap(this.m_cContainers);
+
+        for (int i = 0; i < this.m_cContainers; i++)
+            {
+            char      chKey     = this.m_achKey[i];
+            Container container = this.m_aContainer[i];
+            int       j         = that.indexOf(chKey);
+
+            result.appendContainer(chKey, j < 0 ? container.copy() : andNot(container, that.m_aContainer[j]));
+            }
+        return result;
+        }
+
+    /**
+     * Return a copy of this bitmap.
+     *
+     * @return a copy of this bitmap
+     */
+    public CompressedBitmap copy()
+        {
+        CompressedBitmap result = new CompressedBitmap(m_cContainers);
+        for (int i = 0; i < m_cContainers; i++)
+            {
+            result.appendContainer(m_achKey[i], m_aContainer[i].copy());
+            }
+        return result;
+        }
+
+    /**
+     * Return an iterator over the values of this bitmap in ascending order.
+     * <p>
+     * The iterator does not reflect modifications made to this bitmap after
+     * the iterator was created, and the result of iterating over a modified
+     * bitmap is undefined.
+     *
+     * @return an iterator over the values of this bitmap
+     */
+    public PrimitiveIterator.OfInt iterator()
+        {
+        return new PrimitiveIterator.OfInt()
+            {
+            public boolean hasNext()
+                {
+                return advance();
+                }
+
+            public int nextInt()
+                {
+                if (!advance())
+                    {
+                    throw new NoSuchElementException();
+                    }
+                int nLow = m_nLow;
+                m_nNext = nLow + 1;
+                m_nLow  = -1;
+                return (m_achKey[m_iContainer] << 16) | nLow;
+                }
+
+            /**
+             * Position the iterator on the next value, if there is one.
+             */
+            private boolean advance()
+                {
+                while (m_nLow < 0)
+                    {
+                    if (m_iContainer >= m_cContainers)
+                        {
+                        return false;
+                        }
+
+                    int nLow = m_nNext <= 0xFFFF ? m_aContainer[m_iContainer].nextValue(m_nNext) : -1;
+                    if (nLow < 0)
+                        {
+                        m_iContainer++;
+                        m_nNext = 0;
+                        }
+                    else
+                        {
+                        m_nLow = nLow;
+                        }
+                    }
+                return true;
+                }
+
+            private int m_iContainer;
+            private int m_nNext;
+            private int m_nLow = -1;
+            };
+        }
+
+    /**
+     * Return the values of this bitmap as a sorted array.
+     *
+     * @return the values of this bitmap
+     */
+    public int[] toArray()
+        {
+        int[]                   an   = new int[m_cValues];
+        PrimitiveIterator.OfInt iter = iterator();
+        for (int i = 0; iter.hasNext(); i++)
+            {
+            an[i] = iter.nextInt();
+            }
+        return an;
+        }
+
+    /**
+     * Return the estimated number of bytes used by this bitmap.
+     *
+     * @return the estimated size of this bitmap in bytes
+     */
+    public long getUnits()
+        {
+        long cb = OBJECT_OVERHEAD + 2L * ARRAY_OVERHEAD + m_achKey.length * 2L + m_aContainer.length * 8L;
+        for (int i = 0; i < m_cContainers; i++)
+            {
+            cb += m_aContainer[i].getUnits();
+            }
+        return cb;
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+        if (!(o instanceof CompressedBitmap))
+            {
+            return false;
+            }
+
+        CompressedBitmap that = (CompressedBitmap) o;
+        if (this.m_cValues != that.m_cValues || this.m_cContainers != that.m_cContainers)
+            {
+            return false;
+            }
+        return Arrays.equals(toArray(), that.toArray());
+        }
+
+    @Override
+    public int hashCode()
+        {
+        return Arrays.hashCode(toArray());
+        }
+
+    @Override
+    public String toString()
+        {
+        return "CompressedBitmap{cardinality=" + m_cValues + ", containers=" + m_cContainers + '}';
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the index of the container for the specified high 16 bits, or
+     * (-(insertion point) - 1) if there is no such container.
+     *
+     * @param chKey  the high 16 bits of a value
+     *
+     * @return the index of the container
+     */
+    protected int indexOf(char chKey)
+        {
+        return Arrays.binarySearch(m_achKey, 0, m_cContainers, chKey);
+        }
+
+    /**
+     * Insert a container at the specified index.
+     *
+     * @param i          the index to insert at
+     * @param chKey      the high 16 bits of the container values
+     * @param container  the container
+     */
+    protected void insertContainer(int i, char chKey, Container container)
+        {
+        int cContainers = m_cContainers;
+        if (cContainers == m_achKey.length)
+            {
+            int cNew = cContainers * 2;
+            m_achKey     = Arrays.copyOf(m_achKey, cNew);
+            m_aContainer = Arrays.copyOf(m_aContainer, cNew);
+            }
+        System.arraycopy(m_achKey, i, m_achKey, i + 1, cContainers - i);
+        System.arraycopy(m_aContainer, i, m_aContainer, i + 1, cContainers - i);
+
+        m_achKey[i]     = chKey;
+        m_aContainer[i] = container;
+        m_cContainers   = cContainers + 1;
+        }
+
+    /**
+     * Remove the container at the specified index.
+     *
+     * @param i  the index of the container
+     */
+    protected void removeContainer(int i)
+        {
+        int cMove = m_cContainers - i - 1;
+        System.arraycopy(m_achKey, i + 1, m_achKey, i, cMove);
+        System.arraycopy(m_aContainer, i + 1, m_aContainer, i, cMove);
+
+        m_aContainer[--m_cContainers] = null;
+        }
+
+    /**
+     * Append a container that is known to follow all existing containers,
+     * ignoring empty containers.
+     *
+     * @param chKey      the high 16 bits of the container values
+     * @param container  the container
+     */
+    protected void appendContainer(char chKey, Container container)
+        {
+        int cValues = container.cardinality();
+        if (cValues > 0)
+            {
+            insertContainer(m_cContainers, chKey, container);
+            m_cValues += cValues;
+            }
+        }
+
+    /**
+     * Return the intersection of two containers.
+     */
+    protected static Container and(Container c1, Container c2)
+        {
+        if (c1 instanceof BitmapContainer && c2 instanceof BitmapContainer)
+            {
+            long[] al1 = ((BitmapContainer) c1).m_alBits;
+            long[] al2 = ((BitmapContainer) c2).m_alBits;
+            long[] al  = new long[BITMAP_WORDS];
+            int    c   = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                {
+                long l = al[i] = al1[i] & al2[i];
+                c += Long.bitCount(l);
+                }
+            return new BitmapContainer(al, c).optimize();
+            }
+
+        // probe the smaller (array) container against the other one
+        if (c1 instanceof BitmapContainer || c2.cardinality() < c1.cardinality() && c2 instanceof ArrayContainer)
+            {
+            Container c = c1;
+            c1 = c2;
+            c2 = c;
+            }
+
+        ArrayContainer array  = (ArrayContainer) c1;
+        ArrayContainer result = new ArrayContainer(array.m_cValues);
+        for (int i = 0, c = array.m_cValues; i < c; i++)
+            {
+            char ch = array.m_achValue[i];
+            if (c2.contains(ch))
+                {
+                result.m_achValue[result.m_cValues++] = ch;
+                }
+            }
+        return result;
+        }
+
+    /**
+     * Return the union of two containers.
+     */
+    protected static Container or(Container c1, Container c2)
+        {
+        if (c1 instanceof ArrayContainer && c2 instanceof ArrayContainer
+            && c1.cardinality() + c2.cardinality() <= ARRAY_MAX)
+            {
+            ArrayContainer a1     = (ArrayContainer) c1;
+            ArrayContainer a2     = (ArrayContainer) c2;
+            ArrayContainer result = new ArrayContainer(a1.m_cValues + a2.m_cValues);
+            char[]         ach    = result.m_achValue;
+            int            c      = 0;
+            int            i      = 0;
+            int            j      = 0;
+            while (i < a1.m_cValues && j < a2.m_cValues)
+                {
+                char ch1 = a1.m_achValue[i];
+                char ch2 = a2.m_achValue[j];
+                if (ch1 < ch2)
+                    {
+                    ach[c++] = ch1;
+                    i++;
+                    }
+                else if (ch1 > ch2)
+                    {
+                    ach[c++] = ch2;
+                    j++;
+                    }
+                else
+                    {
+                    ach[c++] = ch1;
+                    i++;
+                    j++;
+                    }
+                }
+            while (i < a1.m_cValues)
+                {
+                ach[c++] = a1.m_achValue[i++];
+                }
+            while (j < a2.m_cValues)
+                {
+                ach[c++] = a2.m_achValue[j++];
+                }
+            result.m_cValues = c;
+            return result;
+            }
+
+        if (c1 instanceof ArrayContainer)
+            {
+            Container c = c1;
+            c1 = c2;
+            c2 = c;
+            }
+
+        BitmapContainer result = c1 instanceof BitmapContainer
+                                 ? (BitmapContainer) c1.copy()
+                                 : ((ArrayContainer) c1).toBitmap();
+        if (c2 instanceof BitmapContainer)
+            {
+            long[] al  = result.m_alBits;
+            long[] al2 = ((BitmapContainer) c2).m_alBits;
+            int    c   = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                {
+                long l = al[i] |= al2[i];
+                c += Long.bitCount(l);
+                }
+            result.m_cValues = c;
+            }
+        else
+            {
+            ArrayContainer array = (ArrayContainer) c2;
+            for (int i = 0; i < array.m_cValues; i++)
+                {
+                result.add(array.m_achValue[i]);
+                }
+            }
+        return result.optimize();
+        }
+
+    /**
+     * Return the difference of two containers.
+     */
+    protected static Container andNot(Container c1, Container c2)
+        {
+        if (c1 instanceof ArrayContainer)
+            {
+            ArrayContainer array  = (ArrayContainer) c1;
+            ArrayContainer result = new ArrayContainer(array.m_cValues);
+            for (int i = 0, c = array.m_cValues; i < c; i++)
+                {
+                char ch = array.m_achValue[i];
+                if (!c2.contains(ch))
+                    {
+                    result.m_achValue[result.m_cValues++] = ch;
+                    }
+                }
+            return result;
+            }
+
+        BitmapContainer result = (BitmapContainer) c1.copy();
+        if (c2 instanceof BitmapContainer)
+            {
+            long[] al  = result.m_alBits;
+            long[] al2 = ((BitmapContainer) c2).m_alBits;
+            int    c   = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                {
+                long l = al[i] &= ~al2[i];
+                c += Long.bitCount(l);
+                }
+            result.m_cValues = c;
+            }
+        else
+            {
+            ArrayContainer array = (ArrayContainer) c2;
+            for (int i = 0; i < array.m_cValues; i++)
+                {
+                char ch = array.m_achValue[i];
+                if (result.contains(ch))
+                    {
+                    result.m_alBits[ch >>> 6] &= ~(1L << ch);
+                    result.m_cValues--;
+                    }
+                }
+            }
+        return result.optimize();
+        }
+
+    // ----- inner class: Container -----------------------------------------
+
+    /**
+     * A container of the low 16 bits of the values sharing the same high
+     * 16 bits.
+     */
+    protected abstract static class Container
+        {
+        /**
+         * Return the number of values in this container.
+         *
+         * @return the number of values in this container
+         */
+        abstract int cardinality();
+
+        /**
+         * Determine whether this container contains the specified value.
+         *
+         * @param ch  the low 16 bits of the value
+         *
+         * @return true if this container contains the value
+         */
+        abstract boolean contains(char ch);
+
+        /**
+         * Add the specified value to this container.
+         *
+         * @param ch  the low 16 bits of the value
+         *
+         * @return the container that holds the values after the addition,
+         *         which may be a new container of a different type
+         */
+        abstract Container add(char ch);
+
+        /**
+         * Remove the specified value from this container.
+         *
+         * @param ch  the low 16 bits of the value
+         *
+         * @return the container that holds the values after the removal,
+         *         which may be a new container of a different type
+         */
+        abstract Container remove(char ch);
+
+        /**
+         * Return the smallest value in this container that is greater than
+         * or equal to the specified value.
+         *
+         * @param nFrom  the value to start from
+         *
+         * @return the next value, or -1 if there is none
+         */
+        abstract int nextValue(int nFrom);
+
+        /**
+         * Return a copy of this container.
+         *
+         * @return a copy of this container
+         */
+        abstract Container copy();
+
+        /**
+         * Return the estimated number of bytes used by this container.
+         *
+         * @return the estimated size of this container in bytes
+         */
+        abstract long getUnits();
+        }
+
+    // ----- inner class: ArrayContainer ------------------------------------
+
+    /**
+     * A container that keeps its values in a sorted array.
+     */
+    protected static class ArrayContainer
+            extends Container
+        {
+        ArrayContainer(int cCapacity)
+            {
+            m_achValue = new char[Math.max(cCapacity, 1)];
+            }
+
+        int cardinality()
+            {
+            return m_cValues;
+            }
+
+        boolean contains(char ch)
+            {
+            return Arrays.binarySearch(m_achValue, 0, m_cValues, ch) >= 0;
+            }
+
+        Container add(char ch)
+            {
+            int i = Arrays.binarySearch(m_achValue, 0, m_cValues, ch);
+            if (i >= 0)
+                {
+                return this;
+                }
+            if (m_cValues >= ARRAY_MAX)
+                {
+                return toBitmap().add(ch);
+                }
+
+            i = -i - 1;
+            char[] ach = m_achValue;
+            if (m_cValues == ach.length)
+                {
+                ach = m_achValue = Arrays.copyOf(ach, Math.min(ach.length * 2, ARRAY_MAX));
+                }
+            System.arraycopy(ach, i, ach, i + 1, m_cValues - i);
+            ach[i] = ch;
+            m_cValues++;
+            return this;
+            }
+
+        Container remove(char ch)
+            {
+            int i = Arrays.binarySearch(m_achValue, 0, m_cValues, ch);
+            if (i >= 0)
+                {
+                char[] ach = m_achValue;
+                int    c   = --m_cValues;
+                if (c < ach.length >>> 2 && ach.length > 16)
+                    {
+                    // release the capacity of a mostly empty array
+                    char[] achNew = m_achValue = new char[ach.length >>> 1];
+                    System.arraycopy(ach, 0, achNew, 0, i);
+                    System.arraycopy(ach, i + 1, achNew, i, c - i);
+                    }
+                else
+                    {
+                    System.arraycopy(ach, i + 1, ach, i, c - i);
+                    }
+                }
+            return this;
+            }
+
+        int nextValue(int nFrom)
+            {
+            int i = Arrays.binarySearch(m_achValue, 0, m_cValues, (char) nFrom);
+            if (i < 0)
+                {
+                i = -i - 1;
+                }
+            return i < m_cValues ? m_achValue[i] : -1;
+            }
+
+        Container copy()
+            {
+            ArrayContainer container = new ArrayContainer(m_cValues);
+            System.arraycopy(m_achValue, 0, container.m_achValue, 0, m_cValues);
+            container.m_cValues = m_cValues;
+            return container;
+            }
+
+        long getUnits()
+            {
+            return OBJECT_OVERHEAD + ARRAY_OVERHEAD + m_achValue.length * 2L;
+            }
+
+        /**
+         * Return a bitmap container with the same values as this container.
+         *
+         * @return a bitmap container
+         */
+        BitmapContainer toBitmap()
+            {
+            long[] al = new long[BITMAP_WORDS];
+            for (int i = 0; i < m_cValues; i++)
+                {
+                char ch = m_achValue[i];
+                al[ch >>> 6] |= 1L << ch;
+                }
+            return new BitmapContainer(al, m_cValues);
+            }
+
+        /**
+         * The sorted values.
+         */
+        char[] m_achValue;
+
+        /**
+         * The number of values.
+         */
+        int m_cValues;
+        }
+
+    // ----- inner class: BitmapContainer -----------------------------------
+
+    /**
+     * A container that keeps its values in a fixed size bitmap.
+     */
+    protected static class BitmapContainer
+            extends Container
+        {
+        BitmapContainer(long[] alBits, int cValues)
+            {
+            m_alBits  = alBits;
+            m_cValues = cValues;
+            }
+
+        int cardinality()
+            {
+            return m_cValues;
+            }
+
+        boolean contains(char ch)
+            {
+            return (m_alBits[ch >>> 6] & (1L << ch)) != 0L;
+            }
+
+        Container add(char ch)
+            {
+            long lMask = 1L << ch;
+            int  i     = ch >>> 6;
+            if ((m_alBits[i] & lMask) == 0L)
+                {
+                m_alBits[i] |= lMask;
+                m_cValues++;
+                }
+            return this;
+            }
+
+        Container remove(char ch)
+            {
+            long lMask = 1L << ch;
+            int  i     = ch >>> 6;
+            if ((m_alBits[i] & lMask) != 0L)
+                {
+                m_alBits[i] &= ~lMask;
+                m_cValues--;
+                return optimize();
+                }
+            return this;
+            }
+
+        int nextValue(int nFrom)
+            {
+            int  i = nFrom >>> 6;
+            long l = m_alBits[i] & (-1L << nFrom);
+            while (l == 0L)
+                {
+                if (++i == BITMAP_WORDS)
+                    {
+                    return -1;
+                    }
+                l = m_alBits[i];
+                }
+            return (i << 6) + Long.numberOfTrailingZeros(l);
+            }
+
+        Container copy()
+            {
+            return new BitmapContainer(m_alBits.clone(), m_cValues);
+            }
+
+        long getUnits()
+            {
+            return OBJECT_OVERHEAD + ARRAY_OVERHEAD + BITMAP_WORDS * 8L;
+            }
+
+        /**
+         * Return an array container with the same values as this container
+         * if it is sparse enough, or this container otherwise.
+         *
+         * @return the container to use for the values of this container
+         */
+        Container optimize()
+            {
+            if (m_cValues > ARRAY_MAX)
+                {
+                return this;
+                }
+
+            ArrayContainer array = new ArrayContainer(m_cValues);
+            char[]         ach   = array.m_achValue;
+            int            c     = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++)
+                {
+                long l = m_alBits[i];
+                while (l != 0L)
+                    {
+                    ach[c++] = (char) ((i << 6) + Long.numberOfTrailingZeros(l));
+                    l &= l - 1;
+                    }
+                }
+            array.m_cValues = c;
+            return array;
+            }
+
+        /**
+         * The bits.
+         */
+        final long[] m_alBits;
+
+        /**
+         * The number of bits set.
+         */
+        int m_cValues;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The maximum number of values kept in an array container; denser
+     * containers are kept as bitmaps, which occupy the same amount of memory
+     * as an array container of this size.
+     */
+    public static final int ARRAY_MAX = 4096;
+
+    /**
+     * The number of 64-bit words in a bitmap container.
+     */
+    protected static final int BITMAP_WORDS = 1024;
+
+    /**
+     * The estimated overhead of an object header.
+     */
+    protected static final int OBJECT_OVERHEAD = 16;
+
+    /**
+     * The estimated overhead of an array header.
+     */
+    protected static final int ARRAY_OVERHEAD = 16;
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The sorted high 16 bits of the values in each container.
+     */
+    protected char[] m_achKey;
+
+    /**
+     * The containers, in the order of {@link #m_achKey}.
+     */
+    protected Container[] m_aContainer;
+
+    /**
+     * The number of containers.
+     */
+    protected int m_cContainers;
+
+    /**
+     * The number of values in this bitmap.
+     */
+    protected int m_cValues;
+    }
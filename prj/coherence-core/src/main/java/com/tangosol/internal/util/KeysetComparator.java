@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * An entry Comparator that breaks the ties of the wrapped comparator using
+ * the serialized form of the entry keys, which makes the order of the
+ * entries total and allows a page of a sorted query result to be identified
+ * by the last entry's value and key (a keyset cursor).
+ * <p>
+ * The serialized key of a {@link BinaryEntry} is obtained directly; the
+ * serialized key of any other entry is obtained using the key function. If
+ * the serialized key of either entry is not known (for example, a page
+ * anchor without a key) the entries are considered equal, which is
+ * consistent with the order defined by the wrapped comparator alone.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class KeysetComparator
+        implements Comparator
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a KeysetComparator for entries whose keys are either
+     * {@link BinaryEntry binary entries} or have {@link Binary} keys.
+     *
+     * @param comparator  the entry comparator to break the ties of
+     */
+    public KeysetComparator(Comparator comparator)
+        {
+        this(comparator, entry -> entry.getKey() instanceof Binary ? (Binary) entry.getKey() : null);
+        }
+
+    /**
+     * Construct a KeysetComparator.
+     *
+     * @param comparator   the entry comparator to break the ties of
+     * @param functionKey  the function returning the serialized key of an
+     *                     entry, or null if the key is not known
+     */
+    public KeysetComparator(Comparator comparator, Function<Map.Entry, Binary> functionKey)
+        {
+        f_comparator  = comparator;
+        f_functionKey = functionKey;
+        }
+
+    // ----- Comparator interface -------------------------------------------
+
+    @Override
+    public int compare(Object o1, Object o2)
+        {
+        int nCompare = f_comparator.compare(o1, o2);
+        if (nCompare != 0)
+            {
+            return nCompare;
+            }
+
+        Binary binKey1 = getBinaryKey((Map.Entry) o1);
+        Binary binKey2 = binKey1 == null ? null : getBinaryKey((Map.Entry) o2);
+
+        return binKey2 == null ? 0 : binKey1.compareTo(binKey2);
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the wrapped entry comparator.
+     *
+     * @return the wrapped entry comparator
+     */
+    public Comparator getComparator()
+        {
+        return f_comparator;
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the serialized key of the specified entry.
+     *
+     * @param entry  the entry
+     *
+     * @return the serialized key, or null if it is not known
+     */
+    protected Binary getBinaryKey(Map.Entry entry)
+        {
+        return entry instanceof BinaryEntry
+               ? ((BinaryEntry) entry).getBinaryKey()
+               : f_functionKey.apply(entry);
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "KeysetComparator(" + f_comparator + ')';
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The wrapped entry comparator.
+     */
+    protected final Comparator f_comparator;
+
+    /**
+     * The function returning the serialized key of a non-binary entry.
+     */
+    protected final Function<Map.Entry, Binary> f_functionKey;
+    }
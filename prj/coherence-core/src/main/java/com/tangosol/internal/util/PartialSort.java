@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/**
+ * A utility class that selects the first N elements of an unsorted array
+ * without sorting the entire array.
+ * <p>
+ * The elements are selected using a bounded heap, so selecting N out of M
+ * elements costs O(M log N) rather than the O(M log M) of a full sort.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class PartialSort
+    {
+    // ---- constructors ----------------------------------------------------
+
+    /**
+     * Not able to be constructed.
+     */
+    private PartialSort()
+        {
+        }
+
+    // ---- helpers ---------------------------------------------------------
+
+    /**
+     * Return the smallest elements of the specified array, sorted according
+     * to the specified comparator.
+     *
+     * @param ao          the array of elements; not modified
+     * @param cItems      the number of elements at the start of the array to
+     *                    select from
+     * @param cSelect     the maximum number of elements to select
+     * @param comparator  the comparator defining the order of the elements
+     *
+     * @return a new sorted array of at most {@code cSelect} elements
+     */
+    public static Object[] selectSmallest(Object[] ao, int cItems, int cSelect, Comparator comparator)
+        {
+        if (cSelect <= 0 || cItems == 0)
+            {
+            return new Object[0];
+            }
+
+        Object[] aoResult;
+        if (cSelect >= cItems)
+            {
+            aoResult = Arrays.copyOf(ao, cItems);
+            }
+        else
+            {
+            // the head of the heap is the largest element selected so far
+            PriorityQueue heap = new PriorityQueue(cSelect, comparator.reversed());
+            for (int i = 0; i < cItems; i++)
+                {
+                Object o = ao[i];
+                if (heap.size() < cSelect)
+                    {
+                    heap.add(o);
+                    }
+                else if (comparator.compare(o, heap.peek()) < 0)
+                    {
+                    heap.poll();
+                    heap.add(o);
+                    }
+                }
+            aoResult = heap.toArray();
+            }
+
+        Arrays.sort(aoResult, comparator);
+        return aoResult;
+        }
+
+    /**
+     * Return the largest elements of the specified array, sorted according
+     * to the specified comparator (in ascending order).
+     *
+     * @param ao          the array of elements; not modified
+     * @param cItems      the number of elements at the start of the array to
+     *                    select from
+     * @param cSelect     the maximum number of elements to select
+     * @param comparator  the comparator defining the order of the elements
+     *
+     * @return a new sorted array of at most {@code cSelect} elements
+     */
+    public static Object[] selectLargest(Object[] ao, int cItems, int cSelect, Comparator comparator)
+        {
+        Object[] aoResult = selectSmallest(ao, cItems, cSelect, comparator.reversed());
+
+        // reverse into the ascending order
+        for (int i = 0, j = aoResult.length - 1; i < j; i++, j--)
+            {
+            Object o = aoResult[i];
+            aoResult[i] = aoResult[j];
+            aoResult[j] = o;
+            }
+        return aoResult;
+        }
+    }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -17,6 +17,7 @@ import com.tangosol.util.AbstractKeyBasedMap;
 import com.tangosol.util.Base;
 import com.tangosol.util.ChainedSet;
 import com.tangosol.util.ClassHelper;
+import com.tangosol.util.IndexStatistics;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.comparator.SafeComparator;
@@ -39,6 +40,8 @@ import java.util.SortedMap;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import java.util.function.ToLongFunction;
+
 /**
  * A composite view over partition indices for the specified partition set.
  *
@@ -284,6 +287,35 @@ public class PartitionedIndexMap<K, V>
             return cUnits;
             }
 
+        @Override
+        public long getOffHeapUnits()
+            {
+            long cUnits = 0;
+
+            for (int nPart : getPartitions())
+                {
+                MapIndex<K, V, E> mapIndex = getMapIndex(nPart, f_extractor);
+                cUnits += (mapIndex != null ? mapIndex.getOffHeapUnits() : 0);
+                }
+
+            return cUnits;
+            }
+
+        @Override
+        public IndexStatistics<E> getStatistics()
+            {
+            for (int nPart : getPartitions())
+                {
+                MapIndex<K, V, E> mapIndex = getMapIndex(nPart, f_extractor);
+                if (mapIndex != null && mapIndex.getStatistics() == null)
+                    {
+                    return null;
+                    }
+                }
+
+            return new PartitionedStatistics();
+            }
+
         // ---- Object methods ----------------------------------------------
 
         @Override
@@ -311,6 +343,77 @@ public class PartitionedIndexMap<K, V>
                    + (fVerbose ? ", Content[" + getIndexContents().size() + "]=" + getIndexContents().keySet() : "");
             }
 
+        // ---- inner class: PartitionedStatistics --------------------------
+
+        /**
+         * Provides composite view over the statistics of partitioned indices.
+         * <p>
+         * The distinct value count is the sum of the distinct value counts
+         * of all partitions, and is therefore an upper bound.
+         */
+        private class PartitionedStatistics
+                implements IndexStatistics<E>
+            {
+            @Override
+            public long getKeyCount()
+                {
+                return sum(IndexStatistics::getKeyCount);
+                }
+
+            @Override
+            public long getMappingCount()
+                {
+                return sum(IndexStatistics::getMappingCount);
+                }
+
+            @Override
+            public long getDistinctValueCount()
+                {
+                return sum(IndexStatistics::getDistinctValueCount);
+                }
+
+            @Override
+            public long estimateLess(E value, boolean fInclusive)
+                {
+                return isOrdered() ? sum(stats -> stats.estimateLess(value, fInclusive)) : -1L;
+                }
+
+            @Override
+            public long estimateGreater(E value, boolean fInclusive)
+                {
+                return isOrdered() ? sum(stats -> stats.estimateGreater(value, fInclusive)) : -1L;
+                }
+
+            /**
+             * Sum the specified statistic across all partitions.
+             *
+             * @param function  the function returning the statistic of a
+             *                  partition
+             *
+             * @return the sum of the statistic, or -1 if it is not available
+             *         for any of the partitions
+             */
+            private long sum(ToLongFunction<IndexStatistics<E>> function)
+                {
+                long cTotal = 0L;
+                for (int nPart : getPartitions())
+                    {
+                    MapIndex<K, V, E>  mapIndex = getMapIndex(nPart, f_extractor);
+                    IndexStatistics<E> stats    = mapIndex == null ? null : mapIndex.getStatistics();
+                    if (stats != null)
+                        {
+                        long c = function.applyAsLong(stats);
+                        if (c < 0L)
+                            {
+                            return -1L;
+                            }
+                        cTotal += c;
+                        }
+                    }
+                return cTotal;
+                }
+            }
+
         // ---- inner class: IndexContents ----------------------------------
 
         /**
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.Streamer;
+
+/**
+ * A {@link Streamer} over the entries of a set of partitions of a cache,
+ * which allows aggregators to access the per-partition indexes of the
+ * streamed partitions directly.
+ *
+ * @param <T>  the type of streamed elements
+ *
+ * @since 25.09
+ */
+public interface PartitionedStreamer<T>
+        extends Streamer<T>
+    {
+    /**
+     * Return the context of the cache whose entries are streamed.
+     *
+     * @return the context of the cache whose entries are streamed
+     */
+    public BackingMapContext getBackingMapContext();
+
+    /**
+     * Return the partitions whose entries are streamed.
+     * <p>
+     * Note: the returned set must be treated in the read-only manner.
+     *
+     * @return the partitions whose entries are streamed
+     */
+    public PartitionSet getPartitions();
+    }
@@ -0,0 +1,429 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.internal.util;
+
+import com.tangosol.util.Filter;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A memory-bounded cache of the keys matching a filter within a single
+ * partition, used by the storage to avoid re-evaluating repeated queries
+ * against partitions that have not changed.
+ * <p>
+ * The results are held per partition, and all the results of a partition are
+ * tagged with the version of the partition they were computed for; a result
+ * is only returned if the partition version is the same, so any modification
+ * of the partition implicitly invalidates all the results cached for it. The
+ * lookups do not lock, and the results of a partition are dropped at once.
+ * <p>
+ * All the partitions share a budget of the total number of cached keys; when
+ * the budget is exceeded, the results of the least recently used partitions
+ * are evicted first.
+ * <p>
+ * The cached results are only valid for filters that are deterministic and
+ * implement {@link Object#equals equals} and {@link Object#hashCode hashCode}
+ * consistently.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings("rawtypes")
+public class QueryResultCache
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Construct a QueryResultCache.
+     *
+     * @param cMaxKeys  the maximum total number of keys to cache
+     */
+    public QueryResultCache(long cMaxKeys)
+        {
+        if (cMaxKeys <= 0L)
+            {
+            throw new IllegalArgumentException("invalid maximum number of keys: " + cMaxKeys);
+            }
+        f_cMaxKeys = cMaxKeys;
+        }
+
+    // ----- QueryResultCache methods ---------------------------------------
+
+    /**
+     * Return the keys matching the specified filter in the specified
+     * partition, as they were when the partition had the specified version.
+     *
+     * @param filter    the filter
+     * @param nPart     the partition
+     * @param lVersion  the current version of the partition
+     *
+     * @return a copy of the matching keys, or null if there is no result
+     *         cached for the current version of the partition
+     */
+    public Object[] get(Filter filter, int nPart, long lVersion)
+        {
+        Partition partition = f_mapPartitions.get(nPart);
+        Object[]  aoKey     = null;
+
+        if (partition != null)
+            {
+            if (partition.f_lVersion == lVersion)
+                {
+                aoKey = partition.f_mapResults.get(filter);
+                }
+            else if (partition.f_lVersion < lVersion)
+                {
+                // the partition has changed since the results were cached
+                remove(nPart, partition);
+                }
+            }
+
+        if (aoKey == null)
+            {
+            f_cMisses.increment();
+            return null;
+            }
+
+        partition.m_ldtAccess = System.nanoTime();
+        f_cHits.increment();
+        return aoKey.clone();
+        }
+
+    /**
+     * Cache the keys matching the specified filter in the specified
+     * partition at the specified partition version.
+     *
+     * @param filter    the filter
+     * @param nPart     the partition
+     * @param lVersion  the version of the partition the result was computed for
+     * @param aoKey     the array of matching keys; not retained
+     * @param cKeys     the number of matching keys at the start of the array
+     */
+    public void put(Filter filter, int nPart, long lVersion, Object[] aoKey, int cKeys)
+        {
+        // a result that does not fit would evict everything else
+        if (cKeys > f_cMaxKeys / 2)
+            {
+            return;
+            }
+
+        Partition partition = ensurePartition(nPart, lVersion);
+        if (partition != null && partition.put(filter, Arrays.copyOf(aoKey, cKeys)))
+            {
+            partition.m_ldtAccess = System.nanoTime();
+            evict();
+            }
+        }
+
+    /**
+     * Remove all the results cached for the specified partition.
+     *
+     * @param nPart  the partition
+     */
+    public void invalidate(int nPart)
+        {
+        Partition partition = f_mapPartitions.remove(nPart);
+        if (partition != null)
+            {
+            partition.release();
+            }
+        }
+
+    /**
+     * Remove all the cached results.
+     */
+    public void clear()
+        {
+        for (Map.Entry<Integer, Partition> entry : f_mapPartitions.entrySet())
+            {
+            remove(entry.getKey(), entry.getValue());
+            }
+        }
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+     * Return the number of cached results.
+     *
+     * @return the number of cached results
+     */
+    public int size()
+        {
+        int cResults = 0;
+        for (Partition partition : f_mapPartitions.values())
+            {
+            cResults += partition.f_mapResults.size();
+            }
+        return cResults;
+        }
+
+    /**
+     * Return the total number of cached keys.
+     *
+     * @return the total number of cached keys
+     */
+    public long getKeyCount()
+        {
+        return f_cKeys.get();
+        }
+
+    /**
+     * Return the maximum total number of cached keys.
+     *
+     * @return the maximum total number of cached keys
+     */
+    public long getMaxKeyCount()
+        {
+        return f_cMaxKeys;
+        }
+
+    /**
+     * Return the number of lookups that returned a cached result.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount()
+        {
+        return f_cHits.sum();
+        }
+
+    /**
+     * Return the number of lookups that did not return a cached result.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount()
+        {
+        return f_cMisses.sum();
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the results of the specified partition at the specified
+     * version, replacing the results of an older version, if any.
+     *
+     * @param nPart     the partition
+     * @param lVersion  the version of the partition
+     *
+     * @return the results of the partition, or null if the partition has
+     *         already been cached at a newer version
+     */
+    private Partition ensurePartition(int nPart, long lVersion)
+        {
+        while (true)
+            {
+            Partition partition = f_mapPartitions.get(nPart);
+            if (partition != null && partition.f_lVersion >= lVersion)
+                {
+                return partition.f_lVersion == lVersion ? partition : null;
+                }
+
+            Partition partitionNew = new Partition(lVersion);
+            if (partition == null)
+                {
+                if (f_mapPartitions.putIfAbsent(nPart, partitionNew) == null)
+                    {
+                    return partitionNew;
+                    }
+                }
+            else if (f_mapPartitions.replace(nPart, partition, partitionNew))
+                {
+                partition.release();
+                return partitionNew;
+                }
+            }
+        }
+
+    /**
+     * Remove the specified results of the specified partition, unless they
+     * have already been replaced.
+     *
+     * @param nPart      the partition
+     * @param partition  the results of the partition
+     */
+    private void remove(int nPart, Partition partition)
+        {
+        if (f_mapPartitions.remove(nPart, partition))
+            {
+            partition.release();
+            }
+        }
+
+    /**
+     * Evict the results of the least recently used partitions until the total
+     * number of cached keys is within the budget.
+     * <p>
+     * Only one thread evicts at a time; other threads that exceed the budget
+     * in the meantime leave the eviction to it.
+     */
+    private void evict()
+        {
+        while (f_cKeys.get() > f_cMaxKeys && f_fEvicting.compareAndSet(false, true))
+            {
+            try
+                {
+                while (f_cKeys.get() > f_cMaxKeys)
+                    {
+                    int       nPartLRU     = -1;
+                    Partition partitionLRU = null;
+                    for (Map.Entry<Integer, Partition> entry : f_mapPartitions.entrySet())
+                        {
+                        Partition partition = entry.getValue();
+                        if (partitionLRU == null || partition.m_ldtAccess - partitionLRU.m_ldtAccess < 0L)
+                            {
+                            nPartLRU     = entry.getKey();
+                            partitionLRU = partition;
+                            }
+                        }
+
+                    if (partitionLRU == null)
+                        {
+                        break;
+                        }
+                    remove(nPartLRU, partitionLRU);
+                    }
+                }
+            finally
+                {
+                f_fEvicting.set(false);
+                }
+            }
+        }
+
+    // ----- Object methods -------------------------------------------------
+
+    @Override
+    public String toString()
+        {
+        return "QueryResultCache{Results=" + size()
+               + ", Keys=" + getKeyCount() + '/' + f_cMaxKeys
+               + ", Hits=" + getHitCount() + ", Misses=" + getMissCount() + '}';
+        }
+
+    // ----- inner class: Partition -----------------------------------------
+
+    /**
+     * The results cached for a single version of a partition.
+     */
+    private class Partition
+        {
+        /**
+         * Construct a Partition.
+         *
+         * @param lVersion  the partition version
+         */
+        Partition(long lVersion)
+            {
+            f_lVersion = lVersion;
+            }
+
+        /**
+         * Cache the specified keys for the specified filter, unless the
+         * results of this partition have been released.
+         *
+         * @param filter  the filter
+         * @param aoKey   the matching keys
+         *
+         * @return true if the keys have been cached
+         */
+        synchronized boolean put(Filter filter, Object[] aoKey)
+            {
+            if (m_fReleased)
+                {
+                return false;
+                }
+
+            Object[] aoPrev = f_mapResults.put(filter, aoKey);
+            long     cDelta = aoKey.length - (aoPrev == null ? 0 : aoPrev.length);
+
+            m_cKeys += cDelta;
+            f_cKeys.addAndGet(cDelta);
+            return true;
+            }
+
+        /**
+         * Release the results of this partition, returning their keys to the
+         * budget.
+         */
+        synchronized void release()
+            {
+            if (!m_fReleased)
+                {
+                m_fReleased = true;
+                f_cKeys.addAndGet(-m_cKeys);
+                m_cKeys = 0L;
+                f_mapResults.clear();
+                }
+            }
+
+        /**
+         * The version of the partition the keys were matched at.
+         */
+        final long f_lVersion;
+
+        /**
+         * The matching keys, keyed by filter.
+         */
+        final Map<Filter, Object[]> f_mapResults = new ConcurrentHashMap<>();
+
+        /**
+         * The time (in nanoseconds) of the last access to the results.
+         */
+        volatile long m_ldtAccess = System.nanoTime();
+
+        /**
+         * The number of keys cached for this partition.
+         */
+        private long m_cKeys;
+
+        /**
+         * True once the results have been removed from the cache.
+         */
+        private boolean m_fReleased;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The cached results, keyed by partition.
+     */
+    private final ConcurrentMap<Integer, Partition> f_mapPartitions = new ConcurrentHashMap<>();
+
+    /**
+     * The maximum total number of cached keys.
+     */
+    private final long f_cMaxKeys;
+
+    /**
+     * The total number of cached keys.
+     */
+    private final AtomicLong f_cKeys = new AtomicLong();
+
+    /**
+     * True while a thread is evicting results.
+     */
+    private final AtomicBoolean f_fEvicting = new AtomicBoolean();
+
+    /**
+     * The number of cache hits.
+     */
+    private final LongAdder f_cHits = new LongAdder();
+
+    /**
+     * The number of cache misses.
+     */
+    private final LongAdder f_cMisses = new LongAdder();
+    }
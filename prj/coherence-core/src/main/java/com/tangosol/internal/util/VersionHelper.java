@@ -411,6 +411,11 @@ public class VersionHelper
      */
     public static final int VERSION_15_1_1_0_0 = encodeVersion(15, 1, 1, 0, 0);
 
+    /**
+     * The encoded CE 25.09.0 version.
+     */
+    public static final int VERSION_25_09 = encodeVersion(25, 9, 0);
+
     /**
      * The encoded CE 25.03.0 version.
      */
@@ -14,9 +14,11 @@ import com.tangosol.io.pof.PortableObject;
 import com.tangosol.net.NamedCache;
 import com.tangosol.net.PartitionedService;
 import com.tangosol.net.cache.ContinuousQueryCache;
+import com.tangosol.util.ColumnarMapIndex;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
+import com.tangosol.util.Streamer;
 
 import com.tangosol.util.stream.BaseRemoteStream;
 import com.tangosol.util.stream.RemoteCollector;
@@ -29,6 +31,7 @@ import java.io.IOException;
 import java.util.Collection;
 
 import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -101,6 +104,60 @@ public abstract class AbstractPipeline<K, V, E_IN, E_OUT, S_IN extends BaseStrea
                : m_intermediateOp.apply(previousStage.evaluate(stream));
         }
 
+    /**
+     * Evaluate this pipeline against the entries provided by the specified
+     * streamer.
+     * <p>
+     * If the first operation of the pipeline extracts a value from each
+     * entry using an {@link ReferencePipeline.ExtractorOp}, and the
+     * extracted values of all streamed entries are kept in a {@link
+     * ColumnarMapIndex}, the stages that follow the extraction are evaluated
+     * against the values of the index, without deserializing the entries.
+     * An extraction that follows any other operation, such as a filter, is
+     * always evaluated against the entries.
+     *
+     * @param streamer  the streamer to evaluate pipeline against
+     *
+     * @return the result of the evaluation
+     */
+    public S_OUT evaluate(Streamer<? extends InvocableMap.Entry<?, ?>> streamer)
+        {
+        AbstractPipeline<?, ?, ?, ?, ?, ?> stage = this;
+        while (stage != null && !(stage.m_intermediateOp instanceof ReferencePipeline.ExtractorOp))
+            {
+            stage = stage.m_previousStage;
+            }
+
+        if (stage != null && stage.m_previousStage != null && stage.m_previousStage.isFirstStage())
+            {
+            List<Object> listValues = ColumnarMapIndex.collectValues(streamer,
+                    ((ReferencePipeline.ExtractorOp<?, ?>) stage.m_intermediateOp).getExtractor());
+            if (listValues != null)
+                {
+                return evaluate(stage, listValues.stream());
+                }
+            }
+
+        return evaluate(streamer.stream());
+        }
+
+    /**
+     * Evaluate the stages of this pipeline that follow the specified stage
+     * against the specified output of that stage.
+     *
+     * @param stage   the stage
+     * @param stream  the output of the stage
+     *
+     * @return the result of the evaluation
+     */
+    @SuppressWarnings("unchecked")
+    protected S_OUT evaluate(AbstractPipeline<?, ?, ?, ?, ?, ?> stage, BaseStream<?, ?> stream)
+        {
+        return this == stage
+               ? (S_OUT) stream
+               : m_intermediateOp.apply(m_previousStage.evaluate(stage, stream));
+        }
+
     // ---- BaseStream interface --------------------------------------------
 
     public void close()
@@ -235,6 +292,19 @@ public abstract class AbstractPipeline<K, V, E_IN, E_OUT, S_IN extends BaseStrea
         return head().m_invoker;
         }
 
+    /**
+     * Determine whether this stage directly follows the head of the pipeline,
+     * which is the case for the streams returned by {@link
+     * StreamSupport#entryStream}.
+     *
+     * @return  true if this stage directly follows the head of the pipeline
+     */
+    protected boolean isFirstStage()
+        {
+        AbstractPipeline<?, ?, ?, ?, ?, ?> previousStage = m_previousStage;
+        return previousStage != null && previousStage.m_previousStage == null;
+        }
+
     /**
      * Return the head of the pipeline.
      *
@@ -97,7 +97,9 @@ public class LongCollectorAggregator<K, V, R>
     @Override
     public boolean accumulate(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer)
         {
-        LongStream stream = m_pipeline.evaluate(streamer.stream());
+        LongStream stream = m_pipeline instanceof AbstractPipeline
+                ? ((AbstractPipeline<?, ?, ?, Long, ?, LongStream>) m_pipeline).evaluate(streamer)
+                : m_pipeline.evaluate(streamer.stream());
         m_result = m_supplier.get();
         stream.forEach(t -> m_accumulator.accept(m_result, t));
         return true;
@@ -27,6 +27,7 @@ import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.SimpleHolder;
 import com.tangosol.util.Streamer;
+import com.tangosol.util.ValueExtractor;
 
 import com.tangosol.util.comparator.SafeComparator;
 
@@ -173,6 +174,23 @@ public abstract class ReferencePipeline<K, V, P_IN, P_OUT, S_IN extends BaseStre
         return new DoublePipeline.StatelessOp<>(this, s -> s.mapToDouble(mapper));
         }
 
+    /**
+     * Return a stream consisting of the values extracted from the entries of
+     * this stream using the specified extractor.
+     *
+     * @param extractor  the extractor to use
+     * @param <R>        the type of extracted values
+     *
+     * @return the new stream
+     *
+     * @see ExtractorOp
+     * @see StreamSupport#extractedStream
+     */
+    <R> RemoteStream<R> extract(ValueExtractor<?, ? extends R> extractor)
+        {
+        return new StatelessOp<>(this, new ExtractorOp<>(extractor));
+        }
+
     public <R> RemoteStream<R> flatMap(Function<? super P_OUT, ? extends Stream<? extends R>> mapper)
         {
         return new StatelessOp<>(this, (s) -> s.flatMap(mapper));
@@ -511,6 +529,97 @@ public abstract class ReferencePipeline<K, V, P_IN, P_OUT, S_IN extends BaseStre
             }
         }
 
+    // ---- inner class: ExtractorOp ----------------------------------------
+
+    /**
+     * An intermediate operation that extracts a value from each entry of a
+     * stream of entries.
+     * <p>
+     * The extractor is kept accessible, so that the stages that follow this
+     * operation can be {@link AbstractPipeline#evaluate(Streamer) evaluated}
+     * against the values kept in a {@link com.tangosol.util.ColumnarMapIndex}.
+     *
+     * @param <T>  the type of stream elements (entries)
+     * @param <R>  the type of extracted values
+     */
+    public static class ExtractorOp<T, R>
+            implements Remote.Function<Stream<T>, Stream<R>>, ExternalizableLite, PortableObject
+        {
+        // ---- constructors ------------------------------------------------
+
+        /**
+         * Deserialization constructor.
+         */
+        public ExtractorOp()
+            {
+            }
+
+        /**
+         * Construct ExtractorOp instance.
+         *
+         * @param extractor  the extractor to use
+         */
+        ExtractorOp(ValueExtractor<?, ? extends R> extractor)
+            {
+            m_extractor = Objects.requireNonNull(extractor);
+            }
+
+        // ---- accessors ---------------------------------------------------
+
+        /**
+         * Return the extractor used by this operation.
+         *
+         * @return the extractor used by this operation
+         */
+        public ValueExtractor<?, ? extends R> getExtractor()
+            {
+            return m_extractor;
+            }
+
+        // ---- Function interface ------------------------------------------
+
+        @Override
+        public Stream<R> apply(Stream<T> stream)
+            {
+            ValueExtractor extractor = m_extractor;
+            return stream.map(entry -> (R) ((InvocableMap.Entry) entry).extract(extractor));
+            }
+
+        // ---- ExternalizableLite interface --------------------------------
+
+        @Override
+        public void readExternal(DataInput in) throws IOException
+            {
+            m_extractor = ExternalizableHelper.readObject(in);
+            }
+
+        @Override
+        public void writeExternal(DataOutput out) throws IOException
+            {
+            ExternalizableHelper.writeObject(out, m_extractor);
+            }
+
+        // ---- PortableObject interface ------------------------------------
+
+        public void readExternal(PofReader reader) throws IOException
+            {
+            m_extractor = reader.readObject(0);
+            }
+
+        public void writeExternal(PofWriter writer) throws IOException
+            {
+            writer.writeObject(0, m_extractor);
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The extractor to use.
+         */
+        @JsonbProperty("extractor")
+        private ValueExtractor<?, ? extends R> m_extractor;
+        }
+
     // ---- inner class: PartitionedIterator --------------------------------
 
     protected static class PartitionedIterator<T>
@@ -6,8 +6,16 @@
  */
 package com.tangosol.internal.util.stream;
 
+import com.tangosol.internal.util.VersionHelper;
+
+import com.tangosol.net.CacheService;
+import com.tangosol.net.NamedCache;
+import com.tangosol.net.PartitionedService;
+
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
+import com.tangosol.util.ValueExtractor;
+
 import com.tangosol.util.function.Remote;
 
 import com.tangosol.util.stream.RemotePipeline;
@@ -49,6 +57,60 @@ public abstract class StreamSupport
         return head.unordered();
         }
 
+    /**
+     * Determine whether the specified stream of entries can be turned into a
+     * stream of extracted values using {@link #extractedStream}.
+     * <p>
+     * This is the case when the stream was created by {@link #entryStream}
+     * without any intermediate operations for a cache of a partitioned
+     * service, and all members of the service understand the extraction
+     * operation; otherwise, the entries should be {@link RemoteStream#map
+     * mapped} to the extracted values instead.
+     *
+     * @param stream  a stream of entries
+     *
+     * @return true if {@link #extractedStream} can be used for the stream
+     *
+     * @since 25.09
+     */
+    public static boolean isExtractable(RemoteStream<?> stream)
+        {
+        if (stream instanceof ReferencePipeline && ((ReferencePipeline<?, ?, ?, ?, ?>) stream).isFirstStage())
+            {
+            InvocableMap<?, ?> map = ((ReferencePipeline<?, ?, ?, ?, ?>) stream).getMap();
+            if (map instanceof NamedCache)
+                {
+                CacheService service = ((NamedCache<?, ?>) map).getCacheService();
+                return service instanceof PartitionedService
+                       && service.isVersionCompatible(VersionHelper.VERSION_25_09);
+                }
+            }
+        return false;
+        }
+
+    /**
+     * Create a stream of the values extracted from the entries of the
+     * specified stream.
+     * <p>
+     * Unlike mapping the entries using a function, this keeps the extractor
+     * accessible to the pipeline, so the pipeline can be evaluated against
+     * the values of a {@link com.tangosol.util.ColumnarMapIndex} instead of
+     * the entries.
+     *
+     * @param stream     a stream of entries for which {@link #isExtractable}
+     *                   returns true
+     * @param extractor  the extractor to use
+     *
+     * @return a stream of the extracted values
+     *
+     * @since 25.09
+     */
+    public static <K, V, E> RemoteStream<E> extractedStream(
+            RemoteStream<InvocableMap.Entry<K, V>> stream, ValueExtractor<?, ? extends E> extractor)
+        {
+        return ((ReferencePipeline<K, V, ?, InvocableMap.Entry<K, V>, ?>) stream).extract(extractor);
+        }
+
     /**
      * Create a builder for a {@code Pipeline} for a {@code Stream} of {@code
      * InvocableMap} entries.
@@ -22,6 +22,8 @@ import com.tangosol.io.pof.annotation.Portable;
 
 import com.tangosol.io.pof.schema.annotation.PortableType;
 
+import com.tangosol.io.pof.schema.annotation.internal.Instrumented;
+
 import com.tangosol.run.xml.SimpleElement;
 import com.tangosol.run.xml.XmlConfigurable;
 import com.tangosol.run.xml.XmlDocument;
@@ -44,6 +46,7 @@ import java.lang.reflect.Modifier;
 import java.net.URL;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -192,6 +195,12 @@ import java.util.stream.Collectors;
 * {@link ClassLoaderAware#setContextClassLoader setContextClassLoader} method
 * is invoked with the reference to the specified ClassLoader.
 * <p>
+* Classes annotated with {@link PortableType} that use the default serializer
+* but were not instrumented at build time are serialized by a
+* {@link GeneratedPortableTypeSerializer}, whose codecs are generated at
+* runtime as hidden classes. This can be disabled by setting the
+* <tt>generate-serializers</tt> element to false.
+* <p>
 * Conceptually, the identity of a ConfigurablePofContext is a combination of
 * a configuration locator and a ClassLoader. The ClassLoader is used to
 * resolve and load the configuration details whose location is specified by
@@ -546,6 +555,17 @@ public class ConfigurablePofContext
         return m_fPreferJavaTime;
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isIndexedUserType(int nTypeId)
+        {
+        ensureInitialized();
+
+        Set<Integer> setIndexed = m_cfg.m_setIndexedTypeId;
+        return !setIndexed.isEmpty() && setIndexed.contains(nTypeId);
+        }
+
     // ----- internal helpers -----------------------------------------------
 
     /**
@@ -999,6 +1019,7 @@ public class ConfigurablePofContext
         boolean fEnableTypeDiscovery   = xmlConfig.getSafeElement("enable-type-discovery").getBoolean();
         boolean fEnableConfigDiscovery = xmlConfig.getSafeElement("enable-config-discovery").getBoolean(true);
         boolean fPreferJavaTime        = xmlConfig.getSafeElement("prefer-java-time").getBoolean();
+        boolean fGenerateSerializers   = xmlConfig.getSafeElement("generate-serializers").getBoolean(true);
 
         Map<String, Integer> mapPortableTypes = new ConcurrentHashMap<>();
 
@@ -1072,6 +1093,7 @@ public class ConfigurablePofContext
 
         Map<Integer, WeakReference<Class<?>>> mapClzByTypeId = new ConcurrentHashMap<>();
         Map<Integer, PofSerializer>           mapSerByTypeId = new ConcurrentHashMap<>();
+        Set<Integer>                          setIndexed     = new HashSet<>();
 
         int cTypeIds = 0;
         for (Iterator iter = listTypes.iterator(); iter.hasNext(); )
@@ -1093,6 +1115,12 @@ public class ConfigurablePofContext
                 }
             final Integer ITypeId = nTypeId;
 
+            // determine whether the user type uses the indexed encoding
+            if (xmlType.getSafeElement("indexed").getBoolean())
+                {
+                setIndexed.add(ITypeId);
+                }
+
             // load the class for the user type, and register it
             final Class<?> clz = loadClass(sURI, sClass, nTypeId);
             
@@ -1109,7 +1137,7 @@ public class ConfigurablePofContext
                     {
                     serializer = clz.isEnum()
                                  ? new EnumPofSerializer<>()
-                                 : instantiateSerializer(clz.getAnnotation(PortableType.class).serializer(), nTypeId, clz);
+                                 : instantiatePortableTypeSerializer(nTypeId, clz, fGenerateSerializers);
                     }
                 else if (PortableObject.class.isAssignableFrom(clz))
                     {
@@ -1195,7 +1223,7 @@ public class ConfigurablePofContext
 
             PofSerializer serializer = clz.isEnum()
                                  ? new EnumPofSerializer<>()
-                                 : instantiateSerializer(clz.getAnnotation(PortableType.class).serializer(), nTypeId, clz);
+                                 : instantiatePortableTypeSerializer(nTypeId, clz, fGenerateSerializers);
             mapSerByTypeId.put(nTypeId, serializer);
             }
 
@@ -1207,6 +1235,7 @@ public class ConfigurablePofContext
         cfg.m_mapPortableTypes       = mapPortableTypes;
         cfg.m_mapClzByTypeId         = mapClzByTypeId;
         cfg.m_mapSerByTypeId         = mapSerByTypeId;
+        cfg.m_setIndexedTypeId       = setIndexed;
         cfg.m_fInterfaceAllowed      = fAllowInterfaces;
         cfg.m_fSubclassAllowed       = fAllowSubclasses;
         cfg.m_fReferenceEnabled      = fEnableReferences;
@@ -1439,6 +1468,39 @@ public class ConfigurablePofContext
         return null;
         }
 
+    /**
+    * Create a PofSerializer for a class annotated with {@link PortableType}.
+    * <p>
+    * If the class uses the default {@link PortableTypeSerializer} but was
+    * not instrumented at build time, and serializer generation is enabled,
+    * a {@link GeneratedPortableTypeSerializer} is used instead, which reads
+    * and writes the properties through codecs generated at runtime.
+    *
+    * @param nTypeId    the type ID of the user type
+    * @param clz        the class of the user type
+    * @param fGenerate  true if serializers may be generated at runtime
+    *
+    * @return the PofSerializer for the user type
+    *
+    * @since 25.09
+    */
+    protected PofSerializer<?> instantiatePortableTypeSerializer(int nTypeId, Class<?> clz, boolean fGenerate)
+        {
+        Class<? extends PofSerializer> clzSer = clz.getAnnotation(PortableType.class).serializer();
+        if (fGenerate && clzSer == PortableTypeSerializer.class
+                && !clz.isAnnotationPresent(Instrumented.class))
+            {
+            PofSerializer<?> serializer = GeneratedPortableTypeSerializer.create(nTypeId, clz);
+            if (serializer != null)
+                {
+                return serializer;
+                }
+            Logger.warn("Class " + clz.getName() + " is not instrumented and a POF serializer"
+                        + " could not be generated for it; falling back to " + clzSer.getName());
+            }
+        return instantiateSerializer(clzSer, nTypeId, clz);
+        }
+
     /**
     * Find the specified class, return a Java Class object for it.
     *
@@ -1710,6 +1772,12 @@ public class ConfigurablePofContext
         */
         public Map<Integer, PofSerializer> m_mapSerByTypeId;
 
+        /**
+        * A {@link Set} of type identifiers of the user types that are written
+        * using the indexed user type encoding.
+        */
+        public Set<Integer> m_setIndexedTypeId;
+
         /**
         * True iff an interface name is acceptable in the configuration as
         * the class of a user type.
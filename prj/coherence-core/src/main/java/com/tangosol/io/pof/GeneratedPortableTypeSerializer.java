@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof;
+
+import com.tangosol.io.pof.generator.PortableTypeCodec;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import com.tangosol.util.Base;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A {@link PofSerializer} for classes annotated with {@link PortableType}
+ * that were not instrumented at build time.
+ * <p>
+ * The properties of each class in the hierarchy are read and written by a
+ * {@link PortableTypeCodec} generated at runtime, using the same format as
+ * the {@link PortableTypeSerializer} uses for instrumented classes: the
+ * attributes of each class are written into a separate nested POF stream,
+ * keyed by the type identifier of the class. Unlike instrumented classes,
+ * the future data of newer versions of a type is not preserved.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings("unchecked")
+public class GeneratedPortableTypeSerializer<T>
+        implements PofSerializer<T>
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+     * Create a new GeneratedPortableTypeSerializer.
+     *
+     * @param nTypeId  the type identifier of the user type
+     * @param aClz     the classes in the hierarchy of the user type that
+     *                 are annotated with {@link PortableType}, starting with
+     *                 the user type itself
+     * @param aCodec   the codecs for the corresponding classes
+     */
+    protected GeneratedPortableTypeSerializer(int nTypeId, Class<?>[] aClz, PortableTypeCodec[] aCodec)
+        {
+        Base.azzert(nTypeId >= 0, "user type identifier cannot be negative");
+        m_nTypeId = nTypeId;
+        m_aClz    = aClz;
+        m_aCodec  = aCodec;
+        }
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+     * Create a serializer for the specified class, if codecs can be
+     * generated for the class and all of its super types annotated with
+     * {@link PortableType}.
+     *
+     * @param nTypeId  the type identifier of the user type
+     * @param clz      the class of the user type
+     * @param <T>      the type of the user type
+     *
+     * @return a new serializer, or {@code null} if the codecs cannot be
+     *         generated
+     */
+    public static <T> GeneratedPortableTypeSerializer<T> create(int nTypeId, Class<T> clz)
+        {
+        List<Class<?>>          listClz   = new ArrayList<>();
+        List<PortableTypeCodec> listCodec = new ArrayList<>();
+        for (Class<?> c = clz; c != null && c.isAnnotationPresent(PortableType.class); c = c.getSuperclass())
+            {
+            PortableTypeCodec codec = PortableTypeCodec.getCodec(c);
+            if (codec == null)
+                {
+                return null;
+                }
+            listClz.add(c);
+            listCodec.add(codec);
+            }
+
+        return listClz.isEmpty()
+               ? null
+               : new GeneratedPortableTypeSerializer<>(nTypeId,
+                        listClz.toArray(new Class<?>[0]), listCodec.toArray(new PortableTypeCodec[0]));
+        }
+
+    // ----- PofSerializer interface ----------------------------------------
+
+    @Override
+    public void serialize(PofWriter writer, T value)
+            throws IOException
+        {
+        try
+            {
+            for (Level level : ensureLevels(writer.getPofContext()))
+                {
+                PofWriter out = writer.createNestedPofWriter(level.m_nTypeId, level.m_nTypeId);
+                out.setVersionId(level.m_nVersion);
+                level.m_codec.writeProperties(value, out);
+                out.writeRemainder(null);
+                }
+
+            writer.writeRemainder(null);
+            }
+        catch (Exception e)
+            {
+            String sActual = value == null ? null : value.getClass().getName();
+            throw new IOException(
+                    "An exception occurred writing a PortableType"
+                    + " user type to a POF stream: type-id=" + m_nTypeId
+                    + ", class-name=" + m_aClz[0].getName()
+                    + (sActual == null ? "" : ", actual class-name=" + sActual)
+                    + ", exception=" + e, e);
+            }
+        }
+
+    @Override
+    public T deserialize(PofReader reader)
+            throws IOException
+        {
+        try
+            {
+            Level[] aLevel = ensureLevels(reader.getPofContext());
+            T       value  = (T) m_aCodec[0].newInstance();
+
+            for (Level level : aLevel)
+                {
+                level.m_codec.readProperties(value, reader.createNestedPofReader(level.m_nTypeId));
+                }
+
+            reader.readRemainder();
+            return value;
+            }
+        catch (Exception e)
+            {
+            throw new IOException(
+                    "An exception occurred instantiating a PortableType"
+                    + " user type from a POF stream: type-id=" + m_nTypeId
+                    + ", class-name=" + m_aClz[0].getName()
+                    + ", exception=\n" + e, e);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Return the levels of the type hierarchy that are user types in the
+     * specified context, ordered by their type identifiers.
+     *
+     * @param ctx  the POF context
+     *
+     * @return the levels of the type hierarchy
+     */
+    protected Level[] ensureLevels(PofContext ctx)
+        {
+        Level[] aLevel = m_aLevel;
+        if (aLevel == null)
+            {
+            Class<?>[]          aClz   = m_aClz;
+            PortableTypeCodec[] aCodec = m_aCodec;
+            List<Level>         list   = new ArrayList<>(aClz.length);
+            for (int i = 0; i < aClz.length && ctx.isUserType(aClz[i]); i++)
+                {
+                list.add(new Level(ctx.getUserTypeIdentifier(aClz[i]),
+                                   aClz[i].getAnnotation(PortableType.class).version(), aCodec[i]));
+                }
+
+            aLevel = list.toArray(new Level[0]);
+            Arrays.sort(aLevel, Comparator.comparingInt(level -> level.m_nTypeId));
+
+            m_aLevel = aLevel;
+            }
+        return aLevel;
+        }
+
+    // ----- inner class: Level ---------------------------------------------
+
+    /**
+     * A class in the hierarchy of the user type.
+     */
+    protected static class Level
+        {
+        /**
+         * Create a Level.
+         *
+         * @param nTypeId   the type identifier of the class
+         * @param nVersion  the implementation version of the class
+         * @param codec     the codec for the class
+         */
+        protected Level(int nTypeId, int nVersion, PortableTypeCodec codec)
+            {
+            m_nTypeId  = nTypeId;
+            m_nVersion = nVersion;
+            m_codec    = codec;
+            }
+
+        /**
+         * The type identifier of the class.
+         */
+        protected final int m_nTypeId;
+
+        /**
+         * The implementation version of the class.
+         */
+        protected final int m_nVersion;
+
+        /**
+         * The codec for the class.
+         */
+        protected final PortableTypeCodec m_codec;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+     * The type identifier of the user type.
+     */
+    protected final int m_nTypeId;
+
+    /**
+     * The annotated classes in the hierarchy, starting with the user type.
+     */
+    protected final Class<?>[] m_aClz;
+
+    /**
+     * The codecs for the classes in {@link #m_aClz}.
+     */
+    protected final PortableTypeCodec[] m_aCodec;
+
+    /**
+     * The levels of the hierarchy, resolved on first use; the serializer is
+     * only shared by contexts with the same configuration.
+     */
+    protected volatile Level[] m_aLevel;
+    }
@@ -4061,11 +4061,11 @@ public class PofBufferReader
             super(in, ctx);
 
             assert nTypeId >= 0;
-            assert nVersionId >= 0;
+            assert nVersionId >= 0 || nVersionId == T_INDEXED_USER_TYPE;
 
             m_parent     = parent;
             m_nTypeId    = nTypeId;
-            m_nVersionId = nVersionId;
+            m_nVersionId = readIndex(in, nVersionId);
 
             // prime the property reader by knowing the offset of index of
             // the next property to read
@@ -4096,7 +4096,7 @@ public class PofBufferReader
 
             // read the type and version directly from the buffer
             m_nTypeId    = in.readPackedInt();
-            m_nVersionId = in.readPackedInt();
+            m_nVersionId = readIndex(in, in.readPackedInt());
 
             // prime the property reader by knowing the offset of index of
             // the next property to read
@@ -4172,7 +4172,7 @@ public class PofBufferReader
                 throws IOException
             {
             UserTypeReader reader;
-            PropertyInfo prop = m_propertyMap == null ? null : m_propertyMap.get(iProp);
+            PropertyInfo prop = findSkippedProperty(iProp);
             if (prop != null)
                 {
                 // ensure that the existing nested stream is closed before creating one for a skipped property
@@ -4323,6 +4323,22 @@ public class PofBufferReader
 
             ReadBuffer.BufferInput in = m_in;
             int ofNextProp = m_ofNextProp;
+
+            PofUserTypeIndex index = m_index;
+            if (index != null && iNextProp < iProp)
+                {
+                // jump directly to the requested property, or to the one
+                // that follows it if the property is not present
+                ofNextProp = index.getPropertyOffset(index.seek(iProp));
+                in.setOffset(ofNextProp);
+                iNextProp  = in.readPackedInt();
+
+                m_ofNextProp = ofNextProp;
+                m_iNextProp  = iNextProp < 0 ? EOPS : iNextProp;
+
+                return iProp == iNextProp;
+                }
+
             while (iNextProp < iProp)
                 {
                 int ofCurrentProp = in.getOffset();
@@ -4402,6 +4418,60 @@ public class PofBufferReader
             return m_parent;
             }
 
+        /**
+        * Read the offset table of an indexed user type if the specified
+        * version identifier is the {@link #T_INDEXED_USER_TYPE} marker.
+        *
+        * @param in          the BufferInput that contains the user type data
+        * @param nVersionId  the version identifier read from the stream
+        *
+        * @return the version identifier of the user type
+        *
+        * @throws IOException  if an I/O error occurs
+        */
+        private int readIndex(ReadBuffer.BufferInput in, int nVersionId)
+                throws IOException
+            {
+            if (nVersionId != T_INDEXED_USER_TYPE)
+                {
+                return nVersionId;
+                }
+
+            // the offset table can only be used to reposition a stream that
+            // is backed by a buffer; otherwise it is simply skipped
+            if (in.getBuffer() == null)
+                {
+                return PofUserTypeIndex.skipHeader(in);
+                }
+
+            PofUserTypeIndex index = m_index = PofUserTypeIndex.read(in);
+            return index.getVersionId();
+            }
+
+        /**
+        * Find the offset and length of a property that the reader has
+        * already advanced past.
+        *
+        * @param iProp  the property index
+        *
+        * @return the PropertyInfo, or null if the property was not skipped
+        */
+        private PropertyInfo findSkippedProperty(int iProp)
+            {
+            Map<Integer, PropertyInfo> map   = m_propertyMap;
+            PropertyInfo               prop  = map == null ? null : map.get(iProp);
+            PofUserTypeIndex           index = m_index;
+            if (prop == null && index != null && iProp < m_iNextProp)
+                {
+                int i = index.find(iProp);
+                if (i >= 0)
+                    {
+                    prop = new PropertyInfo(index.getValueOffset(i), index.getValueLength(i));
+                    }
+                }
+            return prop;
+            }
+
         /**
          * Lazily creates a map of skipped properties, if necessary.
          *
@@ -4475,6 +4545,12 @@ public class PofBufferReader
          * Map of property indexes to their offset and length.
          */
         private Map<Integer, PropertyInfo> m_propertyMap;
+
+        /**
+        * The offset table of an indexed user type, or null if the user type
+        * is not indexed.
+        */
+        private PofUserTypeIndex m_index;
         }
 
 
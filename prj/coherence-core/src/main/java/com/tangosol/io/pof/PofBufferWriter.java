@@ -11,6 +11,7 @@ import com.tangosol.io.ReadBuffer;
 import com.tangosol.io.WriteBuffer;
 
 import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.LongArray;
 import com.tangosol.util.WrapperException;
@@ -1985,19 +1986,26 @@ public class PofBufferWriter
                 // resolve the user type identifier
                 int nTypeId = ctx.getUserTypeIdentifier(o);
 
-                // create a new PofWriter for the user type
-                UserTypeWriter writer = new UserTypeWriter(this,
-                        getPofHandler(), ctx, nTypeId, iProp, iRef);
-                if (refs != null && !fEvolvable)
+                if (refs == null && ctx.isIndexedUserType(nTypeId))
                     {
-                    writer.enableReference();
+                    writeIndexedUserType(iProp, nTypeId, o);
                     }
+                else
+                    {
+                    // create a new PofWriter for the user type
+                    UserTypeWriter writer = new UserTypeWriter(this,
+                            getPofHandler(), ctx, nTypeId, iProp, iRef);
+                    if (refs != null && !fEvolvable)
+                        {
+                        writer.enableReference();
+                        }
 
-                // serialize the object using a PofSerializer
-                ctx.getPofSerializer(nTypeId).serialize(writer, o);
+                    // serialize the object using a PofSerializer
+                    ctx.getPofSerializer(nTypeId).serialize(writer, o);
 
-                // notify the nested PofWriter that it is closing
-                writer.closeNested();
+                    // notify the nested PofWriter that it is closing
+                    writer.closeNested();
+                    }
                 }
             }
         catch (Exception e)
@@ -2009,6 +2017,47 @@ public class PofBufferWriter
         setEvolvable(fEvolvableOld);
         }
 
+    /**
+    * Write a user-type to the POF stream using the indexed user type
+    * encoding, which prefixes the properties with an offset table.
+    *
+    * @param iProp    the property index
+    * @param nTypeId  the type identifier of the user type
+    * @param o        the object to write
+    *
+    * @throws IOException if an I/O error occurs
+    *
+    * @see PofUserTypeIndex
+    */
+    protected void writeIndexedUserType(int iProp, int nTypeId, Object o)
+            throws IOException
+        {
+        PofContext ctx = getPofContext();
+
+        // the offset table precedes the properties, so the properties are
+        // serialized into a temporary stream first
+        BinaryWriteBuffer buf    = new BinaryWriteBuffer(256);
+        UserTypeWriter    writer = new UserTypeWriter(this,
+                new WritingPofHandler(buf.getBufferOutput()), ctx, nTypeId, -1);
+
+        ctx.getPofSerializer(nTypeId).serialize(writer, o);
+        writer.closeNested();
+
+        // the temporary stream consists of the type and version identifiers
+        // followed by the properties and the terminating -1
+        Binary                 binTemp = buf.toBinary();
+        ReadBuffer.BufferInput in      = binTemp.getBufferInput();
+        in.readPackedInt();
+        int nVersionId = in.readPackedInt();
+        int ofBody     = in.getOffset();
+
+        WritingPofHandler handler = getPofHandler();
+        handler.beginUserType(iProp, nTypeId, T_INDEXED_USER_TYPE);
+        PofUserTypeIndex.write(handler.getBufferOutput(), nVersionId,
+                binTemp.getReadBuffer(ofBody, binTemp.length() - ofBody - 1));
+        handler.endComplexValue();
+        }
+
     /**
     * {@inheritDoc}
     */
@@ -102,6 +102,13 @@ public interface PofConstants
     //
     public static final int T_UNKNOWN               = -65;      // 0x1C0;
 
+    //
+    // POF marker written in place of the version identifier of a user type
+    // that is encoded with a property offset table (see PofUserTypeIndex).
+    // Not a type written to the stream.
+    //
+    public static final int T_INDEXED_USER_TYPE     = -66;      // 0x1C1;
+
     //
     // Constants representing Java Object types.
     //
@@ -277,6 +284,8 @@ public interface PofConstants
                 return nType + " (reference)";
             case T_UNKNOWN:
                 return nType + " (unknown)";
+            case T_INDEXED_USER_TYPE:
+                return nType + " (indexed user type)";
             default:
                 return String.valueOf(nType);
             }
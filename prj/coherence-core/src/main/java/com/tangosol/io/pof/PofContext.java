@@ -154,4 +154,27 @@ public interface PofContext
         {
         return false;
         }
+
+    /**
+     * Return <code>true</code> if values of the specified user type should be
+     * written using the indexed user type encoding, which prefixes the
+     * properties with an offset table that allows any property to be located
+     * without skipping the properties that precede it.
+     * <p>
+     * The indexed encoding is beneficial for user types with many properties
+     * that are frequently extracted or updated individually, but all members
+     * that read the serialized values must support it.
+     *
+     * @param nTypeId  the type identifier of the user type
+     *
+     * @return <code>true</code> if the indexed user type encoding should be used
+     *
+     * @see PofUserTypeIndex
+     *
+     * @since 25.09
+     */
+    public default boolean isIndexedUserType(int nTypeId)
+        {
+        return false;
+        }
     }
@@ -374,8 +374,109 @@ public class PofDeltaCompressor
         {
         // the user type and the sparse array have the same structure, except
         // that the user type leads with a version while the sparse array
-        // leads with an element count (packed ints in both cases)
-        diffSparseArray(inOld, inNew, tracker);
+        // leads with an element count (packed ints in both cases); an indexed
+        // user type leads with a marker followed by its offset table
+        int nOldVersion = inOld.readPackedInt();
+        int nNewVersion = inNew.readPackedInt();
+        if (nOldVersion == T_INDEXED_USER_TYPE && nNewVersion == T_INDEXED_USER_TYPE)
+            {
+            tracker.advance(true);
+            diffIndexedUserType(inOld, inNew, tracker);
+            }
+        else
+            {
+            if (nOldVersion == T_INDEXED_USER_TYPE)
+                {
+                PofUserTypeIndex.skipHeader(inOld);
+                }
+            if (nNewVersion == T_INDEXED_USER_TYPE)
+                {
+                PofUserTypeIndex.skipHeader(inNew);
+                }
+            tracker.advance(nOldVersion == nNewVersion);
+            diffSparseArrayElements(inOld, inNew, tracker);
+            }
+        }
+
+    /**
+    * Within the two passed POF streams, parse and compare the remainder of
+    * an indexed user type value. The offset tables are used to locate the
+    * properties, so that properties with identical binary values are not
+    * parsed at all.
+    *
+    * @param inOld    the BufferInput to read from, positioned immediately
+    *                 after the indexed user type marker
+    * @param inNew    the BufferInput to read from, positioned immediately
+    *                 after the indexed user type marker
+    * @param tracker  the ChangeTracker that computes the diff result
+    *
+    * @throws IOException  if an I/O error occurs
+    */
+    protected void diffIndexedUserType(BufferInput inOld,
+                                       BufferInput inNew,
+                                       ChangeTracker tracker)
+            throws IOException
+        {
+        ReadBuffer       bufOld   = inOld.getBuffer();
+        ReadBuffer       bufNew   = inNew.getBuffer();
+        PofUserTypeIndex indexOld = PofUserTypeIndex.read(inOld);
+        PofUserTypeIndex indexNew = PofUserTypeIndex.read(inNew);
+
+        // the headers differ if the version or the size of any property
+        // changed
+        int ofOld = indexOld.getHeaderOffset();
+        int ofNew = indexNew.getHeaderOffset();
+        tracker.advance(bufOld.getReadBuffer(ofOld, indexOld.getBodyOffset() - ofOld)
+                .equals(bufNew.getReadBuffer(ofNew, indexNew.getBodyOffset() - ofNew)));
+
+        int cOld = indexOld.getPropertyCount();
+        int cNew = indexNew.getPropertyCount();
+        int iOld = 0;
+        int iNew = 0;
+        while (iOld < cOld || iNew < cNew)
+            {
+            int nPropOld = iOld < cOld ? indexOld.getPropertyIndex(iOld) : Integer.MAX_VALUE;
+            int nPropNew = iNew < cNew ? indexNew.getPropertyIndex(iNew) : Integer.MAX_VALUE;
+            if (nPropOld == nPropNew)
+                {
+                int ofOldNext = indexOld.getPropertyOffset(++iOld);
+                int ofNewNext = indexNew.getPropertyOffset(++iNew);
+                ofOld = inOld.getOffset();
+                ofNew = inNew.getOffset();
+                if (bufOld.getReadBuffer(ofOld, ofOldNext - ofOld)
+                        .equals(bufNew.getReadBuffer(ofNew, ofNewNext - ofNew)))
+                    {
+                    // identical property; no need to parse it
+                    inOld.setOffset(ofOldNext);
+                    inNew.setOffset(ofNewNext);
+                    tracker.advance(true);
+                    }
+                else
+                    {
+                    inOld.readPackedInt();
+                    inNew.readPackedInt();
+                    tracker.advance(true);
+                    diffValue(inOld, inNew, tracker);
+                    }
+                }
+            else if (nPropOld < nPropNew)
+                {
+                // property removed
+                inOld.setOffset(indexOld.getPropertyOffset(++iOld));
+                tracker.advance(false);
+                }
+            else
+                {
+                // property added
+                inNew.setOffset(indexNew.getPropertyOffset(++iNew));
+                tracker.advance(false);
+                }
+            }
+
+        // the terminating -1
+        inOld.readPackedInt();
+        inNew.readPackedInt();
+        tracker.advance(true);
         }
 
     /**
@@ -516,7 +617,25 @@ public class PofDeltaCompressor
         // that the user type leads with a version while the sparse array
         // leads with an element count (packed ints in both cases)
         diffPackedInt(inOld, inNew, tracker);
+        diffSparseArrayElements(inOld, inNew, tracker);
+        }
 
+    /**
+    * Within the two passed POF streams, parse and compare the elements of a
+    * sparse array or the properties of a user type, up to and including the
+    * terminating -1.
+    *
+    * @param inOld    the BufferInput to read from
+    * @param inNew    the BufferInput to read from
+    * @param tracker  the ChangeTracker that computes the diff result
+    *
+    * @throws IOException  if an I/O error occurs
+    */
+    protected void diffSparseArrayElements(BufferInput inOld,
+                                           BufferInput inNew,
+                                           ChangeTracker tracker)
+            throws IOException
+        {
         while (true)
             {
             // might have to back up if the element indexes don't match
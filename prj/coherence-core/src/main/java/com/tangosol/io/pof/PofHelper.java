@@ -1364,13 +1364,22 @@ public abstract class PofHelper
                 if (nType >= 0)
                     {
                     // user type
-                    // version id, reference id, or T_IDENTITY
-                    if (in.readPackedInt() == T_IDENTITY)
+                    // version id, reference id, T_IDENTITY, or
+                    // T_INDEXED_USER_TYPE
+                    int nVersionId = in.readPackedInt();
+                    if (nVersionId == T_IDENTITY)
                         {
                         // TODO: see COH-11347
                         throw new UnsupportedOperationException("Detected object identity/reference"
                                 + " in uniform collection, which is not currently supported");
                         }
+                    if (nVersionId == T_INDEXED_USER_TYPE)
+                        {
+                        // the properties of an indexed user type can be
+                        // skipped without parsing them
+                        PofUserTypeIndex.skip(in);
+                        break;
+                        }
                     while (in.readPackedInt() >= 0)
                         {
                         skipValue(in);
@@ -387,8 +387,14 @@ public class PofParser
     protected void parseUserType(ReadBuffer.BufferInput in, int iPos, int nType)
             throws IOException
         {
+        int nVersionId = in.readPackedInt();
+        if (nVersionId == T_INDEXED_USER_TYPE)
+            {
+            nVersionId = PofUserTypeIndex.skipHeader(in);
+            }
+
         PofHandler handler = m_handler;
-        handler.beginUserType(iPos, nType, in.readPackedInt());
+        handler.beginUserType(iPos, nType, nVersionId);
 
         while (true)
             {
@@ -0,0 +1,568 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof;
+
+
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+
+import java.util.Arrays;
+
+
+/**
+* PofUserTypeIndex represents the property offset table of an "indexed user
+* type", which is an optional encoding of a POF user type value that allows
+* any of its properties to be located without skipping all the properties
+* that precede it.
+* <p>
+* An indexed user type carries the {@link #T_INDEXED_USER_TYPE} marker in
+* place of the version identifier of a regular user type, followed by:
+* <pre>
+*   format-version   packed int; currently {@link #FORMAT_VERSION}
+*   version-id       packed int; the version identifier of the user type
+*   entry-width      byte; the width of each table field (1, 2 or 4 bytes)
+*   entry-count      packed int; the number of properties in the body
+*   body-length      packed int; the length of the body in bytes
+*   offset-table     entry-count entries, each consisting of a property
+*                    index and the offset of that property within the body,
+*                    both entry-width bytes wide, in ascending property order
+*   body             the property indexes and values, exactly as they would
+*                    be encoded in a regular user type
+*   -1               packed int; the property stream terminator
+* </pre>
+* Since the body has the same format as the property stream of a regular
+* user type, parsers that have no use for the offset table simply skip the
+* header and process the properties sequentially. The format version allows
+* the layout of the header to evolve without changing the marker.
+* <p>
+* Indexed user types are written only for the types that a
+* {@link PofContext} {@link PofContext#isIndexedUserType opts in}, and only
+* when POF object references are disabled.
+*
+* @since 25.09
+*/
+public class PofUserTypeIndex
+        implements PofConstants
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a PofUserTypeIndex.
+    *
+    * @param ofHeader    the offset of the header within the POF stream
+    * @param nVersionId  the version identifier of the user type
+    * @param cbWidth     the width of each table field
+    * @param cEntries    the number of entries in the table
+    * @param bufTable    the buffer containing the table entries
+    * @param ofBody      the offset of the body within the POF stream
+    * @param cbBody      the length of the body
+    */
+    protected PofUserTypeIndex(int ofHeader, int nVersionId, int cbWidth,
+            int cEntries, ReadBuffer bufTable, int ofBody, int cbBody)
+        {
+        m_ofHeader   = ofHeader;
+        m_nVersionId = nVersionId;
+        m_cbWidth    = cbWidth;
+        m_cEntries   = cEntries;
+        m_bufTable   = bufTable;
+        m_ofBody     = ofBody;
+        m_cbBody     = cbBody;
+        }
+
+
+    // ----- reading --------------------------------------------------------
+
+    /**
+    * Read the offset table of an indexed user type from the passed stream,
+    * which must be positioned immediately after the
+    * {@link #T_INDEXED_USER_TYPE} marker. Upon return the stream is
+    * positioned at the first property of the body.
+    *
+    * @param in  the BufferInput to read from
+    *
+    * @return the PofUserTypeIndex; offsets reported by the index are
+    *         relative to the beginning of the passed stream
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    public static PofUserTypeIndex read(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        int ofHeader   = in.getOffset();
+        int nVersionId = readFormat(in);
+        int cbWidth    = readWidth(in);
+        int cEntries   = in.readPackedInt();
+        int cbBody     = in.readPackedInt();
+
+        ReadBuffer bufTable = in.readBuffer(cEntries * cbWidth * 2);
+
+        return new PofUserTypeIndex(ofHeader, nVersionId, cbWidth, cEntries,
+                bufTable, in.getOffset(), cbBody);
+        }
+
+    /**
+    * Skip the header and the offset table of an indexed user type in the
+    * passed stream, which must be positioned immediately after the
+    * {@link #T_INDEXED_USER_TYPE} marker. Upon return the stream is
+    * positioned at the first property of the body.
+    *
+    * @param in  the BufferInput to read from
+    *
+    * @return the version identifier of the user type
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    public static int skipHeader(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        int nVersionId = readFormat(in);
+        int cbWidth    = readWidth(in);
+        int cEntries   = in.readPackedInt();
+
+        in.readPackedInt(); // body length
+        skipFully(in, cEntries * cbWidth * 2);
+
+        return nVersionId;
+        }
+
+    /**
+    * Skip the remainder of an indexed user type in the passed stream,
+    * which must be positioned immediately after the
+    * {@link #T_INDEXED_USER_TYPE} marker. Unlike a regular user type, the
+    * properties do not have to be parsed in order to be skipped.
+    *
+    * @param in  the BufferInput to read from
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    public static void skip(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        readFormat(in);
+        int cbWidth  = readWidth(in);
+        int cEntries = in.readPackedInt();
+        int cbBody   = in.readPackedInt();
+
+        skipFully(in, cEntries * cbWidth * 2 + cbBody);
+        if (in.readPackedInt() != -1)
+            {
+            throw new StreamCorruptedException("indexed user type is not terminated");
+            }
+        }
+
+
+    // ----- writing --------------------------------------------------------
+
+    /**
+    * Write the header, the offset table and the body of an indexed user
+    * type to the passed stream. The caller is responsible for writing the
+    * {@link #T_INDEXED_USER_TYPE} marker before, and the property stream
+    * terminator after the body.
+    *
+    * @param out         the BufferOutput to write to
+    * @param nVersionId  the version identifier of the user type
+    * @param bufBody     the property indexes and values of the user type,
+    *                    without the terminating -1
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    public static void write(WriteBuffer.BufferOutput out, int nVersionId,
+            ReadBuffer bufBody)
+            throws IOException
+        {
+        int   cbBody   = bufBody.length();
+        int[] aiProp   = new int[16];
+        int[] aofProp  = new int[16];
+        int   cEntries = 0;
+        int   iLast    = 0;
+
+        // a single pass over the body collects the offset of every property
+        ReadBuffer.BufferInput in = bufBody.getBufferInput();
+        while (in.getOffset() < cbBody)
+            {
+            if (cEntries == aiProp.length)
+                {
+                aiProp  = Arrays.copyOf(aiProp, cEntries * 2);
+                aofProp = Arrays.copyOf(aofProp, cEntries * 2);
+                }
+
+            aofProp[cEntries] = in.getOffset();
+            aiProp[cEntries]  = iLast = in.readPackedInt();
+            ++cEntries;
+
+            PofHelper.skipValue(in);
+            }
+
+        int nMax    = Math.max(iLast, cbBody);
+        int cbWidth = nMax <= 0xFF ? 1 : nMax <= 0xFFFF ? 2 : 4;
+
+        out.writePackedInt(FORMAT_VERSION);
+        out.writePackedInt(nVersionId);
+        out.writeByte(cbWidth);
+        out.writePackedInt(cEntries);
+        out.writePackedInt(cbBody);
+        for (int i = 0; i < cEntries; ++i)
+            {
+            writeField(out, cbWidth, aiProp[i]);
+            writeField(out, cbWidth, aofProp[i]);
+            }
+        out.writeBuffer(bufBody);
+        }
+
+
+    // ----- accessors ------------------------------------------------------
+
+    /**
+    * Return the offset of the header, which immediately follows the
+    * {@link #T_INDEXED_USER_TYPE} marker.
+    *
+    * @return the offset of the header
+    */
+    public int getHeaderOffset()
+        {
+        return m_ofHeader;
+        }
+
+    /**
+    * Return the version identifier of the user type.
+    *
+    * @return the version identifier
+    */
+    public int getVersionId()
+        {
+        return m_nVersionId;
+        }
+
+    /**
+    * Return the number of properties present in the user type.
+    *
+    * @return the number of properties
+    */
+    public int getPropertyCount()
+        {
+        return m_cEntries;
+        }
+
+    /**
+    * Return the offset of the first property of the body.
+    *
+    * @return the offset of the body
+    */
+    public int getBodyOffset()
+        {
+        return m_ofBody;
+        }
+
+    /**
+    * Return the length of the body, which excludes the terminating -1.
+    *
+    * @return the length of the body
+    */
+    public int getBodyLength()
+        {
+        return m_cbBody;
+        }
+
+    /**
+    * Return the index of the property at the specified position in the
+    * table.
+    *
+    * @param i  the position in the table
+    *
+    * @return the property index
+    */
+    public int getPropertyIndex(int i)
+        {
+        return readField(i * 2);
+        }
+
+    /**
+    * Return the offset of the property at the specified position in the
+    * table, which is the offset of its property index. For a position equal
+    * to the number of properties this method returns the offset of the
+    * property stream terminator.
+    *
+    * @param i  the position in the table
+    *
+    * @return the offset of the property
+    */
+    public int getPropertyOffset(int i)
+        {
+        return m_ofBody + (i == m_cEntries ? m_cbBody : readField(i * 2 + 1));
+        }
+
+    /**
+    * Return the offset of the value of the property at the specified
+    * position in the table.
+    *
+    * @param i  the position in the table
+    *
+    * @return the offset of the property value
+    */
+    public int getValueOffset(int i)
+        {
+        return getPropertyOffset(i)
+               + ExternalizableHelper.calculatePackedLength(getPropertyIndex(i));
+        }
+
+    /**
+    * Return the length of the value of the property at the specified
+    * position in the table.
+    *
+    * @param i  the position in the table
+    *
+    * @return the length of the property value
+    */
+    public int getValueLength(int i)
+        {
+        return getPropertyOffset(i + 1) - getValueOffset(i);
+        }
+
+    /**
+    * Find the position of the specified property in the table.
+    *
+    * @param iProp  the property index
+    *
+    * @return the position of the property in the table, if present;
+    *         otherwise <tt>(-(insertion point) - 1)</tt>, where the
+    *         insertion point is the position of the first property with a
+    *         greater index, or the number of properties if there is none
+    */
+    public int find(int iProp)
+        {
+        int cEntries = m_cEntries;
+
+        // most user types number their properties densely, in which case
+        // the position of a property is its index
+        if (iProp < cEntries && getPropertyIndex(iProp) == iProp)
+            {
+            return iProp;
+            }
+
+        int iLow  = 0;
+        int iHigh = cEntries - 1;
+        while (iLow <= iHigh)
+            {
+            int iMid  = (iLow + iHigh) >>> 1;
+            int iCurr = getPropertyIndex(iMid);
+            if (iCurr < iProp)
+                {
+                iLow = iMid + 1;
+                }
+            else if (iCurr > iProp)
+                {
+                iHigh = iMid - 1;
+                }
+            else
+                {
+                return iMid;
+                }
+            }
+        return -(iLow + 1);
+        }
+
+    /**
+    * Return the position of the specified property in the table, or of the
+    * first property that follows it if the property is not present.
+    *
+    * @param iProp  the property index
+    *
+    * @return the position of the property or of the property that follows
+    *         it; the number of properties if there is none
+    */
+    public int seek(int iProp)
+        {
+        int i = find(iProp);
+        return i < 0 ? -i - 1 : i;
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public String toString()
+        {
+        return "PofUserTypeIndex{version=" + m_nVersionId
+               + ", properties=" + m_cEntries
+               + ", width=" + m_cbWidth
+               + ", body=" + m_cbBody + '}';
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Read and validate the format version, and then read the version
+    * identifier of the user type.
+    *
+    * @param in  the BufferInput to read from
+    *
+    * @return the version identifier of the user type
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    protected static int readFormat(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        int nFormat = in.readPackedInt();
+        if (nFormat != FORMAT_VERSION)
+            {
+            throw new StreamCorruptedException(
+                    "unsupported indexed user type format: " + nFormat);
+            }
+        return in.readPackedInt();
+        }
+
+    /**
+    * Read and validate the width of the table fields.
+    *
+    * @param in  the BufferInput to read from
+    *
+    * @return the width of the table fields
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    protected static int readWidth(ReadBuffer.BufferInput in)
+            throws IOException
+        {
+        int cbWidth = in.readUnsignedByte();
+        if (cbWidth != 1 && cbWidth != 2 && cbWidth != 4)
+            {
+            throw new StreamCorruptedException(
+                    "illegal indexed user type entry width: " + cbWidth);
+            }
+        return cbWidth;
+        }
+
+    /**
+    * Skip exactly the specified number of bytes.
+    *
+    * @param in  the BufferInput to skip
+    * @param cb  the number of bytes to skip
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    protected static void skipFully(ReadBuffer.BufferInput in, int cb)
+            throws IOException
+        {
+        if (in.skipBytes(cb) != cb)
+            {
+            throw new EOFException();
+            }
+        }
+
+    /**
+    * Write a table field of the specified width.
+    *
+    * @param out      the BufferOutput to write to
+    * @param cbWidth  the width of the field
+    * @param n        the field value
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    protected static void writeField(WriteBuffer.BufferOutput out, int cbWidth, int n)
+            throws IOException
+        {
+        switch (cbWidth)
+            {
+            case 1:
+                out.writeByte(n);
+                break;
+
+            case 2:
+                out.writeShort(n);
+                break;
+
+            default:
+                out.writeInt(n);
+                break;
+            }
+        }
+
+    /**
+    * Read the table field at the specified position.
+    *
+    * @param iField  the position of the field
+    *
+    * @return the field value
+    */
+    protected int readField(int iField)
+        {
+        ReadBuffer buf     = m_bufTable;
+        int        cbWidth = m_cbWidth;
+        int        of      = iField * cbWidth;
+        switch (cbWidth)
+            {
+            case 1:
+                return buf.byteAt(of) & 0xFF;
+
+            case 2:
+                return (buf.byteAt(of) & 0xFF) << 8 | buf.byteAt(of + 1) & 0xFF;
+
+            default:
+                return (buf.byteAt(of)     & 0xFF) << 24
+                     | (buf.byteAt(of + 1) & 0xFF) << 16
+                     | (buf.byteAt(of + 2) & 0xFF) << 8
+                     |  buf.byteAt(of + 3) & 0xFF;
+            }
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The current version of the indexed user type format.
+    */
+    public static final int FORMAT_VERSION = 1;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The offset of the header.
+    */
+    protected final int m_ofHeader;
+
+    /**
+    * The version identifier of the user type.
+    */
+    protected final int m_nVersionId;
+
+    /**
+    * The width of each table field in bytes.
+    */
+    protected final int m_cbWidth;
+
+    /**
+    * The number of entries in the table.
+    */
+    protected final int m_cEntries;
+
+    /**
+    * The table entries.
+    */
+    protected final ReadBuffer m_bufTable;
+
+    /**
+    * The offset of the body.
+    */
+    protected final int m_ofBody;
+
+    /**
+    * The length of the body.
+    */
+    protected final int m_cbBody;
+    }
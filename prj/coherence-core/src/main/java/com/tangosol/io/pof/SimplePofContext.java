@@ -257,6 +257,15 @@ public class SimplePofContext
         return m_fPreferJavaTime;
         }
 
+    /**
+     * {@inheritDoc}
+     */
+    public boolean isIndexedUserType(int nTypeId)
+        {
+        LongArray laIndexed = m_laIndexed;
+        return laIndexed != null && laIndexed.exists(nTypeId);
+        }
+
     // ----- user type registration -----------------------------------------
 
     /**
@@ -396,6 +405,8 @@ public class SimplePofContext
                 laSerializer = m_laSerializer = null;
                 }
             }
+
+        setIndexedUserType(nTypeId, false);
         }
 
     /**
@@ -409,6 +420,40 @@ public class SimplePofContext
         m_fPreferJavaTime = fPreferJavaTime;
         }
 
+    /**
+     * Specify whether values of a registered user type should be written using
+     * the indexed user type encoding.
+     *
+     * @param nTypeId   the type identifier of the user type
+     * @param fIndexed  true to write the user type with a property offset table
+     *
+     * @see PofContext#isIndexedUserType(int)
+     *
+     * @since 25.09
+     */
+    public void setIndexedUserType(int nTypeId, boolean fIndexed)
+        {
+        validateTypeId(nTypeId);
+
+        LongArray laIndexed = m_laIndexed;
+        if (fIndexed)
+            {
+            if (laIndexed == null)
+                {
+                m_laIndexed = laIndexed = new SparseArray();
+                }
+            laIndexed.set(nTypeId, Boolean.TRUE);
+            }
+        else if (laIndexed != null)
+            {
+            laIndexed.remove(nTypeId);
+            if (laIndexed.isEmpty())
+                {
+                m_laIndexed = null;
+                }
+            }
+        }
+
     // ----- internal methods -----------------------------------------------
 
     /**
@@ -482,4 +527,10 @@ public class SimplePofContext
      * legacy types.
      */
     protected boolean m_fPreferJavaTime;
+
+    /**
+     * A LongArray of the type identifiers of the user types written using the
+     * indexed user type encoding.
+     */
+    protected LongArray m_laIndexed;
     }
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof.generator;
+
+import com.oracle.coherence.common.base.Logger;
+
+import com.oracle.coherence.common.schema.ClassFileSchemaSource;
+import com.oracle.coherence.common.schema.Schema;
+import com.oracle.coherence.common.schema.SchemaBuilder;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import java.util.Optional;
+
+import static com.oracle.coherence.common.schema.ClassFileSchemaSource.Filters.hasAnnotation;
+
+/**
+ * Reads and writes the POF properties declared by a single class annotated
+ * with {@link PortableType}.
+ * <p>
+ * Codecs are generated at runtime by the {@link PortableTypeGenerator} and
+ * defined as hidden nestmates of the class they serialize, which allows
+ * classes that were not instrumented at build time to be serialized without
+ * reflection. A codec only handles the properties declared by its own class;
+ * the properties of super types are handled by the codecs of the super types.
+ *
+ * @since 25.09
+ */
+public abstract class PortableTypeCodec
+    {
+    // ----- PortableTypeCodec methods --------------------------------------
+
+    /**
+     * Create a new instance of the class using its no-argument constructor.
+     *
+     * @return a new instance of the class
+     *
+     * @throws UnsupportedOperationException  if the class is abstract or does
+     *                                        not have a no-argument constructor
+     */
+    public Object newInstance()
+        {
+        throw new UnsupportedOperationException(
+                "The type does not have a no-argument constructor or is abstract");
+        }
+
+    /**
+     * Write the properties declared by the class to the specified writer.
+     *
+     * @param o    the object to write the properties of
+     * @param out  the writer for the nested POF stream of the class
+     *
+     * @throws IOException  if an I/O error occurs
+     */
+    public abstract void writeProperties(Object o, PofWriter out)
+            throws IOException;
+
+    /**
+     * Read the properties declared by the class from the specified reader.
+     *
+     * @param o   the object to read the properties into
+     * @param in  the reader for the nested POF stream of the class
+     *
+     * @throws IOException  if an I/O error occurs
+     */
+    public abstract void readProperties(Object o, PofReader in)
+            throws IOException;
+
+    // ----- static helpers -------------------------------------------------
+
+    /**
+     * Return the codec for the specified class, generating it on the first
+     * call.
+     *
+     * @param clz  the class annotated with {@link PortableType}
+     *
+     * @return the codec for the specified class, or {@code null} if a codec
+     *         cannot be generated for it
+     */
+    public static PortableTypeCodec getCodec(Class<?> clz)
+        {
+        return CODECS.get(clz).orElse(null);
+        }
+
+    /**
+     * Generate and define the codec for the specified class.
+     *
+     * @param clz  the class annotated with {@link PortableType}
+     *
+     * @return the codec for the specified class, or {@code null} if a codec
+     *         cannot be generated for it
+     */
+    protected static PortableTypeCodec generate(Class<?> clz)
+        {
+        ClassLoader loader = clz.getClassLoader();
+        if (loader == null || !clz.isAnnotationPresent(PortableType.class))
+            {
+            return null;
+            }
+
+        try
+            {
+            // the super types are added to the schema so that the
+            // property types can be resolved the same way as at build time
+            ClassFileSchemaSource source = new ClassFileSchemaSource()
+                    .withClassLoader(loader)
+                    .withTypeFilter(hasAnnotation(PortableType.class))
+                    .withMissingPropertiesAsObject();
+            for (Class<?> c = clz; c != null && c.isAnnotationPresent(PortableType.class); c = c.getSuperclass())
+                {
+                source.withClassFile(new File(getResourceName(c)));
+                }
+            Schema schema = new SchemaBuilder().addSchemaSource(source).build();
+
+            PortableTypeGenerator generator;
+            try (InputStream in = loader.getResourceAsStream(getResourceName(clz)))
+                {
+                if (in == null)
+                    {
+                    Logger.finer("Unable to generate POF codec for " + clz.getName()
+                                 + ": class file is not available");
+                    return null;
+                    }
+                generator = new PortableTypeGenerator(schema, in, false,
+                                                      new PortableTypeGenerator.NullLogger());
+                }
+
+            byte[] abCodec = generator.generateCodec();
+            if (abCodec == null)
+                {
+                Logger.finer("Unable to generate POF codec for " + clz.getName());
+                return null;
+                }
+
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clz, MethodHandles.lookup())
+                    .defineHiddenClass(abCodec, true, MethodHandles.Lookup.ClassOption.NESTMATE);
+
+            return (PortableTypeCodec) lookup.findConstructor(lookup.lookupClass(),
+                    MethodType.methodType(void.class)).invoke();
+            }
+        catch (Throwable e)
+            {
+            Logger.finer("Unable to generate POF codec for " + clz.getName() + ": " + e);
+            return null;
+            }
+        }
+
+    /**
+     * Return the name of the class file resource for the specified class.
+     *
+     * @param clz  the class
+     *
+     * @return the name of the class file resource
+     */
+    private static String getResourceName(Class<?> clz)
+        {
+        return clz.getName().replace('.', '/') + ".class";
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The codecs, keyed by class.
+     */
+    private static final ClassValue<Optional<PortableTypeCodec>> CODECS = new ClassValue<>()
+        {
+        @Override
+        protected Optional<PortableTypeCodec> computeValue(Class<?> clz)
+            {
+            return Optional.ofNullable(generate(clz));
+            }
+        };
+    }
@@ -90,9 +90,12 @@ import static com.oracle.coherence.common.schema.util.AsmUtils.getAnnotation;
 import static com.oracle.coherence.common.schema.util.AsmUtils.internalName;
 import static com.oracle.coherence.common.schema.util.AsmUtils.javaName;
 
+import static org.objectweb.asm.Opcodes.ACC_ABSTRACT;
 import static org.objectweb.asm.Opcodes.ACC_ENUM;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
 import static org.objectweb.asm.Opcodes.ACC_PRIVATE;
 import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
 import static org.objectweb.asm.Opcodes.ACC_TRANSIENT;
 import static org.objectweb.asm.Opcodes.ALOAD;
 import static org.objectweb.asm.Opcodes.ANEWARRAY;
@@ -117,6 +120,7 @@ import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
 import static org.objectweb.asm.Opcodes.NEW;
 import static org.objectweb.asm.Opcodes.PUTFIELD;
 import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V17;
 
 /**
  * This class instruments classes annotated with {@link PortableType} to make
@@ -311,6 +315,79 @@ public class PortableTypeGenerator
         out.write(getClassBytes());
         }
 
+    /**
+     * Generate the byte code of a {@link PortableTypeCodec} that reads and
+     * writes the POF properties of the class directly, without instrumenting
+     * the class itself.
+     * <p>
+     * The generated codec uses the same property indexes and encodings as the
+     * instrumented class would, and must be defined as a hidden nestmate of
+     * the class so that it can access the private fields of the class.
+     *
+     * @return the byte code of the codec, or {@code null} if a codec cannot
+     *         be generated for the class
+     *
+     * @since 25.09
+     */
+    public byte[] generateCodec()
+        {
+        String fullName = javaName(m_classNode.name);
+
+        if (m_type == null || m_type.getId() == 0 || isEnum())
+            {
+            m_log.debug("Skipping codec for type " + fullName + ". Type does not exist "
+                        + "in the schema, PofType extension is not defined or type is an enumeration");
+            return null;
+            }
+
+        populatePropertyMap();
+        populateFieldMap();
+
+        // final fields can only be assigned by the class itself
+        for (SortedSet<PofProperty> properties : m_mapProperties.values())
+            {
+            for (PofProperty property : properties)
+                {
+                FieldNode field = field(property);
+                if (field != null && isSerializable(field) && (field.access & ACC_FINAL) != 0)
+                    {
+                    m_log.debug("Skipping codec for type " + fullName
+                                + ". Field " + field.name + " is final");
+                    return null;
+                    }
+                }
+            }
+
+        ClassNode cn = new ClassNode();
+        cn.version    = V17;
+        cn.access     = ACC_PUBLIC | ACC_FINAL | ACC_SUPER;
+        cn.name       = m_classNode.name + "$PofCodec";
+        cn.superName  = CODEC_TYPE;
+        cn.interfaces = new ArrayList<>();
+
+        MethodNode ctor = new MethodNode(ACC_PUBLIC, "<init>", "()V", null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(ALOAD, 0);
+        ctor.visitMethodInsn(INVOKESPECIAL, CODEC_TYPE, "<init>", "()V", false);
+        ctor.visitInsn(RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+        cn.methods.add(ctor);
+
+        if ((m_classNode.access & ACC_ABSTRACT) == 0 && findMethod("<init>", "()V") != null)
+            {
+            cn.methods.add(implementCodecNewInstance());
+            }
+        cn.methods.add(implementCodecWriteProperties());
+        cn.methods.add(implementCodecReadProperties());
+
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cn.accept(writer);
+
+        m_log.debug("Generated codec for type " + fullName);
+        return writer.toByteArray();
+        }
+
     /**
      * Ensure that the instrumented class implements {@link EvolvableObject}.
      */
@@ -677,6 +754,159 @@ public class PortableTypeGenerator
         m_log.debug("Implemented method: " + mn.name);
         }
 
+    /**
+     * Implement {@link PortableTypeCodec#newInstance()} for the codec.
+     *
+     * @return the method implementation
+     */
+    private MethodNode implementCodecNewInstance()
+        {
+        MethodNode mn = new MethodNode(ACC_PUBLIC, "newInstance", "()Ljava/lang/Object;", null, null);
+        mn.visitCode();
+        mn.visitTypeInsn(NEW, m_classNode.name);
+        mn.visitInsn(DUP);
+        mn.visitMethodInsn(INVOKESPECIAL, m_classNode.name, "<init>", "()V", false);
+        mn.visitInsn(ARETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        return mn;
+        }
+
+    /**
+     * Implement {@link PortableTypeCodec#writeProperties} for the codec, using
+     * the same property indexes and write methods as {@link #implementWriteExternal()}.
+     *
+     * @return the method implementation
+     */
+    @SuppressWarnings("Duplicates")
+    private MethodNode implementCodecWriteProperties()
+        {
+        MethodNode mn = new MethodNode(ACC_PUBLIC, "writeProperties",
+                                       "(Ljava/lang/Object;Lcom/tangosol/io/pof/PofWriter;)V",
+                                       null,
+                                       new String[] {"java/io/IOException"});
+        mn.visitCode();
+        mn.visitVarInsn(ALOAD, 1);
+        mn.visitTypeInsn(CHECKCAST, m_classNode.name);
+        mn.visitVarInsn(ASTORE, 3);
+
+        int cPofFields = 0;
+
+        for (SortedSet<PofProperty> properties : m_mapProperties.values())
+            {
+            for (PofProperty property : properties)
+                {
+                FieldNode field = field(property);
+                if (field == null || !isSerializable(field))
+                    {
+                    continue;
+                    }
+
+                int  nPofIndex = cPofFields++;
+                Type type      = Type.getType(field.desc);
+
+                mn.visitVarInsn(ALOAD, 2);
+                mn.visitLdcInsn(nPofIndex);
+                mn.visitVarInsn(ALOAD, 3);
+                mn.visitFieldInsn(GETFIELD, m_classNode.name, field.name, field.desc);
+
+                if (isRawEncodingSupported(type))
+                    {
+                    mn.visitLdcInsn(property.isArray() && property.asArray().isUseRawEncoding());
+                    }
+
+                WriteMethod writeMethod = getWriteMethod(property, type);
+                writeMethod.pushUniformTypes(mn);
+                mn.visitMethodInsn(INVOKEINTERFACE,
+                                   "com/tangosol/io/pof/PofWriter",
+                                   writeMethod.getName(),
+                                   writeMethod.getDescriptor(), true);
+                }
+            }
+
+        mn.visitInsn(RETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        return mn;
+        }
+
+    /**
+     * Implement {@link PortableTypeCodec#readProperties} for the codec, using
+     * the same property indexes and read methods as
+     * {@link #implementDeserializationConstructor()}.
+     *
+     * @return the method implementation
+     */
+    @SuppressWarnings("Duplicates")
+    private MethodNode implementCodecReadProperties()
+        {
+        MethodNode mn = new MethodNode(ACC_PUBLIC, "readProperties",
+                                       "(Ljava/lang/Object;Lcom/tangosol/io/pof/PofReader;)V",
+                                       null,
+                                       new String[] {"java/io/IOException"});
+        mn.visitCode();
+        mn.visitVarInsn(ALOAD, 1);
+        mn.visitTypeInsn(CHECKCAST, m_classNode.name);
+        mn.visitVarInsn(ASTORE, 3);
+
+        int cPofFields = 0;
+
+        for (int version : m_mapProperties.keySet())
+            {
+            mn.visitVarInsn(ALOAD, 2);
+            mn.visitLdcInsn(version);
+            mn.visitMethodInsn(INVOKEINTERFACE, "com/tangosol/io/pof/PofReader",
+                               "version", "(I)Lcom/tangosol/io/pof/PofReader;", true);
+            mn.visitVarInsn(ASTORE, 4);
+
+            for (PofProperty property : m_mapProperties.get(version))
+                {
+                FieldNode field = field(property);
+                if (field == null || !isSerializable(field))
+                    {
+                    continue;
+                    }
+
+                int  nPofIndex = cPofFields++;
+                Type type      = Type.getType(field.desc);
+
+                mn.visitVarInsn(ALOAD, 3);
+                mn.visitVarInsn(ALOAD, 4);
+                mn.visitLdcInsn(nPofIndex);
+
+                ReadMethod readMethod = getReadMethod(property, type);
+                readMethod.createTemplate(mn, property, type);
+                mn.visitMethodInsn(INVOKEINTERFACE,
+                                   "com/tangosol/io/pof/PofReader",
+                                   readMethod.getName(),
+                                   readMethod.getDescriptor(), true);
+                if (type.getSort() == Type.OBJECT || "readObjectArray".equals(readMethod.getName()))
+                    {
+                    mn.visitTypeInsn(CHECKCAST, type.getInternalName());
+                    }
+                mn.visitFieldInsn(PUTFIELD, m_classNode.name, field.name, field.desc);
+                }
+            }
+
+        mn.visitInsn(RETURN);
+        mn.visitMaxs(0, 0);
+        mn.visitEnd();
+        return mn;
+        }
+
+    /**
+     * Return {@code true} if the specified field is serialized, i.e. it is
+     * neither static nor transient.
+     *
+     * @param field  the field to check
+     *
+     * @return {@code true} if the specified field is serialized
+     */
+    private static boolean isSerializable(FieldNode field)
+        {
+        return (field.access & (Opcodes.ACC_STATIC | Opcodes.ACC_TRANSIENT)) == 0;
+        }
+
     /**
      * Return {@code true} if the specified type represents an array type that
      * supports raw encoding.
@@ -1936,6 +2166,11 @@ public class PortableTypeGenerator
      */
     private static final Type OBJECT_TYPE = Type.getType(Object.class);
 
+    /**
+     * The internal name of the {@link PortableTypeCodec} class.
+     */
+    private static final String CODEC_TYPE = Type.getInternalName(PortableTypeCodec.class);
+
     /**
      * The set of array types that support raw encoding.
      */
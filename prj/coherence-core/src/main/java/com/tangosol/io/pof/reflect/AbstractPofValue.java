@@ -506,6 +506,28 @@ public abstract class AbstractPofValue
             ((AbstractPofValue) getRoot()).incrementDirtyValuesCount();
             ((AbstractPofValue) getRoot()).incrementDirtyBytesCount(getSize());
             m_fDirty = true;
+
+            PofValue valueParent = getParent();
+            if (valueParent instanceof AbstractPofValue)
+                {
+                ((AbstractPofValue) valueParent).onChildDirty();
+                }
+            }
+        }
+
+    /**
+    * Called when a value contained within this value has been modified.
+    * <p>
+    * This implementation simply notifies the parent value; values whose
+    * serialized form depends on the size of the values they contain must
+    * mark themselves as dirty.
+    */
+    protected void onChildDirty()
+        {
+        PofValue valueParent = getParent();
+        if (valueParent instanceof AbstractPofValue)
+            {
+            ((AbstractPofValue) valueParent).onChildDirty();
             }
         }
 
@@ -0,0 +1,763 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof.reflect;
+
+
+import com.tangosol.io.ReadBuffer;
+
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofConstants;
+import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.PofHelper;
+import com.tangosol.io.pof.PofUserTypeIndex;
+import com.tangosol.io.pof.SimplePofContext;
+
+import com.tangosol.util.ExternalizableHelper;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+
+/**
+* PofPathScanner is a compiled form of a set of {@link SimplePofPath}s that
+* extracts the values for all of the paths in a single forward scan of a
+* POF-encoded binary.
+* <p>
+* Unlike {@link PofValueParser}, the scanner does not build a {@link PofValue}
+* tree; properties that are not on any of the paths are skipped exactly once,
+* and primitive, boxed primitive and String values are read directly from the
+* stream. Other values are deserialized using a {@link PofValue} for just that
+* value. The properties of an {@link PofUserTypeIndex indexed user type} are
+* located using its offset table instead.
+* <p>
+* The values produced by the scanner are identical to the values produced by
+* navigating the {@link PofValue} returned by {@link PofValueParser#parse} with
+* the corresponding SimplePofPath. If the binary contains a structure the
+* scanner cannot navigate in a single pass (for example, a path through an
+* array or a collection, or an object identity or reference on a path), the
+* {@link #scan scan} method returns false and the caller is expected to fall
+* back to the PofValue based navigation.
+*
+* @since 25.09
+*/
+public class PofPathScanner
+        extends    ExternalizableHelper
+        implements PofConstants
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a PofPathScanner for the specified paths.
+    *
+    * @param aaiPath  an array of paths, each represented by a non-empty
+    *                 array of property indices
+    */
+    public PofPathScanner(int[][] aaiPath)
+        {
+        List<Integer> listSlot = new ArrayList<>(aaiPath.length);
+        for (int i = 0, c = aaiPath.length; i < c; i++)
+            {
+            azzert(aaiPath[i] != null && aaiPath[i].length > 0,
+                   "Path must not be empty");
+            listSlot.add(i);
+            }
+
+        m_cPaths = aaiPath.length;
+        m_node   = buildNode(aaiPath, listSlot, 0);
+        }
+
+
+    // ----- factory methods ------------------------------------------------
+
+    /**
+    * Compile the specified navigators into a PofPathScanner.
+    *
+    * @param aNavigator  the navigators to compile
+    *
+    * @return a PofPathScanner for the navigators, or null if any of the
+    *         navigators is not a non-empty {@link SimplePofPath}
+    */
+    public static PofPathScanner compile(PofNavigator[] aNavigator)
+        {
+        int     cPaths  = aNavigator.length;
+        int[][] aaiPath = new int[cPaths][];
+        for (int i = 0; i < cPaths; i++)
+            {
+            PofNavigator navigator = aNavigator[i];
+            if (!(navigator instanceof SimplePofPath))
+                {
+                return null;
+                }
+
+            int[] aiPath = ((SimplePofPath) navigator).getPathElements();
+            if (aiPath == null || aiPath.length == 0)
+                {
+                return null;
+                }
+            aaiPath[i] = aiPath;
+            }
+
+        return new PofPathScanner(aaiPath);
+        }
+
+    /**
+    * Determine whether binaries produced by the specified PofContext can be
+    * scanned.
+    * <p>
+    * Binaries written with object identity and references enabled are not
+    * supported, as values on a path may refer to objects outside of the
+    * scanned portion of the stream.
+    *
+    * @param ctx  the POF context
+    *
+    * @return true iff the binaries produced by the context can be scanned
+    */
+    public static boolean isSupported(PofContext ctx)
+        {
+        return !(ctx instanceof ConfigurablePofContext
+                    && ((ConfigurablePofContext) ctx).isReferenceEnabled())
+            && !(ctx instanceof SimplePofContext
+                    && ((SimplePofContext) ctx).isReferenceEnabled());
+        }
+
+
+    // ----- public API -----------------------------------------------------
+
+    /**
+    * Return the number of paths this scanner extracts.
+    *
+    * @return the number of paths
+    */
+    public int getPathCount()
+        {
+        return m_cPaths;
+        }
+
+    /**
+    * Extract the values for all paths from the specified POF-encoded binary.
+    *
+    * @param buf      the POF-encoded binary, optionally decorated
+    * @param ctx      the POF context to use
+    * @param anType   the POF type expected for each path, or
+    *                 {@link #T_UNKNOWN} if the type is to be inferred from
+    *                 the serialized state
+    * @param aoValue  the array to store the extracted value for each path
+    *
+    * @return true if all values have been extracted; false if the binary
+    *         cannot be navigated in a single pass, in which case the content
+    *         of the value array is undefined
+    */
+    public boolean scan(ReadBuffer buf, PofContext ctx, int[] anType, Object[] aoValue)
+        {
+        try
+            {
+            ReadBuffer.BufferInput in = buf.getBufferInput();
+
+            // position the stream at the beginning of the POF value; see
+            // PofValueParser#parse
+            int nFmt = in.readUnsignedByte();
+            switch (nFmt)
+                {
+                case FMT_IDO:
+                    readInt(in);           // skip the decoration
+                    in.readUnsignedByte(); // skip FMT_EXT byte
+                    break;
+
+                case FMT_BIN_DECO:
+                case FMT_BIN_EXT_DECO:
+                    long nDecoMask = nFmt == FMT_BIN_DECO ? in.readByte() : in.readPackedLong();
+                    if ((nDecoMask & (1 << DECO_VALUE)) == 0)
+                        {
+                        throw new IOException("Decorated binary is missing a value");
+                        }
+                    readInt(in);           // skip the length of the value
+                    in.readUnsignedByte(); // skip FMT_EXT byte
+                    break;
+
+                case FMT_EXT:
+                    break;
+
+                default:
+                    in.setOffset(0);
+                }
+
+            Node node  = m_node;
+            int  nType = in.readPackedInt();
+            if (nType == V_REFERENCE_NULL)
+                {
+                node.setNull(aoValue);
+                return true;
+                }
+            if (nType < 0)
+                {
+                // not a user type, or an identity
+                return false;
+                }
+
+            return scanUserType(in, buf, ctx, node, anType, aoValue, true);
+            }
+        catch (IOException e)
+            {
+            throw ensureRuntimeException(e);
+            }
+        }
+
+
+    // ----- internal methods -----------------------------------------------
+
+    /**
+    * Scan the properties of a user type value, extracting the values of the
+    * properties on the paths represented by the specified node.
+    *
+    * @param in       the stream positioned at the version identifier
+    * @param buf      the buffer being scanned
+    * @param ctx      the POF context to use
+    * @param node     the node representing the properties to extract
+    * @param anType   the POF type expected for each path
+    * @param aoValue  the array to store the extracted values
+    * @param fRoot    true if the user type is the root value, in which case
+    *                 the scan stops as soon as all properties are extracted
+    *
+    * @return false if the value cannot be navigated in a single pass
+    *
+    * @throws IOException on read error
+    */
+    protected boolean scanUserType(ReadBuffer.BufferInput in, ReadBuffer buf,
+            PofContext ctx, Node node, int[] anType, Object[] aoValue, boolean fRoot)
+            throws IOException
+        {
+        int[] aiIndex = node.m_aiIndex;
+        int   cIndex  = aiIndex.length;
+        int   i       = 0;
+
+        if (in.readPackedInt() == T_INDEXED_USER_TYPE)
+            {
+            return scanIndexedUserType(in, buf, ctx, node, anType, aoValue,
+                    PofUserTypeIndex.read(in), fRoot);
+            }
+
+        // user type properties are always written in ascending order and
+        // are terminated by -1
+        for (int iProp = in.readPackedInt(); iProp >= 0; iProp = in.readPackedInt())
+            {
+            while (i < cIndex && aiIndex[i] < iProp)
+                {
+                node.setMissing(i++, anType, aoValue);
+                }
+
+            if (i < cIndex && aiIndex[i] == iProp)
+                {
+                if (!scanProperty(in, buf, ctx, node, i++, anType, aoValue))
+                    {
+                    return false;
+                    }
+                if (fRoot && i == cIndex)
+                    {
+                    return true;
+                    }
+                }
+            else
+                {
+                PofHelper.skipValue(in);
+                }
+            }
+
+        while (i < cIndex)
+            {
+            node.setMissing(i++, anType, aoValue);
+            }
+        return true;
+        }
+
+    /**
+    * Extract the values of the properties on the paths represented by the
+    * specified node from an indexed user type, jumping directly to each of
+    * the properties.
+    *
+    * @param in       the stream positioned at the first property
+    * @param buf      the buffer being scanned
+    * @param ctx      the POF context to use
+    * @param node     the node representing the properties to extract
+    * @param anType   the POF type expected for each path
+    * @param aoValue  the array to store the extracted values
+    * @param index    the offset table of the user type
+    * @param fRoot    true if the user type is the root value, in which case
+    *                 the stream is not positioned after the user type
+    *
+    * @return false if the value cannot be navigated in a single pass
+    *
+    * @throws IOException on read error
+    */
+    protected boolean scanIndexedUserType(ReadBuffer.BufferInput in, ReadBuffer buf,
+            PofContext ctx, Node node, int[] anType, Object[] aoValue,
+            PofUserTypeIndex index, boolean fRoot)
+            throws IOException
+        {
+        int[] aiIndex = node.m_aiIndex;
+        for (int i = 0, c = aiIndex.length; i < c; i++)
+            {
+            int iEntry = index.find(aiIndex[i]);
+            if (iEntry < 0)
+                {
+                node.setMissing(i, anType, aoValue);
+                }
+            else
+                {
+                in.setOffset(index.getValueOffset(iEntry));
+                if (!scanProperty(in, buf, ctx, node, i, anType, aoValue))
+                    {
+                    return false;
+                    }
+                }
+            }
+
+        if (!fRoot)
+            {
+            // position the stream after the terminating -1
+            in.setOffset(index.getPropertyOffset(index.getPropertyCount()));
+            in.readPackedInt();
+            }
+        return true;
+        }
+
+    /**
+    * Extract the values of the paths going through the property the stream
+    * is positioned at, leaving the stream positioned after the property
+    * value.
+    *
+    * @param in       the stream positioned at the property value
+    * @param buf      the buffer being scanned
+    * @param ctx      the POF context to use
+    * @param node     the node containing the property
+    * @param i        the index of the property within the node
+    * @param anType   the POF type expected for each path
+    * @param aoValue  the array to store the extracted values
+    *
+    * @return false if the value cannot be navigated in a single pass
+    *
+    * @throws IOException on read error
+    */
+    protected boolean scanProperty(ReadBuffer.BufferInput in, ReadBuffer buf,
+            PofContext ctx, Node node, int i, int[] anType, Object[] aoValue)
+            throws IOException
+        {
+        int[] aiSlot     = node.m_aaiSlot[i];
+        Node  nodeNested = node.m_aNested[i];
+        int   ofValue    = in.getOffset();
+
+        if (aiSlot != null)
+            {
+            for (int j = 0, c = aiSlot.length; j < c; j++)
+                {
+                int iSlot = aiSlot[j];
+                if (j > 0)
+                    {
+                    in.setOffset(ofValue);
+                    }
+                if (!readValue(in, buf, ctx, anType[iSlot], aoValue, iSlot))
+                    {
+                    return false;
+                    }
+                }
+
+            if (nodeNested == null)
+                {
+                return true;
+                }
+            in.setOffset(ofValue);
+            }
+
+        int nType = in.readPackedInt();
+        if (nType == V_REFERENCE_NULL)
+            {
+            // a null value has no children (see SimplePofValue#getChild)
+            nodeNested.setNull(aoValue);
+            return true;
+            }
+        if (nType < 0)
+            {
+            // paths through arrays and collections are not supported
+            return false;
+            }
+
+        return scanUserType(in, buf, ctx, nodeNested, anType, aoValue, false);
+        }
+
+    /**
+    * Read the value the stream is positioned at, leaving the stream
+    * positioned after the value.
+    *
+    * @param in        the stream positioned at the value
+    * @param buf       the buffer being scanned
+    * @param ctx       the POF context to use
+    * @param nTypeReq  the POF type expected for the value
+    * @param aoValue   the array to store the value
+    * @param iSlot     the index to store the value at
+    *
+    * @return false if the value cannot be read without the enclosing
+    *         PofValue tree
+    *
+    * @throws IOException on read error
+    */
+    protected boolean readValue(ReadBuffer.BufferInput in, ReadBuffer buf,
+            PofContext ctx, int nTypeReq, Object[] aoValue, int iSlot)
+            throws IOException
+        {
+        int ofValue = in.getOffset();
+        int nType   = in.readPackedInt();
+
+        if (nType == T_IDENTITY || nType == T_REFERENCE)
+            {
+            return false;
+            }
+
+        if (nType == V_REFERENCE_NULL)
+            {
+            aoValue[iSlot] = null;
+            return true;
+            }
+
+        // mirror the conversions done by AbstractPofValue.PofValueReader
+        Object o = NO_VALUE;
+        switch (nTypeReq)
+            {
+            case T_INT16:
+                o = (short) readAsInt(in, nType);
+                break;
+
+            case T_INT32:
+                o = readAsInt(in, nType);
+                break;
+
+            case T_INT64:
+                o = nType == V_INT_0 ? 0L : PofHelper.readAsLong(in, nType);
+                break;
+
+            case T_FLOAT32:
+                o = nType == V_INT_0 ? 0.0F : PofHelper.readAsFloat(in, nType);
+                break;
+
+            case T_FLOAT64:
+                o = nType == V_INT_0 ? 0.0 : PofHelper.readAsDouble(in, nType);
+                break;
+
+            case T_BOOLEAN:
+                o = readAsInt(in, nType) != 0 ? Boolean.TRUE : Boolean.FALSE;
+                break;
+
+            case T_OCTET:
+                o = (byte) readAsInt(in, nType);
+                break;
+
+            case T_CHAR:
+                o = (char) readAsInt(in, nType);
+                break;
+
+            case T_UNKNOWN:
+                o = readAsObject(in, nType);
+                break;
+
+            case T_CHAR_STRING:
+                if (nType == T_CHAR_STRING)
+                    {
+                    o = in.readSafeUTF();
+                    }
+                break;
+            }
+
+        if (o == NO_VALUE)
+            {
+            // deserialize the value using a PofValue for just this value
+            in.setOffset(ofValue);
+            PofHelper.skipValue(in);
+
+            int cb = in.getOffset() - ofValue;
+            o = PofValueParser.parseValue(null, buf.getReadBuffer(ofValue, cb), ctx, ofValue)
+                    .getValue(nTypeReq);
+            }
+
+        aoValue[iSlot] = o;
+        return true;
+        }
+
+    /**
+    * Read an int value of the specified type, treating {@link #V_INT_0} the
+    * same way as {@link com.tangosol.io.pof.PofBufferReader#readInt}.
+    *
+    * @param in     the stream positioned after the type id
+    * @param nType  the type of the value
+    *
+    * @return the int value
+    *
+    * @throws IOException on read error
+    */
+    protected static int readAsInt(ReadBuffer.BufferInput in, int nType)
+            throws IOException
+        {
+        return nType == V_INT_0 ? 0 : PofHelper.readAsInt(in, nType);
+        }
+
+    /**
+    * Read a value of the specified type if it is a primitive or a String,
+    * the same way as {@link com.tangosol.io.pof.PofBufferReader#readObject}.
+    *
+    * @param in     the stream positioned after the type id
+    * @param nType  the type of the value
+    *
+    * @return the value, or a marker object if the value is not a primitive
+    *         or a String, in which case the stream is left unchanged
+    *
+    * @throws IOException on read error
+    */
+    protected static Object readAsObject(ReadBuffer.BufferInput in, int nType)
+            throws IOException
+        {
+        if (nType >= V_INT_22 && nType <= V_INT_NEG_1)
+            {
+            return PofHelper.readAsInt(in, nType);
+            }
+
+        switch (nType)
+            {
+            case T_INT16:
+                return (short) in.readPackedInt();
+
+            case T_INT32:
+                return in.readPackedInt();
+
+            case T_INT64:
+                return in.readPackedLong();
+
+            case T_FLOAT32:
+                return in.readFloat();
+
+            case T_FLOAT64:
+                return in.readDouble();
+
+            case T_BOOLEAN:
+                return in.readPackedInt() == 0 ? Boolean.FALSE : Boolean.TRUE;
+
+            case V_BOOLEAN_FALSE:
+                return Boolean.FALSE;
+
+            case V_BOOLEAN_TRUE:
+                return Boolean.TRUE;
+
+            case T_CHAR_STRING:
+                return in.readSafeUTF();
+
+            case V_STRING_ZERO_LENGTH:
+                return "";
+
+            default:
+                return NO_VALUE;
+            }
+        }
+
+    /**
+    * Build the node for the specified paths at the specified depth.
+    *
+    * @param aaiPath   all paths
+    * @param listSlot  the indices of the paths going through the node
+    * @param nDepth    the depth of the node
+    *
+    * @return the node
+    */
+    protected static Node buildNode(int[][] aaiPath, List<Integer> listSlot, int nDepth)
+        {
+        SortedMap<Integer, List<Integer>> mapLeaf   = new TreeMap<>();
+        SortedMap<Integer, List<Integer>> mapNested = new TreeMap<>();
+
+        for (Integer ISlot : listSlot)
+            {
+            int[] aiPath = aaiPath[ISlot];
+            (aiPath.length == nDepth + 1 ? mapLeaf : mapNested)
+                    .computeIfAbsent(aiPath[nDepth], n -> new ArrayList<>()).add(ISlot);
+            }
+
+        TreeSet<Integer> setIndex = new TreeSet<>(mapLeaf.keySet());
+        setIndex.addAll(mapNested.keySet());
+
+        Node node = new Node(setIndex.size(), toIntArray(listSlot));
+        int  i    = 0;
+        for (Integer IIndex : setIndex)
+            {
+            List<Integer> listLeaf   = mapLeaf.get(IIndex);
+            List<Integer> listNested = mapNested.get(IIndex);
+
+            node.m_aiIndex[i] = IIndex;
+            node.m_aaiSlot[i] = listLeaf == null ? null : toIntArray(listLeaf);
+            node.m_aNested[i] = listNested == null ? null : buildNode(aaiPath, listNested, nDepth + 1);
+            i++;
+            }
+        return node;
+        }
+
+    /**
+    * Convert the specified list to an array of ints.
+    *
+    * @param list  the list to convert
+    *
+    * @return an array of ints
+    */
+    private static int[] toIntArray(List<Integer> list)
+        {
+        int[] an = new int[list.size()];
+        for (int i = 0, c = an.length; i < c; i++)
+            {
+            an[i] = list.get(i);
+            }
+        return an;
+        }
+
+
+    // ----- inner class: Node ----------------------------------------------
+
+    /**
+    * A Node represents the properties of a user type that are on any of the
+    * compiled paths.
+    */
+    protected static class Node
+        {
+        /**
+        * Construct a Node.
+        *
+        * @param cIndex  the number of properties
+        * @param aiSlot  the indices of all paths going through this node
+        */
+        protected Node(int cIndex, int[] aiSlot)
+            {
+            m_aiIndex = new int[cIndex];
+            m_aaiSlot = new int[cIndex][];
+            m_aNested = new Node[cIndex];
+            m_aiSlot  = aiSlot;
+            }
+
+        /**
+        * Set the values of all paths going through this node to null, as
+        * is the case when the user type represented by this node is null
+        * or missing.
+        *
+        * @param aoValue  the array to store the values
+        */
+        protected void setNull(Object[] aoValue)
+            {
+            for (int iSlot : m_aiSlot)
+                {
+                aoValue[iSlot] = null;
+                }
+            }
+
+        /**
+        * Set the values of the paths going through the specified property
+        * that is missing from the stream.
+        *
+        * @param i        the index of the property within the node
+        * @param anType   the POF type expected for each path
+        * @param aoValue  the array to store the values
+        */
+        protected void setMissing(int i, int[] anType, Object[] aoValue)
+            {
+            int[] aiSlot = m_aaiSlot[i];
+            if (aiSlot != null)
+                {
+                for (int iSlot : aiSlot)
+                    {
+                    aoValue[iSlot] = getDefaultValue(anType[iSlot]);
+                    }
+                }
+
+            Node nodeNested = m_aNested[i];
+            if (nodeNested != null)
+                {
+                nodeNested.setNull(aoValue);
+                }
+            }
+
+        /**
+        * Return the value of a property of the specified type that is
+        * missing from the stream (see PofSparseArray.NilPofValue).
+        *
+        * @param nType  the POF type expected for the property
+        *
+        * @return the default value for the type
+        */
+        protected static Object getDefaultValue(int nType)
+            {
+            switch (nType)
+                {
+                case T_INT16:
+                    return (short) 0;
+                case T_INT32:
+                    return 0;
+                case T_INT64:
+                    return 0L;
+                case T_FLOAT32:
+                    return (float) 0;
+                case T_FLOAT64:
+                    return (double) 0;
+                case T_BOOLEAN:
+                    return Boolean.FALSE;
+                case T_OCTET:
+                    return (byte) 0;
+                case T_CHAR:
+                    return (char) 0;
+                default:
+                    return null;
+                }
+            }
+
+        // ----- data members -------------------------------------------
+
+        /**
+        * The indices of the properties, in ascending order.
+        */
+        protected final int[] m_aiIndex;
+
+        /**
+        * The indices of the paths ending at each property, or null.
+        */
+        protected final int[][] m_aaiSlot;
+
+        /**
+        * The nodes for the paths continuing below each property, or null.
+        */
+        protected final Node[] m_aNested;
+
+        /**
+        * The indices of all paths going through this node.
+        */
+        protected final int[] m_aiSlot;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * A marker for a value that has not been read.
+    */
+    private static final Object NO_VALUE = new Object();
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The number of paths.
+    */
+    private final int m_cPaths;
+
+    /**
+    * The root node.
+    */
+    private final Node m_node;
+    }
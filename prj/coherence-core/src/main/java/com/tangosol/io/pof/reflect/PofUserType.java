@@ -8,9 +8,16 @@
 package com.tangosol.io.pof.reflect;
 
 
+import com.tangosol.io.ByteArrayWriteBuffer;
 import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
 
 import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.PofUserTypeIndex;
+
+import java.io.IOException;
+
+import java.util.Iterator;
 
 
 /**
@@ -38,9 +45,31 @@ public class PofUserType
     public PofUserType(PofValue valueParent, ReadBuffer bufValue, PofContext ctx,
             int of, int nType, int ofChildren, int nVersion)
         {
+        this(valueParent, bufValue, ctx, of, nType, ofChildren, nVersion, null);
+        }
+
+    /**
+    * Construct a PofUserType instance wrapping the supplied buffer.
+    *
+    * @param valueParent parent value within the POF stream
+    * @param bufValue    buffer containing POF representation of this value
+    * @param ctx         POF context to use when reading or writing properties
+    * @param of          offset of this value from the beginning of POF stream
+    * @param nType       POF type identifier for this value
+    * @param ofChildren  offset of the first child element within this value
+    * @param nVersion    data version of this value
+    * @param index       the property offset table of an indexed user type, or
+    *                    null if the value is a regular user type
+    *
+    * @since 25.09
+    */
+    public PofUserType(PofValue valueParent, ReadBuffer bufValue, PofContext ctx,
+            int of, int nType, int ofChildren, int nVersion, PofUserTypeIndex index)
+        {
         super(valueParent, bufValue, ctx, of, nType, ofChildren);
 
         m_nVersion = nVersion;
+        m_index    = index;
         }
 
 
@@ -56,6 +85,155 @@ public class PofUserType
         return m_nVersion;
         }
 
+    /**
+    * Return true if this value is encoded as an indexed user type.
+    *
+    * @return true if this value has a property offset table
+    *
+    * @since 25.09
+    */
+    public boolean isIndexed()
+        {
+        return m_index != null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void setValue(Object oValue)
+        {
+        m_fRebuild = false;
+        super.setValue(oValue);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public ReadBuffer getSerializedValue()
+        {
+        return m_fRebuild ? rebuild() : super.getSerializedValue();
+        }
+
+
+    // ----- internal -------------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The properties of an indexed user type are located using the offset
+    * table, without skipping the properties that precede them.
+    */
+    protected PofValue findChildInternal(int nIndex, int ofStart, int iStart)
+        {
+        PofUserTypeIndex index = m_index;
+        if (index == null)
+            {
+            return super.findChildInternal(nIndex, ofStart, iStart);
+            }
+
+        int i = index.find(nIndex);
+        return i < 0
+               ? instantiateNilValue(index.getPropertyOffset(-i - 1), nIndex)
+               : extractChild(getValueBuffer(), index.getValueOffset(i),
+                              index.getValueLength(i));
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The offset table of an indexed user type has to be rebuilt whenever any
+    * of the values it contains change, so the user type becomes dirty itself.
+    */
+    protected void onChildDirty()
+        {
+        if (m_index == null)
+            {
+            super.onChildDirty();
+            }
+        else if (!isDirty())
+            {
+            m_fRebuild = true;
+            setDirty();
+            }
+        }
+
+    /**
+    * Rebuild the serialized form of an indexed user type by splicing the
+    * modified values into the original properties and recomputing the
+    * offset table. Unlike re-serializing the user type, this does not
+    * require the user type to be deserialized.
+    *
+    * @return the serialized form of this value
+    */
+    protected ReadBuffer rebuild()
+        {
+        PofUserTypeIndex index  = m_index;
+        ReadBuffer       buf    = getValueBuffer();
+        int              ofBody = index.getBodyOffset();
+        int              ofEnd  = ofBody + index.getBodyLength();
+
+        try
+            {
+            WriteBuffer              bufBody = new ByteArrayWriteBuffer(index.getBodyLength());
+            WriteBuffer.BufferOutput out     = bufBody.getBufferOutput();
+
+            int pos = encodeChildren(out, this, ofBody);
+            out.writeBuffer(buf, pos, ofEnd - pos);
+
+            // the original type identifier and marker are retained
+            int         ofHeader = index.getHeaderOffset();
+            WriteBuffer bufValue = new ByteArrayWriteBuffer(getSize() + bufBody.length() - index.getBodyLength());
+            out = bufValue.getBufferOutput();
+            out.writeBuffer(buf, 0, ofHeader);
+            PofUserTypeIndex.write(out, m_nVersion, bufBody.getReadBuffer());
+            out.writePackedInt(-1);
+
+            return bufValue.getReadBuffer();
+            }
+        catch (IOException e)
+            {
+            throw ensureRuntimeException(e);
+            }
+        }
+
+    /**
+    * Write the properties of this user type that precede and include the
+    * modified children of the specified value.
+    *
+    * @param out    the BufferOutput to write to
+    * @param value  this user type or one of its descendants
+    * @param pos    the position in the buffer of this user type up to which
+    *               the properties have been written
+    *
+    * @return the position in the buffer of this user type up to which the
+    *         properties have been written
+    *
+    * @throws IOException if an I/O error occurs
+    */
+    protected int encodeChildren(WriteBuffer.BufferOutput out,
+            ComplexPofValue value, int pos)
+            throws IOException
+        {
+        ReadBuffer buf = getValueBuffer();
+        int        of  = getOffset();
+        for (Iterator iter = value.getChildrenIterator(); iter.hasNext(); )
+            {
+            AbstractPofValue child = (AbstractPofValue) iter.next();
+            if (child.isDirty())
+                {
+                int ofChild = child.getOffset() - of;
+                out.writeBuffer(buf, pos, ofChild - pos);
+                out.writeBuffer(child.getSerializedValue());
+                pos = ofChild + child.getSize();
+                }
+            else if (child instanceof ComplexPofValue)
+                {
+                pos = encodeChildren(out, (ComplexPofValue) child, pos);
+                }
+            }
+        return pos;
+        }
+
 
     // ----- data members ---------------------------------------------------
 
@@ -63,4 +241,16 @@ public class PofUserType
     * The data version of this value.
     */
     protected int m_nVersion;
+
+    /**
+    * The property offset table of an indexed user type, or null if the value
+    * is a regular user type.
+    */
+    protected PofUserTypeIndex m_index;
+
+    /**
+    * True iff the serialized form of this indexed user type has to be
+    * rebuilt from the original properties and the modified children.
+    */
+    protected boolean m_fRebuild;
     }
@@ -12,6 +12,7 @@ import com.tangosol.io.ReadBuffer;
 
 import com.tangosol.io.pof.PofConstants;
 import com.tangosol.io.pof.PofContext;
+import com.tangosol.io.pof.PofUserTypeIndex;
 
 import com.tangosol.util.ExternalizableHelper;
 
@@ -249,11 +250,17 @@ public abstract class PofValueParser
 
                     if (nType >= 0)
                         {
-                        int nVersionId = in.readPackedInt();
-                        ofChildren     = in.getOffset();
+                        int              nVersionId = in.readPackedInt();
+                        PofUserTypeIndex index      = null;
+                        if (nVersionId == T_INDEXED_USER_TYPE)
+                            {
+                            index      = PofUserTypeIndex.read(in);
+                            nVersionId = index.getVersionId();
+                            }
+                        ofChildren = in.getOffset();
 
                         value = new PofUserType(valueParent, bufValue, ctx, of,
-                                nType, ofChildren, nVersionId);
+                                nType, ofChildren, nVersionId, index);
                         if (nId > -1)
                             {
                             value.registerIdentity(nId, value);
@@ -1870,6 +1870,11 @@ public class DefaultConfigurableCacheFactory
         long        cStoreTimeout   = parseTime(xmlRWBM.getSafeElement("cachestore-timeout").getString("0"));
         boolean     fRethrow        = xmlRWBM.getSafeElement("rollback-cachestore-failures").getBoolean(true);
         int         cBatchSize      = convertInt(xmlRWBM.getSafeElement("write-max-batch-size"), 128);
+        int         cWriteThreads   = convertInt(xmlRWBM.getSafeElement("write-behind-thread-count"), 1);
+        int         cPreloadThreads = convertInt(xmlRWBM.getSafeElement("preload-thread-count"));
+        boolean     fAdaptive       = xmlRWBM.getSafeElement("write-batch-adaptive").getBoolean();
+        int         cReadBatchSize  = convertInt(xmlRWBM.getSafeElement("read-max-batch-size"), 1);
+        int         cReadPending    = convertInt(xmlRWBM.getSafeElement("read-max-pending-batches"), 4);
 
         if (!fRethrow)
             {
@@ -1961,12 +1966,18 @@ public class DefaultConfigurableCacheFactory
                 aoParam, xmlRWBM.getElement("init-params"));
             }
 
+        rwbm.setWriteBehindThreadCount(cWriteThreads);
+        rwbm.setPreloadThreadCount(cPreloadThreads);
+
         // Read/Write Threads will have the cache name appended to the thread name
         rwbm.setCacheName(info.getCacheName());
         rwbm.setRethrowExceptions(fRethrow);
         rwbm.setWriteBatchFactor(dflWriteFactor);
         rwbm.setWriteRequeueThreshold(cWriteRequeue);
         rwbm.setWriteMaxBatchSize(cBatchSize);
+        rwbm.setWriteBatchAdaptive(fAdaptive);
+        rwbm.setReadMaxBatchSize(cReadBatchSize);
+        rwbm.setReadMaxPendingBatches(cReadPending);
         if (cWriteBehindMillis != 1000L * cWriteBehindSec)
             {
             rwbm.setWriteBehindMillis(cWriteBehindMillis);
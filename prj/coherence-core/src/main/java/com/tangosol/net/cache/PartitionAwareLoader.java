@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.net.cache;
+
+
+import com.tangosol.net.PartitionedService;
+
+import java.util.Iterator;
+
+
+/**
+* A PartitionAwareLoader is a {@link CacheLoader}, {@link CacheStore} or
+* {@link BinaryEntryStore} that can iterate the keys of its underlying store
+* that belong to a single partition of a partitioned cache.
+* <p>
+* When a {@link ReadWriteBackingMap} is configured with a positive {@link
+* ReadWriteBackingMap#setPreloadThreadCount(int) preload thread count}, each
+* storage member preloads only the partitions it owns, loading several
+* partitions in parallel. A store that does not implement this interface,
+* but implements {@link IterableCacheLoader}, is preloaded by iterating all of
+* its keys on every storage member instead.
+* <p>
+* A store would typically implement this interface by persisting the partition
+* of each key, as returned by the {@link
+* com.tangosol.net.partition.KeyPartitioningStrategy#getKeyPartition(Object)
+* key partitioning strategy} of the service, alongside the entry, or by
+* querying for the keys that hash to the specified partition.
+*
+* @param <K>  the type of the keys
+*
+* @since 25.09
+*/
+public interface PartitionAwareLoader<K>
+    {
+    /**
+    * Iterate the keys of the specified partition in the underlying store.
+    *
+    * @param nPartition  the partition to iterate the keys of
+    * @param service     the partitioned service the keys are loaded for,
+    *                    which provides the partition count and the key
+    *                    partitioning strategy
+    *
+    * @return a read-only iterator of the keys of the specified partition,
+    *         in their deserialized form
+    */
+    public Iterator<K> keys(int nPartition, PartitionedService service);
+    }
@@ -14,6 +14,7 @@ import com.tangosol.application.ContainerHelper;
 
 import com.tangosol.coherence.config.Config;
 
+import com.tangosol.internal.net.metrics.Histogram;
 import com.tangosol.internal.tracing.Scope;
 import com.tangosol.internal.tracing.Span;
 import com.tangosol.internal.tracing.SpanContext;
@@ -26,6 +27,13 @@ import com.tangosol.net.CacheService;
 import com.tangosol.net.Guardian;
 import com.tangosol.net.Guardian.GuardContext;
 import com.tangosol.net.GuardSupport;
+import com.tangosol.net.PartitionedService;
+
+import com.tangosol.net.metrics.Snapshot;
+
+import com.tangosol.net.partition.PartitionEvent;
+import com.tangosol.net.partition.PartitionListener;
+import com.tangosol.net.partition.PartitionSet;
 
 import com.tangosol.util.AbstractKeyBasedMap;
 import com.tangosol.util.Base;
@@ -33,6 +41,7 @@ import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.ClassHelper;
 import com.tangosol.util.ConcurrentMap;
+import com.tangosol.util.Converter;
 import com.tangosol.util.ConverterCollections;
 import com.tangosol.util.Daemon;
 import com.tangosol.util.EntrySetMap;
@@ -60,6 +69,7 @@ import java.lang.reflect.Array;
 import java.util.AbstractCollection;
 import java.util.AbstractMap;
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -72,6 +82,7 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -535,6 +546,88 @@ public class ReadWriteBackingMap
         return getCacheStore() != null && getReadQueue() != null;
         }
 
+    /**
+    * Get the maximum number of keys loaded in a single loadAll operation by
+    * the refresh-ahead thread.
+    *
+    * @return the maximum size of the refresh-ahead batch
+    *
+    * @since 25.09
+    */
+    public int getReadMaxBatchSize()
+        {
+        return m_cReadMaxBatchSize;
+        }
+
+    /**
+    * Set the maximum number of keys loaded in a single loadAll operation by
+    * the refresh-ahead thread.
+    * <p>
+    * If greater than one, the refresh-ahead thread loads the queued keys in
+    * batches, and concurrent read-through misses are coalesced into loadAll
+    * operations of up to the same size by a {@link
+    * StoreWrapper#ensureLoadBundler load bundler}, unless load bundling is
+    * configured explicitly.
+    *
+    * @param cBatchSize  the maximum size of the refresh-ahead batch; one
+    *                    loads the keys one at a time
+    *
+    * @since 25.09
+    */
+    public void setReadMaxBatchSize(int cBatchSize)
+        {
+        if (cBatchSize <= 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid read batch size: " + cBatchSize);
+            }
+        m_cReadMaxBatchSize = cBatchSize;
+
+        StoreWrapper store = getCacheStore();
+        if (cBatchSize > 1 && store != null && store.getLoadBundler() == null)
+            {
+            store.ensureLoadBundler(cBatchSize);
+            }
+        }
+
+    /**
+    * Get the maximum number of asynchronous loadAll operations of the
+    * refresh-ahead thread that may be pending against a {@link
+    * NonBlockingEntryStore} at the same time.
+    *
+    * @return the maximum number of pending refresh-ahead batches
+    *
+    * @since 25.09
+    */
+    public int getReadMaxPendingBatches()
+        {
+        return m_cReadMaxPendingBatches;
+        }
+
+    /**
+    * Set the maximum number of asynchronous loadAll operations of the
+    * refresh-ahead thread that may be pending against a {@link
+    * NonBlockingEntryStore} at the same time. Once the limit is reached, the
+    * refresh-ahead thread waits for a pending operation to complete before
+    * it loads the next batch.
+    * <p>
+    * This value has no effect unless the {@link #getReadMaxBatchSize()
+    * refresh-ahead batch size} is greater than one.
+    *
+    * @param cBatches  the maximum number of pending refresh-ahead batches
+    *
+    * @since 25.09
+    */
+    public void setReadMaxPendingBatches(int cBatches)
+        {
+        if (cBatches <= 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid number of pending read batches: " + cBatches);
+            }
+        m_cReadMaxPendingBatches = cBatches;
+        }
+
     /**
     * Get the maximum size of the write-behind batch.
     *
@@ -637,6 +730,91 @@ public class ReadWriteBackingMap
             }
         }
 
+    /**
+    * Determine if the size of the write-behind batches and the write-batch
+    * factor adapt to the latency and throughput of the CacheStore.
+    *
+    * @return true iff the write-behind batches are adaptive
+    *
+    * @see WriteBatchTuner
+    *
+    * @since 25.09
+    */
+    public boolean isWriteBatchAdaptive()
+        {
+        return m_tunerWrite != null;
+        }
+
+    /**
+    * Specify whether the size of the write-behind batches and the
+    * write-batch factor should adapt to the latency and throughput of the
+    * CacheStore, within the bounds of the {@link #getWriteMaxBatchSize()
+    * maximum batch size} and the {@link #getWriteBatchFactor() write-batch
+    * factor}.
+    * <p>
+    * This method has no effect if write-behind is disabled.
+    *
+    * @param fAdaptive  true to adapt the write-behind batches
+    *
+    * @see WriteBatchTuner
+    *
+    * @since 25.09
+    */
+    public void setWriteBatchAdaptive(boolean fAdaptive)
+        {
+        if (isWriteBehind() && fAdaptive != isWriteBatchAdaptive())
+            {
+            m_tunerWrite = fAdaptive ? instantiateWriteBatchTuner() : null;
+            }
+        }
+
+    /**
+    * Return the maximum number of entries currently written in a single
+    * write-behind batch, which is the {@link #getWriteMaxBatchSize()
+    * maximum batch size} unless the batches are {@link
+    * #isWriteBatchAdaptive() adaptive}.
+    *
+    * @return the current maximum number of entries in a write-behind batch
+    *
+    * @since 25.09
+    */
+    public int getEffectiveWriteBatchSize()
+        {
+        WriteBatchTuner tuner = m_tunerWrite;
+        return tuner == null ? getWriteMaxBatchSize() : tuner.getBatchSize();
+        }
+
+    /**
+    * Return the write-batch factor currently used to calculate the
+    * "soft-ripe" time of the write-behind queue entries, which is the
+    * {@link #getWriteBatchFactor() write-batch factor} unless the batches
+    * are {@link #isWriteBatchAdaptive() adaptive}.
+    *
+    * @return the current write-batch factor
+    *
+    * @since 25.09
+    */
+    public double getEffectiveWriteBatchFactor()
+        {
+        WriteBatchTuner tuner = m_tunerWrite;
+        return tuner == null ? getWriteBatchFactor() : tuner.getBatchFactor();
+        }
+
+    /**
+    * Return a snapshot of the distribution of the time (in milliseconds)
+    * the recently written entries spent in the write-behind queue.
+    *
+    * @return a snapshot of the write-behind queue ages, or null if
+    *         write-behind is not enabled
+    *
+    * @since 25.09
+    */
+    public Snapshot getWriteQueueAgeSnapshot()
+        {
+        Histogram hist = m_histQueueAge;
+        return hist == null ? null : hist.getSnapshot();
+        }
+
     /**
     * Determine if the backing map writes changes on a write-behind thread
     * through the CacheStore.
@@ -771,6 +949,145 @@ public class ReadWriteBackingMap
             }
         }
 
+    /**
+    * Return the number of threads that write the entries of the write-behind
+    * queue to the CacheStore.
+    *
+    * @return the number of write-behind threads
+    *
+    * @since 25.09
+    */
+    public int getWriteBehindThreadCount()
+        {
+        return m_cWriteBehindThreads;
+        }
+
+    /**
+    * Set the number of threads that write the entries of the write-behind
+    * queue to the CacheStore.
+    * <p>
+    * If more than one thread is used, the write-behind queue is split into
+    * the same number of {@link StripedWriteQueue stripes} by partition, each
+    * of which is written by a dedicated thread in its own batches, so that
+    * the writes of different partitions are issued concurrently while the
+    * writes of each key stay in order.
+    * <p>
+    * This method has no effect if write-behind is not enabled. Otherwise, it
+    * may only be called once, before any entries are queued.
+    *
+    * @param cThreads  the number of write-behind threads
+    *
+    * @throws IllegalStateException if the number of threads has already been
+    *         changed or the write-behind queue is not empty
+    *
+    * @since 25.09
+    */
+    public void setWriteBehindThreadCount(int cThreads)
+        {
+        if (cThreads <= 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid write-behind thread count: " + cThreads);
+            }
+
+        if (isWriteBehind() && cThreads != m_cWriteBehindThreads)
+            {
+            WriteThread daemon = getWriteThread();
+            synchronized (daemon)
+                {
+                WriteQueue queueOld = getWriteQueue();
+                if (m_aDaemonWrite != null || queueOld == null || !queueOld.isFlushed())
+                    {
+                    throw new IllegalStateException("The write-behind thread count"
+                            + " may only be changed before any entries are queued");
+                    }
+
+                WriteQueue queue = instantiateStripedWriteQueue(cThreads);
+                queue.setDelayMillis(queueOld.getDelayMillis());
+
+                WriteThread[] aDaemon = new WriteThread[cThreads];
+                aDaemon[0] = daemon;
+                for (int i = 1; i < cThreads; i++)
+                    {
+                    aDaemon[i] = instantiateWriteThread(i);
+                    }
+
+                // the first thread switches to its stripe the next time
+                // it polls the queue
+                m_queueWrite   = queue;
+                m_aDaemonWrite = aDaemon;
+
+                for (int i = 1; i < cThreads; i++)
+                    {
+                    aDaemon[i].start();
+                    }
+                }
+            }
+        m_cWriteBehindThreads = cThreads;
+        }
+
+    /**
+    * Return the number of threads used to preload the entries of the owned
+    * partitions from the CacheStore.
+    *
+    * @return the number of preload threads; zero if preload is disabled
+    *
+    * @since 25.09
+    */
+    public int getPreloadThreadCount()
+        {
+        Preloader preloader = m_preloader;
+        return preloader == null ? 0 : preloader.getThreadCount();
+        }
+
+    /**
+    * Start preloading the entries of the partitions owned by this member
+    * from the CacheStore, using the specified number of threads.
+    * <p>
+    * If the CacheStore implements {@link PartitionAwareLoader} and the
+    * service is partitioned, the threads load the owned partitions in
+    * parallel, one partition at a time; otherwise, if the CacheStore
+    * implements {@link IterableCacheLoader}, the threads share a single
+    * iteration of all keys and load the owned ones. The preload starts as
+    * soon as the service starts using this backing map, and skips the
+    * entries that are already present.
+    * <p>
+    * This method has no effect if the CacheStore supports neither of the
+    * above interfaces. Otherwise, it may only be called once.
+    *
+    * @param cThreads  the number of preload threads; zero disables preload
+    *
+    * @throws IllegalStateException if the preload has already been started
+    *
+    * @since 25.09
+    */
+    public void setPreloadThreadCount(int cThreads)
+        {
+        if (cThreads < 0)
+            {
+            throw new IllegalArgumentException(
+                    "Invalid preload thread count: " + cThreads);
+            }
+
+        if (cThreads > 0)
+            {
+            Object loader = getPreloadLoader();
+            if (loader != null)
+                {
+                synchronized (this)
+                    {
+                    if (m_preloader != null)
+                        {
+                        throw new IllegalStateException(
+                                "The preload has already been started");
+                        }
+                    m_preloader = instantiatePreloader(cThreads, loader);
+                    }
+                m_preloader.start();
+                }
+            }
+        }
+
     /**
     * Determine if the backing map writes changes immediately through the
     * CacheStore.
@@ -809,14 +1126,13 @@ public class ReadWriteBackingMap
         if (service instanceof Guardian)
             {
             ReadThread  daemonRead  = getReadThread();
-            WriteThread daemonWrite = getWriteThread();
             if (daemonRead != null)
                 {
                 daemonRead.setGuardPolicy((Guardian) service,
                                           cStoreTimeoutMillis, GUARD_RECOVERY);
                 daemonRead.m_fRefreshContext = true;
                 }
-            if (daemonWrite != null)
+            for (WriteThread daemonWrite : getWriteThreads())
                 {
                 daemonWrite.setGuardPolicy((Guardian) service,
                                            cStoreTimeoutMillis, GUARD_RECOVERY);
@@ -835,7 +1151,19 @@ public class ReadWriteBackingMap
         if (sCacheName != null && sCacheName.trim().length() > 0)
             {
             updateThreadName(getReadThread(), sCacheName);
-            updateThreadName(getWriteThread(), sCacheName);
+            for (WriteThread daemonWrite : getWriteThreads())
+                {
+                updateThreadName(daemonWrite, sCacheName);
+                }
+
+            Preloader preloader = m_preloader;
+            if (preloader != null)
+                {
+                for (PreloadThread daemonPreload : preloader.getThreads())
+                    {
+                    updateThreadName(daemonPreload, sCacheName);
+                    }
+                }
             }
         }
 
@@ -1793,6 +2121,9 @@ public class ReadWriteBackingMap
             // (3) write-behind: queued write to CacheStore or failover
             StoreWrapper store = getCacheStore();
             WriteQueue   queue = getWriteQueue();
+
+            // the value before it was decorated with a "store deferred" flag
+            Binary binUndecorated = null;
             if (store != null && !isReadOnly())
                 {
                 // the "owned" flag indicates whether or not this put is a
@@ -1810,12 +2141,17 @@ public class ReadWriteBackingMap
                             {
                             // non-blocking entry store;
                             // decorate the entry with a "store deferred" flag
-                            oValue = ExternalizableHelper.decorate((Binary) oValue,
+                            binUndecorated = (Binary) oValue;
+                            oValue = ExternalizableHelper.decorate(binUndecorated,
                                 BackingMapManagerContext.DECO_STORE, BIN_STORE_PENDING);
                             }
 
                         Entry entry =
                             instantiateEntry(oKey, oValue, mapInternal.get(oKey), cMillis);
+                        if (binUndecorated != null)
+                            {
+                            entry.setUndecoratedBinaryValue(binUndecorated);
+                            }
 
                         store.store(entry, false);
 
@@ -1837,7 +2173,8 @@ public class ReadWriteBackingMap
                         {
                         // regular operation;
                         // decorate the entry with a "store deferred" flag
-                        oValue = ExternalizableHelper.decorate((Binary) oValue,
+                        binUndecorated = (Binary) oValue;
+                        oValue = ExternalizableHelper.decorate(binUndecorated,
                             BackingMapManagerContext.DECO_STORE, BIN_STORE_PENDING);
                         }
                     else
@@ -1863,8 +2200,12 @@ public class ReadWriteBackingMap
             // update the in-memory cache and queue if necessary
             if (queue != null)
                 {
-                queue.add(
-                    instantiateEntry(oKey, oValue, mapInternal.get(oKey), cMillis), 0L);
+                Entry entry = instantiateEntry(oKey, oValue, mapInternal.get(oKey), cMillis);
+                if (binUndecorated != null)
+                    {
+                    entry.setUndecoratedBinaryValue(binUndecorated);
+                    }
+                queue.add(entry, 0L);
                 }
 
             return putToInternalMap(oKey, oValue, cMillis);
@@ -2923,6 +3264,12 @@ public class ReadWriteBackingMap
                 terminateReadThread();
                 }
 
+            Preloader preloader = m_preloader;
+            if (preloader != null)
+                {
+                preloader.stop();
+                }
+
             if (isWriteBehind())
                 {
                 terminateWriteThread();
@@ -3366,6 +3713,46 @@ public class ReadWriteBackingMap
             return null;
             }
 
+        /**
+        * Select up to the specified number of keys from the refresh-ahead
+        * queue that are candidates for an asynchronous load, and place a new
+        * <tt>ReadLatch</tt> for each of them in the control map.
+        * <p>
+        * This method waits up to the specified time for the first candidate
+        * key only; the remaining keys are only selected if they are already
+        * queued and can be locked "quickly".
+        *
+        * @param cWaitMillis  the maximum amount of time (in milliseconds) to
+        *                     wait to select the first key and acquire a latch
+        *                     on it; pass -1 to wait indefinitely
+        * @param cMax         the maximum number of keys to select
+        *
+        * @return the <tt>ReadLatch</tt>es for the selected keys; empty if a
+        *         candidate key was not found and latched within the
+        *         specified time
+        *
+        * @see #select(long)
+        *
+        * @since 25.09
+        */
+        protected List<ReadLatch> selectAll(long cWaitMillis, int cMax)
+            {
+            ReadLatch latch = select(cWaitMillis);
+            if (latch == null)
+                {
+                return Collections.emptyList();
+                }
+
+            List<ReadLatch> listLatch = new ArrayList<>(Math.min(cMax, size() + 1));
+            listLatch.add(latch);
+
+            while (listLatch.size() < cMax && (latch = select(0L)) != null)
+                {
+                listLatch.add(latch);
+                }
+            return listLatch;
+            }
+
         /**
         * Remove all keys from the queue.
         */
@@ -3544,14 +3931,7 @@ public class ReadWriteBackingMap
 
         // COH-10078: If the write thread is still in the process of completing a
         //            store/storeAll operation, we need to wait util it finishes.
-        synchronized (queue)
-            {
-            while (!queue.getPendingMap().isEmpty())
-                {
-                queue.setWaitingOnPending(true);
-                waitFor(queue, 0xFFL);
-                }
-            }
+        queue.waitForPending();
         }
 
     /**
@@ -3735,6 +4115,31 @@ public class ReadWriteBackingMap
             m_ldtRipeMillis = ldtMillis;
             }
 
+        /**
+        * Determine when the entry was added to the write-behind queue.
+        *
+        * @return the time at which the entry was queued, or zero if it has
+        *         never been queued
+        *
+        * @since 25.09
+        */
+        public long getQueuedMillis()
+            {
+            return m_ldtQueuedMillis;
+            }
+
+        /**
+        * Specify the time when the entry was added to the write-behind queue.
+        *
+        * @param ldtMillis  the time when the entry was queued
+        *
+        * @since 25.09
+        */
+        protected void setQueuedMillis(long ldtMillis)
+            {
+            m_ldtQueuedMillis = ldtMillis;
+            }
+
         /**
         * Specifies whether or not the underlying value has been changed during
         * BinaryEntryStore operations.
@@ -3764,6 +4169,49 @@ public class ReadWriteBackingMap
             return binValue == REMOVED ? null : binValue;
             }
 
+        /**
+        * Return the Binary value of this entry without the "store deferred"
+        * ({@link BackingMapManagerContext#DECO_STORE}) decoration.
+        * <p>
+        * If the value was decorated from a value specified via {@link
+        * #setUndecoratedBinaryValue}, that value is returned as is; otherwise
+        * the decoration is removed, which requires the remaining decorations
+        * (if any) to be copied into a new Binary.
+        *
+        * @return the Binary value without the "store deferred" decoration
+        *
+        * @since 25.09
+        */
+        public Binary getUndecoratedBinaryValue()
+            {
+            Binary binValue = getBinaryValue();
+            return binValue != null && binValue == m_binValueDecorated
+                   ? m_binValueUndecorated
+                   : ExternalizableHelper.undecorate(binValue, BackingMapManagerContext.DECO_STORE);
+            }
+
+        /**
+        * Specify the Binary value that the current value of this entry was
+        * created from by adding the "store deferred" decoration.
+        * <p>
+        * Removing the decoration from a value that has no other decorations
+        * returns a view of the decorated value, so only values that carry
+        * other decorations are retained.
+        *
+        * @param binValue  the Binary value without the "store deferred"
+        *                  decoration
+        *
+        * @since 25.09
+        */
+        protected void setUndecoratedBinaryValue(Binary binValue)
+            {
+            if (ExternalizableHelper.isDecorated(binValue))
+                {
+                m_binValueDecorated   = getBinaryValue();
+                m_binValueUndecorated = binValue;
+                }
+            }
+
         /**
         * Start tracking changes by the BinaryEntryStore.
         */
@@ -3798,6 +4246,11 @@ public class ReadWriteBackingMap
         */
         private long m_ldtRipeMillis;
 
+        /**
+        * Time when the entry was added to the write-behind queue.
+        */
+        private long m_ldtQueuedMillis;
+
         /**
         * Indicates that the value change tracking is on.
         */
@@ -3813,6 +4266,17 @@ public class ReadWriteBackingMap
         */
         private boolean m_fExpiryChanged;
 
+        /**
+        * The decorated Binary value that {@link #m_binValueUndecorated} is
+        * the undecorated form of.
+        */
+        private Binary m_binValueDecorated;
+
+        /**
+        * The Binary value without the "store deferred" decoration.
+        */
+        private Binary m_binValueUndecorated;
+
         /**
         * The parent tracing span.
         */
@@ -3965,6 +4429,11 @@ public class ReadWriteBackingMap
                     }
 
                 entryNew.setRipeMillis(ldtRipe);
+                if (entryNew.getQueuedMillis() == 0L)
+                    {
+                    // keep the original time for requeued entries
+                    entryNew.setQueuedMillis(ldtNow);
+                    }
                 map.put(binKey, entryNew);
                 listKeys.add(binKey);
                 
@@ -3978,6 +4447,10 @@ public class ReadWriteBackingMap
                 {
                 entry.updateBinaryValue(entryNew.getBinaryValue());
                 entry.expire(entryNew.getExpiry());
+                if (entryNew.m_binValueUndecorated != null)
+                    {
+                    entry.setUndecoratedBinaryValue(entryNew.m_binValueUndecorated);
+                    }
                 return entry;
                 }
             }
@@ -3999,8 +4472,7 @@ public class ReadWriteBackingMap
             //    processing the remove such that the following order is visible
             //    (store.store, store.erase)
             // 2. allow synthetic removes to return immediately
-            if (getContext().isKeyOwned(binKey) &&
-                Thread.currentThread() != ReadWriteBackingMap.this.getWriteThread().getThread())
+            if (getContext().isKeyOwned(binKey) && !isWriteBehindThread())
                 {
                 if (fWriteBehind)
                     {
@@ -4103,7 +4575,7 @@ public class ReadWriteBackingMap
 
                 long ldtNow      = getSafeTimeMillis();
                 long lIndex      = arrayRipe.getFirstIndex();
-                long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getWriteBatchFactor());
+                long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getEffectiveWriteBatchFactor());
 
                 if (lIndex > 0 && (ldtSoftRipe <= ldtNow || m_fFlush))
                     {
@@ -4186,7 +4658,7 @@ public class ReadWriteBackingMap
                     {
                     long ldtNow = getSafeTimeMillis();
                     long lIndex = arrayRipe.getFirstIndex();
-                    long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getWriteBatchFactor());
+                    long ldtSoftRipe = lIndex - (long) (getDelayMillis() * getEffectiveWriteBatchFactor());
 
                     if (m_fFlush || ldtSoftRipe <= ldtNow)
                         {
@@ -4353,6 +4825,36 @@ public class ReadWriteBackingMap
             }
 
 
+        /**
+        * Return the queue that holds the entry for the specified key.
+        *
+        * @param binKey  the key
+        *
+        * @return the queue that holds the entry for the specified key
+        *
+        * @since 25.09
+        */
+        public WriteQueue getStripe(Object binKey)
+            {
+            return this;
+            }
+
+        /**
+        * Wait for the store operations of all entries removed from the queue
+        * to complete.
+        *
+        * @since 25.09
+        */
+        protected synchronized void waitForPending()
+            {
+            while (!getPendingMap().isEmpty())
+                {
+                setWaitingOnPending(true);
+                waitFor(this, 0xFFL);
+                }
+            }
+
+
         // ----- internal -----------------------------------------------
 
         /**
@@ -4455,18 +4957,313 @@ public class ReadWriteBackingMap
         private boolean m_fFlush;
         }
 
-
-    // ----- inner class: ReadThread (refresh-ahead thread) -----------------
-
     /**
-    * Get the refresh-ahead thread.
+    * Factory pattern: Instantiate a new StripedWriteQueue object.
     *
-    * @return the refresh-ahead thread or null if refresh-ahead is not
-    *         enabled
+    * @param cStripes  the number of stripes
+    *
+    * @return a new StripedWriteQueue object
+    *
+    * @since 25.09
     */
-    protected ReadThread getReadThread()
+    protected WriteQueue instantiateStripedWriteQueue(int cStripes)
         {
-        return m_daemonRead;
+        return new StripedWriteQueue(cStripes);
+        }
+
+    /**
+    * A WriteQueue that is split into a number of independent stripes, each
+    * of which is drained by a dedicated {@link WriteThread}.
+    * <p>
+    * The entries are assigned to the stripes by partition (or by key hash
+    * for services that are not partitioned), so all writes of a given key
+    * go through the same stripe and are stored in order, while the stripes
+    * neither share a monitor nor wait for each other's store operations.
+    * <p>
+    * The operations on individual keys are delegated to the corresponding
+    * stripe; the operations on the whole queue apply to all stripes.
+    *
+    * @since 25.09
+    */
+    public class StripedWriteQueue
+            extends WriteQueue
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Construct a StripedWriteQueue with the specified number of stripes.
+        *
+        * @param cStripes  the number of stripes
+        */
+        protected StripedWriteQueue(int cStripes)
+            {
+            WriteQueue[] aQueue = new WriteQueue[cStripes];
+            for (int i = 0; i < cStripes; i++)
+                {
+                aQueue[i] = instantiateWriteQueue();
+                }
+
+            f_aQueue       = aQueue;
+            f_fPartitioned = getCacheService() instanceof PartitionedService;
+            }
+
+
+        // ----- accessors ----------------------------------------------
+
+        /**
+        * Return the number of stripes.
+        *
+        * @return the number of stripes
+        */
+        public int getStripeCount()
+            {
+            return f_aQueue.length;
+            }
+
+        /**
+        * Return the stripe with the specified index.
+        *
+        * @param iStripe  the index of the stripe
+        *
+        * @return the stripe with the specified index
+        */
+        public WriteQueue getStripeAt(int iStripe)
+            {
+            return f_aQueue[iStripe];
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public WriteQueue getStripe(Object binKey)
+            {
+            WriteQueue[] aQueue = f_aQueue;
+            int          nHash  = f_fPartitioned
+                                  ? getContext().getKeyPartition(binKey)
+                                  : binKey.hashCode();
+
+            return aQueue[(nHash & Integer.MAX_VALUE) % aQueue.length];
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public synchronized void setDelayMillis(long cMillis)
+            {
+            super.setDelayMillis(cMillis);
+            for (WriteQueue queue : f_aQueue)
+                {
+                queue.setDelayMillis(cMillis);
+                }
+            }
+
+
+        // ----- Queue API ----------------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        protected Entry add(Entry entryNew, long cDelay)
+            {
+            return getStripe(entryNew.getBinaryKey()).add(entryNew, cDelay);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        protected Entry remove(Object binKey, boolean fWriteBehind)
+            {
+            return getStripe(binKey).remove(binKey, fWriteBehind);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        protected Entry removeImmediate()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                Entry entry = queue.removeImmediate();
+                if (entry != null)
+                    {
+                    return entry;
+                    }
+                }
+            return null;
+            }
+
+        /**
+        * {@inheritDoc}
+        * <p>
+        * Note: the write-behind threads drain their stripes directly; this
+        * method polls all stripes in turn.
+        */
+        public Entry remove(long cMillis)
+            {
+            long ldtStop = cMillis > 0L ? getSafeTimeMillis() + cMillis : Long.MAX_VALUE;
+            while (true)
+                {
+                Entry entry = removeNoWait();
+                if (entry != null || cMillis == 0L || !isActive())
+                    {
+                    return entry;
+                    }
+
+                long cWait = Math.min(0xFFL, ldtStop - getSafeTimeMillis());
+                if (cWait <= 0L)
+                    {
+                    return null;
+                    }
+
+                synchronized (this)
+                    {
+                    waitFor(this, cWait);
+                    }
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Entry removeNoWait()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                Entry entry = queue.removeNoWait();
+                if (entry != null)
+                    {
+                    return entry;
+                    }
+                }
+            return null;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            int cSize = 0;
+            for (WriteQueue queue : f_aQueue)
+                {
+                cSize += queue.size();
+                }
+            return cSize;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isEmpty()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                if (!queue.isEmpty())
+                    {
+                    return false;
+                    }
+                }
+            return true;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isFlushed()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                if (!queue.isFlushed())
+                    {
+                    return false;
+                    }
+                }
+            return true;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void flush()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                queue.flush();
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean containsKey(Object binKey)
+            {
+            return getStripe(binKey).containsKey(binKey);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public Object checkPending(Object binKey)
+            {
+            return getStripe(binKey).checkPending(binKey);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public void clearPending()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                queue.clearPending();
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean accelerateEntryRipe(Binary binKey)
+            {
+            return getStripe(binKey).accelerateEntryRipe(binKey);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        protected void waitForPending()
+            {
+            for (WriteQueue queue : f_aQueue)
+                {
+                queue.waitForPending();
+                }
+            }
+
+
+        // ----- data members -------------------------------------------
+
+        /**
+        * The stripes.
+        */
+        protected final WriteQueue[] f_aQueue;
+
+        /**
+        * True iff the entries are assigned to the stripes by partition.
+        */
+        protected final boolean f_fPartitioned;
+        }
+
+
+    // ----- inner class: ReadThread (refresh-ahead thread) -----------------
+
+    /**
+    * Get the refresh-ahead thread.
+    *
+    * @return the refresh-ahead thread or null if refresh-ahead is not
+    *         enabled
+    */
+    protected ReadThread getReadThread()
+        {
+        return m_daemonRead;
         }
 
     /**
@@ -4575,63 +5372,210 @@ public class ReadWriteBackingMap
         }
 
     /**
-    * A thread that removes keys from a {@link ReadQueue}, reads the value
-    * for the key from the underlying <tt>CacheStore</tt>, and caches the
-    * value in the internal <tt>ReadWriteBackingMap</tt> cache.
+    * Complete an asynchronous load of the refresh-ahead thread.
+    * <p>
+    * If the key can be locked quickly, the loaded value is cached in the
+    * internal cache, as long as the load operation hasn't been canceled and
+    * the key is still owned by this member; otherwise, a thread is either
+    * waiting for the result of the load operation or is going to cancel the
+    * operation (but not both), so the latch is completed or canceled.
     *
-    * @author jh 2005.02.08
+    * @param latch      the latch of the loaded key
+    * @param entry      the loaded entry, or null if the key does not have an
+    *                   associated value in the underlying store
+    * @param exception  the exception thrown by the load operation, or null
+    *
+    * @since 25.09
     */
-    public class ReadThread
-            extends Daemon
+    protected void completeRefresh(ReadLatch latch, Entry entry, Throwable exception)
         {
-        // ----- constructors -------------------------------------------
-
-        /**
-        * Default constructor.
-        */
-        public ReadThread()
-            {
-            super("ReadThread:"
-                    + getCacheStore()
-                    + (getCacheService() == null
-                       ? ""
-                       : (":" + getCacheService().getInfo().getServiceName())),
-                     Thread.NORM_PRIORITY, false);
-
-            m_fRefreshContext = false;
-            }
-
-        // ----- Daemon methods -----------------------------------------
+        ConcurrentMap mapControl = getControlMap();
+        Object        oKey       = latch.getKey();
 
-        /**
-        * The daemon's implementation method.
-        */
-        public void run()
+        // try a quick lock and double-check that the load
+        // operation wasn't canceled between the time the load
+        // latch was placed in the control map and the load
+        // operation completed; also, since the load was done
+        // asynchronously, check to see if the key is still
+        // owned by this member
+        Object oValue = entry == null ? null : entry.getBinaryValue();
+        if (mapControl.lock(oKey, 0))
             {
-            ContainerHelper.initializeThreadContext(getCacheService());
-
-            ConcurrentMap mapControl  = getControlMap();
-            ReadQueue     queue       = getReadQueue();
-            long          cWaitMillis = getMaxWaitMillis(0xFFL);
-
             try
                 {
-                while (isActive() && !isStopping())
+                // synchronization is not necessary here since
+                // this thread owns the key
+                if (exception == null && !latch.isCanceled() &&
+                    getContext().isKeyOwned(oKey))
                     {
-                    if (m_fRefreshContext)
-                        {
-                        GuardSupport.setThreadContext(getContext());
-                        m_fRefreshContext = false;
-                        }
-
-                    StoreWrapper store = getCacheStore();
-
-                    if (store != null)
-                        {
-                        // heartbeat before waiting.
-                        heartbeat();
-
-                        // find the next candidate key for an asynchronous
+                    putToInternalCache(oKey, oValue, extractExpiry(entry));
+                    }
+                }
+            finally
+                {
+                mapControl.remove(oKey);
+                mapControl.unlock(oKey);
+                }
+            }
+        else
+            {
+            // since we could not lock, notify the lock owner
+            // that the current load operation has either
+            // completed or been canceled due to an exception
+            if (exception == null)
+                {
+                latch.complete(oValue);
+                }
+            else
+                {
+                latch.cancel(exception);
+                }
+            mapControl.remove(oKey);
+            }
+        }
+
+    /**
+    * Load the keys of the specified refresh-ahead latches with a single
+    * loadAll operation, and complete the latches.
+    * <p>
+    * If the CacheStore is a {@link NonBlockingEntryStore}, the operation is
+    * asynchronous: the latches are completed as the store reports the
+    * loaded entries, while this method only waits for the number of pending
+    * operations to drop below the {@link #getReadMaxPendingBatches() limit}.
+    *
+    * @param listLatch  the latches of the keys to load
+    * @param store      the CacheStore to load the keys from
+    *
+    * @since 25.09
+    */
+    protected void refreshAll(List<ReadLatch> listLatch, StoreWrapper store)
+        {
+        BackingMapManagerContext ctx      = getContext();
+        Map<Object, ReadLatch>   mapLatch = new HashMap<>();
+
+        for (ReadLatch latch : listLatch)
+            {
+            // avoid loading from a store if the entry is not owned anymore
+            Object oKey = latch.getKey();
+            if (ctx.isKeyOwned(oKey))
+                {
+                mapLatch.put(oKey, latch);
+                }
+            else
+                {
+                completeRefresh(latch, null, null);
+                }
+            }
+
+        if (mapLatch.isEmpty())
+            {
+            return;
+            }
+
+        if (store instanceof NonBlockingEntryStoreWrapper)
+            {
+            ((NonBlockingEntryStoreWrapper) store).loadAllAsync(mapLatch);
+            return;
+            }
+
+        Set       setLoaded = null;
+        Throwable exception = null;
+        try
+            {
+            setLoaded = store.loadAll(new HashSet(mapLatch.keySet()));
+            }
+        catch (Throwable e)
+            {
+            exception = e;
+            }
+
+        if (setLoaded != null)
+            {
+            for (Object oEntry : setLoaded)
+                {
+                Entry     entry = (Entry) oEntry;
+                ReadLatch latch = mapLatch.remove(entry.getBinaryKey());
+                if (latch != null)
+                    {
+                    completeRefresh(latch, entry, null);
+                    }
+                }
+            }
+
+        // the keys that were not loaded have no associated value, unless
+        // the load operation failed
+        for (ReadLatch latch : mapLatch.values())
+            {
+            completeRefresh(latch, null, exception);
+            }
+        }
+
+    /**
+    * A thread that removes keys from a {@link ReadQueue}, reads the value
+    * for the key from the underlying <tt>CacheStore</tt>, and caches the
+    * value in the internal <tt>ReadWriteBackingMap</tt> cache.
+    *
+    * @author jh 2005.02.08
+    */
+    public class ReadThread
+            extends Daemon
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Default constructor.
+        */
+        public ReadThread()
+            {
+            super("ReadThread:"
+                    + getCacheStore()
+                    + (getCacheService() == null
+                       ? ""
+                       : (":" + getCacheService().getInfo().getServiceName())),
+                     Thread.NORM_PRIORITY, false);
+
+            m_fRefreshContext = false;
+            }
+
+        // ----- Daemon methods -----------------------------------------
+
+        /**
+        * The daemon's implementation method.
+        */
+        public void run()
+            {
+            ContainerHelper.initializeThreadContext(getCacheService());
+
+            ReadQueue queue       = getReadQueue();
+            long      cWaitMillis = getMaxWaitMillis(0xFFL);
+
+            try
+                {
+                while (isActive() && !isStopping())
+                    {
+                    if (m_fRefreshContext)
+                        {
+                        GuardSupport.setThreadContext(getContext());
+                        m_fRefreshContext = false;
+                        }
+
+                    StoreWrapper store = getCacheStore();
+
+                    if (store != null)
+                        {
+                        // heartbeat before waiting.
+                        heartbeat();
+
+                        int cBatch = getReadMaxBatchSize();
+                        if (cBatch > 1)
+                            {
+                            // latch up to a batch of candidate keys and load
+                            // them with a single loadAll operation
+                            refreshAll(queue.selectAll(cWaitMillis, cBatch), store);
+                            continue;
+                            }
+
+                        // find the next candidate key for an asynchronous
                         // load in the queue and place a latch in the
                         // control map under the key; the latch serves two
                         // purposes:
@@ -4680,46 +5624,7 @@ public class ReadWriteBackingMap
                             exception = e;
                             }
 
-                        // try a quick lock and double-check that the load
-                        // operation wasn't canceled between the time the load
-                        // latch was placed in the control map and the load
-                        // operation completed; also, since the load was done
-                        // asynchronously, check to see if the key is still
-                        // owned by this member
-                        Object oValue = entry == null ? null : entry.getBinaryValue();
-                        if (mapControl.lock(oKey, 0))
-                            {
-                            try
-                                {
-                                // synchronization is not necessary here since
-                                // this thread owns the key
-                                if (exception == null && !latch.isCanceled() &&
-                                    ReadWriteBackingMap.this.getContext().isKeyOwned(oKey))
-                                    {
-                                    putToInternalCache(oKey, oValue, extractExpiry(entry));
-                                    }
-                                }
-                            finally
-                                {
-                                mapControl.remove(oKey);
-                                mapControl.unlock(oKey);
-                                }
-                            }
-                        else
-                            {
-                            // since we could not lock, notify the lock owner
-                            // that the current load operation has either
-                            // completed or been canceled due to an exception
-                            if (exception == null)
-                                {
-                                latch.complete(oValue);
-                                }
-                            else
-                                {
-                                latch.cancel(exception);
-                                }
-                            mapControl.remove(oKey);
-                            }
+                        completeRefresh(latch, entry, exception);
                         }
                     }
                 }
@@ -4780,6 +5685,64 @@ public class ReadWriteBackingMap
         return m_daemonWrite;
         }
 
+    /**
+    * Get all write-behind threads.
+    *
+    * @return the write-behind threads, or an empty array if there is no
+    *         CacheStore to write to
+    *
+    * @since 25.09
+    */
+    protected WriteThread[] getWriteThreads()
+        {
+        WriteThread[] aDaemon = m_aDaemonWrite;
+        if (aDaemon == null)
+            {
+            WriteThread daemon = m_daemonWrite;
+            aDaemon = daemon == null ? new WriteThread[0] : new WriteThread[] {daemon};
+            }
+        return aDaemon;
+        }
+
+    /**
+    * Determine if the calling thread is one of the write-behind threads.
+    *
+    * @return true iff the calling thread is a write-behind thread
+    *
+    * @since 25.09
+    */
+    protected boolean isWriteBehindThread()
+        {
+        Thread thread = Thread.currentThread();
+        for (WriteThread daemon : getWriteThreads())
+            {
+            if (daemon.getThread() == thread)
+                {
+                return true;
+                }
+            }
+        return false;
+        }
+
+    /**
+    * Record the time the specified entry spent in the write-behind queue
+    * before being written.
+    *
+    * @param entry   the entry removed from the write-behind queue
+    * @param ldtNow  the current time
+    *
+    * @since 25.09
+    */
+    protected void recordQueueAge(Entry entry, long ldtNow)
+        {
+        Histogram hist      = m_histQueueAge;
+        long      ldtQueued = entry.getQueuedMillis();
+        if (hist != null && ldtQueued > 0L)
+            {
+            hist.update(Math.max(0L, ldtNow - ldtQueued));
+            }
+        }
+
     /**
     * Set up the optional write-behind thread and queue that this backing map
     * will use.
@@ -4793,8 +5756,9 @@ public class ReadWriteBackingMap
         {
         if (cWriteBehindSeconds > 0 && !isReadOnly())
             {
-            m_queueWrite  = instantiateWriteQueue();
-            m_daemonWrite = instantiateWriteThread();
+            m_queueWrite   = instantiateWriteQueue();
+            m_histQueueAge = new Histogram();
+            m_daemonWrite  = instantiateWriteThread();
             m_daemonWrite.start();
 
             if (isWriteBehindRemove())
@@ -4823,6 +5787,21 @@ public class ReadWriteBackingMap
         return new WriteThread();
         }
 
+    /**
+    * Factory pattern: Instantiate the write-behind thread for the specified
+    * stripe of a {@link StripedWriteQueue}.
+    *
+    * @param iStripe  the index of the stripe
+    *
+    * @return a new write-behind thread
+    *
+    * @since 25.09
+    */
+    protected WriteThread instantiateWriteThread(int iStripe)
+        {
+        return new WriteThread(iStripe);
+        }
+
     /**
     * Terminate the write-behind thread.
     */
@@ -4841,16 +5820,27 @@ public class ReadWriteBackingMap
                     // thread is exiting; make sure it does not appear
                     // that the map is still write-behind
                     WriteThread daemon = m_daemonWrite;
-                    synchronized (daemon)
+                    if (daemon != null)
                         {
-                        m_daemonWrite = null;
-                        m_queueWrite  = null;
+                        synchronized (daemon)
+                            {
+                            // with multiple write-behind threads, only the
+                            // first one to exit flushes the queue
+                            if (queue == m_queueWrite)
+                                {
+                                WriteThread[] aDaemon = getWriteThreads();
 
-                        flush(queue, store);
+                                m_daemonWrite  = null;
+                                m_aDaemonWrite = null;
+                                m_queueWrite   = null;
 
-                        if (daemon != null)
-                            {
-                            daemon.stop();
+                                flush(queue, store);
+
+                                for (WriteThread daemonWrite : aDaemon)
+                                    {
+                                    daemonWrite.stop();
+                                    }
+                                }
                             }
                         }
                     }
@@ -4880,8 +5870,22 @@ public class ReadWriteBackingMap
         * Default constructor.
         */
         public WriteThread()
+            {
+            this(0);
+            }
+
+        /**
+        * Construct a WriteThread that drains the specified stripe of a
+        * {@link StripedWriteQueue}.
+        *
+        * @param iStripe  the index of the stripe
+        *
+        * @since 25.09
+        */
+        public WriteThread(int iStripe)
             {
             super("WriteBehindThread:"
+                    + (iStripe == 0 ? "" : iStripe + ":")
                     + getCacheStore()
                     + (getCacheService() == null
                        ? ""
@@ -4889,6 +5893,32 @@ public class ReadWriteBackingMap
                      Thread.NORM_PRIORITY, false);
 
             m_fRefreshContext = false;
+            f_iStripe         = iStripe;
+            }
+
+        // ----- accessors ----------------------------------------------
+
+        /**
+        * Return the queue drained by this thread, which is the corresponding
+        * stripe of a {@link StripedWriteQueue}.
+        *
+        * @return the queue drained by this thread, or null if write-behind
+        *         is no longer enabled
+        *
+        * @since 25.09
+        */
+        protected WriteQueue getQueue()
+            {
+            WriteQueue queue = getWriteQueue();
+            if (queue instanceof StripedWriteQueue)
+                {
+                StripedWriteQueue queueStriped = (StripedWriteQueue) queue;
+                int               iStripe      = f_iStripe;
+
+                queue = iStripe < queueStriped.getStripeCount()
+                        ? queueStriped.getStripeAt(iStripe) : null;
+                }
+            return queue;
             }
 
         // ----- Daemon methods -----------------------------------------
@@ -4910,7 +5940,7 @@ public class ReadWriteBackingMap
                 {
                 while (isActive() && !isStopping())
                     {
-                    WriteQueue   queue = getWriteQueue();
+                    WriteQueue   queue = getQueue();
                     StoreWrapper store = getCacheStore();
                     long         cWait = getMaxWaitMillis(0xFFL);
 
@@ -4941,14 +5971,17 @@ public class ReadWriteBackingMap
                         boolean    fStoreAll   = store.isStoreAllSupported();
                         boolean    fEraseAll   = store.isEraseAllSupported();
                         int        cEntries    = 0;
-                        int        cMaxEntries = getWriteMaxBatchSize();
+                        int        cMaxEntries = getEffectiveWriteBatchSize();
                         Set<Entry> setStore    = fStoreAll ? new LinkedHashSet<>(cMaxEntries, 0.75f) : null;
                         Set<Entry> setErase    = fEraseAll ? new LinkedHashSet<>(cMaxEntries, 0.75f) : null;
+                        long       ldtNow      = getSafeTimeMillis();
 
                         while (entry != null)
                             {
                             boolean fRemove = equals(entry.getBinaryValue(), BIN_ERASE_PENDING);
 
+                            recordQueueAge(entry, ldtNow);
+
                             if (fRemove)
                                 {
                                 if (fEraseAll)
@@ -4995,13 +6028,16 @@ public class ReadWriteBackingMap
 
                         if (fStoreAll && !setStore.isEmpty())
                             {
-                            if (setStore.size() == 1)
-                                {
-                                store.store(setStore.iterator().next(), true);
-                                }
-                            else
+                            int     cStore   = setStore.size();
+                            long    ldtStart = getSafeTimeMillis();
+                            boolean fSuccess = cStore == 1
+                                    ? store.tryStore(setStore.iterator().next(), true)
+                                    : store.tryStoreAll(setStore);
+
+                            WriteBatchTuner tuner = m_tunerWrite;
+                            if (tuner != null)
                                 {
-                                store.storeAll(setStore);
+                                tuner.onBatch(cStore, cMaxEntries, getSafeTimeMillis() - ldtStart, fSuccess);
                                 }
                             }
                         }
@@ -5055,20 +6091,962 @@ public class ReadWriteBackingMap
             }
 
         /**
-        * {@inheritDoc}
+        * {@inheritDoc}
+        */
+        protected void setGuardPolicy(Guardian guardian, long cTimeoutMillis, float flPctRecover)
+            {
+            // Note: needed to provide access visibility to the outer class
+            super.setGuardPolicy(guardian, cTimeoutMillis, flPctRecover);
+            }
+
+        // ----- data fields ---------------------------------------------
+
+        /**
+        * Field used to tell the {@link WriteThread} to refresh its {@link GuardContext}.
+        */
+        protected volatile boolean m_fRefreshContext;
+
+        /**
+        * The index of the stripe of a {@link StripedWriteQueue} drained by
+        * this thread.
+        */
+        protected final int f_iStripe;
+        }
+
+
+    // ----- inner class: WriteBatchTuner (adaptive write-behind batches) ---
+
+    /**
+    * Get the tuner of the write-behind batches.
+    *
+    * @return the tuner of the write-behind batches, or null unless the
+    *         write-behind batches are {@link #isWriteBatchAdaptive() adaptive}
+    *
+    * @since 25.09
+    */
+    public WriteBatchTuner getWriteBatchTuner()
+        {
+        return m_tunerWrite;
+        }
+
+    /**
+    * Factory pattern: Instantiate the tuner of the write-behind batches.
+    *
+    * @return a new WriteBatchTuner
+    *
+    * @since 25.09
+    */
+    protected WriteBatchTuner instantiateWriteBatchTuner()
+        {
+        return new WriteBatchTuner();
+        }
+
+    /**
+    * Adapts the size of the write-behind batches and the write-batch factor
+    * to the observed latency and throughput of the CacheStore storeAll()
+    * operations, using an additive increase / multiplicative decrease
+    * scheme:
+    * <ul>
+    * <li>A batch that failed, took longer than half of the {@link
+    *     #getCacheStoreTimeoutMillis() CacheStore timeout}, or was full but
+    *     written at a considerably lower rate than the recent average halves
+    *     both the batch size and the batch factor, so the queue coalesces
+    *     more updates while the store is struggling.</li>
+    * <li>A full batch written at a steady rate grows the batch size by a
+    *     fraction of the {@link #getWriteMaxBatchSize() maximum batch
+    *     size}.</li>
+    * <li>A partial batch, which means that the store keeps up with the
+    *     queue, grows the batch factor by a fraction of the configured
+    *     {@link #getWriteBatchFactor() write-batch factor}, so the soft-ripe
+    *     entries are written earlier.</li>
+    * </ul>
+    * The configured maximum batch size and write-batch factor are the upper
+    * bounds of the adapted values.
+    *
+    * @since 25.09
+    */
+    public class WriteBatchTuner
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Construct a WriteBatchTuner that starts with the configured maximum
+        * batch size and write-batch factor.
+        */
+        protected WriteBatchTuner()
+            {
+            m_cBatchSize     = getWriteMaxBatchSize();
+            m_dflBatchFactor = getWriteBatchFactor();
+            }
+
+
+        // ----- accessors ----------------------------------------------
+
+        /**
+        * Return the current maximum number of entries in a write-behind
+        * batch.
+        *
+        * @return the current batch size
+        */
+        public int getBatchSize()
+            {
+            return Math.min(m_cBatchSize, getWriteMaxBatchSize());
+            }
+
+        /**
+        * Return the current write-batch factor.
+        *
+        * @return the current write-batch factor
+        */
+        public double getBatchFactor()
+            {
+            return Math.min(m_dflBatchFactor, getWriteBatchFactor());
+            }
+
+        /**
+        * Return the recent average rate of the store operations.
+        *
+        * @return the average number of entries stored per millisecond
+        */
+        public double getAverageRate()
+            {
+            return m_dflRate;
+            }
+
+
+        // ----- tuning -------------------------------------------------
+
+        /**
+        * Adapt the batch size and the batch factor to the outcome of a
+        * write-behind batch.
+        *
+        * @param cEntries     the number of entries written
+        * @param cMaxEntries  the batch size that limited the batch
+        * @param cMillis      the duration of the store operation
+        * @param fSuccess     false if any of the entries failed to be stored
+        */
+        public synchronized void onBatch(int cEntries, int cMaxEntries, long cMillis, boolean fSuccess)
+            {
+            int     cSizeMax   = getWriteMaxBatchSize();
+            double  dflMax     = getWriteBatchFactor();
+            int     cSize      = getBatchSize();
+            double  dflFactor  = getBatchFactor();
+            double  dflRate    = cEntries / (double) Math.max(1L, cMillis);
+            double  dflRateAvg = m_dflRate;
+            long    cCapMillis = getCacheStoreTimeoutMillis() / 2;
+            boolean fFull      = cEntries >= cMaxEntries;
+
+            if (!fSuccess || (cCapMillis > 0L && cMillis > cCapMillis) ||
+                (fFull && dflRate < dflRateAvg * (1.0 - RATE_TOLERANCE)))
+                {
+                // multiplicative decrease
+                cSize      = Math.max(1, cSize / 2);
+                dflFactor /= 2;
+                }
+            else if (fFull)
+                {
+                // additive increase of the batch size
+                cSize = Math.min(cSizeMax, cSize + Math.max(1, cSizeMax / INCREASE_STEPS));
+                }
+            else
+                {
+                // additive increase of the batch factor
+                dflFactor = Math.min(dflMax, dflFactor + dflMax / INCREASE_STEPS);
+                }
+
+            if (fSuccess)
+                {
+                m_dflRate = dflRateAvg == 0.0
+                            ? dflRate
+                            : dflRateAvg + (dflRate - dflRateAvg) * RATE_WEIGHT;
+                }
+
+            m_cBatchSize     = cSize;
+            m_dflBatchFactor = dflFactor;
+            }
+
+
+        // ----- Object methods -----------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public String toString()
+            {
+            return "WriteBatchTuner{BatchSize=" + getBatchSize()
+                    + ", BatchFactor=" + getBatchFactor()
+                    + ", AverageRate=" + getAverageRate() + '}';
+            }
+
+
+        // ----- constants and data members -----------------------------
+
+        /**
+        * The relative decrease of the rate below the average that is
+        * considered a sign of an overloaded store.
+        */
+        protected static final double RATE_TOLERANCE = 0.25;
+
+        /**
+        * The weight of the most recent rate in the average rate.
+        */
+        protected static final double RATE_WEIGHT = 0.2;
+
+        /**
+        * The number of additive increases needed to grow from zero to the
+        * configured bounds.
+        */
+        protected static final int INCREASE_STEPS = 16;
+
+        /**
+        * The current batch size.
+        */
+        protected volatile int m_cBatchSize;
+
+        /**
+        * The current write-batch factor.
+        */
+        protected volatile double m_dflBatchFactor;
+
+        /**
+        * The exponentially weighted average of the number of entries stored
+        * per millisecond.
+        */
+        protected volatile double m_dflRate;
+        }
+
+
+    // ----- inner class: Preloader (partitioned preload) -------------------
+
+    /**
+    * Get the preloader of this backing map.
+    *
+    * @return the preloader, or null if preload is not enabled
+    *
+    * @since 25.09
+    */
+    public Preloader getPreloader()
+        {
+        return m_preloader;
+        }
+
+    /**
+    * Return the underlying loader to preload the entries from.
+    *
+    * @return the underlying {@link PartitionAwareLoader} or {@link
+    *         IterableCacheLoader}, or null if the CacheStore supports neither
+    *
+    * @since 25.09
+    */
+    protected Object getPreloadLoader()
+        {
+        StoreWrapper store  = getCacheStore();
+        Object       loader = store == null ? null : store.getStore();
+        if (loader instanceof CacheLoaderCacheStore)
+            {
+            loader = ((CacheLoaderCacheStore) loader).getCacheLoader();
+            }
+
+        return loader instanceof PartitionAwareLoader || loader instanceof IterableCacheLoader
+               ? loader : null;
+        }
+
+    /**
+    * Factory pattern: Instantiate the preloader.
+    *
+    * @param cThreads  the number of preload threads
+    * @param loader    the {@link PartitionAwareLoader} or {@link
+    *                  IterableCacheLoader} to preload the entries from
+    *
+    * @return a new Preloader
+    *
+    * @since 25.09
+    */
+    protected Preloader instantiatePreloader(int cThreads, Object loader)
+        {
+        return new Preloader(cThreads, loader);
+        }
+
+    /**
+    * Factory pattern: Instantiate a preload thread.
+    *
+    * @param iThread  the index of the thread
+    *
+    * @return a new preload thread
+    *
+    * @since 25.09
+    */
+    protected PreloadThread instantiatePreloadThread(int iThread)
+        {
+        return new PreloadThread(iThread);
+        }
+
+    /**
+    * Load the specified keys from the CacheStore into the internal cache,
+    * skipping the keys that are not owned by this member, are being
+    * accessed concurrently, or are already present in this map.
+    * <p>
+    * Similar to the refresh-ahead, the loaded entries are added to the
+    * internal cache in such a way that the resulting map events are marked
+    * as "synthetic".
+    *
+    * @param colBinKeys  the keys to load, in internal format
+    *
+    * @return the number of loaded entries
+    *
+    * @since 25.09
+    */
+    protected int preloadKeys(Collection colBinKeys)
+        {
+        ConcurrentMap            mapControl = getControlMap();
+        BackingMapManagerContext ctx        = getContext();
+        StoreWrapper             store      = getCacheStore();
+        Set                      setLoad    = new HashSet();
+        int                      cLoaded    = 0;
+
+        if (store == null)
+            {
+            return 0;
+            }
+
+        // to simplify the code, all keys are unlocked within the "finally"
+        // block, relying on the "forgiving" behavior of the unlock API that
+        // would just ignore the keys that were not locked
+        try
+            {
+            Map mapMisses = getMissesCache();
+            for (Object binKey : colBinKeys)
+                {
+                if (!ctx.isKeyOwned(binKey) || !mapControl.lock(binKey, 0L))
+                    {
+                    // another thread accesses the entry, which makes the
+                    // preload of the entry unnecessary
+                    continue;
+                    }
+
+                if ((mapMisses == null || !mapMisses.containsKey(binKey)) &&
+                    (!isWriteBehindRemove() || !getPendingRemoves().contains(binKey)) &&
+                    getFromInternalCache(binKey) == null)
+                    {
+                    setLoad.add(binKey);
+                    }
+                }
+
+            if (!setLoad.isEmpty())
+                {
+                for (Object oEntry : store.loadAll(setLoad))
+                    {
+                    Entry entry = (Entry) oEntry;
+
+                    // the load is asynchronous; check that the entry is
+                    // still owned by this member
+                    if (entry.getBinaryValue() != null &&
+                        ctx.isKeyOwned(entry.getBinaryKey()))
+                        {
+                        putToInternalCache(entry);
+                        cLoaded++;
+                        }
+                    }
+                }
+            return cLoaded;
+            }
+        finally
+            {
+            for (Object binKey : colBinKeys)
+                {
+                mapControl.unlock(binKey);
+                }
+            }
+        }
+
+    /**
+    * Preloads the entries of the partitions owned by this member from the
+    * CacheStore when the cache is created, using a number of {@link
+    * PreloadThread preload threads}.
+    * <p>
+    * If the CacheStore is a {@link PartitionAwareLoader} and the service is
+    * partitioned, the threads take the owned partitions one at a time, so
+    * the partitions are loaded in parallel and each storage member only
+    * reads the keys it owns; once the owned partitions are exhausted, the
+    * partitions received from other members in the meantime are preloaded
+    * as well. Since the preload may complete before the partition
+    * distribution does, the Preloader listens to the partitions received
+    * by this member, and starts a new set of threads to preload them if
+    * the previous ones have already exited. Otherwise, the threads share a
+    * single iteration of the keys of the {@link IterableCacheLoader}, and
+    * load the ones owned by this member.
+    *
+    * @since 25.09
+    */
+    public class Preloader
+            implements PartitionListener
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Construct a Preloader.
+        *
+        * @param cThreads  the number of preload threads
+        * @param loader    the {@link PartitionAwareLoader} or {@link
+        *                  IterableCacheLoader} to preload the entries from
+        */
+        protected Preloader(int cThreads, Object loader)
+            {
+            CacheService service = getCacheService();
+
+            f_loader  = loader;
+            f_service = loader instanceof PartitionAwareLoader &&
+                        service instanceof PartitionedService
+                        ? (PartitionedService) service : null;
+
+            PreloadThread[] aDaemon = new PreloadThread[cThreads];
+            for (int i = 0; i < cThreads; i++)
+                {
+                aDaemon[i] = instantiatePreloadThread(i);
+                }
+            m_aDaemon = aDaemon;
+            }
+
+
+        // ----- accessors ----------------------------------------------
+
+        /**
+        * Return the number of preload threads.
+        *
+        * @return the number of preload threads
+        */
+        public int getThreadCount()
+            {
+            return m_aDaemon.length;
+            }
+
+        /**
+        * Determine if the entries are preloaded by partition.
+        *
+        * @return true iff the entries are preloaded by partition using a
+        *         {@link PartitionAwareLoader}
+        */
+        public boolean isPartitioned()
+            {
+            return f_service != null;
+            }
+
+        /**
+        * Determine if the preload has completed.
+        *
+        * @return true iff all preload threads have exited
+        */
+        public boolean isCompleted()
+            {
+            return m_ldtEnd != 0L;
+            }
+
+        /**
+        * Return the number of entries preloaded so far.
+        *
+        * @return the number of preloaded entries
+        */
+        public long getEntryCount()
+            {
+            return f_cEntries.get();
+            }
+
+        /**
+        * Return the number of partitions preloaded so far.
+        *
+        * @return the number of preloaded partitions; always zero unless the
+        *         entries are {@link #isPartitioned() preloaded by partition}
+        */
+        public int getPartitionCount()
+            {
+            return f_cPartitions.get();
+            }
+
+        /**
+        * Return the duration of the preload, or the time elapsed since it
+        * started if it has not completed yet.
+        *
+        * @return the duration of the preload in milliseconds
+        */
+        public long getDurationMillis()
+            {
+            long ldtStart = m_ldtStart;
+            long ldtEnd   = m_ldtEnd;
+
+            return ldtStart == 0L ? 0L
+                    : (ldtEnd == 0L ? Base.getSafeTimeMillis() : ldtEnd) - ldtStart;
+            }
+
+        /**
+        * Return the preload threads.
+        *
+        * @return the preload threads
+        */
+        protected PreloadThread[] getThreads()
+            {
+            return m_aDaemon;
+            }
+
+
+        // ----- life cycle ---------------------------------------------
+
+        /**
+        * Start the preload threads.
+        */
+        public synchronized void start()
+            {
+            PartitionedService service = f_service;
+            if (service != null)
+                {
+                service.addPartitionListener(this);
+                }
+
+            m_cActive = m_aDaemon.length;
+            for (PreloadThread daemon : m_aDaemon)
+                {
+                daemon.start();
+                }
+            }
+
+        /**
+        * Stop the preload threads.
+        */
+        public void stop()
+            {
+            PartitionedService service = f_service;
+            if (service != null)
+                {
+                service.removePartitionListener(this);
+                }
+
+            synchronized (this)
+                {
+                m_fStopped = true;
+                m_fRearm   = false;
+                }
+
+            for (PreloadThread daemon : m_aDaemon)
+                {
+                daemon.stop();
+                }
+            }
+
+        /**
+        * Preload the partitions received by this member since the preload
+        * threads last checked the owned partitions. If all the threads have
+        * exited, a new set of threads is started; otherwise, the last thread
+        * to exit starts them.
+        */
+        protected synchronized void rearm()
+            {
+            if (m_fStopped || !isActive())
+                {
+                return;
+                }
+
+            if (m_cActive == 0)
+                {
+                // the threads cannot be restarted from their own exit, so
+                // the received partitions are preloaded by new threads
+                PreloadThread[] aDaemon = new PreloadThread[m_aDaemon.length];
+                for (int i = 0; i < aDaemon.length; i++)
+                    {
+                    aDaemon[i] = instantiatePreloadThread(i);
+                    }
+
+                m_aDaemon = aDaemon;
+                m_ldtEnd  = 0L;
+                m_cActive = aDaemon.length;
+                for (PreloadThread daemon : aDaemon)
+                    {
+                    daemon.start();
+                    }
+                }
+            else
+                {
+                m_fRearm = true;
+                }
+            }
+
+
+        // ----- PartitionListener interface ----------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public void onPartitionEvent(PartitionEvent evt)
+            {
+            switch (evt.getId())
+                {
+                case PartitionEvent.PARTITION_RECEIVE_COMMIT:
+                case PartitionEvent.PARTITION_ASSIGNED:
+                case PartitionEvent.PARTITION_RECOVERED:
+                    rearm();
+                    break;
+                }
+            }
+
+
+        // ----- preload ------------------------------------------------
+
+        /**
+        * Wait until the service uses this backing map, so the preloaded
+        * entries are backed up and observed by the service.
+        *
+        * @param daemon  the calling preload thread
+        *
+        * @return true if the preload may start, or false if the backing map
+        *         or the preload thread has been stopped in the meantime
+        */
+        protected boolean awaitReady(PreloadThread daemon)
+            {
+            CacheService service = getCacheService();
+            while (isActive() && !daemon.isStopping())
+                {
+                if (service == null ||
+                    (service.isRunning() && m_listenerSupport != null))
+                    {
+                    synchronized (this)
+                        {
+                        if (m_ldtStart == 0L)
+                            {
+                            m_ldtStart = Base.getSafeTimeMillis();
+                            }
+                        }
+                    return true;
+                    }
+
+                Base.sleep(READY_WAIT_MILLIS);
+                }
+            return false;
+            }
+
+        /**
+        * Select the next partition to preload.
+        *
+        * @return the next owned partition that has not been preloaded yet,
+        *         or -1 if there are none
+        */
+        protected synchronized int nextPartition()
+            {
+            PartitionedService service      = f_service;
+            PartitionSet       partsStarted = m_partsStarted;
+            PartitionSet       partsPending = m_partsPending;
+            int                nPartition   = partsPending == null ? -1 : partsPending.next(0);
+
+            if (nPartition < 0)
+                {
+                // the pending partitions are exhausted; pick up the partitions
+                // received by this member since the last check
+                partsPending = service.getOwnedPartitions(service.getCluster().getLocalMember());
+                if (partsPending == null)
+                    {
+                    return -1;
+                    }
+
+                if (partsStarted == null)
+                    {
+                    m_partsStarted = partsStarted = new PartitionSet(service.getPartitionCount());
+                    }
+
+                partsPending.remove(partsStarted);
+                m_partsPending = partsPending;
+
+                nPartition = partsPending.next(0);
+                if (nPartition < 0)
+                    {
+                    return -1;
+                    }
+                }
+
+            partsPending.remove(nPartition);
+            partsStarted.add(nPartition);
+
+            return nPartition;
+            }
+
+        /**
+        * Preload the entries of the specified partition.
+        *
+        * @param nPartition  the partition to preload
+        * @param daemon      the calling preload thread
+        */
+        protected void preloadPartition(int nPartition, PreloadThread daemon)
+            {
+            Converter   conv    = getContext().getKeyToInternalConverter();
+            Iterator    iter    = ((PartitionAwareLoader) f_loader).keys(nPartition, f_service);
+            Set<Object> setKeys = new HashSet<>();
+
+            while (iter.hasNext())
+                {
+                if (daemon.isStopping())
+                    {
+                    return;
+                    }
+
+                setKeys.add(conv.convert(iter.next()));
+                if (setKeys.size() >= BATCH_SIZE || !iter.hasNext())
+                    {
+                    preloadKeys(setKeys);
+                    setKeys.clear();
+                    }
+                }
+            f_cPartitions.incrementAndGet();
+            }
+
+        /**
+        * Select the next batch of keys to preload from the iteration of all
+        * keys of the {@link IterableCacheLoader}.
+        *
+        * @return the next batch of owned keys in internal format, or null if
+        *         the iteration is exhausted
+        */
+        protected synchronized Set<Object> nextKeys()
+            {
+            Iterator iter = m_iterKeys;
+            if (iter == null)
+                {
+                m_iterKeys = iter = ((IterableCacheLoader) f_loader).keys();
+                }
+
+            BackingMapManagerContext ctx     = getContext();
+            Converter                conv    = ctx.getKeyToInternalConverter();
+            Set<Object>              setKeys = new HashSet<>();
+
+            while (setKeys.size() < BATCH_SIZE && iter.hasNext())
+                {
+                Object binKey = conv.convert(iter.next());
+                if (ctx.isKeyOwned(binKey))
+                    {
+                    setKeys.add(binKey);
+                    }
+                }
+            return setKeys.isEmpty() ? null : setKeys;
+            }
+
+        /**
+        * Preload the specified batch of keys.
+        *
+        * @param setKeys  the keys to preload in internal format
+        */
+        protected void preloadKeys(Set<Object> setKeys)
+            {
+            f_cEntries.addAndGet(ReadWriteBackingMap.this.preloadKeys(setKeys));
+            }
+
+        /**
+        * Called by each preload thread when it exits.
+        */
+        protected synchronized void onThreadExit()
+            {
+            if (--m_cActive == 0)
+                {
+                if (m_fRearm)
+                    {
+                    // partitions were received while the threads were
+                    // exiting
+                    m_fRearm = false;
+                    rearm();
+                    return;
+                    }
+
+                long ldtNow = Base.getSafeTimeMillis();
+                if (m_ldtStart == 0L)
+                    {
+                    m_ldtStart = ldtNow;
+                    }
+                m_ldtEnd = ldtNow;
+
+                Base.log("Preloaded " + getEntryCount() + " entries"
+                    + (isPartitioned() ? " of " + getPartitionCount() + " partitions" : "")
+                    + " from " + getCacheStore() + " in " + getDurationMillis() + "ms");
+                }
+            }
+
+
+        // ----- Object methods -----------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public String toString()
+            {
+            return "Preloader{Threads=" + getThreadCount()
+                    + ", Partitioned=" + isPartitioned()
+                    + ", Completed=" + isCompleted()
+                    + ", Entries=" + getEntryCount()
+                    + ", Partitions=" + getPartitionCount()
+                    + ", DurationMillis=" + getDurationMillis() + '}';
+            }
+
+
+        // ----- constants and data members -----------------------------
+
+        /**
+        * The maximum number of keys loaded in a single loadAll() operation.
+        */
+        protected static final int BATCH_SIZE = 256;
+
+        /**
+        * The interval between the checks whether the service uses this
+        * backing map.
+        */
+        protected static final long READY_WAIT_MILLIS = 100L;
+
+        /**
+        * The {@link PartitionAwareLoader} or {@link IterableCacheLoader} to
+        * preload the entries from.
+        */
+        protected final Object f_loader;
+
+        /**
+        * The partitioned service, or null unless the entries are preloaded
+        * by partition.
+        */
+        protected final PartitionedService f_service;
+
+        /**
+        * The preload threads; replaced whenever the preload is re-armed.
+        */
+        protected volatile PreloadThread[] m_aDaemon;
+
+        /**
+        * The number of preloaded entries.
+        */
+        protected final AtomicLong f_cEntries = new AtomicLong();
+
+        /**
+        * The number of preloaded partitions.
+        */
+        protected final AtomicInteger f_cPartitions = new AtomicInteger();
+
+        /**
+        * The partitions that have been selected for preload.
+        */
+        protected PartitionSet m_partsStarted;
+
+        /**
+        * The owned partitions that have not been selected for preload yet.
+        */
+        protected PartitionSet m_partsPending;
+
+        /**
+        * The iterator of all keys of the {@link IterableCacheLoader}.
+        */
+        protected Iterator m_iterKeys;
+
+        /**
+        * The number of preload threads that have not exited yet.
+        */
+        protected int m_cActive;
+
+        /**
+        * Flag that indicates whether partitions were received while the
+        * preload threads were active.
+        */
+        protected boolean m_fRearm;
+
+        /**
+        * Flag that indicates whether the preload has been stopped.
+        */
+        protected boolean m_fStopped;
+
+        /**
+        * The time the preload started.
+        */
+        protected volatile long m_ldtStart;
+
+        /**
+        * The time the preload completed.
+        */
+        protected volatile long m_ldtEnd;
+        }
+
+    /**
+    * A thread that preloads entries from the CacheStore on behalf of the
+    * {@link Preloader}.
+    *
+    * @since 25.09
+    */
+    public class PreloadThread
+            extends Daemon
+        {
+        // ----- constructors -------------------------------------------
+
+        /**
+        * Construct a PreloadThread.
+        *
+        * @param iThread  the index of the thread
         */
-        protected void setGuardPolicy(Guardian guardian, long cTimeoutMillis, float flPctRecover)
+        public PreloadThread(int iThread)
             {
-            // Note: needed to provide access visibility to the outer class
-            super.setGuardPolicy(guardian, cTimeoutMillis, flPctRecover);
+            super("PreloadThread:"
+                    + (iThread == 0 ? "" : iThread + ":")
+                    + getCacheStore()
+                    + (getCacheService() == null
+                       ? ""
+                       : (":" + getCacheService().getInfo().getServiceName())),
+                     Thread.NORM_PRIORITY, false);
             }
 
-        // ----- data fields ---------------------------------------------
+        // ----- Daemon methods -----------------------------------------
 
         /**
-        * Field used to tell the {@link WriteThread} to refresh its {@link GuardContext}.
+        * The daemon's implementation method.
         */
-        protected volatile boolean m_fRefreshContext;
+        public void run()
+            {
+            CacheService service = getCacheService();
+            if (service != null)
+                {
+                ClassLoader loader = service.getContextClassLoader();
+                if (loader != null)
+                    {
+                    setThreadContextClassLoader(loader);
+                    }
+                }
+
+            ContainerHelper.initializeThreadContext(service);
+
+            Preloader preloader = getPreloader();
+            try
+                {
+                if (preloader.awaitReady(this))
+                    {
+                    if (preloader.isPartitioned())
+                        {
+                        for (int nPartition = preloader.nextPartition();
+                             nPartition >= 0 && isActive() && !isStopping();
+                             nPartition = preloader.nextPartition())
+                            {
+                            preloader.preloadPartition(nPartition, this);
+                            }
+                        }
+                    else
+                        {
+                        for (Set<Object> setKeys = preloader.nextKeys();
+                             setKeys != null && isActive() && !isStopping();
+                             setKeys = preloader.nextKeys())
+                            {
+                            preloader.preloadKeys(setKeys);
+                            }
+                        }
+                    }
+                }
+            catch (Throwable e)
+                {
+                if (isActive() && !isStopping())
+                    {
+                    Base.err("An exception occurred while preloading the entries"
+                            + " from " + getCacheStore() + ":");
+                    Base.err(e);
+                    }
+                }
+            finally
+                {
+                preloader.onThreadExit();
+                }
+            }
         }
 
 
@@ -5314,7 +7292,7 @@ public class ReadWriteBackingMap
         */
         public long getEraseOps()
             {
-            return m_cEraseOps;
+            return f_cEraseOps.get();
             }
 
         /**
@@ -5324,7 +7302,7 @@ public class ReadWriteBackingMap
         */
         public long getEraseFailures()
             {
-            return m_cEraseFailures;
+            return f_cEraseFailures.get();
             }
 
         /**
@@ -5334,7 +7312,7 @@ public class ReadWriteBackingMap
         */
         public long getEraseMillis()
             {
-            return m_cEraseMillis;
+            return f_cEraseMillis.get();
             }
 
         /**
@@ -5377,8 +7355,8 @@ public class ReadWriteBackingMap
         */
         public long getAverageEraseMillis()
             {
-            long cOps = m_cEraseOps;
-            return cOps > 0L ? m_cEraseMillis / cOps : 0L;
+            long cOps = f_cEraseOps.get();
+            return cOps > 0L ? f_cEraseMillis.get() / cOps : 0L;
             }
 
         /**
@@ -5404,10 +7382,9 @@ public class ReadWriteBackingMap
             f_cStoreFailures.set(0L);
             f_cStoreMillis.set(0L);
             f_cPendingAsyncStoreOps.set(0L);
-
-            m_cEraseOps      = 0L;
-            m_cEraseFailures = 0L;
-            m_cEraseMillis   = 0L;
+            f_cEraseOps.set(0L);
+            f_cEraseFailures.set(0L);
+            f_cEraseMillis.set(0L);
             }
 
         // ----- accessors ----------------------------------------------
@@ -5615,6 +7592,27 @@ public class ReadWriteBackingMap
         *                      dealt with by the caller
         */
         protected void store(Entry binEntry, boolean fAllowChange)
+            {
+            tryStore(binEntry, fAllowChange);
+            }
+
+        /**
+        * Store the specified entry in the underlying store and report
+        * whether the store operation succeeded.
+        *
+        * @param binEntry      the entry
+        * @param fAllowChange  if true, any changes made to the entry by the
+        *                      store operation should be applied to the
+        *                      internal cache; otherwise they will be
+        *                      dealt with by the caller
+        *
+        * @return false if the store operation failed; true otherwise,
+        *         including when a non-blocking store has yet to report
+        *         the outcome
+        *
+        * @since 25.09
+        */
+        protected boolean tryStore(Entry binEntry, boolean fAllowChange)
             {
             // issue a heartbeat before I/O
             ReadWriteBackingMap.this.heartbeat();
@@ -5664,6 +7662,8 @@ public class ReadWriteBackingMap
                 {
                 replace(binEntry);
                 }
+
+            return fSuccess;
             }
 
         /**
@@ -5672,11 +7672,28 @@ public class ReadWriteBackingMap
         * @param setBinEntries  the set of binary entries
         */
         protected void storeAll(Set setBinEntries)
+            {
+            tryStoreAll(setBinEntries);
+            }
+
+        /**
+        * Store the entries in the specified set in the underlying store and
+        * report whether the store operation succeeded.
+        *
+        * @param setBinEntries  the set of binary entries
+        *
+        * @return false if the store operation failed for any of the entries;
+        *         true otherwise, including when a non-blocking store has yet
+        *         to report the outcome
+        *
+        * @since 25.09
+        */
+        protected boolean tryStoreAll(Set setBinEntries)
             {
             int cEntries = setBinEntries.size();
             if (cEntries == 0)
                 {
-                return;
+                return true;
                 }
 
             // issue a heartbeat before I/O
@@ -5735,6 +7752,8 @@ public class ReadWriteBackingMap
                     replace(entry);
                     }
                 }
+
+            return fSuccess;
             }
 
         /**
@@ -5761,16 +7780,16 @@ public class ReadWriteBackingMap
                 }
             catch (RuntimeException e)
                 {
-                ++m_cEraseFailures;
+                f_cEraseFailures.incrementAndGet();
                 onEraseFailure(binEntry, e);
                 }
             finally
                 {
-                ++m_cEraseOps;
+                f_cEraseOps.incrementAndGet();
                 long lElapsed = getSafeTimeMillis() - lStart;
                 if (lElapsed != 0L)
                     {
-                    m_cEraseMillis += lElapsed;
+                    f_cEraseMillis.addAndGet(lElapsed);
                     }
                 }
             }
@@ -5810,16 +7829,16 @@ public class ReadWriteBackingMap
                 }
             catch (RuntimeException e)
                 {
-                ++m_cEraseFailures;
+                f_cEraseFailures.incrementAndGet();
                 onEraseAllFailure(setBinEntries, e);
                 }
             finally
                 {
-                ++m_cEraseOps;
+                f_cEraseOps.incrementAndGet();
                 long lElapsed = getSafeTimeMillis() - lStart;
                 if (lElapsed != 0L)
                     {
-                    m_cEraseMillis += lElapsed;
+                    f_cEraseMillis.addAndGet(lElapsed);
                     }
                 }
 
@@ -5875,21 +7894,24 @@ public class ReadWriteBackingMap
                     Binary binValue = entry.getBinaryValue();
                     if (Base.equals(binValue, mapInternal.get(binKey)))
                         {
+                        // undecorate the persistence flag
+                        //
+                        // Note: Persistence decoration should not result in sending map
+                        //       listener events.
+                        //       See PartitionedCache.ResourceCoordinator.processEvent
                         if (entry.isChanged())
                             {
                             // the store operation changed the value; replace
                             // the existing value with the changed value
                             // Note: they would have to re-decorate the
                             // custom expiry by themselves if necessary
-                            binValue = entry.getChangedBinaryValue();
+                            binValue = ExternalizableHelper.undecorate(
+                                entry.getChangedBinaryValue(), BackingMapManagerContext.DECO_STORE);
+                            }
+                        else
+                            {
+                            binValue = entry.getUndecoratedBinaryValue();
                             }
-                        // undecorate the persistence flag
-                        //
-                        // Note: Persistence decoration should not result in sending map
-                        //       listener events.
-                        //       See PartitionedCache.ResourceCoordinator.processEvent
-                        binValue = ExternalizableHelper.undecorate(
-                            binValue, BackingMapManagerContext.DECO_STORE);
 
                         ConfigurableCacheMap mapCCM  = getInternalConfigurableCache();
                         long                 cExpire = extractExpiry(entry);
@@ -6042,7 +8064,6 @@ public class ReadWriteBackingMap
         protected void onStoreFailure(Entry entry, Exception e, boolean fThrow)
             {
             WriteQueue  queue       = getWriteQueue();
-            WriteThread writeThread = getWriteThread();
             int         cThreshold  = getWriteRequeueThreshold();
 
             if (e instanceof UnsupportedOperationException)
@@ -6058,7 +8079,7 @@ public class ReadWriteBackingMap
                 }
 
             String sMsg = "Failed to store key=\"" + entry.getKey() + "\"";
-            if (queue == null || Thread.currentThread() != writeThread.getThread())
+            if (queue == null || !isWriteBehindThread())
                 {
                 // if write-behind is disabled or the store operation was
                 // synchronous (i.e. not performed by the write-behind thread)
@@ -6112,7 +8133,6 @@ public class ReadWriteBackingMap
         protected void onStoreAllFailure(Set setBinEntries, Exception e, boolean fThrow)
             {
             WriteQueue  queue       = getWriteQueue();
-            WriteThread writeThread = getWriteThread();
             int         cThreshold  = getWriteRequeueThreshold();
 
             if (e instanceof UnsupportedOperationException)
@@ -6128,7 +8148,7 @@ public class ReadWriteBackingMap
                 }
 
             String sMsg = formatKeys(setBinEntries, "Failed to store");
-            if (queue == null || Thread.currentThread() != writeThread.getThread())
+            if (queue == null || !isWriteBehindThread())
                 {
                 // if write-behind is disabled or the storeAll operation was
                 // synchronous (i.e. not performed by the write-behind thread)
@@ -6181,12 +8201,14 @@ public class ReadWriteBackingMap
         */
         protected boolean requeue(WriteQueue queue, int cThreshold, Entry entry)
             {
+            Binary binKey = entry.getBinaryKey();
+
+            // the check and the add must be atomic for the stripe holding the key
+            queue = queue.getStripe(binKey);
             synchronized (queue)
                 {
                 BackingMapManagerContext ctx = getContext();
 
-                Binary binKey = entry.getBinaryKey();
-
                 // only requeue if there is no entry for this key;
                 // NO_VALUE marker or a new value make the requeue unnecessary;
                 // Note: while the store operation was in progress, the
@@ -6513,17 +8535,17 @@ public class ReadWriteBackingMap
         /**
         * The number of Erase operations.
         */
-        protected volatile long m_cEraseOps;
+        protected final AtomicLong f_cEraseOps             = new AtomicLong();
 
         /**
         * The number of Erase failures.
         */
-        protected volatile long m_cEraseFailures;
+        protected final AtomicLong f_cEraseFailures        = new AtomicLong();
 
         /**
         * The cumulative time spent on Erase operations.
         */
-        protected volatile long m_cEraseMillis;
+        protected final AtomicLong f_cEraseMillis          = new AtomicLong();
 
         /**
         * Flag that determines whether or not Store operations are supported by
@@ -7377,6 +9399,239 @@ public class ReadWriteBackingMap
             return false;
             }
 
+        // ----- refresh-ahead ------------------------------------------
+
+        /**
+        * Asynchronously load the keys of the specified refresh-ahead latches
+        * with a single loadAll operation. The latches are completed as the
+        * store reports the loaded entries.
+        * <p>
+        * This method blocks while the number of pending asynchronous
+        * operations is at the {@link #getReadMaxPendingBatches() limit}.
+        *
+        * @param mapLatch  the latches of the keys to load, keyed by the keys
+        *                  in internal format
+        *
+        * @since 25.09
+        */
+        protected void loadAllAsync(Map<Object, ReadLatch> mapLatch)
+            {
+            AtomicInteger counterPending = f_counterPendingLoads;
+            try
+                {
+                synchronized (counterPending)
+                    {
+                    while (counterPending.get() >= getReadMaxPendingBatches())
+                        {
+                        // issue a heartbeat while waiting
+                        ReadWriteBackingMap.this.heartbeat();
+                        Blocking.wait(counterPending, 0xFFL);
+                        }
+                    counterPending.incrementAndGet();
+                    }
+                }
+            catch (InterruptedException e)
+                {
+                Thread.currentThread().interrupt();
+                throw Base.ensureRuntimeException(e);
+                }
+
+            Set setEntries = new HashSet(mapLatch.size());
+            for (Object binKey : mapLatch.keySet())
+                {
+                setEntries.add(instantiateEntry(binKey, null, null));
+                }
+
+            RefreshAheadObserver observer = new RefreshAheadObserver(mapLatch);
+
+            // issue a heartbeat before I/O
+            ReadWriteBackingMap.this.heartbeat();
+            try
+                {
+                getNonBlockingEntryStore().loadAll(setEntries, observer);
+                }
+            catch (RuntimeException e)
+                {
+                f_cLoadFailures.incrementAndGet();
+                observer.cancel(e);
+                }
+            }
+
+        /**
+        * Called when an asynchronous refresh-ahead loadAll operation
+        * completes.
+        *
+        * @param cMillis  the duration of the operation
+        *
+        * @since 25.09
+        */
+        protected void onLoadAllAsyncCompleted(long cMillis)
+            {
+            f_cLoadOps.incrementAndGet();
+            if (cMillis != 0L)
+                {
+                f_cLoadMillis.addAndGet(cMillis);
+                }
+
+            AtomicInteger counterPending = f_counterPendingLoads;
+            synchronized (counterPending)
+                {
+                counterPending.decrementAndGet();
+                counterPending.notify();
+                }
+            }
+
+        // ----- inner class: RefreshAheadObserver ----------------------
+
+        /**
+        * Callbacks invoked by NonBlockingEntryStore implementation to handle
+        * the result of the asynchronous loadAll operations of the
+        * refresh-ahead thread.
+        *
+        * @since 25.09
+        */
+        public class RefreshAheadObserver
+                implements StoreObserver
+            {
+            // ----- constructors ---------------------------------------
+
+            /**
+            * Construct a RefreshAheadObserver.
+            *
+            * @param mapLatch  the latches of the keys being loaded, keyed by
+            *                  the keys in internal format
+            */
+            public RefreshAheadObserver(Map<Object, ReadLatch> mapLatch)
+                {
+                f_mapLatch = new SafeHashMap();
+                f_mapLatch.putAll(mapLatch);
+                f_ldtStart = getSafeTimeMillis();
+                }
+
+            // ----- StoreObserver interface ----------------------------
+
+            /**
+            * {@inheritDoc}
+            */
+            public void onNext(BinaryEntry binEntry)
+                {
+                ReadLatch latch = removeLatch(binEntry);
+                if (latch != null)
+                    {
+                    completeRefresh(latch, (Entry) binEntry, null);
+                    checkCompleted();
+                    }
+                }
+
+            /**
+            * {@inheritDoc}
+            */
+            public void onError(BinaryEntry binEntry, Exception exception)
+                {
+                ReadLatch latch = removeLatch(binEntry);
+                if (latch != null)
+                    {
+                    f_cLoadFailures.incrementAndGet();
+                    completeRefresh(latch, null, exception);
+                    checkCompleted();
+                    }
+                }
+
+            /**
+            * {@inheritDoc}
+            */
+            public void onComplete()
+                {
+                if (f_fClosed.compareAndSet(false, true))
+                    {
+                    // the keys that were not reported have no associated
+                    // value in the underlying store
+                    for (Object oLatch : f_mapLatch.values())
+                        {
+                        completeRefresh((ReadLatch) oLatch, null, null);
+                        }
+                    f_mapLatch.clear();
+
+                    onLoadAllAsyncCompleted(getSafeTimeMillis() - f_ldtStart);
+                    }
+                }
+
+            // ----- helpers --------------------------------------------
+
+            /**
+            * Cancel the loads of all keys that have not been reported yet,
+            * which lets the threads waiting for them load the keys
+            * themselves, and complete the operation.
+            *
+            * @param exception  the exception that caused the cancellation, or
+            *                   null
+            */
+            protected void cancel(Throwable exception)
+                {
+                if (f_fClosed.compareAndSet(false, true))
+                    {
+                    ConcurrentMap mapControl = getControlMap();
+                    for (Object oLatch : f_mapLatch.values())
+                        {
+                        ReadLatch latch = (ReadLatch) oLatch;
+
+                        latch.cancel(exception);
+                        mapControl.remove(latch.getKey());
+                        }
+                    f_mapLatch.clear();
+
+                    onLoadAllAsyncCompleted(getSafeTimeMillis() - f_ldtStart);
+                    }
+                }
+
+            /**
+            * Remove the latch of the specified entry.
+            *
+            * @param binEntry  the reported entry
+            *
+            * @return the latch of the entry, or null if the entry has already
+            *         been reported
+            *
+            * @throws IllegalStateException if the observer has been closed
+            */
+            protected ReadLatch removeLatch(BinaryEntry binEntry)
+                {
+                if (f_fClosed.get())
+                    {
+                    throw new IllegalStateException("A method was called on an already closed StoreObserver");
+                    }
+                return (ReadLatch) f_mapLatch.remove(binEntry.getBinaryKey());
+                }
+
+            /**
+            * Complete the operation once all keys have been reported.
+            */
+            protected void checkCompleted()
+                {
+                if (f_mapLatch.isEmpty() && f_fClosed.compareAndSet(false, true))
+                    {
+                    onLoadAllAsyncCompleted(getSafeTimeMillis() - f_ldtStart);
+                    }
+                }
+
+            // ----- data members ---------------------------------------
+
+            /**
+            * The latches of the keys that have not been reported yet.
+            */
+            protected final Map f_mapLatch;
+
+            /**
+            * The time the operation started.
+            */
+            protected final long f_ldtStart;
+
+            /**
+            * Flag that indicates whether the operation has completed.
+            */
+            protected final AtomicBoolean f_fClosed = new AtomicBoolean();
+            }
+
         // ----- inner class: LoadOperationObserver ---------------------
 
         /**
@@ -7749,6 +10004,13 @@ public class ReadWriteBackingMap
         * The wrapped NonBlockingEntryStore.
         */
         private NonBlockingEntryStore f_storeNonBlocking;
+
+        /**
+        * The number of pending asynchronous refresh-ahead loadAll operations.
+        * Note: this is used as a monitor by the refresh-ahead thread waiting
+        * for a pending operation to complete.
+        */
+        protected final AtomicInteger f_counterPendingLoads = new AtomicInteger();
         }
 
     // ----- inner class: BinaryEntryStoreWrapper ---------------------------
@@ -8344,8 +10606,11 @@ public class ReadWriteBackingMap
     /**
     * The queue of entries that have not yet been delegated to the
     * CacheStore. Null if write-behind is not enabled.
+    * <p>
+    * Volatile, as the write-behind threads read it without synchronization
+    * when it is replaced by a {@link StripedWriteQueue}.
     */
-    private WriteQueue       m_queueWrite;
+    private volatile WriteQueue m_queueWrite;
 
     /**
     * The thread responsible for write-behind processing. Null if
@@ -8353,6 +10618,45 @@ public class ReadWriteBackingMap
     */
     private WriteThread      m_daemonWrite;
 
+    /**
+    * All write-behind threads, indexed by the stripe of the
+    * {@link StripedWriteQueue} they drain. Null unless multiple write-behind
+    * threads are used, in which case the first one is {@link #m_daemonWrite}.
+    */
+    private volatile WriteThread[] m_aDaemonWrite;
+
+    /**
+    * The number of write-behind threads.
+    */
+    private int              m_cWriteBehindThreads = 1;
+
+    /**
+    * The maximum number of keys loaded in a single refresh-ahead batch.
+    */
+    private int              m_cReadMaxBatchSize = 1;
+
+    /**
+    * The maximum number of pending asynchronous refresh-ahead batches.
+    */
+    private int              m_cReadMaxPendingBatches = 4;
+
+    /**
+    * The preloader. Null unless preload is enabled.
+    */
+    private volatile Preloader m_preloader;
+
+    /**
+    * The tuner of the write-behind batches. Null unless the write-behind
+    * batches are adaptive.
+    */
+    private volatile WriteBatchTuner m_tunerWrite;
+
+    /**
+    * The distribution of the time the written entries spent in the
+    * write-behind queue. Null if write-behind is not enabled.
+    */
+    private Histogram        m_histQueueAge;
+
     /**
     * MapListenerSupport object.
     */
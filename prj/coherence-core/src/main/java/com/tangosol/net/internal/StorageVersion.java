@@ -110,6 +110,31 @@ public class StorageVersion
         return version == null ? 0 : version.f_atomicSubmitted.get();
         }
 
+    /**
+     * Get the submitted version of the specified partition if all the
+     * modifications submitted to the partition have been committed.
+     *
+     * @param nPart  the partition
+     *
+     * @return the submitted version, or -1 if the partition is in the
+     *         process of being modified
+     *
+     * @since 25.09
+     */
+    public long getStableVersion(int nPart)
+        {
+        PartitionVersion version = m_laPartitionVersion.get(nPart);
+        if (version == null)
+            {
+            return 0;
+            }
+
+        // the submission counter is incremented before the submitted version,
+        // so it must be checked after the version is read
+        long lVersion = version.f_atomicSubmitted.get();
+        return version.f_atomicSubmission.get() > 0 ? -1 : lVersion;
+        }
+
     /**
      * Check if the specified partition has submitted any modifications since
      * <code>lCommittedVersion</code>.
@@ -1067,6 +1067,89 @@ public class CachePersistenceHelper
         long lExtentId = getIndexExtentId(lCacheId);
         store.ensureExtent(lExtentId);
         store.erase(lExtentId, bufIndex, oToken);
+        store.erase(lExtentId, createIndexSnapshotKey(lCacheId, binExtractor), oToken);
+        }
+
+    /**
+     * Create a key representing an index snapshot.
+     *
+     * @param lCacheId      the cache-id
+     * @param binExtractor  the index extractor
+     *
+     * @return a ReadBuffer representing the index snapshot
+     */
+    protected static ReadBuffer createIndexSnapshotKey(long lCacheId, Binary binExtractor)
+        {
+        WriteBuffer buf = new ByteArrayWriteBuffer(9);
+        try
+            {
+            BufferOutput out = buf.getBufferOutput();
+
+            out.writeByte(KEY_TYPE_INDEX_SNAPSHOT);
+            out.writeLong(lCacheId);
+            }
+        catch (IOException e)
+            {
+            throw Base.ensureRuntimeException(e);
+            }
+
+        return new MultiBufferReadBuffer(new ReadBuffer[] { buf.getReadBuffer(), binExtractor });
+        }
+
+    /**
+     * Store a snapshot of the contents of a partition index in the specified
+     * persistent store.
+     * <p>
+     * The snapshot is kept in the same extent as the index registrations,
+     * so it is removed along with them.
+     *
+     * @param store         the persistent store
+     * @param lCacheId      the cache id
+     * @param binExtractor  the index extractor
+     * @param bufSnapshot   the index snapshot
+     * @param oToken        batch token to use for the store operation, or null
+     *
+     * @throws PersistenceException if the persistent store operations fail
+     *
+     * @since 25.09
+     */
+    public static void storeIndexSnapshot(PersistentStore<ReadBuffer> store, long lCacheId,
+                                          Binary binExtractor, ReadBuffer bufSnapshot,
+                                          Object oToken)
+        {
+        if (!store.isOpen())
+            {
+            return;
+            }
+
+        long lExtentId = getIndexExtentId(lCacheId);
+        store.ensureExtent(lExtentId);
+        store.store(lExtentId, createIndexSnapshotKey(lCacheId, binExtractor), bufSnapshot, oToken);
+        }
+
+    /**
+     * Clear the index snapshot from the specified persistent store.
+     *
+     * @param store         the persistent store
+     * @param lCacheId      the cache id
+     * @param binExtractor  the index extractor
+     * @param oToken        batch token to use for the store operation, or null
+     *
+     * @throws PersistenceException if the persistent store operations fail
+     *
+     * @since 25.09
+     */
+    public static void eraseIndexSnapshot(PersistentStore<ReadBuffer> store, long lCacheId,
+                                          Binary binExtractor, Object oToken)
+        {
+        if (!store.isOpen())
+            {
+            return;
+            }
+
+        long lExtentId = getIndexExtentId(lCacheId);
+        store.ensureExtent(lExtentId);
+        store.erase(lExtentId, createIndexSnapshotKey(lCacheId, binExtractor), oToken);
         }
 
     /**
@@ -1466,6 +1549,16 @@ public class CachePersistenceHelper
                             return visitorCache.visitTrigger(lCacheId, binTrigger);
                             }
 
+                        case KEY_TYPE_INDEX_SNAPSHOT:
+                            {
+                            long lCacheId = in.readLong();
+                            int  cbHeader = 9;
+
+                            Binary binExtractor = bufKey.toBinary(cbHeader, bufKey.length() - cbHeader);
+
+                            return visitorCache.visitIndexSnapshot(lCacheId, binExtractor, bufValue.toBinary());
+                            }
+
                         default:
                             return false;
                         }
@@ -1832,6 +1925,22 @@ public class CachePersistenceHelper
          * @return false to terminate the iteration
          */
         public boolean visitTrigger(long lOldCacheId, Binary binTrigger);
+
+        /**
+         * Apply the visitor to the specified cache index snapshot.
+         *
+         * @param lOldCacheId   the persisted cache-id
+         * @param binExtractor  the index extractor
+         * @param binSnapshot   the snapshot of the partition index
+         *
+         * @return false to terminate the iteration
+         *
+         * @since 25.09
+         */
+        public default boolean visitIndexSnapshot(long lOldCacheId, Binary binExtractor, Binary binSnapshot)
+            {
+            return true;
+            }
         }
 
     // ----- constants ----------------------------------------------------
@@ -1966,6 +2075,11 @@ public class CachePersistenceHelper
      */
     private static final byte KEY_TYPE_TRIGGER = 3;
 
+    /**
+     * Index snapshot metadata key type.
+     */
+    private static final byte KEY_TYPE_INDEX_SNAPSHOT = 4;
+
     /**
      * The marker Binary used to seal a partition.
      */
@@ -0,0 +1,732 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+
+import com.tangosol.internal.util.CompressedBitmap;
+
+import com.tangosol.net.BackingMapContext;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+* BitmapIndex is a {@link SimpleMapIndex} that keeps the keys associated with
+* each indexed value in a compressed bitmap rather than in a {@link Set}.
+* <p>
+* Each key is assigned a dense integer ordinal by a {@link KeyOrdinals}
+* dictionary that is shared by all bitmap indexes of the same partition, and
+* the inverse index maps each value to a bitmap of the ordinals of the keys
+* that have that value. For attributes with a small number of distinct values
+* this takes a fraction of the memory of a set of keys per value, and allows
+* filters over several bitmap indexes to be combined a word at a time, see
+* {@link com.tangosol.util.filter.BitmapIndexAwareFilter}.
+* <p>
+* The {@link #getIndexContents() index contents} still present each bitmap as
+* a read-only {@link Set} of keys, so that any filter can use this index in
+* the same way as a {@link SimpleMapIndex}.
+*
+* @since 25.09
+*
+* @see com.tangosol.util.extractor.BitmapExtractor
+*/
+public class BitmapIndex
+        extends SimpleMapIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a BitmapIndex.
+    *
+    * @param extractor   the ValueExtractor that is used to extract an indexed
+    *                    value from a resource map entry
+    * @param fOrdered    true iff the contents of the indexed information
+    *                    should be ordered; false otherwise
+    * @param comparator  the Comparator object which imposes an ordering
+    *                    on entries in the index map; or <tt>null</tt>
+    *                    if the entries' values natural ordering should be used
+    * @param ordinals    the key ordinals shared with the other bitmap indexes
+    *                    of the same partition, or null to create new ones
+    * @param ctx         the {@link BackingMapContext context} associated with
+    *                    the indexed cache
+    */
+    public BitmapIndex(ValueExtractor extractor, boolean fOrdered, Comparator comparator,
+                       KeyOrdinals ordinals, BackingMapContext ctx)
+        {
+        super(extractor, fOrdered, comparator, false, ctx);
+
+        f_ordinals = ordinals == null ? new KeyOrdinals() : ordinals;
+
+        initialize(true);
+        }
+
+
+    // ----- BitmapIndex methods --------------------------------------------
+
+    /**
+    * Return the key ordinals used by this index.
+    *
+    * @return the key ordinals used by this index
+    */
+    public KeyOrdinals getKeyOrdinals()
+        {
+        return f_ordinals;
+        }
+
+    /**
+    * Select the keys associated with the specified value.
+    *
+    * @param oValue  the indexed value
+    *
+    * @return the selection of the keys associated with the value
+    */
+    public Selection select(Object oValue)
+        {
+        synchronized (this)
+            {
+            BitmapKeySet setKeys = (BitmapKeySet) m_mapInverse.get(oValue);
+            return new Selection(f_ordinals,
+                    setKeys == null ? new CompressedBitmap() : setKeys.f_bitmap.copy(), false);
+            }
+        }
+
+    /**
+    * Select the keys associated with any of the specified values.
+    *
+    * @param colValues  the indexed values
+    *
+    * @return the selection of the keys associated with any of the values
+    */
+    public Selection selectAny(Collection<?> colValues)
+        {
+        synchronized (this)
+            {
+            CompressedBitmap bitmap = new CompressedBitmap();
+            for (Object oValue : colValues)
+                {
+                BitmapKeySet setKeys = (BitmapKeySet) m_mapInverse.get(oValue);
+                if (setKeys != null)
+                    {
+                    bitmap = bitmap.or(setKeys.f_bitmap);
+                    }
+                }
+            return new Selection(f_ordinals, bitmap, false);
+            }
+        }
+
+    /**
+    * Release the key ordinals held by this index.  This method must be
+    * called when the index is destroyed, as the ordinals are shared with the
+    * other bitmap indexes of the same partition.
+    */
+    public void release()
+        {
+        synchronized (this)
+            {
+            for (Object oSet : m_mapInverse.values())
+                {
+                ((BitmapKeySet) oSet).release();
+                }
+            m_mapInverse.clear();
+            if (m_mapForward != null)
+                {
+                m_mapForward.clear();
+                }
+            setUnits(0L);
+            }
+        }
+
+    /**
+    * Return the BitmapIndex for the specified extractor that uses the
+    * specified key ordinals.
+    *
+    * @param mapIndexes  the available {@link MapIndex} objects keyed by the
+    *                    related ValueExtractor
+    * @param extractor   the extractor
+    *
+    * @return the BitmapIndex for the extractor, or null if the index for the
+    *         extractor is not a BitmapIndex
+    */
+    public static BitmapIndex getBitmapIndex(Map mapIndexes, ValueExtractor extractor)
+        {
+        Object index = mapIndexes == null ? null : mapIndexes.get(extractor);
+        return index instanceof BitmapIndex ? (BitmapIndex) index : null;
+        }
+
+
+    // ----- SimpleMapIndex methods -----------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    protected Set instantiateSet()
+        {
+        return new BitmapKeySet();
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void onMappingAdded()
+        {
+        setUnits(getUnits() + ((IndexCalculator) getCalculator()).getEntrySize());
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The size of the bitmaps is accounted for as they change, so only the
+    * size of a new value and its bitmap is added.
+    */
+    protected void onMappingAdded(Object oValue, int cSize)
+        {
+        if (oValue != null)
+            {
+            IndexCalculator calc = (IndexCalculator) getCalculator();
+            setUnits(getUnits() + calc.getEntrySize() + calc.calculateUnits(null, oValue)
+                     + IndexCalculator.SET_OVERHEAD);
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void onMappingRemoved()
+        {
+        setUnits(getUnits() - ((IndexCalculator) getCalculator()).getEntrySize());
+        }
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * The size of the bitmaps is accounted for as they change, so only the
+    * size of a removed value and its bitmap is removed.
+    */
+    protected void onMappingRemoved(Object oValue)
+        {
+        if (oValue != null)
+            {
+            IndexCalculator calc = (IndexCalculator) getCalculator();
+            setUnits(getUnits() - calc.getEntrySize() - calc.calculateUnits(null, oValue)
+                     - IndexCalculator.SET_OVERHEAD);
+            }
+        }
+
+
+    // ----- inner class: BitmapKeySet --------------------------------------
+
+    /**
+    * A read-only view of the keys associated with an indexed value, backed by
+    * a bitmap of the key ordinals.  The set is modified only by the index.
+    */
+    protected class BitmapKeySet
+            extends AbstractSet
+        {
+        // ----- Set interface ----------------------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean add(Object oKey)
+            {
+            synchronized (BitmapIndex.this)
+                {
+                CompressedBitmap bitmap = f_bitmap;
+                long             cb     = bitmap.getUnits();
+                int              n      = f_ordinals.acquire(oKey);
+
+                if (bitmap.add(n))
+                    {
+                    setUnits(getUnits() + bitmap.getUnits() - cb);
+                    return true;
+                    }
+
+                f_ordinals.release(n);
+                return false;
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean remove(Object oKey)
+            {
+            synchronized (BitmapIndex.this)
+                {
+                CompressedBitmap bitmap = f_bitmap;
+                long             cb     = bitmap.getUnits();
+                int              n      = f_ordinals.indexOf(oKey);
+
+                if (n >= 0 && bitmap.remove(n))
+                    {
+                    f_ordinals.release(n);
+                    if (bitmap.isEmpty())
+                        {
+                        // drop the capacity of an emptied bitmap, so that
+                        // its size is no longer accounted for
+                        f_bitmap = bitmap = new CompressedBitmap();
+                        }
+                    setUnits(getUnits() + bitmap.getUnits() - cb);
+                    return true;
+                    }
+                return false;
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean contains(Object oKey)
+            {
+            int n = f_ordinals.indexOf(oKey);
+            if (n < 0)
+                {
+                return false;
+                }
+            synchronized (BitmapIndex.this)
+                {
+                return f_bitmap.contains(n);
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public int size()
+            {
+            synchronized (BitmapIndex.this)
+                {
+                return f_bitmap.cardinality();
+                }
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public boolean isEmpty()
+            {
+            return size() == 0;
+            }
+
+        /**
+        * {@inheritDoc}
+        * <p>
+        * The returned iterator is based on a snapshot of this set.
+        */
+        public Iterator iterator()
+            {
+            Object[] aoKey;
+            synchronized (BitmapIndex.this)
+                {
+                // the ordinals held by this bitmap cannot be released while
+                // the index is locked, so they all map to a key
+                KeyOrdinals             ordinals = f_ordinals;
+                PrimitiveIterator.OfInt iter     = f_bitmap.iterator();
+
+                aoKey = new Object[f_bitmap.cardinality()];
+                for (int i = 0; iter.hasNext(); i++)
+                    {
+                    aoKey[i] = ordinals.keyAt(iter.nextInt());
+                    }
+                }
+            return new SimpleEnumerator(aoKey);
+            }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+        * Release the ordinals of all keys in this set.
+        */
+        protected void release()
+            {
+            KeyOrdinals ordinals = f_ordinals;
+            for (PrimitiveIterator.OfInt iter = f_bitmap.iterator(); iter.hasNext(); )
+                {
+                ordinals.release(iter.nextInt());
+                }
+            f_bitmap = new CompressedBitmap();
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The ordinals of the keys in this set.
+        */
+        protected CompressedBitmap f_bitmap = new CompressedBitmap();
+        }
+
+
+    // ----- inner class: KeyOrdinals ---------------------------------------
+
+    /**
+    * A dictionary that assigns dense integer ordinals to the keys of a
+    * partition.  Ordinals are reference counted by the bitmaps that contain
+    * them and are reused once no bitmap contains them, keeping the ordinal
+    * space, and therefore the bitmaps, dense.
+    */
+    public static class KeyOrdinals
+        {
+        /**
+        * Return the ordinal assigned to the specified key.
+        *
+        * @param oKey  the key
+        *
+        * @return the ordinal of the key, or -1 if the key has no ordinal
+        */
+        public int indexOf(Object oKey)
+            {
+            Integer IOrdinal = f_mapOrdinal.get(oKey);
+            return IOrdinal == null ? -1 : IOrdinal;
+            }
+
+        /**
+        * Return the key the specified ordinal is assigned to.
+        *
+        * @param nOrdinal  the ordinal
+        *
+        * @return the key, or null if the ordinal is not assigned
+        */
+        public Object keyAt(int nOrdinal)
+            {
+            Object[] aoKey = m_aoKey;
+            return nOrdinal >= 0 && nOrdinal < aoKey.length ? aoKey[nOrdinal] : null;
+            }
+
+        /**
+        * Return the number of keys with an assigned ordinal.
+        *
+        * @return the number of keys with an assigned ordinal
+        */
+        public int size()
+            {
+            return f_mapOrdinal.size();
+            }
+
+        /**
+        * Acquire a reference to the ordinal of the specified key, assigning a
+        * new ordinal if the key does not have one.
+        *
+        * @param oKey  the key
+        *
+        * @return the ordinal of the key
+        */
+        protected synchronized int acquire(Object oKey)
+            {
+            Integer IOrdinal = f_mapOrdinal.get(oKey);
+            int     nOrdinal;
+            if (IOrdinal == null)
+                {
+                nOrdinal = m_cFree > 0 ? m_anFree[--m_cFree] : m_nNext++;
+
+                if (nOrdinal >= m_acRef.length)
+                    {
+                    int cNew = Math.max(nOrdinal + 1, m_acRef.length * 2);
+                    m_acRef  = Arrays.copyOf(m_acRef, cNew);
+                    m_aoKey  = Arrays.copyOf(m_aoKey, cNew);
+                    }
+
+                // the key must be published before the ordinal is visible
+                m_aoKey[nOrdinal] = oKey;
+                f_mapOrdinal.put(oKey, nOrdinal);
+                }
+            else
+                {
+                nOrdinal = IOrdinal;
+                }
+
+            m_acRef[nOrdinal]++;
+            return nOrdinal;
+            }
+
+        /**
+        * Release a reference to the specified ordinal, and unassign it from
+        * its key if it is no longer referenced.
+        *
+        * @param nOrdinal  the ordinal
+        */
+        protected synchronized void release(int nOrdinal)
+            {
+            if (--m_acRef[nOrdinal] == 0)
+                {
+                f_mapOrdinal.remove(m_aoKey[nOrdinal]);
+                m_aoKey[nOrdinal] = null;
+
+                if (m_cFree == m_anFree.length)
+                    {
+                    m_anFree = Arrays.copyOf(m_anFree, m_cFree * 2);
+                    }
+                m_anFree[m_cFree++] = nOrdinal;
+                }
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The ordinals keyed by key.
+        */
+        private final Map<Object, Integer> f_mapOrdinal = new ConcurrentHashMap<>();
+
+        /**
+        * The keys indexed by ordinal.
+        */
+        private volatile Object[] m_aoKey = new Object[16];
+
+        /**
+        * The reference counts indexed by ordinal.
+        */
+        private int[] m_acRef = new int[16];
+
+        /**
+        * The released ordinals available for reuse.
+        */
+        private int[] m_anFree = new int[16];
+
+        /**
+        * The number of released ordinals available for reuse.
+        */
+        private int m_cFree;
+
+        /**
+        * The next ordinal that has never been assigned.
+        */
+        private int m_nNext;
+        }
+
+
+    // ----- inner class: Selection -----------------------------------------
+
+    /**
+    * A selection of keys, represented as a bitmap of key ordinals that is
+    * either the selected keys or, if negated, the keys that are not selected.
+    * Selections based on the same key ordinals can be combined using bitmap
+    * operations without materializing the selected keys.
+    */
+    public static class Selection
+        {
+        /**
+        * Construct a Selection.
+        *
+        * @param ordinals  the key ordinals the bitmap is based on
+        * @param bitmap    the bitmap of key ordinals
+        * @param fNegated  true if the bitmap holds the keys that are not
+        *                  selected
+        */
+        public Selection(KeyOrdinals ordinals, CompressedBitmap bitmap, boolean fNegated)
+            {
+            f_ordinals = ordinals;
+            f_bitmap   = bitmap;
+            f_fNegated = fNegated;
+            }
+
+        /**
+        * Return a selection of the keys selected by both this and the
+        * specified selection.
+        *
+        * @param that  the other selection
+        *
+        * @return the intersection of the two selections, or null if the
+        *         selections are not based on the same key ordinals
+        */
+        public Selection and(Selection that)
+            {
+            if (this.f_ordinals != that.f_ordinals)
+                {
+                return null;
+                }
+
+            CompressedBitmap bm1 = this.f_bitmap;
+            CompressedBitmap bm2 = that.f_bitmap;
+            if (this.f_fNegated)
+                {
+                return that.f_fNegated
+                       ? new Selection(f_ordinals, bm1.or(bm2), true)
+                       : new Selection(f_ordinals, bm2.andNot(bm1), false);
+                }
+            return that.f_fNegated
+                   ? new Selection(f_ordinals, bm1.andNot(bm2), false)
+                   : new Selection(f_ordinals, bm1.and(bm2), false);
+            }
+
+        /**
+        * Return a selection of the keys selected by either this or the
+        * specified selection.
+        *
+        * @param that  the other selection
+        *
+        * @return the union of the two selections, or null if the selections
+        *         are not based on the same key ordinals
+        */
+        public Selection or(Selection that)
+            {
+            if (this.f_ordinals != that.f_ordinals)
+                {
+                return null;
+                }
+
+            CompressedBitmap bm1 = this.f_bitmap;
+            CompressedBitmap bm2 = that.f_bitmap;
+            if (this.f_fNegated)
+                {
+                return that.f_fNegated
+                       ? new Selection(f_ordinals, bm1.and(bm2), true)
+                       : new Selection(f_ordinals, bm1.andNot(bm2), true);
+                }
+            return that.f_fNegated
+                   ? new Selection(f_ordinals, bm2.andNot(bm1), true)
+                   : new Selection(f_ordinals, bm1.or(bm2), false);
+            }
+
+        /**
+        * Return the complement of this selection.
+        *
+        * @return the complement of this selection
+        */
+        public Selection negate()
+            {
+            return new Selection(f_ordinals, f_bitmap, !f_fNegated);
+            }
+
+        /**
+        * Determine whether this selection is known to select no keys.
+        *
+        * @return true if this selection selects no keys
+        */
+        public boolean isEmpty()
+            {
+            return !f_fNegated && f_bitmap.isEmpty();
+            }
+
+        /**
+        * Determine whether the specified key is selected.
+        *
+        * @param oKey  the key
+        *
+        * @return true if the key is selected
+        */
+        public boolean contains(Object oKey)
+            {
+            int n = f_ordinals.indexOf(oKey);
+            return (n >= 0 && f_bitmap.contains(n)) != f_fNegated;
+            }
+
+        /**
+        * Remove all keys that are not selected from the specified set.
+        *
+        * @param setKeys  the set of keys to update
+        */
+        public void retain(Set setKeys)
+            {
+            if (f_fNegated)
+                {
+                setKeys.removeAll(new OrdinalKeySet());
+                }
+            else if (f_bitmap.isEmpty())
+                {
+                setKeys.clear();
+                }
+            else
+                {
+                setKeys.retainAll(new OrdinalKeySet());
+                }
+            }
+
+        // ----- inner class: OrdinalKeySet ---------------------------------
+
+        /**
+        * A read-only view of the keys whose ordinals are in the bitmap.
+        */
+        protected class OrdinalKeySet
+                extends AbstractSet
+            {
+            /**
+            * {@inheritDoc}
+            */
+            public boolean contains(Object oKey)
+                {
+                int n = f_ordinals.indexOf(oKey);
+                return n >= 0 && f_bitmap.contains(n);
+                }
+
+            /**
+            * {@inheritDoc}
+            */
+            public int size()
+                {
+                return f_bitmap.cardinality();
+                }
+
+            /**
+            * {@inheritDoc}
+            */
+            public Iterator iterator()
+                {
+                PrimitiveIterator.OfInt iter = f_bitmap.iterator();
+                return new Iterator()
+                    {
+                    public boolean hasNext()
+                        {
+                        while (m_oNext == null && iter.hasNext())
+                            {
+                            // skip the ordinals released since the selection was made
+                            m_oNext = f_ordinals.keyAt(iter.nextInt());
+                            }
+                        return m_oNext != null;
+                        }
+
+                    public Object next()
+                        {
+                        if (!hasNext())
+                            {
+                            throw new NoSuchElementException();
+                            }
+                        Object oKey = m_oNext;
+                        m_oNext = null;
+                        return oKey;
+                        }
+
+                    private Object m_oNext;
+                    };
+                }
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The key ordinals the bitmap is based on.
+        */
+        protected final KeyOrdinals f_ordinals;
+
+        /**
+        * The bitmap of key ordinals.
+        */
+        protected final CompressedBitmap f_bitmap;
+
+        /**
+        * True if the bitmap holds the keys that are not selected.
+        */
+        protected final boolean f_fNegated;
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The key ordinals shared by the bitmap indexes of a partition.
+    */
+    protected final KeyOrdinals f_ordinals;
+    }
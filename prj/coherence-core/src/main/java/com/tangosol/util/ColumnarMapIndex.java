@@ -0,0 +1,1291 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+
+import com.oracle.coherence.common.base.Logger;
+
+import com.tangosol.internal.util.PartitionedStreamer;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+* ColumnarMapIndex is a {@link MapIndex} implementation that keeps the values
+* of a number of attributes of the indexed entries in primitive columns, to
+* allow analytic aggregations to scan the attribute values in tight loops
+* without deserializing the entries.
+* <p>
+* Each indexed entry occupies a row that is shared by all columns, so the
+* values of the different attributes of the same entry can be correlated by
+* the row number (for example, to group the values of one column by the values
+* of another). The type of each column is determined by the class of the first
+* non-null value extracted for it: integral numbers are kept in a {@code long}
+* array, floating point numbers in a {@code double} array and strings are
+* dictionary encoded. Once a column encounters a value of a different class,
+* or of a class that cannot be kept in a column, it becomes {@link
+* Column#isValid() invalid} and is no longer maintained.
+* <p>
+* Like the {@link ForwardOnlyMapIndex}, this index does not maintain the
+* inverse index, so the content of {@link #getIndexContents()} is always empty
+* and the index cannot be used for querying by filters. In order to not
+* interfere with the indexes used by filters, this index is associated with
+* the {@link com.tangosol.util.extractor.ColumnarExtractor} that created it,
+* rather than with the extractors of the individual columns.
+*
+* @since 25.09
+*
+* @see com.tangosol.util.extractor.ColumnarExtractor
+*/
+public class ColumnarMapIndex
+        implements MapIndex
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct a ColumnarMapIndex.
+    *
+    * @param extractor   the ValueExtractor this index is associated with
+    * @param aExtractor  the ValueExtractors used to extract the values of
+    *                    the columns from a resource map entry
+    * @param ctx         the {@link BackingMapContext context} associated with
+    *                    the indexed cache
+    */
+    public ColumnarMapIndex(ValueExtractor extractor, ValueExtractor[] aExtractor, BackingMapContext ctx)
+        {
+        Base.azzert(extractor != null && aExtractor != null && aExtractor.length > 0);
+
+        f_extractor  = extractor;
+        f_aExtractor = aExtractor;
+        f_ctx        = ctx;
+        f_aColumn    = new Column[aExtractor.length];
+        m_aoKey      = new Object[MIN_CAPACITY];
+
+        for (int i = 0; i < aExtractor.length; i++)
+            {
+            f_aColumn[i] = new Column(MIN_CAPACITY);
+            }
+        }
+
+
+    // ----- ColumnarMapIndex methods ---------------------------------------
+
+    /**
+    * Return the ValueExtractors used to extract the values of the columns.
+    *
+    * @return the ValueExtractors of the columns
+    */
+    public ValueExtractor[] getColumnExtractors()
+        {
+        return f_aExtractor.clone();
+        }
+
+    /**
+    * Return the position of the column for the specified ValueExtractor.
+    *
+    * @param extractor  the ValueExtractor of the column
+    *
+    * @return the position of the column, or -1 if this index does not have a
+    *         column for the specified extractor
+    */
+    public int indexOf(ValueExtractor extractor)
+        {
+        ValueExtractor[] aExtractor = f_aExtractor;
+        for (int i = 0; i < aExtractor.length; i++)
+            {
+            if (aExtractor[i].equals(extractor))
+                {
+                return i;
+                }
+            }
+        return -1;
+        }
+
+    /**
+    * Return the column at the specified position.
+    * <p>
+    * Note: the column may only be read while holding the {@link #getReadLock()
+    * read lock} of this index.
+    *
+    * @param iColumn  the position of the column
+    *
+    * @return the column at the specified position
+    */
+    public Column getColumn(int iColumn)
+        {
+        return f_aColumn[iColumn];
+        }
+
+    /**
+    * Return the number of rows (indexed entries) of this index.
+    * <p>
+    * Note: the rows may only be read while holding the {@link #getReadLock()
+    * read lock} of this index.
+    *
+    * @return the number of rows
+    */
+    public int getRowCount()
+        {
+        return m_cRows;
+        }
+
+    /**
+    * Return the lock that must be held while reading the columns of this
+    * index.
+    *
+    * @return the read lock of this index
+    */
+    public Lock getReadLock()
+        {
+        return f_lock.readLock();
+        }
+
+
+    // ----- MapIndex interface ---------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public ValueExtractor getValueExtractor()
+        {
+        return f_extractor;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isOrdered()
+        {
+        // this question makes no sense for this index
+        return false;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean isPartial()
+        {
+        return m_fPartial;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Comparator getComparator()
+        {
+        return null;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public Map getIndexContents()
+        {
+        return NullImplementation.getMap();
+        }
+
+    /**
+    * Return the values of the columns for the specified key, as a List in
+    * the order of the {@link #getColumnExtractors() column extractors}.
+    *
+    * @param oKey  the key
+    *
+    * @return the values of the columns for the specified key, or {@link
+    *         #NO_VALUE} if the key is not indexed or any of the columns is
+    *         no longer valid
+    */
+    public Object get(Object oKey)
+        {
+        Lock lock = f_lock.readLock();
+        lock.lock();
+        try
+            {
+            Integer IRow = f_mapRow.get(oKey);
+            if (IRow == null)
+                {
+                return NO_VALUE;
+                }
+
+            Column[] aColumn = f_aColumn;
+            Object[] aoValue = new Object[aColumn.length];
+            for (int i = 0; i < aColumn.length; i++)
+                {
+                Column column = aColumn[i];
+                if (!column.isValid())
+                    {
+                    return NO_VALUE;
+                    }
+                aoValue[i] = column.getValue(IRow);
+                }
+            return Arrays.asList(aoValue);
+            }
+        finally
+            {
+            lock.unlock();
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void insert(Map.Entry entry)
+        {
+        updateInternal(entry);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void update(Map.Entry entry)
+        {
+        updateInternal(entry);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void delete(Map.Entry entry)
+        {
+        Lock lock = f_lock.writeLock();
+        lock.lock();
+        try
+            {
+            removeRow(getKey(entry));
+            }
+        finally
+            {
+            lock.unlock();
+            }
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public long getUnits()
+        {
+        Lock lock = f_lock.readLock();
+        lock.lock();
+        try
+            {
+            long cb = (long) m_aoKey.length * REFERENCE_SIZE + (long) m_cRows * ROW_OVERHEAD;
+            for (Column column : f_aColumn)
+                {
+                cb += column.getUnits();
+                }
+            return cb;
+            }
+        finally
+            {
+            lock.unlock();
+            }
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Update this index in response to an insert or update operation on a
+    * cache.
+    *
+    * @param entry  the entry representing the object being inserted or
+    *               updated
+    */
+    protected void updateInternal(Map.Entry entry)
+        {
+        Object           oKey       = getKey(entry);
+        ValueExtractor[] aExtractor = f_aExtractor;
+        Object[]         aoValue    = new Object[aExtractor.length];
+        Lock             lock       = f_lock.writeLock();
+
+        try
+            {
+            for (int i = 0; i < aExtractor.length; i++)
+                {
+                aoValue[i] = InvocableMapHelper.extractFromEntry(aExtractor[i], entry);
+                }
+            }
+        catch (RuntimeException e)
+            {
+            Logger.warn("An Exception occurred during index update for key " + entry.getKey()
+                + ". The entry will be excluded from the index"
+                + (f_ctx == null ? "" : " for cache " + f_ctx.getCacheName()) + ".\n" + e + ":\n", e);
+
+            lock.lock();
+            try
+                {
+                m_fPartial = true;
+                removeRow(oKey);
+                }
+            finally
+                {
+                lock.unlock();
+                }
+            return;
+            }
+
+        lock.lock();
+        try
+            {
+            Integer IRow = f_mapRow.get(oKey);
+            int     iRow;
+            if (IRow == null)
+                {
+                iRow = m_cRows;
+                ensureCapacity(iRow + 1);
+
+                m_aoKey[iRow] = oKey;
+                f_mapRow.put(oKey, iRow);
+                m_cRows = iRow + 1;
+                }
+            else
+                {
+                iRow = IRow;
+                }
+
+            Column[] aColumn = f_aColumn;
+            for (int i = 0; i < aColumn.length; i++)
+                {
+                aColumn[i].set(iRow, aoValue[i]);
+                }
+            }
+        finally
+            {
+            lock.unlock();
+            }
+        }
+
+    /**
+    * Remove the row for the specified key, moving the last row into its
+    * place to keep the rows dense.
+    * <p>
+    * Note: must be called while holding the write lock.
+    *
+    * @param oKey  the key to remove
+    */
+    protected void removeRow(Object oKey)
+        {
+        Integer IRow = f_mapRow.remove(oKey);
+        if (IRow != null)
+            {
+            int      iRow    = IRow;
+            int      iLast   = --m_cRows;
+            Object[] aoKey   = m_aoKey;
+            Column[] aColumn = f_aColumn;
+
+            if (iRow != iLast)
+                {
+                Object oKeyLast = aoKey[iLast];
+
+                aoKey[iRow] = oKeyLast;
+                f_mapRow.put(oKeyLast, iRow);
+
+                for (Column column : aColumn)
+                    {
+                    column.move(iLast, iRow);
+                    }
+                }
+
+            aoKey[iLast] = null;
+            for (Column column : aColumn)
+                {
+                column.setNull(iLast, false);
+                }
+
+            // release the memory once the index shrinks considerably
+            int cCapacity = aoKey.length;
+            if (cCapacity > MIN_CAPACITY && iLast < cCapacity >>> 2)
+                {
+                resize(Math.max(MIN_CAPACITY, cCapacity >>> 1));
+                }
+            }
+        }
+
+    /**
+    * Ensure that the rows of this index can hold the specified number of
+    * entries.
+    *
+    * @param cRows  the required number of rows
+    */
+    protected void ensureCapacity(int cRows)
+        {
+        int cCapacity = m_aoKey.length;
+        if (cRows > cCapacity)
+            {
+            resize(Math.max(cRows, cCapacity + (cCapacity >>> 1)));
+            }
+        }
+
+    /**
+    * Resize the rows of this index.
+    *
+    * @param cCapacity  the new number of rows
+    */
+    protected void resize(int cCapacity)
+        {
+        m_aoKey = Arrays.copyOf(m_aoKey, cCapacity);
+        for (Column column : f_aColumn)
+            {
+            column.resize(cCapacity);
+            }
+        }
+
+    /**
+    * Return the key of the specified entry in the form used by this index.
+    *
+    * @param entry  the entry
+    *
+    * @return the binary key for a BinaryEntry, or the key otherwise
+    */
+    protected static Object getKey(Map.Entry entry)
+        {
+        return entry instanceof BinaryEntry ?
+                ((BinaryEntry) entry).getBinaryKey() : entry.getKey();
+        }
+
+    /**
+    * Return the ColumnarMapIndex in the specified index map that has columns
+    * for all of the specified extractors.
+    *
+    * @param mapIndex    the index map
+    * @param aExtractor  the extractors of the columns
+    *
+    * @return the ColumnarMapIndex, or null if none of the indexes in the map
+    *         has columns for all of the extractors
+    */
+    public static ColumnarMapIndex findIndex(Map mapIndex, ValueExtractor[] aExtractor)
+        {
+        if (mapIndex != null)
+            {
+            for (Object index : mapIndex.values())
+                {
+                if (index instanceof ColumnarMapIndex)
+                    {
+                    ColumnarMapIndex indexColumnar = (ColumnarMapIndex) index;
+                    boolean          fAll          = true;
+                    for (int i = 0; i < aExtractor.length && fAll; i++)
+                        {
+                        fAll = indexColumnar.indexOf(aExtractor[i]) >= 0;
+                        }
+
+                    if (fAll)
+                        {
+                        return indexColumnar;
+                        }
+                    }
+                }
+            }
+        return null;
+        }
+
+    /**
+    * Pass the columns for the specified extractors in each partition streamed
+    * by the specified streamer to the specified consumer, if the streamer is
+    * a {@link PartitionedStreamer} that streams all entries of its partitions
+    * and each of those partitions has a ColumnarMapIndex with valid columns
+    * for all of the extractors.
+    * <p>
+    * The read locks of the indexes of all partitions are acquired (in the
+    * partition order) before any of the columns are passed to the consumer,
+    * and are held until the consumer has processed all of them, so that
+    * either all or none of the partitions are processed.
+    *
+    * @param streamer    the streamer
+    * @param aExtractor  the extractors of the columns
+    * @param consumer    the consumer of the columns
+    *
+    * @return true if the columns of all partitions were passed to the
+    *         consumer; false if the columns are not available, in which case
+    *         the consumer was not called
+    */
+    public static boolean forEachPartition(Streamer<?> streamer, ValueExtractor[] aExtractor, ColumnConsumer consumer)
+        {
+        if (!(streamer instanceof PartitionedStreamer) || !streamer.isAllInclusive())
+            {
+            return false;
+            }
+
+        PartitionedStreamer<?> streamerPart = (PartitionedStreamer<?>) streamer;
+        BackingMapContext      ctx          = streamerPart.getBackingMapContext();
+        PartitionSet           parts        = streamerPart.getPartitions();
+        List<ColumnarMapIndex> listIndex    = new ArrayList<>(parts.cardinality());
+        List<Column[]>         listColumns  = new ArrayList<>(parts.cardinality());
+
+        try
+            {
+            for (int iPart = parts.next(0); iPart >= 0; iPart = parts.next(iPart + 1))
+                {
+                ColumnarMapIndex index = findIndex(ctx.getIndexMap(iPart), aExtractor);
+                if (index == null)
+                    {
+                    return false;
+                    }
+
+                index.getReadLock().lock();
+                listIndex.add(index);
+
+                if (index.isPartial())
+                    {
+                    return false;
+                    }
+
+                Column[] aColumn = new Column[aExtractor.length];
+                for (int i = 0; i < aExtractor.length; i++)
+                    {
+                    Column column = index.getColumn(index.indexOf(aExtractor[i]));
+                    if (!column.isValid())
+                        {
+                        return false;
+                        }
+                    aColumn[i] = column;
+                    }
+                listColumns.add(aColumn);
+                }
+
+            for (int i = 0, c = listIndex.size(); i < c; i++)
+                {
+                consumer.accept(listColumns.get(i), listIndex.get(i).getRowCount());
+                }
+            return true;
+            }
+        finally
+            {
+            for (ColumnarMapIndex index : listIndex)
+                {
+                index.getReadLock().unlock();
+                }
+            }
+        }
+
+    /**
+    * Return the values of the column for the specified extractor in all
+    * partitions streamed by the specified streamer, if they are available.
+    *
+    * @param streamer   the streamer
+    * @param extractor  the extractor of the column
+    *
+    * @return the values of the column, or null if the columns are not
+    *         available
+    *
+    * @see #forEachPartition
+    */
+    public static List<Object> collectValues(Streamer<?> streamer, ValueExtractor extractor)
+        {
+        List<Object> listValues = new ArrayList<>();
+
+        return forEachPartition(streamer, new ValueExtractor[] {extractor}, (aColumn, cRows) ->
+            {
+            Column column = aColumn[0];
+            for (int i = 0; i < cRows; i++)
+                {
+                listValues.add(column.getValue(i));
+                }
+            }) ? listValues : null;
+        }
+
+
+    // ----- Object interface -----------------------------------------------
+
+    /**
+    * Returns a string representation of this ColumnarMapIndex.
+    *
+    * @return a String representation of this ColumnarMapIndex
+    */
+    public String toString()
+        {
+        return ClassHelper.getSimpleName(getClass())
+                + ": Extractor=" + getValueExtractor()
+                + ", Columns=" + Arrays.toString(f_aExtractor);
+        }
+
+    /**
+    * Compares the specified object with this index for equality. Returns
+    * <tt>true</tt> if the given object is also a ColumnarMapIndex and the two
+    * represent the same index.
+    *
+    * @param o object to be compared for equality with this MapIndex
+    *
+    * @return <tt>true</tt> if the specified object is equal to this index
+    */
+    public boolean equals(Object o)
+        {
+        if (this == o)
+            {
+            return true;
+            }
+
+        if (o == null || o.getClass() != this.getClass())
+            {
+            return false;
+            }
+
+        ColumnarMapIndex that = (ColumnarMapIndex) o;
+        return Base.equals(this.getValueExtractor(), that.getValueExtractor());
+        }
+
+    /**
+    * Returns the hash code value for this MapIndex.
+    *
+    * @return the hash code value for this MapIndex
+    */
+    public int hashCode()
+        {
+        return f_extractor.hashCode();
+        }
+
+
+    // ----- inner interface: ColumnConsumer --------------------------------
+
+    /**
+    * A consumer of the columns of a partition.
+    */
+    @FunctionalInterface
+    public interface ColumnConsumer
+        {
+        /**
+        * Process the specified columns of a partition.
+        *
+        * @param aColumn  the columns, in the order of the requested extractors
+        * @param cRows    the number of rows of the columns
+        */
+        public void accept(Column[] aColumn, int cRows);
+        }
+
+
+    // ----- inner class: Column --------------------------------------------
+
+    /**
+    * A column of values of a single attribute, indexed by row.
+    */
+    public static class Column
+        {
+        /**
+        * Construct a Column.
+        *
+        * @param cCapacity  the initial number of rows
+        */
+        protected Column(int cCapacity)
+            {
+            m_cCapacity = cCapacity;
+            }
+
+        // ----- accessors --------------------------------------------------
+
+        /**
+        * Return the type of this column, one of the {@code TYPE_*} constants.
+        *
+        * @return the type of this column
+        */
+        public int getType()
+            {
+            return m_nType;
+            }
+
+        /**
+        * Return true if this column is still maintained.
+        *
+        * @return true if this column is valid
+        */
+        public boolean isValid()
+            {
+            return m_fValid;
+            }
+
+        /**
+        * Return true if the values of this column are numbers.
+        *
+        * @return true if this column is of the {@link #TYPE_LONG} or {@link
+        *         #TYPE_DOUBLE} type
+        */
+        public boolean isNumeric()
+            {
+            return m_nType == TYPE_LONG || m_nType == TYPE_DOUBLE;
+            }
+
+        /**
+        * Return the number of rows with a null value.
+        *
+        * @return the number of null values
+        */
+        public int getNullCount()
+            {
+            return m_cNulls;
+            }
+
+        /**
+        * Return true if the value of the specified row is null.
+        *
+        * @param iRow  the row
+        *
+        * @return true if the value of the row is null
+        */
+        public boolean isNull(int iRow)
+            {
+            long[] alNull = m_alNull;
+            return alNull != null && (alNull[iRow >>> 6] & (1L << iRow)) != 0L;
+            }
+
+        /**
+        * Return the values of a {@link #TYPE_LONG} column; the array may be
+        * longer than the number of rows and its elements for null rows are
+        * undefined.
+        *
+        * @return the values of this column
+        */
+        public long[] getLongArray()
+            {
+            return m_alValue;
+            }
+
+        /**
+        * Return the values of a {@link #TYPE_DOUBLE} column; the array may be
+        * longer than the number of rows and its elements for null rows are
+        * undefined.
+        *
+        * @return the values of this column
+        */
+        public double[] getDoubleArray()
+            {
+            return m_adValue;
+            }
+
+        /**
+        * Return the dictionary codes of a {@link #TYPE_STRING} column; the
+        * array may be longer than the number of rows and its elements for null
+        * rows are undefined.
+        *
+        * @return the codes of the values of this column
+        *
+        * @see #decode(int)
+        */
+        public int[] getCodeArray()
+            {
+            return m_anCode;
+            }
+
+        /**
+        * Return the String for the specified dictionary code.
+        *
+        * @param nCode  the code
+        *
+        * @return the String for the code
+        */
+        public String decode(int nCode)
+            {
+            return m_asDictionary[nCode];
+            }
+
+        /**
+        * Return the number of distinct Strings in the dictionary of a {@link
+        * #TYPE_STRING} column.
+        * <p>
+        * Note: the codes are never reused, so the dictionary may contain
+        * Strings that are no longer held by any row.
+        *
+        * @return the size of the dictionary
+        */
+        public int getDictionarySize()
+            {
+            return m_mapCode == null ? 0 : m_mapCode.size();
+            }
+
+        /**
+        * Return the value of the specified row as an instance of the class
+        * of the values extracted for this column.
+        *
+        * @param iRow  the row
+        *
+        * @return the value of the row
+        */
+        public Object getValue(int iRow)
+            {
+            if (m_nType == TYPE_NONE || isNull(iRow))
+                {
+                return null;
+                }
+
+            Class<?> clz = m_clzValue;
+            return clz == Long.class    ? Long.valueOf(m_alValue[iRow])
+                 : clz == Integer.class ? Integer.valueOf((int) m_alValue[iRow])
+                 : clz == Short.class   ? Short.valueOf((short) m_alValue[iRow])
+                 : clz == Byte.class    ? Byte.valueOf((byte) m_alValue[iRow])
+                 : clz == Double.class  ? Double.valueOf(m_adValue[iRow])
+                 : clz == Float.class   ? (Object) Float.valueOf((float) m_adValue[iRow])
+                 : m_asDictionary[m_anCode[iRow]];
+            }
+
+        /**
+        * Copy the non-null values of the specified rows of a numeric column
+        * into the specified array as {@code long} values.
+        *
+        * @param anRow   the rows to copy, or null for the rows {@code 0} to
+        *                {@code cRows - 1}
+        * @param cRows   the number of rows to copy
+        * @param alDest  the destination array
+        *
+        * @return the number of values copied
+        */
+        public int copyLongs(int[] anRow, int cRows, long[] alDest)
+            {
+            long[]   alValue = m_alValue;
+            double[] adValue = m_adValue;
+            boolean  fNulls  = m_cNulls > 0;
+            int      c       = 0;
+
+            for (int i = 0; i < cRows; i++)
+                {
+                int iRow = anRow == null ? i : anRow[i];
+                if (!fNulls || !isNull(iRow))
+                    {
+                    alDest[c++] = alValue == null ? (long) adValue[iRow] : alValue[iRow];
+                    }
+                }
+            return c;
+            }
+
+        /**
+        * Copy the non-null values of the specified rows of a numeric column
+        * into the specified array as {@code double} values.
+        *
+        * @param anRow   the rows to copy, or null for the rows {@code 0} to
+        *                {@code cRows - 1}
+        * @param cRows   the number of rows to copy
+        * @param adDest  the destination array
+        *
+        * @return the number of values copied
+        */
+        public int copyDoubles(int[] anRow, int cRows, double[] adDest)
+            {
+            long[]   alValue = m_alValue;
+            double[] adValue = m_adValue;
+            boolean  fNulls  = m_cNulls > 0;
+            int      c       = 0;
+
+            for (int i = 0; i < cRows; i++)
+                {
+                int iRow = anRow == null ? i : anRow[i];
+                if (!fNulls || !isNull(iRow))
+                    {
+                    adDest[c++] = adValue == null ? (double) alValue[iRow] : adValue[iRow];
+                    }
+                }
+            return c;
+            }
+
+        /**
+        * Return the approximate number of bytes used by this column.
+        *
+        * @return the number of bytes used by this column
+        */
+        protected long getUnits()
+            {
+            long cb = m_alNull == null ? 0L : m_alNull.length * 8L;
+            switch (m_nType)
+                {
+                case TYPE_LONG:
+                    cb += m_alValue.length * 8L;
+                    break;
+
+                case TYPE_DOUBLE:
+                    cb += m_adValue.length * 8L;
+                    break;
+
+                case TYPE_STRING:
+                    cb += m_anCode.length * 4L + (long) m_mapCode.size() * ROW_OVERHEAD;
+                    break;
+                }
+            return cb;
+            }
+
+        // ----- mutators ---------------------------------------------------
+
+        /**
+        * Set the value of the specified row.
+        *
+        * @param iRow  the row
+        * @param o     the value
+        */
+        protected void set(int iRow, Object o)
+            {
+            if (!m_fValid)
+                {
+                return;
+                }
+
+            if (o == null)
+                {
+                setNull(iRow, true);
+                return;
+                }
+
+            Class<?> clz = o.getClass();
+            if (m_clzValue == null)
+                {
+                int nType = typeOf(clz);
+                if (nType == TYPE_NONE)
+                    {
+                    invalidate();
+                    return;
+                    }
+
+                m_nType    = nType;
+                m_clzValue = clz;
+                allocate(m_cCapacity);
+                }
+            else if (clz != m_clzValue)
+                {
+                invalidate();
+                return;
+                }
+
+            switch (m_nType)
+                {
+                case TYPE_LONG:
+                    m_alValue[iRow] = ((Number) o).longValue();
+                    break;
+
+                case TYPE_DOUBLE:
+                    m_adValue[iRow] = ((Number) o).doubleValue();
+                    break;
+
+                default:
+                    m_anCode[iRow] = encode((String) o);
+                    break;
+                }
+
+            setNull(iRow, false);
+            }
+
+        /**
+        * Mark the specified row as holding a null value or not.
+        *
+        * @param iRow   the row
+        * @param fNull  true if the value of the row is null
+        */
+        protected void setNull(int iRow, boolean fNull)
+            {
+            long[] alNull = m_alNull;
+            if (alNull == null)
+                {
+                if (!fNull || !m_fValid)
+                    {
+                    return;
+                    }
+                m_alNull = alNull = new long[(m_cCapacity + 63) >>> 6];
+                }
+
+            int  iWord = iRow >>> 6;
+            long lBit  = 1L << iRow;
+            if (fNull == ((alNull[iWord] & lBit) == 0L))
+                {
+                alNull[iWord] ^= lBit;
+                m_cNulls      += fNull ? 1 : -1;
+                }
+            }
+
+        /**
+        * Copy the value of one row to another.
+        *
+        * @param iFrom  the source row
+        * @param iTo    the destination row
+        */
+        protected void move(int iFrom, int iTo)
+            {
+            if (!m_fValid)
+                {
+                return;
+                }
+
+            switch (m_nType)
+                {
+                case TYPE_LONG:
+                    m_alValue[iTo] = m_alValue[iFrom];
+                    break;
+
+                case TYPE_DOUBLE:
+                    m_adValue[iTo] = m_adValue[iFrom];
+                    break;
+
+                case TYPE_STRING:
+                    m_anCode[iTo] = m_anCode[iFrom];
+                    break;
+                }
+
+            setNull(iTo, isNull(iFrom));
+            }
+
+        /**
+        * Change the number of rows of this column.
+        *
+        * @param cCapacity  the new number of rows
+        */
+        protected void resize(int cCapacity)
+            {
+            m_cCapacity = cCapacity;
+            if (m_fValid)
+                {
+                allocate(cCapacity);
+                if (m_alNull != null)
+                    {
+                    m_alNull = Arrays.copyOf(m_alNull, (cCapacity + 63) >>> 6);
+                    }
+                }
+            }
+
+        /**
+        * Allocate (or reallocate) the value array for the type of this
+        * column.
+        *
+        * @param cCapacity  the number of rows
+        */
+        private void allocate(int cCapacity)
+            {
+            switch (m_nType)
+                {
+                case TYPE_LONG:
+                    m_alValue = m_alValue == null ? new long[cCapacity] : Arrays.copyOf(m_alValue, cCapacity);
+                    break;
+
+                case TYPE_DOUBLE:
+                    m_adValue = m_adValue == null ? new double[cCapacity] : Arrays.copyOf(m_adValue, cCapacity);
+                    break;
+
+                case TYPE_STRING:
+                    if (m_anCode == null)
+                        {
+                        m_anCode       = new int[cCapacity];
+                        m_mapCode      = new HashMap<>();
+                        m_asDictionary = new String[16];
+                        }
+                    else
+                        {
+                        m_anCode = Arrays.copyOf(m_anCode, cCapacity);
+                        }
+                    break;
+                }
+            }
+
+        /**
+        * Return the dictionary code for the specified String, adding it to
+        * the dictionary if necessary.
+        *
+        * @param s  the String
+        *
+        * @return the code for the String
+        */
+        private int encode(String s)
+            {
+            Integer ICode = m_mapCode.get(s);
+            if (ICode == null)
+                {
+                int nCode = m_mapCode.size();
+                if (nCode == m_asDictionary.length)
+                    {
+                    m_asDictionary = Arrays.copyOf(m_asDictionary, nCode << 1);
+                    }
+                m_asDictionary[nCode] = s;
+                m_mapCode.put(s, nCode);
+                return nCode;
+                }
+            return ICode;
+            }
+
+        /**
+        * Stop maintaining this column and release its memory.
+        */
+        private void invalidate()
+            {
+            m_fValid       = false;
+            m_alValue      = null;
+            m_adValue      = null;
+            m_anCode       = null;
+            m_mapCode      = null;
+            m_asDictionary = null;
+            m_alNull       = null;
+            m_cNulls       = 0;
+            }
+
+        /**
+        * Return the column type for values of the specified class.
+        *
+        * @param clz  the class of the values
+        *
+        * @return the column type, or {@link #TYPE_NONE} if the values cannot
+        *         be kept in a column
+        */
+        protected static int typeOf(Class<?> clz)
+            {
+            return clz == Long.class || clz == Integer.class || clz == Short.class || clz == Byte.class
+                       ? TYPE_LONG
+                 : clz == Double.class || clz == Float.class
+                       ? TYPE_DOUBLE
+                 : clz == String.class
+                       ? TYPE_STRING
+                       : TYPE_NONE;
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+        * The type of a column that holds no non-null values yet.
+        */
+        public static final int TYPE_NONE = 0;
+
+        /**
+        * The type of a column of integral numbers.
+        */
+        public static final int TYPE_LONG = 1;
+
+        /**
+        * The type of a column of floating point numbers.
+        */
+        public static final int TYPE_DOUBLE = 2;
+
+        /**
+        * The type of a column of dictionary encoded Strings.
+        */
+        public static final int TYPE_STRING = 3;
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The type of this column.
+        */
+        private int m_nType = TYPE_NONE;
+
+        /**
+        * The class of the values of this column.
+        */
+        private Class<?> m_clzValue;
+
+        /**
+        * True while this column is maintained.
+        */
+        private boolean m_fValid = true;
+
+        /**
+        * The number of rows this column can hold.
+        */
+        private int m_cCapacity;
+
+        /**
+        * The values of a {@link #TYPE_LONG} column.
+        */
+        private long[] m_alValue;
+
+        /**
+        * The values of a {@link #TYPE_DOUBLE} column.
+        */
+        private double[] m_adValue;
+
+        /**
+        * The dictionary codes of a {@link #TYPE_STRING} column.
+        */
+        private int[] m_anCode;
+
+        /**
+        * The dictionary codes keyed by String.
+        */
+        private Map<String, Integer> m_mapCode;
+
+        /**
+        * The Strings of the dictionary indexed by code.
+        */
+        private String[] m_asDictionary;
+
+        /**
+        * The bitmap of rows with a null value, allocated on the first null
+        * value.
+        */
+        private long[] m_alNull;
+
+        /**
+        * The number of rows with a null value.
+        */
+        private int m_cNulls;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The initial number of rows.
+    */
+    protected static final int MIN_CAPACITY = 64;
+
+    /**
+    * The approximate size of an object reference.
+    */
+    protected static final int REFERENCE_SIZE = 8;
+
+    /**
+    * The approximate overhead of a row (or dictionary) mapping.
+    */
+    protected static final int ROW_OVERHEAD = 48;
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The ValueExtractor this index is associated with.
+    */
+    protected final ValueExtractor f_extractor;
+
+    /**
+    * The ValueExtractors of the columns.
+    */
+    protected final ValueExtractor[] f_aExtractor;
+
+    /**
+    * The {@link BackingMapContext context} associated with this index.
+    */
+    protected final BackingMapContext f_ctx;
+
+    /**
+    * The columns.
+    */
+    protected final Column[] f_aColumn;
+
+    /**
+    * The rows keyed by the indexed keys.
+    */
+    protected final Map<Object, Integer> f_mapRow = new HashMap<>();
+
+    /**
+    * The indexed keys by row.
+    */
+    protected Object[] m_aoKey;
+
+    /**
+    * The number of rows.
+    */
+    protected int m_cRows;
+
+    /**
+    * True if any entry could not be indexed.
+    */
+    protected volatile boolean m_fPartial;
+
+    /**
+    * The lock protecting the rows and columns; the columns are read under
+    * the read lock and modified under the write lock.
+    */
+    protected final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+    }
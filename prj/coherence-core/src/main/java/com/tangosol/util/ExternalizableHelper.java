@@ -4600,6 +4600,11 @@ public abstract class ExternalizableHelper
      * Note: This method can only be used against Binary values that result
      * from serialization by ExternalizableHelper or Binary values that are
      * already decorated.
+     * <p>
+     * Since a Binary is contiguous, the decorated result always contains a
+     * copy of the passed value; callers that can consume a ReadBuffer should
+     * use {@link #decorate(ReadBuffer, int, ReadBuffer)}, which composes large
+     * values without copying them.
      *
      * @param bin            the Binary to decorate, which may already be
      *                       decorated
@@ -4794,7 +4799,7 @@ public abstract class ExternalizableHelper
 
         // testing has shown that for small binaries, avoiding the "copy" is a
         // performance loss.  For larger binaries, it is a win.
-        if (cbFront + cbNew + cbBack > 128)
+        if (cbFront + cbNew + cbBack > DECO_COPY_THRESHOLD)
             {
             WriteBuffer  bufWrite = new ByteArrayWriteBuffer(1 + 10 + 5 + 5);
             BufferOutput out      = bufWrite.getBufferOutput();
@@ -4837,9 +4842,18 @@ public abstract class ExternalizableHelper
                      bufDeco,
                      cbBack > 0 ? bufOrig.getReadBuffer(ofBack, cbBack) : Binary.NO_BINARY};
 
-                return fEncodeFrontLength  // fEncodeFrontLength implies bufOrig is undecorated
-                    ? new DecoratedMultiBufferReadBuffer(bufOrig, abuf)
-                    : new MultiBufferReadBuffer(abuf);
+                // fEncodeFrontLength implies bufOrig is undecorated; otherwise
+                // the undecorated value of a composite is carried forward,
+                // unless it is the decoration being replaced
+                ReadBuffer bufValue = fEncodeFrontLength
+                        ? bufOrig
+                        : bufOrig instanceof DecoratedMultiBufferReadBuffer && nId != DECO_VALUE
+                            ? ((DecoratedMultiBufferReadBuffer) bufOrig).getUndecorated()
+                            : null;
+
+                return bufValue == null
+                    ? new MultiBufferReadBuffer(abuf)
+                    : new DecoratedMultiBufferReadBuffer(bufValue, abuf);
                 }
             catch (IOException e)
                 {
@@ -5053,6 +5067,13 @@ public abstract class ExternalizableHelper
         boolean fExtended = nLastId >= Byte.SIZE;
         cbTotal += fExtended ? calculatePackedLength(nBits) : 1;
 
+        if (cbTotal > DECO_COPY_THRESHOLD)
+            {
+            // avoid copying the decorations (most notably the value); only
+            // the format, the bit mask and the lengths are written
+            return composeDecorations(abufDeco, nLastId, nBits, fExtended);
+            }
+
         BinaryWriteBuffer bufNew = new BinaryWriteBuffer(cbTotal, cbTotal);
         BufferOutput      out    = bufNew.getBufferOutput();
         try
@@ -5086,6 +5107,75 @@ public abstract class ExternalizableHelper
         return bufNew.toBinary();
         }
 
+    /**
+     * Assemble a decorated ReadBuffer from the passed decorations without
+     * copying them. The resulting buffer is composed of the header and the
+     * decoration lengths (written into a small buffer), interleaved with the
+     * passed decoration buffers themselves.
+     *
+     * @param abufDeco   the decorations, indexed by decoration id
+     * @param nLastId    the highest decoration id present
+     * @param nBits      the bit mask of the present decoration ids
+     * @param fExtended  true to use the extended decoration format
+     *
+     * @return the decorated ReadBuffer
+     */
+    private static ReadBuffer composeDecorations(ReadBuffer[] abufDeco, int nLastId,
+                                                 long nBits, boolean fExtended)
+        {
+        int          cDecorations = Long.bitCount(nBits);
+        ReadBuffer[] abuf         = new ReadBuffer[cDecorations * 2];
+        int[]        aofHeader    = new int[cDecorations + 1];
+
+        WriteBuffer  bufHeader = new ByteArrayWriteBuffer(1 + 10 + 5 * cDecorations);
+        BufferOutput out       = bufHeader.getBufferOutput();
+        try
+            {
+            out.writeByte(fExtended ? FMT_BIN_EXT_DECO : FMT_BIN_DECO);
+            if (fExtended)
+                {
+                out.writePackedLong(nBits);
+                }
+            else
+                {
+                out.write((byte) nBits);
+                }
+
+            // the first header segment also contains the format and the mask
+            for (int i = 0, iDeco = 0; i <= nLastId; ++i)
+                {
+                ReadBuffer bufDeco = abufDeco[i];
+                if (bufDeco != null)
+                    {
+                    out.writePackedInt(bufDeco.length());
+                    aofHeader[++iDeco] = out.getOffset();
+                    }
+                }
+            }
+        catch (IOException e)
+            {
+            throw ensureRuntimeException(e);
+            }
+
+        ReadBuffer bufRead = bufHeader.toBinary();
+        for (int i = 0, iDeco = 0; i <= nLastId; ++i)
+            {
+            ReadBuffer bufDeco = abufDeco[i];
+            if (bufDeco != null)
+                {
+                int of = aofHeader[iDeco];
+                abuf[iDeco * 2]     = bufRead.getReadBuffer(of, aofHeader[iDeco + 1] - of);
+                abuf[iDeco * 2 + 1] = bufDeco;
+                ++iDeco;
+                }
+            }
+
+        ReadBuffer bufValue = abufDeco[DECO_VALUE];
+        return bufValue == null
+               ? new MultiBufferReadBuffer(abuf)
+               : new DecoratedMultiBufferReadBuffer(bufValue, abuf);
+        }
+
     /**
      * Extract and return the specified decoration from the passed Binary.
      * <p>
@@ -5737,6 +5827,13 @@ public abstract class ExternalizableHelper
      */
     protected static final int MAX_DECO_HEADER_BYTES = 7;
 
+    /**
+     * The size of a decorated value above which the decorations are composed
+     * into a {@link MultiBufferReadBuffer} rather than copied; for smaller
+     * values, the copy is cheaper than the composite.
+     */
+    protected static final int DECO_COPY_THRESHOLD = 128;
+
     /**
      * Trints use 6 hexits (3 bytes), so the trint domain span is 0x01000000.
      */
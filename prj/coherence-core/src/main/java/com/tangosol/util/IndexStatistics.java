@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util;
+
+
+/**
+* IndexStatistics describes the distribution of the values held by a
+* {@link MapIndex}, allowing the cost and selectivity of a filter to be
+* estimated without scanning the index contents.
+* <p>
+* The statistics are maintained incrementally by the index; the range
+* estimates of an ordered index are based on an equi-depth histogram that is
+* rebuilt once a sufficient fraction of the index has changed, so all
+* estimates are approximate.
+*
+* @param <E>  the type of the indexed values
+*
+* @since 25.09
+*/
+public interface IndexStatistics<E>
+    {
+    /**
+    * Return the number of keys in the index.
+    *
+    * @return the number of keys in the index
+    */
+    public long getKeyCount();
+
+    /**
+    * Return the number of value to key mappings in the inverse index, which
+    * is larger than the number of keys if the indexed values are collections.
+    *
+    * @return the number of value to key mappings
+    */
+    public long getMappingCount();
+
+    /**
+    * Return the number of distinct indexed values.
+    *
+    * @return the number of distinct indexed values
+    */
+    public long getDistinctValueCount();
+
+    /**
+    * Estimate the number of mappings for values that are less than (or equal
+    * to) the specified value.
+    *
+    * @param value       the value to compare to
+    * @param fInclusive  true if the mappings for the value itself should be
+    *                    included
+    *
+    * @return the estimated number of mappings, or -1 if the index is not
+    *         ordered
+    */
+    public long estimateLess(E value, boolean fInclusive);
+
+    /**
+    * Estimate the number of mappings for values that are greater than (or
+    * equal to) the specified value.
+    *
+    * @param value       the value to compare to
+    * @param fInclusive  true if the mappings for the value itself should be
+    *                    included
+    *
+    * @return the estimated number of mappings, or -1 if the index is not
+    *         ordered
+    */
+    public long estimateGreater(E value, boolean fInclusive);
+
+    /**
+    * Return the average number of mappings per distinct value.
+    *
+    * @return the average number of mappings per distinct value
+    */
+    public default long getAverageMappings()
+        {
+        long cDistinct = getDistinctValueCount();
+        return cDistinct == 0 ? 0 : (getMappingCount() + cDistinct - 1) / cDistinct;
+        }
+    }
@@ -483,7 +483,10 @@ public interface InvocableMap<K, V>
         Objects.requireNonNull(extractor, "The extractor cannot be null");
 
         ValueExtractor<T, ? extends E> ex = Lambdas.ensureRemotable(extractor);
-        return stream().map(entry -> entry.extract(ex));
+        RemoteStream<Entry<K, V>> stream = stream();
+        return StreamSupport.isExtractable(stream)
+               ? StreamSupport.extractedStream(stream, ex)
+               : stream.map(entry -> entry.extract(ex));
         }
 
     /**
@@ -526,7 +529,10 @@ public interface InvocableMap<K, V>
         Objects.requireNonNull(extractor, "The extractor cannot be null");
 
         ValueExtractor<T, ? extends E> ex = Lambdas.ensureRemotable(extractor);
-        return stream(collKeys).map(entry -> entry.extract(ex));
+        RemoteStream<Entry<K, V>> stream = stream(collKeys);
+        return StreamSupport.isExtractable(stream)
+               ? StreamSupport.extractedStream(stream, ex)
+               : stream.map(entry -> entry.extract(ex));
         }
 
     /**
@@ -570,7 +576,10 @@ public interface InvocableMap<K, V>
         Objects.requireNonNull(extractor, "The extractor cannot be null");
 
         ValueExtractor<T, ? extends E> ex = Lambdas.ensureRemotable(extractor);
-        return stream(filter).map(entry -> entry.extract(ex));
+        RemoteStream<Entry<K, V>> stream = stream(filter);
+        return StreamSupport.isExtractable(stream)
+               ? StreamSupport.extractedStream(stream, ex)
+               : stream.map(entry -> entry.extract(ex));
         }
 
     // ----- InvocableMap.Entry interface -----------------------------------
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2023, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -134,6 +134,36 @@ public interface MapIndex<K, V, E>
         return 0;
         }
 
+    /**
+    * Return the number of units (bytes) used by this index outside of the
+    * Java heap.
+    * <p>
+    * Off-heap memory is not included in the value returned by
+    * {@link #getUnits()}.
+    *
+    * @return the number of off-heap units used by this index
+    *
+    * @since 25.09
+    */
+    default long getOffHeapUnits()
+        {
+        return 0;
+        }
+
+    /**
+    * Return the statistics describing the distribution of the values held by
+    * this index, which are used to plan the evaluation of a query.
+    *
+    * @return the statistics of this index, or null if this index does not
+    *         maintain statistics
+    *
+    * @since 25.09
+    */
+    default IndexStatistics<E> getStatistics()
+        {
+        return null;
+        }
+
     /**
     * Constant used to indicate that the index does not contain requested
     * value.
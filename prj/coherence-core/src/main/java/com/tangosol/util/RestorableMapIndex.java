@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+* RestorableMapIndex is a {@link MapIndex} that can write a snapshot of its
+* contents, and be restored from that snapshot rather than rebuilt entry by
+* entry.
+* <p>
+* Partitioned caches snapshot each partition's restorable indexes when the
+* partition is transferred to another member or written to a persistent
+* snapshot, and restore them when the partition is received or recovered.
+* This is intended for indexes that are expensive to build but cheap to
+* serialize, such as vector search graphs.
+* <p>
+* A restored index is still presented with every entry of the partition via
+* {@link #insert(Map.Entry)}. An implementation must recognize an entry that
+* is already indexed with the same extracted value and skip the work, and
+* must update the index for an entry whose value has changed since the
+* snapshot was written.
+*
+* @param <K>  the key type
+* @param <V>  the type of the value from which an extracted value is obtained
+* @param <E>  the type of the extracted value that is being indexed
+*
+* @since 25.09
+*/
+public interface RestorableMapIndex<K, V, E>
+        extends MapIndex<K, V, E>
+    {
+    /**
+    * Write a snapshot of the contents of this index to the specified output.
+    * <p>
+    * The caller guarantees that the indexed entries are not modified while
+    * the snapshot is written.
+    *
+    * @param out  the output to write the snapshot to
+    *
+    * @throws IOException if the snapshot could not be written
+    */
+    public void writeSnapshot(WriteBuffer.BufferOutput out)
+            throws IOException;
+
+    /**
+    * Replace the contents of this index with the snapshot read from the
+    * specified input.
+    * <p>
+    * Any key contained in the snapshot that is not in the specified set of
+    * keys must be removed from the index. If the snapshot cannot be used,
+    * for example because it was written by an index with a different
+    * configuration, this method must leave the index unchanged and return
+    * false, in which case the index is rebuilt from the entries.
+    *
+    * @param in       the input to read the snapshot from
+    * @param setKeys  the keys currently stored in the indexed partition
+    *
+    * @return true if the snapshot was restored
+    *
+    * @throws IOException if the snapshot could not be read
+    */
+    public boolean readSnapshot(ReadBuffer.BufferInput in, Set<? extends K> setKeys)
+            throws IOException;
+    }
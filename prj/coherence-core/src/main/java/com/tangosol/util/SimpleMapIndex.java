@@ -39,6 +39,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
 
 /**
 * SimpleMapIndex is a MapIndex implementation used to correlate property values
@@ -156,6 +157,14 @@ public class SimpleMapIndex
         return m_mapInverse;
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    public IndexStatistics getStatistics()
+        {
+        return m_statistics;
+        }
+
     /**
     * {@inheritDoc}
     */
@@ -288,6 +297,7 @@ public class SimpleMapIndex
         m_mapInverse     = instantiateInverseIndex(m_fOrdered, m_comparator);
         m_mapForward     = fForwardIndex ? instantiateForwardIndex() : null;
         m_setKeyExcluded = new SafeHashSet();
+        m_statistics     = new Statistics();
         }
 
     /**
@@ -687,7 +697,10 @@ public class SimpleMapIndex
                 holder.set(key);
                 }
 
-            setKeys.add(oKey);
+            if (setKeys.add(oKey))
+                {
+                m_statistics.onMappingAdded(setKeys.size() == 1);
+                }
             onMappingAdded(oExtracted, setKeys.size());
 
             return setKeys;
@@ -770,7 +783,10 @@ public class SimpleMapIndex
                     }
                 }
 
-            setKeys.add(oKey);
+            if (setKeys.add(oKey))
+                {
+                m_statistics.onMappingAdded(setKeys.size() == 1);
+                }
             onMappingAdded(oExtracted, setKeys.size());
             }
 
@@ -892,7 +908,10 @@ public class SimpleMapIndex
         else
             {
             Object oExtracted = null;
-            setKeys.remove(oKey);
+            if (setKeys.remove(oKey))
+                {
+                m_statistics.onMappingRemoved(setKeys.isEmpty());
+                }
 
             if (setKeys.isEmpty())
                 {
@@ -1141,6 +1160,330 @@ public class SimpleMapIndex
         }
 
 
+    // ----- inner class: Statistics ----------------------------------------
+
+    /**
+    * The {@link IndexStatistics} of a SimpleMapIndex.
+    * <p>
+    * The counts are updated as the index changes, while the range estimates
+    * of an ordered index are based on an equi-depth {@link Histogram} that is
+    * rebuilt lazily once a sufficient fraction of the mappings has changed.
+    */
+    protected class Statistics
+            implements IndexStatistics
+        {
+        // ----- IndexStatistics interface ----------------------------------
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getKeyCount()
+            {
+            Map mapForward = m_mapForward;
+            return mapForward == null ? m_cMappings : mapForward.size();
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getMappingCount()
+            {
+            return m_cMappings;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long getDistinctValueCount()
+            {
+            return m_cDistinct;
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long estimateLess(Object value, boolean fInclusive)
+            {
+            Histogram histogram = ensureHistogram();
+            return histogram == null ? -1 : histogram.estimateLess(value, fInclusive);
+            }
+
+        /**
+        * {@inheritDoc}
+        */
+        public long estimateGreater(Object value, boolean fInclusive)
+            {
+            Histogram histogram = ensureHistogram();
+            return histogram == null ? -1 : histogram.estimateGreater(value, fInclusive);
+            }
+
+        // ----- helpers ----------------------------------------------------
+
+        /**
+        * Update the statistics in response to a mapping being added.
+        *
+        * @param fNewValue  true if the mapping is the only one for its value
+        */
+        protected void onMappingAdded(boolean fNewValue)
+            {
+            m_cMappings++;
+            m_cModifications++;
+            if (fNewValue)
+                {
+                m_cDistinct++;
+                }
+            }
+
+        /**
+        * Update the statistics in response to a mapping being removed.
+        *
+        * @param fLastValue  true if the mapping was the last one for its value
+        */
+        protected void onMappingRemoved(boolean fLastValue)
+            {
+            m_cMappings--;
+            m_cModifications++;
+            if (fLastValue)
+                {
+                m_cDistinct--;
+                }
+            }
+
+        /**
+        * Return the histogram of the index contents, rebuilding it if the
+        * index has changed significantly since it was built.
+        *
+        * @return the histogram, or null if the index is not ordered
+        */
+        protected Histogram ensureHistogram()
+            {
+            Map mapInverse = m_mapInverse;
+            if (!(mapInverse instanceof SortedMap))
+                {
+                return null;
+                }
+
+            Histogram histogram = m_histogram;
+            long      cMods     = m_cModifications;
+            if (histogram == null || cMods - histogram.f_cModifications >
+                    Math.max(HISTOGRAM_MIN_CHANGES, histogram.f_cMappings >>> 3))
+                {
+                m_histogram = histogram = new Histogram((SortedMap) mapInverse, m_cMappings, cMods);
+                }
+            return histogram;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The number of value to key mappings.
+        */
+        protected volatile long m_cMappings;
+
+        /**
+        * The number of distinct values.
+        */
+        protected volatile long m_cDistinct;
+
+        /**
+        * The number of changes to the mappings.
+        */
+        protected volatile long m_cModifications;
+
+        /**
+        * The most recently built histogram.
+        */
+        protected volatile Histogram m_histogram;
+        }
+
+
+    // ----- inner class: Histogram -----------------------------------------
+
+    /**
+    * An equi-depth histogram of the contents of an ordered inverse index.
+    * <p>
+    * Each bucket holds roughly the same number of mappings, and a value is
+    * never split across buckets, so a frequent value gets a bucket of its own.
+    */
+    protected static class Histogram
+        {
+        /**
+        * Build a histogram of the specified ordered inverse index.
+        *
+        * @param mapInverse  the inverse index
+        * @param cMappings   the approximate number of mappings in the index
+        * @param cMods       the modification count of the index
+        */
+        protected Histogram(SortedMap<Object, Set> mapInverse, long cMappings, long cMods)
+            {
+            int      cBuckets  = HISTOGRAM_BUCKETS;
+            Object[] aoLower   = new Object[cBuckets];
+            long[]   acBefore  = new long[cBuckets];
+            int[]    acValues  = new int[cBuckets];
+            long     cTotal    = 0L;
+            long     cDepth    = Math.max(1L, cMappings / cBuckets);
+            int      iBucket   = -1;
+            long     cInBucket = cDepth;
+
+            for (Map.Entry<Object, Set> entry : mapInverse.entrySet())
+                {
+                int cKeys = entry.getValue().size();
+                if ((cInBucket >= cDepth || cKeys >= cDepth && cInBucket > 0) && iBucket < cBuckets - 1)
+                    {
+                    // start a new bucket; a frequent value gets a bucket of its own
+                    iBucket++;
+                    aoLower[iBucket]  = entry.getKey();
+                    acBefore[iBucket] = cTotal;
+                    cInBucket = 0L;
+                    }
+                acValues[iBucket]++;
+                cInBucket += cKeys;
+                cTotal    += cKeys;
+                }
+
+            Comparator comparator = mapInverse.comparator();
+
+            f_comparator     = comparator == null ? SafeComparator.INSTANCE : comparator;
+            f_oHighest       = iBucket < 0 ? null : mapInverse.lastKey();
+            f_cBuckets       = iBucket + 1;
+            f_aoLower        = aoLower;
+            f_acBefore       = acBefore;
+            f_acValues       = acValues;
+            f_cMappings      = cTotal;
+            f_cModifications = cMods;
+            }
+
+        /**
+        * Estimate the number of mappings for values that are less than (or
+        * equal to) the specified value.
+        *
+        * @param value       the value to compare to
+        * @param fInclusive  true if the mappings for the value itself should
+        *                    be included
+        *
+        * @return the estimated number of mappings
+        */
+        protected long estimateLess(Object value, boolean fInclusive)
+            {
+            int i = findBucket(value);
+            if (i < 0)
+                {
+                return 0L;
+                }
+
+            long cBefore = f_acBefore[i];
+            long cBucket = (i + 1 < f_cBuckets ? f_acBefore[i + 1] : f_cMappings) - cBefore;
+            int  cValues = f_acValues[i];
+
+            if (i == f_cBuckets - 1 && cValues > 1)
+                {
+                int nCompare = f_comparator.compare(value, f_oHighest);
+                if (nCompare > 0 || nCompare == 0 && fInclusive)
+                    {
+                    return f_cMappings;
+                    }
+                }
+
+            if (f_comparator.compare(f_aoLower[i], value) == 0)
+                {
+                // the value is the lowest value in the bucket
+                return fInclusive ? cBefore + cBucket / cValues : cBefore;
+                }
+
+            // assume the value is in the middle of the bucket, unless the
+            // bucket holds the lowest value only
+            return cValues == 1 ? cBefore + cBucket : cBefore + cBucket / 2;
+            }
+
+        /**
+        * Estimate the number of mappings for values that are greater than (or
+        * equal to) the specified value.
+        *
+        * @param value       the value to compare to
+        * @param fInclusive  true if the mappings for the value itself should
+        *                    be included
+        *
+        * @return the estimated number of mappings
+        */
+        protected long estimateGreater(Object value, boolean fInclusive)
+            {
+            return Math.max(0L, f_cMappings - estimateLess(value, !fInclusive));
+            }
+
+        /**
+        * Find the last bucket with the lowest value less than or equal to the
+        * specified value.
+        *
+        * @param value  the value
+        *
+        * @return the bucket index, or -1 if the value is less than all values
+        */
+        protected int findBucket(Object value)
+            {
+            Comparator comparator = f_comparator;
+            Object[]   aoLower    = f_aoLower;
+            int        iLow       = 0;
+            int        iHigh      = f_cBuckets - 1;
+
+            while (iLow <= iHigh)
+                {
+                int iMid = (iLow + iHigh) >>> 1;
+                if (comparator.compare(aoLower[iMid], value) <= 0)
+                    {
+                    iLow = iMid + 1;
+                    }
+                else
+                    {
+                    iHigh = iMid - 1;
+                    }
+                }
+            return iHigh;
+            }
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The comparator of the indexed values.
+        */
+        protected final Comparator f_comparator;
+
+        /**
+        * The highest value.
+        */
+        protected final Object f_oHighest;
+
+        /**
+        * The number of buckets.
+        */
+        protected final int f_cBuckets;
+
+        /**
+        * The lowest value of each bucket.
+        */
+        protected final Object[] f_aoLower;
+
+        /**
+        * The number of mappings before each bucket.
+        */
+        protected final long[] f_acBefore;
+
+        /**
+        * The number of distinct values in each bucket.
+        */
+        protected final int[] f_acValues;
+
+        /**
+        * The total number of mappings.
+        */
+        protected final long f_cMappings;
+
+        /**
+        * The modification count of the index when the histogram was built.
+        */
+        protected final long f_cModifications;
+        }
+
+
     // ----- inner class: IndexCalculator -----------------------------------
 
     /**
@@ -1475,6 +1818,21 @@ public class SimpleMapIndex
         protected static final int DEFAULT_SIZE = 32;
         }
 
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The maximum number of buckets of a {@link Histogram}.
+    */
+    protected static final int HISTOGRAM_BUCKETS = 64;
+
+    /**
+    * The minimum number of changes to the mappings after which a
+    * {@link Histogram} is rebuilt; a histogram is also rebuilt once the
+    * number of changes exceeds one eighth of the mappings.
+    */
+    protected static final int HISTOGRAM_MIN_CHANGES = 64;
+
+
     // ----- data members ---------------------------------------------------
 
     /**
@@ -1561,6 +1919,11 @@ public class SimpleMapIndex
     */
     protected Set m_setKeyExcluded;
 
+    /**
+    * The statistics of this index.
+    */
+    protected Statistics m_statistics;
+
     /**
     * Specifies whether or not this MapIndex supports a forward index.
     */
@@ -17,6 +17,7 @@ import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
 import com.tangosol.util.ClassHelper;
+import com.tangosol.util.ColumnarMapIndex;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.Streamer;
@@ -179,6 +180,28 @@ public abstract class AbstractAggregator<K, V, T, E, R>
         process(entry.extract(getValueExtractor()), false);
         }
 
+    /**
+     * Incorporate the values of the specified rows of a {@link ColumnarMapIndex}
+     * column, holding the values extracted by this aggregator's ValueExtractor,
+     * into the result.
+     * <p>
+     * The default implementation {@link #process processes} the value of each
+     * row (including null values) in turn; subclasses may process the
+     * primitive values of the column directly.
+     *
+     * @param column  the column
+     * @param anRow   the rows to process, or null to process the rows {@code 0}
+     *                to {@code cRows - 1}
+     * @param cRows   the number of rows to process
+     */
+    protected void processColumn(ColumnarMapIndex.Column column, int[] anRow, int cRows)
+        {
+        for (int i = 0; i < cRows; i++)
+            {
+            process(column.getValue(anRow == null ? i : anRow[i]), false);
+            }
+        }
+
     /**
      * Determine the ValueExtractor whose values this aggregator is
      * aggregating.
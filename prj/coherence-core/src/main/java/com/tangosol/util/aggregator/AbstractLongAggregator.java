@@ -8,6 +8,9 @@
 package com.tangosol.util.aggregator;
 
 
+import com.tangosol.util.ColumnarMapIndex;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.Streamer;
 import com.tangosol.util.ValueExtractor;
 
 
@@ -58,6 +61,27 @@ public abstract class AbstractLongAggregator<T>
         }
 
 
+    // ----- StreamingAggregator methods ------------------------------------
+
+    /**
+    * {@inheritDoc}
+    * <p>
+    * If the streamer provides all entries of its partitions, and the values
+    * extracted by this aggregator's ValueExtractor are kept in a column of a
+    * {@link ColumnarMapIndex} in each of them, the values are aggregated
+    * directly from the columns instead of the entries.
+    */
+    @Override
+    public boolean accumulate(Streamer<? extends InvocableMap.Entry<?, ?>> streamer)
+        {
+        ensureInitialized(false);
+
+        return ColumnarMapIndex.forEachPartition(streamer, new ValueExtractor[] {getValueExtractor()},
+                    (aColumn, cRows) -> processColumn(aColumn[0], null, cRows))
+               || super.accumulate(streamer);
+        }
+
+
     // ----- AbstractAggregator methods -------------------------------------
 
     /**
@@ -76,6 +100,46 @@ public abstract class AbstractLongAggregator<T>
         return m_count == 0 ? null : m_lResult;
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    protected void processColumn(ColumnarMapIndex.Column column, int[] anRow, int cRows)
+        {
+        if (!column.isNumeric())
+            {
+            super.processColumn(column, anRow, cRows);
+            }
+        else if (anRow == null && column.getType() == ColumnarMapIndex.Column.TYPE_LONG
+                 && column.getNullCount() == 0)
+            {
+            processValues(column.getLongArray(), cRows);
+            }
+        else
+            {
+            long[] alValue = new long[cRows];
+            processValues(alValue, column.copyLongs(anRow, cRows, alValue));
+            }
+        }
+
+    /**
+    * Incorporate the specified non-null values into the result.
+    * <p>
+    * The default implementation {@link #process processes} each value in
+    * turn; subclasses are expected to override it with a loop over the
+    * primitive values.
+    *
+    * @param alValue  the values to process
+    * @param cValues  the number of values to process, starting with the first
+    *                 element of the array
+    */
+    protected void processValues(long[] alValue, int cValues)
+        {
+        for (int i = 0; i < cValues; i++)
+            {
+            process(alValue[i], false);
+            }
+        }
+
 
     // ----- data members ---------------------------------------------------
 
@@ -124,6 +124,20 @@ public class DoubleAverage<T>
             }
         }
 
+    /**
+    * {@inheritDoc}
+    */
+    protected void processValues(double[] adValue, int cValues)
+        {
+        double dflResult = m_dflResult;
+        for (int i = 0; i < cValues; i++)
+            {
+            dflResult += adValue[i];
+            }
+        m_dflResult = dflResult;
+        m_count    += cValues;
+        }
+
     /**
     * {@inheritDoc}
     */
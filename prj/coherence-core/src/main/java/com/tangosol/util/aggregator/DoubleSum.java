@@ -93,4 +93,18 @@ public class DoubleSum<T>
             m_count++;
             }
         }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processValues(double[] adValue, int cValues)
+        {
+        double dflResult = m_dflResult;
+        for (int i = 0; i < cValues; i++)
+            {
+            dflResult += adValue[i];
+            }
+        m_dflResult = dflResult;
+        m_count    += cValues;
+        }
     }
\ No newline at end of file
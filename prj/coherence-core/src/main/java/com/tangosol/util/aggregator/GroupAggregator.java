@@ -13,10 +13,12 @@ import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
 import com.tangosol.util.ClassHelper;
+import com.tangosol.util.ColumnarMapIndex;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.LiteMap;
+import com.tangosol.util.Streamer;
 import com.tangosol.util.ValueExtractor;
 
 import com.tangosol.util.extractor.ChainedExtractor;
@@ -28,7 +30,9 @@ import java.io.DataOutput;
 import java.io.IOException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -161,6 +165,37 @@ public class GroupAggregator<K, V, T, E, R>
         return true;
         }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the streamer provides all entries of its partitions, the underlying
+     * aggregator is an {@link AbstractDoubleAggregator} or an {@link
+     * AbstractLongAggregator}, and the values extracted by both this
+     * aggregator's and the underlying aggregator's ValueExtractor are kept in
+     * the columns of the same {@link ColumnarMapIndex} in each partition, the
+     * rows of each partition are grouped and aggregated directly from the
+     * columns instead of the entries.
+     */
+    @Override
+    public boolean accumulate(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer)
+        {
+        ensureInitialized();
+
+        if (m_aggregator instanceof AbstractDoubleAggregator || m_aggregator instanceof AbstractLongAggregator)
+            {
+            ValueExtractor[] aExtractor =
+                    {m_extractor, ((AbstractAggregator) m_aggregator).getValueExtractor()};
+
+            if (ColumnarMapIndex.forEachPartition(streamer, aExtractor,
+                    (aColumn, cRows) -> accumulateColumns(aColumn[0], aColumn[1], cRows)))
+                {
+                return true;
+                }
+            }
+
+        return InvocableMap.StreamingAggregator.super.accumulate(streamer);
+        }
+
     @Override
     public boolean combine(Map<E, Object> partialResult)
         {
@@ -304,6 +339,87 @@ public class GroupAggregator<K, V, T, E, R>
             }
         }
 
+    /**
+     * Group the specified rows of a partition by the values of the group
+     * column and aggregate the values of the value column of each group using
+     * the group's underlying aggregator.
+     *
+     * @param columnGroup  the column of the values the rows are grouped by
+     * @param columnValue  the column of the values to aggregate
+     * @param cRows        the number of rows
+     */
+    protected void accumulateColumns(ColumnarMapIndex.Column columnGroup, ColumnarMapIndex.Column columnValue, int cRows)
+        {
+        int[]        anGroup   = new int[cRows];
+        List<Object> listGroup = new ArrayList<>();
+
+        // assign each row to a group; the groups of a dictionary encoded
+        // column are resolved by code, without hashing the values
+        if (columnGroup.getType() == ColumnarMapIndex.Column.TYPE_STRING)
+            {
+            int[] anCode  = columnGroup.getCodeArray();
+            int   cCode   = columnGroup.getDictionarySize();
+            int[] anIndex = new int[cCode + 1];  // the last one is for null
+
+            Arrays.fill(anIndex, -1);
+            for (int iRow = 0; iRow < cRows; iRow++)
+                {
+                int nCode  = columnGroup.isNull(iRow) ? cCode : anCode[iRow];
+                int nGroup = anIndex[nCode];
+                if (nGroup < 0)
+                    {
+                    anIndex[nCode] = nGroup = listGroup.size();
+                    listGroup.add(nCode == cCode ? null : columnGroup.decode(nCode));
+                    }
+                anGroup[iRow] = nGroup;
+                }
+            }
+        else
+            {
+            Map<Object, Integer> mapGroup = new HashMap<>();
+            for (int iRow = 0; iRow < cRows; iRow++)
+                {
+                Object  oGroup = columnGroup.getValue(iRow);
+                Integer IGroup = mapGroup.get(oGroup);
+                if (IGroup == null)
+                    {
+                    mapGroup.put(oGroup, IGroup = listGroup.size());
+                    listGroup.add(oGroup);
+                    }
+                anGroup[iRow] = IGroup;
+                }
+            }
+
+        // sort the rows by group
+        int   cGroups = listGroup.size();
+        int[] anStart = new int[cGroups + 1];
+        for (int iRow = 0; iRow < cRows; iRow++)
+            {
+            anStart[anGroup[iRow] + 1]++;
+            }
+        for (int i = 0; i < cGroups; i++)
+            {
+            anStart[i + 1] += anStart[i];
+            }
+
+        int[] anNext = Arrays.copyOf(anStart, cGroups);
+        int[] anRow  = new int[cRows];
+        for (int iRow = 0; iRow < cRows; iRow++)
+            {
+            anRow[anNext[anGroup[iRow]]++] = iRow;
+            }
+
+        for (int i = 0; i < cGroups; i++)
+            {
+            AbstractAggregator aggregator = (AbstractAggregator)
+                    m_mapResults.computeIfAbsent((E) listGroup.get(i), k -> streaming(m_aggregator).supply());
+
+            aggregator.ensureInitialized(false);
+            aggregator.processColumn(columnValue,
+                    Arrays.copyOfRange(anRow, anStart[i], anStart[i + 1]), anStart[i + 1] - anStart[i]);
+            }
+        }
+
     /**
      * Convert the specified aggregator to StreamingAggregator.
      *
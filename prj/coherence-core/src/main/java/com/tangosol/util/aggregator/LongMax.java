@@ -94,4 +94,18 @@ public class LongMax<T>
             m_count++;
             }
         }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processValues(long[] alValue, int cValues)
+        {
+        long lResult = m_lResult;
+        for (int i = 0; i < cValues; i++)
+            {
+            lResult = Math.max(lResult, alValue[i]);
+            }
+        m_lResult = lResult;
+        m_count  += cValues;
+        }
     }
\ No newline at end of file
@@ -94,4 +94,18 @@ public class LongMin<T>
             m_count++;
             }
         }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processValues(long[] alValue, int cValues)
+        {
+        long lResult = m_lResult;
+        for (int i = 0; i < cValues; i++)
+            {
+            lResult = Math.min(lResult, alValue[i]);
+            }
+        m_lResult = lResult;
+        m_count  += cValues;
+        }
     }
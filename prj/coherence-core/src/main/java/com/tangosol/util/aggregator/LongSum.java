@@ -93,4 +93,18 @@ public class LongSum<T>
             m_count++;
             }
         }
+
+    /**
+    * {@inheritDoc}
+    */
+    protected void processValues(long[] alValue, int cValues)
+        {
+        long lResult = m_lResult;
+        for (int i = 0; i < cValues; i++)
+            {
+            lResult += alValue[i];
+            }
+        m_lResult = lResult;
+        m_count  += cValues;
+        }
     }
\ No newline at end of file
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.extractor;
+
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.BitmapIndex;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Comparator;
+import java.util.Map;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+
+/**
+* An IndexAwareExtractor implementation that is only used to create a
+* {@link BitmapIndex}.
+* <p>
+* All bitmap indexes created within the same index map (which for a
+* partitioned cache is the index map of a single partition) share the key
+* ordinals, allowing filters over several bitmap indexes to be evaluated
+* using bitmap operations.
+* <p>
+* Note: the underlying ValueExtractor is used for value extraction during
+* index creation and is the extractor that is associated with the created
+* {@link BitmapIndex} in the given index map.  Using the BitmapExtractor to
+* extract values is not supported.
+*
+* @since 25.09
+*/
+public class BitmapExtractor<T, E>
+        extends AbstractExtractor<T, E>
+        implements IndexAwareExtractor<T, E>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct the BitmapExtractor.
+    */
+    public BitmapExtractor()
+        {
+        }
+
+    /**
+    * Construct the BitmapExtractor.
+    *
+    * @param extractor  the extractor used by this extractor to create a
+    *                   {@link BitmapIndex}; Note that the created index will
+    *                   be associated with this extractor in the given index
+    *                   map; must not be null
+    */
+    public BitmapExtractor(ValueExtractor<T, E> extractor)
+        {
+        azzert(extractor != null, "Extractor must not be null");
+
+        m_extractor = extractor;
+        }
+
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, E>, MapIndex> mapIndex, BackingMapContext ctx)
+        {
+        ValueExtractor extractor = m_extractor;
+        MapIndex       index     = mapIndex.get(extractor);
+
+        if (index != null)
+            {
+            if (index instanceof BitmapIndex)
+                {
+                return null;
+                }
+            throw new IllegalArgumentException(
+                    "Repetitive addIndex call for " + this);
+            }
+
+        // share the key ordinals with the other bitmap indexes in the map
+        BitmapIndex.KeyOrdinals ordinals = null;
+        for (MapIndex indexOther : mapIndex.values())
+            {
+            if (indexOther instanceof BitmapIndex)
+                {
+                ordinals = ((BitmapIndex) indexOther).getKeyOrdinals();
+                break;
+                }
+            }
+
+        BitmapIndex indexNew = new BitmapIndex(extractor, fOrdered, comparator, ordinals, ctx);
+
+        mapIndex.put(extractor, indexNew);
+        return indexNew;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex destroyIndex(Map<ValueExtractor<T, E>, MapIndex> mapIndex)
+        {
+        MapIndex index = mapIndex.remove(m_extractor);
+        if (index instanceof BitmapIndex)
+            {
+            ((BitmapIndex) index).release();
+            }
+        return index;
+        }
+
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+    * Return the underlying extractor.
+    *
+    * @return the underlying extractor
+    */
+    public ValueExtractor getExtractor()
+        {
+        return m_extractor;
+        }
+
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    /**
+    * Using a BitmapExtractor to extract values is not supported.
+    *
+    * @throws UnsupportedOperationException always
+    */
+    public E extract(Object oTarget)
+        {
+        throw new UnsupportedOperationException(
+            "BitmapExtractor may not be used as an extractor.");
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        m_extractor = readObject(in);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        writeObject(out, m_extractor);
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_extractor = in.readObject(0);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObject(0, m_extractor);
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        return o instanceof BitmapExtractor &&
+               equals(m_extractor, ((BitmapExtractor) o).m_extractor);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        return m_extractor.hashCode();
+        }
+
+    /**
+    * Return a human-readable description for this BitmapExtractor.
+    *
+    * @return a String description of the BitmapExtractor
+    */
+    public String toString()
+        {
+        return "BitmapExtractor(extractor=" + m_extractor + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The underlying extractor.
+    */
+    @JsonbProperty("extractor")
+    protected ValueExtractor<T, E> m_extractor;
+    }
@@ -0,0 +1,255 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.extractor;
+
+
+import com.tangosol.io.ExternalizableLite;
+
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.util.ColumnarMapIndex;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+
+import jakarta.json.bind.annotation.JsonbProperty;
+
+
+/**
+* An IndexAwareExtractor implementation that is only used to create a
+* {@link ColumnarMapIndex}, which keeps the values extracted by the specified
+* extractors in primitive columns for analytic aggregations.
+* <p>
+* Below is an example how to use this feature to speed up the aggregations
+* of the salaries of employees, optionally grouped by department:
+* <pre>
+*   NamedCache cache = ...;
+*   cache.addIndex(new ColumnarExtractor(
+*      Employee::getSalary, Employee::getDepartment), false, null);
+*
+*   Double dflTotal = cache.aggregate(Aggregators.sum(Employee::getSalary));
+*   Map&lt;String, Double&gt; mapTotal = cache.aggregate(
+*      GroupAggregator.createInstance(Employee::getDepartment,
+*                                     Aggregators.sum(Employee::getSalary)));
+* </pre>
+* The numeric aggregators, the {@link
+* com.tangosol.util.aggregator.GroupAggregator GroupAggregator} and the
+* {@code double} and {@code long} remote streams created by {@link
+* com.tangosol.util.InvocableMap#stream(ValueExtractor)} use the columns when
+* they aggregate all entries of the partitions they run against, as long as
+* they use the same extractors as the ColumnarExtractor.
+* <p>
+* Note: the created index is associated with this extractor in the given
+* index map, rather than with the underlying extractors, so it is not used
+* (and does not replace any index used) by filters.  Using the
+* ColumnarExtractor to extract values is not supported.
+*
+* @since 25.09
+*/
+public class ColumnarExtractor<T>
+        extends AbstractExtractor<T, Object>
+        implements IndexAwareExtractor<T, Object>, ExternalizableLite, PortableObject
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Construct the ColumnarExtractor.
+    */
+    public ColumnarExtractor()
+        {
+        }
+
+    /**
+    * Construct the ColumnarExtractor.
+    *
+    * @param aExtractor  the extractors of the values to keep in the columns of
+    *                    the created {@link ColumnarMapIndex}; must not be
+    *                    empty
+    */
+    @SafeVarargs
+    public ColumnarExtractor(ValueExtractor<? super T, ?>... aExtractor)
+        {
+        azzert(aExtractor != null && aExtractor.length > 0, "Extractors must not be empty");
+
+        ValueExtractor[] aExtractorRemotable = new ValueExtractor[aExtractor.length];
+        for (int i = 0; i < aExtractor.length; i++)
+            {
+            azzert(aExtractor[i] != null, "Extractor must not be null");
+            aExtractorRemotable[i] = ValueExtractor.of(aExtractor[i]);
+            }
+
+        m_aExtractor = aExtractorRemotable;
+        }
+
+
+    // ----- IndexAwareExtractor interface ----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+            Map<ValueExtractor<T, Object>, MapIndex> mapIndex, BackingMapContext ctx)
+        {
+        MapIndex index = mapIndex.get(this);
+
+        if (index != null)
+            {
+            if (index instanceof ColumnarMapIndex)
+                {
+                return null;
+                }
+            throw new IllegalArgumentException(
+                    "Repetitive addIndex call for " + this);
+            }
+
+        ColumnarMapIndex indexNew = new ColumnarMapIndex(this, m_aExtractor, ctx);
+
+        mapIndex.put(this, indexNew);
+        return indexNew;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public MapIndex destroyIndex(Map<ValueExtractor<T, Object>, MapIndex> mapIndex)
+        {
+        return mapIndex.remove(this);
+        }
+
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+    * Return the extractors of the values kept in the columns.
+    *
+    * @return the extractors of the columns
+    */
+    public ValueExtractor[] getExtractors()
+        {
+        return m_aExtractor;
+        }
+
+
+    // ----- ValueExtractor interface ---------------------------------------
+
+    /**
+    * Using a ColumnarExtractor to extract values is not supported.
+    *
+    * @throws UnsupportedOperationException always
+    */
+    public Object extract(Object oTarget)
+        {
+        throw new UnsupportedOperationException(
+            "ColumnarExtractor may not be used as an extractor.");
+        }
+
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(DataInput in)
+            throws IOException
+        {
+        int cExtractor = readInt(in);
+        azzert(cExtractor < 16384, "Unexpected number of extractors");
+
+        ValueExtractor[] aExtractor = new ValueExtractor[cExtractor];
+        for (int i = 0; i < cExtractor; i++)
+            {
+            aExtractor[i] = readObject(in);
+            }
+        m_aExtractor = aExtractor;
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(DataOutput out)
+            throws IOException
+        {
+        ValueExtractor[] aExtractor = m_aExtractor;
+        writeInt(out, aExtractor.length);
+        for (ValueExtractor extractor : aExtractor)
+            {
+            writeObject(out, extractor);
+            }
+        }
+
+
+    // ----- PortableObject interface ---------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public void readExternal(PofReader in)
+            throws IOException
+        {
+        m_aExtractor = (ValueExtractor[]) in.readObjectArray(0, new ValueExtractor[0]);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public void writeExternal(PofWriter out)
+            throws IOException
+        {
+        out.writeObjectArray(0, m_aExtractor);
+        }
+
+
+    // ----- Object methods -------------------------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public boolean equals(Object o)
+        {
+        return o instanceof ColumnarExtractor &&
+               Arrays.equals(m_aExtractor, ((ColumnarExtractor) o).m_aExtractor);
+        }
+
+    /**
+    * {@inheritDoc}
+    */
+    public int hashCode()
+        {
+        return Arrays.hashCode(m_aExtractor);
+        }
+
+    /**
+    * Return a human-readable description for this ColumnarExtractor.
+    *
+    * @return a String description of the ColumnarExtractor
+    */
+    public String toString()
+        {
+        return "ColumnarExtractor(extractors=" + Arrays.toString(m_aExtractor) + ")";
+        }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The extractors of the columns.
+    */
+    @JsonbProperty("extractors")
+    protected ValueExtractor[] m_aExtractor;
+    }
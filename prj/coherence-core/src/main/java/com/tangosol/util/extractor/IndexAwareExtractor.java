@@ -54,6 +54,39 @@ public interface IndexAwareExtractor<T, E>
                                 Map<ValueExtractor<T, E>, MapIndex> mapIndex,
                                 BackingMapContext ctx);
 
+    /**
+    * Create an index for the specified partition and associate it with the
+    * corresponding extractor.
+    * <p>
+    * Implementations that maintain per-partition resources (such as files or
+    * off-heap memory) should override this method to make use of the
+    * partition identifier. The default implementation simply delegates to
+    * {@link #createIndex(boolean, Comparator, Map, BackingMapContext)}.
+    *
+    * @param fOrdered    true iff the contents of the indexed information
+    *                    should be ordered; false otherwise
+    * @param comparator  the Comparator object which imposes an ordering
+    *                    of entries in the index contents; or <tt>null</tt>
+    *                    if the entries' values natural ordering should be
+    *                    used
+    * @param mapIndex    Map&lt;ValueExtractor, MapIndex&gt; to be updated with the
+    *                    created index
+    * @param ctx         The {@link BackingMapContext context} the index is
+    *                    associate with.
+    * @param nPartition  the partition the index is created for, or -1 if
+    *                    the index is not associated with a single partition
+    *
+    * @return the created index; null if the index has not been created
+    *
+    * @since 25.09
+    */
+    default public MapIndex createIndex(boolean fOrdered, Comparator comparator,
+                                        Map<ValueExtractor<T, E>, MapIndex> mapIndex,
+                                        BackingMapContext ctx, int nPartition)
+        {
+        return createIndex(fOrdered, comparator, mapIndex, ctx);
+        }
+
     /**
     * Destroy an existing index and remove it from the given map of indexes.
     *
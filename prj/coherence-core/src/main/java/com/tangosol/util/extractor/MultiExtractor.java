@@ -17,6 +17,7 @@ import com.tangosol.util.ValueExtractor;
 
 import com.tangosol.util.comparator.SafeComparator;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -129,11 +130,15 @@ public class MultiExtractor
         boolean fUseIndex = entry instanceof BinaryEntry &&
                 !((BinaryEntry) entry).getBackingMapContext().getIndexMap().containsKey(this);
 
-        for (int i = 0; i < cExtractors; i++)
+        // extract the values of all PofExtractors in a single pass
+        try (PofExtractor.Batch.Scope scope = getBatch().enter())
             {
-            aValue[i] = fUseIndex
-                    ? ((QueryMap.Entry) entry).extract(aExtractor[i])
-                    : InvocableMapHelper.extractFromEntry(aExtractor[i], entry);
+            for (int i = 0; i < cExtractors; i++)
+                {
+                aValue[i] = fUseIndex
+                        ? ((QueryMap.Entry) entry).extract(aExtractor[i])
+                        : InvocableMapHelper.extractFromEntry(aExtractor[i], entry);
+                }
             }
 
         return new ImmutableArrayList(aValue);
@@ -149,9 +154,12 @@ public class MultiExtractor
         int              cExtractors = aExtractor.length;
         Object[]         aValue      = new Object[cExtractors];
 
-        for (int i = 0; i < cExtractors; i++)
+        try (PofExtractor.Batch.Scope scope = getBatch().enter())
             {
-            aValue[i] = InvocableMapHelper.extractOriginalFromEntry(aExtractor[i], entry);
+            for (int i = 0; i < cExtractors; i++)
+                {
+                aValue[i] = InvocableMapHelper.extractOriginalFromEntry(aExtractor[i], entry);
+                }
             }
 
         return new ImmutableArrayList(aValue);
@@ -184,6 +192,22 @@ public class MultiExtractor
 
     // ----- helpers --------------------------------------------------------
 
+    /**
+    * Return the {@link PofExtractor.Batch} for the PofExtractors used by
+    * this MultiExtractor.
+    *
+    * @return the PofExtractor batch
+    */
+    protected PofExtractor.Batch getBatch()
+        {
+        PofExtractor.Batch batch = m_batch;
+        if (batch == null)
+            {
+            m_batch = batch = PofExtractor.batch(Arrays.asList(getExtractors()));
+            }
+        return batch;
+        }
+
     /**
     * Parse a comma-delimited sequence of method names and instantiate
     * a corresponding array of {@link ValueExtractor} objects. Individual
@@ -212,4 +236,12 @@ public class MultiExtractor
             }
         return aExtractor;
         }
+
+
+    // ----- data members ---------------------------------------------------
+
+    /**
+    * The batch for the PofExtractors used by this MultiExtractor.
+    */
+    private transient PofExtractor.Batch m_batch;
     }
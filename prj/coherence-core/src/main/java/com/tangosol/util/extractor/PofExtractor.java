@@ -8,6 +8,8 @@
 package com.tangosol.util.extractor;
 
 
+import com.tangosol.io.ReadBuffer;
+
 import com.tangosol.io.pof.PofContext;
 import com.tangosol.io.pof.PofHelper;
 import com.tangosol.io.pof.PofReader;
@@ -16,6 +18,7 @@ import com.tangosol.io.pof.PortableObject;
 import com.tangosol.io.pof.PofConstants;
 
 import com.tangosol.io.pof.reflect.PofNavigator;
+import com.tangosol.io.pof.reflect.PofPathScanner;
 import com.tangosol.io.pof.reflect.PofValue;
 import com.tangosol.io.pof.reflect.PofValueParser;
 import com.tangosol.io.pof.reflect.SimplePofPath;
@@ -24,13 +27,26 @@ import com.tangosol.util.Base;
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.ClassHelper;
+import com.tangosol.util.Filter;
 import com.tangosol.util.MapTrigger;
 import com.tangosol.util.ValueExtractor;
 
+import com.tangosol.util.filter.ArrayFilter;
+import com.tangosol.util.filter.ExtractorFilter;
+import com.tangosol.util.filter.KeyAssociatedFilter;
+import com.tangosol.util.filter.LimitFilter;
+import com.tangosol.util.filter.NotFilter;
+
 import java.io.IOException;
 import java.io.NotActiveException;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -265,6 +281,27 @@ public class PofExtractor<T, E>
             return null;
             }
 
+        // use the values extracted by the enclosing batch, if any
+        Batch.Scope scope = Batch.s_tloScope.get();
+        if (scope != null)
+            {
+            Object oValue = scope.extract(this, binTarget, ctx, nTarget == KEY);
+            if (oValue != Batch.NO_VALUE)
+                {
+                return (E) oValue;
+                }
+            }
+
+        PofPathScanner scanner = getScanner();
+        if (scanner != null && PofPathScanner.isSupported(ctx))
+            {
+            Object[] aoValue = new Object[1];
+            if (scanner.scan(binTarget, ctx, new int[] {getPofTypeId(ctx)}, aoValue))
+                {
+                return (E) aoValue[0];
+                }
+            }
+
         PofValue valueRoot   = PofValueParser.parse(binTarget, ctx);
         PofValue valueTarget = m_navigator.navigate(valueRoot);
 
@@ -426,6 +463,24 @@ public class PofExtractor<T, E>
 
     // ----- helper methods -------------------------------------------------
 
+    /**
+    * Return the compiled form of the navigator, used to extract the value
+    * without parsing the entire POF stream.
+    *
+    * @return the PofPathScanner for the navigator, or null if the navigator
+    *         is not a {@link SimplePofPath}
+    */
+    protected PofPathScanner getScanner()
+        {
+        PofPathScanner scanner = m_scanner;
+        if (scanner == null && !m_fScannerCompiled)
+            {
+            m_scanner = scanner = PofPathScanner.compile(new PofNavigator[] {m_navigator});
+            m_fScannerCompiled  = true;
+            }
+        return scanner;
+        }
+
     /**
     *  compute the expected pof type id based on the class.
     *
@@ -441,6 +496,430 @@ public class PofExtractor<T, E>
         }
 
 
+    // ----- batch extraction -----------------------------------------------
+
+    /**
+    * Create a {@link Batch} for the PofExtractors in the specified
+    * collection.
+    *
+    * @param colExtractor  a collection of extractors; extractors other than
+    *                      PofExtractors are ignored
+    *
+    * @return a Batch for the PofExtractors in the collection
+    */
+    public static Batch batch(Collection<?> colExtractor)
+        {
+        return new Batch(colExtractor);
+        }
+
+    /**
+    * Create a {@link Batch} for the PofExtractors used by the specified
+    * filter and any filters it is composed of.
+    *
+    * @param filter  the filter
+    *
+    * @return a Batch for the PofExtractors used by the filter
+    */
+    public static Batch batch(Filter<?> filter)
+        {
+        List<ValueExtractor> listExtractor = new ArrayList<>();
+        Batch.collectExtractors(filter, listExtractor);
+        return new Batch(listExtractor);
+        }
+
+
+    // ----- inner class: Batch ---------------------------------------------
+
+    /**
+    * A Batch is a set of PofExtractors that extract their values from an
+    * entry in a single pass over the POF stream.
+    * <p>
+    * The values are extracted by a {@link PofPathScanner} compiled from the
+    * navigators of all extractors in the batch. While a {@link Scope} is
+    * entered, the first extraction from a binary by any of the extractors
+    * in the batch scans the values for all of them, and the subsequent
+    * extractions from the same binary on the same thread return the scanned
+    * values. This allows a MultiExtractor, the indexes of a cache and the
+    * filters of a query to parse each binary only once.
+    * <p>
+    * A Batch is immutable and can be used by multiple threads.
+    */
+    public static class Batch
+        {
+        // ----- constructors -----------------------------------------------
+
+        /**
+        * Construct a Batch for the PofExtractors in the specified collection.
+        *
+        * @param colExtractor  a collection of extractors
+        */
+        protected Batch(Collection<?> colExtractor)
+            {
+            Map<PofExtractor, Integer> mapValue  = new IdentityHashMap<>();
+            Map<PofExtractor, Integer> mapKey    = new IdentityHashMap<>();
+            List<PofExtractor>         listValue = new ArrayList<>();
+            List<PofExtractor>         listKey   = new ArrayList<>();
+
+            for (Object o : colExtractor)
+                {
+                if (o instanceof PofExtractor
+                    && ((PofExtractor) o).getNavigator() instanceof SimplePofPath)
+                    {
+                    PofExtractor               extractor = (PofExtractor) o;
+                    boolean                    fKey      = extractor.m_nTarget == KEY;
+                    Map<PofExtractor, Integer> map       = fKey ? mapKey : mapValue;
+                    List<PofExtractor>         list      = fKey ? listKey : listValue;
+
+                    if (!map.containsKey(extractor))
+                        {
+                        map.put(extractor, list.size());
+                        list.add(extractor);
+                        }
+                    }
+                }
+
+            m_setSource       = new HashSet<>(colExtractor);
+            m_mapValue        = mapValue;
+            m_mapKey          = mapKey;
+            m_aExtractorValue = listValue.toArray(new PofExtractor[0]);
+            m_aExtractorKey   = listKey.toArray(new PofExtractor[0]);
+            m_scannerValue    = compile(m_aExtractorValue);
+            m_scannerKey      = compile(m_aExtractorKey);
+            }
+
+        // ----- public API -------------------------------------------------
+
+        /**
+        * Enter a scope in which the extractions by the PofExtractors in this
+        * batch on the calling thread are done in a single pass per binary.
+        * <p>
+        * The returned scope must be closed by the same thread, typically
+        * using a try-with-resources statement; a null scope is permitted by
+        * such a statement.
+        *
+        * @return the entered Scope, or null if the batch would not reduce
+        *         the number of passes over a binary
+        */
+        public Scope enter()
+            {
+            if (m_aExtractorValue.length < 2 && m_aExtractorKey.length < 2)
+                {
+                return null;
+                }
+
+            Scope scope = new Scope(this, s_tloScope.get());
+            s_tloScope.set(scope);
+            return scope;
+            }
+
+        /**
+        * Determine whether this batch has been created for the extractors in
+        * the specified collection.
+        *
+        * @param colExtractor  a collection of extractors
+        *
+        * @return true iff this batch has been created for the same extractors
+        */
+        public boolean isBatchOf(Collection<?> colExtractor)
+            {
+            Set<Object> setSource = m_setSource;
+            return setSource.size() == colExtractor.size()
+                   && setSource.containsAll(colExtractor);
+            }
+
+        // ----- helper methods ---------------------------------------------
+
+        /**
+        * Compile the navigators of the specified extractors.
+        *
+        * @param aExtractor  the extractors
+        *
+        * @return the compiled scanner, or null if there are no extractors
+        */
+        protected static PofPathScanner compile(PofExtractor[] aExtractor)
+            {
+            int            cExtractors = aExtractor.length;
+            PofNavigator[] aNavigator  = new PofNavigator[cExtractors];
+            for (int i = 0; i < cExtractors; i++)
+                {
+                aNavigator[i] = aExtractor[i].getNavigator();
+                }
+            return cExtractors == 0 ? null : PofPathScanner.compile(aNavigator);
+            }
+
+        /**
+        * Collect the extractors used by the specified filter and any
+        * filters it is composed of.
+        *
+        * @param filter         the filter
+        * @param listExtractor  the list to add the extractors to
+        */
+        protected static void collectExtractors(Filter<?> filter, List<ValueExtractor> listExtractor)
+            {
+            if (filter instanceof ExtractorFilter)
+                {
+                listExtractor.add(((ExtractorFilter<?, ?>) filter).getValueExtractor());
+                }
+            else if (filter instanceof ArrayFilter)
+                {
+                for (Filter<?> filterNested : ((ArrayFilter) filter).getFilters())
+                    {
+                    collectExtractors(filterNested, listExtractor);
+                    }
+                }
+            else if (filter instanceof NotFilter)
+                {
+                collectExtractors(((NotFilter<?>) filter).getFilter(), listExtractor);
+                }
+            else if (filter instanceof LimitFilter)
+                {
+                collectExtractors(((LimitFilter<?>) filter).getFilter(), listExtractor);
+                }
+            else if (filter instanceof KeyAssociatedFilter)
+                {
+                collectExtractors(((KeyAssociatedFilter<?>) filter).getFilter(), listExtractor);
+                }
+            }
+
+        // ----- inner class: Scope -----------------------------------------
+
+        /**
+        * A Scope holds the values scanned by a Batch on a single thread.
+        * <p>
+        * The values for the two most recently scanned binaries are retained,
+        * so that both the new and the original value of an updated entry are
+        * scanned only once.
+        */
+        public static class Scope
+                implements AutoCloseable
+            {
+            // ----- constructors -------------------------------------------
+
+            /**
+            * Construct a Scope.
+            *
+            * @param batch      the batch
+            * @param scopePrev  the enclosing scope, or null
+            */
+            protected Scope(Batch batch, Scope scopePrev)
+                {
+                m_batch     = batch;
+                m_scopePrev = scopePrev;
+                }
+
+            // ----- AutoCloseable interface --------------------------------
+
+            /**
+            * Exit this scope, restoring the enclosing scope (if any).
+            */
+            @Override
+            public void close()
+                {
+                if (m_scopePrev == null)
+                    {
+                    s_tloScope.remove();
+                    }
+                else
+                    {
+                    s_tloScope.set(m_scopePrev);
+                    }
+                }
+
+            // ----- helper methods -----------------------------------------
+
+            /**
+            * Return the value extracted by the specified extractor from the
+            * specified binary, scanning the binary if necessary.
+            *
+            * @param extractor  the extractor
+            * @param buf        the binary to extract the value from
+            * @param ctx        the POF context
+            * @param fKey       true if the binary is the key
+            *
+            * @return the extracted value, or {@link #NO_VALUE} if the value
+            *         has to be extracted by the extractor itself
+            */
+            protected Object extract(PofExtractor extractor, ReadBuffer buf,
+                    PofContext ctx, boolean fKey)
+                {
+                Batch   batch = m_batch;
+                Integer ISlot = (fKey ? batch.m_mapKey : batch.m_mapValue).get(extractor);
+                if (ISlot == null)
+                    {
+                    Scope scopePrev = m_scopePrev;
+                    return scopePrev == null
+                           ? NO_VALUE
+                           : scopePrev.extract(extractor, buf, ctx, fKey);
+                    }
+
+                if (ctx != m_ctx)
+                    {
+                    m_ctx         = ctx;
+                    m_fSupported  = PofPathScanner.isSupported(ctx);
+                    m_anTypeValue = getPofTypeIds(batch.m_aExtractorValue, ctx);
+                    m_anTypeKey   = getPofTypeIds(batch.m_aExtractorKey, ctx);
+                    m_abuf[0]     = m_abuf[1] = null;
+                    }
+
+                PofPathScanner scanner = fKey ? batch.m_scannerKey : batch.m_scannerValue;
+                if (!m_fSupported || scanner == null)
+                    {
+                    return NO_VALUE;
+                    }
+
+                ReadBuffer[] abuf = m_abuf;
+                int          i    = m_iLast;
+                if (abuf[i] != buf || m_afKey[i] != fKey)
+                    {
+                    i = 1 - i;
+                    if (abuf[i] != buf || m_afKey[i] != fKey)
+                        {
+                        // replace the least recently scanned binary
+                        Object[] aoValue = m_aaoValue[i];
+                        if (aoValue == null || aoValue.length < scanner.getPathCount())
+                            {
+                            aoValue = m_aaoValue[i] = new Object[scanner.getPathCount()];
+                            }
+
+                        abuf[i]      = buf;
+                        m_afKey[i]   = fKey;
+                        m_afValid[i] = scanner.scan(buf, ctx,
+                                fKey ? m_anTypeKey : m_anTypeValue, aoValue);
+                        }
+                    }
+                m_iLast = i;
+
+                return m_afValid[i] ? m_aaoValue[i][ISlot] : NO_VALUE;
+                }
+
+            /**
+            * Return the POF type ids expected by the specified extractors.
+            *
+            * @param aExtractor  the extractors
+            * @param ctx         the POF context
+            *
+            * @return the POF type ids
+            */
+            protected static int[] getPofTypeIds(PofExtractor[] aExtractor, PofContext ctx)
+                {
+                int   cExtractors = aExtractor.length;
+                int[] anType      = new int[cExtractors];
+                for (int i = 0; i < cExtractors; i++)
+                    {
+                    anType[i] = aExtractor[i].getPofTypeId(ctx);
+                    }
+                return anType;
+                }
+
+            // ----- data members -------------------------------------------
+
+            /**
+            * The batch.
+            */
+            protected final Batch m_batch;
+
+            /**
+            * The enclosing scope, or null.
+            */
+            protected final Scope m_scopePrev;
+
+            /**
+            * The POF context the type ids have been computed for.
+            */
+            protected PofContext m_ctx;
+
+            /**
+            * True iff the binaries produced by the POF context can be scanned.
+            */
+            protected boolean m_fSupported;
+
+            /**
+            * The POF type ids expected by the value extractors.
+            */
+            protected int[] m_anTypeValue;
+
+            /**
+            * The POF type ids expected by the key extractors.
+            */
+            protected int[] m_anTypeKey;
+
+            /**
+            * The two most recently scanned binaries.
+            */
+            protected final ReadBuffer[] m_abuf = new ReadBuffer[2];
+
+            /**
+            * True for each scanned binary that is a key.
+            */
+            protected final boolean[] m_afKey = new boolean[2];
+
+            /**
+            * True for each scanned binary that could be scanned.
+            */
+            protected final boolean[] m_afValid = new boolean[2];
+
+            /**
+            * The values scanned from each binary.
+            */
+            protected final Object[][] m_aaoValue = new Object[2][];
+
+            /**
+            * The index of the most recently used binary.
+            */
+            protected int m_iLast;
+            }
+
+        // ----- constants --------------------------------------------------
+
+        /**
+        * A marker returned by a Scope for a value it does not hold.
+        */
+        protected static final Object NO_VALUE = new Object();
+
+        /**
+        * The innermost Scope entered by the current thread.
+        */
+        protected static final ThreadLocal<Scope> s_tloScope = new ThreadLocal<>();
+
+        // ----- data members -----------------------------------------------
+
+        /**
+        * The extractors this batch has been created for.
+        */
+        protected final Set<Object> m_setSource;
+
+        /**
+        * The index of each PofExtractor targeting the value.
+        */
+        protected final Map<PofExtractor, Integer> m_mapValue;
+
+        /**
+        * The index of each PofExtractor targeting the key.
+        */
+        protected final Map<PofExtractor, Integer> m_mapKey;
+
+        /**
+        * The PofExtractors targeting the value.
+        */
+        protected final PofExtractor[] m_aExtractorValue;
+
+        /**
+        * The PofExtractors targeting the key.
+        */
+        protected final PofExtractor[] m_aExtractorKey;
+
+        /**
+        * The scanner for the value extractors, or null.
+        */
+        protected final PofPathScanner m_scannerValue;
+
+        /**
+        * The scanner for the key extractors, or null.
+        */
+        protected final PofPathScanner m_scannerKey;
+        }
+
+
     // ----- data members ---------------------------------------------------
 
     /**
@@ -459,4 +938,15 @@ public class PofExtractor<T, E>
     * This value is only meaningful when m_clz == null.
     */
     private int m_nType;
+
+    /**
+    * The compiled navigator, or null if not yet compiled or the navigator
+    * cannot be compiled.
+    */
+    private transient PofPathScanner m_scanner;
+
+    /**
+    * True iff an attempt to compile the navigator has been made.
+    */
+    private transient boolean m_fScannerCompiled;
     }
@@ -8,6 +8,7 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.util.BitmapIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.QueryContext;
 import com.tangosol.util.QueryRecord;
@@ -25,7 +26,8 @@ import java.util.Set;
 * @author cp/gg 2002.11.01
 */
 public class AllFilter
-        extends ArrayFilter
+        extends    ArrayFilter
+        implements BitmapIndexAwareFilter
     {
     // ----- constructors ---------------------------------------------------
 
@@ -94,6 +96,34 @@ public class AllFilter
         }
 
 
+    // ----- BitmapIndexAwareFilter interface -------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public BitmapIndex.Selection selectKeys(Map mapIndexes)
+        {
+        BitmapIndex.Selection selection = null;
+        for (Filter<?> filter : getFilters())
+            {
+            BitmapIndex.Selection selectionFilter = filter instanceof BitmapIndexAwareFilter
+                    ? ((BitmapIndexAwareFilter) filter).selectKeys(mapIndexes)
+                    : null;
+            if (selectionFilter == null)
+                {
+                return null;
+                }
+
+            selection = selection == null ? selectionFilter : selection.and(selectionFilter);
+            if (selection == null)
+                {
+                return null;
+                }
+            }
+        return selection;
+        }
+
+
     // ----- ArrayFilter methods --------------------------------------------
 
     /**
@@ -144,12 +174,32 @@ public class AllFilter
         int             cFilters   = aFilter.length;
         List<Filter<?>> listFilter = new ArrayList<>(cFilters);
 
+        if (step == null)
+            {
+            // intersect the bitmaps of the filters that can be resolved
+            // by bitmap indexes; when tracing, each filter is applied on
+            // its own to record its cost
+            aFilter  = applyBitmapIndexes(aFilter, mapIndexes, setKeys);
+            cFilters = aFilter.length;
+            if (setKeys.isEmpty())
+                {
+                return null;
+                }
+            }
+
         // listFilter is an array of filters that will have to be re-applied
 
         for (int i = 0; i < cFilters; i++)
             {
             Filter<?> filter = aFilter[i];
-            if (filter instanceof IndexAwareFilter)
+            if (i > 0 && QueryPlanner.isScanCheaper(filter, mapIndexes, setKeys))
+                {
+                // the preceding filters have reduced the keys enough for the
+                // evaluation of the remaining entries to be cheaper than
+                // visiting the index
+                listFilter.add(filter);
+                }
+            else if (filter instanceof IndexAwareFilter)
                 {
                 Filter<?> filterNew = applyFilter(filter, i, mapIndexes, setKeys, ctx, step);
 
@@ -184,6 +234,54 @@ public class AllFilter
             }
         }
 
+    /**
+    * Remove the keys that do not match the filters that can be resolved by
+    * bitmap indexes from the specified set of keys, by intersecting the
+    * bitmaps of those filters.
+    *
+    * @param aFilter     the filters to apply
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    * @param setKeys     the mutable set of keys that remain to be filtered
+    *
+    * @return the filters that were not applied
+    */
+    protected Filter<?>[] applyBitmapIndexes(Filter<?>[] aFilter, Map mapIndexes, Set setKeys)
+        {
+        List<Filter<?>>       listRemain = new ArrayList<>(aFilter.length);
+        BitmapIndex.Selection selection  = null;
+        int                   cSelected  = 0;
+
+        for (Filter<?> filter : aFilter)
+            {
+            BitmapIndex.Selection selectionFilter = filter instanceof BitmapIndexAwareFilter
+                    ? ((BitmapIndexAwareFilter) filter).selectKeys(mapIndexes)
+                    : null;
+            BitmapIndex.Selection selectionNew = selectionFilter == null || selection == null
+                    ? selectionFilter
+                    : selection.and(selectionFilter);
+
+            if (selectionNew == null)
+                {
+                listRemain.add(filter);
+                }
+            else
+                {
+                selection = selectionNew;
+                cSelected++;
+                }
+            }
+
+        if (cSelected < 2)
+            {
+            // nothing to combine; apply all filters individually
+            return aFilter;
+            }
+
+        selection.retain(setKeys);
+        return listRemain.toArray(Filter[]::new);
+        }
+
     protected String getName()
         {
         switch (getFilters().length)
@@ -8,6 +8,7 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.util.BitmapIndex;
 import com.tangosol.util.ChainedCollection;
 import com.tangosol.util.Filter;
 import com.tangosol.util.QueryContext;
@@ -30,7 +31,8 @@ import java.util.Set;
 */
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class AnyFilter
-        extends ArrayFilter
+        extends    ArrayFilter
+        implements BitmapIndexAwareFilter
     {
     // ----- constructors ---------------------------------------------------
 
@@ -100,6 +102,34 @@ public class AnyFilter
         }
 
 
+    // ----- BitmapIndexAwareFilter interface -------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public BitmapIndex.Selection selectKeys(Map mapIndexes)
+        {
+        BitmapIndex.Selection selection = null;
+        for (Filter<?> filter : getFilters())
+            {
+            BitmapIndex.Selection selectionFilter = filter instanceof BitmapIndexAwareFilter
+                    ? ((BitmapIndexAwareFilter) filter).selectKeys(mapIndexes)
+                    : null;
+            if (selectionFilter == null)
+                {
+                return null;
+                }
+
+            selection = selection == null ? selectionFilter : selection.or(selectionFilter);
+            if (selection == null)
+                {
+                return null;
+                }
+            }
+        return selection;
+        }
+
+
     // ----- ArrayFilter methods --------------------------------------------
 
     /**
@@ -153,6 +183,18 @@ public class AnyFilter
     protected Filter applyIndex(Map mapIndexes, Set setKeys, QueryContext ctx,
             QueryRecord.PartialResult.TraceStep step)
         {
+        if (step == null)
+            {
+            // when not tracing, try to resolve all filters by uniting their
+            // bitmaps, instead of collecting the matching keys of each filter
+            BitmapIndex.Selection selection = selectKeys(mapIndexes);
+            if (selection != null)
+                {
+                selection.retain(setKeys);
+                return null;
+                }
+            }
+
         optimizeFilterOrder(mapIndexes, setKeys);
 
         Filter[]        aFilter    = getFilters();
@@ -248,7 +248,8 @@ public abstract class ArrayFilter
     // ----- internal helpers -----------------------------------------------
 
     /**
-    * Sort all the participating filters according to their effectiveness.
+    * Sort all the participating filters according to their effectiveness,
+    * estimated using the statistics of the relevant indexes if available.
     *
     * @param mapIndexes  the available MapIndex objects keyed by
     *                    the related ValueExtractor; read-only
@@ -264,21 +265,35 @@ public abstract class ArrayFilter
         int              cFilters  = m_aFilter.length;
         WeightedFilter[] aWeighted = new WeightedFilter[cFilters];
         Filter<?>[]      aFilter   = new Filter[cFilters];
+        int[]            anEffect  = new int[cFilters];
         int              nMax      = setKeys.size() * ExtractorFilter.EVAL_COST;
-        int              nPos      = 0;
+        boolean          fEstimate = true;
 
-        for (Filter<?> filter : m_aFilter)
+        // prefer the estimates based on the index statistics, which account
+        // for the value distribution and never scan the index; however, the
+        // estimated matches and the effectiveness are not comparable, so the
+        // estimates are only used if they are available for all filters
+        for (int i = 0; i < cFilters && fEstimate; i++)
             {
-            int nEffect = filter instanceof IndexAwareFilter
-                ? ((IndexAwareFilter) filter).calculateEffectiveness(mapIndexes, setKeys)
-                : nMax;
+            anEffect[i] = QueryPlanner.estimateMatches(m_aFilter[i], mapIndexes, setKeys);
+            fEstimate   = anEffect[i] >= 0;
+            }
+
+        for (int i = 0; i < cFilters; i++)
+            {
+            Filter<?> filter  = m_aFilter[i];
+            int       nEffect = fEstimate
+                    ? anEffect[i]
+                    : filter instanceof IndexAwareFilter
+                        ? ((IndexAwareFilter) filter).calculateEffectiveness(mapIndexes, setKeys)
+                        : nMax;
 
             if (nEffect < 0)   // there is no index to apply
                 {
                 nEffect = nMax;
                 }
 
-            aWeighted[nPos++] = new WeightedFilter(filter, nEffect);
+            aWeighted[i] = new WeightedFilter(filter, nEffect);
             }
 
         Arrays.sort(aWeighted);
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.filter;
+
+import com.tangosol.util.BitmapIndex;
+import com.tangosol.util.MapIndex;
+
+import java.util.Map;
+
+/**
+ * BitmapIndexAwareFilter is implemented by filters that can be fully
+ * evaluated against {@link BitmapIndex bitmap indexes}.
+ * <p>
+ * The selections of such filters can be combined by the composite filters
+ * using bitmap operations, without creating intermediate sets of keys.
+ *
+ * @since 25.09
+ */
+public interface BitmapIndexAwareFilter
+    {
+    /**
+     * Select the keys that match this filter using the available bitmap
+     * indexes.
+     *
+     * @param mapIndexes  the available {@link MapIndex} objects keyed by the
+     *                    related ValueExtractor; read-only
+     *
+     * @return the selection of the keys that match this filter, or null if
+     *         this filter cannot be fully evaluated using bitmap indexes
+     */
+    BitmapIndex.Selection selectKeys(Map mapIndexes);
+    }
@@ -8,6 +8,7 @@
 package com.tangosol.util.filter;
 
 
+import com.tangosol.util.BitmapIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
 import com.tangosol.util.ValueExtractor;
@@ -27,7 +28,7 @@ import java.util.Set;
 */
 public class EqualsFilter<T, E>
         extends    ComparisonFilter<T, E, E>
-        implements IndexAwareFilter<Object, T>
+        implements IndexAwareFilter<Object, T>, BitmapIndexAwareFilter
     {
     // ----- constructors ---------------------------------------------------
 
@@ -123,4 +124,16 @@ public class EqualsFilter<T, E>
             return null;
             }
         }
+    
+
+    // ----- BitmapIndexAwareFilter interface -------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public BitmapIndex.Selection selectKeys(Map mapIndexes)
+        {
+        BitmapIndex index = BitmapIndex.getBitmapIndex(mapIndexes, getValueExtractor());
+        return index == null || index.isPartial() ? null : index.select(getValue());
+        }
     }
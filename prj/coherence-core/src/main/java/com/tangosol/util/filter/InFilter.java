@@ -11,6 +11,7 @@ import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 
 import com.tangosol.util.Base;
+import com.tangosol.util.BitmapIndex;
 import com.tangosol.util.ChainedCollection;
 import com.tangosol.util.Filter;
 import com.tangosol.util.MapIndex;
@@ -36,7 +37,7 @@ import java.util.Set;
 @SuppressWarnings({"unchecked", "rawtypes"})
 public class InFilter<T, E>
         extends    ComparisonFilter<T, E, Set<? extends E>>
-        implements IndexAwareFilter<Object, T>
+        implements IndexAwareFilter<Object, T>, BitmapIndexAwareFilter
     {
     // ----- constructors ---------------------------------------------------
 
@@ -153,6 +154,12 @@ public class InFilter<T, E>
             setKeys.clear();
             return null;
             }
+        else if (index instanceof BitmapIndex && !index.isPartial())
+            {
+            // union the bitmaps instead of chaining the sets of keys
+            ((BitmapIndex) index).selectAny(getValue()).retain(setKeys);
+            return null;
+            }
         else
             {
             Map<E, Set<?>>   mapContents = index.getIndexContents();
@@ -181,6 +188,17 @@ public class InFilter<T, E>
             }
         }
 
+    // ----- BitmapIndexAwareFilter interface -------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public BitmapIndex.Selection selectKeys(Map mapIndexes)
+        {
+        BitmapIndex index = BitmapIndex.getBitmapIndex(mapIndexes, getValueExtractor());
+        return index == null || index.isPartial() ? null : index.selectAny(getValue());
+        }
+
     // ----- PortableObject interface ---------------------------------------
 
     /**
@@ -9,17 +9,25 @@ package com.tangosol.util.filter;
 
 
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
 
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
+import com.tangosol.internal.util.PartialSort;
+import com.tangosol.internal.util.VersionHelper;
+
+import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.Filter;
 import com.tangosol.util.ImmutableArrayList;
 import com.tangosol.util.InvocableMapHelper;
 import com.tangosol.util.SimpleEnumerator;
 import com.tangosol.util.SimpleMapEntry;
 
+import com.tangosol.util.comparator.SafeComparator;
+
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
@@ -31,6 +39,7 @@ import java.util.Map;
 import java.util.Set;
 
 import jakarta.json.bind.annotation.JsonbProperty;
+import jakarta.json.bind.annotation.JsonbTransient;
 
 
 /**
@@ -198,8 +207,10 @@ public class LimitFilter<T>
 
         if (nPage == 0) // "reset"
             {
-            setTopAnchor   (null);
-            setBottomAnchor(null);
+            setTopAnchor      (null);
+            setTopAnchorKey   (null);
+            setBottomAnchor   (null);
+            setBottomAnchorKey(null);
             setCookie(null);
             }
         else
@@ -207,18 +218,24 @@ public class LimitFilter<T>
             int nPageCurr = m_nPage;
             if (nPage == nPageCurr + 1)
                 {
-                setTopAnchor(getBottomAnchor());
-                setBottomAnchor(null);
+                setTopAnchor      (getBottomAnchor());
+                setTopAnchorKey   (getBottomAnchorKey());
+                setBottomAnchor   (null);
+                setBottomAnchorKey(null);
                 }
             else if (nPage == nPageCurr - 1)
                 {
-                setBottomAnchor(getTopAnchor());
-                setTopAnchor   (null);
+                setBottomAnchor   (getTopAnchor());
+                setBottomAnchorKey(getTopAnchorKey());
+                setTopAnchor      (null);
+                setTopAnchorKey   (null);
                 }
             else if (nPage != nPageCurr)
                 {
-                setTopAnchor   (null);
-                setBottomAnchor(null);
+                setTopAnchor      (null);
+                setTopAnchorKey   (null);
+                setBottomAnchor   (null);
+                setBottomAnchorKey(null);
                 }
             }
         m_nPage = nPage;
@@ -304,6 +321,70 @@ public class LimitFilter<T>
         m_oAnchorBottom = oAnchor;
         }
 
+    /**
+    * Obtain the key of the top anchor entry, which together with the
+    * {@link #getTopAnchor() top anchor} value identifies the last entry
+    * on a previous page even if several entries have the same value.
+    * <p>
+    * This method is intended to be used only by query processors. Clients
+    * should not modify the content of this property.
+    *
+    * @return the key of the top anchor entry, or null if not known
+    *
+    * @since 25.09
+    */
+    public Object getTopAnchorKey()
+        {
+        return m_oAnchorTopKey;
+        }
+
+    /**
+    * Set the key of the top anchor entry.
+    * <p>
+    * This method is intended to be used only by query processors. Clients
+    * should not modify the content of this property.
+    *
+    * @param oKey  the key of the top anchor entry
+    *
+    * @since 25.09
+    */
+    public void setTopAnchorKey(Object oKey)
+        {
+        m_oAnchorTopKey = oKey;
+        }
+
+    /**
+    * Obtain the key of the bottom anchor entry, which together with the
+    * {@link #getBottomAnchor() bottom anchor} value identifies the last
+    * entry on the current page even if several entries have the same value.
+    * <p>
+    * This method is intended to be used only by query processors. Clients
+    * should not modify the content of this property.
+    *
+    * @return the key of the bottom anchor entry, or null if not known
+    *
+    * @since 25.09
+    */
+    public Object getBottomAnchorKey()
+        {
+        return m_oAnchorBottomKey;
+        }
+
+    /**
+    * Set the key of the bottom anchor entry.
+    * <p>
+    * This method is intended to be used only by query processors. Clients
+    * should not modify the content of this property.
+    *
+    * @param oKey  the key of the bottom anchor entry
+    *
+    * @since 25.09
+    */
+    public void setBottomAnchorKey(Object oKey)
+        {
+        m_oAnchorBottomKey = oKey;
+        }
+
     /**
     * Obtain the cookie object.
     * <p>
@@ -401,7 +482,7 @@ public class LimitFilter<T>
                 // it's a repetitive request for the same page
 
                 int ofAnchor = Arrays.binarySearch(aEntry,
-                    new SimpleMapEntry(null, oAnchorTop), comparator);
+                    new SimpleMapEntry(getTopAnchorKey(), oAnchorTop), comparator);
                 int nShift  = oAnchorBottom == null ? 1 : 0;
                 int ofFirst = ofAnchor >= 0 ? ofAnchor + nShift : -ofAnchor - 1;
 // com.tangosol.net.CacheFactory.log("\n### optimize: " + cPageSize + " out of " + cEntries + " at " + ofFirst, 3);
@@ -418,7 +499,7 @@ public class LimitFilter<T>
             else if (oAnchorBottom != null)
                 {
                 int ofAnchor = Arrays.binarySearch(aEntry,
-                    new SimpleMapEntry(null, oAnchorBottom), comparator);
+                    new SimpleMapEntry(getBottomAnchorKey(), oAnchorBottom), comparator);
                 int ofAfterLast = ofAnchor >= 0 ? ofAnchor : -ofAnchor - 1;
 
                 if (ofAfterLast > 0)
@@ -438,6 +519,76 @@ public class LimitFilter<T>
         return extractPage(new SimpleEnumerator(aEntry));
         }
 
+    /**
+    * Extract a subset of the specified unsorted array to fit the filter's
+    * parameters (i.e. page size, page number and anchors).
+    * <p>
+    * The result is the same as if the array was sorted using the filter's
+    * comparator (or the natural order of the array elements if the filter
+    * has no comparator) and passed to {@link #extractPage(Object[])}, but
+    * only the entries that could be on the page are sorted: the entries
+    * outside the anchors are discarded, and the remaining ones are
+    * selected using a bounded heap, so the cost of extracting a page does
+    * not grow with the page number when the anchors are known.
+    *
+    * @param aEntry  an original unsorted array of entries; not modified
+    *
+    * @return an array of entries extracted accordingly to the filter
+    *         parameters
+    *
+    * @since 25.09
+    */
+    public Object[] selectPage(Object[] aEntry)
+        {
+        int        cPageSize     = getPageSize();
+        Comparator comparator    = getComparator();
+        Object     oAnchorTop    = getTopAnchor();
+        Object     oAnchorBottom = getBottomAnchor();
+
+        if (comparator == null || oAnchorTop == null && oAnchorBottom == null)
+            {
+            // the page is preceded by the skipped entries; see extractPage
+            int cSkip = comparator == null && oAnchorTop instanceof Integer
+                        ? ((Integer) oAnchorTop).intValue()
+                        : getPage() * cPageSize;
+
+            int cSelect = (int) Math.min(Integer.MAX_VALUE, (long) cSkip + cPageSize);
+
+            return extractPage(PartialSort.selectSmallest(aEntry, aEntry.length, cSelect,
+                    comparator == null ? SafeComparator.INSTANCE : comparator));
+            }
+
+        // only the entries between the anchors could be on the page;
+        // see extractPage(Iterator)
+        boolean   fHeading    = oAnchorTop != null;
+        boolean   fInclusive  = oAnchorTop != null && oAnchorBottom != null;
+        Map.Entry entryTop    = new SimpleMapEntry(getTopAnchorKey(), oAnchorTop);
+        Map.Entry entryBottom = new SimpleMapEntry(getBottomAnchorKey(), oAnchorBottom);
+        Object[]  aoCandidate = new Object[aEntry.length];
+        int       cCandidates = 0;
+
+        for (Object oEntry : aEntry)
+            {
+            if (fHeading)
+                {
+                int nCompare = comparator.compare(oEntry, entryTop);
+                if (fInclusive ? nCompare < 0 : nCompare <= 0)
+                    {
+                    continue;
+                    }
+                }
+            else if (comparator.compare(oEntry, entryBottom) >= 0)
+                {
+                continue;
+                }
+            aoCandidate[cCandidates++] = oEntry;
+            }
+
+        return fHeading
+               ? PartialSort.selectSmallest(aoCandidate, cCandidates, cPageSize, comparator)
+               : PartialSort.selectLargest (aoCandidate, cCandidates, cPageSize, comparator);
+        }
+
     /**
     * Extract a subset of the specified set to fit the filter's parameters
     * (i.e. page size and page number). If this filter has a comparator, the
@@ -523,8 +674,8 @@ public class LimitFilter<T>
             boolean   fInclusive  = oAnchorTop != null && oAnchorBottom != null;
             boolean   fSkip       = fHeading;
             boolean   fWrap       = false;
-            Map.Entry entryTop    = new SimpleMapEntry(null, oAnchorTop);
-            Map.Entry entryBottom = new SimpleMapEntry(null, oAnchorBottom);
+            Map.Entry entryTop    = new SimpleMapEntry(getTopAnchorKey(), oAnchorTop);
+            Map.Entry entryBottom = new SimpleMapEntry(getBottomAnchorKey(), oAnchorBottom);
 
             while (iter.hasNext())
                 {
@@ -654,6 +805,14 @@ public class LimitFilter<T>
         m_comparator    = (Comparator) readObject(in);
         m_oAnchorTop    = readObject(in);
         m_oAnchorBottom = readObject(in);
+
+        // added in 25.09
+        if (in instanceof WrapperBufferInput.VersionAwareBufferInput &&
+            ExternalizableHelper.isVersionCompatible(in, VersionHelper.VERSION_25_09))
+            {
+            m_oAnchorTopKey    = readObject(in);
+            m_oAnchorBottomKey = readObject(in);
+            }
         }
 
     /**
@@ -668,6 +827,14 @@ public class LimitFilter<T>
         writeObject(out, m_comparator);
         writeObject(out, m_oAnchorTop);
         writeObject(out, m_oAnchorBottom);
+
+        // added in 25.09
+        if (out instanceof WrapperBufferOutput.VersionAwareBufferOutput &&
+            ExternalizableHelper.isVersionCompatible(out, VersionHelper.VERSION_25_09))
+            {
+            writeObject(out, m_oAnchorTopKey);
+            writeObject(out, m_oAnchorBottomKey);
+            }
         }
 
 
@@ -683,8 +850,10 @@ public class LimitFilter<T>
         m_cPageSize     = in.readInt(1);
         m_nPage         = in.readInt(2);
         m_comparator    = (Comparator) in.readObject(3);
-        m_oAnchorTop    = in.readObject(4);
-        m_oAnchorBottom = in.readObject(5);
+        m_oAnchorTop       = in.readObject(4);
+        m_oAnchorBottom    = in.readObject(5);
+        m_oAnchorTopKey    = in.readObject(6);
+        m_oAnchorBottomKey = in.readObject(7);
         }
 
     /**
@@ -699,6 +868,8 @@ public class LimitFilter<T>
         out.writeObject(3, m_comparator);
         out.writeObject(4, m_oAnchorTop);
         out.writeObject(5, m_oAnchorBottom);
+        out.writeObject(6, m_oAnchorTopKey);
+        out.writeObject(7, m_oAnchorBottomKey);
         }
 
 
@@ -740,6 +911,18 @@ public class LimitFilter<T>
     @JsonbProperty("bottomAnchor")
     private Object m_oAnchorBottom;
 
+    /**
+    * The key of the top anchor entry.
+    */
+    @JsonbTransient
+    private Object m_oAnchorTopKey;
+
+    /**
+    * The key of the bottom anchor entry.
+    */
+    @JsonbTransient
+    private Object m_oAnchorBottomKey;
+
     /**
     * The cookie object used by the query processors to store a transient
     * state of the request (on a client side).
@@ -14,6 +14,7 @@ import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 
+import com.tangosol.util.BitmapIndex;
 import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMapHelper;
 import com.tangosol.util.MapIndex;
@@ -38,7 +39,8 @@ import jakarta.json.bind.annotation.JsonbProperty;
 */
 public class NotFilter<T>
         extends    AbstractQueryRecorderFilter<T>
-        implements EntryFilter<Object, T>, IndexAwareFilter<Object, T>, ExternalizableLite, PortableObject
+        implements EntryFilter<Object, T>, IndexAwareFilter<Object, T>, BitmapIndexAwareFilter,
+                   ExternalizableLite, PortableObject
     {
     // ----- constructors ---------------------------------------------------
 
@@ -110,6 +112,14 @@ public class NotFilter<T>
     @SuppressWarnings("unchecked")
     public Filter applyIndex(Map mapIndexes, Set setKeys)
         {
+        BitmapIndex.Selection selection = selectKeys(mapIndexes);
+        if (selection != null)
+            {
+            // the bitmap indexes fully resolve the negated filter
+            selection.retain(setKeys);
+            return null;
+            }
+
         Filter filter = m_filter;
         if (filter instanceof IndexAwareFilter)
             {
@@ -172,6 +182,23 @@ public class NotFilter<T>
         }
 
 
+    // ----- BitmapIndexAwareFilter interface -------------------------------
+
+    /**
+    * {@inheritDoc}
+    */
+    public BitmapIndex.Selection selectKeys(Map mapIndexes)
+        {
+        // the bitmap indexes used by the negated filter are never partial
+        Filter                filter    = m_filter;
+        BitmapIndex.Selection selection = filter instanceof BitmapIndexAwareFilter
+                ? ((BitmapIndexAwareFilter) filter).selectKeys(mapIndexes)
+                : null;
+
+        return selection == null ? null : selection.negate();
+        }
+
+
     // ----- helpers --------------------------------------------------------
 
     /**
@@ -0,0 +1,373 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.util.filter;
+
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.IndexStatistics;
+import com.tangosol.util.MapIndex;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+* QueryPlanner estimates the selectivity and the cost of applying filters
+* using the {@link IndexStatistics} maintained by the indexes, which allows
+* the composite filters to order their nested filters, and to decide whether
+* a nested filter is cheaper to apply using an index or to evaluate against
+* the remaining entries.
+* <p>
+* Unlike {@link IndexAwareFilter#calculateEffectiveness}, the estimates never
+* iterate over the index contents, so their cost does not depend on the
+* number of distinct values matched by a range filter.
+*
+* @since 25.09
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class QueryPlanner
+    {
+    // ----- constructors ---------------------------------------------------
+
+    /**
+    * Not instantiable.
+    */
+    private QueryPlanner()
+        {
+        }
+
+
+    // ----- QueryPlanner methods -------------------------------------------
+
+    /**
+    * Estimate the number of keys that would remain in the specified set of
+    * keys after the specified filter is applied.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    * @param setKeys     the set of keys that will be filtered; read-only
+    *
+    * @return the estimated number of matching keys, or -1 if the number
+    *         cannot be estimated using index statistics
+    */
+    static int estimateMatches(Filter filter, Map mapIndexes, Set setKeys)
+        {
+        int cKeys = setKeys.size();
+        if (cKeys == 0)
+            {
+            return 0;
+            }
+
+        double dSelectivity = estimateSelectivity(filter, mapIndexes);
+        return dSelectivity < 0.0 ? -1 : (int) Math.ceil(dSelectivity * cKeys);
+        }
+
+    /**
+    * Determine whether the specified filter should be evaluated against the
+    * remaining entries rather than applied using an index, because the index
+    * would have to visit many more mappings than there are keys remaining.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    * @param setKeys     the set of keys remaining to be filtered; read-only
+    *
+    * @return true if the filter should be evaluated against the entries
+    */
+    static boolean isScanCheaper(Filter filter, Map mapIndexes, Set setKeys)
+        {
+        if (!(filter instanceof ExtractorFilter || filter instanceof BetweenFilter))
+            {
+            return false;
+            }
+
+        MapIndex        index = getIndex(filter, mapIndexes);
+        IndexStatistics stats = index == null ? null : index.getStatistics();
+        if (stats == null || setKeys.isEmpty())
+            {
+            return false;
+            }
+
+        long cCost = estimateCost(filter, index, stats, setKeys.size());
+        if (cCost < 0L)
+            {
+            return false;
+            }
+
+        // the entries can be evaluated cheaply only if their values can be
+        // obtained from the forward index
+        Iterator iter     = setKeys.iterator();
+        boolean  fForward = iter.hasNext() && index.get(iter.next()) != MapIndex.NO_VALUE;
+        long     cScan    = (long) setKeys.size() * (fForward ? FORWARD_EVAL_COST : ExtractorFilter.EVAL_COST);
+
+        return cCost > cScan;
+        }
+
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Estimate the fraction of the keys that match the specified filter.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    *
+    * @return the estimated selectivity in the range [0, 1], or a negative
+    *         value if the selectivity cannot be estimated
+    */
+    private static double estimateSelectivity(Filter filter, Map mapIndexes)
+        {
+        if (filter instanceof NotFilter)
+            {
+            // only the non-partial indexes can be used to negate a filter
+            Filter filterNot = ((NotFilter) filter).getFilter();
+            double d         = estimateSelectivity(filterNot, mapIndexes);
+            return d < 0.0 || isPartial(filterNot, mapIndexes) ? -1.0 : 1.0 - d;
+            }
+
+        if (filter instanceof BetweenFilter)
+            {
+            return estimateExtractorSelectivity(filter, mapIndexes);
+            }
+
+        if (filter instanceof AllFilter)
+            {
+            // assume the nested filters are independent; the filters that
+            // cannot be estimated do not reduce the selectivity
+            double  dResult = 1.0;
+            boolean fKnown  = false;
+            for (Filter filterNested : ((AllFilter) filter).getFilters())
+                {
+                double d = estimateSelectivity(filterNested, mapIndexes);
+                if (d >= 0.0)
+                    {
+                    dResult *= d;
+                    fKnown   = true;
+                    }
+                }
+            return fKnown ? dResult : -1.0;
+            }
+
+        if (filter instanceof AnyFilter)
+            {
+            // any filter that cannot be estimated could match all keys
+            double dNone = 1.0;
+            for (Filter filterNested : ((AnyFilter) filter).getFilters())
+                {
+                double d = estimateSelectivity(filterNested, mapIndexes);
+                if (d < 0.0)
+                    {
+                    return -1.0;
+                    }
+                dNone *= 1.0 - d;
+                }
+            return 1.0 - dNone;
+            }
+
+        return filter instanceof ExtractorFilter
+               ? estimateExtractorSelectivity(filter, mapIndexes)
+               : -1.0;
+        }
+
+    /**
+    * Estimate the fraction of the keys that match the specified extractor
+    * based filter.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    *
+    * @return the estimated selectivity in the range [0, 1], or a negative
+    *         value if the selectivity cannot be estimated
+    */
+    private static double estimateExtractorSelectivity(Filter filter, Map mapIndexes)
+        {
+        MapIndex        index = getIndex(filter, mapIndexes);
+        IndexStatistics stats = index == null ? null : index.getStatistics();
+        if (stats == null)
+            {
+            return -1.0;
+            }
+
+        long cKeys = stats.getKeyCount();
+        if (cKeys == 0L)
+            {
+            return 0.0;
+            }
+
+        long cMatch = estimateMappings(filter, index, stats);
+        return cMatch < 0L ? -1.0 : Math.min(1.0, (double) cMatch / cKeys);
+        }
+
+    /**
+    * Estimate the number of index mappings that match the specified filter.
+    *
+    * @param filter  the filter
+    * @param index   the index used by the filter
+    * @param stats   the statistics of the index
+    *
+    * @return the estimated number of matching mappings, or -1 if the number
+    *         cannot be estimated
+    */
+    private static long estimateMappings(Filter filter, MapIndex index, IndexStatistics stats)
+        {
+        if (filter instanceof EqualsFilter)
+            {
+            return sizeOf(index, ((EqualsFilter) filter).getValue());
+            }
+
+        if (filter instanceof NotEqualsFilter)
+            {
+            return Math.max(0L, stats.getMappingCount() - sizeOf(index, ((NotEqualsFilter) filter).getValue()));
+            }
+
+        if (filter instanceof InFilter)
+            {
+            long cMatch = 0L;
+            for (Object oValue : (Collection) ((InFilter) filter).getValue())
+                {
+                cMatch += sizeOf(index, oValue);
+                }
+            return cMatch;
+            }
+
+        if (filter instanceof GreaterFilter)
+            {
+            GreaterFilter filterGreater = (GreaterFilter) filter;
+            return stats.estimateGreater(filterGreater.getValue(), filterGreater.includeEquals());
+            }
+
+        if (filter instanceof LessFilter)
+            {
+            LessFilter filterLess = (LessFilter) filter;
+            return stats.estimateLess(filterLess.getValue(), filterLess.includeEquals());
+            }
+
+        if (filter instanceof BetweenFilter)
+            {
+            BetweenFilter filterBetween = (BetweenFilter) filter;
+
+            long cBelow = stats.estimateLess(filterBetween.getLowerBound(), !filterBetween.isLowerBoundInclusive());
+            long cAbove = stats.estimateGreater(filterBetween.getUpperBound(), !filterBetween.isUpperBoundInclusive());
+            return cBelow < 0L || cAbove < 0L
+                   ? -1L
+                   : Math.max(0L, stats.getMappingCount() - cBelow - cAbove);
+            }
+
+        return -1L;
+        }
+
+    /**
+    * Estimate the number of index mappings the specified filter has to
+    * visit when applied using an index.
+    *
+    * @param filter  the filter
+    * @param index   the index used by the filter
+    * @param stats   the statistics of the index
+    * @param cKeys   the number of keys remaining to be filtered
+    *
+    * @return the estimated number of visited mappings, or -1 if the number
+    *         cannot be estimated
+    */
+    private static long estimateCost(Filter filter, MapIndex index, IndexStatistics stats, int cKeys)
+        {
+        long cMatch = estimateMappings(filter, index, stats);
+        if (cMatch < 0L)
+            {
+            return cMatch;
+            }
+
+        if (filter instanceof EqualsFilter || filter instanceof InFilter)
+            {
+            // the keys are retained by probing the smaller of the sets
+            return Math.min(cMatch, cKeys);
+            }
+
+        // a range over an unordered index has to visit every distinct value
+        return index.isOrdered() ? cMatch : cMatch + stats.getDistinctValueCount();
+        }
+
+    /**
+    * Return the index used by the specified filter.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    *
+    * @return the index used by the filter, or null if there is none
+    */
+    private static MapIndex getIndex(Filter filter, Map mapIndexes)
+        {
+        Object extractor = filter instanceof BetweenFilter
+                ? ((BetweenFilter) filter).getValueExtractor()
+                : filter instanceof ExtractorFilter
+                    ? ((ExtractorFilter) filter).getValueExtractor()
+                    : null;
+
+        return extractor == null ? null : (MapIndex) mapIndexes.get(extractor);
+        }
+
+    /**
+    * Determine whether the specified filter uses a partial index.
+    *
+    * @param filter      the filter
+    * @param mapIndexes  the available MapIndex objects keyed by the related
+    *                    ValueExtractor; read-only
+    *
+    * @return true if the filter uses a partial index
+    */
+    private static boolean isPartial(Filter filter, Map mapIndexes)
+        {
+        if (filter instanceof ArrayFilter && !(filter instanceof BetweenFilter))
+            {
+            for (Filter filterNested : ((ArrayFilter) filter).getFilters())
+                {
+                if (isPartial(filterNested, mapIndexes))
+                    {
+                    return true;
+                    }
+                }
+            return false;
+            }
+        if (filter instanceof NotFilter)
+            {
+            return isPartial(((NotFilter) filter).getFilter(), mapIndexes);
+            }
+
+        MapIndex index = getIndex(filter, mapIndexes);
+        return index != null && index.isPartial();
+        }
+
+    /**
+    * Return the number of keys associated with the specified value.
+    *
+    * @param index   the index
+    * @param oValue  the value
+    *
+    * @return the number of keys associated with the value
+    */
+    private static long sizeOf(MapIndex index, Object oValue)
+        {
+        Set setKeys = (Set) index.getIndexContents().get(oValue);
+        return setKeys == null ? 0L : setKeys.size();
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The estimated cost of evaluating a filter against an entry whose value
+    * can be obtained from the forward index, relative to the cost of
+    * visiting an index mapping.
+    */
+    static final int FORWARD_EVAL_COST = 4;
+    }
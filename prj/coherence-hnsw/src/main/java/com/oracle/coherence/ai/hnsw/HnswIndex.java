@@ -17,6 +17,8 @@ import com.oracle.coherence.hnswlib.QueryTuple;
 import com.oracle.coherence.hnswlib.SpaceName;
 import com.tangosol.io.AbstractEvolvable;
 import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.ReadBuffer;
+import com.tangosol.io.WriteBuffer;
 import com.tangosol.io.pof.EvolvablePortableObject;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
@@ -28,6 +30,7 @@ import com.tangosol.util.Filter;
 import com.tangosol.util.InvocableMap;
 import com.tangosol.util.InvocableMapHelper;
 import com.tangosol.util.MapIndex;
+import com.tangosol.util.RestorableMapIndex;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.filter.AlwaysFilter;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
@@ -40,6 +43,9 @@ import java.io.Closeable;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Objects;
@@ -48,6 +54,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static com.tangosol.net.cache.SimpleMemoryCalculator.SIZE_OBJECT_REF;
+
 /**
  * An HNSW index implementation.
  * <p/>
@@ -429,10 +437,14 @@ public class HnswIndex<K, V>
 
     /**
      * The HNSW {@link MapIndex} and {@link VectorIndex} implementation.
+     * <p/>
+     * The index can be {@link RestorableMapIndex restored} from a snapshot
+     * of the native index, so it doesn't have to be rebuilt when a partition
+     * is transferred or recovered.
      */
     @SuppressWarnings("rawtypes")
     public class HnswMapIndex
-            implements VectorIndex<K, V, Vector<float[]>>, Closeable
+            implements VectorIndex<K, V, Vector<float[]>>, RestorableMapIndex<K, V, Vector<float[]>>, Closeable
         {
         // ----- constructor ------------------------------------------------
 
@@ -505,6 +517,14 @@ public class HnswIndex<K, V>
 
         @Override
         public long getUnits()
+            {
+            // the graph and vectors are held in native memory, so only
+            // the key/label mappings are on heap
+            return (long) f_mapKeysToLabels.size() * ENTRY_OVERHEAD;
+            }
+
+        @Override
+        public long getOffHeapUnits()
             {
             return f_index.getIndexSize();
             }
@@ -516,14 +536,21 @@ public class HnswIndex<K, V>
             if (v != null)
                 {
                 Binary binKey = ((BinaryEntry) entry).getBinaryKey();
-                int    nId    = f_idGenerator.incrementAndGet();
+                if (f_mapKeysToLabels.getInt(binKey) > 0)
+                    {
+                    // the entry was restored from a snapshot
+                    update(entry);
+                    return;
+                    }
+
+                int nId = f_idGenerator.incrementAndGet();
 
                 f_lock.writeLock().lock();
                 try
                     {
                     f_mapLabelsToKeys.put(nId, binKey);
                     f_mapKeysToLabels.put(binKey, nId);
-                    f_index.addItem(v.get(), nId, true);
+                    f_index.addItem(v.get(), nId, m_fReplaceDeleted);
                     }
                 finally
                     {
@@ -543,10 +570,16 @@ public class HnswIndex<K, V>
                 {
                 if (nId > 0 && f_index.hasId(nId))
                     {
+                    if (f_index.getData(nId).map(afl -> Arrays.equals(afl, v.get())).orElse(false))
+                        {
+                        // the vector has not changed
+                        return;
+                        }
+
                     f_lock.writeLock().lock();
                     try
                         {
-                        f_index.addItem(v.get(), nId, true);
+                        f_index.addItem(v.get(), nId, m_fReplaceDeleted);
                         }
                     finally
                         {
@@ -647,6 +680,113 @@ public class HnswIndex<K, V>
                 }
             }
 
+        // ----- RestorableMapIndex interface -------------------------------
+
+        @Override
+        public void writeSnapshot(WriteBuffer.BufferOutput out) throws IOException
+            {
+            Path path = Files.createTempFile("hnsw", ".idx");
+            try
+                {
+                f_lock.readLock().lock();
+                try
+                    {
+                    f_index.save(path);
+
+                    ExternalizableHelper.writeInt(out, m_nDimension);
+                    ExternalizableHelper.writeUTF(out, m_sSpaceName);
+                    ExternalizableHelper.writeInt(out, f_idGenerator.get());
+                    ExternalizableHelper.writeInt(out, f_mapLabelsToKeys.size());
+                    for (Int2ObjectMap.Entry<Binary> entry : f_mapLabelsToKeys.int2ObjectEntrySet())
+                        {
+                        ExternalizableHelper.writeInt(out, entry.getIntKey());
+                        ExternalizableHelper.writeObject(out, entry.getValue());
+                        }
+                    }
+                finally
+                    {
+                    f_lock.readLock().unlock();
+                    }
+
+                byte[] ab = Files.readAllBytes(path);
+                ExternalizableHelper.writeInt(out, ab.length);
+                out.write(ab);
+                }
+            finally
+                {
+                Files.deleteIfExists(path);
+                }
+            }
+
+        @Override
+        public boolean readSnapshot(ReadBuffer.BufferInput in, Set<? extends K> setKeys) throws IOException
+            {
+            int    nDimension = ExternalizableHelper.readInt(in);
+            String sSpaceName = ExternalizableHelper.readSafeUTF(in);
+            if (nDimension != m_nDimension || !sSpaceName.equalsIgnoreCase(m_sSpaceName))
+                {
+                return false;
+                }
+
+            int                   nLastId   = ExternalizableHelper.readInt(in);
+            int                   cLabels   = ExternalizableHelper.readInt(in);
+            Int2ObjectMap<Binary> mapLabels = new Int2ObjectOpenHashMap<>(cLabels);
+            for (int i = 0; i < cLabels; i++)
+                {
+                int    nId    = ExternalizableHelper.readInt(in);
+                Binary binKey = ExternalizableHelper.readObject(in);
+                mapLabels.put(nId, binKey);
+                }
+
+            byte[] ab = new byte[ExternalizableHelper.readInt(in)];
+            in.readFully(ab);
+
+            Path path = Files.createTempFile("hnsw", ".idx");
+            try
+                {
+                Files.write(path, ab);
+
+                f_lock.writeLock().lock();
+                try
+                    {
+                    f_index.load(path, m_cMaxElements);
+                    f_index.setEf(m_nEfSearch);
+
+                    // the native library does not allow deleted elements to be
+                    // replaced in a loaded index
+                    m_fReplaceDeleted = false;
+
+                    f_mapLabelsToKeys.clear();
+                    f_mapKeysToLabels.clear();
+                    for (Int2ObjectMap.Entry<Binary> entry : mapLabels.int2ObjectEntrySet())
+                        {
+                        int    nId    = entry.getIntKey();
+                        Binary binKey = entry.getValue();
+                        if (setKeys.contains(binKey))
+                            {
+                            f_mapLabelsToKeys.put(nId, binKey);
+                            f_mapKeysToLabels.put(binKey, nId);
+                            }
+                        else
+                            {
+                            f_index.markDeleted(nId);
+                            }
+                        }
+                    f_idGenerator.set(nLastId);
+                    }
+                finally
+                    {
+                    f_lock.writeLock().unlock();
+                    }
+                }
+            finally
+                {
+                Files.deleteIfExists(path);
+                }
+
+            return true;
+            }
+
         // ----- Closeable interface ----------------------------------------
 
         @Override
@@ -673,6 +813,14 @@ public class HnswIndex<K, V>
                 }
             }
 
+        // ----- constants --------------------------------------------------
+
+        /**
+         * The heap cost of the key/label mappings for each entry: two open
+         * hash map entries, each holding an object reference and an int.
+         */
+        private static final int ENTRY_OVERHEAD = 2 * (SIZE_OBJECT_REF + 4);
+
         // ----- data members -----------------------------------------------
 
         private final BackingMapContext f_backingMapContext;
@@ -681,6 +829,12 @@ public class HnswIndex<K, V>
         private final Int2ObjectMap<Binary> f_mapLabelsToKeys;
         private final Object2IntMap<Binary> f_mapKeysToLabels;
         private final ReadWriteLock f_lock = new ReentrantReadWriteLock();
+
+        /**
+         * Whether elements marked as deleted can be replaced by new ones,
+         * which is not supported once the index has been restored.
+         */
+        private volatile boolean m_fReplaceDeleted = true;
         }
 
     // ----- constants ------------------------------------------------------
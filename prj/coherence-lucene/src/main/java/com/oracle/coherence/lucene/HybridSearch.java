@@ -0,0 +1,692 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.DistanceAlgorithm;
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
+import com.oracle.coherence.ai.search.ConverterResult;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.tangosol.internal.util.PartitionedStreamer;
+import com.tangosol.io.ExternalizableLite;
+import com.tangosol.io.pof.PofReader;
+import com.tangosol.io.pof.PofWriter;
+import com.tangosol.io.pof.PortableObject;
+import com.tangosol.util.Binary;
+import com.tangosol.util.Converter;
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.Streamer;
+import com.tangosol.util.ValueExtractor;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.lucene.search.Query;
+
+/**
+ * A Coherence aggregator that performs hybrid search, combining full-text search
+ * using Lucene with vector similarity search, in a single distributed call.
+ * <p>
+ * Each partition is searched using both its {@link LuceneIndex} and its vector
+ * index (or a brute force scan, if there is no vector index), and the two sets
+ * of candidates are merged across partitions the same way {@link LuceneSearch}
+ * and {@link SimilaritySearch} merge them. The final ranking fuses the rank of
+ * each candidate in both result sets, using either reciprocal rank fusion
+ * (the default), or a weighted sum of the normalized scores.
+ * <p>
+ * The score of each returned {@link QueryResult} is the fused score, and the
+ * results are ordered from the highest to the lowest score.
+ *
+ * @param <K> the type of cache entry keys
+ * @param <V> the type of cache entry values
+ * @param <T> the type of the vector
+ *
+ * @since 25.09
+ */
+public class HybridSearch<K, V, T>
+        implements InvocableMap.StreamingAggregator<K, V, HybridSearch.PartialResult, List<QueryResult<K, V>>>,
+                   ExternalizableLite, PortableObject
+    {
+    /**
+     * Default constructor required for serialization.
+     */
+    public HybridSearch()
+        {
+        }
+
+    /**
+     * Constructs a new HybridSearch instance.
+     *
+     * @param textExtractor    the extractor to use to obtain searchable text from cache values
+     * @param query            the Lucene query to execute
+     * @param vectorExtractor  the extractor to use to obtain the vector from cache values
+     * @param vector           the vector to calculate similarity with
+     * @param nMaxResults      the maximum number of results to return
+     */
+    public HybridSearch(ValueExtractor<? super V, String> textExtractor, Query query,
+                        ValueExtractor<? super V, ? extends Vector<T>> vectorExtractor, Vector<T> vector, int nMaxResults)
+        {
+        this(new LuceneSearch<>(textExtractor, query, nMaxResults),
+             new SimilaritySearch<>(vectorExtractor, vector, nMaxResults),
+             nMaxResults, DEFAULT_RANK_CONSTANT, -1.0f);
+        }
+
+    /**
+     * Private constructor for internal use.
+     *
+     * @param lexicalSearch   the full-text search to execute
+     * @param vectorSearch    the similarity search to execute
+     * @param nMaxResults     the maximum number of results
+     * @param nRankConstant   the reciprocal rank fusion constant
+     * @param flVectorWeight  the weight of the vector score, or a negative
+     *                        value to use reciprocal rank fusion
+     */
+    private HybridSearch(LuceneSearch<K, V> lexicalSearch, SimilaritySearch<K, V, T> vectorSearch,
+                         int nMaxResults, int nRankConstant, float flVectorWeight)
+        {
+        m_lexicalSearch  = lexicalSearch;
+        m_vectorSearch   = vectorSearch;
+        m_nMaxResults    = nMaxResults;
+        m_nRankConstant  = nRankConstant;
+        m_flVectorWeight = flVectorWeight;
+        }
+
+    // ---- fluent API ------------------------------------------------------
+
+    /**
+     * Set the {@link Filter filter} to use to limit the set of entries to search.
+     *
+     * @param filter  the filter to use
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> filter(Filter<?> filter)
+        {
+        m_lexicalSearch.filter(filter);
+        m_vectorSearch.filter(filter);
+        return this;
+        }
+
+    /**
+     * Set the {@link DistanceAlgorithm algorithm} to use for distance calculation between vectors.
+     *
+     * @param algorithm  the distance algorithm to use
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> algorithm(DistanceAlgorithm<T> algorithm)
+        {
+        m_vectorSearch.algorithm(algorithm);
+        return this;
+        }
+
+    /**
+     * Fuse the full-text and vector rankings using reciprocal rank fusion,
+     * which scores each result as the sum of {@code 1 / (nRankConstant + rank)}
+     * over both rankings.
+     * <p>
+     * This is the default, with a rank constant of {@value #DEFAULT_RANK_CONSTANT}.
+     *
+     * @param nRankConstant  the rank constant, which reduces the impact of
+     *                       the highest ranks as it increases
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> reciprocalRankFusion(int nRankConstant)
+        {
+        if (nRankConstant < 0)
+            {
+            throw new IllegalArgumentException("The rank constant must not be negative: " + nRankConstant);
+            }
+        m_nRankConstant  = nRankConstant;
+        m_flVectorWeight = -1.0f;
+        return this;
+        }
+
+    /**
+     * Fuse the full-text and vector rankings using a weighted sum of their
+     * scores, both of which are normalized to the {@code [0, 1]} range.
+     *
+     * @param flVectorWeight  the weight of the vector score, between 0 and 1;
+     *                        the full-text score is weighted by the remainder
+     *
+     * @return this instance
+     */
+    public HybridSearch<K, V, T> weighted(float flVectorWeight)
+        {
+        if (flVectorWeight < 0.0f || flVectorWeight > 1.0f)
+            {
+            throw new IllegalArgumentException("The vector weight must be between 0 and 1: " + flVectorWeight);
+            }
+        m_flVectorWeight = flVectorWeight;
+        return this;
+        }
+
+    // ---- accessors -------------------------------------------------------
+
+    /**
+     * Returns the full-text search executed by this hybrid search.
+     *
+     * @return the full-text search
+     */
+    public LuceneSearch<K, V> getLexicalSearch()
+        {
+        return m_lexicalSearch;
+        }
+
+    /**
+     * Returns the vector similarity search executed by this hybrid search.
+     *
+     * @return the vector similarity search
+     */
+    public SimilaritySearch<K, V, T> getVectorSearch()
+        {
+        return m_vectorSearch;
+        }
+
+    /**
+     * Returns the maximum number of results to return.
+     *
+     * @return the maximum number of results
+     */
+    public int getMaxResults()
+        {
+        return m_nMaxResults;
+        }
+
+    /**
+     * Returns the reciprocal rank fusion constant.
+     *
+     * @return the reciprocal rank fusion constant
+     */
+    public int getRankConstant()
+        {
+        return m_nRankConstant;
+        }
+
+    /**
+     * Returns the weight of the vector score, or a negative value if the
+     * rankings are fused using reciprocal rank fusion.
+     *
+     * @return the weight of the vector score
+     */
+    public float getVectorWeight()
+        {
+        return m_flVectorWeight;
+        }
+
+    // ---- StreamingAggregator interface -----------------------------------
+
+    /**
+     * Returns the characteristics of this aggregator.
+     * This implementation supports parallel execution, partition-level
+     * processing, and allows for inconsistencies during execution.
+     *
+     * @return the characteristics bit mask
+     */
+    @Override
+    public int characteristics()
+        {
+        return PARALLEL | BY_PARTITION | ALLOW_INCONSISTENCIES;
+        }
+
+    /**
+     * Creates a new instance of this aggregator for parallel execution.
+     *
+     * @return a new HybridSearch instance with the same configuration
+     */
+    @Override
+    public InvocableMap.StreamingAggregator<K, V, PartialResult, List<QueryResult<K, V>>> supply()
+        {
+        return new HybridSearch<>((LuceneSearch<K, V>) m_lexicalSearch.supply(),
+                                  (SimilaritySearch<K, V, T>) m_vectorSearch.supply(),
+                                  m_nMaxResults, m_nRankConstant, m_flVectorWeight);
+        }
+
+    /**
+     * Processes a stream of entries, usually from a single partition.
+     * <p>
+     * The streamer is passed to the vector similarity search, which uses
+     * the vector index of each partition if there is one, and scans the
+     * entries otherwise. If the streamer exposes its partitions, the
+     * full-text search is executed against the Lucene index of each of them
+     * directly; otherwise it is executed against the Lucene index of each
+     * partition the first time an entry from that partition is encountered.
+     *
+     * @param streamer the streamer providing access to partition entries
+     *
+     * @return the result of the vector similarity search
+     */
+    @Override
+    public boolean accumulate(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer)
+        {
+        if (streamer instanceof PartitionedStreamer && streamer.isAllInclusive())
+            {
+            // the full-text search does not consume any of the entries
+            m_lexicalSearch.accumulate(streamer);
+            return m_vectorSearch.accumulate(streamer);
+            }
+        return m_vectorSearch.accumulate(new PartitionStreamer<>(streamer));
+        }
+
+    /**
+     * Not supported by this implementation.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean accumulate(InvocableMap.Entry<? extends K, ? extends V> entry)
+        {
+        throw new UnsupportedOperationException();
+        }
+
+    /**
+     * Combines partial results from multiple partitions.
+     *
+     * @param partialResult the partial result to combine
+     *
+     * @return true to continue processing
+     */
+    @Override
+    public boolean combine(PartialResult partialResult)
+        {
+        if (partialResult != null)
+            {
+            m_lexicalSearch.combine(partialResult.lexical());
+            m_vectorSearch.combine(partialResult.vector());
+            }
+        return true;
+        }
+
+    /**
+     * Returns the partial results collected so far.
+     *
+     * @return the full-text and vector search candidates
+     */
+    @Override
+    public PartialResult getPartialResult()
+        {
+        return new PartialResult(m_lexicalSearch.getPartialResult(), m_vectorSearch.getPartialResult());
+        }
+
+    /**
+     * Not supported by this implementation.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public List<QueryResult<K, V>> finalizeResult()
+        {
+        throw new UnsupportedOperationException();
+        }
+
+    /**
+     * Finalizes the search results by ranking the full-text and vector
+     * search candidates globally, and fusing both rankings.
+     *
+     * @param converterBin the converter to use for binary-to-object conversion
+     *
+     * @return list of query results ordered by their fused score
+     */
+    @Override
+    public List<QueryResult<K, V>> finalizeResult(Converter<Binary, ?> converterBin)
+        {
+        List<QueryResult<K, V>> listLexical = m_lexicalSearch.finalizeResult(converterBin);
+        List<QueryResult<K, V>> listVector  = m_vectorSearch.finalizeResult(converterBin);
+
+        if (listLexical.isEmpty() && listVector.isEmpty())
+            {
+            return Collections.emptyList();
+            }
+
+        Map<Binary, Fused> mapFused = new HashMap<>();
+        if (m_flVectorWeight < 0.0f)
+            {
+            // full-text results are ordered by descending score, and vector
+            // results by ascending distance, so in both cases by rank
+            fuseRanks(mapFused, listLexical);
+            fuseRanks(mapFused, listVector);
+            }
+        else
+            {
+            // full-text scores are already normalized by the full-text search
+            for (QueryResult<K, V> result : listLexical)
+                {
+                fused(mapFused, result).m_dScore += (1.0f - m_flVectorWeight) * result.getDistance();
+                }
+            fuseDistances(mapFused, listVector, m_flVectorWeight);
+            }
+
+        List<Fused> listFused = new ArrayList<>(mapFused.values());
+        listFused.sort((f1, f2) -> Double.compare(f2.m_dScore, f1.m_dScore));
+
+        int                     cResults    = Math.min(m_nMaxResults, listFused.size());
+        List<QueryResult<K, V>> listResults = new ArrayList<>(cResults);
+        for (int i = 0; i < cResults; i++)
+            {
+            Fused             fused  = listFused.get(i);
+            BinaryQueryResult result = fused.m_result;
+
+            listResults.add(new ConverterResult<>(new BinaryQueryResult(fused.m_dScore, result.getKey(), result.getValue()),
+                                                  converterBin));
+            }
+        return listResults;
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Add the reciprocal rank fusion score of each of the specified results
+     * to the fused scores.
+     *
+     * @param mapFused    the fused scores, keyed by binary key
+     * @param listRanked  the results, ordered by rank
+     */
+    private void fuseRanks(Map<Binary, Fused> mapFused, List<QueryResult<K, V>> listRanked)
+        {
+        int nRank = 1;
+        for (QueryResult<K, V> result : listRanked)
+            {
+            fused(mapFused, result).m_dScore += 1.0d / (m_nRankConstant + nRank++);
+            }
+        }
+
+    /**
+     * Add the weighted score of each of the specified vector search results
+     * to the fused scores, where the closest result scores 1 and the
+     * furthest one scores 0.
+     *
+     * @param mapFused    the fused scores, keyed by binary key
+     * @param listVector  the vector search results, ordered by distance
+     * @param flWeight    the weight of the vector scores
+     */
+    private void fuseDistances(Map<Binary, Fused> mapFused, List<QueryResult<K, V>> listVector, float flWeight)
+        {
+        if (listVector.isEmpty())
+            {
+            return;
+            }
+
+        double dMin   = listVector.get(0).getDistance();
+        double dRange = listVector.get(listVector.size() - 1).getDistance() - dMin;
+        for (QueryResult<K, V> result : listVector)
+            {
+            double dScore = dRange > 0.0d ? 1.0d - (result.getDistance() - dMin) / dRange : 1.0d;
+            fused(mapFused, result).m_dScore += flWeight * dScore;
+            }
+        }
+
+    /**
+     * Return the fused score holder for the specified result, creating it
+     * if necessary.
+     *
+     * @param mapFused  the fused scores, keyed by binary key
+     * @param result    the result
+     *
+     * @return the fused score holder for the result
+     */
+    private static Fused fused(Map<Binary, Fused> mapFused, QueryResult<?, ?> result)
+        {
+        BinaryQueryResult resultBin = ((ConverterResult<?, ?>) result).getBinaryQueryResult();
+        return mapFused.computeIfAbsent(resultBin.getKey(), k -> new Fused(resultBin));
+        }
+
+    // ----- PortableObject interface ---------------------------------------
+
+    @Override
+    public void readExternal(PofReader in) throws IOException
+        {
+        m_lexicalSearch  = in.readObject(0);
+        m_vectorSearch   = in.readObject(1);
+        m_nMaxResults    = in.readInt(2);
+        m_nRankConstant  = in.readInt(3);
+        m_flVectorWeight = in.readFloat(4);
+        }
+
+    @Override
+    public void writeExternal(PofWriter out) throws IOException
+        {
+        out.writeObject(0, m_lexicalSearch);
+        out.writeObject(1, m_vectorSearch);
+        out.writeInt(2, m_nMaxResults);
+        out.writeInt(3, m_nRankConstant);
+        out.writeFloat(4, m_flVectorWeight);
+        }
+
+    // ----- ExternalizableLite interface -----------------------------------
+
+    @Override
+    public void readExternal(DataInput in) throws IOException
+        {
+        throw new IOException("HybridSearch requires POF serialization");
+        }
+
+    @Override
+    public void writeExternal(DataOutput out) throws IOException
+        {
+        throw new IOException("HybridSearch requires POF serialization");
+        }
+
+    // ---- inner class: PartitionStreamer ----------------------------------
+
+    /**
+     * A {@link Streamer} that executes the full-text search against the
+     * Lucene index of each partition the first time an entry from that
+     * partition is returned.
+     *
+     * @param <E> the type of the streamed entries
+     */
+    private class PartitionStreamer<E extends InvocableMap.Entry<? extends K, ? extends V>>
+            implements Streamer<E>
+        {
+        /**
+         * Constructs a PartitionStreamer.
+         *
+         * @param streamer the streamer to delegate to
+         */
+        PartitionStreamer(Streamer<E> streamer)
+            {
+            f_streamer = streamer;
+            }
+
+        @Override
+        public boolean hasNext()
+            {
+            return f_streamer.hasNext();
+            }
+
+        @Override
+        public E next()
+            {
+            E   entry = f_streamer.next();
+            int nPart = entry.asBinaryEntry().getKeyPartition();
+            if (!f_bsSearched.get(nPart))
+                {
+                f_bsSearched.set(nPart);
+                m_lexicalSearch.searchPartition(entry.asBinaryEntry());
+                }
+            return entry;
+            }
+
+        @Override
+        public long size()
+            {
+            return f_streamer.size();
+            }
+
+        @Override
+        public int characteristics()
+            {
+            return f_streamer.characteristics();
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The streamer to delegate to.
+         */
+        private final Streamer<E> f_streamer;
+
+        /**
+         * The partitions the full-text search has been executed against.
+         */
+        private final BitSet f_bsSearched = new BitSet();
+        }
+
+    // ---- inner class: Fused ----------------------------------------------
+
+    /**
+     * The fused score of a single result.
+     */
+    private static class Fused
+        {
+        /**
+         * Constructs a Fused score holder.
+         *
+         * @param result the result to hold the fused score of
+         */
+        Fused(BinaryQueryResult result)
+            {
+            m_result = result;
+            }
+
+        /**
+         * The result.
+         */
+        final BinaryQueryResult m_result;
+
+        /**
+         * The fused score.
+         */
+        double m_dScore;
+        }
+
+    // ---- inner class: PartialResult --------------------------------------
+
+    /**
+     * PartialResult encapsulates the full-text and vector search candidates
+     * collected from one or more partitions during distributed hybrid search
+     * aggregation.
+     */
+    public static class PartialResult
+            implements PortableObject
+        {
+        /**
+         * Deserialization constructor.
+         */
+        @SuppressWarnings("unused")
+        public PartialResult()
+            {
+            }
+
+        /**
+         * Constructs a PartialResult with the given candidates.
+         *
+         * @param lexical  the full-text search candidates
+         * @param vector   the vector search candidates
+         */
+        public PartialResult(LuceneSearch.PartialResult lexical, List<BinaryQueryResult> vector)
+            {
+            m_lexical = lexical;
+            m_vector  = vector;
+            }
+
+        // ---- accessors ---------------------------------------------------
+
+        /**
+         * Returns the full-text search candidates, or {@code null} if no
+         * partition was searched.
+         *
+         * @return the full-text search candidates
+         */
+        public LuceneSearch.PartialResult lexical()
+            {
+            return m_lexical;
+            }
+
+        /**
+         * Returns the vector search candidates.
+         *
+         * @return the vector search candidates
+         */
+        public List<BinaryQueryResult> vector()
+            {
+            return m_vector;
+            }
+
+        // ---- PortableObject interface ------------------------------------
+
+        @Override
+        public void readExternal(PofReader in) throws IOException
+            {
+            m_lexical = in.readObject(0);
+            m_vector  = in.readCollection(1, new ArrayList<>());
+            }
+
+        @Override
+        public void writeExternal(PofWriter out) throws IOException
+            {
+            out.writeObject(0, m_lexical);
+            out.writeCollection(1, m_vector);
+            }
+
+        // ---- data members ------------------------------------------------
+
+        /**
+         * The full-text search candidates.
+         */
+        private LuceneSearch.PartialResult m_lexical;
+
+        /**
+         * The vector search candidates.
+         */
+        private List<BinaryQueryResult> m_vector;
+        }
+
+    // ---- constants -------------------------------------------------------
+
+    /**
+     * The default reciprocal rank fusion constant.
+     */
+    public static final int DEFAULT_RANK_CONSTANT = 60;
+
+    // ---- data members ----------------------------------------------------
+
+    /**
+     * The full-text search to execute.
+     */
+    protected LuceneSearch<K, V> m_lexicalSearch;
+
+    /**
+     * The vector similarity search to execute.
+     */
+    protected SimilaritySearch<K, V, T> m_vectorSearch;
+
+    /**
+     * The maximum number of results to return.
+     */
+    protected int m_nMaxResults;
+
+    /**
+     * The reciprocal rank fusion constant.
+     */
+    protected int m_nRankConstant;
+
+    /**
+     * The weight of the vector score when the rankings are fused using a
+     * weighted sum, or a negative value to use reciprocal rank fusion.
+     */
+    protected float m_flVectorWeight;
+    }
@@ -32,7 +32,6 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.lucene.analysis.Analyzer;
@@ -157,7 +156,11 @@ public class LuceneIndex<K, V>
     /**
      * Sets the supplier of Lucene Directory to use for this index.
      * <p>
-     * The supplier must return a unique Directory instance for each partition.
+     * The supplier is called with the ID of the partition the index is created
+     * for, and must return a unique Directory instance for each partition.
+     * The same partition ID may be passed again when a partition is transferred
+     * back to a member, in which case the existing contents of the directory
+     * are discarded and the partition's index is rebuilt.
      * This allows for custom directory implementations, such as {@link FSDirectory}
      * or {@link MMapDirectory} for disk-based storage or custom off-heap implementations.
      * <p>
@@ -261,7 +264,9 @@ public class LuceneIndex<K, V>
     // ---- IndexAwareExtractor interface -----------------------------------
     
     /**
-     * Creates a new Lucene-based MapIndex instance.
+     * Creates a new Lucene-based MapIndex instance that is not associated
+     * with a single partition, and is therefore backed by an on-heap
+     * {@link ByteBuffersDirectory}.
      *
      * @param fOrdered    unused (maintained for compatibility with MapIndex interface)
      * @param comparator  unused (maintained for compatibility with MapIndex interface)
@@ -271,13 +276,40 @@ public class LuceneIndex<K, V>
      * @return a new LuceneMapIndex instance
      */
     public MapIndex<K, V, String> createIndex(boolean fOrdered, Comparator comparator, Map<ValueExtractor<V, String>, MapIndex> map, BackingMapContext ctx)
+        {
+        return createIndex(fOrdered, comparator, map, ctx, -1);
+        }
+
+    /**
+     * Creates a new Lucene-based MapIndex instance for the specified partition.
+     * <p>
+     * The index is written into the {@link Directory} returned by the configured
+     * {@link #directory(Remote.Function) directory supplier} for the partition.
+     * Because the same directory may be handed out again when a partition that
+     * was transferred away returns to this member, any existing contents of the
+     * directory are discarded and the index is rebuilt from the partition's
+     * entries.
+     *
+     * @param fOrdered    unused (maintained for compatibility with MapIndex interface)
+     * @param comparator  unused (maintained for compatibility with MapIndex interface)
+     * @param map         the map of extractors to indices
+     * @param ctx         the backing map context
+     * @param nPartition  the partition to create the index for, or -1 if the
+     *                    index is not associated with a single partition
+     *
+     * @return a new LuceneMapIndex instance
+     */
+    public MapIndex<K, V, String> createIndex(boolean fOrdered, Comparator comparator, Map<ValueExtractor<V, String>, MapIndex> map, BackingMapContext ctx, int nPartition)
         {
         try
             {
             Analyzer  analyzer  = m_config.analyzerSupplier().get();
-            Directory directory = m_config.directorySupplier().apply(COUNTER.getAndIncrement());  // TODO: replace with actual partition ID once available
+            Directory directory = nPartition < 0
+                                  ? new ByteBuffersDirectory()
+                                  : m_config.directorySupplier().apply(nPartition);
 
             IndexWriterConfig config = new IndexWriterConfig(analyzer);
+            config.setOpenMode(IndexWriterConfig.OpenMode.CREATE);
             m_config.writerConfigurer().accept(config);
 
             IndexWriter    writer = new IndexWriter(directory, config);
@@ -603,12 +635,8 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.addDocument(doc);
                 
-                // Only flush and refresh if not in batch mode
-                if (!m_batchMode)
-                    {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
-                    }
+                // defer the refresh of the searcher until the next search
+                m_fDirty = true;
                 }
             catch (IOException e)
                 {
@@ -648,12 +676,8 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.updateDocument(new Term("key", keyTerm), doc);
                 
-                // Only flush and refresh if not in batch mode
-                if (!m_batchMode)
-                    {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
-                    }
+                // defer the refresh of the searcher until the next search
+                m_fDirty = true;
                 }
             catch (IOException e)
                 {
@@ -687,12 +711,8 @@ public class LuceneIndex<K, V>
 
                 f_indexWriter.deleteDocuments(new Term("key", keyTerm));
                 
-                // Only flush and refresh if not in batch mode
-                if (!m_batchMode)
-                    {
-                    f_indexWriter.flush();
-                    f_searcherManager.maybeRefresh();
-                    }
+                // defer the refresh of the searcher until the next search
+                m_fDirty = true;
                 }
             catch (IOException e)
                 {
@@ -738,7 +758,7 @@ public class LuceneIndex<K, V>
                         {
                         Document doc       = searcher.storedFields().document(sd.doc);
                         BytesRef bytesKey  = doc.getBinaryValue("key");
-                        Binary   binKey    = new Binary(bytesKey.bytes);
+                        Binary   binKey    = new Binary(bytesKey.bytes, bytesKey.offset, bytesKey.length);
 
                         mapResults.put(binKey, sd.score);
                         }
@@ -925,6 +945,13 @@ public class LuceneIndex<K, V>
          */
         IndexSearcher getSearcher() throws IOException
             {
+            if (m_fDirty && !m_batchMode)
+                {
+                // clear the flag before refreshing, so that a concurrent
+                // write is either included or flags the next refresh
+                m_fDirty = false;
+                f_searcherManager.maybeRefreshBlocking();
+                }
             return f_searcherManager.acquire();
             }
 
@@ -983,6 +1010,15 @@ public class LuceneIndex<K, V>
          */
         private boolean m_batchMode;
 
+        /**
+         * Indicates whether the index has been modified since the searcher was
+         * last refreshed.
+         * Rather than refreshing the searcher after every write, writes only set
+         * this flag and the next search refreshes the searcher once, which
+         * batches the cost of a refresh across all writes between searches.
+         */
+        private volatile boolean m_fDirty;
+
         /**
          * The original RAM buffer size (in MB) of the IndexWriter before entering batch mode.
          * This value is saved when batch mode is enabled and restored when batch mode ends or is aborted.
@@ -1175,12 +1211,6 @@ public class LuceneIndex<K, V>
      */
     private static final Map<Binary, Float> EMPTY_RESULT = Collections.emptyMap();
 
-    /**
-     * A counter that will be used to provide unique partition IDs within the JVM
-     * until we add support for partition IDs to createIndex.
-     */
-    private static final AtomicInteger COUNTER = new AtomicInteger();
-
     // ----- data members ---------------------------------------------------
 
     /**
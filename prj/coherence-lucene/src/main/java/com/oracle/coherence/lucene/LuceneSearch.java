@@ -10,11 +10,13 @@ package com.oracle.coherence.lucene;
 import com.oracle.coherence.ai.QueryResult;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
 import com.oracle.coherence.ai.search.ConverterResult;
+import com.tangosol.internal.util.PartitionedStreamer;
 import com.tangosol.io.ExternalizableLite;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
 import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.partition.PartitionSet;
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.Converter;
@@ -28,6 +30,7 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -182,54 +185,57 @@ public class LuceneSearch<K, V>
         }
 
     /**
-     * Processes a stream of entries from a single partition.
-     * This method executes the Lucene query against the partition's local index
-     * and collects matching entries.
+     * Processes a stream of entries.
+     * This method executes the Lucene query against the local index of each
+     * partition in the stream and collects matching entries.
      *
      * @param streamer the streamer providing access to partition entries
      *
-     * @return false to indicate that streaming can stop after processing the first entry
+     * @return false to indicate that streaming can stop
      */
-    @SuppressWarnings("unchecked")
     @Override
     public boolean accumulate(Streamer<? extends InvocableMap.Entry<? extends K, ? extends V>> streamer)
         {
-        // As we have BY_PARTITION characteristic, the streamer should contain entries from a single partition.
-        // This allows us to just look at a single entry to get the partition and then execute the query on
-        // the index for just that partition.
-        if (streamer.hasNext())
+        // A partitioned streamer over all entries of its partitions allows us to execute the query on the
+        // index of each streamed partition directly, without walking any of the entries
+        if (streamer instanceof PartitionedStreamer && streamer.isAllInclusive())
             {
-            BinaryEntry<? extends K, ? extends V> binEntry = streamer.next().asBinaryEntry();
-            BackingMapContext ctx = binEntry.getBackingMapContext();
+            PartitionedStreamer<?> streamerPart = (PartitionedStreamer<?>) streamer;
+            BackingMapContext      ctx          = streamerPart.getBackingMapContext();
+            PartitionSet           parts        = streamerPart.getPartitions();
 
-            MapIndex<K, V, String> mapIndex = binEntry.getIndexMap().get(m_extractor);
-            if (mapIndex == null)
+            for (int iPart = parts.next(0); iPart >= 0; iPart = parts.next(iPart + 1))
                 {
-                throw new IllegalStateException("LuceneIndex for the extractor %s does not exist, and needs to be added.".formatted(m_extractor.getCanonicalName()));
+                searchPartition(ctx, ctx.getIndexMap(iPart));
                 }
+            return false;
+            }
+
+        // Otherwise, as we have BY_PARTITION characteristic, the streamer will usually contain entries from a
+        // single partition, which allows us to just look at a single entry to get the partition and then execute
+        // the query on the index for just that partition. However, if the aggregation is not executed in
+        // parallel (for example, when the fork-join pool is disabled) the streamer will contain entries from
+        // all partitions, so we need to execute the query on the index of each partition exactly once.
+        if (streamer.hasNext())
+            {
+            BinaryEntry<? extends K, ? extends V> binEntry = streamer.next().asBinaryEntry();
+            searchPartition(binEntry);
+
+            int    nPartLast  = binEntry.getKeyPartition();
+            BitSet bsSearched = new BitSet();
+            bsSearched.set(nPartLast);
 
-            // we want to collect binary keys and values that satisfy the query, but don't really care
-            // about partition-level scores, as we'll re-execute the query and obtain globally scored
-            // results within finalizeResults below
-            if (mapIndex instanceof LuceneIndex<K, V>.LuceneMapIndex idx)
+            while (streamer.hasNext())
                 {
-                // get config from the index, so we can include it within the partial result
-                m_config = idx.config();
+                binEntry = streamer.next().asBinaryEntry();
 
-                // perform search and post-process results
-                Map<Binary, Float> mapResults = idx.search(m_query, m_nMaxResults);
-                for (Binary binKey : mapResults.keySet())
+                int nPart = binEntry.getKeyPartition();
+                if (nPart != nPartLast && !bsSearched.get(nPart))
                     {
-                    BinaryEntry<? extends K, ? extends V> e = (BinaryEntry<? extends K, ? extends V>) ctx.getReadOnlyEntry(binKey);
-                    if (m_filter == null || InvocableMapHelper.evaluateEntry(m_filter, e))
-                        {
-                        m_mapResults.put(binKey, e.getBinaryValue());
-                        }
+                    bsSearched.set(nPart);
+                    searchPartition(binEntry);
                     }
-                }
-            else
-                {
-                throw new IllegalStateException("Index for the extractor %s is not LuceneIndex. Full-text search is not supported".formatted(m_extractor.getCanonicalName()));
+                nPartLast = nPart;
                 }
             }
         return false; // we return false because we have done everything, we do not need to iterate over entries
@@ -245,6 +251,60 @@ public class LuceneSearch<K, V>
         throw new UnsupportedOperationException();
         }
 
+    /**
+     * Executes the query against the index of the partition the specified
+     * entry belongs to, and collects matching entries.
+     *
+     * @param binEntry  an entry from the partition to search
+     */
+    protected void searchPartition(BinaryEntry<? extends K, ? extends V> binEntry)
+        {
+        searchPartition(binEntry.getBackingMapContext(), binEntry.getIndexMap());
+        }
+
+    /**
+     * Executes the query against the Lucene index in the specified partition
+     * indexes, and collects matching entries.
+     *
+     * @param ctx          the context of the cache being searched
+     * @param mapIndexAll  the indexes of the partition to search
+     *
+     * @since 25.09
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected void searchPartition(BackingMapContext ctx, Map<ValueExtractor, MapIndex> mapIndexAll)
+        {
+        MapIndex<K, V, String> mapIndex = mapIndexAll.get(m_extractor);
+        if (mapIndex == null)
+            {
+            throw new IllegalStateException("LuceneIndex for the extractor %s does not exist, and needs to be added.".formatted(m_extractor.getCanonicalName()));
+            }
+
+        // we want to collect binary keys and values that satisfy the query, but don't really care
+        // about partition-level scores, as we'll re-execute the query and obtain globally scored
+        // results within finalizeResults below
+        if (mapIndex instanceof LuceneIndex<K, V>.LuceneMapIndex idx)
+            {
+            // get config from the index, so we can include it within the partial result
+            m_config = idx.config();
+
+            // perform search and post-process results
+            Map<Binary, Float> mapResults = idx.search(m_query, m_nMaxResults);
+            for (Binary binKey : mapResults.keySet())
+                {
+                BinaryEntry<? extends K, ? extends V> e = (BinaryEntry<? extends K, ? extends V>) ctx.getReadOnlyEntry(binKey);
+                if (m_filter == null || InvocableMapHelper.evaluateEntry(m_filter, e))
+                    {
+                    m_mapResults.put(binKey, e.getBinaryValue());
+                    }
+                }
+            }
+        else
+            {
+            throw new IllegalStateException("Index for the extractor %s is not LuceneIndex. Full-text search is not supported".formatted(m_extractor.getCanonicalName()));
+            }
+        }
+
     /**
      * Combines partial results from multiple partitions.
      *
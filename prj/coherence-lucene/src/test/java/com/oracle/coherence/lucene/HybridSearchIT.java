@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.DocumentChunk;
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.util.Filters;
+import com.tangosol.util.ValueExtractor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the {@link HybridSearch} class.
+ */
+public class HybridSearchIT
+    {
+    private static Coherence coherence;
+
+    private static NamedMap<String, DocumentChunk> documents;
+    private static final ValueExtractor<DocumentChunk, String> CONTENT = ValueExtractor.of(DocumentChunk::text);
+    private static final ValueExtractor<DocumentChunk, Vector<float[]>> VECTOR = ValueExtractor.of(DocumentChunk::vector);
+    private static final LuceneQueryParser queryParser = LuceneQueryParser.create(CONTENT);
+
+    @SuppressWarnings("resource")
+    @BeforeAll
+    static void setupClass()
+        {
+        System.setProperty("coherence.cluster", "HybridSearchIT");
+        System.setProperty("coherence.wka", "127.0.0.1");
+        System.setProperty("coherence.serializer", "pof");
+
+        coherence = Coherence.clusterMember().start().join();
+
+        Session session = coherence.getSession();
+        documents = session.getMap("hybrid-documents");
+        documents.addIndex(new LuceneIndex<>(CONTENT));
+        }
+
+    @AfterAll
+    static void cleanupClass()
+        {
+        if (coherence != null)
+            {
+            coherence.close();
+            }
+        }
+
+    @BeforeEach
+    void setup()
+        {
+        documents.clear();
+        documents.put("doc1", new DocumentChunk("An introduction to machine learning", vector(1.0f, 0.0f, 0.0f)));
+        documents.put("doc2", new DocumentChunk("Document discussing machine learning and AI", vector(0.5f, 1.0f, 0.0f)));
+        documents.put("doc3", new DocumentChunk("A collection of cooking recipes", vector(0.9f, 0.1f, 0.0f)));
+        documents.put("doc4", new DocumentChunk("Tips for gardening in spring", vector(0.0f, 0.0f, 1.0f)));
+        }
+
+    @Test
+    void shouldFuseRanksOfBothSearches()
+        {
+        var query   = queryParser.parse("machine learning");
+        var results = documents.aggregate(new HybridSearch<String, DocumentChunk, float[]>(CONTENT, query, VECTOR, vector(1.0f, 0.0f, 0.0f), 3));
+
+        results.forEach(r -> System.out.printf("\n%.5f: key=%s, value=%s", r.getDistance(), r.getKey(), r.getValue().text()));
+
+        // doc1 is ranked first by both searches, while doc2 is ranked second
+        // by the full-text search and third by the vector search, which is
+        // better than doc3, which is only ranked second by the vector search
+        assertEquals(List.of("doc1", "doc2", "doc3"), keys(results));
+        assertTrue(results.get(0).getDistance() > results.get(1).getDistance());
+        assertTrue(results.get(1).getDistance() > results.get(2).getDistance());
+        }
+
+    @Test
+    void shouldFuseWeightedScores()
+        {
+        var query   = queryParser.parse("machine learning");
+        var results = documents.aggregate(new HybridSearch<String, DocumentChunk, float[]>(CONTENT, query, VECTOR, vector(1.0f, 0.0f, 0.0f), 2).weighted(1.0f));
+
+        // with all the weight on the vector score, the results are ordered by distance
+        assertEquals(List.of("doc1", "doc3"), keys(results));
+
+        results = documents.aggregate(new HybridSearch<String, DocumentChunk, float[]>(CONTENT, query, VECTOR, vector(0.0f, 0.0f, 1.0f), 4).weighted(0.0f));
+
+        // with no weight on the vector score, the results that match the text come first
+        assertEquals(List.of("doc1", "doc2"), keys(results).subList(0, 2).stream().sorted().collect(Collectors.toList()));
+        }
+
+    @Test
+    void shouldApplyFilter()
+        {
+        var query   = queryParser.parse("machine learning");
+        var results = documents.aggregate(new HybridSearch<String, DocumentChunk, float[]>(CONTENT, query, VECTOR, vector(1.0f, 0.0f, 0.0f), 10)
+                                                  .filter(Filters.not(Filters.equal(ValueExtractor.identity().fromKey(), "doc1"))));
+
+        assertEquals(3, results.size());
+        assertFalse(keys(results).contains("doc1"));
+        assertEquals("doc2", results.get(0).getKey());
+        }
+
+    // ---- helper methods --------------------------------------------------
+
+    private static Float32Vector vector(float... afl)
+        {
+        return new Float32Vector(afl);
+        }
+
+    private static List<String> keys(List<QueryResult<String, DocumentChunk>> results)
+        {
+        return results.stream().map(QueryResult::getKey).collect(Collectors.toList());
+        }
+    }
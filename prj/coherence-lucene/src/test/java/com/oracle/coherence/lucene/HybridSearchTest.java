@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025 Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.oracle.coherence.lucene;
+
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Vector;
+
+import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofContext;
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.Filters;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.UniversalExtractor;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+
+import org.apache.lucene.search.Query;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for the {@link HybridSearch} class.
+ */
+public class HybridSearchTest
+    {
+    private static final ValueExtractor<String, String> CONTENT = new UniversalExtractor<>("content");
+    private static final ValueExtractor<String, Vector<float[]>> VECTOR = new UniversalExtractor<>("vector");
+    private static final LuceneQueryParser QUERY_PARSER = LuceneQueryParser.create(CONTENT);
+
+    private Query query;
+    private PofContext pofContext;
+
+    @BeforeEach
+    void setUp()
+        {
+        query      = QUERY_PARSER.parse("machine learning");
+        pofContext = new ConfigurablePofContext();
+        }
+
+    @Test
+    void shouldHandlePofSerializationAndDeserialization()
+        {
+        var search = new HybridSearch<>(CONTENT, query, VECTOR, new Float32Vector(new float[] {1.0f, 2.0f}), 10)
+                .filter(Filters.always())
+                .weighted(0.25f);
+        var binary = ExternalizableHelper.toBinary(search, pofContext);
+
+        HybridSearch<String, String, float[]> deserializedSearch = ExternalizableHelper.fromBinary(binary, pofContext);
+
+        assertEquals(search.getMaxResults(), deserializedSearch.getMaxResults());
+        assertEquals(search.getRankConstant(), deserializedSearch.getRankConstant());
+        assertEquals(search.getVectorWeight(), deserializedSearch.getVectorWeight());
+        assertEquals(search.getLexicalSearch().getQuery(), deserializedSearch.getLexicalSearch().getQuery());
+        assertEquals(search.getLexicalSearch().getFilter(), deserializedSearch.getLexicalSearch().getFilter());
+        assertEquals(search.getVectorSearch().getVector(), deserializedSearch.getVectorSearch().getVector());
+        assertEquals(search.getVectorSearch().getFilter(), deserializedSearch.getVectorSearch().getFilter());
+        }
+
+    @Test
+    void shouldDefaultToReciprocalRankFusion()
+        {
+        var search = new HybridSearch<>(CONTENT, query, VECTOR, new Float32Vector(new float[] {1.0f, 2.0f}), 10);
+
+        assertEquals(HybridSearch.DEFAULT_RANK_CONSTANT, search.getRankConstant());
+        assertEquals(-1.0f, search.getVectorWeight());
+
+        search.weighted(0.5f).reciprocalRankFusion(10);
+
+        assertEquals(10, search.getRankConstant());
+        assertEquals(-1.0f, search.getVectorWeight());
+        }
+
+    @Test
+    void shouldRejectInvalidFusionParameters()
+        {
+        var search = new HybridSearch<>(CONTENT, query, VECTOR, new Float32Vector(new float[] {1.0f, 2.0f}), 10);
+
+        assertThrows(IllegalArgumentException.class, () -> search.weighted(1.5f));
+        assertThrows(IllegalArgumentException.class, () -> search.weighted(-0.5f));
+        assertThrows(IllegalArgumentException.class, () -> search.reciprocalRankFusion(-1));
+        }
+
+    @Test
+    void shouldFailSerializationUnlessPofIsUsed()
+        {
+        var search = new HybridSearch<>(CONTENT, query, VECTOR, new Float32Vector(new float[] {1.0f, 2.0f}), 10);
+
+        IOException e = assertThrows(IOException.class,
+                () -> search.readExternal(new DataInputStream(new ByteArrayInputStream(new byte[1]))));
+        assertEquals("HybridSearch requires POF serialization", e.getMessage());
+        }
+    }
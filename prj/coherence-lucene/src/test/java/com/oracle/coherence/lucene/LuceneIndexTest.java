@@ -51,6 +51,7 @@
  import org.apache.lucene.sandbox.search.QueryProfilerIndexSearcher;
  import org.apache.lucene.search.IndexSearcher;
  import org.apache.lucene.search.similarities.BM25Similarity;
+ import org.apache.lucene.store.ByteBuffersDirectory;
  import org.apache.lucene.store.Directory;
  import org.apache.lucene.store.MMapDirectory;
  import org.apache.lucene.util.BytesRef;
@@ -158,6 +159,48 @@
          assertTrue(results.isEmpty());
          }
 
+     @Test
+     void shouldCreateDirectoryForPartition()
+         {
+         var aParts = new int[] {-1};
+         var index  = new LuceneIndex<String, TestDocument>(extractor)
+                 .directory(nPart ->
+                                {
+                                aParts[0] = nPart;
+                                return new ByteBuffersDirectory();
+                                });
+
+         var mapIndex = (LuceneIndex<String, TestDocument>.LuceneMapIndex) index.createIndex(false, null, indexMap, null, 7);
+         assertEquals(7, aParts[0]);
+         assertEquals(mapIndex, indexMap.get(extractor));
+         }
+
+     @Test
+     void shouldDiscardStaleContentsOfReusedDirectory() throws IOException
+         {
+         // simulate a directory left behind by a partition that was transferred away
+         var directory = new ByteBuffersDirectory();
+         try (var writer = new IndexWriter(directory, new IndexWriterConfig()))
+             {
+             var doc = new Document();
+             doc.add(new TextField(extractor.getCanonicalName(), "stale document about machine learning", Field.Store.NO));
+             writer.addDocument(doc);
+             }
+
+         var index    = new LuceneIndex<String, TestDocument>(extractor).directory(nPart -> directory);
+         var mapIndex = (LuceneIndex<String, TestDocument>.LuceneMapIndex) index.createIndex(false, null, indexMap, null, 3);
+
+         var query = queryParser.parse("machine learning");
+         assertTrue(mapIndex.search(query, 10).isEmpty());
+
+         var entry = new SimpleBinaryEntry<>("doc1", new TestDocument("A fresh document about machine learning"), pofContext);
+         mapIndex.insert(entry);
+
+         var results = mapIndex.search(query, 10);
+         assertEquals(1, results.size());
+         assertTrue(results.containsKey(entry.getBinaryKey()));
+         }
+
      @Test
      void shouldHandlePofSerializationAndDeserialization() throws IOException
          {
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package aggregator;
+
+
+import com.oracle.coherence.testing.AbstractFunctionalTest;
+
+import com.tangosol.net.NamedCache;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.Filters;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.aggregator.DoubleAverage;
+import com.tangosol.util.aggregator.DoubleSum;
+import com.tangosol.util.aggregator.GroupAggregator;
+import com.tangosol.util.aggregator.LongSum;
+
+import com.tangosol.util.extractor.ColumnarExtractor;
+import com.tangosol.util.extractor.ReflectionExtractor;
+
+import com.tangosol.util.stream.RemoteCollectors;
+import com.tangosol.util.stream.RemoteStream;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+
+/**
+* Functional tests that compare the results of the aggregators and streams
+* that use the columns of a {@link com.tangosol.util.ColumnarMapIndex} with
+* the results of the same aggregators and streams evaluated against the
+* entries of an identical cache without the index.
+*
+* @since 25.09
+*/
+public class ColumnarAggregatorTests
+        extends AbstractFunctionalTest
+    {
+    // ----- test lifecycle -------------------------------------------------
+
+    /**
+    * Initialize the test class.
+    */
+    @BeforeClass
+    public static void _startup()
+        {
+        // this test requires local storage to be enabled, and worker
+        // threads so that the aggregations are split across partitions
+        System.setProperty("coherence.distributed.localstorage", "true");
+        System.setProperty("test.thread.count", "4");
+
+        AbstractFunctionalTest._startup();
+        }
+
+    /**
+    * Destroy the test caches, together with their indexes.
+    */
+    @After
+    public void destroyCaches()
+        {
+        getNamedCache(CACHE_ENTRIES).destroy();
+        getNamedCache(CACHE_COLUMNS).destroy();
+        }
+
+
+    // ----- test methods ---------------------------------------------------
+
+    /**
+    * Test the numeric and group aggregators against valid columns.
+    */
+    @Test
+    public void testAggregators()
+        {
+        Map<Integer, Sample> mapData = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            {
+            mapData.put(i, new Sample(i * 0.5d, (long) i, "group" + (i % 7), (long) (i % 5), false));
+            }
+
+        populate(mapData, new ColumnarExtractor<>(DOUBLE, LONG, GROUP, MIXED));
+
+        assertSameResults(new DoubleSum<>(DOUBLE));
+        assertSameResults(new LongSum<>(LONG));
+        assertSameResults(new DoubleAverage<>(DOUBLE));
+        assertSameResults(new DoubleSum<>(LONG));
+        assertSameResults(new LongSum<>(DOUBLE));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new DoubleSum<>(DOUBLE)));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new LongSum<>(LONG)));
+        assertSameResults(GroupAggregator.createInstance(MIXED, new DoubleAverage<>(DOUBLE)));
+
+        assertEquals(249750.0d, getNamedCache(CACHE_COLUMNS).aggregate(new DoubleSum<>(DOUBLE)), 0.0d);
+        }
+
+    /**
+    * Test the aggregators against columns with null values.
+    */
+    @Test
+    public void testNulls()
+        {
+        Map<Integer, Sample> mapData = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            {
+            mapData.put(i, new Sample(i % 3 == 0 ? null : i * 0.5d,
+                                      i % 4 == 0 ? null : (long) i,
+                                      i % 5 == 0 ? null : "group" + (i % 7),
+                                      (long) (i % 5), false));
+            }
+
+        populate(mapData, new ColumnarExtractor<>(DOUBLE, LONG, GROUP, MIXED));
+
+        assertSameResults(new DoubleSum<>(DOUBLE));
+        assertSameResults(new LongSum<>(LONG));
+        assertSameResults(new DoubleAverage<>(DOUBLE));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new DoubleSum<>(DOUBLE)));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new LongSum<>(LONG)));
+        }
+
+    /**
+    * Test the aggregators against a column with values of mixed types,
+    * which is not kept by the index.
+    */
+    @Test
+    public void testMixedTypes()
+        {
+        Map<Integer, Sample> mapData = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            {
+            // only some of the partitions have values of both types
+            Number nMixed = i % 97 == 0 ? (Number) i : (Number) (long) i;
+            mapData.put(i, new Sample(i * 0.5d, (long) i, "group" + (i % 7), nMixed, false));
+            }
+
+        populate(mapData, new ColumnarExtractor<>(DOUBLE, LONG, GROUP, MIXED));
+
+        assertSameResults(new LongSum<>(MIXED));
+        assertSameResults(new DoubleSum<>(MIXED));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new LongSum<>(MIXED)));
+        assertSameResults(GroupAggregator.createInstance(MIXED, new DoubleSum<>(DOUBLE)));
+
+        // the other columns are still valid
+        assertSameResults(new DoubleSum<>(DOUBLE));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new LongSum<>(LONG)));
+        }
+
+    /**
+    * Test the aggregators against a partial index, which excludes the
+    * entries whose values could not be extracted.
+    */
+    @Test
+    public void testPartialIndex()
+        {
+        Map<Integer, Sample> mapData = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            {
+            mapData.put(i, new Sample(i * 0.5d, (long) i, "group" + (i % 7), (long) (i % 5), i % 101 == 0));
+            }
+
+        populate(mapData, new ColumnarExtractor<>(DOUBLE, LONG, GROUP, BROKEN));
+
+        assertSameResults(new DoubleSum<>(DOUBLE));
+        assertSameResults(new LongSum<>(LONG));
+        assertSameResults(new DoubleAverage<>(DOUBLE));
+        assertSameResults(GroupAggregator.createInstance(GROUP, new DoubleSum<>(DOUBLE)));
+
+        assertEquals(249750.0d, getNamedCache(CACHE_COLUMNS).aggregate(new DoubleSum<>(DOUBLE)), 0.0d);
+        }
+
+    /**
+    * Test the streams of extracted values, with and without a filter.
+    */
+    @Test
+    public void testStreams()
+        {
+        Map<Integer, Sample> mapData = new HashMap<>();
+        for (int i = 0; i < 1000; i++)
+            {
+            mapData.put(i, new Sample(i % 3 == 0 ? null : i * 0.5d, (long) i, "group" + (i % 7), (long) (i % 5), false));
+            }
+
+        populate(mapData, new ColumnarExtractor<>(DOUBLE, LONG, GROUP, MIXED));
+
+        assertSameValues(null, DOUBLE);
+        assertSameValues(null, LONG);
+        assertSameValues(null, GROUP);
+
+        // the filter is evaluated against the entries before the extraction
+        Filter<Sample> filter = Filters.equal(GROUP, "group3");
+
+        assertSameValues(filter, DOUBLE);
+        assertSameValues(filter, LONG);
+        assertEquals(143, collect(getNamedCache(CACHE_COLUMNS), filter, LONG).size());
+        }
+
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Put the specified data into both test caches, and add an index for the
+    * specified ColumnarExtractor to one of them.
+    *
+    * @param mapData    the data
+    * @param extractor  the ColumnarExtractor
+    */
+    protected void populate(Map<Integer, Sample> mapData, ColumnarExtractor<Sample> extractor)
+        {
+        NamedCache<Integer, Sample> cacheEntries = getNamedCache(CACHE_ENTRIES);
+        NamedCache<Integer, Sample> cacheColumns = getNamedCache(CACHE_COLUMNS);
+
+        cacheEntries.putAll(mapData);
+        cacheColumns.putAll(mapData);
+        cacheColumns.addIndex(extractor, false, null);
+        }
+
+    /**
+    * Assert that the specified aggregator returns the same result from both
+    * test caches.
+    *
+    * @param aggregator  the aggregator
+    */
+    protected void assertSameResults(InvocableMap.EntryAggregator aggregator)
+        {
+        NamedCache cacheEntries = getNamedCache(CACHE_ENTRIES);
+        NamedCache cacheColumns = getNamedCache(CACHE_COLUMNS);
+
+        Object oExpected = cacheEntries.aggregate(aggregator);
+
+        assertNotNull(oExpected);
+        assertEquals(aggregator.toString(), oExpected, cacheColumns.aggregate(aggregator));
+        }
+
+    /**
+    * Assert that the stream of the values extracted by the specified
+    * extractor from the entries that match the specified filter contains the
+    * same values in both test caches.
+    *
+    * @param filter     the filter, or null for all entries
+    * @param extractor  the extractor
+    */
+    protected void assertSameValues(Filter<Sample> filter, ValueExtractor<Sample, ?> extractor)
+        {
+        List<Object> listExpected = collect(getNamedCache(CACHE_ENTRIES), filter, extractor);
+        List<Object> listActual   = collect(getNamedCache(CACHE_COLUMNS), filter, extractor);
+
+        assertEquals(extractor.toString(), listExpected, listActual);
+        }
+
+    /**
+    * Collect the values extracted by the specified extractor from the
+    * entries of the specified cache that match the specified filter.
+    *
+    * @param cache      the cache
+    * @param filter     the filter, or null for all entries
+    * @param extractor  the extractor
+    *
+    * @return the sorted values, with the null values first
+    */
+    protected List<Object> collect(NamedCache<Integer, Sample> cache, Filter<Sample> filter,
+            ValueExtractor<Sample, ?> extractor)
+        {
+        RemoteStream<?> stream     = filter == null ? cache.stream(extractor) : cache.stream(filter, extractor);
+        List<Object>    listValues = new ArrayList<>(stream.collect(RemoteCollectors.toList()));
+
+        listValues.sort(Comparator.nullsFirst(Comparator.comparing(Object::toString)));
+        return listValues;
+        }
+
+
+    // ----- inner class: Sample --------------------------------------------
+
+    /**
+    * The value of the test caches.
+    */
+    public static class Sample
+            implements Serializable
+        {
+        public Sample(Double dflValue, Long lValue, String sGroup, Number nMixed, boolean fBroken)
+            {
+            m_dflValue = dflValue;
+            m_lValue   = lValue;
+            m_sGroup   = sGroup;
+            m_nMixed   = nMixed;
+            m_fBroken  = fBroken;
+            }
+
+        public Double getDoubleValue()
+            {
+            return m_dflValue;
+            }
+
+        public Long getLongValue()
+            {
+            return m_lValue;
+            }
+
+        public String getGroup()
+            {
+            return m_sGroup;
+            }
+
+        public Number getMixed()
+            {
+            return m_nMixed;
+            }
+
+        public Long getBroken()
+            {
+            if (m_fBroken)
+                {
+                throw new IllegalStateException("Broken sample");
+                }
+            return m_lValue;
+            }
+
+        private final Double  m_dflValue;
+        private final Long    m_lValue;
+        private final String  m_sGroup;
+        private final Number  m_nMixed;
+        private final boolean m_fBroken;
+        }
+
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+    * The name of the cache that is aggregated entry by entry.
+    */
+    public static final String CACHE_ENTRIES = "dist-columnar-entries";
+
+    /**
+    * The name of the cache that has the ColumnarMapIndex.
+    */
+    public static final String CACHE_COLUMNS = "dist-columnar-columns";
+
+    /**
+    * The extractor of a Double value.
+    */
+    public static final ValueExtractor<Sample, Double> DOUBLE = new ReflectionExtractor<>("getDoubleValue");
+
+    /**
+    * The extractor of a Long value.
+    */
+    public static final ValueExtractor<Sample, Long> LONG = new ReflectionExtractor<>("getLongValue");
+
+    /**
+    * The extractor of a String value.
+    */
+    public static final ValueExtractor<Sample, String> GROUP = new ReflectionExtractor<>("getGroup");
+
+    /**
+    * The extractor of an Integer or Long value.
+    */
+    public static final ValueExtractor<Sample, Number> MIXED = new ReflectionExtractor<>("getMixed");
+
+    /**
+    * The extractor of a Long value that fails for some entries.
+    */
+    public static final ValueExtractor<Sample, Long> BROKEN = new ReflectionExtractor<>("getBroken");
+    }
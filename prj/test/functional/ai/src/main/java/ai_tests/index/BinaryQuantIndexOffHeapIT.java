@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import ai_tests.index.BinaryQuantIndexIT.ValueWithVector;
+
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.BinaryQuantIndex;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.net.management.MBeanHelper;
+import com.tangosol.util.ValueExtractor;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static ai_tests.index.BinaryQuantIndexIT.populateVectors;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+public class BinaryQuantIndexOffHeapIT
+    {
+    @BeforeAll
+    @SuppressWarnings("resource")
+    static void setup() throws Exception
+        {
+        String sAddress = "127.0.0.1";
+        System.setProperty("coherence.wka", sAddress);
+        System.setProperty("coherence.localhost", sAddress);
+        System.setProperty("test.unicast.address", sAddress);
+        System.setProperty("test.unicast.port", "0");
+        System.setProperty("coherence.ttl", "0");
+        System.setProperty("coherence.management", "all");
+
+        System.setProperty("coherence.distributed.partitioncount", "13");
+
+        Coherence coherence = Coherence.clusterMember().start().get(5, TimeUnit.MINUTES);
+        m_session = coherence.getSession();
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("offheap-vectors");
+        vectors.addIndex(new BinaryQuantIndex<>(ValueExtractor.of(ValueWithVector::getVector)).offHeap(true));
+        m_valueZero = populateVectors(vectors);
+        }
+
+    @AfterAll
+    static void cleanup()
+        {
+        Coherence.closeAll();
+        }
+
+    @Test
+    public void shouldSearch()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("offheap-vectors");
+
+        Vector<float[]> vector = m_valueZero.getVector();
+        int             k      = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        var results      = vectors.aggregate(similaritySearch);
+        var resultsExact = vectors.aggregate(similaritySearch.bruteForce());
+
+        assertThat(results.size(), is(k));
+
+        // the five closest vectors are near duplicates, so they must be found
+        assertThat(keys(results.subList(0, 5)), is(keys(resultsExact.subList(0, 5))));
+        }
+
+    @Test
+    public void shouldReportAndReleaseOffHeapUnits() throws Exception
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>>    extractor = ValueExtractor.of(ValueWithVector::getVector);
+        BinaryQuantIndex<Integer, ValueWithVector, float[]> index     = new BinaryQuantIndex<>(extractor);
+
+        index.offHeap(true);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("offheap-vectors-release");
+        vectors.addIndex(index);
+        populateVectors(vectors);
+
+        assertThat(getIndexAttribute("offheap-vectors-release", "IndexTotalOffHeapUnits"), is(greaterThan(0L)));
+
+        vectors.removeIndex(index);
+
+        assertThat(getIndexAttribute("offheap-vectors-release", "IndexTotalOffHeapUnits"), is(0L));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static long getIndexAttribute(String sCache, String sAttribute) throws Exception
+        {
+        MBeanServer     server   = MBeanHelper.findMBeanServer();
+        Set<ObjectName> setNames = server.queryNames(new ObjectName("Coherence:type=StorageManager,cache=" + sCache + ",*"), null);
+
+        assertThat(setNames.size(), is(1));
+        return (Long) server.getAttribute(setNames.iterator().next(), sAttribute);
+        }
+
+    private static Set<Integer> keys(List<QueryResult<Integer, ValueWithVector>> results)
+        {
+        return results.stream().map(QueryResult::getKey).collect(Collectors.toSet());
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private static Session m_session;
+
+    private static ValueWithVector m_valueZero;
+    }
@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import ai_tests.index.BinaryQuantIndexIT.ValueWithVector;
+
+import com.oracle.bedrock.runtime.LocalPlatform;
+import com.oracle.bedrock.runtime.coherence.CoherenceClusterMember;
+import com.oracle.bedrock.runtime.coherence.ServiceStatus;
+import com.oracle.bedrock.runtime.coherence.options.ClusterName;
+import com.oracle.bedrock.runtime.coherence.options.LocalHost;
+import com.oracle.bedrock.runtime.coherence.options.Logging;
+import com.oracle.bedrock.runtime.coherence.options.WellKnownAddress;
+import com.oracle.bedrock.runtime.concurrent.RemoteCallable;
+import com.oracle.bedrock.runtime.java.options.IPv4Preferred;
+import com.oracle.bedrock.runtime.java.options.SystemProperty;
+import com.oracle.bedrock.runtime.options.DisplayName;
+import com.oracle.bedrock.testsupport.deferred.Eventually;
+import com.oracle.bedrock.testsupport.junit.TestLogsExtension;
+
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.HnswGraphIndex;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+
+import com.tangosol.net.BackingMapContext;
+import com.tangosol.net.CacheFactory;
+import com.tangosol.net.Coherence;
+import com.tangosol.net.DistributedCacheService;
+import com.tangosol.net.Member;
+import com.tangosol.net.NamedCache;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.PartitionedService;
+import com.tangosol.net.Session;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.ValueExtractor;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import java.util.concurrent.TimeUnit;
+
+import java.util.stream.Collectors;
+
+import static ai_tests.index.BinaryQuantIndexIT.populateVectors;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+
+/**
+ * Tests that {@link HnswGraphIndex} partitions are restored from the
+ * snapshots transferred with them, rather than rebuilt.
+ */
+public class HnswGraphIndexTransferIT
+    {
+    @BeforeAll
+    static void setup() throws Exception
+        {
+        String sAddress = "127.0.0.1";
+        System.setProperty("coherence.wka", sAddress);
+        System.setProperty("coherence.localhost", sAddress);
+        System.setProperty("test.unicast.address", sAddress);
+        System.setProperty("test.unicast.port", "0");
+        System.setProperty("coherence.ttl", "0");
+        System.setProperty("coherence.cluster", CLUSTER_NAME);
+
+        System.setProperty("coherence.distributed.partitioncount", "13");
+
+        Coherence coherence = Coherence.clusterMember().start().get(5, TimeUnit.MINUTES);
+        m_session = coherence.getSession();
+        }
+
+    @AfterAll
+    static void cleanup()
+        {
+        Coherence.closeAll();
+        }
+
+    @Test
+    public void shouldRestoreTransferredIndex()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap(CACHE_NAME);
+        vectors.addIndex(new HnswGraphIndex<>(extractor, BinaryQuantIndexIT.DIMENSIONS));
+        ValueWithVector valueZero = populateVectors(vectors);
+
+        // removed entries stay in the graph as deleted nodes, which a rebuilt
+        // index would not have
+        for (int i = 10; i < 500; i++)
+            {
+            vectors.remove(i);
+            }
+
+        PartitionedService service = (PartitionedService) vectors.getService();
+        try (CoherenceClusterMember member = LocalPlatform.get().launch(CoherenceClusterMember.class,
+                ClusterName.of(CLUSTER_NAME),
+                SystemProperty.of("coherence.distributed.partitioncount", "13"),
+                WellKnownAddress.loopback(),
+                LocalHost.only(),
+                IPv4Preferred.autoDetect(),
+                DisplayName.of("storage"),
+                Logging.atMax(),
+                TEST_LOGS))
+            {
+            Eventually.assertDeferred(() -> member.getServiceStatus(service.getInfo().getServiceName()),
+                                      is(ServiceStatus.NODE_SAFE));
+            Eventually.assertDeferred(() -> service.getOwnedPartitions(getOtherMember(service)).cardinality(),
+                                      is(greaterThan(0)));
+
+            assertThat(member.invoke(new GetDeletedNodeCount()), is(greaterThan(0)));
+
+            SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch =
+                    new SimilaritySearch<>(extractor, valueZero.getVector(), 10);
+
+            var results      = vectors.aggregate(similaritySearch);
+            var resultsExact = vectors.aggregate(similaritySearch.bruteForce());
+
+            assertThat(results.size(), is(10));
+
+            // the five closest vectors are near duplicates, so they must be found
+            assertThat(keys(results.subList(0, 5)), is(keys(resultsExact.subList(0, 5))));
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static Member getOtherMember(PartitionedService service)
+        {
+        Member memberThis = service.getCluster().getLocalMember();
+        return ((Set<Member>) service.getInfo().getServiceMembers()).stream()
+                .filter(member -> !member.equals(memberThis))
+                .findFirst()
+                .orElse(null);
+        }
+
+    private static Set<Integer> keys(List<QueryResult<Integer, ValueWithVector>> results)
+        {
+        return results.stream().map(QueryResult::getKey).collect(Collectors.toSet());
+        }
+
+    // ----- inner class: GetDeletedNodeCount -------------------------------
+
+    /**
+     * Return the number of deleted graph nodes in the indexes of the
+     * partitions owned by the member the callable is invoked on.
+     */
+    public static class GetDeletedNodeCount
+            implements RemoteCallable<Integer>
+        {
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Integer call()
+            {
+            NamedCache              cache   = CacheFactory.getCache(CACHE_NAME);
+            DistributedCacheService service = (DistributedCacheService) cache.getCacheService();
+            BackingMapContext       ctx     = service.getBackingMapManager().getContext().getBackingMapContext(CACHE_NAME);
+            PartitionSet            parts   = service.getOwnedPartitions(service.getCluster().getLocalMember());
+
+            int cDeleted = 0;
+            for (int nPart = parts.next(0); nPart >= 0; nPart = parts.next(nPart + 1))
+                {
+                for (MapIndex index : ctx.getIndexMap(nPart).values())
+                    {
+                    if (index instanceof HnswGraphIndex.HnswGraphMapIndex)
+                        {
+                        cDeleted += ((HnswGraphIndex.HnswGraphMapIndex) index).getGraph().getDeletedCount();
+                        }
+                    }
+                }
+            return cDeleted;
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final String CLUSTER_NAME = "HnswGraphIndexTransferIT";
+
+    private static final String CACHE_NAME = "transfer-vectors";
+
+    @RegisterExtension
+    static final TestLogsExtension TEST_LOGS = new TestLogsExtension(HnswGraphIndexTransferIT.class);
+
+    // ----- data members ---------------------------------------------------
+
+    private static Session m_session;
+    }
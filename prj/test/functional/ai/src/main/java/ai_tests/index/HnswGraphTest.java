@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.DistanceSpace;
+import com.oracle.coherence.ai.index.HnswGraph;
+import com.oracle.coherence.ai.index.HnswGraphIndex;
+import com.oracle.coherence.ai.util.TopKHeap;
+import com.oracle.coherence.ai.util.Vectors;
+
+import com.tangosol.util.BinaryWriteBuffer;
+import com.tangosol.util.RestorableMapIndex;
+import com.tangosol.util.SimpleMapEntry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests for {@link HnswGraph}, comparing its results with an exact search.
+ */
+public class HnswGraphTest
+    {
+    @Test
+    public void shouldReturnEmptyResultForEmptyGraph()
+        {
+        HnswGraph graph = new HnswGraph(DIMENSIONS, DistanceSpace.COSINE, 16, 200, 100);
+        int[]     an    = graph.search(randomVector(new Random(1L), true), 10, 50, null, new float[10]);
+
+        assertThat(an.length, is(0));
+        }
+
+    @Test
+    public void shouldHaveHighRecallForCosine()
+        {
+        assertRecall(DistanceSpace.COSINE);
+        }
+
+    @Test
+    public void shouldHaveHighRecallForL2()
+        {
+        assertRecall(DistanceSpace.L2);
+        }
+
+    @Test
+    public void shouldAddConcurrently() throws Exception
+        {
+        Random    random   = new Random(17L);
+        float[][] aVectors = randomVectors(random, COUNT, true);
+        HnswGraph graph    = new HnswGraph(DIMENSIONS, DistanceSpace.COSINE, 16, 100, 100);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try
+            {
+            List<Future<?>> listFutures = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                {
+                int nThread = t;
+                listFutures.add(executor.submit(() ->
+                    {
+                    for (int i = nThread; i < COUNT; i += 8)
+                        {
+                        graph.add(aVectors[i], i);
+                        }
+                    }));
+                }
+            for (Future<?> future : listFutures)
+                {
+                future.get(5, TimeUnit.MINUTES);
+                }
+            }
+        finally
+            {
+            executor.shutdownNow();
+            }
+
+        assertThat(graph.size(), is(COUNT));
+        assertThat(measureRecall(graph, aVectors, DistanceSpace.COSINE, random), greaterThanOrEqualTo(0.9));
+        }
+
+    @Test
+    public void shouldNotReturnRemovedNodes()
+        {
+        Random    random   = new Random(17L);
+        float[][] aVectors = randomVectors(random, 2_000, true);
+        HnswGraph graph    = new HnswGraph(DIMENSIONS, DistanceSpace.COSINE, 16, 100, 100);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            graph.add(aVectors[i], i);
+            }
+
+        // remove every even node
+        for (int i = 0; i < aVectors.length; i += 2)
+            {
+            assertThat(graph.remove(i), is(true));
+            }
+        assertThat(graph.remove(0), is(false));
+        assertThat(graph.getLabel(0), is(nullValue()));
+        assertThat(graph.size(), is(1_000));
+        assertThat(graph.getDeletedCount(), is(1_000));
+
+        for (int q = 0; q < 20; q++)
+            {
+            int[] an = graph.search(aVectors[q], 10, 50, null, new float[10]);
+            assertThat(an.length, is(10));
+            for (int n : an)
+                {
+                assertThat(n % 2, is(1));
+                }
+            }
+        }
+
+    @Test
+    public void shouldApplyFilter()
+        {
+        Random    random   = new Random(17L);
+        float[][] aVectors = randomVectors(random, 2_000, true);
+        HnswGraph graph    = new HnswGraph(DIMENSIONS, DistanceSpace.COSINE, 16, 100, 100);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            graph.add(aVectors[i], i);
+            }
+
+        // a very selective filter forces the search to traverse most of the graph
+        float[] afl = new float[10];
+        int[]   an  = graph.search(aVectors[0], 10, 50, n -> n % 500 == 0, afl);
+
+        assertThat(an.length, is(4));
+        assertThat(an[0], is(0));
+        for (int i = 1; i < an.length; i++)
+            {
+            assertThat(an[i] % 500, is(0));
+            assertThat(afl[i - 1], lessThanOrEqualTo(afl[i]));
+            }
+        }
+
+    @Test
+    public void shouldReadWrittenGraph() throws Exception
+        {
+        Random    random   = new Random(17L);
+        float[][] aVectors = randomVectors(random, 3_000, true);
+        HnswGraph graph    = new HnswGraph(DIMENSIONS, DistanceSpace.COSINE, 16, 100, 100);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            graph.add(aVectors[i], i);
+            }
+        graph.remove(7);
+
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(1024);
+        graph.writeTo(buf.getBufferOutput());
+
+        HnswGraph graphRead = HnswGraph.readFrom(buf.toBinary().getBufferInput(), 100);
+
+        assertThat(graphRead.getNodeCount(), is(graph.getNodeCount()));
+        assertThat(graphRead.size(), is(graph.size()));
+        assertThat(graphRead.getDeletedCount(), is(1));
+        assertThat(graphRead.getLabel(7), is(nullValue()));
+
+        // the same graph must produce the same results
+        for (int q = 0; q < 20; q++)
+            {
+            float[] aflQuery = randomVector(random, true);
+            assertThat(graphRead.search(aflQuery, K, 50, null, new float[K]),
+                       is(graph.search(aflQuery, K, 50, null, new float[K])));
+            }
+
+        // and must accept new nodes
+        assertThat(graphRead.add(aVectors[0], -1), is(graph.getNodeCount()));
+        }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void shouldRestoreIndexFromSnapshot() throws Exception
+        {
+        Random    random   = new Random(17L);
+        float[][] aVectors = randomVectors(random, 2_000, true);
+
+        HnswGraphIndex<Integer, float[]> index = new HnswGraphIndex<>(Float32Vector::new, DIMENSIONS);
+        RestorableMapIndex<Integer, float[], Vector<float[]>> mapIndex =
+                (RestorableMapIndex) index.createIndex(false, null, new HashMap<>(), null);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            mapIndex.insert(new SimpleMapEntry<>(i, aVectors[i]));
+            }
+
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(1024);
+        mapIndex.writeSnapshot(buf.getBufferOutput());
+
+        // the partition no longer contains the first ten entries
+        Set<Integer> setKeys = new HashSet<>();
+        for (int i = 10; i < aVectors.length; i++)
+            {
+            setKeys.add(i);
+            }
+
+        HnswGraphIndex<Integer, float[]>.HnswGraphMapIndex mapRestored =
+                (HnswGraphIndex.HnswGraphMapIndex) index.createIndex(false, null, new HashMap<>(), null);
+        assertThat(mapRestored.readSnapshot(buf.toBinary().getBufferInput(), setKeys), is(true));
+
+        HnswGraph graph  = mapRestored.getGraph();
+        int       cNodes = graph.getNodeCount();
+        assertThat(graph.size(), is(aVectors.length - 10));
+        assertThat(mapRestored.get(5), is(nullValue()));
+        assertThat(mapRestored.get(15), is(notNullValue()));
+
+        // re-inserting the unchanged entries must not add nodes
+        for (int i = 10; i < aVectors.length; i++)
+            {
+            mapRestored.insert(new SimpleMapEntry<>(i, aVectors[i]));
+            }
+        assertThat(graph.getNodeCount(), is(cNodes));
+
+        // while a changed entry must be re-indexed
+        mapRestored.insert(new SimpleMapEntry<>(10, aVectors[0]));
+        assertThat(graph.getNodeCount(), is(cNodes + 1));
+        assertThat(graph.size(), is(aVectors.length - 10));
+
+        // a snapshot of an index with a different configuration must be rejected
+        HnswGraphIndex<Integer, float[]> indexOther = new HnswGraphIndex<>(Float32Vector::new, DIMENSIONS);
+        indexOther.setM(8);
+
+        RestorableMapIndex<Integer, float[], Vector<float[]>> mapOther =
+                (RestorableMapIndex) indexOther.createIndex(false, null, new HashMap<>(), null);
+        assertThat(mapOther.readSnapshot(buf.toBinary().getBufferInput(), setKeys), is(false));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static void assertRecall(DistanceSpace space)
+        {
+        Random    random   = new Random(17L);
+        boolean   fNorm    = space == DistanceSpace.COSINE;
+        float[][] aVectors = randomVectors(random, COUNT, fNorm);
+        HnswGraph graph    = new HnswGraph(DIMENSIONS, space, 16, 100, 100);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            assertThat(graph.add(aVectors[i], i), is(i));
+            }
+
+        double dRecall = measureRecall(graph, aVectors, space, random);
+        System.out.printf("HNSW %s recall@%d: %.3f, %s%n", space, K, dRecall, graph);
+        assertThat(dRecall, greaterThanOrEqualTo(0.9));
+        }
+
+    private static double measureRecall(HnswGraph graph, float[][] aVectors, DistanceSpace space, Random random)
+        {
+        int cQueries = 50;
+        int cFound   = 0;
+        for (int q = 0; q < cQueries; q++)
+            {
+            float[] aflQuery = randomVector(random, space == DistanceSpace.COSINE);
+            int[]   anExact  = exactSearch(aVectors, aflQuery, space);
+            int[]   anFound  = graph.search(aflQuery, K, 100, null, new float[K]);
+
+            for (int nExact : anExact)
+                {
+                for (int nFound : anFound)
+                    {
+                    if (((Integer) graph.getLabel(nFound)) == nExact)
+                        {
+                        cFound++;
+                        break;
+                        }
+                    }
+                }
+            }
+        return (double) cFound / (cQueries * K);
+        }
+
+    private static int[] exactSearch(float[][] aVectors, float[] aflQuery, DistanceSpace space)
+        {
+        TopKHeap heap = new TopKHeap(K);
+        for (int i = 0; i < aVectors.length; i++)
+            {
+            float fl = space == DistanceSpace.L2
+                       ? (float) Vectors.l2squared(aflQuery, aVectors[i])
+                       : 1.0f - (float) Vectors.dotProduct(aflQuery, aVectors[i]);
+            heap.offer(i, fl);
+            }
+        return heap.drainSorted(null);
+        }
+
+    private static float[][] randomVectors(Random random, int cVectors, boolean fNormalize)
+        {
+        float[][] aVectors = new float[cVectors][];
+        for (int i = 0; i < cVectors; i++)
+            {
+            aVectors[i] = randomVector(random, fNormalize);
+            }
+        return aVectors;
+        }
+
+    private static float[] randomVector(Random random, boolean fNormalize)
+        {
+        float[] afl = new float[DIMENSIONS];
+        for (int i = 0; i < DIMENSIONS; i++)
+            {
+            afl[i] = random.nextFloat() * 2.0f - 1.0f;
+            }
+        return fNormalize ? Vectors.normalize(afl) : afl;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final int DIMENSIONS = 32;
+
+    private static final int COUNT = 5_000;
+
+    private static final int K = 10;
+    }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.index;
+
+import ai_tests.index.BinaryQuantIndexIT.ValueWithVector;
+
+import com.oracle.coherence.ai.QueryResult;
+import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.index.IvfPqIndex;
+import com.oracle.coherence.ai.search.SimilaritySearch;
+import com.tangosol.net.Coherence;
+import com.tangosol.net.NamedMap;
+import com.tangosol.net.Session;
+import com.tangosol.util.Filter;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.filter.InFilter;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static ai_tests.index.BinaryQuantIndexIT.DIMENSIONS;
+import static ai_tests.index.BinaryQuantIndexIT.populateVectors;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class IvfPqIndexIT
+    {
+    @BeforeAll
+    @SuppressWarnings("resource")
+    static void setup() throws Exception
+        {
+        String sAddress = "127.0.0.1";
+        System.setProperty("coherence.wka", sAddress);
+        System.setProperty("coherence.localhost", sAddress);
+        System.setProperty("test.unicast.address", sAddress);
+        System.setProperty("test.unicast.port", "0");
+        System.setProperty("coherence.ttl", "0");
+
+        System.setProperty("coherence.distributed.partitioncount", "13");
+
+        Coherence coherence = Coherence.clusterMember().start().get(5, TimeUnit.MINUTES);
+        m_session = coherence.getSession();
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("ivf-pq-vectors");
+        // use a small training size, so that each partition is trained
+        vectors.addIndex(new IvfPqIndex<>(ValueExtractor.of(ValueWithVector::getVector), DIMENSIONS)
+                                 .setLists(16)
+                                 .setProbes(4)
+                                 .setTrainingSize(256));
+        m_valueZero = populateVectors(vectors);
+        }
+
+    @AfterAll
+    static void cleanup()
+        {
+        Coherence.closeAll();
+        }
+
+    @Test
+    public void shouldSearch()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("ivf-pq-vectors");
+
+        Vector<float[]> vector = m_valueZero.getVector();
+        int             k      = 10;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        long startTimeIvfPq = System.nanoTime();
+        var  resultsIvfPq = vectors.aggregate(similaritySearch);
+        long endTimeIvfPq = System.nanoTime();
+        System.out.println("******* IVF-PQ ********");
+        resultsIvfPq.forEach(System.out::println);
+        System.out.println("IVF-PQ took " + (endTimeIvfPq - startTimeIvfPq) + " ns");
+
+        assertThat(resultsIvfPq.size(), is(k));
+
+        long startTimeBruteForce = System.nanoTime();
+        var  results = vectors.aggregate(similaritySearch.bruteForce());
+        long endTimeBruteForce = System.nanoTime();
+        System.out.println("******* Brute Force ********");
+        results.forEach(System.out::println);
+        System.out.println("Brute Force took " + (endTimeBruteForce - startTimeBruteForce) + " ns");
+
+        assertThat(results.size(), is(k));
+
+        // the five closest vectors are near duplicates, so they must be found
+        assertThat(keys(resultsIvfPq.subList(0, 5)), is(keys(results.subList(0, 5))));
+        }
+
+    @Test
+    public void shouldSearchWithFilter()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        ValueExtractor<ValueWithVector, Integer> extractorFilter = ValueExtractor.of(ValueWithVector::getNumber);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("ivf-pq-vectors");
+
+        Set<Integer>    setMatch = Set.of(0, 1, 2, 3);
+        Filter<?>       filter   = new InFilter<>(extractorFilter, setMatch);
+        Vector<float[]> vector   = m_valueZero.getVector();
+        int             k        = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        var resultsIvfPq = vectors.aggregate(similaritySearch.filter(filter));
+        System.out.println("******* IVF-PQ ********");
+        resultsIvfPq.forEach(System.out::println);
+
+        assertThat(resultsIvfPq.size(), is(setMatch.size()));
+        assertThat(keys(resultsIvfPq), is(setMatch));
+        }
+
+    @Test
+    public void shouldNotFindRemovedEntries()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("ivf-pq-vectors");
+
+        Vector<float[]> vector = m_valueZero.getVector();
+        int             k      = 5;
+
+        SimilaritySearch<Integer, ValueWithVector, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, k);
+
+        ValueWithVector value = vectors.remove(4);
+        try
+            {
+            var resultsIvfPq = vectors.aggregate(similaritySearch);
+            assertThat(keys(resultsIvfPq).contains(4), is(false));
+            assertThat(keys(resultsIvfPq).containsAll(Set.of(0, 1, 2, 3)), is(true));
+            }
+        finally
+            {
+            vectors.put(4, value);
+            }
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static Set<Integer> keys(List<QueryResult<Integer, ValueWithVector>> results)
+        {
+        return results.stream().map(QueryResult::getKey).collect(Collectors.toSet());
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private static Session m_session;
+
+    private static ValueWithVector m_valueZero;
+    }
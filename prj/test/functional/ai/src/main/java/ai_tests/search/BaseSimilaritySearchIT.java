@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -9,6 +9,7 @@ package ai_tests.search;
 
 import com.oracle.coherence.ai.DocumentChunk;
 import com.oracle.coherence.ai.Float32Vector;
+import com.oracle.coherence.ai.QueryResult;
 import com.oracle.coherence.ai.Vector;
 import com.oracle.coherence.ai.search.SimilaritySearch;
 import com.oracle.coherence.ai.util.Vectors;
@@ -19,7 +20,11 @@ import com.tangosol.net.Session;
 import com.tangosol.util.ValueExtractor;
 
 import java.util.Arrays;
+import java.util.List;
 import java.util.Random;
+import java.util.Set;
+
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.Test;
 
@@ -55,6 +60,29 @@ public abstract class BaseSimilaritySearchIT
         assertThat(results.join().size(), is(10));
         }
 
+    @Test
+    public void shouldSearchInWaves()
+        {
+        ValueExtractor<DocumentChunk, Vector<float[]>> extractor = ValueExtractor.of(DocumentChunk::vector);
+
+        NamedMap<Integer, DocumentChunk> vectors = m_session.getMap("vectors");
+
+        Vector<float[]> vector = m_valueZero.vector();
+
+        SimilaritySearch<Integer, DocumentChunk, float[]> similaritySearch = new SimilaritySearch<>(extractor, vector, 100);
+
+        var results      = similaritySearch.aggregateInWaves(vectors, 4);
+        var resultsExact = vectors.aggregate(similaritySearch);
+
+        assertThat(results.size(), is(100));
+        assertThat(keys(results), is(keys(resultsExact)));
+        }
+
+    protected static Set<Integer> keys(List<QueryResult<Integer, DocumentChunk>> results)
+        {
+        return results.stream().map(QueryResult::getKey).collect(Collectors.toSet());
+        }
+
     public static DocumentChunk populateVectors(NamedMap<Integer, DocumentChunk> vectors)
         {
         float[][] matches = new float[5][];
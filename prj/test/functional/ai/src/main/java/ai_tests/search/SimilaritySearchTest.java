@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -12,15 +12,28 @@ import com.oracle.coherence.ai.DocumentChunk;
 import com.oracle.coherence.ai.Float32Vector;
 import com.oracle.coherence.ai.QueryResult;
 import com.oracle.coherence.ai.Vector;
+import com.oracle.coherence.ai.VectorIndex;
 
 import com.oracle.coherence.ai.distance.CosineDistance;
 import com.oracle.coherence.ai.search.BinaryQueryResult;
 import com.oracle.coherence.ai.search.SimilaritySearch;
 import com.oracle.coherence.io.json.JsonSerializer;
 
+import com.tangosol.internal.net.MessageComponent;
+
+import com.tangosol.internal.util.PartitionedStreamer;
+import com.tangosol.internal.util.VersionHelper;
+
 import com.tangosol.io.DefaultSerializer;
 import com.tangosol.io.Serializer;
+import com.tangosol.io.WrapperBufferInput;
+import com.tangosol.io.WrapperBufferOutput;
 import com.tangosol.io.pof.ConfigurablePofContext;
+import com.tangosol.io.pof.PofReader;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.partition.PartitionSet;
 
 import com.tangosol.util.Binary;
 import com.tangosol.util.BinaryEntry;
@@ -36,8 +49,14 @@ import org.junit.jupiter.api.Test;
 
 import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -47,6 +66,7 @@ import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -57,29 +77,30 @@ public class SimilaritySearchTest
     @Test
     public void shouldSerializeUsingJava() throws Exception
         {
-        shouldSerialize(new DefaultSerializer());
+        // the max distance is only sent to version-aware peers
+        shouldSerialize(new DefaultSerializer(), Double.MAX_VALUE);
         }
 
     @Test
     public void shouldSerializeUsingPof() throws Exception
         {
-        shouldSerialize(new ConfigurablePofContext());
+        shouldSerialize(new ConfigurablePofContext(), 0.75d);
         }
 
     @Test
     public void shouldSerializeUsingJson() throws Exception
         {
-        shouldSerialize(new JsonSerializer());
+        shouldSerialize(new JsonSerializer(), 0.75d);
         }
 
-    public void shouldSerialize(Serializer serializer) throws Exception
+    public void shouldSerialize(Serializer serializer, double dExpectedMaxDistance) throws Exception
         {
         Vector<float[]> vector = new Float32Vector(new float[] {1, 2, 3.5f});
         ValueExtractor<String, Vector<float[]>> extractor = Extractors.extract("foo");
         Filter<?> filter = Filters.equal("foo", "bar");
 
         SimilaritySearch<String, String, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 19);
-        Binary                                    binary     = ExternalizableHelper.toBinary(aggregator.filter(filter).bruteForce(), serializer);
+        Binary                                    binary     = ExternalizableHelper.toBinary(aggregator.filter(filter).bruteForce().maxDistance(0.75d), serializer);
         SimilaritySearch<String, String, float[]> result     = ExternalizableHelper.fromBinary(binary, serializer);
         assertThat(result, is(notNullValue()));
         assertThat(result.getExtractor(), is(extractor));
@@ -88,6 +109,75 @@ public class SimilaritySearchTest
         assertThat(result.getMaxResults(), is(19));
         assertThat(result.getFilter(), is(filter));
         assertThat(result.isBruteForce(), is(true));
+        assertThat(result.getMaxDistance(), is(dExpectedMaxDistance));
+        }
+
+    @Test
+    public void shouldSerializeMaxDistanceToCompatiblePeer() throws Exception
+        {
+        assertThat(roundTripVersionAware(0.75d, true).getMaxDistance(), is(0.75d));
+        }
+
+    @Test
+    public void shouldDefaultMaxDistanceFromOlderPeer() throws Exception
+        {
+        assertThat(roundTripVersionAware(0.75d, false).getMaxDistance(), is(Double.MAX_VALUE));
+        }
+
+    @Test
+    public void shouldSerializeZeroMaxDistanceUsingPof()
+        {
+        ConfigurablePofContext                    serializer = new ConfigurablePofContext();
+        SimilaritySearch<String, String, float[]> aggregator = new SimilaritySearch<String, String, float[]>(
+                Extractors.extract("foo"), new Float32Vector(new float[] {1, 2, 3.5f}), 19).maxDistance(0.0d);
+
+        SimilaritySearch<String, String, float[]> result =
+                ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(aggregator, serializer), serializer);
+
+        assertThat(result.getMaxDistance(), is(0.0d));
+        }
+
+    @Test
+    public void shouldDefaultMaxDistanceWhenAbsentFromPofStream() throws Exception
+        {
+        SimilaritySearch<String, String, float[]> result = new SimilaritySearch<>();
+
+        // a stream written by an older member has no max distance properties
+        result.readExternal(mock(PofReader.class));
+
+        assertThat(result.getMaxDistance(), is(Double.MAX_VALUE));
+        }
+
+    /**
+     * Round-trip a {@link SimilaritySearch} through version-aware streams
+     * whose peer either is or is not 25.09 compatible.
+     *
+     * @param dMaxDistance  the max distance to serialize
+     * @param fCompatible   whether the peer is 25.09 compatible
+     *
+     * @return the deserialized {@link SimilaritySearch}
+     */
+    private SimilaritySearch<String, String, float[]> roundTripVersionAware(double dMaxDistance, boolean fCompatible)
+            throws Exception
+        {
+        MessageComponent message = mock(MessageComponent.class);
+        when(message.isRecipientCompatible(VersionHelper.VERSION_25_09)).thenReturn(fCompatible);
+        when(message.isSenderCompatible(VersionHelper.VERSION_25_09)).thenReturn(fCompatible);
+
+        SimilaritySearch<String, String, float[]> aggregator = new SimilaritySearch<String, String, float[]>(
+                Extractors.extract("foo"), new Float32Vector(new float[] {1, 2, 3.5f}), 19).maxDistance(dMaxDistance);
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        aggregator.writeExternal(new WrapperBufferOutput.VersionAwareBufferOutput(new DataOutputStream(stream), message));
+
+        DataInputStream                           in     = new DataInputStream(new ByteArrayInputStream(stream.toByteArray()));
+        SimilaritySearch<String, String, float[]> result = new SimilaritySearch<>();
+        result.readExternal(new WrapperBufferInput.VersionAwareBufferInput(in, null, message));
+
+        // the whole stream must have been consumed in either format
+        assertThat(in.available(), is(0));
+        assertThat(result.getMaxResults(), is(19));
+        return result;
         }
 
     @Test
@@ -219,6 +309,102 @@ public class SimilaritySearchTest
         assertThat(search.isBruteForce(), is(true));
         }
 
+    @Test
+    public void shouldExcludeResultsBeyondMaxDistance()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        DistanceAlgorithm<float[]>                       algorithm = mock(DistanceAlgorithm.class);
+        Vector<float[]>                                  vector    = new Float32Vector(new float[] {1.0f, 2.0f});
+
+        when(algorithm.distance(any(Vector.class), any(Vector.class))).thenReturn(1.0d, 0.5d, 0.25d);
+
+        SimilaritySearch<String, ValueWithVector, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 10);
+
+        List<InvocableMap.Entry<String, ValueWithVector>> list = new ArrayList<>();
+        list.add(createEntry("one", new float[] {1.0f, 2.0f}));
+        list.add(createEntry("two", new float[] {11.0f, 12.0f}));
+        list.add(createEntry("three", new float[] {21.0f, 22.0f}));
+
+        aggregator.algorithm(algorithm).bruteForce().maxDistance(0.5d).accumulate(new SimpleStreamer<>(list));
+
+        List<BinaryQueryResult> listResult = aggregator.getPartialResult();
+        assertThat(listResult.size(), is(2));
+        assertThat(listResult.get(0).getDistance(), is(0.25d));
+        assertThat(listResult.get(1).getDistance(), is(0.5d));
+        }
+
+    @Test
+    public void shouldPruneResultsOfSuppliedAggregators()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        DistanceAlgorithm<float[]>                       algorithm = mock(DistanceAlgorithm.class);
+        Vector<float[]>                                  vector    = new Float32Vector(new float[] {1.0f, 2.0f});
+
+        when(algorithm.distance(any(Vector.class), any(Vector.class))).thenReturn(0.1d, 0.2d, 0.5d, 0.15d);
+
+        SimilaritySearch<String, ValueWithVector, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 2);
+        aggregator.algorithm(algorithm).bruteForce();
+
+        SimilaritySearch<String, ValueWithVector, float[]> searchFirst  = (SimilaritySearch<String, ValueWithVector, float[]>) aggregator.supply();
+        SimilaritySearch<String, ValueWithVector, float[]> searchSecond = (SimilaritySearch<String, ValueWithVector, float[]>) aggregator.supply();
+
+        searchFirst.accumulate(new SimpleStreamer<>(List.of(createEntry("one", new float[] {1.0f, 2.0f}),
+                                                            createEntry("two", new float[] {11.0f, 12.0f}))));
+
+        // the first aggregator has two results no further than 0.2, so the
+        // second one must discard any result further than that
+        searchSecond.accumulate(new SimpleStreamer<>(List.of(createEntry("three", new float[] {21.0f, 22.0f}),
+                                                             createEntry("four", new float[] {31.0f, 32.0f}))));
+
+        List<BinaryQueryResult> listResult = searchSecond.getPartialResult();
+        assertThat(listResult.size(), is(1));
+        assertThat(listResult.get(0).getDistance(), is(0.15d));
+
+        aggregator.combine(searchFirst.getPartialResult());
+        aggregator.combine(listResult);
+
+        listResult = aggregator.getPartialResult();
+        assertThat(listResult.size(), is(2));
+        assertThat(listResult.get(0).getDistance(), is(0.1d));
+        assertThat(listResult.get(1).getDistance(), is(0.15d));
+        }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void shouldSearchPartitionIndexesWithoutWalkingEntries()
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+        Vector<float[]>                                  vector    = new Float32Vector(new float[] {1.0f, 2.0f});
+        VectorIndex                                      indexOne  = mock(VectorIndex.class);
+        VectorIndex                                      indexTwo  = mock(VectorIndex.class);
+        BackingMapContext                                ctx       = mock(BackingMapContext.class);
+        PartitionedStreamer                              streamer  = mock(PartitionedStreamer.class);
+        PartitionSet                                     parts     = new PartitionSet(5);
+
+        parts.add(1);
+        parts.add(3);
+
+        when(indexOne.query(vector, 10, null)).thenReturn(new BinaryQueryResult[] {createResult("one", 0.5d)});
+        when(indexTwo.query(vector, 10, null)).thenReturn(new BinaryQueryResult[] {createResult("two", 0.25d)});
+        when(ctx.getIndexMap(1)).thenReturn(Map.of(extractor, indexOne));
+        when(ctx.getIndexMap(3)).thenReturn(Map.of(extractor, indexTwo));
+        when(streamer.isAllInclusive()).thenReturn(true);
+        when(streamer.getBackingMapContext()).thenReturn(ctx);
+        when(streamer.getPartitions()).thenReturn(parts);
+
+        SimilaritySearch<String, ValueWithVector, float[]> aggregator = new SimilaritySearch<>(extractor, vector, 10);
+
+        assertThat(aggregator.accumulate(streamer), is(false));
+
+        // the indexes of the streamed partitions are queried directly
+        verify(streamer, never()).hasNext();
+        verify(streamer, never()).next();
+
+        List<BinaryQueryResult> listResult = aggregator.getPartialResult();
+        assertThat(listResult.size(), is(2));
+        assertThat(listResult.get(0).getDistance(), is(0.25d));
+        assertThat(listResult.get(1).getDistance(), is(0.5d));
+        }
 
     // ----- helper methods -------------------------------------------------
 
@@ -239,6 +425,11 @@ public class SimilaritySearchTest
         return entry;
         }
 
+    protected BinaryQueryResult createResult(String key, double dDistance)
+        {
+        return new BinaryQueryResult(dDistance, ExternalizableHelper.toBinary(key, SERIALIZER), null);
+        }
+
     // ----- data members ---------------------------------------------------
 
     public static final Serializer SERIALIZER = new DefaultSerializer();
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.utils;
+
+import com.oracle.coherence.ai.util.TopKHeap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class TopKHeapTest
+    {
+    @Test
+    public void shouldRetainSmallestDistances()
+        {
+        TopKHeap heap = new TopKHeap(3);
+
+        heap.offer(1, 5.0f);
+        heap.offer(2, 1.0f);
+        heap.offer(3, 4.0f);
+        heap.offer(4, 2.0f);
+        heap.offer(5, 9.0f);
+
+        assertThat(heap.size(), is(3));
+        assertThat(heap.threshold(), is(4.0f));
+
+        float[] afl  = new float[3];
+        int[]   anId = heap.drainSorted(afl);
+
+        assertThat(anId, is(new int[] {2, 4, 3}));
+        assertThat(afl, is(new float[] {1.0f, 2.0f, 4.0f}));
+        assertThat(heap.isEmpty(), is(true));
+        }
+
+    @Test
+    public void shouldAcceptAnythingUntilFull()
+        {
+        TopKHeap heap = new TopKHeap(2);
+
+        assertThat(heap.accepts(Float.MAX_VALUE), is(true));
+        heap.offer(1, 10.0f);
+        assertThat(heap.accepts(Float.MAX_VALUE), is(true));
+        heap.offer(2, 20.0f);
+        assertThat(heap.accepts(20.0f), is(false));
+        assertThat(heap.accepts(19.0f), is(true));
+        }
+
+    @Test
+    public void shouldHandleZeroCapacity()
+        {
+        TopKHeap heap = new TopKHeap(0);
+
+        assertThat(heap.offer(1, 1.0f), is(false));
+        assertThat(heap.drainSorted(null).length, is(0));
+        }
+
+    @Test
+    public void shouldMatchFullSort()
+        {
+        Random  random = new Random(42L);
+        float[] afl    = new float[10_000];
+        for (int i = 0; i < afl.length; i++)
+            {
+            afl[i] = random.nextFloat();
+            }
+
+        TopKHeap heap = new TopKHeap(100);
+        for (int i = 0; i < afl.length; i++)
+            {
+            heap.offer(i, afl[i]);
+            }
+
+        float[] aflExpected = afl.clone();
+        Arrays.sort(aflExpected);
+
+        float[] aflActual = new float[100];
+        int[]   anId      = heap.drainSorted(aflActual);
+
+        assertThat(aflActual, is(Arrays.copyOf(aflExpected, 100)));
+        for (int i = 0; i < anId.length; i++)
+            {
+            assertThat(afl[anId[i]], is(aflActual[i]));
+            }
+        }
+    }
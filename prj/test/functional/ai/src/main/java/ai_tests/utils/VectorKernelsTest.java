@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package ai_tests.utils;
+
+import com.oracle.coherence.ai.util.Vectors;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for the float and Int8 distance kernels used by {@link Vectors},
+ * comparing them with straightforward scalar implementations, and reporting
+ * the relative performance of both.
+ */
+public class VectorKernelsTest
+    {
+    @Test
+    public void shouldUseSimdKernels() throws Exception
+        {
+        // the tests are run with --add-modules jdk.incubator.vector
+        Class<?> clz = Class.forName("com.oracle.coherence.ai.internal.VectorKernels");
+        assertThat(clz.getMethod("isVectorized").invoke(null), is(true));
+        }
+
+    @Test
+    public void shouldCalculateFloatKernels()
+        {
+        Random random = new Random(17L);
+        for (int cDim = 0; cDim < 100; cDim++)
+            {
+            float[] v1 = randomFloats(random, cDim);
+            float[] v2 = randomFloats(random, cDim);
+
+            assertThat(Vectors.dotProduct(v1, v2), is(closeTo(dotProduct(v1, v2), 1e-4)));
+            assertThat(Vectors.l2squared(v1, v2), is(closeTo(l2squared(v1, v2), 1e-4)));
+            assertThat(Vectors.magnitude(v1), is(closeTo(Math.sqrt(dotProduct(v1, v1)), 1e-4)));
+            }
+        }
+
+    @Test
+    public void shouldCalculateInt8Kernels()
+        {
+        Random random = new Random(17L);
+        for (int cDim = 0; cDim < 100; cDim++)
+            {
+            byte[] v1 = randomBytes(random, cDim);
+            byte[] v2 = randomBytes(random, cDim);
+
+            assertThat(Vectors.dotProduct(v1, v2), is(dotProduct(v1, v2)));
+            assertThat(Vectors.l2squared(v1, v2), is(l2squared(v1, v2)));
+            assertThat(Vectors.magnitude(v1), is(Math.sqrt(dotProduct(v1, v1))));
+            }
+        }
+
+    @Test
+    public void shouldCalculateInt8KernelsAtOffsets()
+        {
+        Random random = new Random(17L);
+        byte[] abSlab = randomBytes(random, 1024);
+        for (int cDim = 0; cDim < 100; cDim++)
+            {
+            byte[] v  = randomBytes(random, cDim);
+            int    of = random.nextInt(abSlab.length - cDim);
+
+            assertThat(Vectors.dotProduct(v, 0, abSlab, of, cDim),
+                       is(dotProduct(v, Arrays.copyOfRange(abSlab, of, of + cDim))));
+            }
+        }
+
+    @Test
+    public void shouldHandleExtremeInt8Values()
+        {
+        byte[] v1 = new byte[1024];
+        byte[] v2 = new byte[1024];
+        Arrays.fill(v1, Byte.MIN_VALUE);
+        Arrays.fill(v2, Byte.MAX_VALUE);
+
+        assertThat(Vectors.dotProduct(v1, v2), is(1024.0 * Byte.MIN_VALUE * Byte.MAX_VALUE));
+        assertThat(Vectors.l2squared(v1, v2), is(1024.0 * 255 * 255));
+        }
+
+    @Test
+    public void shouldCompareWithScalarPerformance()
+        {
+        Random    random = new Random(17L);
+        int       cDim   = 1024;
+        int       cVec   = 10_000;
+        float[][] aVec   = new float[cVec][];
+        for (int i = 0; i < cVec; i++)
+            {
+            aVec[i] = randomFloats(random, cDim);
+            }
+        float[] query = randomFloats(random, cDim);
+
+        // warm up both implementations before timing them
+        double dSink = 0;
+        for (int i = 0; i < 5; i++)
+            {
+            dSink += scanKernels(aVec, query) + scanScalar(aVec, query);
+            }
+
+        long   ldtStart  = System.nanoTime();
+        double dKernels  = scanKernels(aVec, query);
+        long   cKernels  = System.nanoTime() - ldtStart;
+
+        ldtStart = System.nanoTime();
+        double dScalar = scanScalar(aVec, query);
+        long   cScalar = System.nanoTime() - ldtStart;
+
+        System.out.printf("Scanned %d x %d dimensions: kernels=%dus, scalar=%dus, speedup=%.2fx (%f)%n",
+                cVec, cDim, cKernels / 1000, cScalar / 1000, (double) cScalar / cKernels, dSink);
+
+        assertThat(dKernels, is(closeTo(dScalar, Math.abs(dScalar) * 1e-4)));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    private static double scanKernels(float[][] aVec, float[] query)
+        {
+        double d = 0;
+        for (float[] v : aVec)
+            {
+            d += Vectors.dotProduct(query, v);
+            }
+        return d;
+        }
+
+    private static double scanScalar(float[][] aVec, float[] query)
+        {
+        double d = 0;
+        for (float[] v : aVec)
+            {
+            d += dotProduct(query, v);
+            }
+        return d;
+        }
+
+    private static float[] randomFloats(Random random, int cDim)
+        {
+        float[] v = new float[cDim];
+        for (int i = 0; i < cDim; i++)
+            {
+            v[i] = random.nextFloat() * 2.0f - 1.0f;
+            }
+        return v;
+        }
+
+    private static byte[] randomBytes(Random random, int cDim)
+        {
+        byte[] v = new byte[cDim];
+        random.nextBytes(v);
+        return v;
+        }
+
+    private static double dotProduct(float[] v1, float[] v2)
+        {
+        double d = 0;
+        for (int i = 0; i < v1.length; i++)
+            {
+            d += v1[i] * v2[i];
+            }
+        return d;
+        }
+
+    private static double l2squared(float[] v1, float[] v2)
+        {
+        double d = 0;
+        for (int i = 0; i < v1.length; i++)
+            {
+            float f = v1[i] - v2[i];
+            d += f * f;
+            }
+        return d;
+        }
+
+    private static double dotProduct(byte[] v1, byte[] v2)
+        {
+        long n = 0;
+        for (int i = 0; i < v1.length; i++)
+            {
+            n += v1[i] * v2[i];
+            }
+        return n;
+        }
+
+    private static double l2squared(byte[] v1, byte[] v2)
+        {
+        long n = 0;
+        for (int i = 0; i < v1.length; i++)
+            {
+            int d = v1[i] - v2[i];
+            n += d * d;
+            }
+        return n;
+        }
+    }
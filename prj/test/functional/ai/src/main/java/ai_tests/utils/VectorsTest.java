@@ -55,4 +55,27 @@ public class VectorsTest
 
         assertThat(hammingDistance(x, y), is(32));
         }
+
+    @Test
+    public void testDistanceWithTrailingZeroWords()
+        {
+        BitSet x = new BitSet(128);
+        BitSet y = new BitSet(128);
+        x.set(3);
+        y.set(3);
+        y.set(100);
+
+        assertThat(hammingDistance(x, y), is(1));
+        assertThat(hammingDistance(y, x), is(1));
+        }
+
+    @Test
+    public void testPackedDistance()
+        {
+        long[] ax = new long[] {0L, 0x5555555555555555L, 0xFFL};
+        long[] ay = new long[] {0x0F0F0F0F0F0F0F0FL, 0x0L, 0x0L, 0x0L};
+
+        assertThat(hammingDistance(ax, 1, ay, 0, 2), is(32 + 8));
+        assertThat(hammingDistance(ax, 1, ax, 1, 2), is(0));
+        }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2023, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -596,6 +596,7 @@ public class MetricsSupportTests
                                     "Coherence.StorageManager.EvictionCount",
                                     "Coherence.StorageManager.IndexingTotalMillis",
                                     "Coherence.StorageManager.IndexTotalUnits",
+                                    "Coherence.StorageManager.IndexTotalOffHeapUnits",
                                     "Coherence.StorageManager.InsertCount",
                                     "Coherence.StorageManager.ListenerFilterCount",
                                     "Coherence.StorageManager.ListenerKeyCount",
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2022, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -16,7 +16,11 @@ import com.tangosol.util.filter.LimitFilter;
 
 import com.oracle.coherence.testing.AbstractFunctionalTest;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
@@ -266,6 +270,39 @@ public class LimitFilterTests
             }
         }
 
+    @Test
+    public void testSortedPagingWithDuplicateValues()
+        {
+        out("testSortedPagingWithDuplicateValues");
+        NamedCache cache = getNamedCache();
+        Map        map   = new HashMap();
+        for (int i = 0; i < CACHE_SIZE; i++)
+            {
+            map.put(i, i % 3);
+            }
+        cache.putAll(map);
+
+        // the page boundaries fall between the entries with the same value;
+        // the pages are queried using the anchors of the previous page
+        LimitFilter filter   = new LimitFilter(AlwaysFilter.INSTANCE, 7);
+        List        listKeys = new ArrayList();
+        int         nPrev    = Integer.MIN_VALUE;
+        for (Set<Map.Entry> set = cache.entrySet(filter, null); !set.isEmpty(); set = cache.entrySet(filter, null))
+            {
+            for (Map.Entry entry : set)
+                {
+                int nValue = (Integer) entry.getValue();
+                Assert.assertTrue(nValue >= nPrev);
+                nPrev = nValue;
+                listKeys.add(entry.getKey());
+                }
+            filter.nextPage();
+            }
+
+        Assert.assertEquals(CACHE_SIZE, listKeys.size());
+        Assert.assertEquals(CACHE_SIZE, new HashSet(listKeys).size());
+        }
+
     @After
     public void unprepare()
         {
@@ -10,17 +10,24 @@ package hnsw;
 import com.oracle.coherence.ai.Float32Vector;
 import com.oracle.coherence.ai.Vector;
 import com.oracle.coherence.ai.hnsw.HnswIndex;
+import com.oracle.coherence.ai.search.BinaryQueryResult;
 import com.oracle.coherence.ai.search.SimilaritySearch;
 import com.oracle.coherence.ai.util.Vectors;
 import com.tangosol.io.ExternalizableLite;
 import com.tangosol.io.pof.PofReader;
 import com.tangosol.io.pof.PofWriter;
 import com.tangosol.io.pof.PortableObject;
+import com.tangosol.net.BackingMapContext;
 import com.tangosol.net.Coherence;
+import com.tangosol.net.DistributedCacheService;
 import com.tangosol.net.NamedMap;
 import com.tangosol.net.Session;
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
 import com.tangosol.util.ExternalizableHelper;
 import com.tangosol.util.Filter;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.RestorableMapIndex;
 import com.tangosol.util.ValueExtractor;
 import com.tangosol.util.filter.InFilter;
 import org.junit.jupiter.api.AfterAll;
@@ -31,6 +38,8 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -131,6 +140,67 @@ public class HnswIndexIT
         assertThat(results.size(), is(setMatch.size()));
         }
 
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked", "deprecation"})
+    public void shouldRestoreFromSnapshot() throws Exception
+        {
+        ValueExtractor<ValueWithVector, Vector<float[]>> extractor = ValueExtractor.of(ValueWithVector::getVector);
+
+        NamedMap<Integer, ValueWithVector> vectors = m_session.getMap("vectors");
+        DistributedCacheService            service = (DistributedCacheService) vectors.getService();
+        BackingMapContext                  ctx     = service.getBackingMapManager().getContext().getBackingMapContext("vectors");
+
+        int         nPart   = 0;
+        Set<Binary> setKeys = new HashSet<>();
+        for (Object binKey : ctx.getBackingMap().keySet())
+            {
+            if (ctx.getManagerContext().getKeyPartition(binKey) == nPart)
+                {
+                setKeys.add((Binary) binKey);
+                }
+            }
+
+        RestorableMapIndex index = null;
+        for (MapIndex mapIndex : ctx.getIndexMap(nPart).values())
+            {
+            if (mapIndex instanceof HnswIndex.HnswMapIndex)
+                {
+                index = (RestorableMapIndex) mapIndex;
+                }
+            }
+        assertThat(index == null, is(false));
+
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(1024);
+        index.writeSnapshot(buf.getBufferOutput());
+
+        HnswIndex.HnswMapIndex indexRestored = (HnswIndex.HnswMapIndex)
+                new HnswIndex<>(extractor, DIMENSIONS).createIndex(false, null, new HashMap<>(), ctx);
+        try
+            {
+            assertThat(indexRestored.readSnapshot(buf.toBinary().getBufferInput(), setKeys), is(true));
+
+            // re-inserting the entries of a restored index must not change it
+            for (Binary binKey : setKeys)
+                {
+                indexRestored.insert(ctx.getReadOnlyEntry(binKey));
+                }
+
+            Vector<float[]>     vector    = m_valueZero.getVector();
+            BinaryQueryResult[] aExpected = ((HnswIndex.HnswMapIndex) index).query(vector, 10, null);
+            BinaryQueryResult[] aActual   = indexRestored.query(vector, 10, null);
+
+            assertThat(aActual.length, is(aExpected.length));
+            for (int i = 0; i < aActual.length; i++)
+                {
+                assertThat(aActual[i].getKey(), is(aExpected[i].getKey()));
+                }
+            }
+        finally
+            {
+            indexRestored.close();
+            }
+        }
+
     public static ValueWithVector populateVectors(NamedMap<Integer, ValueWithVector> vectors)
         {
         float[][] matches = new float[5][];
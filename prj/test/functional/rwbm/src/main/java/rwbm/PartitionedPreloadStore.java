@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package rwbm;
+
+
+import com.tangosol.net.PartitionedService;
+
+import com.tangosol.net.cache.AbstractCacheLoader;
+import com.tangosol.net.cache.PartitionAwareLoader;
+
+import com.tangosol.net.partition.KeyPartitioningStrategy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+
+/**
+ * A {@link PartitionAwareLoader} over a fixed set of generated entries,
+ * {@code "Key-i" -> "Value-i"} for {@code i} from {@code 0} to
+ * {@link #ENTRY_COUNT}, so every member sees the same store contents.
+ *
+ * @since 25.09
+ */
+public class PartitionedPreloadStore
+        extends AbstractCacheLoader<String, String>
+        implements PartitionAwareLoader<String>
+    {
+    // ----- CacheLoader interface ------------------------------------------
+
+    @Override
+    public String load(String sKey)
+        {
+        int i = getIndex(sKey);
+        return i < 0 ? null : "Value-" + i;
+        }
+
+    // ----- PartitionAwareLoader interface ---------------------------------
+
+    @Override
+    public Iterator<String> keys(int nPartition, PartitionedService service)
+        {
+        KeyPartitioningStrategy strategy = service.getKeyPartitioningStrategy();
+        List<String>            listKeys = new ArrayList<>();
+
+        for (int i = 0; i < ENTRY_COUNT; i++)
+            {
+            String sKey = getKey(i);
+            if (strategy.getKeyPartition(sKey) == nPartition)
+                {
+                listKeys.add(sKey);
+                }
+            }
+        return listKeys.iterator();
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+     * Return the key of the specified entry.
+     *
+     * @param i  the index of the entry
+     *
+     * @return the key of the entry
+     */
+    public static String getKey(int i)
+        {
+        return "Key-" + i;
+        }
+
+    /**
+     * Return the index of the entry with the specified key.
+     *
+     * @param sKey  the key
+     *
+     * @return the index of the entry, or -1 if the store does not contain
+     *         the key
+     */
+    protected static int getIndex(String sKey)
+        {
+        if (sKey != null && sKey.startsWith("Key-"))
+            {
+            try
+                {
+                int i = Integer.parseInt(sKey.substring(4));
+                return i >= 0 && i < ENTRY_COUNT ? i : -1;
+                }
+            catch (NumberFormatException e)
+                {
+                // not a generated key
+                }
+            }
+        return -1;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The number of entries in the store.
+     */
+    public static final int ENTRY_COUNT = 1000;
+    }
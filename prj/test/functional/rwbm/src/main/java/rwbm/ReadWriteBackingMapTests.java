@@ -104,6 +104,7 @@ import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -647,6 +648,52 @@ public class ReadWriteBackingMapTests
         assertTrue(store.getStorageMap().size() == cTotal);
         }
 
+    /**
+     * Test that a member preloads the partitions it receives after its
+     * preload threads have found no more owned partitions to preload.
+     */
+    @Test
+    public void testPreloadReceivedPartitions()
+        {
+        NamedCache         cache   = getNamedCache("dist-rwbm-preload");
+        PartitionedService service = (PartitionedService) cache.getCacheService();
+        Member             member  = service.getCluster().getLocalMember();
+
+        // the preload is disabled on this member, so the partitions it
+        // transfers to the new member are empty
+        assertEquals(0, cache.size());
+
+        Properties props = new Properties();
+        props.setProperty("test.rwbm.preload.threads", "2");
+
+        String                 sServerName   = "preload1";
+        CoherenceClusterMember clusterMember = startCacheServer(sServerName, "rwbm", FILE_CFG_CACHE, props);
+        try
+            {
+            waitForServer(clusterMember);
+            waitForBalanced(cache.getCacheService());
+
+            int cRemote = 0;
+            for (int i = 0; i < PartitionedPreloadStore.ENTRY_COUNT; i++)
+                {
+                if (!member.equals(service.getKeyOwner(PartitionedPreloadStore.getKey(i))))
+                    {
+                    cRemote++;
+                    }
+                }
+            assertThat(cRemote, greaterThan(0));
+
+            // only the entries of the partitions owned by the new member
+            // are preloaded
+            Eventually.assertDeferred(cache::size, is(cRemote));
+            }
+        finally
+            {
+            stopCacheServer(sServerName);
+            cache.destroy();
+            }
+        }
+
     /**
      * Test basic async CacheStore functionality.
      */
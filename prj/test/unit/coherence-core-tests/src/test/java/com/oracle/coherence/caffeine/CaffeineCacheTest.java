@@ -198,16 +198,43 @@ public final class CaffeineCacheTest
         cache.evict(1);
         assertThat(cache.containsKey(1), is(false));
 
-        if (cache instanceof CaffeineCache)
+        verify(listener).entryDeleted(expired.capture());
+        checkMapEvent(expired.getValue(), new CacheEvent<>(cache, ENTRY_DELETED,
+                                                           1, 2, null, true, TransformationState.TRANSFORMABLE, false, false));
+        }
+
+    @ParameterizedTest
+    @MethodSource("caches")
+    public void lowUnits(ConfigurableCacheMap cache)
+        {
+        var evicted = ArgumentCaptor.forClass(MapEvent.class);
+        var listener = Mockito.mock(MapListener.class);
+        cache.addMapListener(listener);
+
+        cache.setHighUnits(100);
+        cache.setLowUnits(50);
+        assertThat(cache.getLowUnits(), is(50));
+
+        for (int i = 0; i < 100; i++)
             {
-            // Caffeine has ~1s (2^30 ns) maximum delay
-            sleepUninterruptibly(Duration.ofMillis(1_100));
-            cache.evict();
+            cache.put(i, i);
             }
+        assertThat(cache.size(), is(100));
 
-        verify(listener).entryDeleted(expired.capture());
-        checkMapEvent(expired.getValue(), new CacheEvent<>(cache, ENTRY_DELETED,
-                                                           1, 2, null, true, TransformationState.TRANSFORMABLE, false, cache instanceof CaffeineCache));
+        cache.put(100, 100);
+        assertThat(cache.size(), lessThanOrEqualTo(50));
+        verify(listener, atLeast(51)).entryDeleted(evicted.capture());
+        for (var event : evicted.getAllValues())
+            {
+            if (event instanceof CacheEvent)
+                {
+                assertThat(((CacheEvent) event).isSynthetic(), is(true));
+                assertThat(((CacheEvent) event).isExpired(), is(false));
+                }
+            }
+
+        cache.setLowUnits(0);
+        assertThat(cache.getLowUnits(), is(cache instanceof CaffeineCache ? 100 : 75));
         }
 
     @ParameterizedTest
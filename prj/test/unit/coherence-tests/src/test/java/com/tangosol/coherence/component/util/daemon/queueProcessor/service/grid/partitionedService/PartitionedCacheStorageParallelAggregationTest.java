@@ -0,0 +1,467 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService;
+
+import com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService.partitionedCache.Storage;
+
+import com.tangosol.internal.util.Daemons;
+
+import com.tangosol.net.RequestTimeoutException;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.SimpleStreamer;
+import com.tangosol.util.Streamer;
+
+import com.tangosol.util.aggregator.LongSum;
+
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.filter.ScriptFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the parallel execution of streaming aggregators by the
+ * PartitionedCache.Storage.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PartitionedCacheStorageParallelAggregationTest
+    {
+    @Test
+    public void shouldReadThresholdFromSystemProperty()
+        {
+        String sPrev = System.getProperty(PROP_THRESHOLD);
+        try
+            {
+            System.clearProperty(PROP_THRESHOLD);
+            assertEquals(1000, Storage.getConfiguredParallelAggregateThreshold());
+
+            System.setProperty(PROP_THRESHOLD, "10");
+            assertEquals(10, Storage.getConfiguredParallelAggregateThreshold());
+
+            System.setProperty(PROP_THRESHOLD, "-1");
+            assertEquals(-1, Storage.getConfiguredParallelAggregateThreshold());
+            }
+        finally
+            {
+            if (sPrev == null)
+                {
+                System.clearProperty(PROP_THRESHOLD);
+                }
+            else
+                {
+                System.setProperty(PROP_THRESHOLD, sPrev);
+                }
+            }
+        }
+
+    @Test
+    public void shouldSplitOnlyAboveThreshold()
+        {
+        assumeTrue(Daemons.isForkJoinPoolEnabled());
+
+        TestStorage storage = new TestStorage(1000);
+        storage.setParallelAggregateThreshold(1000);
+
+        assertTrue(storage.isParallelAggregation(null, aggregator(false), partitions(2)));
+
+        storage.setParallelAggregateThreshold(1001);
+        assertFalse(storage.isParallelAggregation(null, aggregator(false), partitions(2)));
+        }
+
+    @Test
+    public void shouldNotSplitWithNegativeThreshold()
+        {
+        assumeTrue(Daemons.isForkJoinPoolEnabled());
+
+        TestStorage storage = new TestStorage(Integer.MAX_VALUE);
+        storage.setParallelAggregateThreshold(-1);
+
+        assertFalse(storage.isParallelAggregation(null, aggregator(false), partitions(2)));
+
+        // BY_PARTITION aggregators are always split
+        assertTrue(storage.isParallelAggregation(null, aggregator(true), partitions(2)));
+        }
+
+    @Test
+    public void shouldNotSplitSerialAggregators()
+        {
+        TestStorage storage = new TestStorage(Integer.MAX_VALUE);
+        storage.setParallelAggregateThreshold(0);
+
+        InvocableMap.StreamingAggregator agent = mock(InvocableMap.StreamingAggregator.class);
+        when(agent.isByPartition()).thenReturn(true);
+
+        assertFalse(storage.isParallelAggregation(null, agent, partitions(2)));
+        }
+
+    @Test
+    public void shouldAggregateSinglePartitionOnCallingThread()
+        {
+        TestStorage storage = new TestStorage(Integer.MAX_VALUE);
+        storage.setParallelAggregateThreshold(0);
+
+        assertFalse(storage.isParallelAggregation(null, aggregator(true), partitions(1)));
+
+        Object oResult = storage.aggregateByStreaming(null, new LongSum(IdentityExtractor.INSTANCE), partitions(1), 0L);
+
+        assertEquals(serialResult(storage, partitions(1)), oResult);
+        assertSame(Thread.currentThread(), storage.m_threadLast);
+        }
+
+    @Test
+    public void shouldAggregateScriptFilterOnCallingThread()
+        {
+        TestStorage storage = new TestStorage(Integer.MAX_VALUE);
+        Filter      filter  = new ScriptFilter("js", "test");
+        storage.setParallelAggregateThreshold(0);
+
+        assertFalse(storage.isParallelAggregation(filter, aggregator(true), partitions(0, 1, 2)));
+
+        storage.aggregateByStreaming(filter, new LongSum(IdentityExtractor.INSTANCE), partitions(0, 1, 2), 0L);
+
+        assertSame(Thread.currentThread(), storage.m_threadLast);
+        }
+
+    @Test
+    public void shouldCombineToSerialResult()
+        {
+        TestStorage  storage = new TestStorage(Integer.MAX_VALUE);
+        PartitionSet parts   = allPartitions();
+        Object       oSerial = serialResult(storage, parts);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try
+            {
+            Object oParallel = pool.invoke(new Storage.PartitionedAggregateTask<>(
+                    storage, null, new LongSum(IdentityExtractor.INSTANCE), parts));
+
+            assertEquals(oSerial, oParallel);
+            for (int nPart = 0; nPart < PARTITION_COUNT; nPart++)
+                {
+                assertEquals("partition " + nPart, 1, storage.f_acCalls.get(nPart));
+                }
+            }
+        finally
+            {
+            pool.shutdown();
+            }
+
+        if (Daemons.isForkJoinPoolEnabled())
+            {
+            storage.setParallelAggregateThreshold(0);
+            assertEquals(oSerial, storage.aggregateByStreaming(null, new LongSum(IdentityExtractor.INSTANCE), parts, 0L));
+            }
+        }
+
+    @Test
+    public void shouldStopLeafTasksWhenCancelled()
+            throws InterruptedException
+        {
+        CountDownLatch latch   = new CountDownLatch(1);
+        TestStorage    storage = new TestStorage(Integer.MAX_VALUE, latch);
+        ForkJoinPool   pool    = new ForkJoinPool(2);
+        try
+            {
+            Future future = pool.submit(new Storage.PartitionedAggregateTask<>(
+                    storage, null, new LongSum(IdentityExtractor.INSTANCE), allPartitions()));
+
+            storage.f_latchEntered.await(10, TimeUnit.SECONDS);
+            future.cancel(true);
+            latch.countDown();
+
+            assertTrue(future.isCancelled());
+            }
+        finally
+            {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+            }
+
+        // only the leaves that were running when the request was cancelled
+        // have aggregated their partitions
+        assertThat(storage.getCallCount(), lessThanOrEqualTo(2));
+        }
+
+    @Test
+    public void shouldStopLeafTasksOnTimeout()
+        {
+        assumeTrue(Daemons.isForkJoinPoolEnabled());
+
+        CountDownLatch latch   = new CountDownLatch(1);
+        TestStorage    storage = new TestStorage(Integer.MAX_VALUE, latch);
+        storage.setParallelAggregateThreshold(0);
+
+        try
+            {
+            storage.aggregateByStreaming(null, new LongSum(IdentityExtractor.INSTANCE), allPartitions(), 100L);
+            fail("expected RequestTimeoutException");
+            }
+        catch (RequestTimeoutException e)
+            {
+            // expected
+            }
+        finally
+            {
+            latch.countDown();
+            }
+
+        Daemons.forkJoinPool().awaitQuiescence(10, TimeUnit.SECONDS);
+
+        assertThat(storage.getCallCount(), lessThan(PARTITION_COUNT));
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create a PARALLEL StreamingAggregator.
+     *
+     * @param fByPartition  true if the aggregator should be BY_PARTITION
+     *
+     * @return the aggregator
+     */
+    private static InvocableMap.StreamingAggregator aggregator(boolean fByPartition)
+        {
+        InvocableMap.StreamingAggregator agent = mock(InvocableMap.StreamingAggregator.class);
+        when(agent.isParallel()).thenReturn(true);
+        when(agent.isByPartition()).thenReturn(fByPartition);
+        return agent;
+        }
+
+    /**
+     * Aggregate the specified partitions on the calling thread.
+     *
+     * @param storage  the storage
+     * @param parts    the partitions to aggregate
+     *
+     * @return the partial result
+     */
+    private static Object serialResult(TestStorage storage, PartitionSet parts)
+        {
+        InvocableMap.StreamingAggregator agent = new LongSum(IdentityExtractor.INSTANCE);
+        agent.accumulate(storage.createEntries(parts));
+        return agent.getPartialResult();
+        }
+
+    /**
+     * Create a PartitionSet containing the specified partitions.
+     *
+     * @param anPart  the partitions
+     *
+     * @return the PartitionSet
+     */
+    private static PartitionSet partitions(int... anPart)
+        {
+        PartitionSet parts = new PartitionSet(PARTITION_COUNT);
+        for (int nPart : anPart)
+            {
+            parts.add(nPart);
+            }
+        return parts;
+        }
+
+    /**
+     * Create a PartitionSet containing all the partitions.
+     *
+     * @return the PartitionSet
+     */
+    private static PartitionSet allPartitions()
+        {
+        PartitionSet parts = new PartitionSet(PARTITION_COUNT);
+        parts.fill();
+        return parts;
+        }
+
+    // ----- inner classes --------------------------------------------------
+
+    /**
+    * Testable PartitionedCache.Storage that holds {@code nPart % 5 + 1}
+    * entries with the values {@code nPart * 10 + i} in each partition.
+    */
+    static class TestStorage
+            extends Storage
+        {
+        /**
+        * Construct a TestStorage
+        *
+        * @param cSize  the size reported for any set of partitions
+        */
+        TestStorage(int cSize)
+            {
+            this(cSize, null);
+            }
+
+        /**
+        * Construct a TestStorage
+        *
+        * @param cSize  the size reported for any set of partitions
+        * @param latch  the latch to wait for before each partition is
+        *               aggregated, or null
+        */
+        TestStorage(int cSize, CountDownLatch latch)
+            {
+            super(null, null, true);
+
+            f_cSize = cSize;
+            f_latch = latch;
+            }
+
+        // ----- PartitionedCache.Storage overrides ---------------------
+
+        /**
+        * Initialize.
+        */
+        public void onInit()
+            {
+            }
+
+        @Override
+        public int calculateSize(PartitionSet partMask, boolean fStrict)
+            {
+            return f_cSize;
+            }
+
+        @Override
+        public boolean isParallelAggregation(Filter filter, InvocableMap.StreamingAggregator agent, PartitionSet partMask)
+            {
+            return super.isParallelAggregation(filter, agent, partMask);
+            }
+
+        @Override
+        protected Streamer createStreamer(Filter filter, InvocableMap.StreamingAggregator agent, PartitionSet partMask)
+            {
+            m_threadLast = Thread.currentThread();
+            for (int nPart = partMask.next(0); nPart >= 0; nPart = partMask.next(nPart + 1))
+                {
+                f_acCalls.incrementAndGet(nPart);
+                }
+
+            f_latchEntered.countDown();
+            if (f_latch != null)
+                {
+                try
+                    {
+                    f_latch.await();
+                    }
+                catch (InterruptedException e)
+                    {
+                    Thread.currentThread().interrupt();
+                    }
+                }
+
+            return createEntries(partMask);
+            }
+
+        // ----- helpers ------------------------------------------------
+
+        /**
+        * Create a Streamer over the entries of the specified partitions.
+        *
+        * @param partMask  the partitions
+        *
+        * @return the Streamer
+        */
+        Streamer createEntries(PartitionSet partMask)
+            {
+            List<InvocableMap.Entry> listEntries = new ArrayList<>();
+            for (int nPart = partMask.next(0); nPart >= 0; nPart = partMask.next(nPart + 1))
+                {
+                for (int i = 0, c = nPart % 5 + 1; i < c; i++)
+                    {
+                    long lValue = nPart * 10L + i;
+                    listEntries.add(new SimpleMapEntry(lValue, lValue));
+                    }
+                }
+            return new SimpleStreamer(listEntries);
+            }
+
+        /**
+        * Return the total number of partitions aggregated.
+        *
+        * @return the number of partitions aggregated
+        */
+        int getCallCount()
+            {
+            int cCalls = 0;
+            for (int nPart = 0; nPart < PARTITION_COUNT; nPart++)
+                {
+                cCalls += f_acCalls.get(nPart);
+                }
+            return cCalls;
+            }
+
+        // ----- data members -------------------------------------------
+
+        /**
+        * The size reported for any set of partitions.
+        */
+        private final int f_cSize;
+
+        /**
+        * The latch to wait for before each partition is aggregated, or null.
+        */
+        private final CountDownLatch f_latch;
+
+        /**
+        * Counted down once the first partition is being aggregated.
+        */
+        final CountDownLatch f_latchEntered = new CountDownLatch(1);
+
+        /**
+        * The number of times each partition has been aggregated.
+        */
+        final AtomicIntegerArray f_acCalls = new AtomicIntegerArray(PARTITION_COUNT);
+
+        /**
+        * The thread that created the last Streamer.
+        */
+        volatile Thread m_threadLast;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The system property used to configure the threshold.
+     */
+    private static final String PROP_THRESHOLD = "coherence.distributed.aggregate.parallel.threshold";
+
+    /**
+     * The partition count.
+     */
+    private static final int PARTITION_COUNT = 257;
+    }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService;
+
+import com.tangosol.coherence.component.util.daemon.queueProcessor.service.grid.partitionedService.partitionedCache.Storage;
+
+import com.tangosol.internal.util.QueryResultCache;
+
+import com.tangosol.net.internal.StorageVersion;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.Filter;
+
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.LimitFilter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for the query result cache of the PartitionedCache.Storage.
+ *
+ * @since 25.09
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class PartitionedCacheStorageQueryResultCacheTest
+    {
+    @Test
+    public void shouldNotCacheUnlessEnabled()
+        {
+        Storage storage = new TestStorage(null);
+
+        assertEquals(-1L, storage.getQueryResultVersion(FILTER, partitions(1)));
+        }
+
+    @Test
+    public void shouldOnlyCacheSinglePartitionQueries()
+        {
+        Storage storage = new TestStorage(new QueryResultCache(100));
+
+        assertEquals(0L, storage.getQueryResultVersion(FILTER, partitions(1)));
+        assertEquals(-1L, storage.getQueryResultVersion(FILTER, partitions(1, 2)));
+        assertEquals(-1L, storage.getQueryResultVersion(null, partitions(1)));
+        assertEquals(-1L, storage.getQueryResultVersion(new LimitFilter(FILTER, 10), partitions(1)));
+        }
+
+    @Test
+    public void shouldInvalidateResultsOnVersionChange()
+        {
+        QueryResultCache cache   = new QueryResultCache(100);
+        Storage          storage = new TestStorage(cache);
+        StorageVersion   version = storage.getVersion();
+        PartitionSet     parts   = partitions(1);
+
+        cache.put(FILTER, 1, storage.getQueryResultVersion(FILTER, parts), KEYS, KEYS.length);
+        assertArrayEquals(KEYS, cache.get(FILTER, 1, storage.getQueryResultVersion(FILTER, parts)));
+
+        // a pending modification prevents both caching and lookups
+        version.submit(1);
+        assertEquals(-1L, storage.getQueryResultVersion(FILTER, parts));
+
+        // once committed, the new version no longer matches the cached result
+        version.commit(1);
+        assertNull(cache.get(FILTER, 1, storage.getQueryResultVersion(FILTER, parts)));
+        assertEquals(0, cache.size());
+        assertEquals(0L, cache.getKeyCount());
+        }
+
+    @Test
+    public void shouldInvalidateResultsOnPartitionTransfer()
+        {
+        QueryResultCache cache   = new QueryResultCache(100);
+        Storage          storage = new TestStorage(cache);
+        long             lPart1  = storage.getQueryResultVersion(FILTER, partitions(1));
+        long             lPart2  = storage.getQueryResultVersion(FILTER, partitions(2));
+
+        cache.put(FILTER, 1, lPart1, KEYS, KEYS.length);
+        cache.put(FILTER, 2, lPart2, KEYS, KEYS.length);
+
+        // called when partition 1 is transferred out
+        storage.removePartitionQueryResults(1);
+
+        assertNull(cache.get(FILTER, 1, lPart1));
+        assertArrayEquals(KEYS, cache.get(FILTER, 2, lPart2));
+        assertEquals(KEYS.length, cache.getKeyCount());
+        }
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+     * Create a PartitionSet containing the specified partitions.
+     *
+     * @param anPart  the partitions
+     *
+     * @return the PartitionSet
+     */
+    private static PartitionSet partitions(int... anPart)
+        {
+        PartitionSet parts = new PartitionSet(PARTITION_COUNT);
+        for (int nPart : anPart)
+            {
+            parts.add(nPart);
+            }
+        return parts;
+        }
+
+    // ----- inner classes --------------------------------------------------
+
+    /**
+    * Testable PartitionedCache.Storage
+    */
+    static class TestStorage
+            extends Storage
+        {
+        /**
+        * Construct a TestStorage
+        *
+        * @param cache  the query result cache, or null to disable caching
+        */
+        TestStorage(QueryResultCache cache)
+            {
+            super(null, null, true);
+
+            setQueryResultCache(cache);
+            }
+
+        // ----- PartitionedCache.Storage overrides ---------------------
+
+        /**
+        * Initialize.
+        */
+        public void onInit()
+            {
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The partition count.
+     */
+    private static final int PARTITION_COUNT = 13;
+
+    /**
+     * The test filter.
+     */
+    private static final Filter FILTER = new EqualsFilter(IdentityExtractor.INSTANCE, 1);
+
+    /**
+     * The test keys.
+     */
+    private static final Object[] KEYS = {"a", "b"};
+    }
@@ -66,6 +66,7 @@ public class CaffeineSchemeTest
 
         assertEquals(0, scheme.getExpiryDelay(new NullParameterResolver()).getNanos());
         assertEquals(0, scheme.getHighUnits(new NullParameterResolver()).getUnitCount());
+        assertEquals(0, scheme.getLowUnits(new NullParameterResolver()).getUnitCount());
         assertEquals(1, scheme.getUnitFactor(new NullParameterResolver()));
         }
 
@@ -92,6 +93,11 @@ public class CaffeineSchemeTest
         scheme.setHighUnits(new LiteralExpression<>(new Units(cHighUnits)));
         assertEquals(cHighUnits, scheme.getHighUnits(new NullParameterResolver()).getUnitCount());
 
+        int cLowUnits = 500;
+
+        scheme.setLowUnits(new LiteralExpression<>(new Units(cLowUnits)));
+        assertEquals(cLowUnits, scheme.getLowUnits(new NullParameterResolver()).getUnitCount());
+
         int nUnitFactor = 10;
 
         scheme.setUnitFactor(new LiteralExpression<>(nUnitFactor));
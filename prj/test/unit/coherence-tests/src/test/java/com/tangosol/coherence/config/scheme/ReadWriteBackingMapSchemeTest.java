@@ -81,6 +81,11 @@ public class ReadWriteBackingMapSchemeTest
         assertEquals(0, scheme.getWriteDelaySeconds(new NullParameterResolver()));
         assertEquals(128, scheme.getWriteMaxBatchSize(new NullParameterResolver()));
         assertEquals(0, scheme.getWriteRequeueThreshold(new NullParameterResolver()));
+        assertEquals(1, scheme.getWriteBehindThreadCount(new NullParameterResolver()));
+        assertFalse(scheme.isWriteBatchAdaptive(new NullParameterResolver()));
+        assertEquals(0, scheme.getPreloadThreadCount(new NullParameterResolver()));
+        assertEquals(1, scheme.getReadMaxBatchSize(new NullParameterResolver()));
+        assertEquals(4, scheme.getReadMaxPendingBatches(new NullParameterResolver()));
         assertFalse(scheme.isReadOnly(new NullParameterResolver()));
         assertTrue(scheme.isRollbackCacheStoreFailures(new NullParameterResolver()));
         }
@@ -142,6 +147,21 @@ public class ReadWriteBackingMapSchemeTest
         scheme.setWriteRequeueThreshold(new LiteralExpression<Integer>(50));
         assertEquals(50, scheme.getWriteRequeueThreshold(new NullParameterResolver()));
 
+        scheme.setWriteBehindThreadCount(new LiteralExpression<Integer>(4));
+        assertEquals(4, scheme.getWriteBehindThreadCount(new NullParameterResolver()));
+
+        scheme.setWriteBatchAdaptive(new LiteralExpression<Boolean>(true));
+        assertTrue(scheme.isWriteBatchAdaptive(new NullParameterResolver()));
+
+        scheme.setPreloadThreadCount(new LiteralExpression<Integer>(8));
+        assertEquals(8, scheme.getPreloadThreadCount(new NullParameterResolver()));
+
+        scheme.setReadMaxBatchSize(new LiteralExpression<Integer>(64));
+        assertEquals(64, scheme.getReadMaxBatchSize(new NullParameterResolver()));
+
+        scheme.setReadMaxPendingBatches(new LiteralExpression<Integer>(2));
+        assertEquals(2, scheme.getReadMaxPendingBatches(new NullParameterResolver()));
+
         scheme.setReadOnly(new LiteralExpression<Boolean>(true));
         assertTrue(scheme.isReadOnly(new NullParameterResolver()));
 
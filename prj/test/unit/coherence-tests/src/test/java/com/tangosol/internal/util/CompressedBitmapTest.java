@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.internal.util;
+
+import java.util.BitSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link CompressedBitmap}.
+ */
+public class CompressedBitmapTest
+    {
+    @Test
+    public void shouldAddAndRemove()
+        {
+        CompressedBitmap bitmap = new CompressedBitmap();
+
+        assertTrue(bitmap.isEmpty());
+        assertTrue(bitmap.add(5));
+        assertFalse(bitmap.add(5));
+        assertTrue(bitmap.add(70000));
+        assertTrue(bitmap.add(Integer.MAX_VALUE));
+
+        assertEquals(3, bitmap.cardinality());
+        assertTrue(bitmap.contains(5));
+        assertTrue(bitmap.contains(70000));
+        assertTrue(bitmap.contains(Integer.MAX_VALUE));
+        assertFalse(bitmap.contains(6));
+        assertArrayEquals(new int[] {5, 70000, Integer.MAX_VALUE}, bitmap.toArray());
+
+        assertTrue(bitmap.remove(70000));
+        assertFalse(bitmap.remove(70000));
+        assertFalse(bitmap.contains(70000));
+        assertEquals(2, bitmap.cardinality());
+
+        assertTrue(bitmap.remove(5));
+        assertTrue(bitmap.remove(Integer.MAX_VALUE));
+        assertTrue(bitmap.isEmpty());
+        }
+
+    @Test
+    public void shouldConvertBetweenArrayAndBitmapContainers()
+        {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        int              c      = CompressedBitmap.ARRAY_MAX * 2;
+
+        for (int i = 0; i < c; i++)
+            {
+            bitmap.add(i * 3 % 65536);
+            }
+        long cbDense = bitmap.getUnits();
+        assertEquals(c, bitmap.cardinality());
+
+        for (int i = 0; i < c; i++)
+            {
+            assertTrue(bitmap.contains(i * 3 % 65536));
+            }
+
+        for (int i = 0; i < c - 10; i++)
+            {
+            assertTrue(bitmap.remove(i * 3 % 65536));
+            }
+        assertEquals(10, bitmap.cardinality());
+        assertTrue(bitmap.getUnits() < cbDense);
+
+        int[] an = bitmap.toArray();
+        assertEquals(10, an.length);
+        for (int i = 1; i < an.length; i++)
+            {
+            assertTrue(an[i - 1] < an[i]);
+            }
+        }
+
+    @Test
+    public void shouldCombineLikeBitSet()
+        {
+        Random rnd = new Random(42L);
+
+        for (int nIter = 0; nIter < 20; nIter++)
+            {
+            int              nRange = nIter % 2 == 0 ? 200_000 : 20_000;
+            int              cBits  = rnd.nextInt(40_000);
+            BitSet           bs1    = new BitSet();
+            BitSet           bs2    = new BitSet();
+            CompressedBitmap bm1    = new CompressedBitmap();
+            CompressedBitmap bm2    = new CompressedBitmap();
+
+            for (int i = 0; i < cBits; i++)
+                {
+                int n1 = rnd.nextInt(nRange);
+                int n2 = rnd.nextInt(nRange);
+                bs1.set(n1);
+                bm1.add(n1);
+                bs2.set(n2);
+                bm2.add(n2);
+                }
+
+            BitSet bsAnd = (BitSet) bs1.clone();
+            bsAnd.and(bs2);
+            BitSet bsOr = (BitSet) bs1.clone();
+            bsOr.or(bs2);
+            BitSet bsAndNot = (BitSet) bs1.clone();
+            bsAndNot.andNot(bs2);
+
+            assertBitmap(bs1, bm1);
+            assertBitmap(bsAnd, bm1.and(bm2));
+            assertBitmap(bsOr, bm1.or(bm2));
+            assertBitmap(bsAndNot, bm1.andNot(bm2));
+
+            // operands must not be modified
+            assertBitmap(bs1, bm1);
+            assertBitmap(bs2, bm2);
+            }
+        }
+
+    @Test
+    public void shouldCopy()
+        {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 10_000; i += 2)
+            {
+            bitmap.add(i);
+            }
+
+        CompressedBitmap copy = bitmap.copy();
+        assertEquals(bitmap, copy);
+        assertEquals(bitmap.hashCode(), copy.hashCode());
+
+        copy.remove(0);
+        assertTrue(bitmap.contains(0));
+        assertNotEquals(bitmap, copy);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    private static void assertBitmap(BitSet expected, CompressedBitmap actual)
+        {
+        assertEquals(expected.cardinality(), actual.cardinality());
+
+        PrimitiveIterator.OfInt iter = actual.iterator();
+        for (int n = expected.nextSetBit(0); n >= 0; n = expected.nextSetBit(n + 1))
+            {
+            assertTrue(iter.hasNext());
+            assertEquals(n, iter.nextInt());
+            assertTrue(actual.contains(n));
+            }
+        assertFalse(iter.hasNext());
+        }
+    }
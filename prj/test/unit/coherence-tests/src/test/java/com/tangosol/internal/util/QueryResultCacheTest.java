@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.internal.util;
+
+import com.tangosol.util.Filter;
+
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link QueryResultCache}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class QueryResultCacheTest
+    {
+    @Test
+    public void shouldReturnResultForSameVersion()
+        {
+        QueryResultCache cache = new QueryResultCache(100);
+
+        cache.put(FILTER, 1, 5L, new Object[] {"a", "b", "c"}, 2);
+
+        // an equal filter finds the result
+        assertArrayEquals(new Object[] {"a", "b"},
+                          cache.get(new EqualsFilter(IdentityExtractor.INSTANCE, 1), 1, 5L));
+        assertNull(cache.get(FILTER, 2, 5L));
+        assertNull(cache.get(new GreaterFilter(IdentityExtractor.INSTANCE, 1), 1, 5L));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        }
+
+    @Test
+    public void shouldDiscardResultForNewVersion()
+        {
+        QueryResultCache cache = new QueryResultCache(100);
+
+        cache.put(FILTER, 1, 5L, new Object[] {"a"}, 1);
+
+        assertNull(cache.get(FILTER, 1, 6L));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getKeyCount());
+        }
+
+    @Test
+    public void shouldReturnCopy()
+        {
+        QueryResultCache cache = new QueryResultCache(100);
+        Object[]         aoKey = {"a", "b"};
+
+        cache.put(FILTER, 1, 5L, aoKey, 2);
+        aoKey[0] = "x";
+
+        Object[] aoResult = cache.get(FILTER, 1, 5L);
+        aoResult[1] = "y";
+
+        assertArrayEquals(new Object[] {"a", "b"}, cache.get(FILTER, 1, 5L));
+        }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed()
+        {
+        QueryResultCache cache = new QueryResultCache(10);
+
+        cache.put(FILTER, 1, 1L, new Object[4], 4);
+        cache.put(FILTER, 2, 1L, new Object[4], 4);
+
+        // touch the first result, so that the second one is evicted
+        assertNotNull(cache.get(FILTER, 1, 1L));
+        cache.put(FILTER, 3, 1L, new Object[4], 4);
+
+        assertEquals(8, cache.getKeyCount());
+        assertNotNull(cache.get(FILTER, 1, 1L));
+        assertNull(cache.get(FILTER, 2, 1L));
+        assertNotNull(cache.get(FILTER, 3, 1L));
+
+        // a result larger than half of the cache is not cached
+        cache.put(FILTER, 4, 1L, new Object[6], 6);
+        assertNull(cache.get(FILTER, 4, 1L));
+        assertEquals(8, cache.getKeyCount());
+        }
+
+    @Test
+    public void shouldInvalidatePartition()
+        {
+        QueryResultCache cache  = new QueryResultCache(100);
+        Filter           filter = new GreaterFilter(IdentityExtractor.INSTANCE, 1);
+
+        cache.put(FILTER, 1, 1L, new Object[2], 2);
+        cache.put(filter, 1, 1L, new Object[3], 3);
+        cache.put(FILTER, 2, 1L, new Object[4], 4);
+
+        cache.invalidate(1);
+
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getKeyCount());
+        assertNotNull(cache.get(FILTER, 2, 1L));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getKeyCount());
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    /**
+     * The test filter.
+     */
+    private static final Filter FILTER = new EqualsFilter(IdentityExtractor.INSTANCE, 1);
+    }
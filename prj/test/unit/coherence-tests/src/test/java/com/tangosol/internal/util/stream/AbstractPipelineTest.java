@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.internal.util.stream;
+
+import com.tangosol.internal.util.PartitionedStreamer;
+
+import com.tangosol.net.BackingMapContext;
+
+import com.tangosol.net.partition.PartitionSet;
+
+import com.tangosol.util.ColumnarMapIndex;
+import com.tangosol.util.InvocableMap;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.Streamer;
+import com.tangosol.util.ValueExtractor;
+
+import com.tangosol.util.extractor.ColumnarExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.stream.RemoteStream;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+* Unit tests for the evaluation of an {@link AbstractPipeline} against the
+* columns of a {@link ColumnarMapIndex}.
+*
+* @since 25.09
+*/
+public class AbstractPipelineTest
+    {
+    /**
+    * Test that an extraction that directly follows the head of the pipeline
+    * is evaluated against the columns, without walking the entries.
+    */
+    @Test
+    public void testExtractFromColumns()
+        {
+        PartitionStreamer streamer = createStreamer(true);
+
+        List<Object> listValues = evaluate(extract(createStream()), streamer);
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), listValues);
+        assertEquals(0, streamer.getNextCount());
+        }
+
+    /**
+    * Test that an extraction that follows a filter is evaluated against the
+    * entries, so that the filter is applied.
+    */
+    @Test
+    public void testFilterBeforeExtract()
+        {
+        PartitionStreamer streamer = createStreamer(true);
+
+        RemoteStream<InvocableMap.Entry<Long, Long>> stream =
+                createStream().filter(entry -> entry.getKey() % 2 == 0);
+
+        List<Object> listValues = evaluate(extract(stream), streamer);
+
+        assertEquals(Arrays.asList(0L, 2L, 4L, 6L, 8L), listValues);
+        assertEquals(10, streamer.getNextCount());
+        }
+
+    /**
+    * Test that an extraction is evaluated against the entries if the index
+    * does not exist.
+    */
+    @Test
+    public void testExtractWithoutIndex()
+        {
+        PartitionStreamer streamer = createStreamer(false);
+
+        List<Object> listValues = evaluate(extract(createStream()), streamer);
+
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L), listValues);
+        assertEquals(10, streamer.getNextCount());
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Create a stream of entries that directly follows the head of the
+    * pipeline.
+    *
+    * @return a new stream of entries
+    */
+    @SuppressWarnings("unchecked")
+    protected static RemoteStream<InvocableMap.Entry<Long, Long>> createStream()
+        {
+        return StreamSupport.entryStream(mock(InvocableMap.class), false, null, null);
+        }
+
+    /**
+    * Add an extraction of the entry values to the specified stream.
+    *
+    * @param stream  the stream of entries
+    *
+    * @return the stream of the extracted values
+    */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static RemoteStream<Object> extract(RemoteStream<InvocableMap.Entry<Long, Long>> stream)
+        {
+        return ((ReferencePipeline) stream).extract(IdentityExtractor.INSTANCE);
+        }
+
+    /**
+    * Evaluate the specified pipeline against the specified streamer.
+    *
+    * @param stream    the pipeline
+    * @param streamer  the streamer
+    *
+    * @return the sorted elements of the resulting stream
+    */
+    @SuppressWarnings("rawtypes")
+    protected static List<Object> evaluate(RemoteStream<Object> stream, Streamer<?> streamer)
+        {
+        Stream<?>    streamResult = (Stream<?>) ((AbstractPipeline) stream).evaluate(streamer);
+        List<Object> listValues   = streamResult.collect(Collectors.toList());
+
+        listValues.sort(null);
+        return listValues;
+        }
+
+    /**
+    * Create a streamer over the entries {@code i -> i} for {@code i} from
+    * {@code 0} to {@code 9}, split across two partitions.
+    *
+    * @param fIndex  true if the partitions have a ColumnarMapIndex for the
+    *                entry values
+    *
+    * @return a new streamer
+    */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    protected static PartitionStreamer createStreamer(boolean fIndex)
+        {
+        ValueExtractor[]         aExtractor  = {IdentityExtractor.INSTANCE};
+        ColumnarExtractor        extractor   = new ColumnarExtractor(aExtractor);
+        BackingMapContext        ctx         = mock(BackingMapContext.class);
+        PartitionSet             parts       = new PartitionSet(2);
+        List<InvocableMap.Entry> listEntries = new ArrayList<>();
+
+        for (int iPart = 0; iPart < 2; iPart++)
+            {
+            ColumnarMapIndex index = new ColumnarMapIndex(extractor, aExtractor, null);
+            for (long l = iPart; l < 10; l += 2)
+                {
+                SimpleMapEntry entry = new SimpleMapEntry(l, l);
+                index.insert(entry);
+                listEntries.add(entry);
+                }
+
+            Map<ValueExtractor, MapIndex> mapIndex = fIndex
+                    ? Collections.singletonMap(extractor, index)
+                    : Collections.emptyMap();
+            when(ctx.getIndexMap(iPart)).thenReturn(mapIndex);
+            parts.add(iPart);
+            }
+
+        return new PartitionStreamer(listEntries, ctx, parts);
+        }
+
+    // ----- inner class: PartitionStreamer ---------------------------------
+
+    /**
+    * A PartitionedStreamer over a list of entries that counts the entries
+    * it returns.
+    */
+    @SuppressWarnings("rawtypes")
+    public static class PartitionStreamer
+            implements PartitionedStreamer<InvocableMap.Entry>
+        {
+        public PartitionStreamer(List<InvocableMap.Entry> listEntries, BackingMapContext ctx, PartitionSet parts)
+            {
+            f_cEntries = listEntries.size();
+            f_iterator = listEntries.iterator();
+            f_ctx      = ctx;
+            f_parts    = parts;
+            }
+
+        public boolean hasNext()
+            {
+            return f_iterator.hasNext();
+            }
+
+        public InvocableMap.Entry next()
+            {
+            m_cNext++;
+            return f_iterator.next();
+            }
+
+        public long size()
+            {
+            return f_cEntries;
+            }
+
+        public int characteristics()
+            {
+            return SIZED | ALL_INCLUSIVE;
+            }
+
+        public BackingMapContext getBackingMapContext()
+            {
+            return f_ctx;
+            }
+
+        public PartitionSet getPartitions()
+            {
+            return f_parts;
+            }
+
+        /**
+        * Return the number of entries returned by this streamer.
+        *
+        * @return the number of entries returned by this streamer
+        */
+        public int getNextCount()
+            {
+            return m_cNext;
+            }
+
+        protected final int                          f_cEntries;
+        protected final Iterator<InvocableMap.Entry> f_iterator;
+        protected final BackingMapContext            f_ctx;
+        protected final PartitionSet                 f_parts;
+        protected int                                m_cNext;
+        }
+    }
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.io.pof;
+
+import com.tangosol.io.pof.generator.PortableTypeCodec;
+
+import com.tangosol.io.pof.reflect.PofValue;
+import com.tangosol.io.pof.reflect.PofValueParser;
+
+import com.tangosol.io.pof.schema.annotation.PortableType;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.ExternalizableHelper;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the {@link GeneratedPortableTypeSerializer}.
+ */
+public class GeneratedPortableTypeSerializerTest
+    {
+    @Before
+    public void setup()
+        {
+        m_ctx = new SimplePofContext();
+        m_ctx.registerUserType(1001, Person.class,
+                               GeneratedPortableTypeSerializer.create(1001, Person.class));
+        m_ctx.registerUserType(1002, Employee.class,
+                               GeneratedPortableTypeSerializer.create(1002, Employee.class));
+        }
+
+    @Test
+    public void testRoundTrip()
+        {
+        Person person = new Person("Aleks", 45);
+        assertEquals(person, ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(person, m_ctx), m_ctx));
+
+        Employee employee = new Employee("Mark", 50, "Oracle");
+        employee.m_listTags.add("pof");
+        employee.m_alValue = new long[] {1L, 2L, 3L};
+        assertEquals(employee, ExternalizableHelper.fromBinary(ExternalizableHelper.toBinary(employee, m_ctx), m_ctx));
+        }
+
+    @Test
+    public void testFormat()
+        {
+        Employee employee = new Employee("Mark", 50, "Oracle");
+        Binary   bin      = ExternalizableHelper.toBinary(employee, m_ctx);
+        PofValue value    = PofValueParser.parse(bin.toBinary(1, bin.length() - 1), m_ctx);
+
+        // the properties of each class are written into a nested stream
+        // keyed by the type identifier of the class
+        assertEquals("Mark", value.getChild(1001).getChild(0).getValue());
+        assertEquals(50, value.getChild(1001).getChild(1).getValue());
+        assertEquals("Oracle", value.getChild(1002).getChild(0).getValue());
+        }
+
+    @Test
+    public void testCodecCache()
+        {
+        assertSame(PortableTypeCodec.getCodec(Person.class), PortableTypeCodec.getCodec(Person.class));
+        }
+
+    @Test
+    public void testUnsupported()
+        {
+        assertNull(GeneratedPortableTypeSerializer.create(1003, Immutable.class));
+        assertNull(GeneratedPortableTypeSerializer.create(1004, String.class));
+        }
+
+    // ----- inner class: Person --------------------------------------------
+
+    @PortableType(id = 1001)
+    public static class Person
+        {
+        public Person()
+            {
+            }
+
+        public Person(String sName, int nAge)
+            {
+            m_sName = sName;
+            m_nAge  = nAge;
+            }
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (!(o instanceof Person))
+                {
+                return false;
+                }
+            Person that = (Person) o;
+            return m_nAge == that.m_nAge && Objects.equals(m_sName, that.m_sName);
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return Objects.hash(m_sName, m_nAge);
+            }
+
+        private String m_sName;
+
+        private int m_nAge;
+
+        private transient String m_sCached;
+        }
+
+    // ----- inner class: Employee ------------------------------------------
+
+    @PortableType(id = 1002, version = 1)
+    public static class Employee
+            extends Person
+        {
+        private Employee()
+            {
+            }
+
+        public Employee(String sName, int nAge, String sCompany)
+            {
+            super(sName, nAge);
+            m_sCompany = sCompany;
+            }
+
+        @Override
+        public boolean equals(Object o)
+            {
+            if (!super.equals(o) || !(o instanceof Employee))
+                {
+                return false;
+                }
+            Employee that = (Employee) o;
+            return Objects.equals(m_sCompany, that.m_sCompany)
+                   && Objects.equals(m_listTags, that.m_listTags)
+                   && Arrays.equals(m_alValue, that.m_alValue);
+            }
+
+        @Override
+        public int hashCode()
+            {
+            return Objects.hash(super.hashCode(), m_sCompany);
+            }
+
+        private String m_sCompany;
+
+        private List<String> m_listTags = new ArrayList<>();
+
+        private long[] m_alValue;
+        }
+
+    // ----- inner class: Immutable -----------------------------------------
+
+    @PortableType(id = 1003)
+    public static class Immutable
+        {
+        public Immutable()
+            {
+            m_sName = null;
+            }
+
+        private final String m_sName;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private SimplePofContext m_ctx;
+    }
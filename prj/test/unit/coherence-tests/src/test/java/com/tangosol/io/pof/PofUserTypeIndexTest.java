@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof;
+
+
+import com.tangosol.io.ReadBuffer;
+
+import com.tangosol.io.pof.reflect.PofPathScanner;
+import com.tangosol.io.pof.reflect.PofValue;
+import com.tangosol.io.pof.reflect.PofValueParser;
+import com.tangosol.io.pof.reflect.SimplePofPath;
+
+import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryWriteBuffer;
+
+import data.pof.Address;
+import data.pof.PortablePerson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests for the indexed POF user type encoding.
+ */
+public class PofUserTypeIndexTest
+    {
+    // ----- test methods ---------------------------------------------------
+
+    /**
+    * Test that an indexed user type round-trips and carries the marker.
+    */
+    @Test
+    public void testRoundTrip()
+            throws IOException
+        {
+        PortablePerson person = PortablePerson.create();
+        Binary         bin    = serialize(person, getPofContext(true));
+
+        ReadBuffer.BufferInput in = bin.getBufferInput();
+        assertEquals(2, in.readPackedInt());
+        assertEquals(PofConstants.T_INDEXED_USER_TYPE, in.readPackedInt());
+
+        assertEquals(person, deserialize(bin, getPofContext(true)));
+
+        // a plain context cannot tell the difference
+        assertEquals(person, deserialize(bin, getPofContext(false)));
+        }
+
+    /**
+    * Test the offset table of a serialized value.
+    */
+    @Test
+    public void testIndex()
+            throws IOException
+        {
+        Binary                 bin = serialize(PortablePerson.create(), getPofContext(true));
+        ReadBuffer.BufferInput in  = bin.getBufferInput();
+        in.readPackedInt();
+        in.readPackedInt();
+
+        PofUserTypeIndex index = PofUserTypeIndex.read(in);
+        assertEquals(index.getBodyOffset(), in.getOffset());
+        assertTrue(index.getPropertyCount() > 0);
+
+        for (int i = 0, c = index.getPropertyCount(); i < c; i++)
+            {
+            int iProp = index.getPropertyIndex(i);
+            assertEquals(i, index.find(iProp));
+
+            in.setOffset(index.getPropertyOffset(i));
+            assertEquals(iProp, in.readPackedInt());
+            assertEquals(index.getValueOffset(i), in.getOffset());
+            }
+
+        assertTrue(index.find(PortablePerson.PHONE + 100) < 0);
+
+        // the terminator follows the last property
+        in.setOffset(index.getPropertyOffset(index.getPropertyCount()));
+        assertEquals(-1, in.readPackedInt());
+        assertEquals(0, in.available());
+        }
+
+    /**
+    * Test that PofValue navigation and the path scanner produce the same
+    * values for the indexed and the regular encoding.
+    */
+    @Test
+    public void testNavigation()
+            throws IOException
+        {
+        PortablePerson person     = PortablePerson.create();
+        Binary         binIndexed = serialize(person, getPofContext(true));
+        Binary         binPlain   = serialize(person, getPofContext(false));
+        int[][]        aaiPath    = new int[][]
+            {
+            {PortablePerson.NAME},
+            {PortablePerson.ADDRESS, Address.CITY},
+            {PortablePerson.SPOUSE, PortablePerson.ADDRESS, Address.ZIP},
+            {PortablePerson.AGE},
+            {PortablePerson.PHONE + 100}
+            };
+
+        PofContext ctx          = getPofContext(true);
+        PofValue   valueIndexed = PofValueParser.parse(binIndexed, ctx);
+        PofValue   valuePlain   = PofValueParser.parse(binPlain, ctx);
+        Object[]   aoValue      = new Object[aaiPath.length];
+        int[]      anType       = new int[aaiPath.length];
+        Arrays.fill(anType, PofConstants.T_UNKNOWN);
+
+        assertTrue(new PofPathScanner(aaiPath).scan(binIndexed, ctx, anType, aoValue));
+
+        for (int i = 0; i < aaiPath.length; i++)
+            {
+            PofValue valueA = new SimplePofPath(aaiPath[i]).navigate(valueIndexed);
+            PofValue valueB = new SimplePofPath(aaiPath[i]).navigate(valuePlain);
+            Object   oA     = valueA == null ? null : valueA.getValue();
+            Object   oB     = valueB == null ? null : valueB.getValue();
+
+            assertEquals(oB, oA);
+            assertEquals(oB, aoValue[i]);
+            }
+        }
+
+    /**
+    * Test that modifications through a PofValue are spliced into the
+    * indexed encoding.
+    */
+    @Test
+    public void testUpdate()
+            throws IOException
+        {
+        PofContext     ctx    = getPofContext(true);
+        PortablePerson person = PortablePerson.create();
+        PofValue       value  = PofValueParser.parse(serialize(person, ctx), ctx);
+
+        new SimplePofPath(PortablePerson.NAME).navigate(value).setValue("Ana Maria Seovic Longer");
+        new SimplePofPath(new int[] {PortablePerson.ADDRESS, Address.CITY}).navigate(value).setValue("Belgrade");
+
+        Binary         binNew = value.applyChanges();
+        PortablePerson result = (PortablePerson) deserialize(binNew, ctx);
+
+        assertEquals("Ana Maria Seovic Longer", result.m_sName);
+        assertEquals("Belgrade", result.getAddress().getCity());
+        assertEquals(person.getSpouse(), result.getSpouse());
+
+        // the index of the result must be usable
+        PofValue valueNew = PofValueParser.parse(binNew, ctx);
+        assertEquals("Belgrade",
+                new SimplePofPath(new int[] {PortablePerson.ADDRESS, Address.CITY}).navigate(valueNew).getValue());
+        }
+
+    /**
+    * Test the delta compression of indexed user types.
+    */
+    @Test
+    public void testDelta()
+            throws IOException
+        {
+        PofContext     ctx     = getPofContext(true);
+        PortablePerson person1 = PortablePerson.create();
+        PortablePerson person2 = PortablePerson.create();
+        person2.setAddress(new Address("1500 Boylston St.", "Boston", "MA", "02115"));
+
+        PortablePerson person3 = new PortablePerson("Aleksandar Seovic", new Date(74, 7, 24), 36);
+
+        PofDeltaCompressor compressor = new PofDeltaCompressor();
+        for (PortablePerson personNew : new PortablePerson[] {person1, person2, person3})
+            {
+            Binary     binOld = serialize(person1, ctx);
+            Binary     binNew = serialize(personNew, ctx);
+            ReadBuffer delta  = compressor.createDelta(binOld, binNew);
+
+            assertEquals(binNew, compressor.applyDelta(binOld, delta).toBinary());
+            }
+        }
+
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Return a PofContext that optionally uses the indexed encoding for the
+    * Address and PortablePerson types.
+    */
+    protected static PofContext getPofContext(boolean fIndexed)
+        {
+        SimplePofContext ctx = new SimplePofContext();
+        ctx.registerUserType(1, Address.class, new PortableObjectSerializer(1));
+        ctx.registerUserType(2, PortablePerson.class, new PortableObjectSerializer(2));
+        ctx.setIndexedUserType(1, fIndexed);
+        ctx.setIndexedUserType(2, fIndexed);
+        return ctx;
+        }
+
+    /**
+    * Serialize the specified object into raw POF.
+    */
+    protected static Binary serialize(Object o, PofContext ctx)
+            throws IOException
+        {
+        BinaryWriteBuffer buf = new BinaryWriteBuffer(256);
+        ctx.serialize(buf.getBufferOutput(), o);
+        return buf.toBinary();
+        }
+
+    /**
+    * Deserialize the specified raw POF value.
+    */
+    protected static Object deserialize(Binary bin, PofContext ctx)
+            throws IOException
+        {
+        return ctx.deserialize(bin.getBufferInput());
+        }
+    }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+
+package com.tangosol.io.pof.reflect;
+
+
+import com.tangosol.io.pof.PofConstants;
+import com.tangosol.io.pof.PofContext;
+
+import com.tangosol.util.Binary;
+
+import data.pof.Address;
+import data.pof.ObjectWithAllTypes;
+import data.pof.PofDataUtils;
+import data.pof.PortablePerson;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+
+/**
+ * Tests for the {@link PofPathScanner} class.
+ */
+public class PofPathScannerTest
+        extends PofDataUtils
+    {
+    // ----- test methods ---------------------------------------------------
+
+    /**
+    * Test that scanning nested paths produces the same values as
+    * navigating the PofValue tree, for all binary formats.
+    */
+    @Test
+    public void testNestedPaths()
+            throws IOException
+        {
+        int[][] aaiPath = new int[][]
+            {
+            {PortablePerson.NAME},
+            {PortablePerson.AGE},
+            {PortablePerson.ADDRESS, Address.CITY},
+            {PortablePerson.ADDRESS, Address.ZIP},
+            {PortablePerson.ADDRESS},
+            {PortablePerson.SPOUSE, PortablePerson.NAME},
+            {PortablePerson.SPOUSE, PortablePerson.ADDRESS, Address.STATE},
+            {PortablePerson.SPOUSE, PortablePerson.SPOUSE, PortablePerson.NAME},
+            {PortablePerson.NAME}
+            };
+
+        int[] anType = new int[aaiPath.length];
+        Arrays.fill(anType, PofConstants.T_UNKNOWN);
+        anType[1] = PofConstants.T_INT64;
+
+        for (int nMode : new int[] {MODE_PLAIN, MODE_FMT_EXT, MODE_FMT_IDO, MODE_FMT_DECO})
+            {
+            assertScan(serialize(PortablePerson.create(), nMode), aaiPath, anType);
+            }
+        }
+
+    /**
+    * Test that scanning the properties of all types produces the same values
+    * as navigating the PofValue tree, including properties that are missing.
+    */
+    @Test
+    public void testAllTypes()
+            throws Exception
+        {
+        ObjectWithAllTypes o = new ObjectWithAllTypes();
+        o.init();
+
+        Binary  bin     = serialize(o, MODE_FMT_EXT);
+        int[][] aaiPath = new int[ObjectWithAllTypes.DOUBLE_U_LIST + 2][];
+        for (int i = 0; i <= ObjectWithAllTypes.DOUBLE_U_LIST; i++)
+            {
+            aaiPath[i] = new int[] {i};
+            }
+        aaiPath[aaiPath.length - 1] = new int[] {ObjectWithAllTypes.NOT_PRESENT};
+
+        int[] anType = new int[aaiPath.length];
+        Arrays.fill(anType, PofConstants.T_UNKNOWN);
+
+        assertScan(bin, aaiPath, anType);
+
+        // each path on its own
+        for (int i = 0; i < aaiPath.length; i++)
+            {
+            assertScan(bin, new int[][] {aaiPath[i]}, new int[] {PofConstants.T_UNKNOWN});
+            }
+        }
+
+    /**
+    * Test the defaults for missing primitive properties.
+    */
+    @Test
+    public void testMissingPrimitive()
+            throws IOException
+        {
+        Binary  bin     = serialize(new PortablePerson("Aleksandar Seovic", new Date(74, 7, 24), 36), MODE_FMT_EXT);
+        int[][] aaiPath = new int[][]
+            {
+            {ObjectWithAllTypes.NOT_PRESENT},
+            {ObjectWithAllTypes.NOT_PRESENT},
+            {PortablePerson.ADDRESS, Address.CITY}
+            };
+
+        assertScan(bin, aaiPath, new int[] {PofConstants.T_INT32, PofConstants.T_BOOLEAN,
+                                            PofConstants.T_INT32});
+        }
+
+    /**
+    * Test that paths through arrays are not scanned.
+    */
+    @Test
+    public void testUnsupportedPath()
+            throws IOException
+        {
+        Binary         bin     = serialize(PortablePerson.create(), MODE_FMT_EXT);
+        PofPathScanner scanner = new PofPathScanner(new int[][] {{PortablePerson.CHILDREN, 0, PortablePerson.NAME}});
+
+        assertFalse(scanner.scan(bin, getPofContext(), new int[] {PofConstants.T_UNKNOWN}, new Object[1]));
+        }
+
+    /**
+    * Test the compilation of navigators.
+    */
+    @Test
+    public void testCompile()
+        {
+        assertNotNull(PofPathScanner.compile(new PofNavigator[] {new SimplePofPath(1)}));
+        assertNull(PofPathScanner.compile(new PofNavigator[] {new SimplePofPath(new int[0])}));
+        assertNull(PofPathScanner.compile(new PofNavigator[] {pv -> pv}));
+
+        assertTrue(PofPathScanner.isSupported(getPofContext(false)));
+        assertFalse(PofPathScanner.isSupported(getPofContext(true)));
+        }
+
+
+    // ----- helper methods -------------------------------------------------
+
+    /**
+    * Assert that scanning the specified paths produces the same values as
+    * navigating the PofValue tree.
+    */
+    protected static void assertScan(Binary bin, int[][] aaiPath, int[] anType)
+        {
+        PofContext     ctx     = getPofContext();
+        PofPathScanner scanner = new PofPathScanner(aaiPath);
+        Object[]       aoValue = new Object[aaiPath.length];
+
+        assertEquals(aaiPath.length, scanner.getPathCount());
+        assertTrue(scanner.scan(bin, ctx, anType, aoValue));
+
+        PofValue valueRoot = PofValueParser.parse(bin, ctx);
+        for (int i = 0; i < aaiPath.length; i++)
+            {
+            PofValue value    = new SimplePofPath(aaiPath[i]).navigate(valueRoot);
+            Object   oExpect  = value == null ? null : value.getValue(anType[i]);
+            String   sMessage = "path " + Arrays.toString(aaiPath[i]);
+
+            assertTrue(sMessage + ": expected " + oExpect + ", actual " + aoValue[i],
+                       Objects.deepEquals(oExpect, aoValue[i]));
+            if (oExpect != null)
+                {
+                assertEquals(sMessage, oExpect.getClass(), aoValue[i].getClass());
+                }
+            }
+        }
+    }
@@ -9,9 +9,13 @@ package com.tangosol.net.cache;
 import com.tangosol.io.pof.ConfigurablePofContext;
 
 import com.tangosol.net.BackingMapManagerContext;
+import com.tangosol.net.CacheService;
+import com.tangosol.net.ServiceInfo;
 import com.tangosol.net.cache.ConfigurableCacheMap.EvictionApprover;
 
+import com.tangosol.util.Base;
 import com.tangosol.util.Binary;
+import com.tangosol.util.BinaryEntry;
 import com.tangosol.util.ConcurrentMap;
 import com.tangosol.util.Converter;
 import com.tangosol.util.ExternalizableHelper;
@@ -31,17 +35,25 @@ import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.number.IsCloseTo.closeTo;
 
 import static org.junit.Assert.assertThat;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
@@ -336,6 +348,356 @@ public class ReadWriteBackingMapTest
         assertThat((Binary) m_mapInternal.get(m_key3), is(toBinary("Mutated-Value-3")));
         }
 
+    @Test
+    public void shouldPreloadOnlyOwnedAbsentEntries() throws Exception
+        {
+        TestBinaryCacheStore store = new TestBinaryCacheStore();
+        store.getStorageMap().put("Key-1", "Value-1");
+        store.getStorageMap().put("Key-2", "Value-2");
+        store.getStorageMap().put("Key-3", "Value-3");
+
+        when(m_mapControl.lock(any(), anyLong())).thenReturn(true);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.0d, store);
+        m_mapInternal.put(m_key3, m_value4);
+
+        int cLoaded = m_readWriteBackingMap.preloadKeys(new HashSet<>(Arrays.asList(m_key1, m_key2, m_key3)));
+
+        assertThat(cLoaded, is(1));
+        assertThat((Binary) m_mapInternal.get(m_key1), is(m_value1));
+        assertThat(m_mapInternal.containsKey(m_key2), is(false));
+        assertThat((Binary) m_mapInternal.get(m_key3), is(m_value4));
+        }
+
+    @Test
+    public void shouldRefreshAllOwnedKeysWithSingleLoadAll() throws Exception
+        {
+        TestBinaryCacheStore store = new TestBinaryCacheStore();
+        store.getStorageMap().put("Key-1", "Value-1");
+        store.getStorageMap().put("Key-2", "Value-2");
+
+        when(m_mapControl.lock(any(), anyLong())).thenReturn(true);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.5d, store);
+        m_readWriteBackingMap.setReadMaxBatchSize(16);
+
+        assertThat(m_readWriteBackingMap.getCacheStore().getLoadBundler() != null, is(true));
+
+        m_readWriteBackingMap.refreshAll(Arrays.asList(
+                new ReadWriteBackingMap.ReadLatch(m_key1),
+                new ReadWriteBackingMap.ReadLatch(m_key2),
+                new ReadWriteBackingMap.ReadLatch(m_key3)),
+                m_readWriteBackingMap.getCacheStore());
+
+        assertThat(store.getStatsMap().get("loadAll"), is(1));
+        assertThat(store.getStatsMap().containsKey("load"), is(false));
+        assertThat(m_mapPutInternal.size(), is(1));
+        assertThat((Binary) m_mapPutInternal.get(m_key1), is(m_value1));
+        verify(m_mapMisses).put(m_key3, m_key3);
+        verify(m_mapControl).remove(m_key1);
+        verify(m_mapControl).remove(m_key2);
+        verify(m_mapControl).remove(m_key3);
+        }
+
+    @Test
+    public void shouldRefreshUnreportedKeysAsMissesWithNonBlockingStore() throws Exception
+        {
+        PartialLoadStore store = new PartialLoadStore(Collections.singletonMap(m_key1, m_value1));
+
+        when(m_mapControl.lock(any(), anyLong())).thenReturn(true);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.5d, store);
+        m_readWriteBackingMap.setReadMaxBatchSize(16);
+
+        m_readWriteBackingMap.refreshAll(Arrays.asList(
+                new ReadWriteBackingMap.ReadLatch(m_key1),
+                new ReadWriteBackingMap.ReadLatch(m_key3)),
+                m_readWriteBackingMap.getCacheStore());
+
+        assertThat(store.getLoadAllCount(), is(1));
+        assertThat(m_readWriteBackingMap.getCacheStore().getLoadOps(), is(1L));
+        assertThat(m_mapPutInternal.size(), is(1));
+        assertThat((Binary) m_mapPutInternal.get(m_key1), is(m_value1));
+        verify(m_mapMisses).put(m_key3, m_key3);
+        verify(m_mapControl).remove(m_key1);
+        verify(m_mapControl).remove(m_key3);
+        }
+
+    @Test
+    public void shouldCompleteUnreportedLatchesWithNonBlockingStore() throws Exception
+        {
+        PartialLoadStore store = new PartialLoadStore(Collections.singletonMap(m_key1, m_value1));
+
+        // the keys are locked by the readers waiting for the latches
+        when(m_mapControl.lock(any(), anyLong())).thenReturn(false);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.5d, store);
+        m_readWriteBackingMap.setReadMaxBatchSize(16);
+
+        ReadWriteBackingMap.ReadLatch latch1 = new ReadWriteBackingMap.ReadLatch(m_key1);
+        ReadWriteBackingMap.ReadLatch latch3 = new ReadWriteBackingMap.ReadLatch(m_key3);
+
+        m_readWriteBackingMap.refreshAll(Arrays.asList(latch1, latch3),
+                m_readWriteBackingMap.getCacheStore());
+
+        assertThat(latch1.isComplete(), is(true));
+        assertThat(latch1.isCanceled(), is(false));
+        assertThat((Binary) latch1.getValue(), is(m_value1));
+
+        // a key that was not reported is a miss, so the waiting reader
+        // must not load it again
+        assertThat(latch3.isComplete(), is(true));
+        assertThat(latch3.isCanceled(), is(false));
+        assertThat(latch3.getValue() == null, is(true));
+        assertThat(m_mapPutInternal.size(), is(0));
+        }
+
+    @Test
+    public void shouldRestoreLargeDecoratedValueWithoutCopy() throws Exception
+        {
+        char[] ach = new char[64 * 1024];
+        Arrays.fill(ach, 'x');
+
+        Binary binValue = ExternalizableHelper.decorate(toBinary(new String(ach)),
+                ExternalizableHelper.DECO_CUSTOM, toBinary("custom"));
+        Binary binStore = ExternalizableHelper.decorate(binValue,
+                BackingMapManagerContext.DECO_STORE, ReadWriteBackingMap.BIN_STORE_PENDING);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.5d);
+
+        ReadWriteBackingMap.Entry entry = m_readWriteBackingMap.instantiateEntry(m_key1, binStore, null);
+        entry.setUndecoratedBinaryValue(binValue);
+        m_mapInternal.put(m_key1, binStore);
+
+        m_readWriteBackingMap.getCacheStore().replace(entry);
+
+        assertThat(m_mapInternal.get(m_key1), sameInstance((Object) binValue));
+        }
+
+    @Test
+    public void shouldRemoveStoreDecorationFromRequeuedValue() throws Exception
+        {
+        Binary binValue = ExternalizableHelper.decorate(m_value1,
+                ExternalizableHelper.DECO_CUSTOM, toBinary("custom"));
+        Binary binStore = ExternalizableHelper.decorate(binValue,
+                BackingMapManagerContext.DECO_STORE, ReadWriteBackingMap.BIN_STORE_PENDING);
+
+        m_readWriteBackingMap = createReadWriteBackingMap(false, 0, 0.5d);
+
+        // the value is not known to be decorated from binValue
+        ReadWriteBackingMap.Entry entry = m_readWriteBackingMap.instantiateEntry(m_key1, binStore, null);
+        m_mapInternal.put(m_key1, binStore);
+
+        m_readWriteBackingMap.getCacheStore().replace(entry);
+
+        assertThat((Binary) m_mapInternal.get(m_key1), is(binValue));
+        }
+
+    @Test
+    public void shouldStoreEachKeyInOrderAcrossStripes() throws Exception
+        {
+        RecordingStore store   = new RecordingStore();
+        Binary[]       aBinKey = createKeys(16);
+
+        m_readWriteBackingMap = createWriteBehindBackingMap(store, 4);
+        m_readWriteBackingMap.setWriteBehindMillis(10L);
+
+        ReadWriteBackingMap.StripedWriteQueue queue =
+                (ReadWriteBackingMap.StripedWriteQueue) m_readWriteBackingMap.getWriteQueue();
+
+        Set<ReadWriteBackingMap.WriteQueue> setStripe = new HashSet<>();
+        for (Binary binKey : aBinKey)
+            {
+            setStripe.add(queue.getStripe(binKey));
+            }
+        assertThat(setStripe.size() > 1, is(true));
+
+        for (int nVersion = 0; nVersion < 50; nVersion++)
+            {
+            for (Binary binKey : aBinKey)
+                {
+                m_readWriteBackingMap.put(binKey, toBinary(nVersion));
+                }
+            Thread.sleep(2L);
+            }
+
+        awaitFlushed(queue);
+
+        Set<String> setThreads = new HashSet<>();
+        for (Binary binKey : aBinKey)
+            {
+            List<Integer> listVersions = store.getVersions(binKey);
+            for (int i = 1, c = listVersions.size(); i < c; i++)
+                {
+                assertThat(listVersions.get(i) > listVersions.get(i - 1), is(true));
+                }
+            assertThat(listVersions.get(listVersions.size() - 1), is(49));
+
+            // each key is only ever stored by the thread draining its stripe
+            Set<String> setKeyThreads = store.getThreads(binKey);
+            assertThat(setKeyThreads.size(), is(1));
+            setThreads.addAll(setKeyThreads);
+            }
+        assertThat(setThreads.size(), is(setStripe.size()));
+        }
+
+    @Test
+    public void shouldRequeueEntryToItsStripe() throws Exception
+        {
+        Binary[] aBinKey = createKeys(8);
+
+        m_readWriteBackingMap = createWriteBehindBackingMap(new RecordingStore(), 4);
+
+        ReadWriteBackingMap.StripedWriteQueue queue =
+                (ReadWriteBackingMap.StripedWriteQueue) m_readWriteBackingMap.getWriteQueue();
+
+        for (Binary binKey : aBinKey)
+            {
+            ReadWriteBackingMap.Entry entry = m_readWriteBackingMap.instantiateEntry(binKey, m_value1, null);
+            m_readWriteBackingMap.getCacheStore().requeue(queue, 1, entry);
+
+            ReadWriteBackingMap.WriteQueue stripe = queue.getStripe(binKey);
+            for (int i = 0, c = queue.getStripeCount(); i < c; i++)
+                {
+                ReadWriteBackingMap.WriteQueue stripeAt = queue.getStripeAt(i);
+                assertThat(stripeAt.containsKey(binKey), is(stripeAt == stripe));
+                }
+            assertThat(queue.containsKey(binKey), is(true));
+            }
+        assertThat(queue.size(), is(8));
+        }
+
+    @Test
+    public void shouldFlushAllStripes() throws Exception
+        {
+        RecordingStore store   = new RecordingStore();
+        Binary[]       aBinKey = createKeys(16);
+
+        m_readWriteBackingMap = createWriteBehindBackingMap(store, 4);
+
+        ReadWriteBackingMap.StripedWriteQueue queue =
+                (ReadWriteBackingMap.StripedWriteQueue) m_readWriteBackingMap.getWriteQueue();
+
+        // the entries do not ripen on their own within the test
+        for (Binary binKey : aBinKey)
+            {
+            m_readWriteBackingMap.put(binKey, m_value1);
+            }
+        assertThat(queue.isFlushed(), is(false));
+
+        // the asynchronous flush is only complete once all stripes are
+        queue.flush();
+        awaitFlushed(queue);
+        for (Binary binKey : aBinKey)
+            {
+            assertThat(store.getVersions(binKey).size(), is(1));
+            }
+
+        // the synchronous flush writes all stripes before returning
+        for (Binary binKey : aBinKey)
+            {
+            m_readWriteBackingMap.put(binKey, m_value2);
+            }
+        m_readWriteBackingMap.flush();
+
+        assertThat(queue.isFlushed(), is(true));
+        for (Binary binKey : aBinKey)
+            {
+            assertThat(store.getVersions(binKey).size(), is(2));
+            }
+        }
+
+    @Test
+    public void shouldGrowBatchSizeAdditivelyForFullBatches() throws Exception
+        {
+        ReadWriteBackingMap.WriteBatchTuner tuner = createWriteBatchTuner();
+
+        // start from half the maximum batch size
+        tuner.onBatch(128, 128, 10L, false);
+        assertThat(tuner.getBatchSize(), is(64));
+
+        // full batches written at a steady rate grow by 128 / 16 entries
+        tuner.onBatch(64, 64, 10L, true);
+        assertThat(tuner.getBatchSize(), is(72));
+        tuner.onBatch(72, 72, 11L, true);
+        assertThat(tuner.getBatchSize(), is(80));
+
+        assertThat(tuner.getBatchFactor(), is(0.25));
+        assertThat(m_readWriteBackingMap.getEffectiveWriteBatchSize(), is(80));
+        }
+
+    @Test
+    public void shouldGrowBatchFactorAdditivelyForPartialBatches() throws Exception
+        {
+        ReadWriteBackingMap.WriteBatchTuner tuner = createWriteBatchTuner();
+
+        tuner.onBatch(128, 128, 10L, false);
+        assertThat(tuner.getBatchFactor(), is(0.25));
+
+        // partial batches grow the factor by 0.5 / 16
+        tuner.onBatch(10, 64, 5L, true);
+        assertThat(tuner.getBatchFactor(), is(0.28125));
+        tuner.onBatch(10, 64, 5L, true);
+        assertThat(tuner.getBatchFactor(), is(0.3125));
+
+        assertThat(tuner.getBatchSize(), is(64));
+        assertThat(m_readWriteBackingMap.getEffectiveWriteBatchFactor(), is(0.3125));
+        }
+
+    @Test
+    public void shouldBackOffMultiplicatively() throws Exception
+        {
+        ReadWriteBackingMap.WriteBatchTuner tuner = createWriteBatchTuner();
+
+        // a failed batch
+        tuner.onBatch(128, 128, 10L, false);
+        assertThat(tuner.getBatchSize(), is(64));
+        assertThat(tuner.getBatchFactor(), is(0.25));
+
+        // a batch that took longer than half of the CacheStore timeout
+        tuner.onBatch(10, 64, 600L, true);
+        assertThat(tuner.getBatchSize(), is(32));
+        assertThat(tuner.getBatchFactor(), is(0.125));
+
+        // a full batch written at a much lower rate than the average
+        tuner = createWriteBatchTuner();
+        tuner.onBatch(128, 128, 10L, true);
+        assertThat(tuner.getBatchSize(), is(128));
+        tuner.onBatch(128, 128, 100L, true);
+        assertThat(tuner.getBatchSize(), is(64));
+        assertThat(tuner.getBatchFactor(), is(0.25));
+        }
+
+    @Test
+    public void shouldKeepBatchesWithinBounds() throws Exception
+        {
+        ReadWriteBackingMap.WriteBatchTuner tuner = createWriteBatchTuner();
+
+        for (int i = 0; i < 32; i++)
+            {
+            tuner.onBatch(128, 128, 10L, false);
+            }
+        assertThat(tuner.getBatchSize(), is(1));
+        assertThat(tuner.getBatchFactor() >= 0.0, is(true));
+
+        for (int i = 0; i < 64; i++)
+            {
+            int cSize = tuner.getBatchSize();
+            tuner.onBatch(cSize, cSize, 1L, true);
+            tuner.onBatch(1, cSize, 1L, true);
+            assertThat(tuner.getBatchSize() <= 128, is(true));
+            assertThat(tuner.getBatchFactor() <= 0.5, is(true));
+            }
+        assertThat(tuner.getBatchSize(), is(128));
+        assertThat(tuner.getBatchFactor(), is(0.5));
+
+        // the configured values remain the upper bounds
+        m_readWriteBackingMap.setWriteMaxBatchSize(32);
+        m_readWriteBackingMap.setWriteBatchFactor(0.1d);
+        assertThat(tuner.getBatchSize(), is(32));
+        assertThat(tuner.getBatchFactor(), is(0.1d));
+        }
+
     protected static Binary toBinary(Object o)
         {
         return ExternalizableHelper.toBinary(o, ctxPof);
@@ -384,6 +746,292 @@ public class ReadWriteBackingMapTest
             };
         }
 
+    protected ReadWriteBackingMap createReadWriteBackingMap(boolean fReadOnly, int cWriteBehindSeconds,
+                double dflRefreshAheadFactor, NonBlockingEntryStore store)
+        {
+        return new ReadWriteBackingMap(m_ctxService, m_mapInternal, m_mapMisses, store,
+                                       fReadOnly, cWriteBehindSeconds, dflRefreshAheadFactor)
+            {
+            @Override
+            protected ConcurrentMap instantiateControlMap()
+                {
+                return m_mapControl;
+                }
+
+            @Override
+            protected ReadQueue instantiateReadQueue()
+                {
+                return m_readQueue;
+                }
+
+            @Override
+            protected Object putInternal(Object oKey, Object oValue, long cMillis)
+                {
+                return m_mapPutInternal.put(oKey, oValue, cMillis);
+                }
+            };
+        }
+
+    /**
+     * Create keys owned by this member.
+     * <p>
+     * Note: must be called before any write-behind threads are started, as
+     * it stubs the shared service context.
+     *
+     * @param cKeys  the number of keys
+     *
+     * @return the keys
+     */
+    protected Binary[] createKeys(int cKeys)
+        {
+        Binary[] aBinKey = new Binary[cKeys];
+        for (int i = 0; i < cKeys; i++)
+            {
+            aBinKey[i] = toBinary("Key-" + (i + 10));
+            when(m_ctxService.isKeyOwned(aBinKey[i])).thenReturn(true);
+            }
+        return aBinKey;
+        }
+
+    /**
+     * Wait for all the entries of the specified write-behind queue to be
+     * written.
+     *
+     * @param queue  the write-behind queue
+     */
+    protected void awaitFlushed(ReadWriteBackingMap.WriteQueue queue)
+        {
+        long ldtStop = Base.getSafeTimeMillis() + 30000L;
+        while (!queue.isFlushed())
+            {
+            assertThat("timed out waiting for the write-behind queue",
+                       Base.getSafeTimeMillis() < ldtStop, is(true));
+            Base.sleep(10L);
+            }
+        }
+
+    /**
+     * Create a write-behind ReadWriteBackingMap that uses the specified
+     * number of write-behind threads.
+     * <p>
+     * Unlike the maps created by {@link #createReadWriteBackingMap}, the
+     * returned map queues the writes and starts the write-behind threads.
+     *
+     * @param store     the store to write to
+     * @param cThreads  the number of write-behind threads
+     *
+     * @return the ReadWriteBackingMap
+     */
+    protected ReadWriteBackingMap createWriteBehindBackingMap(BinaryEntryStore store, int cThreads)
+        {
+        CacheService service = mock(CacheService.class);
+        ServiceInfo  info    = mock(ServiceInfo.class);
+
+        when(info.getServiceName()).thenReturn("WriteBehindService");
+        when(service.getInfo()).thenReturn(info);
+        when(m_ctxService.getCacheService()).thenReturn(service);
+
+        ReadWriteBackingMap map = new ReadWriteBackingMap(m_ctxService, new LocalCache(), m_mapMisses,
+                                                          store, false, 60, 0.0d);
+        map.setWriteBehindThreadCount(cThreads);
+        return map;
+        }
+
+    /**
+     * Create a write-behind ReadWriteBackingMap with adaptive batches, a
+     * maximum batch size of 128, a write-batch factor of 0.5 and a CacheStore
+     * timeout of one second, and return its WriteBatchTuner.
+     *
+     * @return the WriteBatchTuner
+     */
+    protected ReadWriteBackingMap.WriteBatchTuner createWriteBatchTuner()
+        {
+        if (m_readWriteBackingMap == null)
+            {
+            m_readWriteBackingMap = createWriteBehindBackingMap(new RecordingStore(), 1);
+            m_readWriteBackingMap.setWriteMaxBatchSize(128);
+            m_readWriteBackingMap.setWriteBatchFactor(0.5d);
+            m_readWriteBackingMap.setCacheStoreTimeoutMillis(1000L);
+            }
+
+        m_readWriteBackingMap.setWriteBatchAdaptive(false);
+        m_readWriteBackingMap.setWriteBatchAdaptive(true);
+        return m_readWriteBackingMap.getWriteBatchTuner();
+        }
+
+    // ----- inner class: RecordingStore ------------------------------------
+
+    /**
+     * A BinaryEntryStore that records the values stored for each key and
+     * the threads that stored them; the values are expected to be integers.
+     */
+    protected static class RecordingStore
+            implements BinaryEntryStore
+        {
+        /**
+         * Return the values stored for the specified key, in order.
+         *
+         * @param binKey  the key
+         *
+         * @return the values stored for the key
+         */
+        public synchronized List<Integer> getVersions(Binary binKey)
+            {
+            List<Integer> list = f_mapVersions.get(binKey);
+            return list == null ? Collections.emptyList() : new ArrayList<>(list);
+            }
+
+        /**
+         * Return the names of the threads that stored the specified key.
+         *
+         * @param binKey  the key
+         *
+         * @return the names of the threads that stored the key
+         */
+        public Set<String> getThreads(Binary binKey)
+            {
+            Set<String> set = f_mapThreads.get(binKey);
+            return set == null ? Collections.emptySet() : set;
+            }
+
+        @Override
+        public void load(BinaryEntry binEntry)
+            {
+            }
+
+        @Override
+        public void loadAll(Set setBinEntries)
+            {
+            }
+
+        @Override
+        public void store(BinaryEntry binEntry)
+            {
+            Binary binKey = binEntry.getBinaryKey();
+            synchronized (this)
+                {
+                f_mapVersions.computeIfAbsent(binKey, k -> new ArrayList<>())
+                        .add((Integer) fromBinary(binEntry.getBinaryValue()));
+                }
+            f_mapThreads.computeIfAbsent(binKey, k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            }
+
+        @Override
+        public void storeAll(Set setBinEntries)
+            {
+            for (Object o : setBinEntries)
+                {
+                store((BinaryEntry) o);
+                }
+            // give the other stripes a chance to interleave
+            Base.sleep(1L);
+            }
+
+        @Override
+        public void erase(BinaryEntry binEntry)
+            {
+            }
+
+        @Override
+        public void eraseAll(Set setBinEntries)
+            {
+            }
+
+        /**
+         * The values stored for each key, in order.
+         */
+        private final Map<Binary, List<Integer>> f_mapVersions = new ConcurrentHashMap<>();
+
+        /**
+         * The names of the threads that stored each key.
+         */
+        private final Map<Binary, Set<String>> f_mapThreads = new ConcurrentHashMap<>();
+        }
+
+    // ----- inner class: PartialLoadStore ----------------------------------
+
+    /**
+     * A NonBlockingEntryStore that reports the keys it has values for and
+     * then completes the operation, without reporting the other keys.
+     */
+    protected static class PartialLoadStore
+            implements NonBlockingEntryStore
+        {
+        /**
+         * Construct a PartialLoadStore.
+         *
+         * @param mapData  the values of the stored keys, in internal format
+         */
+        public PartialLoadStore(Map<Binary, Binary> mapData)
+            {
+            f_mapData = mapData;
+            }
+
+        /**
+         * Return the number of loadAll() operations.
+         *
+         * @return the number of loadAll() operations
+         */
+        public int getLoadAllCount()
+            {
+            return m_cLoadAll;
+            }
+
+        @Override
+        public void load(BinaryEntry binEntry, StoreObserver observer)
+            {
+            loadAll(Collections.singleton(binEntry), observer);
+            }
+
+        @Override
+        public void loadAll(Set setBinEntries, StoreObserver observer)
+            {
+            m_cLoadAll++;
+            for (Object o : setBinEntries)
+                {
+                BinaryEntry binEntry = (BinaryEntry) o;
+                Binary      binValue = f_mapData.get(binEntry.getBinaryKey());
+                if (binValue != null)
+                    {
+                    binEntry.updateBinaryValue(binValue);
+                    observer.onNext(binEntry);
+                    }
+                }
+            observer.onComplete();
+            }
+
+        @Override
+        public void store(BinaryEntry binEntry, StoreObserver observer)
+            {
+            }
+
+        @Override
+        public void storeAll(Set setBinEntries, StoreObserver observer)
+            {
+            }
+
+        @Override
+        public void erase(BinaryEntry binEntry)
+            {
+            }
+
+        @Override
+        public void eraseAll(Set setBinEntries)
+            {
+            }
+
+        /**
+         * The values of the stored keys.
+         */
+        private final Map<Binary, Binary> f_mapData;
+
+        /**
+         * The number of loadAll() operations.
+         */
+        private int m_cLoadAll;
+        }
+
     protected ReadWriteBackingMap m_readWriteBackingMap;
     
     protected static ConfigurablePofContext ctxPof = new ConfigurablePofContext("coherence-pof-config.xml");
@@ -0,0 +1,273 @@
+/*
+ * Copyright (c) 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.extractor.AbstractExtractor;
+import com.tangosol.util.extractor.BitmapExtractor;
+import com.tangosol.util.extractor.IdentityExtractor;
+
+import com.tangosol.util.filter.AllFilter;
+import com.tangosol.util.filter.AndFilter;
+import com.tangosol.util.filter.AnyFilter;
+import com.tangosol.util.filter.EqualsFilter;
+import com.tangosol.util.filter.GreaterFilter;
+import com.tangosol.util.filter.InFilter;
+import com.tangosol.util.filter.IndexAwareFilter;
+import com.tangosol.util.filter.NotFilter;
+import com.tangosol.util.filter.OrFilter;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link BitmapIndex}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BitmapIndexTest
+    {
+    @Before
+    public void setup()
+        {
+        m_mapData         = new HashMap<>();
+        m_mapIndexSimple  = new HashMap<>();
+        m_mapIndexBitmap  = new HashMap<>();
+
+        for (ValueExtractor extractor : new ValueExtractor[] {MOD_10, MOD_7})
+            {
+            m_mapIndexSimple.put(extractor, new SimpleMapIndex(extractor, false, null, null));
+            new BitmapExtractor(extractor).createIndex(false, null, m_mapIndexBitmap, null);
+            }
+
+        for (int i = 0; i < 1000; i++)
+            {
+            put("key-" + i, i);
+            }
+        }
+
+    @Test
+    public void shouldShareKeyOrdinals()
+        {
+        BitmapIndex index10 = (BitmapIndex) m_mapIndexBitmap.get(MOD_10);
+        BitmapIndex index7  = (BitmapIndex) m_mapIndexBitmap.get(MOD_7);
+
+        assertSame(index10.getKeyOrdinals(), index7.getKeyOrdinals());
+        assertEquals(1000, index10.getKeyOrdinals().size());
+        }
+
+    @Test
+    public void shouldHaveSameContentsAsSimpleMapIndex()
+        {
+        for (int i = 0; i < 1000; i += 3)
+            {
+            put("key-" + i, i + 1);
+            }
+        for (int i = 0; i < 1000; i += 5)
+            {
+            remove("key-" + i);
+            }
+
+        for (ValueExtractor extractor : new ValueExtractor[] {MOD_10, MOD_7})
+            {
+            Map<Object, Set> mapExpected = m_mapIndexSimple.get(extractor).getIndexContents();
+            Map<Object, Set> mapActual   = m_mapIndexBitmap.get(extractor).getIndexContents();
+
+            assertEquals(mapExpected.keySet(), mapActual.keySet());
+            for (Object oValue : mapExpected.keySet())
+                {
+                assertEquals(mapExpected.get(oValue), new HashSet<>(mapActual.get(oValue)));
+                assertEquals(mapExpected.get(oValue).size(), mapActual.get(oValue).size());
+                for (Object oKey : mapExpected.get(oValue))
+                    {
+                    assertTrue(mapActual.get(oValue).contains(oKey));
+                    }
+                }
+            }
+        }
+
+    @Test
+    public void shouldReleaseUnitsAndOrdinals()
+        {
+        BitmapIndex index = (BitmapIndex) m_mapIndexBitmap.get(MOD_10);
+        long        cb    = index.getUnits();
+
+        BitmapIndex indexEmpty = new BitmapIndex(MOD_10, false, null, null, null);
+        assertTrue(cb > indexEmpty.getUnits());
+
+        for (String sKey : new HashSet<>(m_mapData.keySet()))
+            {
+            remove(sKey);
+            }
+
+        assertEquals(indexEmpty.getUnits(), index.getUnits());
+        assertEquals(0, index.getKeyOrdinals().size());
+        }
+
+    @Test
+    public void shouldReleaseOrdinalsOnDestroy()
+        {
+        BitmapIndex.KeyOrdinals ordinals = ((BitmapIndex) m_mapIndexBitmap.get(MOD_10)).getKeyOrdinals();
+
+        new BitmapExtractor(MOD_10).destroyIndex(m_mapIndexBitmap);
+        assertEquals(1000, ordinals.size());
+
+        new BitmapExtractor(MOD_7).destroyIndex(m_mapIndexBitmap);
+        assertEquals(0, ordinals.size());
+        assertTrue(m_mapIndexBitmap.isEmpty());
+        }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectIndexForDifferentType()
+        {
+        m_mapIndexBitmap.put(IdentityExtractor.INSTANCE, new SimpleMapIndex(IdentityExtractor.INSTANCE, false, null, null));
+        new BitmapExtractor(IdentityExtractor.INSTANCE).createIndex(false, null, m_mapIndexBitmap, null);
+        }
+
+    @Test
+    public void shouldApplyFilters()
+        {
+        // modify some entries to make sure ordinals are reused
+        for (int i = 0; i < 1000; i += 7)
+            {
+            remove("key-" + i);
+            }
+        for (int i = 0; i < 1000; i += 14)
+            {
+            put("key-" + i, i * 3);
+            }
+
+        assertFilter(new EqualsFilter(MOD_10, 3));
+        assertFilter(new EqualsFilter(MOD_10, 42));
+        assertFilter(new InFilter(MOD_7, Set.of(1, 2, 5)));
+        assertFilter(new AndFilter(new EqualsFilter(MOD_10, 3), new EqualsFilter(MOD_7, 2)));
+        assertFilter(new OrFilter(new EqualsFilter(MOD_10, 3), new InFilter(MOD_7, Set.of(0, 6))));
+        assertFilter(new NotFilter(new EqualsFilter(MOD_10, 3)));
+        assertFilter(new AndFilter(new NotFilter(new EqualsFilter(MOD_10, 3)), new InFilter(MOD_7, Set.of(1, 3))));
+        assertFilter(new OrFilter(new NotFilter(new EqualsFilter(MOD_10, 3)), new EqualsFilter(MOD_7, 3)));
+        assertFilter(new NotFilter(new OrFilter(new NotFilter(new EqualsFilter(MOD_10, 1)),
+                                                new NotFilter(new EqualsFilter(MOD_7, 1)))));
+        assertFilter(new AllFilter(new Filter[] {new EqualsFilter(MOD_10, 4), new EqualsFilter(MOD_7, 4),
+                                                 new GreaterFilter(MOD_10, 2)}));
+        assertFilter(new AnyFilter(new Filter[] {new EqualsFilter(MOD_10, 4), new GreaterFilter(MOD_7, 4)}));
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    private void assertFilter(Filter filter)
+        {
+        Set setExpected = new HashSet();
+        for (Map.Entry entry : m_mapData.entrySet())
+            {
+            if (InvocableMapHelper.evaluateEntry(filter, entry))
+                {
+                setExpected.add(entry.getKey());
+                }
+            }
+
+        Set setSimple = new SubSet(m_mapData.keySet());
+        Set setBitmap = new SubSet(m_mapData.keySet());
+
+        Filter filterSimple = ((IndexAwareFilter) filter).applyIndex(m_mapIndexSimple, setSimple);
+        Filter filterBitmap = ((IndexAwareFilter) filter).applyIndex(m_mapIndexBitmap, setBitmap);
+
+        assertEquals(filter.toString(), setExpected, evaluate(filterSimple, setSimple));
+        assertEquals(filter.toString(), setExpected, evaluate(filterBitmap, setBitmap));
+        }
+
+    private Set evaluate(Filter filter, Set setKeys)
+        {
+        Set setResult = new HashSet();
+        for (Object oKey : setKeys)
+            {
+            if (filter == null || InvocableMapHelper.evaluateEntry(filter,
+                    new SimpleMapEntry(oKey, m_mapData.get(oKey))))
+                {
+                setResult.add(oKey);
+                }
+            }
+        return setResult;
+        }
+
+    private void put(String sKey, Integer NValue)
+        {
+        Integer NOld = m_mapData.put(sKey, NValue);
+        for (Map<ValueExtractor, MapIndex> mapIndex : new Map[] {m_mapIndexSimple, m_mapIndexBitmap})
+            {
+            for (MapIndex index : mapIndex.values())
+                {
+                if (NOld == null)
+                    {
+                    index.insert(new SimpleMapEntry(sKey, NValue));
+                    }
+                else
+                    {
+                    index.update(new SimpleMapEntry(sKey, NValue, NOld));
+                    }
+                }
+            }
+        }
+
+    private void remove(String sKey)
+        {
+        Integer NOld = m_mapData.remove(sKey);
+        for (Map<ValueExtractor, MapIndex> mapIndex : new Map[] {m_mapIndexSimple, m_mapIndexBitmap})
+            {
+            for (MapIndex index : mapIndex.values())
+                {
+                index.delete(new SimpleMapEntry(sKey, null, NOld));
+                }
+            }
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final ValueExtractor<Integer, Integer> MOD_10 = new ModExtractor(10);
+
+    private static final ValueExtractor<Integer, Integer> MOD_7 = new ModExtractor(7);
+
+    // ----- inner class: ModExtractor --------------------------------------
+
+    private static class ModExtractor
+            extends AbstractExtractor<Integer, Integer>
+        {
+        ModExtractor(int nMod)
+            {
+            m_nMod = nMod;
+            }
+
+        public Integer extract(Integer n)
+            {
+            return n % m_nMod;
+            }
+
+        public boolean equals(Object o)
+            {
+            return o instanceof ModExtractor && ((ModExtractor) o).m_nMod == m_nMod;
+            }
+
+        public int hashCode()
+            {
+            return m_nMod;
+            }
+
+        private final int m_nMod;
+        }
+
+    // ----- data members ---------------------------------------------------
+
+    private Map<String, Integer> m_mapData;
+
+    private Map<ValueExtractor, MapIndex> m_mapIndexSimple;
+
+    private Map<ValueExtractor, MapIndex> m_mapIndexBitmap;
+    }
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2000, 2026, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util;
+
+import com.tangosol.util.extractor.ColumnarExtractor;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+* ColumnarMapIndex unit tests.
+*
+* @since 25.09
+*/
+public class ColumnarMapIndexTest
+    {
+    /**
+    * Test insert, update and get.
+    */
+    @Test
+    public void testInsertUpdate()
+        {
+        ColumnarMapIndex index = createIndex();
+
+        index.insert(new SimpleMapEntry("key1", new Object[] {1L, 1.5d, "a"}));
+        index.insert(new SimpleMapEntry("key2", new Object[] {2L, 2.5d, "b"}));
+
+        assertEquals(2, index.getRowCount());
+        assertEquals(Arrays.asList(1L, 1.5d, "a"), index.get("key1"));
+        assertEquals(Arrays.asList(2L, 2.5d, "b"), index.get("key2"));
+        assertSame(MapIndex.NO_VALUE, index.get("key3"));
+
+        index.update(new SimpleMapEntry("key1", new Object[] {3L, 3.5d, "b"}));
+
+        assertEquals(2, index.getRowCount());
+        assertEquals(Arrays.asList(3L, 3.5d, "b"), index.get("key1"));
+
+        ColumnarMapIndex.Column column = index.getColumn(0);
+        assertEquals(ColumnarMapIndex.Column.TYPE_LONG, column.getType());
+        assertEquals(ColumnarMapIndex.Column.TYPE_DOUBLE, index.getColumn(1).getType());
+        assertEquals(ColumnarMapIndex.Column.TYPE_STRING, index.getColumn(2).getType());
+        assertEquals(2, index.getColumn(2).getDictionarySize());
+        assertFalse(index.isPartial());
+        }
+
+    /**
+    * Test that deleting a row keeps the remaining rows dense.
+    */
+    @Test
+    public void testDelete()
+        {
+        ColumnarMapIndex index = createIndex();
+
+        for (int i = 0; i < 100; i++)
+            {
+            index.insert(new SimpleMapEntry("key" + i, new Object[] {(long) i, (double) i, "v" + (i % 3)}));
+            }
+
+        for (int i = 0; i < 100; i += 2)
+            {
+            index.delete(new SimpleMapEntry("key" + i, null));
+            }
+
+        assertEquals(50, index.getRowCount());
+
+        long   lSum = 0;
+        long[] al   = index.getColumn(0).getLongArray();
+        for (int i = 0; i < index.getRowCount(); i++)
+            {
+            lSum += al[i];
+            }
+        assertEquals(2500L, lSum);
+
+        for (int i = 1; i < 100; i += 2)
+            {
+            assertEquals(Arrays.asList((long) i, (double) i, "v" + (i % 3)), index.get("key" + i));
+            }
+        assertSame(MapIndex.NO_VALUE, index.get("key0"));
+        }
+
+    /**
+    * Test null values.
+    */
+    @Test
+    public void testNulls()
+        {
+        ColumnarMapIndex index = createIndex();
+
+        index.insert(new SimpleMapEntry("key1", new Object[] {null, 1.0d, null}));
+        index.insert(new SimpleMapEntry("key2", new Object[] {2L, null, "b"}));
+
+        ColumnarMapIndex.Column column = index.getColumn(0);
+        assertEquals(1, column.getNullCount());
+        assertEquals(Arrays.asList(null, 1.0d, null), index.get("key1"));
+
+        long[] al = new long[2];
+        assertEquals(1, column.copyLongs(null, 2, al));
+        assertEquals(2L, al[0]);
+
+        index.delete(new SimpleMapEntry("key1", null));
+        assertEquals(0, index.getColumn(0).getNullCount());
+        assertEquals(Arrays.asList(2L, null, "b"), index.get("key2"));
+        }
+
+    /**
+    * Test that values of mixed types invalidate the column.
+    */
+    @Test
+    public void testInvalidate()
+        {
+        ColumnarMapIndex index = createIndex();
+
+        index.insert(new SimpleMapEntry("key1", new Object[] {1L, 1.0d, "a"}));
+        index.insert(new SimpleMapEntry("key2", new Object[] {2, 1.0d, "a"}));
+
+        assertFalse(index.getColumn(0).isValid());
+        assertTrue(index.getColumn(1).isValid());
+        assertSame(MapIndex.NO_VALUE, index.get("key1"));
+        }
+
+    /**
+    * Test that a failed extraction makes the index partial.
+    */
+    @Test
+    public void testPartial()
+        {
+        ColumnarMapIndex index = createIndex();
+
+        index.insert(new SimpleMapEntry("key1", new Object[] {1L, 1.0d, "a"}));
+        index.update(new SimpleMapEntry("key1", new Object[0]));
+
+        assertTrue(index.isPartial());
+        assertEquals(0, index.getRowCount());
+        assertSame(MapIndex.NO_VALUE, index.get("key1"));
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Create a ColumnarMapIndex with a column for each of the first three
+    * elements of an Object array value.
+    *
+    * @return a new ColumnarMapIndex
+    */
+    protected static ColumnarMapIndex createIndex()
+        {
+        ValueExtractor<Object[], Object>[] aExtractor = new ValueExtractor[]
+            {
+            new ElementExtractor(0), new ElementExtractor(1), new ElementExtractor(2)
+            };
+
+        return new ColumnarMapIndex(new ColumnarExtractor<>(aExtractor), aExtractor, null);
+        }
+
+    // ----- inner class: ElementExtractor ----------------------------------
+
+    /**
+    * Extracts an element of an Object array.
+    */
+    public static class ElementExtractor
+            implements ValueExtractor<Object[], Object>
+        {
+        public ElementExtractor(int i)
+            {
+            m_i = i;
+            }
+
+        public Object extract(Object[] ao)
+            {
+            return ao[m_i];
+            }
+
+        public boolean equals(Object o)
+            {
+            return o instanceof ElementExtractor && ((ElementExtractor) o).m_i == m_i;
+            }
+
+        public int hashCode()
+            {
+            return m_i;
+            }
+
+        protected final int m_i;
+        }
+    }
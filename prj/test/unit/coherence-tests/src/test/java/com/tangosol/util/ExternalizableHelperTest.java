@@ -507,6 +507,55 @@ public class ExternalizableHelperTest extends ExternalizableHelper
             }
         }
 
+    /**
+     * Test that large decorated values are composed from the passed buffers
+     * and produce the same bytes as the copying implementation.
+     */
+    @Test
+    public void testCompositeDecoration()
+        {
+        ReadBuffer bufValue  = randomizedBinary(1024, 2048);
+        ReadBuffer bufExpiry = toBinary(1234L);
+        ReadBuffer bufDeco   = randomizedBinary(16, 32);
+
+        ReadBuffer buf = decorate(bufValue, DECO_EXPIRY, bufExpiry);
+        assertTrue(buf instanceof MultiBufferReadBuffer);
+        assertSame(bufValue, getUndecorated(buf));
+
+        // adding a decoration carries the value forward
+        buf = decorate(buf, DECO_CUSTOM, bufDeco);
+        assertTrue(buf instanceof MultiBufferReadBuffer);
+        assertSame(bufValue, getUndecorated(buf));
+        assertEquals(bufDeco, getDecoration(buf, DECO_CUSTOM));
+
+        // removing a decoration re-composes the remaining ones
+        ReadBuffer bufUndeco = undecorate(buf, DECO_EXPIRY);
+        assertTrue(bufUndeco instanceof MultiBufferReadBuffer);
+        assertSame(bufValue, getUndecorated(bufUndeco));
+        assertFalse(isDecorated(bufUndeco, DECO_EXPIRY));
+        assertEquals(decorate(bufValue.toBinary(), DECO_CUSTOM, bufDeco.toBinary()),
+                     bufUndeco.toBinary());
+
+        // the composed buffer has the same binary form as the copied one
+        Binary binExpected = decorate(decorate(bufValue.toBinary(), DECO_EXPIRY, bufExpiry.toBinary()),
+                                      DECO_CUSTOM, bufDeco.toBinary());
+        assertEquals(binExpected, buf.toBinary());
+
+        ReadBuffer[] abuf = new ReadBuffer[DECO_ID_MAX + 1];
+        abuf[DECO_EXPIRY] = bufExpiry;
+        abuf[DECO_ID_MAX] = bufDeco;
+        buf = decorate(bufValue, abuf);
+        assertTrue(buf instanceof MultiBufferReadBuffer);
+        assertSame(bufValue, getUndecorated(buf));
+        assertEquals(bufExpiry, getDecoration(buf, DECO_EXPIRY));
+        assertEquals(bufDeco, getDecoration(buf, DECO_ID_MAX));
+
+        // replacing the value must not carry the old one forward
+        ReadBuffer bufNew = randomizedBinary(1024, 2048);
+        buf = decorate(buf, DECO_VALUE, bufNew);
+        assertEquals(bufNew, getUndecorated(buf));
+        }
+
     @Test
     public void testRandomCorrectness()
         {
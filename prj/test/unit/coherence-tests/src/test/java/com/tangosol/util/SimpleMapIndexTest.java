@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2000, 2024, Oracle and/or its affiliates.
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
  *
  * Licensed under the Universal Permissive License v 1.0 as shown at
  * https://oss.oracle.com/licenses/upl.
@@ -802,6 +802,86 @@ public class SimpleMapIndexTest
         assertNotSame(aoIndexValue3, aoIndexValue4);
         }
 
+    /**
+    * Test that the statistics are maintained as the index changes.
+    */
+    @Test
+    public void testStatistics()
+        {
+        SimpleMapIndex  index = new SimpleMapIndex(IdentityExtractor.INSTANCE, false, null, null);
+        IndexStatistics stats = index.getStatistics();
+
+        for (int i = 0; i < 100; i++)
+            {
+            index.insert(new SimpleMapEntry("key" + i, i % 10));
+            }
+
+        assertEquals(100, stats.getKeyCount());
+        assertEquals(100, stats.getMappingCount());
+        assertEquals(10, stats.getDistinctValueCount());
+        assertEquals(10, stats.getAverageMappings());
+        assertEquals(-1, stats.estimateLess(5, true));
+
+        index.update(new SimpleMapEntry("key0", 42, 0));
+        index.delete(new SimpleMapEntry("key1", null, 1));
+
+        assertEquals(99, stats.getKeyCount());
+        assertEquals(99, stats.getMappingCount());
+        assertEquals(11, stats.getDistinctValueCount());
+
+        for (int i = 0; i < 100; i += 10)
+            {
+            index.delete(new SimpleMapEntry("key" + i, null, i == 0 ? 42 : 0));
+            }
+
+        assertEquals(89, stats.getMappingCount());
+        assertEquals(9, stats.getDistinctValueCount());
+        }
+
+    /**
+    * Test the range estimates of an ordered index.
+    */
+    @Test
+    public void testStatisticsHistogram()
+        {
+        SimpleMapIndex  index = new SimpleMapIndex(IdentityExtractor.INSTANCE, true, null, null);
+        IndexStatistics stats = index.getStatistics();
+
+        // a uniform distribution with a single very frequent value
+        for (int i = 0; i < 10000; i++)
+            {
+            index.insert(new SimpleMapEntry("key" + i, i < 5000 ? 500 : i % 1000));
+            }
+
+        assertEquals(0, stats.estimateLess(0, false));
+        assertEquals(10000, stats.estimateLess(2000, false));
+        assertEquals(0, stats.estimateGreater(2000, false));
+        assertEquals(10000, stats.estimateGreater(0, true));
+
+        assertEstimate(5000 + 2500, stats.estimateLess(500, true));
+        assertEstimate(2500, stats.estimateLess(500, false));
+        assertEstimate(1250, stats.estimateGreater(750, true));
+
+        // the histogram is rebuilt once the contents change significantly
+        for (int i = 0; i < 5000; i++)
+            {
+            index.update(new SimpleMapEntry("key" + i, i % 1000, 500));
+            }
+        assertEstimate(5000, stats.estimateLess(500, true));
+        }
+
+    /**
+    * Assert that the estimate is within 10% of the expected value.
+    *
+    * @param cExpected  the expected value
+    * @param cActual    the estimate
+    */
+    private static void assertEstimate(long cExpected, long cActual)
+        {
+        assertTrue("expected " + cExpected + " but estimated " + cActual,
+                   Math.abs(cExpected - cActual) <= cExpected / 10);
+        }
+
     /**
     * Internal method called by test methods to verify that the given inverse
     * map contains an entry for each value (key) in the collection.  Also
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util.filter;
+
+import com.tangosol.internal.util.KeysetComparator;
+
+import com.tangosol.util.ExternalizableHelper;
+import com.tangosol.util.SimpleMapEntry;
+
+import com.tangosol.util.comparator.EntryComparator;
+import com.tangosol.util.comparator.SafeComparator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* LimitFilter unit tests.
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class LimitFilterTest
+    {
+    @Before
+    public void setup()
+        {
+        // many entries with the same value, in a random order
+        List<Map.Entry> listEntries = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++)
+            {
+            listEntries.add(new SimpleMapEntry(ExternalizableHelper.toBinary(i), i % 7));
+            }
+        Collections.shuffle(listEntries, new Random(42));
+
+        m_aEntry  = listEntries.toArray();
+        m_aSorted = m_aEntry.clone();
+        Arrays.sort(m_aSorted, COMPARATOR);
+        }
+
+    @Test
+    public void shouldSelectSamePageAsSortedExtract()
+        {
+        LimitFilter filter = new LimitFilter(AlwaysFilter.INSTANCE, 10);
+        filter.setComparator(COMPARATOR);
+
+        for (int nPage = 0; nPage * 10 <= ENTRIES; nPage++)
+            {
+            filter.setPage(nPage);
+            assertArrayEquals(filter.extractPage(m_aSorted), filter.selectPage(m_aEntry));
+            }
+        }
+
+    @Test
+    public void shouldPageForwardUsingKeysetCursor()
+        {
+        LimitFilter filter = new LimitFilter(AlwaysFilter.INSTANCE, 9);
+        filter.setComparator(COMPARATOR);
+
+        List listAll = new ArrayList();
+        for (Object[] aPage = filter.selectPage(m_aEntry); aPage.length > 0; aPage = filter.selectPage(m_aEntry))
+            {
+            listAll.addAll(Arrays.asList(aPage));
+
+            setAnchors(filter, aPage);
+            filter.nextPage();
+            }
+
+        // no entry is skipped or repeated even though many values are equal
+        assertEquals(Arrays.asList(m_aSorted), listAll);
+        }
+
+    @Test
+    public void shouldPageBackwardUsingKeysetCursor()
+        {
+        LimitFilter filter = new LimitFilter(AlwaysFilter.INSTANCE, 9);
+        filter.setComparator(COMPARATOR);
+
+        // start past the last entry
+        filter.setPage(ENTRIES);
+        filter.setBottomAnchor(Integer.MAX_VALUE);
+
+        List listAll = new ArrayList();
+        for (Object[] aPage = filter.selectPage(m_aEntry); aPage.length > 0; aPage = filter.selectPage(m_aEntry))
+            {
+            listAll.addAll(0, Arrays.asList(aPage));
+
+            setAnchors(filter, aPage);
+            filter.previousPage();
+            }
+
+        assertEquals(Arrays.asList(m_aSorted), listAll);
+        }
+
+    @Test
+    public void shouldRepeatCurrentPage()
+        {
+        LimitFilter filter = new LimitFilter(AlwaysFilter.INSTANCE, 9);
+        filter.setComparator(COMPARATOR);
+
+        filter.setPage(0);
+        setAnchors(filter, filter.selectPage(m_aEntry));
+        filter.nextPage();
+
+        Object[] aPage = filter.selectPage(m_aEntry);
+        setAnchors(filter, aPage);
+
+        // both anchors are set; the same page is returned
+        assertArrayEquals(aPage, filter.selectPage(m_aEntry));
+        assertArrayEquals(Arrays.copyOfRange(m_aSorted, 9, 18), aPage);
+        }
+
+    @Test
+    public void shouldSelectKeysInNaturalOrder()
+        {
+        Object[] aoKey = new Object[ENTRIES];
+        for (int i = 0; i < ENTRIES; i++)
+            {
+            aoKey[i] = (i * 37) % ENTRIES;
+            }
+
+        LimitFilter filter = new LimitFilter(AlwaysFilter.INSTANCE, 10);
+        filter.setPage(3);
+        assertArrayEquals(new Object[] {30, 31, 32, 33, 34, 35, 36, 37, 38, 39}, filter.selectPage(aoKey));
+
+        // the top anchor is the number of keys to skip
+        filter.setTopAnchor(95);
+        assertArrayEquals(new Object[] {95, 96, 97, 98, 99}, filter.selectPage(aoKey));
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    /**
+    * Set the anchors of the specified filter to the first and the last
+    * entry of the specified page, the same way the query processor does.
+    */
+    protected static void setAnchors(LimitFilter filter, Object[] aPage)
+        {
+        if (aPage.length > 0)
+            {
+            Map.Entry entryFirst = (Map.Entry) aPage[0];
+            Map.Entry entryLast  = (Map.Entry) aPage[aPage.length - 1];
+
+            filter.setTopAnchor(entryFirst.getValue());
+            filter.setTopAnchorKey(entryFirst.getKey());
+            filter.setBottomAnchor(entryLast.getValue());
+            filter.setBottomAnchorKey(entryLast.getKey());
+            }
+        }
+
+    // ----- constants and data members -------------------------------------
+
+    /**
+    * The number of test entries.
+    */
+    protected static final int ENTRIES = 100;
+
+    /**
+    * The comparator ordering the entries by value and binary key.
+    */
+    protected static final Comparator COMPARATOR =
+            new KeysetComparator(new EntryComparator(SafeComparator.INSTANCE));
+
+    /**
+    * The test entries in a random order.
+    */
+    protected Object[] m_aEntry;
+
+    /**
+    * The test entries in the order defined by the comparator.
+    */
+    protected Object[] m_aSorted;
+    }
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2000, 2025, Oracle and/or its affiliates.
+ *
+ * Licensed under the Universal Permissive License v 1.0 as shown at
+ * https://oss.oracle.com/licenses/upl.
+ */
+package com.tangosol.util.filter;
+
+import com.tangosol.util.Filter;
+import com.tangosol.util.IndexStatistics;
+import com.tangosol.util.MapIndex;
+import com.tangosol.util.SimpleMapEntry;
+import com.tangosol.util.SimpleMapIndex;
+import com.tangosol.util.ValueExtractor;
+import com.tangosol.util.extractor.AbstractExtractor;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+* QueryPlanner unit tests.
+*/
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class QueryPlannerTest
+    {
+    @Before
+    public void setup()
+        {
+        m_mapIndexes = new HashMap<>();
+        m_setKeys    = new HashSet<>();
+
+        SimpleMapIndex indexRegion = new SimpleMapIndex(REGION, false, null, null);
+        SimpleMapIndex indexAmount = new SimpleMapIndex(AMOUNT, true, null, null);
+
+        // 4 regions, evenly distributed; amounts 0 - 9999
+        for (int i = 0; i < 10000; i++)
+            {
+            SimpleMapEntry entry = new SimpleMapEntry(i, i);
+            indexRegion.insert(entry);
+            indexAmount.insert(entry);
+            m_setKeys.add(i);
+            }
+
+        m_mapIndexes.put(REGION, indexRegion);
+        m_mapIndexes.put(AMOUNT, indexAmount);
+        }
+
+    @Test
+    public void shouldEstimateMatches()
+        {
+        assertEquals(2500, estimate(new EqualsFilter(REGION, 1)));
+        assertEquals(0, estimate(new EqualsFilter(REGION, 7)));
+        assertEquals(5000, estimate(new InFilter(REGION, Set.of(1, 2))));
+        assertEquals(7500, estimate(new NotEqualsFilter(REGION, 1)));
+        assertEquals(7500, estimate(new NotFilter(new EqualsFilter(REGION, 1))));
+
+        assertApproximately(1000, estimate(new LessFilter(AMOUNT, 1000)));
+        assertApproximately(2000, estimate(new GreaterEqualsFilter(AMOUNT, 8000)));
+        assertApproximately(3000, estimate(new BetweenFilter(AMOUNT, 2000, 5000)));
+
+        assertApproximately(250, estimate(new AndFilter(new EqualsFilter(REGION, 1), new LessFilter(AMOUNT, 1000))));
+        assertApproximately(3250, estimate(new OrFilter(new EqualsFilter(REGION, 1), new LessFilter(AMOUNT, 1000))));
+
+        // there is no estimate without an index
+        assertEquals(-1, estimate(new EqualsFilter(new ModExtractor(3), 1)));
+        assertEquals(-1, estimate(new OrFilter(new EqualsFilter(REGION, 1), new EqualsFilter(new ModExtractor(3), 1))));
+        }
+
+    @Test
+    public void shouldOrderFiltersBySelectivity()
+        {
+        AllFilter filter = new AllFilter(new Filter[]
+            {
+            new GreaterFilter(AMOUNT, 100),
+            new EqualsFilter(REGION, 1),
+            new LessFilter(AMOUNT, 200)
+            });
+
+        filter.optimizeFilterOrder(m_mapIndexes, m_setKeys);
+
+        Filter[] aFilter = filter.getFilters();
+        assertTrue(aFilter[0] instanceof LessFilter);
+        assertTrue(aFilter[1] instanceof EqualsFilter);
+        assertTrue(aFilter[2] instanceof GreaterFilter);
+        }
+
+    @Test
+    public void shouldNotMixEstimatesWithEffectiveness()
+        {
+        ValueExtractor extractor = new ModExtractor(10);
+        SimpleMapIndex index     = new SimpleMapIndex(extractor, false, null, null)
+            {
+            public IndexStatistics getStatistics()
+                {
+                return null;
+                }
+            };
+
+        for (Object oKey : m_setKeys)
+            {
+            index.insert(new SimpleMapEntry(oKey, oKey));
+            }
+        m_mapIndexes.put(extractor, index);
+
+        Set setKeys = new HashSet();
+        for (int i = 0; i < 100; i++)
+            {
+            setKeys.add(i);
+            }
+
+        // the estimate for the region is relative to the keys being filtered,
+        // while the effectiveness of the filter without statistics is not;
+        // both filters must be weighed by their effectiveness
+        AllFilter filter = new AllFilter(new Filter[]
+            {
+            new EqualsFilter(REGION, 1),
+            new EqualsFilter(extractor, 1)
+            });
+
+        filter.optimizeFilterOrder(m_mapIndexes, setKeys);
+
+        Filter[] aFilter = filter.getFilters();
+        assertEquals(extractor, ((EqualsFilter) aFilter[0]).getValueExtractor());
+        assertEquals(REGION, ((EqualsFilter) aFilter[1]).getValueExtractor());
+        }
+
+    @Test
+    public void shouldPreferScanOfFewRemainingKeys()
+        {
+        Filter filterRange = new GreaterFilter(AMOUNT, 100);
+
+        assertFalse(QueryPlanner.isScanCheaper(filterRange, m_mapIndexes, m_setKeys));
+        assertTrue(QueryPlanner.isScanCheaper(filterRange, m_mapIndexes, Set.of(1, 2, 3)));
+
+        // a lookup is always cheaper than evaluating the entries
+        assertFalse(QueryPlanner.isScanCheaper(new EqualsFilter(REGION, 1), m_mapIndexes, Set.of(1)));
+
+        // applying an AND should leave the range to be evaluated against the
+        // few entries remaining after the lookup
+        Set   setKeys      = new HashSet(m_setKeys);
+        Filter filterRemain = new AndFilter(new EqualsFilter(new ModExtractor(1000), 7), filterRange)
+                .applyIndex(addIndex(new ModExtractor(1000)), setKeys);
+
+        assertEquals(10, setKeys.size());
+        assertEquals(filterRange, filterRemain);
+        }
+
+    // ----- helpers --------------------------------------------------------
+
+    private int estimate(Filter filter)
+        {
+        return QueryPlanner.estimateMatches(filter, m_mapIndexes, m_setKeys);
+        }
+
+    private Map addIndex(ValueExtractor extractor)
+        {
+        SimpleMapIndex index = new SimpleMapIndex(extractor, false, null, null);
+        for (Object oKey : m_setKeys)
+            {
+            index.insert(new SimpleMapEntry(oKey, oKey));
+            }
+        m_mapIndexes.put(extractor, index);
+        return m_mapIndexes;
+        }
+
+    private static void assertApproximately(int cExpected, int cActual)
+        {
+        assertTrue("expected " + cExpected + " but estimated " + cActual,
+                   Math.abs(cExpected - cActual) <= cExpected / 10);
+        }
+
+    // ----- inner class: ModExtractor --------------------------------------
+
+    private static class ModExtractor
+            extends AbstractExtractor<Integer, Integer>
+        {
+        ModExtractor(int nMod)
+            {
+            m_nMod = nMod;
+            }
+
+        public Integer extract(Integer n)
+            {
+            return n % m_nMod;
+            }
+
+        public boolean equals(Object o)
+            {
+            return o instanceof ModExtractor && ((ModExtractor) o).m_nMod == m_nMod;
+            }
+
+        public int hashCode()
+            {
+            return m_nMod;
+            }
+
+        private final int m_nMod;
+        }
+
+    // ----- constants ------------------------------------------------------
+
+    private static final ValueExtractor<Integer, Integer> REGION = new ModExtractor(4);
+
+    private static final ValueExtractor<Integer, Integer> AMOUNT = new AbstractExtractor<>()
+        {
+        public Integer extract(Integer n)
+            {
+            return n;
+            }
+        };
+
+    // ----- data members ---------------------------------------------------
+
+    private Map<ValueExtractor, MapIndex> m_mapIndexes;
+
+    private Set<Integer> m_setKeys;
+    }